@@ -25,6 +25,7 @@ module swim.avro {
   exports swim.avro;
   exports swim.avro.schema;
   exports swim.avro.decoder;
+  exports swim.avro.encoder;
   exports swim.avro.reflection;
   exports swim.avro.structure;
 }
@@ -0,0 +1,117 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.avro.encoder;
+
+import java.util.Iterator;
+import swim.avro.schema.AvroArrayType;
+import swim.avro.schema.AvroType;
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+
+final class ArrayEncoder<I, T> extends Encoder<Object, T> {
+
+  final AvroEncoder avro;
+  final AvroArrayType<I, T> type;
+  final T value;
+  final Iterator<? extends I> items;
+  final Encoder<?, ?> itemEncoder;
+  final long count;
+  final int step;
+
+  ArrayEncoder(AvroEncoder avro, AvroArrayType<I, T> type, T value, Iterator<? extends I> items,
+               Encoder<?, ?> itemEncoder, long count, int step) {
+    this.avro = avro;
+    this.type = type;
+    this.value = value;
+    this.items = items;
+    this.itemEncoder = itemEncoder;
+    this.count = count;
+    this.step = step;
+  }
+
+  ArrayEncoder(AvroEncoder avro, AvroArrayType<I, T> type, T value) {
+    this(avro, type, value, null, null, 0L, 1);
+  }
+
+  @SuppressWarnings("unchecked")
+  static <I, T> Encoder<Object, T> encode(OutputBuffer<?> output, AvroEncoder avro, AvroArrayType<I, T> type,
+                                          T value, Iterator<? extends I> items, Encoder<?, ?> itemEncoder,
+                                          long count, int step) {
+    if (step == 1) {
+      // All items are written in a single block, followed by an empty block.
+      final int itemCount = type.itemCount(value);
+      if (itemCount > 0) {
+        count = VarintEncoder.zigZag(itemCount);
+        items = type.itemIterator(value);
+        step = 2;
+      } else {
+        step = 4;
+      }
+    }
+    if (step == 2) {
+      while (output.isCont()) {
+        if ((count & ~0x7fL) == 0L) {
+          output = output.write((int) count);
+          step = 3;
+          break;
+        }
+        output = output.write(((int) count & 0x7f) | 0x80);
+        count >>>= 7;
+      }
+    }
+    while (step == 3) {
+      if (itemEncoder == null) {
+        if (items.hasNext()) {
+          itemEncoder = avro.encodeType((AvroType<I>) type.itemType(), items.next(), output);
+        } else {
+          step = 4;
+          break;
+        }
+      } else {
+        itemEncoder = itemEncoder.pull(output);
+      }
+      if (itemEncoder.isDone()) {
+        itemEncoder = null;
+        continue;
+      } else if (itemEncoder.isError()) {
+        return itemEncoder.asError();
+      }
+      break;
+    }
+    if (step == 4 && output.isCont()) {
+      output = output.write(0);
+      return done(value);
+    }
+    if (output.isDone()) {
+      return error(new EncoderException("truncated"));
+    } else if (output.isError()) {
+      return error(output.trap());
+    }
+    return new ArrayEncoder<I, T>(avro, type, value, items, itemEncoder, count, step);
+  }
+
+  static <I, T> Encoder<Object, T> encode(OutputBuffer<?> output, AvroEncoder avro,
+                                          AvroArrayType<I, T> type, T value) {
+    return encode(output, avro, type, value, null, null, 0L, 1);
+  }
+
+  @Override
+  public Encoder<Object, T> pull(OutputBuffer<?> output) {
+    return encode(output, this.avro, this.type, this.value, this.items,
+                  this.itemEncoder, this.count, this.step);
+  }
+
+}
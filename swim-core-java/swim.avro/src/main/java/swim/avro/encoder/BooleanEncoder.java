@@ -0,0 +1,49 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.avro.encoder;
+
+import swim.avro.schema.AvroBooleanType;
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+
+final class BooleanEncoder<T> extends Encoder<Object, T> {
+
+  final AvroBooleanType<T> type;
+  final T value;
+
+  BooleanEncoder(AvroBooleanType<T> type, T value) {
+    this.type = type;
+    this.value = value;
+  }
+
+  static <T> Encoder<Object, T> encode(OutputBuffer<?> output, AvroBooleanType<T> type, T value) {
+    if (output.isCont()) {
+      output = output.write(type.booleanValue(value) ? 1 : 0);
+      return done(value);
+    } else if (output.isDone()) {
+      return error(new EncoderException("truncated"));
+    } else if (output.isError()) {
+      return error(output.trap());
+    }
+    return new BooleanEncoder<T>(type, value);
+  }
+
+  @Override
+  public Encoder<Object, T> pull(OutputBuffer<?> output) {
+    return encode(output, this.type, this.value);
+  }
+
+}
@@ -0,0 +1,90 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.avro.encoder;
+
+import java.nio.ByteBuffer;
+import swim.avro.schema.AvroDataType;
+import swim.codec.Binary;
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+
+final class DataEncoder<T> extends Encoder<Object, T> {
+
+  final T value;
+  final ByteBuffer data;
+  final Encoder<?, ?> encoder;
+  final long size;
+  final int step;
+
+  DataEncoder(T value, ByteBuffer data, Encoder<?, ?> encoder, long size, int step) {
+    this.value = value;
+    this.data = data;
+    this.encoder = encoder;
+    this.size = size;
+    this.step = step;
+  }
+
+  DataEncoder(AvroDataType<T> type, T value) {
+    this(value, type.byteBufferValue(value), null, 0L, 1);
+  }
+
+  static <T> Encoder<Object, T> encode(OutputBuffer<?> output, T value, ByteBuffer data,
+                                       Encoder<?, ?> encoder, long size, int step) {
+    if (step == 1) {
+      size = VarintEncoder.zigZag(data.remaining());
+      step = 2;
+    }
+    if (step == 2) {
+      while (output.isCont()) {
+        if ((size & ~0x7fL) == 0L) {
+          output = output.write((int) size);
+          step = 3;
+          break;
+        }
+        output = output.write(((int) size & 0x7f) | 0x80);
+        size >>>= 7;
+      }
+    }
+    if (step == 3) {
+      if (encoder == null) {
+        encoder = Binary.writeByteBuffer(data.duplicate(), output);
+      } else {
+        encoder = encoder.pull(output);
+      }
+      if (encoder.isDone()) {
+        return done(value);
+      } else if (encoder.isError()) {
+        return encoder.asError();
+      }
+    }
+    if (output.isDone()) {
+      return error(new EncoderException("truncated"));
+    } else if (output.isError()) {
+      return error(output.trap());
+    }
+    return new DataEncoder<T>(value, data, encoder, size, step);
+  }
+
+  static <T> Encoder<Object, T> encode(OutputBuffer<?> output, AvroDataType<T> type, T value) {
+    return encode(output, value, type.byteBufferValue(value), null, 0L, 1);
+  }
+
+  @Override
+  public Encoder<Object, T> pull(OutputBuffer<?> output) {
+    return encode(output, this.value, this.data, this.encoder, this.size, this.step);
+  }
+
+}
@@ -0,0 +1,68 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.avro.encoder;
+
+import java.nio.ByteBuffer;
+import swim.avro.schema.AvroFixedType;
+import swim.codec.Binary;
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+
+final class FixedEncoder<T> extends Encoder<Object, T> {
+
+  final AvroFixedType<T> type;
+  final T value;
+  final Encoder<?, ?> encoder;
+
+  FixedEncoder(AvroFixedType<T> type, T value, Encoder<?, ?> encoder) {
+    this.type = type;
+    this.value = value;
+    this.encoder = encoder;
+  }
+
+  FixedEncoder(AvroFixedType<T> type, T value) {
+    this(type, value, null);
+  }
+
+  static <T> Encoder<Object, T> encode(OutputBuffer<?> output, AvroFixedType<T> type,
+                                       T value, Encoder<?, ?> encoder) {
+    if (encoder == null) {
+      final ByteBuffer data = type.byteBufferValue(value);
+      if (data.remaining() != type.size()) {
+        return error(new EncoderException("expected " + type.size() + " fixed bytes, but found " + data.remaining()));
+      }
+      encoder = Binary.writeByteBuffer(data.duplicate(), output);
+    } else {
+      encoder = encoder.pull(output);
+    }
+    if (encoder.isDone()) {
+      return done(value);
+    } else if (encoder.isError()) {
+      return encoder.asError();
+    }
+    return new FixedEncoder<T>(type, value, encoder);
+  }
+
+  static <T> Encoder<Object, T> encode(OutputBuffer<?> output, AvroFixedType<T> type, T value) {
+    return encode(output, type, value, null);
+  }
+
+  @Override
+  public Encoder<Object, T> pull(OutputBuffer<?> output) {
+    return encode(output, this.type, this.value, this.encoder);
+  }
+
+}
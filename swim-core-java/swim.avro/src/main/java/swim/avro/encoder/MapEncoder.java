@@ -0,0 +1,162 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.avro.encoder;
+
+import java.util.Iterator;
+import java.util.Map;
+import swim.avro.schema.AvroMapType;
+import swim.avro.schema.AvroType;
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+import swim.codec.Utf8;
+
+final class MapEncoder<K, V, T> extends Encoder<Object, T> {
+
+  final AvroEncoder avro;
+  final AvroMapType<K, V, T> type;
+  final T value;
+  final Iterator<? extends Map.Entry<? extends K, ? extends V>> entries;
+  final Map.Entry<? extends K, ? extends V> entry;
+  final String key;
+  final Encoder<?, ?> encoder;
+  final long varint;
+  final int step;
+
+  MapEncoder(AvroEncoder avro, AvroMapType<K, V, T> type, T value,
+             Iterator<? extends Map.Entry<? extends K, ? extends V>> entries,
+             Map.Entry<? extends K, ? extends V> entry, String key,
+             Encoder<?, ?> encoder, long varint, int step) {
+    this.avro = avro;
+    this.type = type;
+    this.value = value;
+    this.entries = entries;
+    this.entry = entry;
+    this.key = key;
+    this.encoder = encoder;
+    this.varint = varint;
+    this.step = step;
+  }
+
+  MapEncoder(AvroEncoder avro, AvroMapType<K, V, T> type, T value) {
+    this(avro, type, value, null, null, null, null, 0L, 1);
+  }
+
+  @SuppressWarnings("unchecked")
+  static <K, V, T> Encoder<Object, T> encode(OutputBuffer<?> output, AvroEncoder avro,
+                                             AvroMapType<K, V, T> type, T value,
+                                             Iterator<? extends Map.Entry<? extends K, ? extends V>> entries,
+                                             Map.Entry<? extends K, ? extends V> entry, String key,
+                                             Encoder<?, ?> encoder, long varint, int step) {
+    if (step == 1) {
+      // All entries are written in a single block, followed by an empty block.
+      final int entryCount = type.entryCount(value);
+      if (entryCount > 0) {
+        varint = VarintEncoder.zigZag(entryCount);
+        entries = type.entryIterator(value);
+        step = 2;
+      } else {
+        step = 7;
+      }
+    }
+    if (step == 2) {
+      while (output.isCont()) {
+        if ((varint & ~0x7fL) == 0L) {
+          output = output.write((int) varint);
+          step = 3;
+          break;
+        }
+        output = output.write(((int) varint & 0x7f) | 0x80);
+        varint >>>= 7;
+      }
+    }
+    do {
+      if (step == 3) {
+        if (entries.hasNext()) {
+          entry = entries.next();
+          key = type.keyString(entry.getKey());
+          varint = VarintEncoder.zigZag(Utf8.sizeOf(key));
+          step = 4;
+        } else {
+          step = 7;
+          break;
+        }
+      }
+      if (step == 4) {
+        while (output.isCont()) {
+          if ((varint & ~0x7fL) == 0L) {
+            output = output.write((int) varint);
+            step = 5;
+            break;
+          }
+          output = output.write(((int) varint & 0x7f) | 0x80);
+          varint >>>= 7;
+        }
+      }
+      if (step == 5) {
+        if (encoder == null) {
+          encoder = Utf8.writeString(key, output);
+        } else {
+          encoder = encoder.pull(output);
+        }
+        if (encoder.isDone()) {
+          encoder = null;
+          step = 6;
+        } else if (encoder.isError()) {
+          return encoder.asError();
+        }
+      }
+      if (step == 6) {
+        if (encoder == null) {
+          encoder = avro.encodeType((AvroType<V>) type.valueType(), entry.getValue(), output);
+        } else {
+          encoder = encoder.pull(output);
+        }
+        if (encoder.isDone()) {
+          entry = null;
+          key = null;
+          encoder = null;
+          step = 3;
+          continue;
+        } else if (encoder.isError()) {
+          return encoder.asError();
+        }
+      }
+      break;
+    } while (true);
+    if (step == 7 && output.isCont()) {
+      output = output.write(0);
+      return done(value);
+    }
+    if (output.isDone()) {
+      return error(new EncoderException("truncated"));
+    } else if (output.isError()) {
+      return error(output.trap());
+    }
+    return new MapEncoder<K, V, T>(avro, type, value, entries, entry, key, encoder, varint, step);
+  }
+
+  static <K, V, T> Encoder<Object, T> encode(OutputBuffer<?> output, AvroEncoder avro,
+                                             AvroMapType<K, V, T> type, T value) {
+    return encode(output, avro, type, value, null, null, null, null, 0L, 1);
+  }
+
+  @Override
+  public Encoder<Object, T> pull(OutputBuffer<?> output) {
+    return encode(output, this.avro, this.type, this.value, this.entries, this.entry,
+                  this.key, this.encoder, this.varint, this.step);
+  }
+
+}
@@ -0,0 +1,40 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.avro.encoder;
+
+import swim.avro.schema.AvroNullType;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+
+final class NullEncoder<T> extends Encoder<Object, T> {
+
+  final AvroNullType<T> type;
+  final T value;
+
+  NullEncoder(AvroNullType<T> type, T value) {
+    this.type = type;
+    this.value = value;
+  }
+
+  static <T> Encoder<Object, T> encode(OutputBuffer<?> output, AvroNullType<T> type, T value) {
+    return done(value);
+  }
+
+  @Override
+  public Encoder<Object, T> pull(OutputBuffer<?> output) {
+    return encode(output, this.type, this.value);
+  }
+
+}
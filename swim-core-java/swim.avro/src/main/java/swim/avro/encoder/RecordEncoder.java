@@ -0,0 +1,88 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.avro.encoder;
+
+import swim.avro.schema.AvroFieldType;
+import swim.avro.schema.AvroRecordType;
+import swim.avro.schema.AvroType;
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+
+final class RecordEncoder<T, R> extends Encoder<Object, T> {
+
+  final AvroEncoder avro;
+  final AvroRecordType<T, R> type;
+  final T value;
+  final R record;
+  final Encoder<?, ?> valueEncoder;
+  final int fieldIndex;
+
+  RecordEncoder(AvroEncoder avro, AvroRecordType<T, R> type, T value, R record,
+                Encoder<?, ?> valueEncoder, int fieldIndex) {
+    this.avro = avro;
+    this.type = type;
+    this.value = value;
+    this.record = record;
+    this.valueEncoder = valueEncoder;
+    this.fieldIndex = fieldIndex;
+  }
+
+  RecordEncoder(AvroEncoder avro, AvroRecordType<T, R> type, T value) {
+    this(avro, type, value, type.recordValue(value), null, 0);
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T, R> Encoder<Object, T> encode(OutputBuffer<?> output, AvroEncoder avro, AvroRecordType<T, R> type,
+                                          T value, R record, Encoder<?, ?> valueEncoder, int fieldIndex) {
+    do {
+      if (valueEncoder == null) {
+        if (fieldIndex < type.fieldCount()) {
+          final AvroFieldType<Object, R> fieldType = (AvroFieldType<Object, R>) type.getField(fieldIndex);
+          valueEncoder = avro.encodeType((AvroType<Object>) fieldType.valueType(), fieldType.get(record), output);
+        } else {
+          return done(value);
+        }
+      } else {
+        valueEncoder = valueEncoder.pull(output);
+      }
+      if (valueEncoder.isDone()) {
+        valueEncoder = null;
+        fieldIndex += 1;
+        continue;
+      } else if (valueEncoder.isError()) {
+        return valueEncoder.asError();
+      }
+      break;
+    } while (true);
+    if (output.isDone()) {
+      return error(new EncoderException("truncated"));
+    } else if (output.isError()) {
+      return error(output.trap());
+    }
+    return new RecordEncoder<T, R>(avro, type, value, record, valueEncoder, fieldIndex);
+  }
+
+  static <T, R> Encoder<Object, T> encode(OutputBuffer<?> output, AvroEncoder avro,
+                                          AvroRecordType<T, R> type, T value) {
+    return encode(output, avro, type, value, type.recordValue(value), null, 0);
+  }
+
+  @Override
+  public Encoder<Object, T> pull(OutputBuffer<?> output) {
+    return encode(output, this.avro, this.type, this.value, this.record, this.valueEncoder, this.fieldIndex);
+  }
+
+}
@@ -0,0 +1,89 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.avro.encoder;
+
+import swim.avro.schema.AvroStringType;
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+import swim.codec.Utf8;
+
+final class StringEncoder<T> extends Encoder<Object, T> {
+
+  final T value;
+  final String string;
+  final Encoder<?, ?> encoder;
+  final long length;
+  final int step;
+
+  StringEncoder(T value, String string, Encoder<?, ?> encoder, long length, int step) {
+    this.value = value;
+    this.string = string;
+    this.encoder = encoder;
+    this.length = length;
+    this.step = step;
+  }
+
+  StringEncoder(AvroStringType<T> type, T value) {
+    this(value, type.stringValue(value), null, 0L, 1);
+  }
+
+  static <T> Encoder<Object, T> encode(OutputBuffer<?> output, T value, String string,
+                                       Encoder<?, ?> encoder, long length, int step) {
+    if (step == 1) {
+      length = VarintEncoder.zigZag(Utf8.sizeOf(string));
+      step = 2;
+    }
+    if (step == 2) {
+      while (output.isCont()) {
+        if ((length & ~0x7fL) == 0L) {
+          output = output.write((int) length);
+          step = 3;
+          break;
+        }
+        output = output.write(((int) length & 0x7f) | 0x80);
+        length >>>= 7;
+      }
+    }
+    if (step == 3) {
+      if (encoder == null) {
+        encoder = Utf8.writeString(string, output);
+      } else {
+        encoder = encoder.pull(output);
+      }
+      if (encoder.isDone()) {
+        return done(value);
+      } else if (encoder.isError()) {
+        return encoder.asError();
+      }
+    }
+    if (output.isDone()) {
+      return error(new EncoderException("truncated"));
+    } else if (output.isError()) {
+      return error(output.trap());
+    }
+    return new StringEncoder<T>(value, string, encoder, length, step);
+  }
+
+  static <T> Encoder<Object, T> encode(OutputBuffer<?> output, AvroStringType<T> type, T value) {
+    return encode(output, value, type.stringValue(value), null, 0L, 1);
+  }
+
+  @Override
+  public Encoder<Object, T> pull(OutputBuffer<?> output) {
+    return encode(output, this.value, this.string, this.encoder, this.length, this.step);
+  }
+
+}
@@ -0,0 +1,83 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.avro.encoder;
+
+import swim.avro.schema.AvroType;
+import swim.avro.schema.AvroUnionType;
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+
+final class UnionEncoder<T> extends Encoder<Object, T> {
+
+  final AvroEncoder avro;
+  final AvroUnionType<T> type;
+  final T value;
+  final int variant;
+  final long varint;
+  final int step;
+
+  UnionEncoder(AvroEncoder avro, AvroUnionType<T> type, T value, int variant, long varint, int step) {
+    this.avro = avro;
+    this.type = type;
+    this.value = value;
+    this.variant = variant;
+    this.varint = varint;
+    this.step = step;
+  }
+
+  UnionEncoder(AvroEncoder avro, AvroUnionType<T> type, T value) {
+    this(avro, type, value, 0, 0L, 1);
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T> Encoder<Object, T> encode(OutputBuffer<?> output, AvroEncoder avro, AvroUnionType<T> type,
+                                       T value, int variant, long varint, int step) {
+    if (step == 1) {
+      variant = type.variantIndex(value);
+      if (variant < 0) {
+        return error(new EncoderException("no union variant for value: " + value));
+      }
+      varint = VarintEncoder.zigZag(variant);
+      step = 2;
+    }
+    while (output.isCont()) {
+      if ((varint & ~0x7fL) == 0L) {
+        output = output.write((int) varint);
+        final AvroType<T> variantType = (AvroType<T>) type.getVariant(variant);
+        return (Encoder<Object, T>) avro.encodeType(variantType, value, output);
+      }
+      output = output.write(((int) varint & 0x7f) | 0x80);
+      varint >>>= 7;
+    }
+    if (output.isDone()) {
+      return error(new EncoderException("truncated"));
+    } else if (output.isError()) {
+      return error(output.trap());
+    }
+    return new UnionEncoder<T>(avro, type, value, variant, varint, step);
+  }
+
+  static <T> Encoder<Object, T> encode(OutputBuffer<?> output, AvroEncoder avro,
+                                       AvroUnionType<T> type, T value) {
+    return encode(output, avro, type, value, 0, 0L, 1);
+  }
+
+  @Override
+  public Encoder<Object, T> pull(OutputBuffer<?> output) {
+    return encode(output, this.avro, this.type, this.value, this.variant, this.varint, this.step);
+  }
+
+}
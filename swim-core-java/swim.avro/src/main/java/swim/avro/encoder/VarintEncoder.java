@@ -0,0 +1,57 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.avro.encoder;
+
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+
+final class VarintEncoder<T> extends Encoder<Object, T> {
+
+  final T value;
+  final long varint;
+
+  VarintEncoder(T value, long varint) {
+    this.value = value;
+    this.varint = varint;
+  }
+
+  static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  static <T> Encoder<Object, T> encode(OutputBuffer<?> output, T value, long varint) {
+    while (output.isCont()) {
+      if ((varint & ~0x7fL) == 0L) {
+        output = output.write((int) varint);
+        return done(value);
+      }
+      output = output.write(((int) varint & 0x7f) | 0x80);
+      varint >>>= 7;
+    }
+    if (output.isDone()) {
+      return error(new EncoderException("truncated"));
+    } else if (output.isError()) {
+      return error(output.trap());
+    }
+    return new VarintEncoder<T>(value, varint);
+  }
+
+  @Override
+  public Encoder<Object, T> pull(OutputBuffer<?> output) {
+    return encode(output, this.value, this.varint);
+  }
+
+}
@@ -23,4 +23,9 @@ final class BooleanReflection extends AvroBooleanType<Boolean> {
     return Boolean.valueOf(value);
   }
 
+  @Override
+  public boolean booleanValue(Boolean value) {
+    return value.booleanValue();
+  }
+
 }
@@ -23,4 +23,9 @@ final class CharReflection extends AvroVarintType<Character> {
     return Character.valueOf((char) value);
   }
 
+  @Override
+  public long longValue(Character value) {
+    return (long) value.charValue();
+  }
+
 }
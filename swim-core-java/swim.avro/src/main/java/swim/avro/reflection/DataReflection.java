@@ -27,4 +27,9 @@ final class DataReflection extends AvroDataType<ByteBuffer> {
     return Binary.parseOutput(Binary.byteBufferOutput(), input);
   }
 
+  @Override
+  public ByteBuffer byteBufferValue(ByteBuffer value) {
+    return value.duplicate();
+  }
+
 }
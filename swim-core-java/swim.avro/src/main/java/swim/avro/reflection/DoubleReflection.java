@@ -23,4 +23,9 @@ final class DoubleReflection extends AvroDoubleType<Double> {
     return Double.valueOf(value);
   }
 
+  @Override
+  public double doubleValue(Double value) {
+    return value.doubleValue();
+  }
+
 }
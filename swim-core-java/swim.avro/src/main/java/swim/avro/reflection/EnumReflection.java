@@ -87,4 +87,9 @@ final class EnumReflection<T extends Enum<T>> extends AvroEnumType<T> {
     return this.symbols.get(ordinal);
   }
 
+  @Override
+  public int ordinal(T value) {
+    return value.ordinal();
+  }
+
 }
@@ -101,4 +101,14 @@ final class FieldReflection<R, V> extends AvroFieldType<V, R> {
     }
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public V get(R record) {
+    try {
+      return (V) this.field.get(record);
+    } catch (IllegalAccessException cause) {
+      throw new AvroException(cause);
+    }
+  }
+
 }
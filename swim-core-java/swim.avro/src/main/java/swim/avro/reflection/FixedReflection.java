@@ -14,6 +14,7 @@
 
 package swim.avro.reflection;
 
+import java.nio.ByteBuffer;
 import swim.avro.AvroName;
 import swim.avro.schema.AvroFixedType;
 import swim.codec.Binary;
@@ -66,4 +67,9 @@ final class FixedReflection extends AvroFixedType<byte[]> {
     return Binary.parseOutput(Binary.byteArrayOutput(this.size), input);
   }
 
+  @Override
+  public ByteBuffer byteBufferValue(byte[] value) {
+    return ByteBuffer.wrap(value);
+  }
+
 }
@@ -26,4 +26,9 @@ final class StringReflection extends AvroStringType<String> {
     return Unicode.parseString(input);
   }
 
+  @Override
+  public String stringValue(String value) {
+    return value;
+  }
+
 }
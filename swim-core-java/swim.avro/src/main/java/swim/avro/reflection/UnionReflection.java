@@ -14,8 +14,22 @@
 
 package swim.avro.reflection;
 
+import java.nio.ByteBuffer;
+import java.util.Map;
+import swim.avro.schema.AvroArrayType;
+import swim.avro.schema.AvroBooleanType;
+import swim.avro.schema.AvroDataType;
+import swim.avro.schema.AvroDoubleType;
+import swim.avro.schema.AvroEnumType;
+import swim.avro.schema.AvroFixedType;
+import swim.avro.schema.AvroFloatType;
+import swim.avro.schema.AvroMapType;
+import swim.avro.schema.AvroNullType;
+import swim.avro.schema.AvroRecordType;
+import swim.avro.schema.AvroStringType;
 import swim.avro.schema.AvroType;
 import swim.avro.schema.AvroUnionType;
+import swim.avro.schema.AvroVarintType;
 import swim.collections.FingerTrieSeq;
 
 final class UnionReflection<T> extends AvroUnionType<T> {
@@ -45,4 +59,46 @@ final class UnionReflection<T> extends AvroUnionType<T> {
     return new UnionReflection<T>(this.variants.appended(variant));
   }
 
+  @Override
+  public int variantIndex(T value) {
+    final FingerTrieSeq<AvroType<? extends T>> variants = this.variants;
+    for (int i = 0, n = variants.size(); i < n; i += 1) {
+      if (isVariant(variants.get(i), value)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  static boolean isVariant(AvroType<?> type, Object value) {
+    if (value == null) {
+      return type instanceof AvroNullType<?>;
+    } else if (value instanceof Boolean) {
+      return type instanceof AvroBooleanType<?>;
+    } else if (value instanceof Float) {
+      return type instanceof AvroFloatType<?>;
+    } else if (value instanceof Double) {
+      return type instanceof AvroDoubleType<?>;
+    } else if (value instanceof Number || value instanceof Character) {
+      return type instanceof AvroVarintType<?>;
+    } else if (value instanceof String) {
+      return type instanceof AvroStringType<?>;
+    } else if (value instanceof Enum<?>) {
+      return type instanceof AvroEnumType<?>;
+    } else if (value instanceof ByteBuffer) {
+      return type instanceof AvroDataType<?>;
+    } else if (value instanceof byte[]) {
+      return type instanceof AvroFixedType<?> && ((AvroFixedType<?>) type).size() == ((byte[]) value).length
+          || type instanceof AvroArrayType<?, ?>;
+    } else if (value.getClass().isArray()) {
+      return type instanceof AvroArrayType<?, ?>;
+    } else if (value instanceof Map<?, ?>) {
+      return type instanceof AvroMapType<?, ?, ?>;
+    } else if (type instanceof RecordReflection<?>) {
+      return ((RecordReflection<?>) type).constructor.getDeclaringClass().isInstance(value);
+    } else {
+      return type instanceof AvroRecordType<?, ?>;
+    }
+  }
+
 }
@@ -14,6 +14,7 @@
 
 package swim.avro.schema;
 
+import java.util.Iterator;
 import swim.util.Builder;
 
 public abstract class AvroArrayType<I, T> extends AvroComplexType<T> {
@@ -22,4 +23,8 @@ public abstract class AvroArrayType<I, T> extends AvroComplexType<T> {
 
   public abstract Builder<I, T> arrayBuilder();
 
+  public abstract int itemCount(T array);
+
+  public abstract Iterator<? extends I> itemIterator(T array);
+
 }
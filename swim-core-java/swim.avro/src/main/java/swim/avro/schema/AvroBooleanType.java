@@ -18,4 +18,6 @@ public abstract class AvroBooleanType<T> extends AvroPrimitiveType<T> {
 
   public abstract T cast(boolean value);
 
+  public abstract boolean booleanValue(T value);
+
 }
@@ -14,6 +14,8 @@
 
 package swim.avro.schema;
 
+import java.util.Iterator;
+import java.util.Map;
 import swim.codec.Input;
 import swim.codec.Parser;
 import swim.util.PairBuilder;
@@ -26,4 +28,10 @@ public abstract class AvroMapType<K, V, T> extends AvroComplexType<T> {
 
   public abstract PairBuilder<K, V, T> mapBuilder();
 
+  public abstract String keyString(K key);
+
+  public abstract int entryCount(T map);
+
+  public abstract Iterator<? extends Map.Entry<? extends K, ? extends V>> entryIterator(T map);
+
 }
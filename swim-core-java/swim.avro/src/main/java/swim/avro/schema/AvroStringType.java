@@ -21,4 +21,6 @@ public abstract class AvroStringType<T> extends AvroPrimitiveType<T> {
 
   public abstract Parser<T> parseString(Input input);
 
+  public abstract String stringValue(T value);
+
 }
@@ -22,4 +22,6 @@ public abstract class AvroUnionType<T> extends AvroComplexType<T> {
 
   public abstract AvroUnionType<T> variant(AvroType<? extends T> variant);
 
+  public abstract int variantIndex(T value);
+
 }
@@ -18,4 +18,6 @@ public abstract class AvroVarintType<T> extends AvroPrimitiveType<T> {
 
   public abstract T cast(long value);
 
+  public abstract long longValue(T value);
+
 }
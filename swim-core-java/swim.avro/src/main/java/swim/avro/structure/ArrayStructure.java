@@ -14,6 +14,7 @@
 
 package swim.avro.structure;
 
+import java.util.Iterator;
 import swim.avro.schema.AvroArrayType;
 import swim.avro.schema.AvroType;
 import swim.structure.Item;
@@ -39,4 +40,15 @@ final class ArrayStructure<I extends Item> extends AvroArrayType<I, Record> {
     return (Builder<I, Record>) (Builder<?, Record>) Record.create();
   }
 
+  @Override
+  public int itemCount(Record array) {
+    return array.size();
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public Iterator<I> itemIterator(Record array) {
+    return (Iterator<I>) (Iterator<?>) array.iterator();
+  }
+
 }
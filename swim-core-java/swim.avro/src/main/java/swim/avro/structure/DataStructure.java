@@ -14,6 +14,8 @@
 
 package swim.avro.structure;
 
+import java.nio.ByteBuffer;
+import swim.avro.AvroException;
 import swim.avro.schema.AvroDataType;
 import swim.codec.Binary;
 import swim.codec.Decoder;
@@ -29,4 +31,14 @@ final class DataStructure extends AvroDataType<Value> {
     return (Decoder<Value>) (Decoder<?>) Binary.parseOutput(Data.output(), input);
   }
 
+  @Override
+  public ByteBuffer byteBufferValue(Value value) {
+    if (value instanceof Data) {
+      final ByteBuffer buffer = ((Data) value).asByteBuffer();
+      return buffer != null ? buffer : ByteBuffer.allocate(0);
+    } else {
+      throw new AvroException("not data: " + value);
+    }
+  }
+
 }
@@ -14,6 +14,7 @@
 
 package swim.avro.structure;
 
+import swim.avro.AvroException;
 import swim.avro.AvroName;
 import swim.avro.schema.AvroEnumType;
 import swim.collections.FingerTrieSeq;
@@ -93,4 +94,13 @@ final class EnumStructure extends AvroEnumType<Value> {
     return this.symbols.get(ordinal);
   }
 
+  @Override
+  public int ordinal(Value value) {
+    final int ordinal = this.symbols.indexOf(value);
+    if (ordinal < 0) {
+      throw new AvroException("unknown symbol: " + value);
+    }
+    return ordinal;
+  }
+
 }
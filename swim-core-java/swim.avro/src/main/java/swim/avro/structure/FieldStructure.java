@@ -97,4 +97,10 @@ final class FieldStructure extends AvroFieldType<Value, Record> {
     return record.slot(this.name, value);
   }
 
+  @Override
+  public Value get(Record record) {
+    final Value value = record.get(this.name);
+    return value.isDefined() ? value : this.defaultValue;
+  }
+
 }
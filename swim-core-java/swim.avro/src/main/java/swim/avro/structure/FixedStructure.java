@@ -14,6 +14,8 @@
 
 package swim.avro.structure;
 
+import java.nio.ByteBuffer;
+import swim.avro.AvroException;
 import swim.avro.AvroName;
 import swim.avro.schema.AvroFixedType;
 import swim.codec.Binary;
@@ -69,4 +71,14 @@ final class FixedStructure extends AvroFixedType<Value> {
     return (Decoder<Value>) (Decoder<?>) Binary.parseOutput(Data.output(this.size), input);
   }
 
+  @Override
+  public ByteBuffer byteBufferValue(Value value) {
+    if (value instanceof Data) {
+      final ByteBuffer buffer = ((Data) value).asByteBuffer();
+      return buffer != null ? buffer : ByteBuffer.allocate(0);
+    } else {
+      throw new AvroException("not data: " + value);
+    }
+  }
+
 }
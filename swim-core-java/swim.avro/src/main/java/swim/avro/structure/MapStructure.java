@@ -14,11 +14,16 @@
 
 package swim.avro.structure;
 
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import swim.avro.schema.AvroMapType;
 import swim.avro.schema.AvroType;
 import swim.codec.Input;
 import swim.codec.Parser;
 import swim.codec.Unicode;
+import swim.structure.Field;
+import swim.structure.Item;
 import swim.structure.Record;
 import swim.structure.Text;
 import swim.structure.Value;
@@ -49,4 +54,52 @@ final class MapStructure<V extends Value> extends AvroMapType<Value, V, Record>
     return (PairBuilder<Value, V, Record>) (PairBuilder<Value, ?, Record>) Record.create();
   }
 
+  @Override
+  public String keyString(Value key) {
+    return key.stringValue();
+  }
+
+  @Override
+  public int entryCount(Record map) {
+    return map.fieldCount();
+  }
+
+  @Override
+  public Iterator<Map.Entry<Value, V>> entryIterator(Record map) {
+    return new MapStructureIterator<V>(map.iterator());
+  }
+
+}
+
+final class MapStructureIterator<V extends Value> implements Iterator<Map.Entry<Value, V>> {
+
+  final Iterator<Item> items;
+  Field next;
+
+  MapStructureIterator(Iterator<Item> items) {
+    this.items = items;
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (this.next == null && this.items.hasNext()) {
+      final Item item = this.items.next();
+      if (item instanceof Field) {
+        this.next = (Field) item;
+      }
+    }
+    return this.next != null;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public Map.Entry<Value, V> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final Field next = this.next;
+    this.next = null;
+    return (Map.Entry<Value, V>) (Map.Entry<Value, ?>) next;
+  }
+
 }
@@ -14,9 +14,26 @@
 
 package swim.avro.structure;
 
+import swim.avro.schema.AvroArrayType;
+import swim.avro.schema.AvroBooleanType;
+import swim.avro.schema.AvroDataType;
+import swim.avro.schema.AvroDoubleType;
+import swim.avro.schema.AvroEnumType;
+import swim.avro.schema.AvroFixedType;
+import swim.avro.schema.AvroFloatType;
+import swim.avro.schema.AvroMapType;
+import swim.avro.schema.AvroNullType;
+import swim.avro.schema.AvroRecordType;
+import swim.avro.schema.AvroStringType;
 import swim.avro.schema.AvroType;
 import swim.avro.schema.AvroUnionType;
+import swim.avro.schema.AvroVarintType;
 import swim.collections.FingerTrieSeq;
+import swim.structure.Bool;
+import swim.structure.Data;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Text;
 import swim.structure.Value;
 
 final class UnionStructure extends AvroUnionType<Value> {
@@ -46,4 +63,49 @@ final class UnionStructure extends AvroUnionType<Value> {
     return new UnionStructure(this.variants.appended(variant));
   }
 
+  @Override
+  public int variantIndex(Value value) {
+    final FingerTrieSeq<AvroType<? extends Value>> variants = this.variants;
+    for (int i = 0, n = variants.size(); i < n; i += 1) {
+      if (isVariant(variants.get(i), value)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  static boolean isVariant(AvroType<?> type, Value value) {
+    if (!value.isDistinct()) {
+      return type instanceof AvroNullType<?>;
+    } else if (value instanceof Bool) {
+      return type instanceof AvroBooleanType<?>;
+    } else if (value instanceof Num) {
+      return type instanceof AvroVarintType<?> && ((Num) value).isValidLong()
+          && ((Num) value).longValue() == ((Num) value).doubleValue()
+          || type instanceof AvroFloatType<?> || type instanceof AvroDoubleType<?>;
+    } else if (value instanceof Text) {
+      return type instanceof AvroStringType<?>
+          || type instanceof AvroEnumType<?> && hasSymbol((AvroEnumType<?>) type, value.stringValue());
+    } else if (value instanceof Data) {
+      return type instanceof AvroDataType<?>
+          || type instanceof AvroFixedType<?> && ((AvroFixedType<?>) type).size() == ((Data) value).size();
+    } else if (value instanceof Record) {
+      final Record record = (Record) value;
+      return type instanceof AvroRecordType<?, ?>
+          || type instanceof AvroMapType<?, ?, ?> && record.isObject()
+          || type instanceof AvroArrayType<?, ?> && record.isArray();
+    } else {
+      return false;
+    }
+  }
+
+  static boolean hasSymbol(AvroEnumType<?> type, String symbol) {
+    for (int i = 0, n = type.symbolCount(); i < n; i += 1) {
+      if (symbol.equals(type.getSymbol(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
 }
@@ -14,14 +14,20 @@
 
 package swim.avro;
 
+import java.nio.ByteBuffer;
 import org.testng.TestException;
 import swim.codec.Binary;
 import swim.codec.Decoder;
+import swim.codec.Encoder;
 import swim.codec.InputBuffer;
+import swim.codec.Output;
+import swim.codec.OutputBuffer;
+import swim.codec.Unicode;
 import swim.structure.Data;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 public final class Assertions {
 
@@ -53,4 +59,34 @@ public final class Assertions {
     assertDecodes(decodee, Binary.inputBuffer(input.toByteBuffer()), expected);
   }
 
+  public static void assertEncodes(Encoder<?, ?> encodee, ByteBuffer expected) {
+    for (int i = 0, n = expected.capacity(); i <= n; i += 1) {
+      final ByteBuffer actual = ByteBuffer.allocate(n);
+      OutputBuffer<?> output = Binary.outputBuffer(actual).isPart(true);
+      Encoder<?, ?> encoder = encodee;
+      assertTrue(encoder.isCont());
+      assertFalse(encoder.isError());
+      assertFalse(encoder.isDone());
+      output = output.limit(i).isPart(true);
+      encoder = encoder.pull(output);
+      output = output.limit(n).isPart(false);
+      encoder = encoder.pull(output);
+      if (encoder.isError()) {
+        throw new TestException(encoder.trap());
+      }
+      assertFalse(encoder.isCont());
+      assertTrue(encoder.isDone());
+      actual.flip();
+      if (!actual.equals(expected)) {
+        final Output<String> message = Unicode.stringOutput();
+        message.write("expected ").debug(Data.from(expected)).write(" but found ").debug(Data.from(actual));
+        fail(message.toString());
+      }
+    }
+  }
+
+  public static void assertEncodes(Encoder<?, ?> encodee, Data expected) {
+    assertEncodes(encodee, ByteBuffer.wrap(expected.toByteArray()));
+  }
+
 }
@@ -0,0 +1,143 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.avro;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.testng.annotations.Test;
+import swim.avro.AvroReflectionDecoderSpec.TestEnum;
+import swim.avro.AvroReflectionDecoderSpec.TestRecord;
+import swim.avro.reflection.AvroReflection;
+import swim.avro.schema.AvroType;
+import swim.structure.Data;
+
+public class AvroReflectionEncoderSpec {
+
+  public static <T> void assertEncodes(AvroType<T> type, T value, Data expected) {
+    Assertions.assertEncodes(Avro.typeEncoder(type, value), expected);
+  }
+
+  @Test
+  public void encodeNullReflections() {
+    assertEncodes(AvroReflection.nullType(),
+        null, Data.empty());
+  }
+
+  @Test
+  public void encodeBooleanReflections() {
+    assertEncodes(AvroReflection.booleanType(),
+        false, Data.fromBase16("00"));
+    assertEncodes(AvroReflection.booleanType(),
+        true, Data.fromBase16("01"));
+  }
+
+  @Test
+  public void encodeIntReflections() {
+    assertEncodes(AvroReflection.intType(),
+        0, Data.fromBase16("00"));
+    assertEncodes(AvroReflection.intType(),
+        -1, Data.fromBase16("01"));
+    assertEncodes(AvroReflection.intType(),
+        1, Data.fromBase16("02"));
+    assertEncodes(AvroReflection.intType(),
+        -64, Data.fromBase16("7f"));
+    assertEncodes(AvroReflection.intType(),
+        64, Data.fromBase16("8001"));
+  }
+
+  @Test
+  public void encodeLongReflections() {
+    assertEncodes(AvroReflection.longType(),
+        0L, Data.fromBase16("00"));
+    assertEncodes(AvroReflection.longType(),
+        -2L, Data.fromBase16("03"));
+    assertEncodes(AvroReflection.longType(),
+        2L, Data.fromBase16("04"));
+    assertEncodes(AvroReflection.longType(),
+        64L, Data.fromBase16("8001"));
+  }
+
+  @Test
+  public void encodeFloatReflections() {
+    assertEncodes(AvroReflection.floatType(),
+        1.0f, Data.fromBase16("0000803f"));
+    assertEncodes(AvroReflection.floatType(),
+        Float.NaN, Data.fromBase16("0000c07f"));
+  }
+
+  @Test
+  public void encodeDoubleReflections() {
+    assertEncodes(AvroReflection.doubleType(),
+        1.0, Data.fromBase16("000000000000f03f"));
+    assertEncodes(AvroReflection.doubleType(),
+        Double.NaN, Data.fromBase16("000000000000f87f"));
+  }
+
+  @Test
+  public void encodeDataReflections() {
+    assertEncodes(AvroReflection.dataType(),
+        Data.fromBase16("f0e1d2c3").toByteBuffer(), Data.fromBase16("08f0e1d2c3"));
+  }
+
+  @Test
+  public void encodeStringReflections() {
+    assertEncodes(AvroReflection.stringType(),
+        "foo", Data.fromBase16("06666f6f"));
+  }
+
+  @Test
+  public void encodeRecordReflections() {
+    assertEncodes(AvroReflection.classType(TestRecord.class),
+        new TestRecord(27, "foo"), Data.fromBase16("3606666f6f"));
+  }
+
+  @Test
+  public void encodeEnumReflections() {
+    assertEncodes(AvroReflection.enumType(TestEnum.class),
+        TestEnum.C, Data.fromBase16("04"));
+  }
+
+  @Test
+  public void encodeArrayReflections() {
+    assertEncodes(AvroReflection.arrayType(Long.TYPE, AvroReflection.longType()),
+        new long[] {3, 27}, Data.fromBase16("04063600"));
+  }
+
+  @Test
+  public void encodeMapReflections() {
+    final Map<String, Long> map = new HashMap<String, Long>();
+    map.put("a", 3L);
+    map.put("b", 27L);
+    assertEncodes(AvroReflection.mapType(AvroReflection.longType()),
+        map, Data.fromBase16("0402610602623600"));
+  }
+
+  @Test
+  public void encodeUnionReflections() {
+    assertEncodes(AvroReflection.unionType().variant(AvroReflection.nullType())
+            .variant(AvroReflection.stringType()),
+        null, Data.fromBase16("00"));
+    assertEncodes(AvroReflection.unionType().variant(AvroReflection.nullType())
+            .variant(AvroReflection.stringType()),
+        "a", Data.fromBase16("020261"));
+  }
+
+  @Test
+  public void encodeFixedReflections() {
+    assertEncodes(AvroReflection.fixedType("quad", 4),
+        new byte[] {(byte) 0xf0, (byte) 0xe1, (byte) 0xd2, (byte) 0xc3}, Data.fromBase16("f0e1d2c3"));
+  }
+
+}
@@ -0,0 +1,156 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.avro;
+
+import org.testng.annotations.Test;
+import swim.avro.schema.AvroType;
+import swim.avro.structure.AvroStructure;
+import swim.structure.Bool;
+import swim.structure.Data;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.structure.Value;
+
+public class AvroStructureEncoderSpec {
+
+  public static <T> void assertEncodes(AvroType<T> type, T value, Data expected) {
+    Assertions.assertEncodes(Avro.typeEncoder(type, value), expected);
+  }
+
+  @Test
+  public void encodeNullStructures() {
+    assertEncodes(AvroStructure.nullType(),
+        Value.extant(), Data.empty());
+  }
+
+  @Test
+  public void encodeBooleanStructures() {
+    assertEncodes(AvroStructure.booleanType(),
+        Bool.from(false), Data.fromBase16("00"));
+    assertEncodes(AvroStructure.booleanType(),
+        Bool.from(true), Data.fromBase16("01"));
+  }
+
+  @Test
+  public void encodeIntStructures() {
+    assertEncodes(AvroStructure.intType(),
+        Num.from(0), Data.fromBase16("00"));
+    assertEncodes(AvroStructure.intType(),
+        Num.from(-1), Data.fromBase16("01"));
+    assertEncodes(AvroStructure.intType(),
+        Num.from(1), Data.fromBase16("02"));
+    assertEncodes(AvroStructure.intType(),
+        Num.from(-64), Data.fromBase16("7f"));
+    assertEncodes(AvroStructure.intType(),
+        Num.from(64), Data.fromBase16("8001"));
+  }
+
+  @Test
+  public void encodeLongStructures() {
+    assertEncodes(AvroStructure.longType(),
+        Num.from(0L), Data.fromBase16("00"));
+    assertEncodes(AvroStructure.longType(),
+        Num.from(-2L), Data.fromBase16("03"));
+    assertEncodes(AvroStructure.longType(),
+        Num.from(2L), Data.fromBase16("04"));
+    assertEncodes(AvroStructure.longType(),
+        Num.from(64L), Data.fromBase16("8001"));
+    assertEncodes(AvroStructure.longType(),
+        Num.from(Long.MIN_VALUE), Data.fromBase16("ffffffffffffffffff01"));
+  }
+
+  @Test
+  public void encodeFloatStructures() {
+    assertEncodes(AvroStructure.floatType(),
+        Num.from(0.0f), Data.fromBase16("00000000"));
+    assertEncodes(AvroStructure.floatType(),
+        Num.from(1.0f), Data.fromBase16("0000803f"));
+    assertEncodes(AvroStructure.floatType(),
+        Num.from(-1.0f), Data.fromBase16("000080bf"));
+    assertEncodes(AvroStructure.floatType(),
+        Num.from(Float.POSITIVE_INFINITY), Data.fromBase16("0000807f"));
+  }
+
+  @Test
+  public void encodeDoubleStructures() {
+    assertEncodes(AvroStructure.doubleType(),
+        Num.from(0.0), Data.fromBase16("0000000000000000"));
+    assertEncodes(AvroStructure.doubleType(),
+        Num.from(1.0), Data.fromBase16("000000000000f03f"));
+    assertEncodes(AvroStructure.doubleType(),
+        Num.from(-1.0), Data.fromBase16("000000000000f0bf"));
+    assertEncodes(AvroStructure.doubleType(),
+        Num.from(Double.NEGATIVE_INFINITY), Data.fromBase16("000000000000f0ff"));
+  }
+
+  @Test
+  public void encodeDataStructures() {
+    assertEncodes(AvroStructure.dataType(),
+        Data.fromBase16("f0e1d2c3"), Data.fromBase16("08f0e1d2c3"));
+  }
+
+  @Test
+  public void encodeStringStructures() {
+    assertEncodes(AvroStructure.stringType(),
+        Text.from("foo"), Data.fromBase16("06666f6f"));
+  }
+
+  @Test
+  public void encodeRecordStructures() {
+    assertEncodes(AvroStructure.recordType("test")
+            .field(AvroStructure.field("a", AvroStructure.longType()))
+            .field(AvroStructure.field("b", AvroStructure.stringType())),
+        Record.of(Slot.of("a", 27), Slot.of("b", "foo")), Data.fromBase16("3606666f6f"));
+  }
+
+  @Test
+  public void encodeEnumStructures() {
+    assertEncodes(AvroStructure.enumType("Foo", "A", "B", "C", "D"),
+        Text.from("C"), Data.fromBase16("04"));
+  }
+
+  @Test
+  public void encodeArrayStructures() {
+    assertEncodes(AvroStructure.arrayType(AvroStructure.longType()),
+        Record.of(3, 27), Data.fromBase16("04063600"));
+    assertEncodes(AvroStructure.arrayType(AvroStructure.longType()),
+        Record.empty(), Data.fromBase16("00"));
+  }
+
+  @Test
+  public void encodeMapStructures() {
+    assertEncodes(AvroStructure.mapType(AvroStructure.longType()),
+        Record.of(Slot.of("a", 3), Slot.of("b", 27)), Data.fromBase16("0402610602623600"));
+  }
+
+  @Test
+  public void encodeUnionStructures() {
+    assertEncodes(AvroStructure.unionType().variant(AvroStructure.nullType())
+            .variant(AvroStructure.stringType()),
+        Value.extant(), Data.fromBase16("00"));
+    assertEncodes(AvroStructure.unionType().variant(AvroStructure.nullType())
+            .variant(AvroStructure.stringType()),
+        Text.from("a"), Data.fromBase16("020261"));
+  }
+
+  @Test
+  public void encodeFixedStructures() {
+    assertEncodes(AvroStructure.fixedType("quad", 4),
+        Data.fromBase16("f0e1d2c3"), Data.fromBase16("f0e1d2c3"));
+  }
+
+}
@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * Byte {@link Input}/{@link Output} factory.
@@ -64,6 +65,17 @@ public final class Binary {
     return new ByteBufferOutput(buffer);
   }
 
+  /**
+   * Returns a new {@code OutputBuffer} that writes bytes into the given
+   * {@code buffer}, and that transfers file contents directly to the given
+   * {@code sink} via {@link java.nio.channels.FileChannel#transferTo(long, long,
+   * WritableByteChannel)} whenever {@code buffer} has been fully drained into
+   * {@code sink}, as indicated by a buffer position of {@code 0}.
+   */
+  public static OutputBuffer<ByteBuffer> outputBuffer(ByteBuffer buffer, WritableByteChannel sink) {
+    return new ByteBufferOutput(buffer, sink);
+  }
+
   /**
    * Returns a new {@code Output} that appends bytes to a growable array,
    * pre-allocated with space for {@code initialCapacity} bytes, using the
@@ -17,22 +17,34 @@ package swim.codec;
 import java.io.IOException;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 
 final class ByteBufferOutput extends OutputBuffer<ByteBuffer> {
 
   ByteBuffer buffer;
+  WritableByteChannel sink;
   OutputSettings settings;
   boolean isPart;
 
-  ByteBufferOutput(ByteBuffer buffer, OutputSettings settings, boolean isPart) {
+  ByteBufferOutput(ByteBuffer buffer, WritableByteChannel sink, OutputSettings settings, boolean isPart) {
     this.buffer = buffer;
+    this.sink = sink;
     this.settings = settings;
     this.isPart = isPart;
   }
 
+  ByteBufferOutput(ByteBuffer buffer, OutputSettings settings, boolean isPart) {
+    this(buffer, null, settings, isPart);
+  }
+
+  ByteBufferOutput(ByteBuffer buffer, WritableByteChannel sink) {
+    this(buffer, sink, OutputSettings.standard(), false);
+  }
+
   ByteBufferOutput(ByteBuffer buffer) {
-    this(buffer, OutputSettings.standard(), false);
+    this(buffer, null, OutputSettings.standard(), false);
   }
 
   @Override
@@ -136,6 +148,26 @@ final class ByteBufferOutput extends OutputBuffer<ByteBuffer> {
     return channel.read(this.buffer);
   }
 
+  @Override
+  public long transferFrom(FileChannel channel, long position, long count) throws IOException {
+    final WritableByteChannel sink = this.sink;
+    if (sink == null) {
+      return -1L;
+    } else if (this.buffer.position() != 0) {
+      // Buffered bytes must reach the sink before any transferred bytes.
+      return 0L;
+    }
+    long total = 0L;
+    while (total < count) {
+      final long k = channel.transferTo(position + total, count - total, sink);
+      if (k <= 0L) {
+        break;
+      }
+      total += k;
+    }
+    return total;
+  }
+
   @Override
   public OutputBuffer<ByteBuffer> write(int token) {
     final int position = this.buffer.position();
@@ -215,7 +247,7 @@ final class ByteBufferOutput extends OutputBuffer<ByteBuffer> {
 
   @Override
   public OutputBuffer<ByteBuffer> clone() {
-    return new ByteBufferOutput(this.buffer, this.settings, this.isPart);
+    return new ByteBufferOutput(this.buffer, this.sink, this.settings, this.isPart);
   }
 
 }
@@ -15,6 +15,7 @@
 package swim.codec;
 
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 
 /**
@@ -157,6 +158,22 @@ public abstract class OutputBuffer<T> extends Output<T> {
 
   public abstract int write(ReadableByteChannel channel) throws IOException;
 
+  /**
+   * Transfers up to {@code count} bytes of the given file {@code channel},
+   * starting at file {@code position}, directly to the sink underlying this
+   * {@code OutputBuffer}, bypassing the buffer itself.  Returns the number of
+   * bytes transferred, which may be {@code 0} if the sink can't currently
+   * accept more bytes, or if this buffer still holds bytes that have to be
+   * written first.  Returns {@code -1} if this {@code OutputBuffer} doesn't
+   * support direct transfers, in which case the caller should fall back to
+   * copying the file through this buffer with {@link
+   * #write(ReadableByteChannel)}.  Does not modify the position of {@code
+   * channel}.
+   */
+  public long transferFrom(FileChannel channel, long position, long count) throws IOException {
+    return -1L;
+  }
+
   @Override
   public abstract OutputBuffer<T> write(int token);
 
@@ -15,42 +15,69 @@
 package swim.concurrent;
 
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * Concurrent priority queue that partitions values into a fixed number of
+ * tranches by priority, polling values from the highest non-empty tranche
+ * first, and in insertion order within a tranche.  Each tranche enqueues
+ * into a preallocated ring buffer, and only allocates when its ring fills up,
+ * in which case values overflow into a linked queue until the ring drains.
+ * The queue tracks its size with a single counter, so {@link #size()} runs
+ * in constant time.
+ */
 public class ConcurrentTrancheQueue<T> {
 
-  final ConcurrentLinkedQueue<T>[] queues;
+  final ConcurrentTranche<T>[] tranches;
   final float scale;
   final int highest;
+  volatile int size;
 
   @SuppressWarnings("unchecked")
-  public ConcurrentTrancheQueue(int tranches) {
-    if (tranches == 0) {
+  public ConcurrentTrancheQueue(int tranches, int trancheCapacity) {
+    if (tranches <= 0 || trancheCapacity <= 0) {
       throw new IllegalArgumentException();
     }
-    this.queues = (ConcurrentLinkedQueue<T>[]) new ConcurrentLinkedQueue<?>[tranches];
+    this.tranches = (ConcurrentTranche<T>[]) new ConcurrentTranche<?>[tranches];
     for (int i = 0; i < tranches; i += 1) {
-      this.queues[i] = new ConcurrentLinkedQueue<T>();
+      this.tranches[i] = new ConcurrentTranche<T>(trancheCapacity);
     }
     this.scale = 0.5f * tranches;
     this.highest = tranches - 1;
   }
 
+  public ConcurrentTrancheQueue(int tranches) {
+    this(tranches, TRANCHE_CAPACITY);
+  }
+
+  /**
+   * Returns the number of values in this queue.  Values are counted before
+   * they're enqueued, so the size may briefly exceed the number of pollable
+   * values while a concurrent {@link #add(Object, float) add} completes.
+   */
   public int size() {
-    int size = 0;
-    for (int tranche = this.highest; tranche >= 0; tranche -= 1) {
-      size += this.queues[tranche].size();
-    }
-    return size;
+    return this.size;
+  }
+
+  public boolean isEmpty() {
+    return this.size == 0;
   }
 
   public void add(T value, float prio) {
+    if (value == null) {
+      throw new NullPointerException();
+    }
     final int tranche = Math.max(0, Math.min((int) ((1.0f + prio) * this.scale), this.highest));
-    this.queues[tranche].add(value);
+    SIZE.incrementAndGet(this);
+    this.tranches[tranche].add(value);
   }
 
   public T peek() {
     for (int tranche = this.highest; tranche >= 0; tranche -= 1) {
-      final T value = this.queues[tranche].peek();
+      final T value = this.tranches[tranche].peek();
       if (value != null) {
         return value;
       }
@@ -60,12 +87,183 @@ public class ConcurrentTrancheQueue<T> {
 
   public T poll() {
     for (int tranche = this.highest; tranche >= 0; tranche -= 1) {
-      final T value = this.queues[tranche].poll();
+      final T value = this.tranches[tranche].poll();
       if (value != null) {
+        SIZE.decrementAndGet(this);
         return value;
       }
     }
     return null;
   }
 
+  static final int TRANCHE_CAPACITY;
+
+  static {
+    int trancheCapacity;
+    try {
+      trancheCapacity = Integer.parseInt(System.getProperty("swim.concurrent.tranche.capacity"));
+    } catch (NumberFormatException e) {
+      trancheCapacity = 32;
+    }
+    TRANCHE_CAPACITY = trancheCapacity;
+  }
+
+  @SuppressWarnings("unchecked")
+  static final AtomicIntegerFieldUpdater<ConcurrentTrancheQueue<?>> SIZE =
+      AtomicIntegerFieldUpdater.newUpdater((Class<ConcurrentTrancheQueue<?>>) (Class<?>) ConcurrentTrancheQueue.class, "size");
+
+}
+
+/**
+ * Padding that keeps the producer index of a tranche off the cache line of
+ * the object header and the fields of preceding objects.
+ */
+abstract class ConcurrentTranchePad0 {
+
+  long p00, p01, p02, p03, p04, p05, p06, p07;
+
+}
+
+abstract class ConcurrentTrancheTail extends ConcurrentTranchePad0 {
+
+  volatile long tail;
+
+}
+
+/**
+ * Padding that keeps the producer and consumer indexes of a tranche on
+ * separate cache lines.
+ */
+abstract class ConcurrentTranchePad1 extends ConcurrentTrancheTail {
+
+  long p10, p11, p12, p13, p14, p15, p16, p17;
+
+}
+
+abstract class ConcurrentTrancheHead extends ConcurrentTranchePad1 {
+
+  volatile long head;
+
+}
+
+/**
+ * Padding that keeps the consumer index of a tranche off the cache line of
+ * the tranche's read-mostly fields.
+ */
+abstract class ConcurrentTranchePad2 extends ConcurrentTrancheHead {
+
+  long p20, p21, p22, p23, p24, p25, p26, p27;
+
+}
+
+/**
+ * Bounded multi-producer, multi-consumer ring buffer, in which each slot
+ * carries a sequence number that tells producers when the slot is free, and
+ * consumers when the slot is filled.  Values that don't fit in the ring go
+ * to an overflow queue, and keep going there until the overflow queue drains,
+ * so that values stay in insertion order when the ring fills up.  Consumers
+ * only fall back to the overflow queue once every claimed ring slot has been
+ * consumed; a slot claimed by a producer that hasn't yet published its value
+ * holds an older value than any in the overflow queue, so consumers wait for
+ * it rather than skipping ahead.
+ */
+final class ConcurrentTranche<T> extends ConcurrentTranchePad2 {
+
+  final AtomicReferenceArray<T> values;
+  final AtomicLongArray sequences;
+  final int mask;
+  final ConcurrentLinkedQueue<T> overflow;
+  volatile int overflowCount;
+
+  ConcurrentTranche(int capacity) {
+    capacity = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+    this.values = new AtomicReferenceArray<T>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i += 1) {
+      this.sequences.lazySet(i, (long) i);
+    }
+    this.mask = capacity - 1;
+    this.overflow = new ConcurrentLinkedQueue<T>();
+  }
+
+  void add(T value) {
+    if (this.overflowCount != 0 || !offer(value)) {
+      OVERFLOW_COUNT.incrementAndGet(this);
+      this.overflow.add(value);
+    }
+  }
+
+  boolean offer(T value) {
+    final AtomicLongArray sequences = this.sequences;
+    long tail = this.tail;
+    do {
+      final int index = (int) tail & this.mask;
+      final long sequence = sequences.get(index);
+      if (sequence == tail) {
+        if (TAIL.compareAndSet(this, tail, tail + 1L)) {
+          this.values.lazySet(index, value);
+          sequences.set(index, tail + 1L);
+          return true;
+        }
+      } else if (sequence < tail) {
+        return false; // ring full
+      }
+      tail = this.tail;
+    } while (true);
+  }
+
+  T peek() {
+    final AtomicLongArray sequences = this.sequences;
+    long head = this.head;
+    do {
+      final int index = (int) head & this.mask;
+      final long sequence = sequences.get(index);
+      if (sequence == head + 1L) {
+        final T value = this.values.get(index);
+        if (value != null && head == this.head) {
+          return value;
+        }
+      } else if (sequence < head + 1L && head == this.tail) {
+        return this.overflowCount != 0 ? this.overflow.peek() : null;
+      }
+      head = this.head;
+    } while (true);
+  }
+
+  T poll() {
+    final AtomicLongArray sequences = this.sequences;
+    long head = this.head;
+    do {
+      final int index = (int) head & this.mask;
+      final long sequence = sequences.get(index);
+      if (sequence == head + 1L) {
+        if (HEAD.compareAndSet(this, head, head + 1L)) {
+          final T value = this.values.get(index);
+          this.values.lazySet(index, null);
+          sequences.set(index, head + (long) this.mask + 1L);
+          return value;
+        }
+      } else if (sequence < head + 1L && head == this.tail) {
+        return this.overflowCount != 0 ? pollOverflow() : null;
+      }
+      head = this.head;
+    } while (true);
+  }
+
+  T pollOverflow() {
+    final T value = this.overflow.poll();
+    if (value != null) {
+      OVERFLOW_COUNT.decrementAndGet(this);
+    }
+    return value;
+  }
+
+  static final AtomicLongFieldUpdater<ConcurrentTrancheTail> TAIL =
+      AtomicLongFieldUpdater.newUpdater(ConcurrentTrancheTail.class, "tail");
+  static final AtomicLongFieldUpdater<ConcurrentTrancheHead> HEAD =
+      AtomicLongFieldUpdater.newUpdater(ConcurrentTrancheHead.class, "head");
+  @SuppressWarnings("unchecked")
+  static final AtomicIntegerFieldUpdater<ConcurrentTranche<?>> OVERFLOW_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater((Class<ConcurrentTranche<?>>) (Class<?>) ConcurrentTranche.class, "overflowCount");
+
 }
@@ -14,15 +14,24 @@
 
 package swim.concurrent;
 
+import java.util.Iterator;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Predicate;
+import swim.collections.HashTrieMap;
 
 /**
  * {@link Stage} that executes timers, tasks, and continuations on a {@code
- * ForkJoinPool}.
+ * ForkJoinPool}.  A theater defined with a {@code maxParallelism} adds
+ * workers, up to that bound, to compensate for workers that run blocking
+ * tasks, and retires the extra workers once they go idle.  Named sub-stages,
+ * defined by the {@link TheaterDef#stageDefs() stage defs} of the theater,
+ * execute on their own pools, and stop when the theater stops.
  */
 public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
 
@@ -47,6 +56,28 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
    */
   static final AtomicIntegerFieldUpdater<Theater> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(Theater.class, "status");
+  /**
+   * Atomic {@link #stages} field updater, used to lazily create sub-stages.
+   */
+  @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<Theater, HashTrieMap<String, Theater>> STAGES =
+      AtomicReferenceFieldUpdater.newUpdater(Theater.class, (Class<HashTrieMap<String, Theater>>) (Class<?>) HashTrieMap.class, "stages");
+  /**
+   * Atomic {@link #blockedTime} field updater, used to accumulate the time
+   * spent running blocking tasks.
+   */
+  static final AtomicLongFieldUpdater<Theater> BLOCKED_TIME =
+      AtomicLongFieldUpdater.newUpdater(Theater.class, "blockedTime");
+  /**
+   * Atomic {@link #blockedTaskCount} field updater, used to count executions
+   * of blocking tasks.
+   */
+  static final AtomicLongFieldUpdater<Theater> BLOCKED_TASK_COUNT =
+      AtomicLongFieldUpdater.newUpdater(Theater.class, "blockedTaskCount");
+  /**
+   * Number of milliseconds after which idle compensating workers retire.
+   */
+  static final long KEEP_ALIVE = 60000L;
   /**
    * Prefix for worker thread names.
    */
@@ -55,6 +86,27 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
    * Thread pool on which to execute timers, tasks, and continuations.
    */
   final ForkJoinPool pool;
+  /**
+   * Maximum number of workers, including workers that compensate for
+   * blocked workers, or {@code 0} if the pool's default bound applies.
+   */
+  final int maxParallelism;
+  /**
+   * Definitions of the named sub-stages of this theater.
+   */
+  final HashTrieMap<String, TheaterDef> stageDefs;
+  /**
+   * Sub-stages of this theater that have been created, keyed by name.
+   */
+  volatile HashTrieMap<String, Theater> stages;
+  /**
+   * Total number of nanoseconds spent running blocking tasks.
+   */
+  volatile long blockedTime;
+  /**
+   * Total number of blocking task executions.
+   */
+  volatile long blockedTaskCount;
   /**
    * Schedule used to set timers.
    */
@@ -70,7 +122,10 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
     if (parallelism == 0) {
       parallelism = 2 * Runtime.getRuntime().availableProcessors();
     }
-    this.pool = new ForkJoinPool(parallelism, new TheaterWorkerFactory(this), this, true);
+    this.maxParallelism = theaterDef.maxParallelism != 0 ? Math.max(parallelism, theaterDef.maxParallelism) : 0;
+    this.pool = createPool(this, parallelism, this.maxParallelism);
+    this.stageDefs = theaterDef.stageDefs;
+    this.stages = HashTrieMap.empty();
     if (theaterDef.scheduleDef instanceof ClockDef) {
       this.schedule = new StageClock(this, (ClockDef) theaterDef.scheduleDef);
     } else {
@@ -80,7 +135,10 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
 
   public Theater(String name, int parallelism, Schedule schedule) {
     this.name = name != null ? name : "SwimStage" + THEATER_COUNT.getAndIncrement() + ".";
-    this.pool = new ForkJoinPool(parallelism, new TheaterWorkerFactory(this), this, true);
+    this.maxParallelism = 0;
+    this.pool = createPool(this, parallelism, 0);
+    this.stageDefs = HashTrieMap.empty();
+    this.stages = HashTrieMap.empty();
     this.schedule = schedule != null ? schedule : new StageClock(this);
   }
 
@@ -120,6 +178,123 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
     return this.pool.getParallelism();
   }
 
+  /**
+   * Returns the maximum number of workers this {@code Theater} runs when
+   * compensating for blocked workers, or {@code 0} if unbounded by the
+   * theater's definition.
+   */
+  public final int maxParallelism() {
+    return this.maxParallelism;
+  }
+
+  /**
+   * Returns the number of worker threads that have started and not yet
+   * retired, which exceeds the {@link #parallelism() parallelism} while
+   * blocked workers are being compensated.
+   */
+  public int poolSize() {
+    return this.pool.getPoolSize();
+  }
+
+  /**
+   * Returns an estimate of the number of worker threads that are currently
+   * executing tasks.
+   */
+  public int activeThreadCount() {
+    return this.pool.getActiveThreadCount();
+  }
+
+  /**
+   * Returns an estimate of the number of tasks waiting to be executed by
+   * this {@code Theater}'s worker threads.
+   */
+  public long queuedTaskCount() {
+    return this.pool.getQueuedTaskCount() + (long) this.pool.getQueuedSubmissionCount();
+  }
+
+  /**
+   * Returns an estimate of the total number of tasks stolen from one worker
+   * thread's queue by another.
+   */
+  public long stealCount() {
+    return this.pool.getStealCount();
+  }
+
+  /**
+   * Returns the total number of nanoseconds spent running tasks that declared
+   * that they {@link Task#taskWillBlock() block}.
+   */
+  public long blockedTime() {
+    return this.blockedTime;
+  }
+
+  /**
+   * Returns the total number of executions of tasks that declared that they
+   * {@link Task#taskWillBlock() block}.
+   */
+  public long blockedTaskCount() {
+    return this.blockedTaskCount;
+  }
+
+  void didBlock(long blockedTime) {
+    BLOCKED_TIME.addAndGet(this, blockedTime);
+    BLOCKED_TASK_COUNT.incrementAndGet(this);
+  }
+
+  public final HashTrieMap<String, TheaterDef> stageDefs() {
+    return this.stageDefs;
+  }
+
+  /**
+   * Returns the sub-stages of this {@code Theater} that have been created
+   * so far, keyed by name.
+   */
+  public final HashTrieMap<String, Theater> stages() {
+    return this.stages;
+  }
+
+  /**
+   * Returns the sub-stage of this {@code Theater} with the given {@code
+   * stageName}, creating it if it's defined but doesn't yet exist; returns
+   * {@code null} if no sub-stage with the given name is defined.
+   */
+  public Theater getStage(String stageName) {
+    Theater newStage = null;
+    do {
+      final HashTrieMap<String, Theater> oldStages = this.stages;
+      final Theater stage = oldStages.get(stageName);
+      if (stage != null) {
+        if (newStage != null) {
+          // Lost creation race.
+          newStage.stop();
+        }
+        return stage;
+      } else {
+        if (newStage == null) {
+          final TheaterDef stageDef = this.stageDefs.get(stageName);
+          if (stageDef == null) {
+            return null;
+          }
+          newStage = createStage(stageName, stageDef);
+        }
+        if (STAGES.compareAndSet(this, oldStages, oldStages.updated(stageName, newStage))) {
+          if ((this.status & STOPPED) != 0) {
+            newStage.stop();
+          }
+          return newStage;
+        }
+      }
+    } while (true);
+  }
+
+  protected Theater createStage(String stageName, TheaterDef stageDef) {
+    if (stageDef.name == null) {
+      final String prefix = this.name.endsWith(".") ? this.name : this.name + '.';
+      stageDef = stageDef.name(prefix + stageName + '.');
+    }
+    return new Theater(stageDef);
+  }
+
   public final Schedule schedule() {
     return this.schedule;
   }
@@ -164,6 +339,10 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
       newStatus = oldStatus | STOPPED;
     } while (!STATUS.compareAndSet(this, oldStatus, newStatus));
     if (oldStatus != newStatus) {
+      final Iterator<Theater> stages = this.stages.valueIterator();
+      while (stages.hasNext()) {
+        stages.next().stop();
+      }
       this.pool.shutdown();
       boolean interrupted = false;
       while (!this.pool.isTerminated()) {
@@ -336,6 +515,31 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
     didFail(error);
   }
 
+  static ForkJoinPool createPool(Theater theater, int parallelism, int maxParallelism) {
+    final TheaterWorkerFactory workerFactory = new TheaterWorkerFactory(theater);
+    if (maxParallelism != 0) {
+      return new ForkJoinPool(parallelism, workerFactory, theater, true, parallelism, maxParallelism,
+                              1, TheaterSaturation.INSTANCE, KEEP_ALIVE, TimeUnit.MILLISECONDS);
+    } else {
+      return new ForkJoinPool(parallelism, workerFactory, theater, true);
+    }
+  }
+
+}
+
+/**
+ * Saturation policy that lets a worker block without compensation once a
+ * {@code Theater} runs its maximum number of workers.
+ */
+final class TheaterSaturation implements Predicate<ForkJoinPool> {
+
+  static final TheaterSaturation INSTANCE = new TheaterSaturation();
+
+  @Override
+  public boolean test(ForkJoinPool pool) {
+    return true;
+  }
+
 }
 
 /**
@@ -448,7 +652,12 @@ class TheaterTask implements TaskContext, Runnable, ForkJoinPool.ManagedBlocker
       this.theater.taskWillRun(this.task);
       try {
         if (this.task instanceof Task && ((Task) this.task).taskWillBlock()) {
-          ForkJoinPool.managedBlock(this);
+          final long blockStart = System.nanoTime();
+          try {
+            ForkJoinPool.managedBlock(this);
+          } finally {
+            this.theater.didBlock(System.nanoTime() - blockStart);
+          }
         } else {
           this.task.runTask();
         }
@@ -14,9 +14,12 @@
 
 package swim.concurrent;
 
+import java.util.Iterator;
+import java.util.Map;
 import swim.codec.Debug;
 import swim.codec.Format;
 import swim.codec.Output;
+import swim.collections.HashTrieMap;
 import swim.structure.Form;
 import swim.structure.Item;
 import swim.structure.Kind;
@@ -32,12 +35,29 @@ public class TheaterDef implements StageDef, Debug {
   private static Form<TheaterDef> theaterForm;
   final String name;
   final int parallelism;
+  final int maxParallelism;
   final ScheduleDef scheduleDef;
+  final HashTrieMap<String, TheaterDef> stageDefs;
 
-  public TheaterDef(String name, int parallelism, ScheduleDef scheduleDef) {
+  /**
+   * Defines a theater with a target {@code parallelism}, and with up to
+   * {@code maxParallelism} workers when running workers block; a {@code
+   * maxParallelism} of zero leaves the worker bound to the underlying pool.
+   * Each of the named {@code stageDefs} defines a sub-stage of the theater
+   * with its own workers, so that tasks executed on one sub-stage can't
+   * starve tasks executed on another.
+   */
+  public TheaterDef(String name, int parallelism, int maxParallelism, ScheduleDef scheduleDef,
+                    HashTrieMap<String, TheaterDef> stageDefs) {
     this.name = name;
     this.parallelism = parallelism;
+    this.maxParallelism = maxParallelism;
     this.scheduleDef = scheduleDef;
+    this.stageDefs = stageDefs;
+  }
+
+  public TheaterDef(String name, int parallelism, ScheduleDef scheduleDef) {
+    this(name, parallelism, 0, scheduleDef, HashTrieMap.<String, TheaterDef>empty());
   }
 
   public static TheaterDef standard() {
@@ -64,7 +84,7 @@ public class TheaterDef implements StageDef, Debug {
   }
 
   public TheaterDef name(String name) {
-    return copy(name, this.parallelism, this.scheduleDef);
+    return copy(name, this.parallelism, this.maxParallelism, this.scheduleDef, this.stageDefs);
   }
 
   public final int parallelism() {
@@ -72,7 +92,15 @@ public class TheaterDef implements StageDef, Debug {
   }
 
   public TheaterDef parallelism(int parallelism) {
-    return copy(this.name, parallelism, this.scheduleDef);
+    return copy(this.name, parallelism, this.maxParallelism, this.scheduleDef, this.stageDefs);
+  }
+
+  public final int maxParallelism() {
+    return this.maxParallelism;
+  }
+
+  public TheaterDef maxParallelism(int maxParallelism) {
+    return copy(this.name, this.parallelism, maxParallelism, this.scheduleDef, this.stageDefs);
   }
 
   public final ScheduleDef scheduleDef() {
@@ -80,11 +108,25 @@ public class TheaterDef implements StageDef, Debug {
   }
 
   public TheaterDef scheduleDef(ScheduleDef scheduleDef) {
-    return copy(this.name, this.parallelism, scheduleDef);
+    return copy(this.name, this.parallelism, this.maxParallelism, scheduleDef, this.stageDefs);
+  }
+
+  public final HashTrieMap<String, TheaterDef> stageDefs() {
+    return this.stageDefs;
+  }
+
+  public final TheaterDef getStageDef(String stageName) {
+    return this.stageDefs.get(stageName);
+  }
+
+  public TheaterDef stageDef(String stageName, TheaterDef stageDef) {
+    return copy(this.name, this.parallelism, this.maxParallelism, this.scheduleDef,
+                this.stageDefs.updated(stageName, stageDef));
   }
 
-  protected TheaterDef copy(String name, int parallelism, ScheduleDef scheduleDef) {
-    return new TheaterDef(name, parallelism, scheduleDef);
+  protected TheaterDef copy(String name, int parallelism, int maxParallelism, ScheduleDef scheduleDef,
+                            HashTrieMap<String, TheaterDef> stageDefs) {
+    return new TheaterDef(name, parallelism, maxParallelism, scheduleDef, stageDefs);
   }
 
   @Override
@@ -95,7 +137,9 @@ public class TheaterDef implements StageDef, Debug {
       final TheaterDef that = (TheaterDef) other;
       return (this.name == null ? that.name == null : this.name.equals(that.name))
           && this.parallelism == that.parallelism
-          && (this.scheduleDef == null ? that.scheduleDef == null : this.scheduleDef.equals(that.scheduleDef));
+          && this.maxParallelism == that.maxParallelism
+          && (this.scheduleDef == null ? that.scheduleDef == null : this.scheduleDef.equals(that.scheduleDef))
+          && this.stageDefs.equals(that.stageDefs);
     }
     return false;
   }
@@ -105,8 +149,9 @@ public class TheaterDef implements StageDef, Debug {
     if (hashSeed == 0) {
       hashSeed = Murmur3.seed(TheaterDef.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed,
-        Murmur3.hash(this.name)), this.parallelism), Murmur3.hash(this.scheduleDef)));
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed,
+        Murmur3.hash(this.name)), this.parallelism), this.maxParallelism),
+        Murmur3.hash(this.scheduleDef)), this.stageDefs.hashCode()));
   }
 
   @Override
@@ -116,9 +161,18 @@ public class TheaterDef implements StageDef, Debug {
       output = output.write('.').write("name").write('(').debug(name).write(')');
     }
     output = output.write('.').write("parallelism").write('(').debug(parallelism).write(')');
+    if (this.maxParallelism != 0) {
+      output = output.write('.').write("maxParallelism").write('(').debug(maxParallelism).write(')');
+    }
     if (this.scheduleDef != null) {
       output = output.write('.').write("scheduleDef").write('(').debug(scheduleDef).write(')');
     }
+    final Iterator<Map.Entry<String, TheaterDef>> stageDefs = this.stageDefs.iterator();
+    while (stageDefs.hasNext()) {
+      final Map.Entry<String, TheaterDef> stageDef = stageDefs.next();
+      output = output.write('.').write("stageDef").write('(').debug(stageDef.getKey())
+                     .write(", ").debug(stageDef.getValue()).write(')');
+    }
   }
 
   @Override
@@ -161,11 +215,19 @@ final class TheaterForm extends Form<TheaterDef> {
   @Override
   public Item mold(TheaterDef theaterDef) {
     if (theaterDef != null) {
-      final Record record = Record.create(3).attr(tag());
+      final Record record = Record.create(4 + theaterDef.stageDefs.size()).attr(tag());
       record.slot("parallelism", theaterDef.parallelism);
+      if (theaterDef.maxParallelism != 0) {
+        record.slot("maxParallelism", theaterDef.maxParallelism);
+      }
       if (theaterDef.scheduleDef != null) {
         record.add(this.scheduleForm.mold(theaterDef.scheduleDef));
       }
+      final Iterator<Map.Entry<String, TheaterDef>> stageDefs = theaterDef.stageDefs.iterator();
+      while (stageDefs.hasNext()) {
+        final Map.Entry<String, TheaterDef> stageDef = stageDefs.next();
+        record.add(mold(stageDef.getValue().name(stageDef.getKey())));
+      }
       return theaterDef.name != null ? Slot.of(theaterDef.name, record) : record;
     } else {
       return Item.extant();
@@ -179,20 +241,31 @@ final class TheaterForm extends Form<TheaterDef> {
     if (header.isDefined()) {
       final String name = item.key().stringValue(null);
       int parallelism = 2 * Runtime.getRuntime().availableProcessors();
+      int maxParallelism = 0;
       ScheduleDef scheduleDef = null;
+      HashTrieMap<String, TheaterDef> stageDefs = HashTrieMap.empty();
       for (int i = 0, n = value.length(); i < n; i += 1) {
         final Item member = value.getItem(i);
         if (member.keyEquals("parallelism")) {
           parallelism = member.toValue().intValue(parallelism);
           continue;
         }
+        if (member.keyEquals("maxParallelism")) {
+          maxParallelism = member.toValue().intValue(maxParallelism);
+          continue;
+        }
+        final TheaterDef stageDef = member instanceof Slot ? cast(member) : null;
+        if (stageDef != null && stageDef.name != null) {
+          stageDefs = stageDefs.updated(stageDef.name, stageDef.name(null));
+          continue;
+        }
         final ScheduleDef newScheduleDef = this.scheduleForm.cast(member);
         if (newScheduleDef != null) {
           scheduleDef = newScheduleDef;
           continue;
         }
       }
-      return new TheaterDef(name, parallelism, scheduleDef);
+      return new TheaterDef(name, parallelism, maxParallelism, scheduleDef, stageDefs);
     }
     return null;
   }
@@ -0,0 +1,145 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class ConcurrentTrancheQueueSpec {
+
+  @Test
+  public void pollHigherPrioritiesFirst() {
+    final ConcurrentTrancheQueue<String> queue = new ConcurrentTrancheQueue<String>(5, 4);
+    queue.add("low", -1.0f);
+    queue.add("normal", 0.0f);
+    queue.add("high", 1.0f);
+    assertEquals(queue.size(), 3);
+    assertEquals(queue.peek(), "high");
+    assertEquals(queue.poll(), "high");
+    assertEquals(queue.poll(), "normal");
+    assertEquals(queue.poll(), "low");
+    assertNull(queue.poll());
+    assertEquals(queue.size(), 0);
+  }
+
+  @Test
+  public void pollInInsertionOrderPastTrancheCapacity() {
+    final ConcurrentTrancheQueue<Integer> queue = new ConcurrentTrancheQueue<Integer>(1, 4);
+    for (int i = 0; i < 10; i += 1) {
+      queue.add(i, 0.0f);
+    }
+    assertEquals(queue.size(), 10);
+    for (int i = 0; i < 3; i += 1) {
+      assertEquals(queue.poll(), Integer.valueOf(i));
+    }
+    for (int i = 10; i < 20; i += 1) {
+      queue.add(i, 0.0f);
+    }
+    for (int i = 3; i < 20; i += 1) {
+      assertEquals(queue.poll(), Integer.valueOf(i));
+    }
+    assertNull(queue.poll());
+    assertTrue(queue.isEmpty());
+  }
+
+  @Test
+  public void wrapAroundTrancheRings() {
+    final ConcurrentTrancheQueue<Integer> queue = new ConcurrentTrancheQueue<Integer>(1, 4);
+    for (int i = 0; i < 100; i += 1) {
+      queue.add(2 * i, 0.0f);
+      queue.add(2 * i + 1, 0.0f);
+      assertEquals(queue.poll(), Integer.valueOf(2 * i));
+      assertEquals(queue.poll(), Integer.valueOf(2 * i + 1));
+    }
+    assertEquals(queue.size(), 0);
+  }
+
+  @Test
+  public void pollAllValuesAddedByConcurrentProducers() throws InterruptedException {
+    final int producerCount = 4;
+    final int valueCount = 10000;
+    final ConcurrentTrancheQueue<Integer> queue = new ConcurrentTrancheQueue<Integer>(3, 16);
+    final CountDownLatch produced = new CountDownLatch(producerCount);
+    for (int p = 0; p < producerCount; p += 1) {
+      final int producer = p;
+      final Thread thread = new Thread() {
+        @Override
+        public void run() {
+          for (int i = 0; i < valueCount; i += 1) {
+            queue.add(producer * valueCount + i, (float) (i % 3 - 1));
+          }
+          produced.countDown();
+        }
+      };
+      thread.start();
+    }
+    final boolean[] seen = new boolean[producerCount * valueCount];
+    int pollCount = 0;
+    while (pollCount < seen.length) {
+      final Integer value = queue.poll();
+      if (value != null) {
+        assertTrue(!seen[value], "duplicate value: " + value);
+        seen[value] = true;
+        pollCount += 1;
+      } else {
+        Thread.yield();
+      }
+    }
+    assertTrue(produced.await(1, TimeUnit.SECONDS));
+    assertNull(queue.poll());
+    assertEquals(queue.size(), 0);
+  }
+
+  @Test
+  public void pollConcurrentProducersInInsertionOrderPastTrancheCapacity() throws InterruptedException {
+    final int producerCount = 4;
+    final int valueCount = 20000;
+    final ConcurrentTrancheQueue<Integer> queue = new ConcurrentTrancheQueue<Integer>(1, 4);
+    final CountDownLatch produced = new CountDownLatch(producerCount);
+    for (int p = 0; p < producerCount; p += 1) {
+      final int producer = p;
+      final Thread thread = new Thread() {
+        @Override
+        public void run() {
+          for (int i = 0; i < valueCount; i += 1) {
+            queue.add(producer * valueCount + i, 0.0f);
+          }
+          produced.countDown();
+        }
+      };
+      thread.start();
+    }
+    final int[] next = new int[producerCount];
+    int pollCount = 0;
+    while (pollCount < producerCount * valueCount) {
+      final Integer value = queue.poll();
+      if (value != null) {
+        final int producer = value / valueCount;
+        assertEquals(value % valueCount, next[producer], "out of order value from producer " + producer);
+        next[producer] += 1;
+        pollCount += 1;
+      } else {
+        Thread.yield();
+      }
+    }
+    assertTrue(produced.await(1, TimeUnit.SECONDS));
+    assertNull(queue.poll());
+  }
+
+}
@@ -16,9 +16,14 @@ package swim.concurrent;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
 import org.testng.annotations.Test;
+import swim.structure.Item;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
@@ -548,4 +553,113 @@ public class TestTheaterSpec {
     }
   }
 
+  @Test
+  public void runTasksOnDefinedSubStages() throws InterruptedException {
+    final TheaterDef theaterDef = new TheaterDef("Theater.", 2, null)
+        .stageDef("io", new TheaterDef(null, 1, null));
+    final Theater theater = new Theater(theaterDef);
+    final CountDownLatch execute = new CountDownLatch(1);
+    final String[] threadName = new String[1];
+    try {
+      theater.start();
+      final Theater io = theater.getStage("io");
+      assertNotSame(io, theater);
+      assertSame(theater.getStage("io"), io);
+      assertNull(theater.getStage("store"));
+      assertEquals(io.parallelism(), 1);
+      io.execute(new Runnable() {
+        @Override
+        public void run() {
+          threadName[0] = Thread.currentThread().getName();
+          execute.countDown();
+        }
+      });
+      assertTrue(execute.await(1, TimeUnit.SECONDS));
+      assertTrue(threadName[0].startsWith("Theater.io."), threadName[0]);
+    } finally {
+      theater.stop();
+    }
+    assertTrue(theater.getStage("io").pool.isShutdown());
+  }
+
+  @Test
+  public void measureBlockingTasks() {
+    final TestTheater theater = new TestTheater();
+    final CountDownLatch execute = new CountDownLatch(1);
+    try {
+      theater.start();
+      final TaskRef task = theater.task(new AbstractTask() {
+        @Override
+        public void runTask() {
+          try {
+            Thread.sleep(10L);
+          } catch (InterruptedException cause) {
+            throw new RuntimeException(cause);
+          }
+          execute.countDown();
+        }
+
+        @Override
+        public boolean taskWillBlock() {
+          return true;
+        }
+      });
+      task.cue();
+      theater.await(execute);
+    } finally {
+      theater.stop();
+    }
+    assertEquals(theater.blockedTaskCount(), 1L);
+    assertTrue(theater.blockedTime() >= 10000000L);
+  }
+
+  @Test
+  public void compensateBlockedWorkersUpToMaxParallelism() throws InterruptedException {
+    final Theater theater = new Theater(new TheaterDef(null, 1, 2, null, TheaterDef.standard().stageDefs()));
+    final CountDownLatch blocked = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch execute = new CountDownLatch(1);
+    try {
+      theater.start();
+      assertEquals(theater.maxParallelism(), 2);
+      theater.task(new AbstractTask() {
+        @Override
+        public void runTask() {
+          blocked.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException cause) {
+            throw new RuntimeException(cause);
+          }
+        }
+
+        @Override
+        public boolean taskWillBlock() {
+          return true;
+        }
+      }).cue();
+      assertTrue(blocked.await(1, TimeUnit.SECONDS));
+      theater.execute(new Runnable() {
+        @Override
+        public void run() {
+          execute.countDown();
+        }
+      });
+      assertTrue(execute.await(1, TimeUnit.SECONDS));
+      release.countDown();
+    } finally {
+      release.countDown();
+      theater.stop();
+    }
+  }
+
+  @Test
+  public void moldAndCastTheaterDefsWithSubStages() {
+    final TheaterDef theaterDef = new TheaterDef("main", 4, 8, null, TheaterDef.standard().stageDefs())
+        .stageDef("io", new TheaterDef(null, 2, null))
+        .stageDef("store", new TheaterDef(null, 1, 4, null, TheaterDef.standard().stageDefs()));
+    final Item item = TheaterDef.theaterForm().mold(theaterDef);
+    assertEquals(TheaterDef.theaterForm().cast(item), theaterDef);
+  }
+
 }
@@ -14,14 +14,28 @@
 
 package swim.csv;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import swim.codec.Binary;
+import swim.codec.Decoder;
 import swim.codec.Parser;
+import swim.codec.Unicode;
+import swim.codec.Utf8;
 import swim.csv.parser.CsvParser;
 import swim.csv.schema.CsvHeader;
 import swim.csv.structure.CsvStructure;
+import swim.structure.Form;
 import swim.structure.Item;
 import swim.structure.Record;
 import swim.structure.Value;
+import swim.util.Builder;
 
 /**
  * Factory for constructing CSV parsers and writers.
@@ -145,6 +159,88 @@ public final class Csv {
     return parser(delimiter).parseRowBuffer(header, csvBuffer);
   }
 
+  public static Iterator<Value> tableIterator(String csvString) {
+    return parser().tableIterator(CsvStructure.header(), Unicode.stringInput(csvString));
+  }
+
+  public static Iterator<Value> tableIterator(byte[] csvData) {
+    return parser().tableIterator(CsvStructure.header(), Utf8.decodedInput(Binary.inputBuffer(csvData)));
+  }
+
+  public static Iterator<Value> tableIterator(ByteBuffer csvBuffer) {
+    return parser().tableIterator(CsvStructure.header(), Utf8.decodedInput(Binary.inputBuffer(csvBuffer)));
+  }
+
+  public static <T, R, C> Iterator<R> tableIterator(String csvString, CsvHeader<T, R, C> header) {
+    return parser().tableIterator(header, Unicode.stringInput(csvString));
+  }
+
+  public static <T, R, C> Iterator<R> tableIterator(byte[] csvData, CsvHeader<T, R, C> header) {
+    return parser().tableIterator(header, Utf8.decodedInput(Binary.inputBuffer(csvData)));
+  }
+
+  public static <T, R, C> Iterator<R> tableIterator(ByteBuffer csvBuffer, CsvHeader<T, R, C> header) {
+    return parser().tableIterator(header, Utf8.decodedInput(Binary.inputBuffer(csvBuffer)));
+  }
+
+  public static <O> Iterator<O> tableIterator(String csvString, Form<O> form) {
+    return new FormIterator<O>(tableIterator(csvString), form);
+  }
+
+  public static <O> Iterator<O> tableIterator(byte[] csvData, Form<O> form) {
+    return new FormIterator<O>(tableIterator(csvData), form);
+  }
+
+  public static <O> Iterator<O> tableIterator(ByteBuffer csvBuffer, Form<O> form) {
+    return new FormIterator<O>(tableIterator(csvBuffer), form);
+  }
+
+  public static <T, R, C> Iterator<R> bodyIterator(String csvString, CsvHeader<T, R, C> header) {
+    return parser().bodyIterator(header, Unicode.stringInput(csvString));
+  }
+
+  public static <T, R, C> Iterator<R> bodyIterator(byte[] csvData, CsvHeader<T, R, C> header) {
+    return parser().bodyIterator(header, Utf8.decodedInput(Binary.inputBuffer(csvData)));
+  }
+
+  public static <T, R, C> Iterator<R> bodyIterator(ByteBuffer csvBuffer, CsvHeader<T, R, C> header) {
+    return parser().bodyIterator(header, Utf8.decodedInput(Binary.inputBuffer(csvBuffer)));
+  }
+
+  public static <T, R, C> List<T> parseTableChunks(Path path, CsvHeader<T, R, C> header, int chunkCount) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return parser().parseTableChunks(header, channel, chunkCount);
+    }
+  }
+
+  public static <T, R, C> List<T> parseTableChunks(int delimiter, Path path, CsvHeader<T, R, C> header, int chunkCount) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return parser(delimiter).parseTableChunks(header, channel, chunkCount);
+    }
+  }
+
+  public static <T, R, C> List<T> parseTableChunks(Path path, CsvHeader<T, R, C> header, int chunkCount,
+                                                   Executor executor) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return parser().parseTableChunks(header, channel, chunkCount, executor);
+    }
+  }
+
+  public static <T, R, C, U> U parseTableChunks(Path path, CsvHeader<T, R, C> header, Builder<R, U> rowSink,
+                                                int chunkCount, Executor executor) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return parser().parseTableChunks(header, rowSink, channel, chunkCount, executor);
+    }
+  }
+
+  public static <T, R, C> List<T> parseTableChunks(Path path, CsvHeader<T, R, C> header) throws IOException {
+    return parseTableChunks(path, header, ForkJoinPool.getCommonPoolParallelism());
+  }
+
+  public static List<Record> parseTableChunks(Path path) throws IOException {
+    return parseTableChunks(path, CsvStructure.header());
+  }
+
   public static Parser<Record> tableParser() {
     return parser().tableParser(CsvStructure.header());
   }
@@ -161,6 +257,26 @@ public final class Csv {
     return parser(delimiter).tableParser(header);
   }
 
+  public static <T, R, C, U> Parser<U> tableParser(CsvHeader<T, R, C> header, Builder<R, U> tableBuilder) {
+    return parser().tableParser(header, tableBuilder);
+  }
+
+  public static <T, R, C, U> Parser<U> tableParser(int delimiter, CsvHeader<T, R, C> header, Builder<R, U> tableBuilder) {
+    return parser(delimiter).tableParser(header, tableBuilder);
+  }
+
+  public static <O, U> Parser<U> tableParser(Form<O> form, Builder<? super O, U> builder) {
+    return parser().tableParser(CsvStructure.header(), CsvStructure.formBuilder(form, builder));
+  }
+
+  public static <T, R, C, U> Decoder<U> tableDecoder(CsvHeader<T, R, C> header, Builder<R, U> tableBuilder) {
+    return Utf8.decodedParser(tableParser(header, tableBuilder));
+  }
+
+  public static <O, U> Decoder<U> tableDecoder(Form<O> form, Builder<? super O, U> builder) {
+    return Utf8.decodedParser(tableParser(form, builder));
+  }
+
   public static Parser<CsvHeader<Record, Value, Item>> headerParser() {
     return parser().headerParser(CsvStructure.header());
   }
@@ -185,6 +301,18 @@ public final class Csv {
     return parser(delimiter).bodyParser(header);
   }
 
+  public static <T, R, C, U> Parser<U> bodyParser(CsvHeader<T, R, C> header, Builder<R, U> tableBuilder) {
+    return parser().bodyParser(header, tableBuilder);
+  }
+
+  public static <T, R, C, U> Parser<U> bodyParser(int delimiter, CsvHeader<T, R, C> header, Builder<R, U> tableBuilder) {
+    return parser(delimiter).bodyParser(header, tableBuilder);
+  }
+
+  public static <T, R, C, U> Decoder<U> bodyDecoder(CsvHeader<T, R, C> header, Builder<R, U> tableBuilder) {
+    return Utf8.decodedParser(bodyParser(header, tableBuilder));
+  }
+
   public static <T, R, C> Parser<R> rowParser(CsvHeader<T, R, C> header) {
     return parser().rowParser(header);
   }
@@ -0,0 +1,41 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.csv;
+
+import java.util.Iterator;
+import swim.structure.Form;
+import swim.structure.Value;
+
+final class FormIterator<O> implements Iterator<O> {
+
+  final Iterator<Value> rows;
+  final Form<O> form;
+
+  FormIterator(Iterator<Value> rows, Form<O> form) {
+    this.rows = rows;
+    this.form = form;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return this.rows.hasNext();
+  }
+
+  @Override
+  public O next() {
+    return this.form.cast(this.rows.next());
+  }
+
+}
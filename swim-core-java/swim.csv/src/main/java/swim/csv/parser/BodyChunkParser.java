@@ -0,0 +1,195 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.csv.parser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RecursiveTask;
+import swim.csv.schema.CsvHeader;
+import swim.util.Builder;
+
+/**
+ * Fork-join task that parses one row-aligned chunk of a memory-mapped CSV
+ * file into its own table, or into the {@code tableBuilder} shared by all
+ * chunks, if one is given.  Runs either in a fork-join pool, or as a plain
+ * {@code Runnable} on any other executor.
+ */
+final class BodyChunkParser<T, R, C> extends RecursiveTask<T> implements Runnable {
+
+  final CsvParser csv;
+  final CsvHeader<T, R, C> header;
+  final Builder<R, T> tableBuilder;
+  final FileChannel channel;
+  final long position;
+  final long size;
+
+  BodyChunkParser(CsvParser csv, CsvHeader<T, R, C> header, Builder<R, T> tableBuilder,
+                  FileChannel channel, long position, long size) {
+    this.csv = csv;
+    this.header = header;
+    this.tableBuilder = tableBuilder;
+    this.channel = channel;
+    this.position = position;
+    this.size = size;
+  }
+
+  @Override
+  protected T compute() {
+    final MappedByteBuffer buffer;
+    try {
+      buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, this.position, this.size);
+    } catch (IOException cause) {
+      throw new UncheckedIOException(cause);
+    }
+    if (this.tableBuilder != null) {
+      return this.csv.parseBodyBuffer(this.header, this.tableBuilder, buffer);
+    } else {
+      return this.csv.parseBodyBuffer(this.header, buffer);
+    }
+  }
+
+  @Override
+  public void run() {
+    // Failures are rethrown to the thread that joins the task.
+    quietlyInvoke();
+  }
+
+  /**
+   * Submits every chunk parser to {@code executor}; a {@code ForkJoinPool}
+   * runs them as fork-join tasks, so joining them from one of its workers
+   * helps rather than blocks.
+   */
+  static void executeAll(List<? extends BodyChunkParser<?, ?, ?>> chunkParsers, Executor executor) {
+    for (int i = 0, n = chunkParsers.size(); i < n; i += 1) {
+      executor.execute(chunkParsers.get(i));
+    }
+  }
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Largest number of bytes mapped at once, both while scanning for row
+   * boundaries, and for any single chunk.
+   */
+  static final long MAX_MAP_SIZE = 1L << 30;
+
+  /**
+   * Returns the offsets of the row boundaries that split the {@code size}
+   * bytes of {@code channel} starting at {@code position} into at most
+   * {@code chunkCount} chunks of roughly equal length, with the first
+   * offset equal to {@code position} and the last equal to {@code position
+   * + size}.  A boundary falls immediately after a line terminator, either
+   * a line feed, a lone carriage return, or a CRLF pair, that is not
+   * enclosed in double quotes; quote state is tracked by a single
+   * sequential scan, which assumes that quotes in the file are balanced.
+   */
+  static long[] split(FileChannel channel, long position, long size, int chunkCount) throws IOException {
+    // Aim for chunks of at most half the map limit, leaving headroom for the
+    // row that straddles each target offset.
+    chunkCount = (int) Math.max((long) Math.max(chunkCount, 1), (2L * size + MAX_MAP_SIZE - 1L) / MAX_MAP_SIZE);
+    final long[] bounds = new long[chunkCount + 1];
+    bounds[0] = position;
+    int boundCount = 1;
+    long target = position + size / chunkCount;
+    boolean quoted = false;
+    long offset = position;
+    final long limit = position + size;
+    scan: while (offset < limit && boundCount < chunkCount) {
+      final long windowSize = Math.min(limit - offset, MAX_MAP_SIZE);
+      final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset, windowSize);
+      for (int i = 0; i < windowSize; i += 1) {
+        final byte b = window.get(i);
+        if (b == '"') {
+          quoted = !quoted;
+        } else if ((b == '\n' || b == '\r' && !isLineFeed(channel, window, i + 1, offset + i + 1L, limit))
+            && !quoted && offset + i >= target) {
+          final long bound = offset + i + 1L;
+          if (bound == limit) {
+            break scan;
+          }
+          bounds[boundCount] = bound;
+          boundCount += 1;
+          if (boundCount == chunkCount) {
+            break scan;
+          }
+          target = position + size * boundCount / chunkCount;
+        }
+      }
+      offset += windowSize;
+    }
+    bounds[boundCount] = limit;
+    boundCount += 1;
+    for (int i = 1; i < boundCount; i += 1) {
+      if (bounds[i] - bounds[i - 1] > MAX_MAP_SIZE) {
+        throw new IOException("CSV chunk exceeds " + MAX_MAP_SIZE + " bytes");
+      }
+    }
+    if (boundCount < bounds.length) {
+      final long[] newBounds = new long[boundCount];
+      System.arraycopy(bounds, 0, newBounds, 0, boundCount);
+      return newBounds;
+    }
+    return bounds;
+  }
+
+  /**
+   * Returns the offset just past the line terminator of the first row in the
+   * {@code size} bytes of {@code channel} starting at {@code position}, or
+   * {@code position + size} if the row has no terminator.
+   */
+  static long rowEnd(FileChannel channel, long position, long size) throws IOException {
+    boolean quoted = false;
+    long offset = position;
+    final long limit = position + size;
+    while (offset < limit) {
+      final long windowSize = Math.min(limit - offset, MAX_MAP_SIZE);
+      final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset, windowSize);
+      for (int i = 0; i < windowSize; i += 1) {
+        final byte b = window.get(i);
+        if (b == '"') {
+          quoted = !quoted;
+        } else if ((b == '\n' || b == '\r' && !isLineFeed(channel, window, i + 1, offset + i + 1L, limit))
+            && !quoted) {
+          return offset + i + 1L;
+        }
+      }
+      offset += windowSize;
+    }
+    return limit;
+  }
+
+  /**
+   * Returns {@code true} if the byte at file offset {@code next}, which
+   * lies at index {@code i} of {@code window} if {@code i} is within the
+   * window, is a line feed.  Used to treat a carriage return followed by a
+   * line feed as a single terminator that ends after the line feed.
+   */
+  static boolean isLineFeed(FileChannel channel, MappedByteBuffer window, int i, long next, long limit) throws IOException {
+    if (i < window.limit()) {
+      return window.get(i) == '\n';
+    } else if (next < limit) {
+      final ByteBuffer buffer = ByteBuffer.allocate(1);
+      return channel.read(buffer, next) == 1 && buffer.get(0) == '\n';
+    } else {
+      return false;
+    }
+  }
+
+}
@@ -0,0 +1,47 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.csv.parser;
+
+import java.util.Collection;
+import swim.util.Builder;
+
+/**
+ * Forwards the rows of every chunk to a single, thread-safe row sink, which
+ * gets bound once, after all chunks have been parsed.
+ */
+final class BodyChunkSink<R> implements Builder<R, Object> {
+
+  final Builder<R, ?> rowSink;
+
+  BodyChunkSink(Builder<R, ?> rowSink) {
+    this.rowSink = rowSink;
+  }
+
+  @Override
+  public boolean add(R row) {
+    return this.rowSink.add(row);
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends R> rows) {
+    return this.rowSink.addAll(rows);
+  }
+
+  @Override
+  public Object bind() {
+    return null;
+  }
+
+}
@@ -37,6 +37,10 @@ final class BodyParser<T, R, C> extends Parser<T> {
     this.step = step;
   }
 
+  BodyParser(CsvParser csv, CsvHeader<T, R, C> header, Builder<R, T> tableBuilder) {
+    this(csv, header, tableBuilder, null, 1);
+  }
+
   BodyParser(CsvParser csv, CsvHeader<T, R, C> header) {
     this(csv, header, null, null, 1);
   }
@@ -109,6 +113,11 @@ final class BodyParser<T, R, C> extends Parser<T> {
     return new BodyParser<T, R, C>(csv, header, tableBuilder, rowParser, step);
   }
 
+  static <T, R, C> Parser<T> parse(Input input, CsvParser csv, CsvHeader<T, R, C> header,
+                                   Builder<R, T> tableBuilder) {
+    return parse(input, csv, header, tableBuilder, null, 1);
+  }
+
   static <T, R, C> Parser<T> parse(Input input, CsvParser csv, CsvHeader<T, R, C> header) {
     return parse(input, csv, header, null, null, 1);
   }
@@ -14,7 +14,15 @@
 
 package swim.csv.parser;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import swim.codec.Binary;
 import swim.codec.Diagnostic;
 import swim.codec.Input;
@@ -23,6 +31,7 @@ import swim.codec.Unicode;
 import swim.codec.Utf8;
 import swim.csv.schema.CsvCol;
 import swim.csv.schema.CsvHeader;
+import swim.util.Builder;
 
 public class CsvParser {
 
@@ -44,6 +53,13 @@ public class CsvParser {
     return TableParser.parse(input, this, header);
   }
 
+  @SuppressWarnings("unchecked")
+  public <T, R, C, U> Parser<U> parseTable(CsvHeader<T, R, C> header, Builder<R, U> tableBuilder, Input input) {
+    // The header's own table builder is never consulted when an explicit
+    // tableBuilder is supplied, so only its row and cell types matter.
+    return TableParser.parse(input, this, (CsvHeader<U, R, C>) (CsvHeader<?, R, C>) header, tableBuilder);
+  }
+
   public <T, R, C> Parser<CsvHeader<T, R, C>> parseHeader(CsvHeader<T, R, C> header, Input input) {
     return HeaderParser.parse(input, this, header);
   }
@@ -52,6 +68,11 @@ public class CsvParser {
     return BodyParser.parse(input, this, header);
   }
 
+  @SuppressWarnings("unchecked")
+  public <T, R, C, U> Parser<U> parseBody(CsvHeader<T, R, C> header, Builder<R, U> tableBuilder, Input input) {
+    return BodyParser.parse(input, this, (CsvHeader<U, R, C>) (CsvHeader<?, R, C>) header, tableBuilder);
+  }
+
   public <T, R, C> Parser<R> parseRow(CsvHeader<T, R, C> header, Input input) {
     return RowParser.parse(input, this, header);
   }
@@ -64,6 +85,18 @@ public class CsvParser {
     return new TableParser<T, R, C>(this, header);
   }
 
+  /**
+   * Returns a {@code Parser} that adds each row of a CSV table to the given
+   * {@code tableBuilder} as soon as the row has been parsed, and binds the
+   * result of the {@code tableBuilder} once the table is complete.  The
+   * returned parser, and its continuations, share the one {@code
+   * tableBuilder}, and so should only be fed a single table.
+   */
+  @SuppressWarnings("unchecked")
+  public <T, R, C, U> Parser<U> tableParser(CsvHeader<T, R, C> header, Builder<R, U> tableBuilder) {
+    return new TableParser<U, R, C>(this, (CsvHeader<U, R, C>) (CsvHeader<?, R, C>) header, tableBuilder);
+  }
+
   public <T, R, C> Parser<CsvHeader<T, R, C>> headerParser(CsvHeader<T, R, C> header) {
     return new HeaderParser<T, R, C>(this, header);
   }
@@ -72,10 +105,163 @@ public class CsvParser {
     return new BodyParser<T, R, C>(this, header);
   }
 
+  /**
+   * Returns a {@code Parser} that adds each row of a headerless CSV body to
+   * the given {@code tableBuilder} as soon as the row has been parsed.
+   *
+   * @see #tableParser(CsvHeader, Builder)
+   */
+  @SuppressWarnings("unchecked")
+  public <T, R, C, U> Parser<U> bodyParser(CsvHeader<T, R, C> header, Builder<R, U> tableBuilder) {
+    return new BodyParser<U, R, C>(this, (CsvHeader<U, R, C>) (CsvHeader<?, R, C>) header, tableBuilder);
+  }
+
   public <T, R, C> Parser<R> rowParser(CsvHeader<T, R, C> header) {
     return new RowParser<T, R, C>(this, header);
   }
 
+  /**
+   * Returns an {@code Iterator} that lazily parses the rows of the CSV table
+   * in the complete {@code input}, after first parsing the table's header
+   * row.  Parse errors are thrown as {@code ParserException}s, either
+   * immediately, for a malformed header, or from the row that fails.
+   */
+  public <T, R, C> Iterator<R> tableIterator(CsvHeader<T, R, C> header, Input input) {
+    Parser<CsvHeader<T, R, C>> headerParser = parseHeader(header, input);
+    while (headerParser.isCont() && !input.isEmpty()) {
+      headerParser = headerParser.feed(input);
+    }
+    if (headerParser.isCont()) {
+      headerParser = Parser.error(Diagnostic.unexpected(input));
+    }
+    header = headerParser.bind();
+    return new RowIterator<T, R, C>(this, header, RowIterator.skipLine(input));
+  }
+
+  /**
+   * Returns an {@code Iterator} that lazily parses the rows of the headerless
+   * CSV body in the complete {@code input}.
+   */
+  public <T, R, C> Iterator<R> bodyIterator(CsvHeader<T, R, C> header, Input input) {
+    return new RowIterator<T, R, C>(this, header, input);
+  }
+
+  /**
+   * Parses the {@code size} bytes of the headerless CSV body in {@code
+   * channel}, starting at {@code position}, by splitting the body at row
+   * boundaries into at most {@code chunkCount} chunks, and concurrently
+   * parsing each memory-mapped chunk into its own table in the common
+   * fork-join pool.  Returns the parsed tables in file order.  The
+   * header's {@code tableBuilder} is invoked once per chunk, possibly from
+   * multiple threads at once.
+   */
+  public <T, R, C> List<T> parseBodyChunks(CsvHeader<T, R, C> header, FileChannel channel,
+                                           long position, long size, int chunkCount) throws IOException {
+    return parseBodyChunks(header, channel, position, size, chunkCount, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Parses the headerless CSV body in {@code channel} like {@link
+   * #parseBodyChunks(CsvHeader, FileChannel, long, long, int)}, but parses
+   * the chunks on the given {@code executor}.
+   */
+  public <T, R, C> List<T> parseBodyChunks(CsvHeader<T, R, C> header, FileChannel channel, long position,
+                                           long size, int chunkCount, Executor executor) throws IOException {
+    final long[] bounds = BodyChunkParser.split(channel, position, size, chunkCount);
+    final List<BodyChunkParser<T, R, C>> chunkParsers = new ArrayList<BodyChunkParser<T, R, C>>(bounds.length - 1);
+    for (int i = 1; i < bounds.length; i += 1) {
+      chunkParsers.add(new BodyChunkParser<T, R, C>(this, header, null, channel,
+                                                    bounds[i - 1], bounds[i] - bounds[i - 1]));
+    }
+    BodyChunkParser.executeAll(chunkParsers, executor);
+    final List<T> tables = new ArrayList<T>(chunkParsers.size());
+    for (int i = 0, n = chunkParsers.size(); i < n; i += 1) {
+      tables.add(chunkParsers.get(i).join());
+    }
+    return tables;
+  }
+
+  /**
+   * Parses the headerless CSV body in {@code channel} like {@link
+   * #parseBodyChunks(CsvHeader, FileChannel, long, long, int, Executor)},
+   * but adds every row to the one {@code rowSink} as soon as it has been
+   * parsed, instead of building a table per chunk.  Rows of different
+   * chunks are added concurrently, and in no particular order, so {@code
+   * rowSink} must be thread-safe.  Returns the result of binding {@code
+   * rowSink} once every chunk has been parsed.
+   */
+  @SuppressWarnings("unchecked")
+  public <T, R, C, U> U parseBodyChunks(CsvHeader<T, R, C> header, Builder<R, U> rowSink, FileChannel channel,
+                                        long position, long size, int chunkCount, Executor executor) throws IOException {
+    final CsvHeader<Object, R, C> sinkHeader = (CsvHeader<Object, R, C>) (CsvHeader<?, R, C>) header;
+    final Builder<R, Object> chunkBuilder = new BodyChunkSink<R>(rowSink);
+    final long[] bounds = BodyChunkParser.split(channel, position, size, chunkCount);
+    final List<BodyChunkParser<Object, R, C>> chunkParsers = new ArrayList<BodyChunkParser<Object, R, C>>(bounds.length - 1);
+    for (int i = 1; i < bounds.length; i += 1) {
+      chunkParsers.add(new BodyChunkParser<Object, R, C>(this, sinkHeader, chunkBuilder, channel,
+                                                         bounds[i - 1], bounds[i] - bounds[i - 1]));
+    }
+    BodyChunkParser.executeAll(chunkParsers, executor);
+    for (int i = 0, n = chunkParsers.size(); i < n; i += 1) {
+      chunkParsers.get(i).join();
+    }
+    return rowSink.bind();
+  }
+
+  /**
+   * Parses the header row of the CSV table in {@code channel}, and then
+   * concurrently parses the remainder of the table as described by {@link
+   * #parseBodyChunks(CsvHeader, FileChannel, long, long, int)}.
+   */
+  public <T, R, C> List<T> parseTableChunks(CsvHeader<T, R, C> header, FileChannel channel,
+                                            int chunkCount) throws IOException {
+    return parseTableChunks(header, channel, chunkCount, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Parses the header row of the CSV table in {@code channel}, and then
+   * concurrently parses the remainder of the table on the given {@code
+   * executor}, as described by {@link #parseBodyChunks(CsvHeader,
+   * FileChannel, long, long, int, Executor)}.
+   */
+  public <T, R, C> List<T> parseTableChunks(CsvHeader<T, R, C> header, FileChannel channel,
+                                            int chunkCount, Executor executor) throws IOException {
+    final long size = channel.size();
+    final long headerSize = BodyChunkParser.rowEnd(channel, 0L, size);
+    header = parseHeaderChunk(header, channel, headerSize);
+    return parseBodyChunks(header, channel, headerSize, size - headerSize, chunkCount, executor);
+  }
+
+  /**
+   * Parses the header row of the CSV table in {@code channel}, and then
+   * concurrently adds the rows of the remainder of the table to {@code
+   * rowSink}, as described by {@link #parseBodyChunks(CsvHeader, Builder,
+   * FileChannel, long, long, int, Executor)}.
+   */
+  public <T, R, C, U> U parseTableChunks(CsvHeader<T, R, C> header, Builder<R, U> rowSink, FileChannel channel,
+                                         int chunkCount, Executor executor) throws IOException {
+    final long size = channel.size();
+    final long headerSize = BodyChunkParser.rowEnd(channel, 0L, size);
+    header = parseHeaderChunk(header, channel, headerSize);
+    return parseBodyChunks(header, rowSink, channel, headerSize, size - headerSize, chunkCount, executor);
+  }
+
+  <T, R, C> CsvHeader<T, R, C> parseHeaderChunk(CsvHeader<T, R, C> header, FileChannel channel,
+                                                long headerSize) throws IOException {
+    if (headerSize > BodyChunkParser.MAX_MAP_SIZE) {
+      throw new IOException("CSV header exceeds " + BodyChunkParser.MAX_MAP_SIZE + " bytes");
+    }
+    final MappedByteBuffer headerBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, headerSize);
+    final Input input = Utf8.decodedInput(Binary.inputBuffer(headerBuffer));
+    Parser<CsvHeader<T, R, C>> headerParser = parseHeader(header, input);
+    if (headerParser.isCont()) {
+      headerParser = Parser.error(Diagnostic.unexpected(input));
+    } else if (input.isError()) {
+      headerParser = Parser.error(input.trap());
+    }
+    return headerParser.bind();
+  }
+
   public <T, R, C> T parseTableString(CsvHeader<T, R, C> header, String string) {
     final Input input = Unicode.stringInput(string);
     Parser<T> parser = parseTable(header, input);
@@ -142,6 +328,17 @@ public class CsvParser {
     return parser.bind();
   }
 
+  public <T, R, C, U> U parseBodyBuffer(CsvHeader<T, R, C> header, Builder<R, U> tableBuilder, ByteBuffer buffer) {
+    final Input input = Utf8.decodedInput(Binary.inputBuffer(buffer));
+    Parser<U> parser = parseBody(header, tableBuilder, input);
+    if (input.isCont() && !parser.isError()) {
+      parser = Parser.error(Diagnostic.unexpected(input));
+    } else if (input.isError()) {
+      parser = Parser.error(input.trap());
+    }
+    return parser.bind();
+  }
+
   public <T, R, C> R parseRowString(CsvHeader<T, R, C> header, String string) {
     Input input = Unicode.stringInput(string);
     Parser<R> parser = parseRow(header, input);
@@ -0,0 +1,85 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.csv.parser;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import swim.codec.Diagnostic;
+import swim.codec.Input;
+import swim.codec.Parser;
+import swim.codec.ParserException;
+import swim.csv.schema.CsvHeader;
+
+final class RowIterator<T, R, C> implements Iterator<R> {
+
+  final CsvParser csv;
+  final CsvHeader<T, R, C> header;
+  Input input;
+
+  RowIterator(CsvParser csv, CsvHeader<T, R, C> header, Input input) {
+    this.csv = csv;
+    this.header = header;
+    this.input = input;
+  }
+
+  @Override
+  public boolean hasNext() {
+    final Input input = this.input;
+    if (input.isError()) {
+      throw new ParserException(input.trap());
+    }
+    return input.isCont();
+  }
+
+  @Override
+  public R next() {
+    Input input = this.input;
+    if (!input.isCont()) {
+      if (input.isError()) {
+        throw new ParserException(input.trap());
+      }
+      throw new NoSuchElementException();
+    }
+    Parser<R> rowParser = this.csv.parseRow(this.header, input);
+    while (rowParser.isCont() && !input.isEmpty()) {
+      rowParser = rowParser.feed(input);
+    }
+    if (rowParser.isCont()) {
+      rowParser = Parser.error(Diagnostic.unexpected(input));
+    }
+    final R row = rowParser.bind();
+    if (input.isCont() && input.head() != '\r' && input.head() != '\n') {
+      throw new ParserException(Diagnostic.expected("carriage return or line feed", input));
+    }
+    this.input = skipLine(input);
+    return row;
+  }
+
+  static Input skipLine(Input input) {
+    if (input.isCont()) {
+      final int c = input.head();
+      if (c == '\r') {
+        input = input.step();
+        if (input.isCont() && input.head() == '\n') {
+          input = input.step();
+        }
+      } else if (c == '\n') {
+        input = input.step();
+      }
+    }
+    return input;
+  }
+
+}
@@ -18,28 +18,36 @@ import swim.codec.Diagnostic;
 import swim.codec.Input;
 import swim.codec.Parser;
 import swim.csv.schema.CsvHeader;
+import swim.util.Builder;
 
 final class TableParser<T, R, C> extends Parser<T> {
 
   final CsvParser csv;
   final CsvHeader<T, R, C> header;
+  final Builder<R, T> tableBuilder;
   final Parser<CsvHeader<T, R, C>> headerParser;
   final int step;
 
-  TableParser(CsvParser csv, CsvHeader<T, R, C> header,
+  TableParser(CsvParser csv, CsvHeader<T, R, C> header, Builder<R, T> tableBuilder,
               Parser<CsvHeader<T, R, C>> headerParser, int step) {
     this.csv = csv;
     this.header = header;
+    this.tableBuilder = tableBuilder;
     this.headerParser = headerParser;
     this.step = step;
   }
 
+  TableParser(CsvParser csv, CsvHeader<T, R, C> header, Builder<R, T> tableBuilder) {
+    this(csv, header, tableBuilder, null, 1);
+  }
+
   TableParser(CsvParser csv, CsvHeader<T, R, C> header) {
-    this(csv, header, null, 1);
+    this(csv, header, null, null, 1);
   }
 
   static <T, R, C> Parser<T> parse(Input input, CsvParser csv, CsvHeader<T, R, C> header,
-                                   Parser<CsvHeader<T, R, C>> headerParser, int step) {
+                                   Builder<R, T> tableBuilder, Parser<CsvHeader<T, R, C>> headerParser,
+                                   int step) {
     int c = 0;
     if (step == 1) {
       if (headerParser == null) {
@@ -62,7 +70,7 @@ final class TableParser<T, R, C> extends Parser<T> {
           step = 3;
         } else if (c == '\n') {
           input = input.step();
-          return csv.parseBody(headerParser.bind(), input);
+          return csv.parseBody(headerParser.bind(), tableBuilder, input);
         } else {
           return error(Diagnostic.expected("carriage return or line feed", input));
         }
@@ -73,24 +81,29 @@ final class TableParser<T, R, C> extends Parser<T> {
     if (step == 3) {
       if (input.isCont() && input.head() == '\n') {
         input = input.step();
-        return csv.parseBody(headerParser.bind(), input);
+        return csv.parseBody(headerParser.bind(), tableBuilder, input);
       } else if (!input.isEmpty()) {
-        return csv.parseBody(headerParser.bind(), input);
+        return csv.parseBody(headerParser.bind(), tableBuilder, input);
       }
     }
     if (input.isError()) {
       return error(input.trap());
     }
-    return new TableParser<T, R, C>(csv, header, headerParser, step);
+    return new TableParser<T, R, C>(csv, header, tableBuilder, headerParser, step);
+  }
+
+  static <T, R, C> Parser<T> parse(Input input, CsvParser csv, CsvHeader<T, R, C> header,
+                                   Builder<R, T> tableBuilder) {
+    return parse(input, csv, header, tableBuilder, null, 1);
   }
 
   static <T, R, C> Parser<T> parse(Input input, CsvParser csv, CsvHeader<T, R, C> header) {
-    return parse(input, csv, header, null, 1);
+    return parse(input, csv, header, null, null, 1);
   }
 
   @Override
   public Parser<T> feed(Input input) {
-    return parse(input, this.csv, this.header, this.headerParser, this.step);
+    return parse(input, this.csv, this.header, this.tableBuilder, this.headerParser, this.step);
   }
 
 }
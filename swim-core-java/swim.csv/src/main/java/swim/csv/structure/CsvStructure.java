@@ -18,9 +18,11 @@ import swim.codec.Parser;
 import swim.codec.Unicode;
 import swim.collections.FingerTrieSeq;
 import swim.csv.schema.CsvCol;
+import swim.structure.Form;
 import swim.structure.Item;
 import swim.structure.Text;
 import swim.structure.Value;
+import swim.util.Builder;
 
 public final class CsvStructure {
 
@@ -92,4 +94,13 @@ public final class CsvStructure {
     return new ParsedStructure(Value.absent(), "", false, itemParser);
   }
 
+  /**
+   * Returns a table {@code Builder} that casts each parsed row to an object
+   * of type {@code O} with the given {@code form}, before adding the object
+   * to the given {@code builder}.
+   */
+  public static <O, U> Builder<Value, U> formBuilder(Form<O> form, Builder<? super O, U> builder) {
+    return new FormBuilder<O, U>(form, builder);
+  }
+
 }
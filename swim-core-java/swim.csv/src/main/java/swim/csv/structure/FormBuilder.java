@@ -0,0 +1,51 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.csv.structure;
+
+import java.util.Collection;
+import swim.structure.Form;
+import swim.structure.Value;
+import swim.util.Builder;
+
+final class FormBuilder<O, U> implements Builder<Value, U> {
+
+  final Form<O> form;
+  final Builder<? super O, U> builder;
+
+  FormBuilder(Form<O> form, Builder<? super O, U> builder) {
+    this.form = form;
+    this.builder = builder;
+  }
+
+  @Override
+  public boolean add(Value row) {
+    return this.builder.add(this.form.cast(row));
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Value> rows) {
+    boolean modified = false;
+    for (Value row : rows) {
+      modified = add(row) || modified;
+    }
+    return modified;
+  }
+
+  @Override
+  public U bind() {
+    return this.builder.bind();
+  }
+
+}
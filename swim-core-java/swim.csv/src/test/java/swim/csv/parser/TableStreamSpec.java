@@ -0,0 +1,282 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.csv.parser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.Parser;
+import swim.codec.ParserException;
+import swim.codec.Unicode;
+import swim.csv.Csv;
+import swim.csv.structure.CsvStructure;
+import swim.structure.Form;
+import swim.structure.Item;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.structure.Value;
+import swim.util.Builder;
+import static org.testng.Assert.ThrowingRunnable;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+public class TableStreamSpec {
+
+  @Test
+  public void iterateTableRows() {
+    final Iterator<Value> rows = Csv.tableIterator("x,y\r\n2,3\r\n5,7\r\n");
+    assertTrue(rows.hasNext());
+    assertEquals(rows.next(), Record.of(Slot.of("x", "2"), Slot.of("y", "3")));
+    assertTrue(rows.hasNext());
+    assertEquals(rows.next(), Record.of(Slot.of("x", "5"), Slot.of("y", "7")));
+    assertFalse(rows.hasNext());
+  }
+
+  @Test
+  public void iterateBodyRowsWithQuotedNewlines() {
+    final Iterator<Value> rows = Csv.bodyIterator("\"a\nb\",c\nd,e", CsvStructure.header(CsvStructure.stringCol("x"),
+        CsvStructure.stringCol("y")));
+    assertEquals(rows.next(), Record.of(Slot.of("x", "a\nb"), Slot.of("y", "c")));
+    assertEquals(rows.next(), Record.of(Slot.of("x", "d"), Slot.of("y", "e")));
+    assertFalse(rows.hasNext());
+  }
+
+  @Test
+  public void iterateRowsThroughForm() {
+    final Iterator<String> rows = Csv.tableIterator("x,y\n2,3\n5,7\n", new XYForm());
+    assertEquals(rows.next(), "2:3");
+    assertEquals(rows.next(), "5:7");
+    assertFalse(rows.hasNext());
+  }
+
+  @Test
+  public void iterateMalformedRowFails() {
+    final Iterator<Value> rows = Csv.tableIterator("x,y\n2,3\n\"5,7\n");
+    rows.next();
+    assertThrows(ParserException.class, new ThrowingRunnable() {
+      @Override
+      public void run() throws Throwable {
+        rows.next();
+      }
+    });
+  }
+
+  @Test
+  public void decodeRowsIntoBuilder() {
+    final ListBuilder<String> builder = new ListBuilder<String>();
+    Decoder<List<String>> decoder = Csv.tableDecoder(new XYForm(), builder);
+    decoder = decoder.feed(Binary.inputBuffer("x,y\n2,3\n5,".getBytes(StandardCharsets.UTF_8)).isPart(true));
+    assertTrue(decoder.isCont());
+    assertEquals(builder.list.size(), 1);
+    assertEquals(builder.list.get(0), "2:3");
+    decoder = decoder.feed(Binary.inputBuffer("7\n".getBytes(StandardCharsets.UTF_8)).isPart(false));
+    assertTrue(decoder.isDone());
+    assertEquals(decoder.bind().size(), 2);
+    assertEquals(decoder.bind().get(1), "5:7");
+  }
+
+  @Test
+  public void parseBodyIntoBuilder() {
+    final ListBuilder<Value> builder = new ListBuilder<Value>();
+    final Parser<List<Value>> parser = Csv.bodyParser(CsvStructure.header(CsvStructure.numberCol("a")), builder)
+        .feed(Unicode.stringInput("1\n2\n3\n"));
+    assertTrue(parser.isDone());
+    assertEquals(parser.bind().size(), 3);
+    assertEquals(parser.bind().get(2), Record.of(Slot.of("a", 3)));
+  }
+
+  @Test
+  public void parseTableChunks() throws IOException {
+    final StringBuilder csv = new StringBuilder("x,y\r\n");
+    for (int i = 0; i < 1000; i += 1) {
+      if (i % 7 == 0) {
+        csv.append('"').append(i).append("\n,\"\"").append('"').append(',').append(i * 2).append("\r\n");
+      } else {
+        csv.append(i).append(',').append(i * 2).append('\n');
+      }
+    }
+    final Path path = Files.createTempFile("swim-csv", ".csv");
+    try {
+      Files.write(path, csv.toString().getBytes(StandardCharsets.UTF_8));
+      final List<Record> tables = Csv.parseTableChunks(path, CsvStructure.header(), 8);
+      assertTrue(tables.size() > 1);
+      final Record rows = Record.create();
+      for (int i = 0; i < tables.size(); i += 1) {
+        rows.addAll(tables.get(i));
+      }
+      assertEquals(rows, Csv.parseTable(csv.toString()));
+      assertEquals(rows.length(), 1000);
+      assertEquals(rows.get(7), Record.of(Slot.of("x", "7\n,\""), Slot.of("y", "14")));
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  public void parseCarriageReturnTableChunks() throws IOException {
+    final StringBuilder csv = new StringBuilder("x,y\r");
+    for (int i = 0; i < 1000; i += 1) {
+      if (i % 7 == 0) {
+        csv.append('"').append(i).append("\r,\"\"").append('"').append(',').append(i * 2).append('\r');
+      } else {
+        csv.append(i).append(',').append(i * 2).append('\r');
+      }
+    }
+    final Path path = Files.createTempFile("swim-csv", ".csv");
+    try {
+      Files.write(path, csv.toString().getBytes(StandardCharsets.UTF_8));
+      final List<Record> tables = Csv.parseTableChunks(path, CsvStructure.header(), 8);
+      assertTrue(tables.size() > 1);
+      final Record rows = Record.create();
+      for (int i = 0; i < tables.size(); i += 1) {
+        rows.addAll(tables.get(i));
+      }
+      assertEquals(rows, Csv.parseTable(csv.toString()));
+      assertEquals(rows.length(), 1000);
+      assertEquals(rows.get(7), Record.of(Slot.of("x", "7\r,\""), Slot.of("y", "14")));
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  public void parseTableChunksIntoConcurrentRowSink() throws IOException {
+    final StringBuilder csv = new StringBuilder("x,y\n");
+    for (int i = 0; i < 1000; i += 1) {
+      csv.append(i).append(',').append(i * 2).append('\n');
+    }
+    final Path path = Files.createTempFile("swim-csv", ".csv");
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Files.write(path, csv.toString().getBytes(StandardCharsets.UTF_8));
+      final ConcurrentRowSink<Value> rowSink = new ConcurrentRowSink<Value>();
+      final Collection<Value> rows = Csv.parseTableChunks(path, CsvStructure.header(), rowSink, 8, executor);
+      assertEquals(rowSink.bindCount.get(), 1);
+      assertEquals(rows.size(), 1000);
+      final boolean[] seen = new boolean[1000];
+      for (Value row : rows) {
+        final int x = row.get("x").intValue();
+        assertFalse(seen[x]);
+        seen[x] = true;
+        assertEquals(row.get("y").intValue(), 2 * x);
+      }
+    } finally {
+      executor.shutdown();
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  public void parseTableChunksOnExecutor() throws IOException {
+    final StringBuilder csv = new StringBuilder("x,y\n");
+    for (int i = 0; i < 1000; i += 1) {
+      csv.append(i).append(',').append(i * 2).append('\n');
+    }
+    final Path path = Files.createTempFile("swim-csv", ".csv");
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Files.write(path, csv.toString().getBytes(StandardCharsets.UTF_8));
+      final List<Record> tables = Csv.parseTableChunks(path, CsvStructure.header(), 8, executor);
+      assertTrue(tables.size() > 1);
+      final Record rows = Record.create();
+      for (int i = 0; i < tables.size(); i += 1) {
+        rows.addAll(tables.get(i));
+      }
+      assertEquals(rows, Csv.parseTable(csv.toString()));
+    } finally {
+      executor.shutdown();
+      Files.delete(path);
+    }
+  }
+
+  static final class ConcurrentRowSink<E> implements Builder<E, Collection<E>> {
+
+    final Collection<E> rows = new ConcurrentLinkedQueue<E>();
+    final AtomicInteger bindCount = new AtomicInteger();
+
+    @Override
+    public boolean add(E row) {
+      return this.rows.add(row);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> rows) {
+      return this.rows.addAll(rows);
+    }
+
+    @Override
+    public Collection<E> bind() {
+      this.bindCount.incrementAndGet();
+      return this.rows;
+    }
+
+  }
+
+  static final class ListBuilder<E> implements Builder<E, List<E>> {
+
+    final List<E> list = new ArrayList<E>();
+
+    @Override
+    public boolean add(E element) {
+      return this.list.add(element);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> elements) {
+      return this.list.addAll(elements);
+    }
+
+    @Override
+    public List<E> bind() {
+      return this.list;
+    }
+
+  }
+
+  static final class XYForm extends Form<String> {
+
+    @Override
+    public Class<?> type() {
+      return String.class;
+    }
+
+    @Override
+    public Item mold(String value) {
+      return Text.from(value);
+    }
+
+    @Override
+    public String cast(Item item) {
+      return item.get("x").stringValue() + ':' + item.get("y").stringValue();
+    }
+
+  }
+
+}
@@ -43,6 +43,7 @@ import swim.streamlet.KeyOutlet;
 import swim.streamlet.Outlet;
 import swim.streamlet.StreamletScope;
 import swim.streamlet.ValueInput;
+import swim.structure.Evaluator;
 import swim.structure.Operator;
 import swim.structure.Record;
 import swim.structure.Selector;
@@ -100,12 +101,12 @@ public final class Dataflow {
         scope = (Outlet<? extends Value>) value;
       }
     }
-    if (expr.isConstant()) {
+    if (expr instanceof Operator) {
+      return compileOperator((Operator) expr, scope);
+    } else if (expr.isConstant()) {
       return new ValueInput<Value>(expr);
     } else if (expr instanceof Selector) {
       return compileSelector((Selector) expr, scope);
-    } else if (expr instanceof Operator) {
-      return compileOperator((Operator) expr, scope);
     }
     throw new IllegalArgumentException(expr.toString());
   }
@@ -195,6 +196,16 @@ public final class Dataflow {
   }
 
   private static Outlet<Value> compileOperator(Operator operator, Outlet<? extends Value> scope) {
+    // Evaluate constant operators up front, rather than wiring an outlet for
+    // every node of the expression tree.
+    final Evaluator evaluator = Evaluator.compile(operator);
+    if (evaluator.isConstant()) {
+      return new ValueInput<Value>(evaluator.evaluate(Value.absent()).toValue());
+    }
+    return compileOperatorOutlet(operator, scope);
+  }
+
+  private static Outlet<Value> compileOperatorOutlet(Operator operator, Outlet<? extends Value> scope) {
     if (operator instanceof ConditionalOperator) {
       return compileConditionalOperator((ConditionalOperator) operator, scope);
     } else if (operator instanceof BinaryOperator) {
@@ -15,11 +15,16 @@
 package swim.dataflow;
 
 import org.testng.annotations.Test;
+import swim.streamlet.Outlet;
+import swim.streamlet.ValueInput;
+import swim.structure.Num;
 import swim.structure.Record;
 import swim.structure.Selector;
 import swim.structure.Slot;
 import swim.structure.Value;
+import swim.structure.operator.TimesOperator;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 public class RecordScopeSpec {
 
@@ -183,4 +188,21 @@ public class RecordScopeSpec {
     assertEquals(scope.get("y").doubleValue(), 3.0);
   }
 
+  @Test
+  public void foldConstantOperators() {
+    final Value product = new TimesOperator(Num.from(2), Num.from(3));
+    final Outlet<Value> outlet = Dataflow.compile(product, RecordScope.of());
+    assertTrue(outlet instanceof ValueInput<?>);
+    assertEquals(outlet.get(), Num.from(6));
+
+    final Value z = Selector.identity().get("x").plus(product);
+    final RecordScope scope = RecordScope.of(Slot.of("x", 2), Slot.of("z", z));
+    scope.recohereInput(0);
+    assertEquals(scope.get("z").intValue(), 8);
+
+    scope.put("x", 4);
+    scope.recohereInput(1);
+    assertEquals(scope.get("z").intValue(), 10);
+  }
+
 }
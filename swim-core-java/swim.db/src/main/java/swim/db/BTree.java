@@ -112,7 +112,7 @@ public final class BTree extends Tree {
   }
 
   public boolean containsKey(Value key) {
-    return this.rootRef.page().containsKey(key);
+    return this.rootRef.mayContainKey(key) && this.rootRef.page().containsKey(key);
   }
 
   public boolean containsValue(Value value) {
@@ -124,10 +124,16 @@ public final class BTree extends Tree {
   }
 
   public Value get(Value key) {
+    if (!this.rootRef.mayContainKey(key)) {
+      return Value.absent();
+    }
     return this.rootRef.page().get(key);
   }
 
   public Slot getEntry(Value key) {
+    if (!this.rootRef.mayContainKey(key)) {
+      return null;
+    }
     return this.rootRef.page().getEntry(key);
   }
 
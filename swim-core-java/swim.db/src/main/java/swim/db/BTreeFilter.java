@@ -0,0 +1,92 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import swim.recon.Recon;
+import swim.structure.Data;
+import swim.structure.Slot;
+import swim.structure.Value;
+import swim.util.Murmur3;
+
+public final class BTreeFilter {
+
+  final byte[] bits;
+
+  BTreeFilter(byte[] bits) {
+    this.bits = bits;
+  }
+
+  public int hashCount() {
+    return this.bits[0] & 0xff;
+  }
+
+  public int bitCount() {
+    return (this.bits.length - 1) << 3;
+  }
+
+  public boolean mayContainKey(Value key) {
+    final byte[] bits = this.bits;
+    final int bitCount = (bits.length - 1) << 3;
+    final int hashCount = bits[0] & 0xff;
+    final String recon = Recon.toString(key);
+    final int h1 = Murmur3.mash(Murmur3.mix(HASH_SEED, recon));
+    final int h2 = Murmur3.mash(Murmur3.mix(h1, recon));
+    for (int i = 0; i < hashCount; i += 1) {
+      final int bit = ((h1 + i * h2) & 0x7fffffff) % bitCount;
+      if ((bits[1 + (bit >>> 3)] & (1 << (bit & 7))) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public Value toValue() {
+    return Data.wrap(this.bits);
+  }
+
+  public static BTreeFilter fromValue(Value value) {
+    if (value instanceof Data && ((Data) value).size() > 1) {
+      return new BTreeFilter(((Data) value).toByteArray());
+    } else {
+      return null;
+    }
+  }
+
+  public static BTreeFilter create(Slot[] slots, int bitsPerKey) {
+    final int keyCount = slots.length;
+    if (keyCount == 0 || bitsPerKey <= 0) {
+      return null;
+    }
+    final int hashCount = Math.max(1, Math.min(30, (int) Math.round(bitsPerKey * Math.log(2.0))));
+    final int byteCount = (keyCount * bitsPerKey + 7) >>> 3;
+    final int bitCount = byteCount << 3;
+    final byte[] bits = new byte[1 + byteCount];
+    bits[0] = (byte) hashCount;
+    for (int i = 0; i < keyCount; i += 1) {
+      final String recon = Recon.toString(slots[i].key());
+      final int h1 = Murmur3.mash(Murmur3.mix(HASH_SEED, recon));
+      final int h2 = Murmur3.mash(Murmur3.mix(h1, recon));
+      for (int j = 0; j < hashCount; j += 1) {
+        final int bit = ((h1 + j * h2) & 0x7fffffff) % bitCount;
+        bits[1 + (bit >>> 3)] |= 1 << (bit & 7);
+      }
+    }
+    return new BTreeFilter(bits);
+  }
+
+  // Filters are persisted, so keys must hash the same way across processes.
+  static final int HASH_SEED = 0x5bd1e995;
+
+}
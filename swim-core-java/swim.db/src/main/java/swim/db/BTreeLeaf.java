@@ -493,7 +493,17 @@ public final class BTreeLeaf extends BTreePage {
 
   @Override
   public BTreeLeaf committed(int zone, long base, long version) {
-    return create(this.pageRef.context, this.pageRef.stem, version, zone, base, this.pageRef.fold, this.slots);
+    final BTreeLeaf page = create(this.pageRef.context, this.pageRef.stem, version, zone, base,
+        this.pageRef.fold, this.slots);
+    final int keyFilterBits = this.pageRef.settings().keyFilterBits;
+    final Slot[] slots = this.slots;
+    if (keyFilterBits > 0 && slots.length > 0) {
+      final BTreePageRef pageRef = page.pageRef;
+      pageRef.minKey = slots[0].key();
+      pageRef.maxKey = slots[slots.length - 1].key();
+      pageRef.filter = BTreeFilter.create(slots, keyFilterBits);
+    }
+    return page;
   }
 
   @Override
@@ -19,6 +19,7 @@ import java.util.Map;
 import swim.concurrent.Cont;
 import swim.concurrent.Conts;
 import swim.structure.Form;
+import swim.structure.Record;
 import swim.structure.Slot;
 import swim.structure.Value;
 import swim.structure.collections.ValueMap;
@@ -533,7 +534,8 @@ public class BTreeMap implements OrderedMap<Value, Value>, ReducedMap<Value, Val
         final BTree oldTree = tree();
         final BTree newTree = oldTree.updated(key, newValue, newVersion, newPost);
         if (oldTree != newTree) {
-          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+          final Record journalEntries = Journal.btreeUpdateEntries(this.trunk, newTree, key, newValue);
+          if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
             final Value oldValue = oldTree.get(key);
             final TreeContext treeContext = newTree.treeContext();
             treeContext.btreeDidUpdate(newTree, oldTree, key, newValue, oldValue);
@@ -580,7 +582,8 @@ public class BTreeMap implements OrderedMap<Value, Value>, ReducedMap<Value, Val
         final BTree oldTree = tree();
         final BTree newTree = oldTree.removed(key, newVersion, newPost);
         if (oldTree != newTree) {
-          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+          final Record journalEntries = Journal.btreeRemoveEntries(this.trunk, newTree, key);
+          if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
             final Value oldValue = oldTree.get(key);
             final TreeContext treeContext = newTree.treeContext();
             treeContext.btreeDidRemove(newTree, oldTree, key, oldValue);
@@ -612,7 +615,8 @@ public class BTreeMap implements OrderedMap<Value, Value>, ReducedMap<Value, Val
         final BTree oldTree = tree();
         final BTree newTree = oldTree.drop(lower, newVersion, newPost);
         if (oldTree != newTree) {
-          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+          final Record journalEntries = Journal.btreeDropEntries(this.trunk, newTree, lower);
+          if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
             final TreeContext treeContext = newTree.treeContext();
             treeContext.btreeDidDrop(newTree, oldTree, lower);
             treeContext.treeDidChange(newTree, oldTree);
@@ -643,7 +647,8 @@ public class BTreeMap implements OrderedMap<Value, Value>, ReducedMap<Value, Val
         final BTree oldTree = tree();
         final BTree newTree = oldTree.take(upper, newVersion, newPost);
         if (oldTree != newTree) {
-          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+          final Record journalEntries = Journal.btreeTakeEntries(this.trunk, newTree, upper);
+          if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
             final TreeContext treeContext = newTree.treeContext();
             treeContext.btreeDidTake(newTree, oldTree, upper);
             treeContext.treeDidChange(newTree, oldTree);
@@ -674,7 +679,8 @@ public class BTreeMap implements OrderedMap<Value, Value>, ReducedMap<Value, Val
         final BTree oldTree = tree();
         final BTree newTree = oldTree.cleared(newVersion);
         if (oldTree != newTree) {
-          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+          final Record journalEntries = Journal.treeClearEntries(this.trunk, newTree);
+          if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
             final TreeContext treeContext = newTree.treeContext();
             treeContext.treeDidClear(newTree, oldTree);
             treeContext.treeDidChange(newTree, oldTree);
@@ -206,6 +206,9 @@ public final class BTreeNode extends BTreePage {
     } else {
       return true;
     }
+    if (!this.childRefs[x].mayContainKey(key)) {
+      return false;
+    }
     return getChild(x).containsKey(key);
   }
 
@@ -264,6 +267,9 @@ public final class BTreeNode extends BTreePage {
     } else {
       x = -(x + 1);
     }
+    if (!this.childRefs[x].mayContainKey(key)) {
+      return Value.absent();
+    }
     return getChild(x).get(key);
   }
 
@@ -275,6 +281,9 @@ public final class BTreeNode extends BTreePage {
     } else {
       x = -(x + 1);
     }
+    if (!this.childRefs[x].mayContainKey(key)) {
+      return null;
+    }
     return getChild(x).getEntry(key);
   }
 
@@ -25,6 +25,7 @@ abstract class BTreeNodeCursor implements OrderedMapCursor<Value, Value> {
   final BTreeNode page;
   long index;
   int childIndex;
+  int readAheadIndex;
   OrderedMapCursor<Value, Value> childCursor;
 
   BTreeNodeCursor(BTreeNode page, long index, int childIndex) {
@@ -53,6 +54,7 @@ abstract class BTreeNodeCursor implements OrderedMapCursor<Value, Value> {
         final BTreePageRef[] childRefs = this.page.childRefs;
         final int childIndex = this.childIndex;
         if (childIndex < childRefs.length) {
+          readAhead(childIndex + 1);
           this.childCursor = childCursor(childRefs[childIndex]);
           this.childIndex = childIndex + 1;
         } else {
@@ -76,6 +78,7 @@ abstract class BTreeNodeCursor implements OrderedMapCursor<Value, Value> {
         final BTreePageRef[] childRefs = this.page.childRefs;
         final int childIndex = this.childIndex;
         if (childIndex < childRefs.length) {
+          readAhead(childIndex + 1);
           this.childCursor = childCursor(childRefs[childIndex]);
           this.childIndex = childIndex + 1;
         } else {
@@ -100,6 +103,7 @@ abstract class BTreeNodeCursor implements OrderedMapCursor<Value, Value> {
         final BTreePageRef[] childRefs = this.page.childRefs;
         final int childIndex = this.childIndex;
         if (childIndex < childRefs.length) {
+          readAhead(childIndex + 1);
           this.childCursor = childCursor(childRefs[childIndex]);
           this.childIndex = childIndex + 1;
         } else {
@@ -129,6 +133,7 @@ abstract class BTreeNodeCursor implements OrderedMapCursor<Value, Value> {
           final long childSpan = childRef.span();
           this.childIndex = childIndex + 1;
           if (childSpan < count) {
+            readAhead(childIndex + 1);
             this.childCursor = childCursor(childRef);
             if (count > 0L) {
               this.index += count;
@@ -161,6 +166,7 @@ abstract class BTreeNodeCursor implements OrderedMapCursor<Value, Value> {
         final BTreePageRef[] childRefs = this.page.childRefs;
         final int childIndex = this.childIndex;
         if (childIndex < childRefs.length) {
+          readAhead(childIndex + 1);
           this.childCursor = childCursor(childRefs[childIndex]);
           this.childIndex = childIndex + 1;
         } else {
@@ -189,6 +195,7 @@ abstract class BTreeNodeCursor implements OrderedMapCursor<Value, Value> {
         final BTreePageRef[] childRefs = this.page.childRefs;
         final int childIndex = this.childIndex;
         if (childIndex < childRefs.length) {
+          readAhead(childIndex + 1);
           this.childCursor = childCursor(childRefs[childIndex]);
           this.childIndex = childIndex + 1;
         } else {
@@ -213,6 +220,7 @@ abstract class BTreeNodeCursor implements OrderedMapCursor<Value, Value> {
         final BTreePageRef[] childRefs = this.page.childRefs;
         final int childIndex = this.childIndex;
         if (childIndex < childRefs.length) {
+          readAhead(childIndex + 1);
           this.childCursor = childCursor(childRefs[childIndex]);
           this.childIndex = childIndex + 1;
         } else {
@@ -297,6 +305,18 @@ abstract class BTreeNodeCursor implements OrderedMapCursor<Value, Value> {
     } while (true);
   }
 
+  void readAhead(int childIndex) {
+    if (childIndex >= this.readAheadIndex) {
+      final BTreePageRef pageRef = this.page.pageRef;
+      final BTreePageRef[] childRefs = this.page.childRefs;
+      final int toIndex = Math.min(childIndex + pageRef.settings().pageReadAhead, childRefs.length);
+      if (childIndex < toIndex) {
+        PageLoader.readAhead(pageRef.context, childRefs, childIndex, toIndex);
+      }
+      this.readAheadIndex = toIndex;
+    }
+  }
+
   @Override
   public void load() throws InterruptedException {
     final Sync<Page> syncPage = new Sync<Page>();
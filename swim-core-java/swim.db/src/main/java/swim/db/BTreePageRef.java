@@ -42,6 +42,9 @@ public final class BTreePageRef extends PageRef {
   int pageSize;
   int diffSize;
   long treeSize;
+  Value minKey;
+  Value maxKey;
+  BTreeFilter filter;
 
   public BTreePageRef(PageContext context, PageType pageType, int stem, int post,
                       int zone, long base, long span, Value fold, Object page,
@@ -100,8 +103,15 @@ public final class BTreePageRef extends PageRef {
       } else if (span < 0) {
         throw new StoreException("negative page span: " + span);
       }
-      return new BTreePageRef(context, pageType, stem, post, zone, base, span,
+      final BTreePageRef pageRef = new BTreePageRef(context, pageType, stem, post, zone, base, span,
           fold, null, -1, size, 0, area);
+      final Value minKey = header.get("min");
+      if (minKey.isDefined()) {
+        pageRef.minKey = minKey;
+        pageRef.maxKey = header.get("max");
+      }
+      pageRef.filter = BTreeFilter.fromValue(header.get("bloom"));
+      return pageRef;
     } catch (Throwable error) {
       if (Conts.isNonFatal(error)) {
         cause = error;
@@ -242,6 +252,16 @@ public final class BTreePageRef extends PageRef {
       pageRefSize += Recon.sizeOf(Num.from(treeSize()));
       pageRefSize += 6; // ",span:"
       pageRefSize += Recon.sizeOf(Num.from(this.span));
+      if (this.minKey != null) {
+        pageRefSize += 5; // ",min:"
+        pageRefSize += Recon.sizeOf(this.minKey);
+        pageRefSize += 5; // ",max:"
+        pageRefSize += Recon.sizeOf(this.maxKey);
+      }
+      if (this.filter != null) {
+        pageRefSize += 7; // ",bloom:"
+        pageRefSize += Recon.sizeOf(this.filter.toValue());
+      }
       final Value fold = fold();
       if (fold.isDefined()) {
         pageRefSize += 6; // ",fold:"
@@ -279,7 +299,7 @@ public final class BTreePageRef extends PageRef {
 
   @Override
   public Value toValue() {
-    final Record header = Record.create(7);
+    final Record header = Record.create(10);
     if (this.post != this.zone) {
       header.slot("post", this.post);
     }
@@ -288,6 +308,13 @@ public final class BTreePageRef extends PageRef {
         .slot("size", pageSize())
         .slot("area", treeSize())
         .slot("span", this.span);
+    if (this.minKey != null) {
+      header.slot("min", this.minKey)
+          .slot("max", this.maxKey);
+    }
+    if (this.filter != null) {
+      header.slot("bloom", this.filter.toValue());
+    }
     final Value fold = fold();
     if (fold.isDefined()) {
       header.slot("fold", fold);
@@ -295,6 +322,28 @@ public final class BTreePageRef extends PageRef {
     return Record.create(1).attr(this.pageType.tag(), header);
   }
 
+  public Value minKey() {
+    return this.minKey;
+  }
+
+  public Value maxKey() {
+    return this.maxKey;
+  }
+
+  public BTreeFilter filter() {
+    return this.filter;
+  }
+
+  public boolean mayContainKey(Value key) {
+    final Value minKey = this.minKey;
+    if (minKey != null && (key.compareTo(minKey) < 0 || key.compareTo(this.maxKey) > 0)) {
+      return false;
+    }
+    // Only consult the filter when probing the page would fault it in.
+    final BTreeFilter filter = this.filter;
+    return filter == null || softPage() != null || filter.mayContainKey(key);
+  }
+
   public BTreePageRef reduced(Value identity, CombinerFunction<? super Value, Value> accumulator,
                               CombinerFunction<Value, Value> combiner, long newVersion) {
     if (!this.fold.isDefined()) {
@@ -23,6 +23,7 @@ import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import swim.codec.Binary;
 import swim.codec.Output;
 import swim.codec.OutputBuffer;
@@ -56,7 +57,18 @@ public class Database {
   final Trunk<BTree> seedTrunk;
   volatile HashTrieMap<Value, WeakReference<Trunk<Tree>>> trunks;
   volatile HashTrieMap<Value, Trunk<Tree>> sprouts;
+  /**
+   * Sprouts taken by an in-progress commit, whose seeds may not yet reflect
+   * their committed trees.
+   */
+  volatile HashTrieMap<Value, Trunk<Tree>> commitSprouts;
   volatile int status;
+  /**
+   * Excludes journaled tree updates while a commit advances the database
+   * version and snapshots its trunks, so that every journal entry carries
+   * the version of the commit that actually contains it.
+   */
+  final ReentrantReadWriteLock commitLock = new ReentrantReadWriteLock();
 
   Database(Store store, int stem, long version) {
     this.store = store;
@@ -68,6 +80,7 @@ public class Database {
     this.seedTrunk.tree = new BTree(this.seedTrunk, 1, version, true, false);
     this.trunks = HashTrieMap.empty();
     this.sprouts = HashTrieMap.empty();
+    this.commitSprouts = HashTrieMap.empty();
 
     final long time = System.currentTimeMillis();
     this.germ = new Germ(stem, version, time, time, this.seedTrunk.tree.rootRef().toValue());
@@ -84,6 +97,7 @@ public class Database {
     this.seedTrunk.tree = new BTree(this.seedTrunk, germ.seed(), true, false);
     this.trunks = HashTrieMap.empty();
     this.sprouts = HashTrieMap.empty();
+    this.commitSprouts = HashTrieMap.empty();
   }
 
   Database(Store store) {
@@ -221,16 +235,21 @@ public class Database {
       final Trunk<Tree> oldTrunk = oldTrunkRef != null ? oldTrunkRef.get() : null;
       if (oldTrunk == null) {
         if (newTrunk == null) {
-          final Seed seed = Seed.fromValue(this.seedTrunk.tree.get(name));
-          newTrunk = new Trunk<T>(this, name, null);
-          if (seed != null) {
-            newTrunk.tree = (T) seed.treeType().treeFromSeed(newTrunk, seed, isResident, isTransient);
-          } else if (treeType != null) {
-            final int stem = STEM.getAndIncrement(this);
-            newTrunk.tree = (T) treeType.emptyTree(newTrunk, stem, this.version, isResident, isTransient);
-            created = true;
-          } else {
-            return null;
+          // Reopen a closed trunk with uncommitted changes, rather than
+          // reverting it to its last committed seed.
+          newTrunk = (Trunk<T>) pendingTrunk(name);
+          if (newTrunk == null) {
+            final Seed seed = Seed.fromValue(this.seedTrunk.tree.get(name));
+            newTrunk = new Trunk<T>(this, name, null);
+            if (seed != null) {
+              newTrunk.tree = (T) seed.treeType().treeFromSeed(newTrunk, seed, isResident, isTransient);
+            } else if (treeType != null) {
+              final int stem = STEM.getAndIncrement(this);
+              newTrunk.tree = (T) treeType.emptyTree(newTrunk, stem, this.version, isResident, isTransient);
+              created = true;
+            } else {
+              return null;
+            }
           }
           newTrunkRef = new WeakReference<Trunk<Tree>>((Trunk<Tree>) newTrunk);
         }
@@ -248,6 +267,14 @@ public class Database {
     } while (true);
   }
 
+  Trunk<Tree> pendingTrunk(Value name) {
+    Trunk<Tree> trunk = this.sprouts.get(name);
+    if (trunk == null) {
+      trunk = this.commitSprouts.get(name);
+    }
+    return trunk;
+  }
+
   public Trunk<BTree> openBTreeTrunk(Value name, boolean isResident, boolean isTransient) {
     return openTrunk(name, TreeType.BTREE, isResident, isTransient);
   }
@@ -385,6 +412,39 @@ public class Database {
     }
   }
 
+  /**
+   * Asynchronously waits for every change made to this database so far to
+   * become durable, either by syncing the store's journal, which shares one
+   * fsync among all concurrent writers, or, if the store has no journal, by
+   * committing the database.
+   */
+  public void syncAsync(Cont<Database> cont) {
+    try {
+      final Journal journal = this.store.journal();
+      if (journal != null) {
+        journal.syncAsync(journal.appendedLsn(), new DatabaseJournalSync(this, cont));
+      } else {
+        commitAsync(Commit.forced().andThen(new DatabaseCommitSync(this, cont)));
+      }
+    } catch (Throwable cause) {
+      if (Conts.isNonFatal(cause)) {
+        cont.trap(cause);
+      } else {
+        throw cause;
+      }
+    }
+  }
+
+  public Database sync() throws InterruptedException {
+    final Journal journal = this.store.journal();
+    if (journal != null) {
+      journal.sync();
+    } else {
+      commit(Commit.forced());
+    }
+    return this;
+  }
+
   public void compactAsync(Compact compact) {
     try {
       this.store.compactAsync(compact);
@@ -424,61 +484,68 @@ public class Database {
       final Cursor<Map.Entry<Value, Value>> seedCursor = this.seedTrunk.tree.cursor();
       while (seedCursor.hasNext()) {
         final Value name = seedCursor.next().getKey();
-        do {
-          final long version = this.version;
-          final Trunk<Tree> trunk = openTrunk(name, null, false, false);
-          final Tree oldTree = trunk.tree;
-          final Tree newTree = oldTree.evacuated(post, version);
-          if (oldTree != newTree) {
-            final int newPost = newTree.post();
-            if (trunk.updateTree(oldTree, newTree, version)) {
-              if (newPost != 0 && newPost < post) {
-                quiescent = false;
-                break;
-              }
-            }
-          } else {
-            break;
+        quiescent = evacuateTree(name, post) && quiescent;
+      }
+
+      // Evacuate seed and meta trees
+      quiescent = evacuateSeedTree(post) && quiescent;
+      quiescent = evacuateMetaTree(post) && quiescent;
+    } while (!quiescent);
+  }
+
+  public boolean evacuateTree(Value name, int post) {
+    do {
+      final long version = this.version;
+      final Trunk<Tree> trunk = openTrunk(name, null, false, false);
+      final Tree oldTree = trunk.tree;
+      final Tree newTree = oldTree.evacuated(post, version);
+      if (oldTree != newTree) {
+        final int newPost = newTree.post();
+        if (trunk.updateTree(oldTree, newTree, version)) {
+          if (newPost != 0 && newPost < post) {
+            return false;
           }
-        } while (true);
+        }
+      } else {
+        return true;
       }
+    } while (true);
+  }
 
-      // Evacuate seed tree
-      do {
-        final long version = this.version;
-        final BTree oldSeedTree = this.seedTrunk.tree;
-        final BTree newSeedTree = oldSeedTree.evacuated(post, version);
-        if (oldSeedTree != newSeedTree) {
-          final int newPost = newSeedTree.post();
-          if (Trunk.TREE.compareAndSet(this.seedTrunk, oldSeedTree, newSeedTree)) {
-            if (newPost != 0 && newPost < post) {
-              quiescent = false;
-              break;
-            }
+  boolean evacuateSeedTree(int post) {
+    do {
+      final long version = this.version;
+      final BTree oldSeedTree = this.seedTrunk.tree;
+      final BTree newSeedTree = oldSeedTree.evacuated(post, version);
+      if (oldSeedTree != newSeedTree) {
+        final int newPost = newSeedTree.post();
+        if (Trunk.TREE.compareAndSet(this.seedTrunk, oldSeedTree, newSeedTree)) {
+          if (newPost != 0 && newPost < post) {
+            return false;
           }
-        } else {
-          break;
         }
-      } while (true);
+      } else {
+        return true;
+      }
+    } while (true);
+  }
 
-      // Evacuate meta tree
-      do {
-        final long version = this.version;
-        final BTree oldMetaTree = this.metaTrunk.tree;
-        final BTree newMetaTree = oldMetaTree.evacuated(post, version);
-        if (oldMetaTree != newMetaTree) {
-          final int newPost = newMetaTree.post();
-          if (Trunk.TREE.compareAndSet(this.metaTrunk, oldMetaTree, newMetaTree)) {
-            if (newPost != 0 && newPost < post) {
-              quiescent = false;
-              break;
-            }
+  boolean evacuateMetaTree(int post) {
+    do {
+      final long version = this.version;
+      final BTree oldMetaTree = this.metaTrunk.tree;
+      final BTree newMetaTree = oldMetaTree.evacuated(post, version);
+      if (oldMetaTree != newMetaTree) {
+        final int newPost = newMetaTree.post();
+        if (Trunk.TREE.compareAndSet(this.metaTrunk, oldMetaTree, newMetaTree)) {
+          if (newPost != 0 && newPost < post) {
+            return false;
           }
-        } else {
-          break;
         }
-      } while (true);
-    } while (!quiescent);
+      } else {
+        return true;
+      }
+    } while (true);
   }
 
   public void shiftZone() {
@@ -486,47 +553,60 @@ public class Database {
   }
 
   public Chunk commitChunk(Commit commit, int zone, long base) {
-    DIFF_SIZE.set(this, 0L);
-    final long version = VERSION.getAndIncrement(this);
-    final long time = System.currentTimeMillis();
-
-    HashTrieMap<Value, Trunk<Tree>> sprouts;
-    do {
-      sprouts = this.sprouts;
-    } while (!SPROUTS.compareAndSet(this, sprouts, HashTrieMap.<Value, Trunk<Tree>>empty()));
-    if (sprouts.isEmpty()) {
-      return null;
+    final boolean isJournaled = this.store.journal() != null;
+    if (isJournaled) {
+      this.commitLock.writeLock().lock();
     }
-
+    final long version;
+    final long time;
     final Builder<Tree, FingerTrieSeq<Tree>> commitBuilder = FingerTrieSeq.builder();
     long step = base;
+    try {
+      DIFF_SIZE.set(this, 0L);
+      version = VERSION.getAndIncrement(this);
+      time = System.currentTimeMillis();
 
-    // Commit data pages
-    final Iterator<Trunk<Tree>> trunks = sprouts.valueIterator();
-    while (trunks.hasNext()) {
-      final Trunk<Tree> trunk = trunks.next();
+      HashTrieMap<Value, Trunk<Tree>> sprouts;
       do {
-        final Tree oldTree = trunk.tree;
-        final Tree newTree = oldTree.committed(zone, step, version, time);
-        if (oldTree != newTree) {
-          if (Trunk.TREE.compareAndSet(trunk, oldTree, newTree)) {
-            do {
-              final BTree oldSeedTree = this.seedTrunk.tree;
-              final BTree newSeedTree = oldSeedTree.updated(trunk.name, newTree.seed().toValue(), version, this.post);
-              if (Trunk.TREE.compareAndSet(this.seedTrunk, oldSeedTree, newSeedTree)) {
-                break;
-              }
-            } while (true);
-            commitBuilder.add(newTree);
-            TREE_SIZE.addAndGet(this, newTree.treeSize() - oldTree.treeSize());
-            newTree.treeContext().treeDidCommit(newTree, oldTree);
-            step += newTree.diffSize(version);
+        sprouts = this.sprouts;
+        this.commitSprouts = sprouts;
+      } while (!SPROUTS.compareAndSet(this, sprouts, HashTrieMap.<Value, Trunk<Tree>>empty()));
+      if (sprouts.isEmpty()) {
+        return null;
+      }
+
+      // Commit data pages
+      final Iterator<Trunk<Tree>> trunks = sprouts.valueIterator();
+      while (trunks.hasNext()) {
+        final Trunk<Tree> trunk = trunks.next();
+        do {
+          final Tree oldTree = trunk.tree;
+          final Tree newTree = oldTree.committed(zone, step, version, time);
+          if (oldTree != newTree) {
+            if (Trunk.TREE.compareAndSet(trunk, oldTree, newTree)) {
+              do {
+                final BTree oldSeedTree = this.seedTrunk.tree;
+                final BTree newSeedTree = oldSeedTree.updated(trunk.name, newTree.seed().toValue(), version, this.post);
+                if (Trunk.TREE.compareAndSet(this.seedTrunk, oldSeedTree, newSeedTree)) {
+                  break;
+                }
+              } while (true);
+              commitBuilder.add(newTree);
+              TREE_SIZE.addAndGet(this, newTree.treeSize() - oldTree.treeSize());
+              newTree.treeContext().treeDidCommit(newTree, oldTree);
+              step += newTree.diffSize(version);
+              break;
+            }
+          } else {
             break;
           }
-        } else {
-          break;
-        }
-      } while (true);
+        } while (true);
+      }
+    } finally {
+      this.commitSprouts = HashTrieMap.empty();
+      if (isJournaled) {
+        this.commitLock.writeLock().unlock();
+      }
     }
 
     // Commit seed tree
@@ -839,6 +919,50 @@ final class DatabaseClose implements Cont<Chunk> {
 
 }
 
+final class DatabaseJournalSync implements Cont<Journal> {
+
+  final Database database;
+  final Cont<Database> andThen;
+
+  DatabaseJournalSync(Database database, Cont<Database> andThen) {
+    this.database = database;
+    this.andThen = andThen;
+  }
+
+  @Override
+  public void bind(Journal journal) {
+    this.andThen.bind(this.database);
+  }
+
+  @Override
+  public void trap(Throwable cause) {
+    this.andThen.trap(cause);
+  }
+
+}
+
+final class DatabaseCommitSync implements Cont<Chunk> {
+
+  final Database database;
+  final Cont<Database> andThen;
+
+  DatabaseCommitSync(Database database, Cont<Database> andThen) {
+    this.database = database;
+    this.andThen = andThen;
+  }
+
+  @Override
+  public void bind(Chunk chunk) {
+    this.andThen.bind(this.database);
+  }
+
+  @Override
+  public void trap(Throwable cause) {
+    this.andThen.trap(cause);
+  }
+
+}
+
 final class DatabaseEvacuate implements Runnable {
 
   final Database database;
@@ -0,0 +1,454 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import swim.codec.Binary;
+import swim.codec.Output;
+import swim.codec.Utf8;
+import swim.collections.FingerTrieSeq;
+import swim.concurrent.AbstractTask;
+import swim.concurrent.Cont;
+import swim.concurrent.Conts;
+import swim.concurrent.Stage;
+import swim.recon.Recon;
+import swim.structure.Value;
+
+public class FileJournal extends Journal {
+
+  final FileStore store;
+  final File directory;
+  final String baseName;
+  final String journalFileExt;
+  final Pattern segmentPattern;
+  final FilenameFilter segmentFilter;
+  final FileJournalSyncer syncer;
+  FingerTrieSeq<ByteBuffer> pending;
+  FingerTrieSeq<FileJournalSync> waiters;
+  volatile long appendedLsn;
+  volatile long syncedLsn;
+  volatile long failedLsn;
+  volatile long size;
+  int segmentId;
+  FileChannel channel;
+
+  public FileJournal(FileStore store, File directory, String baseName, String journalFileExt, Stage stage) {
+    this.store = store;
+    this.directory = directory;
+    this.baseName = baseName;
+    this.journalFileExt = journalFileExt;
+    this.segmentPattern = Pattern.compile(Pattern.quote(baseName) + "-([0-9]+)\\." + Pattern.quote(journalFileExt));
+    this.segmentFilter = new FileJournalSegmentFilter(this.segmentPattern);
+    this.syncer = new FileJournalSyncer(this);
+    stage.task(this.syncer);
+    this.pending = FingerTrieSeq.empty();
+    this.waiters = FingerTrieSeq.empty();
+  }
+
+  public FileJournal(FileStore store, Stage stage) {
+    this(store, store.directory, store.baseName, "swimlog", stage);
+  }
+
+  @Override
+  public final FileStore store() {
+    return this.store;
+  }
+
+  public final File directory() {
+    return this.directory;
+  }
+
+  public final String baseName() {
+    return this.baseName;
+  }
+
+  public final String journalFileExt() {
+    return this.journalFileExt;
+  }
+
+  @Override
+  public final long size() {
+    return this.size;
+  }
+
+  @Override
+  public final long appendedLsn() {
+    return this.appendedLsn;
+  }
+
+  @Override
+  public final long syncedLsn() {
+    return this.syncedLsn;
+  }
+
+  public void open() {
+    synchronized (this.syncer) {
+      if (this.channel == null) {
+        final TreeMap<Integer, File> segmentFiles = segmentFiles();
+        this.segmentId = !segmentFiles.isEmpty() ? segmentFiles.lastKey() + 1 : 1;
+        this.channel = openSegment(this.segmentId);
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    synchronized (this.syncer) {
+      final FileChannel channel = this.channel;
+      if (channel != null) {
+        try {
+          flush();
+        } finally {
+          this.channel = null;
+          try {
+            channel.close();
+          } catch (IOException swallow) {
+            swallow.printStackTrace();
+          }
+        }
+      }
+    }
+  }
+
+  public boolean delete() {
+    boolean deleted = false;
+    final File[] files = this.directory.listFiles(this.segmentFilter);
+    if (files != null) {
+      deleted = true;
+      for (int i = 0, n = files.length; i < n; i += 1) {
+        final File file = files[i];
+        deleted = file.delete() && deleted;
+      }
+    }
+    return deleted;
+  }
+
+  @Override
+  public long append(Value entry) {
+    final Output<byte[]> output = Utf8.decodedOutput(Binary.byteArrayOutput(Recon.sizeOf(entry) + 1));
+    Recon.write(entry, output);
+    output.write('\n');
+    final ByteBuffer buffer = ByteBuffer.wrap(output.bind());
+    final long lsn;
+    synchronized (this) {
+      this.pending = this.pending.appended(buffer);
+      lsn = this.appendedLsn + buffer.remaining();
+      this.appendedLsn = lsn;
+      this.size += buffer.remaining();
+    }
+    this.syncer.cue();
+    return lsn;
+  }
+
+  @Override
+  public void syncAsync(long lsn, Cont<Journal> cont) {
+    boolean synced = false;
+    synchronized (this) {
+      if (this.syncedLsn >= lsn) {
+        synced = true;
+      } else {
+        this.waiters = this.waiters.appended(new FileJournalSync(lsn, cont));
+      }
+    }
+    if (synced) {
+      cont.bind(this);
+    } else {
+      this.syncer.cue();
+    }
+  }
+
+  @Override
+  public FileJournal sync(long lsn) throws InterruptedException {
+    if (this.syncedLsn < lsn) {
+      this.syncer.cue();
+      synchronized (this) {
+        ForkJoinPool.managedBlock(new FileJournalAwait(this, lsn));
+      }
+      if (this.syncedLsn < lsn) {
+        throw new StoreException("failed to sync journal " + segmentFile(this.segmentId).getPath());
+      }
+    }
+    return this;
+  }
+
+  void flush() {
+    synchronized (this.syncer) {
+      final FingerTrieSeq<ByteBuffer> pending;
+      final long lsn;
+      synchronized (this) {
+        pending = this.pending;
+        lsn = this.appendedLsn;
+        this.pending = FingerTrieSeq.empty();
+      }
+      final boolean failed = this.failedLsn != 0L;
+      Throwable error = null;
+      try {
+        if (failed) {
+          // Entries from a failed write may never have reached the segment,
+          // so no later write can make the journal durable up to its lsn.
+          throw new StoreException("journal failed " + segmentFile(this.segmentId).getPath());
+        } else if (!pending.isEmpty()) {
+          final FileChannel channel = this.channel;
+          if (channel == null) {
+            throw new StoreException("journal closed");
+          }
+          write(channel, pending);
+          channel.force(false);
+        }
+      } catch (IOException cause) {
+        error = new StoreException(cause);
+      } catch (Throwable cause) {
+        if (Conts.isNonFatal(cause)) {
+          error = cause;
+        } else {
+          throw cause;
+        }
+      }
+      final FingerTrieSeq<FileJournalSync> waiters;
+      synchronized (this) {
+        if (error == null) {
+          this.syncedLsn = lsn;
+        } else {
+          // Fail permanently, releasing every current and future waiter.
+          this.failedLsn = Long.MAX_VALUE;
+        }
+        waiters = this.waiters;
+        this.waiters = FingerTrieSeq.empty();
+        notifyAll();
+      }
+      for (FileJournalSync waiter : waiters) {
+        if (error != null) {
+          waiter.cont.trap(error);
+        } else if (waiter.lsn <= lsn) {
+          waiter.cont.bind(this);
+        } else {
+          syncAsync(waiter.lsn, waiter.cont);
+        }
+      }
+      if (error != null && !failed) {
+        this.store.context.journalDidFail(this.store, this, error);
+      }
+    }
+  }
+
+  void write(FileChannel channel, FingerTrieSeq<ByteBuffer> buffers) throws IOException {
+    final ByteBuffer[] array = new ByteBuffer[buffers.size()];
+    final Iterator<ByteBuffer> iterator = buffers.iterator();
+    for (int i = 0; iterator.hasNext(); i += 1) {
+      array[i] = iterator.next();
+    }
+    final ByteBuffer last = array[array.length - 1];
+    long k;
+    do {
+      k = channel.write(array);
+    } while (k >= 0L && last.hasRemaining());
+    if (last.hasRemaining()) {
+      throw new StoreException("wrote incomplete journal entries to " + segmentFile(this.segmentId).getPath());
+    }
+  }
+
+  int rotate() {
+    synchronized (this.syncer) {
+      flush();
+      final FileChannel oldChannel = this.channel;
+      if (oldChannel != null) {
+        final int newSegmentId = this.segmentId + 1;
+        this.channel = openSegment(newSegmentId);
+        this.segmentId = newSegmentId;
+        this.size = 0L;
+        try {
+          oldChannel.close();
+        } catch (IOException swallow) {
+          swallow.printStackTrace();
+        }
+      }
+      return this.segmentId;
+    }
+  }
+
+  void truncate(int segmentId) {
+    final TreeMap<Integer, File> segmentFiles = segmentFiles();
+    for (Map.Entry<Integer, File> segmentFile : segmentFiles.headMap(segmentId).entrySet()) {
+      segmentFile.getValue().delete();
+    }
+  }
+
+  @Override
+  public void replay(Database database) {
+    final long checkpointVersion = database.germ().version();
+    final int segmentId;
+    synchronized (this.syncer) {
+      segmentId = this.segmentId;
+    }
+    boolean replayed = false;
+    final TreeMap<Integer, File> segmentFiles = segmentFiles();
+    for (Map.Entry<Integer, File> segmentFile : segmentFiles.headMap(segmentId).entrySet()) {
+      final String[] lines = readSegment(segmentFile.getValue()).split("\n");
+      for (int i = 0; i < lines.length; i += 1) {
+        final String line = lines[i];
+        if (line.isEmpty()) {
+          continue;
+        }
+        final Value entry;
+        try {
+          entry = Recon.parse(line);
+        } catch (Throwable cause) {
+          if (Conts.isNonFatal(cause)) {
+            break; // Torn write at the end of a segment.
+          } else {
+            throw cause;
+          }
+        }
+        if (Journal.entryVersion(entry) > checkpointVersion) {
+          Journal.replayEntry(database, entry);
+          replayed = true;
+        }
+      }
+    }
+    if (replayed) {
+      database.commitAsync(Commit.forced()); // Checkpoint replayed entries.
+    }
+  }
+
+  String readSegment(File file) {
+    try (FileChannel channel = new RandomAccessFile(file, "r").getChannel()) {
+      final ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+      int k;
+      do {
+        k = channel.read(buffer);
+      } while (k >= 0 && buffer.hasRemaining());
+      return new String(buffer.array(), 0, buffer.position(), Charset.forName("UTF-8"));
+    } catch (IOException cause) {
+      throw new StoreException(cause);
+    }
+  }
+
+  FileChannel openSegment(int segmentId) {
+    try {
+      final FileChannel channel = new RandomAccessFile(segmentFile(segmentId), "rw").getChannel();
+      channel.position(channel.size());
+      return channel;
+    } catch (IOException cause) {
+      throw new StoreException(cause);
+    }
+  }
+
+  protected File segmentFile(int segmentId) {
+    return new File(this.directory, this.baseName + '-' + segmentId + '.' + this.journalFileExt);
+  }
+
+  protected TreeMap<Integer, File> segmentFiles() {
+    this.directory.mkdirs();
+    final File[] files = this.directory.listFiles(this.segmentFilter);
+    if (files == null) {
+      throw new StoreException("failed to access directory " + this.directory.getPath());
+    }
+    final TreeMap<Integer, File> segmentFiles = new TreeMap<Integer, File>();
+    for (int i = 0, n = files.length; i < n; i += 1) {
+      final File file = files[i];
+      final Matcher matcher = this.segmentPattern.matcher(file.getName());
+      if (matcher.matches()) {
+        segmentFiles.put(Integer.parseInt(matcher.group(1)), file);
+      }
+    }
+    return segmentFiles;
+  }
+
+}
+
+final class FileJournalSyncer extends AbstractTask {
+
+  final FileJournal journal;
+
+  FileJournalSyncer(FileJournal journal) {
+    this.journal = journal;
+  }
+
+  @Override
+  public boolean taskWillBlock() {
+    return true;
+  }
+
+  @Override
+  public void runTask() {
+    // All entries appended since the last run share a single fsync.
+    this.journal.flush();
+  }
+
+}
+
+final class FileJournalSync {
+
+  final long lsn;
+  final Cont<Journal> cont;
+
+  FileJournalSync(long lsn, Cont<Journal> cont) {
+    this.lsn = lsn;
+    this.cont = cont;
+  }
+
+}
+
+final class FileJournalSegmentFilter implements FilenameFilter {
+
+  final Pattern segmentPattern;
+
+  FileJournalSegmentFilter(Pattern segmentPattern) {
+    this.segmentPattern = segmentPattern;
+  }
+
+  @Override
+  public boolean accept(File directory, String name) {
+    return this.segmentPattern.matcher(name).matches();
+  }
+
+}
+
+final class FileJournalAwait implements ForkJoinPool.ManagedBlocker {
+
+  final FileJournal journal;
+  final long lsn;
+
+  FileJournalAwait(FileJournal journal, long lsn) {
+    this.journal = journal;
+    this.lsn = lsn;
+  }
+
+  @Override
+  public boolean isReleasable() {
+    return this.journal.syncedLsn >= this.lsn || this.journal.failedLsn >= this.lsn;
+  }
+
+  @Override
+  public boolean block() throws InterruptedException {
+    if (!isReleasable()) {
+      this.journal.wait();
+    }
+    return isReleasable();
+  }
+
+}
@@ -16,6 +16,8 @@ package swim.db;
 
 import java.io.IOException;
 import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.collections.HashTrieMap;
@@ -60,30 +62,7 @@ final class FilePageLoader extends PageLoader {
 
   void loadPageAsync(FileZone zone, PageRef pageRef, Cont<Page> cont) {
     try {
-      final Integer zoneId = zone.id;
-      FileChannel channel = null;
-      do {
-        final HashTrieMap<Integer, FileChannel> oldChannels = this.channels;
-        final FileChannel oldChannel = oldChannels.get(zoneId);
-        if (oldChannel == null) {
-          channel = zone.openReadChannel();
-          final HashTrieMap<Integer, FileChannel> newChannels = oldChannels.updated(zoneId, channel);
-          if (CHANNELS.compareAndSet(this, oldChannels, newChannels)) {
-            break;
-          }
-        } else {
-          if (channel != null) {
-            // Lost open race
-            try {
-              channel.close();
-            } catch (IOException swallow) {
-              swallow.printStackTrace();
-            }
-          }
-          channel = oldChannel;
-          break;
-        }
-      } while (true);
+      final FileChannel channel = openReadChannel(zone);
       zone.loadPageAsync(channel, pageRef, this.treeDelegate, this.isResident, cont);
     } catch (IOException cause) {
       cont.trap(cause);
@@ -96,6 +75,89 @@ final class FilePageLoader extends PageLoader {
     }
   }
 
+  @Override
+  public void loadPagesAsync(PageRef[] pageRefs, Cont<Page> cont) {
+    final PageRef[] sortedRefs = pageRefs.clone();
+    Arrays.sort(sortedRefs, PAGE_ORDER);
+    int i = 0;
+    while (i < sortedRefs.length) {
+      // Coalesce pages stored back-to-back in the same zone into a single read.
+      final PageRef firstRef = sortedRefs[i];
+      final int zoneId = firstRef.zone();
+      final long base = firstRef.base();
+      long limit = base + firstRef.pageSize();
+      int j = i + 1;
+      while (j < sortedRefs.length) {
+        final PageRef nextRef = sortedRefs[j];
+        if (nextRef.zone() == zoneId && nextRef.base() == limit
+            && limit + nextRef.pageSize() - base <= MAX_READ_SIZE) {
+          limit += nextRef.pageSize();
+          j += 1;
+        } else {
+          break;
+        }
+      }
+      final PageRef[] runRefs = Arrays.copyOfRange(sortedRefs, i, j);
+      try {
+        this.store.openZoneAsync(zoneId, new LoadPages(this, runRefs, cont));
+      } catch (Throwable cause) {
+        if (Conts.isNonFatal(cause)) {
+          for (int k = 0; k < runRefs.length; k += 1) {
+            cont.trap(cause);
+          }
+        } else {
+          throw cause;
+        }
+      }
+      i = j;
+    }
+  }
+
+  void loadPagesAsync(FileZone zone, PageRef[] pageRefs, Cont<Page> cont) {
+    try {
+      final FileChannel channel = openReadChannel(zone);
+      zone.loadPagesAsync(channel, pageRefs, this.treeDelegate, this.isResident, cont);
+    } catch (IOException cause) {
+      for (int i = 0; i < pageRefs.length; i += 1) {
+        cont.trap(cause);
+      }
+    } catch (Throwable cause) {
+      if (Conts.isNonFatal(cause)) {
+        for (int i = 0; i < pageRefs.length; i += 1) {
+          cont.trap(cause);
+        }
+      } else {
+        throw cause;
+      }
+    }
+  }
+
+  FileChannel openReadChannel(FileZone zone) throws IOException {
+    final Integer zoneId = zone.id;
+    FileChannel channel = null;
+    do {
+      final HashTrieMap<Integer, FileChannel> oldChannels = this.channels;
+      final FileChannel oldChannel = oldChannels.get(zoneId);
+      if (oldChannel == null) {
+        channel = zone.openReadChannel();
+        final HashTrieMap<Integer, FileChannel> newChannels = oldChannels.updated(zoneId, channel);
+        if (CHANNELS.compareAndSet(this, oldChannels, newChannels)) {
+          return channel;
+        }
+      } else {
+        if (channel != null) {
+          // Lost open race
+          try {
+            channel.close();
+          } catch (IOException swallow) {
+            swallow.printStackTrace();
+          }
+        }
+        return oldChannel;
+      }
+    } while (true);
+  }
+
   @Override
   public void close() {
     do {
@@ -119,6 +181,42 @@ final class FilePageLoader extends PageLoader {
     } while (true);
   }
 
+  static final int MAX_READ_SIZE = 1024 * 1024;
+
+  static final Comparator<PageRef> PAGE_ORDER = new Comparator<PageRef>() {
+    @Override
+    public int compare(PageRef x, PageRef y) {
+      final int order = Integer.compare(x.zone(), y.zone());
+      return order != 0 ? order : Long.compare(x.base(), y.base());
+    }
+  };
+
+  static final class LoadPages implements Cont<Zone> {
+
+    final FilePageLoader pageLoader;
+    final PageRef[] pageRefs;
+    final Cont<Page> cont;
+
+    LoadPages(FilePageLoader pageLoader, PageRef[] pageRefs, Cont<Page> cont) {
+      this.pageLoader = pageLoader;
+      this.pageRefs = pageRefs;
+      this.cont = cont;
+    }
+
+    @Override
+    public void bind(Zone zone) {
+      this.pageLoader.loadPagesAsync((FileZone) zone, this.pageRefs, this.cont);
+    }
+
+    @Override
+    public void trap(Throwable error) {
+      for (int i = 0; i < this.pageRefs.length; i += 1) {
+        this.cont.trap(error);
+      }
+    }
+
+  }
+
   static final class LoadPage implements Cont<Zone> {
 
     final FilePageLoader pageLoader;
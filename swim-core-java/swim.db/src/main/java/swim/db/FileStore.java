@@ -51,6 +51,7 @@ public class FileStore extends Store {
   final HashGenCacheSet<Page> pageCache;
   final FileStoreCommitter committer;
   final FileStoreCompactor compactor;
+  final FileJournal journal;
   final Pattern zonePattern;
   final FilenameFilter zoneFilter;
   volatile HashTrieMap<Integer, FileZone> zones;
@@ -76,6 +77,11 @@ public class FileStore extends Store {
     stage.task(this.compactor);
     this.zonePattern = Pattern.compile(Pattern.quote(this.baseName) + "-([0-9]+)\\." + Pattern.quote(this.zoneFileExt));
     this.zoneFilter = new FileStoreZoneFilter(zonePattern);
+    if (context.settings.journalSize > 0L) {
+      this.journal = new FileJournal(this, stage);
+    } else {
+      this.journal = null;
+    }
     this.zones = HashTrieMap.empty();
     this.status = 0;
   }
@@ -136,6 +142,11 @@ public class FileStore extends Store {
     return this.pageCache;
   }
 
+  @Override
+  public final FileJournal journal() {
+    return this.journal;
+  }
+
   @Override
   public final long size() {
     long size = 0L;
@@ -156,6 +167,22 @@ public class FileStore extends Store {
     return (this.status & COMPACTING) != 0;
   }
 
+  public final double compactProgress() {
+    return this.compactor.progress();
+  }
+
+  public final long compactEvacuatedSize() {
+    return this.compactor.evacuatedSize;
+  }
+
+  public final long compactReclaimedSize() {
+    return this.compactor.reclaimedSize;
+  }
+
+  public final long compactStallTime() {
+    return this.compactor.stallTime;
+  }
+
   @Override
   public void openAsync(Cont<Store> cont) {
     try {
@@ -166,6 +193,9 @@ public class FileStore extends Store {
           if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
             try {
               this.directory.mkdirs();
+              if (this.journal != null) {
+                this.journal.open();
+              }
               final TreeMap<Integer, File> zoneFiles = zoneFiles();
               final int newestZone;
               if (!zoneFiles.isEmpty()) {
@@ -228,6 +258,7 @@ public class FileStore extends Store {
         database.closeAsync(new FileStoreClose(this, cont));
       } else {
         closeZones();
+        closeJournal();
         cont.bind(this);
       }
     } catch (Throwable cause) {
@@ -256,6 +287,9 @@ public class FileStore extends Store {
         deleted = file.delete() && deleted;
       }
     }
+    if (this.journal != null) {
+      deleted = this.journal.delete() && deleted;
+    }
     return deleted;
   }
 
@@ -349,6 +383,13 @@ public class FileStore extends Store {
     } while (true);
   }
 
+  void closeJournal() {
+    final FileJournal journal = this.journal;
+    if (journal != null) {
+      journal.close();
+    }
+  }
+
   @Override
   public void openDatabaseAsync(Cont<Database> cont) {
     try {
@@ -460,6 +501,15 @@ public class FileStore extends Store {
     return zoneFiles;
   }
 
+  @Override
+  void databaseDidOpen(Database database) {
+    final FileJournal journal = this.journal;
+    if (journal != null) {
+      journal.replay(database);
+    }
+    super.databaseDidOpen(database);
+  }
+
   @Override
   void hitPage(Database database, Page page) {
     this.pageCache.put(page);
@@ -621,6 +671,7 @@ final class FileStoreClose implements Cont<Database> {
   public void bind(Database database) {
     try {
       this.store.closeZones();
+      this.store.closeJournal();
       this.andThen.bind(this.store);
     } catch (Throwable cause) {
       if (Conts.isNonFatal(cause)) {
@@ -75,8 +75,15 @@ final class FileStoreCommitter extends AbstractTask {
       if (commit.isShifted()) {
         store.shiftZone();
       }
+      // Only forced commits fsync their chunks, so only they checkpoint the
+      // journal, and only they need to start a new segment to truncate to.
+      final FileJournal journal = commit.isForced() ? store.journal : null;
+      final int segmentId = journal != null ? journal.rotate() : 0;
       final FileZone zone = store.zone;
       final Chunk chunk = zone.commitAndWriteChunk(commit);
+      if (journal != null && chunk != null) {
+        journal.truncate(segmentId); // Drop journal segments checkpointed by this commit.
+      }
       database.databaseDidCommit(chunk);
       if (chunk != null) {
         chunk.soften();
@@ -15,10 +15,19 @@
 package swim.db;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.concurrent.AbstractTask;
 import swim.concurrent.Conts;
+import swim.concurrent.Sync;
+import swim.structure.Value;
+import swim.util.Cursor;
 
 final class FileStoreCompactor extends AbstractTask {
 
@@ -26,11 +35,21 @@ final class FileStoreCompactor extends AbstractTask {
       AtomicReferenceFieldUpdater.newUpdater(FileStoreCompactor.class, Compact.class, "compact");
   final FileStore store;
   volatile Compact compact;
+  volatile int treeCount;
+  volatile int evacuatedTreeCount;
+  volatile long evacuatedSize;
+  volatile long reclaimedSize;
+  volatile long stallTime;
 
   FileStoreCompactor(FileStore store) {
     this.store = store;
   }
 
+  double progress() {
+    final int treeCount = this.treeCount;
+    return treeCount != 0 ? (double) this.evacuatedTreeCount / (double) treeCount : 1.0;
+  }
+
   void compactAsync(Compact compact) {
     if ((this.store.status & FileStore.OPENED) == 0) {
       try {
@@ -91,7 +110,9 @@ final class FileStoreCompactor extends AbstractTask {
         if (!zoneFiles.isEmpty() && zoneFiles.firstKey() < post) {
           Database.POST.set(database, post); // Set evacuation goal post.
 
-          database.evacuate(post);
+          final TreeMap<Integer, Long> reclaimable = new TreeMap<Integer, Long>();
+          evacuate(database, compact, post, zoneFiles, reclaimable);
+          database.evacuate(post); // Sweep up trees that changed during evacuation.
           database.commit(compact.commit());
 
           final int deleteDelay = compact.deleteDelay;
@@ -99,18 +120,7 @@ final class FileStoreCompactor extends AbstractTask {
             Thread.sleep((long) deleteDelay);
           }
 
-          while (!zoneFiles.isEmpty()) {
-            final int oldestZone = zoneFiles.firstKey();
-            if (oldestZone >= post) {
-              break; // Make sure not to delete live zones.
-            }
-            final boolean deleted = zoneFiles.get(oldestZone).delete();
-            zoneFiles.remove(oldestZone);
-            store.closeZone(oldestZone);
-            if (deleted) {
-              store.context.databaseDidDeleteZone(store, database, oldestZone);
-            }
-          }
+          reclaim(database, zoneFiles, post);
         }
       }
       database.databaseDidCompact(compact);
@@ -146,4 +156,236 @@ final class FileStoreCompactor extends AbstractTask {
     }
   }
 
+  void evacuate(Database database, Compact compact, int post, TreeMap<Integer, File> zoneFiles,
+                TreeMap<Integer, Long> reclaimable) throws InterruptedException {
+    final StoreSettings settings = this.store.settings();
+    final long compactRate = settings.compactRate;
+    final int parallelism = Math.max(1, settings.compactParallelism);
+
+    // Evacuate the trees that pin the oldest zones first, so that the zones
+    // with the most garbage can be reclaimed before compaction completes.
+    final FileStoreEvacuee[] evacuees = evacuees(database, post);
+    this.treeCount = evacuees.length;
+    this.evacuatedTreeCount = 0;
+
+    int i = 0;
+    while (i < evacuees.length) {
+      final long batchTime = System.currentTimeMillis();
+      long batchSize = 0L;
+      int j = i;
+      do {
+        batchSize += evacuees[j].size;
+        j += 1;
+      } while (j < evacuees.length && (compactRate <= 0L || batchSize < compactRate));
+
+      final Value[] names = new Value[j - i];
+      for (int k = i; k < j; k += 1) {
+        names[k - i] = evacuees[k].name;
+      }
+      final FileStoreEvacuation evacuation = new FileStoreEvacuation(database, names, post, parallelism);
+      for (int k = 1; k < parallelism; k += 1) {
+        this.store.stage.execute(evacuation);
+      }
+      evacuation.run();
+      evacuation.sync.await(settings.databaseCompactTimeout);
+
+      while (!database.evacuateSeedTree(post)) {
+        // Evacuate one child per pass until the seed tree is clear of the post.
+      }
+      while (!database.evacuateMetaTree(post)) {
+        // Evacuate one child per pass until the meta tree is clear of the post.
+      }
+      final int minPost = minPost(database, evacuees, post);
+      final Chunk chunk = database.commit(compact.commit());
+      final long chunkSize = chunk != null ? chunk.size() : 0L;
+      EVACUATED_TREE_COUNT.addAndGet(this, j - i);
+      EVACUATED_SIZE.addAndGet(this, chunkSize);
+      i = j;
+
+      // Zones no longer referenced by any committed tree can be deleted once
+      // in-flight page loads have had deleteDelay milliseconds to complete.
+      final long now = System.currentTimeMillis();
+      for (Integer zoneId : zoneFiles.headMap(minPost).keySet()) {
+        if (!reclaimable.containsKey(zoneId)) {
+          reclaimable.put(zoneId, now);
+        }
+      }
+      final Iterator<Map.Entry<Integer, Long>> reclaimables = reclaimable.entrySet().iterator();
+      while (reclaimables.hasNext()) {
+        final Map.Entry<Integer, Long> entry = reclaimables.next();
+        if (now - entry.getValue() < (long) compact.deleteDelay) {
+          break;
+        }
+        reclaim(database, zoneFiles, entry.getKey() + 1);
+        reclaimables.remove();
+      }
+
+      if (compactRate > 0L) {
+        final long stall = chunkSize * 1000L / compactRate - (System.currentTimeMillis() - batchTime);
+        if (stall > 0L) {
+          STALL_TIME.addAndGet(this, stall);
+          Thread.sleep(stall);
+        }
+      }
+    }
+  }
+
+  FileStoreEvacuee[] evacuees(Database database, int post) {
+    FileStoreEvacuee[] evacuees = new FileStoreEvacuee[16];
+    int count = 0;
+    final Cursor<Map.Entry<Value, Value>> seedCursor = database.seedTrunk.tree.cursor();
+    while (seedCursor.hasNext()) {
+      final Value name = seedCursor.next().getKey();
+      final Tree tree = database.openTrunk(name, null, false, false).tree;
+      final int treePost = tree.post();
+      if (treePost != 0 && treePost < post) {
+        if (count == evacuees.length) {
+          evacuees = Arrays.copyOf(evacuees, count << 1);
+        }
+        evacuees[count] = new FileStoreEvacuee(name, treePost, tree.treeSize());
+        count += 1;
+      }
+    }
+    evacuees = Arrays.copyOf(evacuees, count);
+    Arrays.sort(evacuees, FileStoreEvacuee.ORDER);
+    return evacuees;
+  }
+
+  /**
+   * Returns the oldest zone still referenced by the seed tree, the meta
+   * tree, or any tree that was pinned below {@code post}, including trees
+   * in batches that have already been evacuated.
+   */
+  static int minPost(Database database, FileStoreEvacuee[] evacuees, int post) {
+    int minPost = post;
+    for (int i = 0; i < evacuees.length; i += 1) {
+      final int treePost = database.openTrunk(evacuees[i].name, null, false, false).tree.post();
+      if (treePost != 0) {
+        minPost = Math.min(minPost, treePost);
+      }
+    }
+    final int seedPost = database.seedTrunk.tree.post();
+    if (seedPost != 0) {
+      minPost = Math.min(minPost, seedPost);
+    }
+    final int metaPost = database.metaTrunk.tree.post();
+    if (metaPost != 0) {
+      minPost = Math.min(minPost, metaPost);
+    }
+    return minPost;
+  }
+
+  void reclaim(Database database, TreeMap<Integer, File> zoneFiles, int post) {
+    final FileStore store = this.store;
+    while (!zoneFiles.isEmpty()) {
+      final int oldestZone = zoneFiles.firstKey();
+      if (oldestZone >= post) {
+        break; // Make sure not to delete live zones.
+      }
+      final File zoneFile = zoneFiles.get(oldestZone);
+      final long zoneSize = zoneFile.length();
+      final boolean deleted = zoneFile.delete();
+      zoneFiles.remove(oldestZone);
+      store.closeZone(oldestZone);
+      if (deleted) {
+        RECLAIMED_SIZE.addAndGet(this, zoneSize);
+        store.context.databaseDidDeleteZone(store, database, oldestZone);
+      }
+    }
+  }
+
+  static final AtomicIntegerFieldUpdater<FileStoreCompactor> EVACUATED_TREE_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(FileStoreCompactor.class, "evacuatedTreeCount");
+
+  static final AtomicLongFieldUpdater<FileStoreCompactor> EVACUATED_SIZE =
+      AtomicLongFieldUpdater.newUpdater(FileStoreCompactor.class, "evacuatedSize");
+
+  static final AtomicLongFieldUpdater<FileStoreCompactor> RECLAIMED_SIZE =
+      AtomicLongFieldUpdater.newUpdater(FileStoreCompactor.class, "reclaimedSize");
+
+  static final AtomicLongFieldUpdater<FileStoreCompactor> STALL_TIME =
+      AtomicLongFieldUpdater.newUpdater(FileStoreCompactor.class, "stallTime");
+
+}
+
+final class FileStoreEvacuee {
+
+  final Value name;
+  final int post;
+  final long size;
+
+  FileStoreEvacuee(Value name, int post, long size) {
+    this.name = name;
+    this.post = post;
+    this.size = size;
+  }
+
+  static final Comparator<FileStoreEvacuee> ORDER = new Comparator<FileStoreEvacuee>() {
+    @Override
+    public int compare(FileStoreEvacuee x, FileStoreEvacuee y) {
+      final int order = Integer.compare(x.post, y.post);
+      return order != 0 ? order : Long.compare(x.size, y.size);
+    }
+  };
+
+}
+
+final class FileStoreEvacuation implements Runnable {
+
+  final Database database;
+  final Value[] names;
+  final int post;
+  final Sync<Database> sync;
+  volatile int index;
+  volatile int workers;
+  volatile Throwable error;
+
+  FileStoreEvacuation(Database database, Value[] names, int post, int workers) {
+    this.database = database;
+    this.names = names;
+    this.post = post;
+    this.sync = new Sync<Database>();
+    this.workers = workers;
+  }
+
+  @Override
+  public void run() {
+    try {
+      do {
+        final int index = INDEX.getAndIncrement(this);
+        if (index >= this.names.length || this.error != null) {
+          break;
+        }
+        // Each pass evacuates a single child, so keep evacuating until no
+        // page of the tree remains below the post.
+        while (!this.database.evacuateTree(this.names[index], this.post)) {
+          if (this.error != null) {
+            return;
+          }
+        }
+      } while (true);
+    } catch (Throwable cause) {
+      if (Conts.isNonFatal(cause)) {
+        this.error = cause;
+      } else {
+        throw cause;
+      }
+    } finally {
+      if (WORKERS.decrementAndGet(this) == 0) {
+        final Throwable error = this.error;
+        if (error == null) {
+          this.sync.bind(this.database);
+        } else {
+          this.sync.trap(error);
+        }
+      }
+    }
+  }
+
+  static final AtomicIntegerFieldUpdater<FileStoreEvacuation> INDEX =
+      AtomicIntegerFieldUpdater.newUpdater(FileStoreEvacuation.class, "index");
+
+  static final AtomicIntegerFieldUpdater<FileStoreEvacuation> WORKERS =
+      AtomicIntegerFieldUpdater.newUpdater(FileStoreEvacuation.class, "workers");
+
 }
@@ -209,6 +209,25 @@ public class FileZone extends Zone {
     }
   }
 
+  void loadPagesAsync(FileChannel channel, PageRef[] pageRefs, TreeDelegate treeDelegate,
+                      boolean isResident, Cont<Page> cont) {
+    try {
+      final PageRef lastRef = pageRefs[pageRefs.length - 1];
+      final long offset = pageRefs[0].base();
+      final int size = (int) (lastRef.base() + lastRef.pageSize() - offset);
+      this.stage.execute(new FileZonePagesReader(this, channel, offset, size,
+          pageRefs, treeDelegate, isResident, cont));
+    } catch (Throwable cause) {
+      if (Conts.isNonFatal(cause)) {
+        for (int i = 0; i < pageRefs.length; i += 1) {
+          cont.trap(cause);
+        }
+      } else {
+        throw cause;
+      }
+    }
+  }
+
   @Override
   public Chunk commitAndWriteChunk(Commit commit) {
     final Database database = this.database;
@@ -398,6 +417,68 @@ final class FileZonePageReader extends FileZoneReconReader {
 
 }
 
+final class FileZonePagesReader extends FileZoneReader {
+
+  final PageRef[] pageRefs;
+  final TreeDelegate treeDelegate;
+  final boolean isResident;
+  final Cont<Page> cont;
+
+  FileZonePagesReader(FileZone zone, FileChannel channel, long offset, int size,
+                      PageRef[] pageRefs, TreeDelegate treeDelegate,
+                      boolean isResident, Cont<Page> cont) {
+    super(zone, channel, offset, size);
+    this.pageRefs = pageRefs;
+    this.treeDelegate = treeDelegate;
+    this.isResident = isResident;
+    this.cont = cont;
+  }
+
+  @Override
+  protected void bind(ByteBuffer buffer) {
+    final PageRef[] pageRefs = this.pageRefs;
+    for (int i = 0; i < pageRefs.length; i += 1) {
+      final PageRef pageRef = pageRefs[i];
+      Page page = null;
+      Throwable error = null;
+      try {
+        final int position = (int) (pageRef.base() - this.offset);
+        ((Buffer) buffer).limit(position + pageRef.pageSize()).position(position);
+        final Parser<Value> parser = Utf8.parseDecoded(Recon.structureParser().blockParser(),
+            Binary.inputBuffer(buffer));
+        if (parser.isDone()) {
+          page = pageRef.setPageValue(parser.bind(), this.isResident);
+          if (this.treeDelegate != null) {
+            this.treeDelegate.treeDidLoadPage(page);
+          }
+        } else {
+          error = parser.trap();
+        }
+      } catch (Throwable cause) {
+        if (Conts.isNonFatal(cause)) {
+          error = new StoreException("failed read from " + this.zone.file.getPath()
+              + ':' + pageRef.base() + '-' + pageRef.pageSize(), cause);
+        } else {
+          throw cause;
+        }
+      }
+      if (error == null) {
+        this.cont.bind(page);
+      } else {
+        this.cont.trap(error);
+      }
+    }
+  }
+
+  @Override
+  protected void trap(Throwable error) {
+    for (int i = 0; i < this.pageRefs.length; i += 1) {
+      this.cont.trap(error);
+    }
+  }
+
+}
+
 final class FileZoneOpenDatabase implements Cont<Zone> {
 
   final FileZone zone;
@@ -0,0 +1,271 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import swim.codec.Output;
+import swim.codec.Unicode;
+import swim.concurrent.Cont;
+import swim.concurrent.Conts;
+import swim.recon.Recon;
+import swim.structure.Item;
+import swim.structure.Record;
+import swim.structure.Value;
+
+public abstract class Journal {
+
+  public abstract Store store();
+
+  public abstract long size();
+
+  public abstract long appendedLsn();
+
+  public abstract long syncedLsn();
+
+  public abstract long append(Value entry);
+
+  public abstract void syncAsync(long lsn, Cont<Journal> cont);
+
+  public abstract Journal sync(long lsn) throws InterruptedException;
+
+  public Journal sync() throws InterruptedException {
+    return sync(appendedLsn());
+  }
+
+  public abstract void replay(Database database);
+
+  public abstract void close();
+
+  static Record btreeUpdateEntries(Trunk<?> trunk, BTree newTree, Value key, Value newValue) {
+    if (trunk.isJournaled(newTree)) {
+      return Record.create(1).item(entry("update", trunk, newTree, 2).slot("key", key).slot("value", newValue));
+    }
+    return null;
+  }
+
+  static Record btreeRemoveEntries(Trunk<?> trunk, BTree newTree, Value key) {
+    if (trunk.isJournaled(newTree)) {
+      return Record.create(1).item(entry("remove", trunk, newTree, 1).slot("key", key));
+    }
+    return null;
+  }
+
+  static Record btreeDropEntries(Trunk<?> trunk, BTree newTree, long lower) {
+    if (trunk.isJournaled(newTree)) {
+      return Record.create(1).item(entry("drop", trunk, newTree, 1).slot("lower", lower));
+    }
+    return null;
+  }
+
+  static Record btreeTakeEntries(Trunk<?> trunk, BTree newTree, long upper) {
+    if (trunk.isJournaled(newTree)) {
+      return Record.create(1).item(entry("take", trunk, newTree, 1).slot("upper", upper));
+    }
+    return null;
+  }
+
+  static Record qtreeUpdateEntries(Trunk<?> trunk, QTree newTree, Value key, long x, long y, Value newValue) {
+    if (trunk.isJournaled(newTree)) {
+      return Record.create(1).item(entry("update", trunk, newTree, 4).slot("key", key).slot("x", x).slot("y", y)
+          .slot("value", newValue));
+    }
+    return null;
+  }
+
+  static Record qtreeMoveEntries(Trunk<?> trunk, QTree newTree, Value key, long newX, long newY,
+                                 Value newValue, long oldX, long oldY) {
+    if (trunk.isJournaled(newTree)) {
+      return Record.create(1).item(entry("move", trunk, newTree, 6).slot("key", key).slot("oldX", oldX).slot("oldY", oldY)
+          .slot("newX", newX).slot("newY", newY).slot("value", newValue));
+    }
+    return null;
+  }
+
+  static Record qtreeRemoveEntries(Trunk<?> trunk, QTree newTree, Value key, long x, long y) {
+    if (trunk.isJournaled(newTree)) {
+      return Record.create(1).item(entry("remove", trunk, newTree, 3).slot("key", key).slot("x", x).slot("y", y));
+    }
+    return null;
+  }
+
+  static Record streeUpdateEntries(Trunk<?> trunk, STree newTree, long index, Value newValue) {
+    if (trunk.isJournaled(newTree)) {
+      return Record.create(1).item(entry("update", trunk, newTree, 2).slot("index", index).slot("value", newValue));
+    }
+    return null;
+  }
+
+  static Record streeInsertEntries(Trunk<?> trunk, STree newTree, long index, Value key, Value newValue) {
+    if (trunk.isJournaled(newTree)) {
+      return Record.create(1).item(entry("insert", trunk, newTree, 3).slot("index", index).slot("key", key)
+          .slot("value", newValue));
+    }
+    return null;
+  }
+
+  static Record streeRemoveEntries(Trunk<?> trunk, STree newTree, long index) {
+    if (trunk.isJournaled(newTree)) {
+      return Record.create(1).item(entry("remove", trunk, newTree, 1).slot("index", index));
+    }
+    return null;
+  }
+
+  static Record streeRemoveEntries(Trunk<?> trunk, STree newTree, Record removed) {
+    if (trunk.isJournaled(newTree)) {
+      final Record entries = Record.create(removed.size());
+      for (Item removal : removed) {
+        entries.add(entry("remove", trunk, newTree, 1).slot("index", removal.getItem(0).longValue()));
+      }
+      return entries;
+    }
+    return null;
+  }
+
+  static Record streeMoveEntries(Trunk<?> trunk, STree newTree, long fromIndex, long toIndex, Value key, Value value) {
+    if (trunk.isJournaled(newTree)) {
+      return Record.create(1).item(entry("move", trunk, newTree, 4).slot("from", fromIndex).slot("to", toIndex)
+          .slot("key", key).slot("value", value));
+    }
+    return null;
+  }
+
+  static Record streeDropEntries(Trunk<?> trunk, STree newTree, long lower) {
+    if (trunk.isJournaled(newTree)) {
+      return Record.create(1).item(entry("drop", trunk, newTree, 1).slot("lower", lower));
+    }
+    return null;
+  }
+
+  static Record streeTakeEntries(Trunk<?> trunk, STree newTree, long upper) {
+    if (trunk.isJournaled(newTree)) {
+      return Record.create(1).item(entry("take", trunk, newTree, 1).slot("upper", upper));
+    }
+    return null;
+  }
+
+  static Record utreeUpdateEntries(Trunk<?> trunk, UTree newTree, Value newValue) {
+    if (trunk.isJournaled(newTree)) {
+      return Record.create(1).item(entry("update", trunk, newTree, 1).slot("value", newValue));
+    }
+    return null;
+  }
+
+  static Record treeClearEntries(Trunk<?> trunk, Tree newTree) {
+    if (trunk.isJournaled(newTree)) {
+      return Record.create(1).item(entry("clear", trunk, newTree, 0));
+    }
+    return null;
+  }
+
+  static Record entry(String op, Trunk<?> trunk, Tree newTree, int size) {
+    final Record header = Record.create(3)
+        .slot("tree", trunk.name)
+        .slot("type", newTree.treeType().tag)
+        .slot("version", newTree.rootRef().softVersion());
+    return Record.create(1 + size).attr(op, header);
+  }
+
+  public static long entryVersion(Value entry) {
+    return entry.header(entry.tag()).get("version").longValue(0L);
+  }
+
+  public static void replayEntry(Database database, Value entry) {
+    try {
+      final String op = entry.tag();
+      final Value header = entry.header(op);
+      final Value name = header.get("tree");
+      final TreeType treeType = TreeType.fromTag(header.get("type").stringValue(null));
+      if (treeType == null) {
+        throw new StoreException("unknown tree type");
+      }
+      final Trunk<Tree> trunk = database.openTrunk(name, treeType, false, false);
+      do {
+        final long newVersion = database.version;
+        final int newPost = database.post;
+        final Tree oldTree = trunk.tree;
+        final Tree newTree = replayed(oldTree, op, entry, newVersion, newPost);
+        if (oldTree == newTree || trunk.updateTree(oldTree, newTree, newVersion)) {
+          break;
+        }
+      } while (true);
+    } catch (Throwable cause) {
+      if (Conts.isNonFatal(cause) && !(cause instanceof StoreException)) {
+        final Output<String> message = Unicode.stringOutput("Malformed journal entry: ");
+        Recon.write(entry, message);
+        throw new StoreException(message.bind(), cause);
+      } else {
+        throw cause;
+      }
+    }
+  }
+
+  static Tree replayed(Tree tree, String op, Value entry, long newVersion, int newPost) {
+    if ("clear".equals(op)) {
+      if (tree instanceof BTree) {
+        return ((BTree) tree).cleared(newVersion);
+      } else if (tree instanceof QTree) {
+        return ((QTree) tree).cleared(newVersion);
+      } else if (tree instanceof STree) {
+        return ((STree) tree).cleared(newVersion);
+      }
+    } else if (tree instanceof BTree) {
+      final BTree btree = (BTree) tree;
+      if ("update".equals(op)) {
+        return btree.updated(entry.get("key"), entry.get("value"), newVersion, newPost);
+      } else if ("remove".equals(op)) {
+        return btree.removed(entry.get("key"), newVersion, newPost);
+      } else if ("drop".equals(op)) {
+        return btree.drop(entry.get("lower").longValue(), newVersion, newPost);
+      } else if ("take".equals(op)) {
+        return btree.take(entry.get("upper").longValue(), newVersion, newPost);
+      }
+    } else if (tree instanceof QTree) {
+      final QTree qtree = (QTree) tree;
+      if ("update".equals(op)) {
+        return qtree.updated(entry.get("key"), entry.get("x").longValue(), entry.get("y").longValue(),
+            entry.get("value"), newVersion, newPost);
+      } else if ("move".equals(op)) {
+        return qtree.moved(entry.get("key"), entry.get("oldX").longValue(), entry.get("oldY").longValue(),
+            entry.get("newX").longValue(), entry.get("newY").longValue(),
+            entry.get("value"), newVersion, newPost);
+      } else if ("remove".equals(op)) {
+        return qtree.removed(entry.get("key"), entry.get("x").longValue(), entry.get("y").longValue(),
+            newVersion, newPost);
+      }
+    } else if (tree instanceof STree) {
+      final STree stree = (STree) tree;
+      if ("update".equals(op)) {
+        return stree.updated(entry.get("index").longValue(), entry.get("value"), newVersion, newPost);
+      } else if ("insert".equals(op)) {
+        return stree.inserted(entry.get("index").longValue(), entry.get("key"), entry.get("value"),
+            newVersion, newPost);
+      } else if ("remove".equals(op)) {
+        return stree.removed(entry.get("index").longValue(), newVersion, newPost);
+      } else if ("move".equals(op)) {
+        return stree.removed(entry.get("from").longValue(), newVersion, newPost)
+            .inserted(entry.get("to").longValue(), entry.get("key"), entry.get("value"), newVersion, newPost);
+      } else if ("drop".equals(op)) {
+        return stree.drop(entry.get("lower").longValue(), newVersion, newPost);
+      } else if ("take".equals(op)) {
+        return stree.take(entry.get("upper").longValue(), newVersion, newPost);
+      }
+    } else if (tree instanceof UTree) {
+      if ("update".equals(op)) {
+        return ((UTree) tree).updated(entry.get("value"), newVersion, newPost);
+      }
+    }
+    throw new StoreException("unsupported journal operation: " + op + " on " + tree.treeType().tag);
+  }
+
+}
@@ -14,7 +14,9 @@
 
 package swim.db;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import swim.concurrent.Cont;
+import swim.concurrent.Conts;
 
 public abstract class PageLoader implements AutoCloseable {
 
@@ -22,7 +24,74 @@ public abstract class PageLoader implements AutoCloseable {
 
   public abstract void loadPageAsync(PageRef pageRef, Cont<Page> cont);
 
+  public void loadPagesAsync(PageRef[] pageRefs, Cont<Page> cont) {
+    for (int i = 0; i < pageRefs.length; i += 1) {
+      loadPageAsync(pageRefs[i], cont);
+    }
+  }
+
   @Override
   public abstract void close();
 
+  static void readAhead(PageContext context, PageRef[] pageRefs, int fromIndex, int toIndex) {
+    PageRef[] readAheadRefs = null;
+    int readAheadCount = 0;
+    for (int i = fromIndex; i < toIndex; i += 1) {
+      final PageRef pageRef = pageRefs[i];
+      if (pageRef.isCommitted() && pageRef.softPage() == null) {
+        if (readAheadRefs == null) {
+          readAheadRefs = new PageRef[toIndex - i];
+        }
+        readAheadRefs[readAheadCount] = pageRef;
+        readAheadCount += 1;
+      }
+    }
+    if (readAheadCount > 0) {
+      if (readAheadCount < readAheadRefs.length) {
+        final PageRef[] newReadAheadRefs = new PageRef[readAheadCount];
+        System.arraycopy(readAheadRefs, 0, newReadAheadRefs, 0, readAheadCount);
+        readAheadRefs = newReadAheadRefs;
+      }
+      try {
+        final PageLoader pageLoader = context.openPageLoader(false);
+        pageLoader.loadPagesAsync(readAheadRefs, new PageLoaderReadAhead(pageLoader, readAheadCount));
+      } catch (Throwable cause) {
+        if (!Conts.isNonFatal(cause)) {
+          throw cause;
+        } // Pages will be loaded on demand.
+      }
+    }
+  }
+
+}
+
+final class PageLoaderReadAhead implements Cont<Page> {
+
+  final PageLoader pageLoader;
+  volatile int pending;
+
+  PageLoaderReadAhead(PageLoader pageLoader, int pending) {
+    this.pageLoader = pageLoader;
+    this.pending = pending;
+  }
+
+  @Override
+  public void bind(Page page) {
+    didLoadPage();
+  }
+
+  @Override
+  public void trap(Throwable error) {
+    didLoadPage(); // Pages will be reloaded, and errors reported, on demand.
+  }
+
+  void didLoadPage() {
+    if (PENDING.decrementAndGet(this) == 0) {
+      this.pageLoader.close();
+    }
+  }
+
+  static final AtomicIntegerFieldUpdater<PageLoaderReadAhead> PENDING =
+      AtomicIntegerFieldUpdater.newUpdater(PageLoaderReadAhead.class, "pending");
+
 }
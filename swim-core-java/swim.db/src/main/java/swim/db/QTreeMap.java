@@ -21,6 +21,7 @@ import swim.spatial.BitInterval;
 import swim.spatial.SpatialMap;
 import swim.spatial.SpatialValueMap;
 import swim.structure.Form;
+import swim.structure.Record;
 import swim.structure.Value;
 import swim.util.Cursor;
 
@@ -280,7 +281,8 @@ public class QTreeMap<S> implements SpatialMap<Value, S, Value> {
         final QTree oldTree = tree();
         final QTree newTree = oldTree.updated(key, x, y, newValue, newVersion, newPost);
         if (oldTree != newTree) {
-          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+          final Record journalEntries = Journal.qtreeUpdateEntries(this.trunk, newTree, key, x, y, newValue);
+          if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
             final Value oldValue = oldTree.get(key, x, y);
             final TreeContext treeContext = newTree.treeContext();
             treeContext.qtreeDidUpdate(newTree, oldTree, key, x, y, newValue, oldValue);
@@ -319,7 +321,8 @@ public class QTreeMap<S> implements SpatialMap<Value, S, Value> {
         final QTree oldTree = tree();
         final QTree newTree = oldTree.moved(key, oldX, oldY, newX, newY, newValue, newVersion, newPost);
         if (oldTree != newTree) {
-          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+          if (this.trunk.updateTree(oldTree, newTree, newVersion,
+              Journal.qtreeMoveEntries(this.trunk, newTree, key, newX, newY, newValue, oldX, oldY))) {
             final Value oldValue = oldTree.get(key, oldX, oldY);
             final TreeContext treeContext = newTree.treeContext();
             treeContext.qtreeDidMove(newTree, oldTree, key, newX, newY, newValue, oldX, oldY, oldValue);
@@ -355,7 +358,8 @@ public class QTreeMap<S> implements SpatialMap<Value, S, Value> {
         final QTree oldTree = tree();
         final QTree newTree = oldTree.removed(key, x, y, newVersion, newPost);
         if (oldTree != newTree) {
-          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+          final Record journalEntries = Journal.qtreeRemoveEntries(this.trunk, newTree, key, x, y);
+          if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
             final Value oldValue = oldTree.get(key, x, y);
             final TreeContext treeContext = newTree.treeContext();
             treeContext.qtreeDidRemove(newTree, oldTree, key, x, y, oldValue);
@@ -387,7 +391,8 @@ public class QTreeMap<S> implements SpatialMap<Value, S, Value> {
         final QTree oldTree = tree();
         final QTree newTree = oldTree.cleared(newVersion);
         if (oldTree != newTree) {
-          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+          final Record journalEntries = Journal.treeClearEntries(this.trunk, newTree);
+          if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
             final TreeContext treeContext = newTree.treeContext();
             treeContext.treeDidClear(newTree, oldTree);
             treeContext.treeDidChange(newTree, oldTree);
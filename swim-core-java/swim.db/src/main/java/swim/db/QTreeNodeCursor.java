@@ -29,6 +29,7 @@ abstract class QTreeNodeCursor implements Cursor<Slot> {
   long index;
   int slotIndex;
   int childIndex;
+  int readAheadIndex;
   Cursor<Slot> childCursor;
 
   QTreeNodeCursor(QTreeNode page, long x, long y, long index, int slotIndex, int childIndex) {
@@ -74,6 +75,7 @@ abstract class QTreeNodeCursor implements Cursor<Slot> {
         if (childIndex < childRefs.length) {
           final QTreePageRef childRef = childRefs[childIndex];
           if (BitInterval.intersects(x, y, childRef.x, childRef.y)) {
+            readAhead(childIndex + 1);
             this.childCursor = childCursor(childRef);
           } else {
             this.index += childRef.span();
@@ -114,6 +116,7 @@ abstract class QTreeNodeCursor implements Cursor<Slot> {
         if (childIndex < childRefs.length) {
           final QTreePageRef childRef = childRefs[childIndex];
           if (BitInterval.intersects(x, y, childRef.x, childRef.y)) {
+            readAhead(childIndex + 1);
             this.childCursor = childCursor(childRef);
           } else {
             this.index += childRef.span();
@@ -157,6 +160,7 @@ abstract class QTreeNodeCursor implements Cursor<Slot> {
         if (childIndex < childRefs.length) {
           final QTreePageRef childRef = childRefs[childIndex];
           if (BitInterval.intersects(x, y, childRef.x, childRef.y)) {
+            readAhead(childIndex + 1);
             this.childCursor = childCursor(childRef);
           } else {
             this.index += childRef.span();
@@ -189,6 +193,7 @@ abstract class QTreeNodeCursor implements Cursor<Slot> {
           final long childSpan = childRef.span();
           this.childIndex = childIndex + 1;
           if (childSpan < count) {
+            readAhead(childIndex + 1);
             this.childCursor = childCursor(childRef);
             if (count > 0L) {
               this.index += count;
@@ -237,6 +242,7 @@ abstract class QTreeNodeCursor implements Cursor<Slot> {
         if (childIndex < childRefs.length) {
           final QTreePageRef childRef = childRefs[childIndex];
           if (BitInterval.intersects(x, y, childRef.x, childRef.y)) {
+            readAhead(childIndex + 1);
             this.childCursor = childCursor(childRef);
           } else {
             this.index += childRef.span();
@@ -285,6 +291,7 @@ abstract class QTreeNodeCursor implements Cursor<Slot> {
         if (childIndex < childRefs.length) {
           final QTreePageRef childRef = childRefs[childIndex];
           if (BitInterval.intersects(x, y, childRef.x, childRef.y)) {
+            readAhead(childIndex + 1);
             this.childCursor = childCursor(childRef);
           } else {
             this.index += childRef.span();
@@ -389,6 +396,30 @@ abstract class QTreeNodeCursor implements Cursor<Slot> {
     throw new NoSuchElementException();
   }
 
+  void readAhead(int childIndex) {
+    if (childIndex >= this.readAheadIndex) {
+      final QTreePageRef pageRef = this.page.pageRef;
+      final QTreePageRef[] childRefs = this.page.childRefs;
+      final int readAheadSize = Math.max(0, Math.min(pageRef.settings().pageReadAhead,
+          childRefs.length - childIndex));
+      final QTreePageRef[] readAheadRefs = new QTreePageRef[readAheadSize];
+      int readAheadCount = 0;
+      int i = childIndex;
+      while (i < childRefs.length && readAheadCount < readAheadSize) {
+        final QTreePageRef childRef = childRefs[i];
+        if (BitInterval.intersects(this.x, this.y, childRef.x, childRef.y)) {
+          readAheadRefs[readAheadCount] = childRef;
+          readAheadCount += 1;
+        }
+        i += 1;
+      }
+      if (readAheadCount > 0) {
+        PageLoader.readAhead(pageRef.context, readAheadRefs, 0, readAheadCount);
+      }
+      this.readAheadIndex = i;
+    }
+  }
+
   @Override
   public void load() throws InterruptedException {
     final Sync<Page> syncPage = new Sync<Page>();
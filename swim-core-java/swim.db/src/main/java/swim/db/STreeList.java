@@ -306,7 +306,8 @@ public class STreeList implements KeyedList<Value> {
         }
         final STree newTree = oldTree.updated(index, newValue, newVersion, newPost);
         if (oldTree != newTree) {
-          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+          final Record journalEntries = Journal.streeUpdateEntries(this.trunk, newTree, index, newValue);
+          if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
             final Slot oldSlot = oldTree.getEntry(index);
             final Value oldKey = oldSlot.key();
             final Value oldValue = oldSlot.value();
@@ -346,8 +347,9 @@ public class STreeList implements KeyedList<Value> {
         final STree oldTree = tree();
         final Value newKey = key instanceof Value ? (Value) key : identify(newValue);
         final STree newTree = oldTree.appended(newKey, newValue, newVersion, newPost);
-        if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
-          final int index = (int) oldTree.span();
+        final int index = (int) oldTree.span();
+        final Record journalEntries = Journal.streeInsertEntries(this.trunk, newTree, index, newKey, newValue);
+        if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
           final TreeContext treeContext = newTree.treeContext();
           treeContext.streeDidInsert(newTree, oldTree, index, newKey, newValue);
           treeContext.treeDidChange(newTree, oldTree);
@@ -391,7 +393,8 @@ public class STreeList implements KeyedList<Value> {
         final STree oldTree = tree();
         final Value newKey = key instanceof Value ? (Value) key : identify(newValue);
         final STree newTree = oldTree.inserted(index, newKey, newValue, newVersion, newPost);
-        if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+        final Record journalEntries = Journal.streeInsertEntries(this.trunk, newTree, index, newKey, newValue);
+        if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
           final TreeContext treeContext = newTree.treeContext();
           treeContext.streeDidInsert(newTree, oldTree, index, newKey, newValue);
           treeContext.treeDidChange(newTree, oldTree);
@@ -441,7 +444,8 @@ public class STreeList implements KeyedList<Value> {
           }
         }
         final STree newTree = oldTree.removed(index, newVersion, newPost);
-        if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+        final Record journalEntries = Journal.streeRemoveEntries(this.trunk, newTree, index);
+        if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
           final Slot oldSlot = oldTree.getEntry(index);
           final Value oldKey = oldSlot.key();
           final Value oldValue = oldSlot.value();
@@ -480,8 +484,9 @@ public class STreeList implements KeyedList<Value> {
         final STree oldTree = tree();
         final STree newTree = oldTree.removed(value, newVersion, newPost);
         if (oldTree != newTree) {
-          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
-            final long index = oldTree.indexOf(value);
+          final long index = oldTree.indexOf(value);
+          final Record journalEntries = Journal.streeRemoveEntries(this.trunk, newTree, index);
+          if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
             final Slot oldSlot = oldTree.getEntry(index);
             final Value key = oldSlot.key();
             final TreeContext treeContext = newTree.treeContext();
@@ -531,7 +536,8 @@ public class STreeList implements KeyedList<Value> {
           }
         }
         if (oldTree != newTree) {
-          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+          final Record journalEntries = Journal.streeRemoveEntries(this.trunk, newTree, removed);
+          if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
             final TreeContext treeContext = newTree.treeContext();
             for (Item entry : removed) {
               final long index = entry.getItem(0).longValue();
@@ -583,7 +589,8 @@ public class STreeList implements KeyedList<Value> {
           }
         }
         if (oldTree != newTree) {
-          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+          final Record journalEntries = Journal.streeRemoveEntries(this.trunk, newTree, removed);
+          if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
             final TreeContext treeContext = newTree.treeContext();
             for (Item entry : removed) {
               final long index = entry.getItem(0).longValue();
@@ -640,7 +647,8 @@ public class STreeList implements KeyedList<Value> {
           final Value oldValue = slot.value();
           final STree newTree = oldTree.removed(fromIndex, newVersion, newPost)
               .inserted(toIndex, oldKey, oldValue, newVersion, newPost);
-          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+          if (this.trunk.updateTree(oldTree, newTree, newVersion,
+              Journal.streeMoveEntries(this.trunk, newTree, fromIndex, toIndex, oldKey, oldValue))) {
             final TreeContext treeContext = newTree.treeContext();
             treeContext.streeDidMove(newTree, oldTree, fromIndex, toIndex, oldKey, oldValue);
             treeContext.treeDidChange(newTree, oldTree);
@@ -669,7 +677,8 @@ public class STreeList implements KeyedList<Value> {
         final STree oldTree = tree();
         final STree newTree = oldTree.drop(lower, newVersion, newPost);
         if (oldTree != newTree) {
-          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+          final Record journalEntries = Journal.streeDropEntries(this.trunk, newTree, lower);
+          if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
             final TreeContext treeContext = newTree.treeContext();
             treeContext.streeDidDrop(newTree, oldTree, lower);
             treeContext.treeDidChange(newTree, oldTree);
@@ -700,7 +709,8 @@ public class STreeList implements KeyedList<Value> {
         final STree oldTree = tree();
         final STree newTree = oldTree.take(upper, newVersion, newPost);
         if (oldTree != newTree) {
-          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+          final Record journalEntries = Journal.streeTakeEntries(this.trunk, newTree, upper);
+          if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
             final TreeContext treeContext = newTree.treeContext();
             treeContext.streeDidTake(newTree, oldTree, upper);
             treeContext.treeDidChange(newTree, oldTree);
@@ -731,7 +741,8 @@ public class STreeList implements KeyedList<Value> {
         final STree oldTree = tree();
         final STree newTree = oldTree.cleared(newVersion);
         if (oldTree != newTree) {
-          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+          final Record journalEntries = Journal.treeClearEntries(this.trunk, newTree);
+          if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
             final TreeContext treeContext = newTree.treeContext();
             treeContext.treeDidClear(newTree, oldTree);
             treeContext.treeDidChange(newTree, oldTree);
@@ -24,6 +24,7 @@ abstract class STreeNodeCursor implements Cursor<Slot> {
   final STreeNode page;
   long index;
   int childIndex;
+  int readAheadIndex;
   Cursor<Slot> childCursor;
 
   STreeNodeCursor(STreeNode page, long index, int childIndex) {
@@ -52,6 +53,7 @@ abstract class STreeNodeCursor implements Cursor<Slot> {
         final STreePageRef[] childRefs = this.page.childRefs;
         final int childIndex = this.childIndex;
         if (childIndex < childRefs.length) {
+          readAhead(childIndex + 1);
           this.childCursor = childCursor(childRefs[childIndex]);
           this.childIndex = childIndex + 1;
         } else {
@@ -75,6 +77,7 @@ abstract class STreeNodeCursor implements Cursor<Slot> {
         final STreePageRef[] childRefs = this.page.childRefs;
         final int childIndex = this.childIndex;
         if (childIndex < childRefs.length) {
+          readAhead(childIndex + 1);
           this.childCursor = childCursor(childRefs[childIndex]);
           this.childIndex = childIndex + 1;
         } else {
@@ -99,6 +102,7 @@ abstract class STreeNodeCursor implements Cursor<Slot> {
         final STreePageRef[] childRefs = this.page.childRefs;
         final int childIndex = this.childIndex;
         if (childIndex < childRefs.length) {
+          readAhead(childIndex + 1);
           this.childCursor = childCursor(childRefs[childIndex]);
           this.childIndex = childIndex + 1;
         } else {
@@ -128,6 +132,7 @@ abstract class STreeNodeCursor implements Cursor<Slot> {
           final long childSpan = childRef.span;
           this.childIndex = childIndex + 1;
           if (childSpan < count) {
+            readAhead(childIndex + 1);
             this.childCursor = childCursor(childRef);
             if (count > 0L) {
               this.index += count;
@@ -160,6 +165,7 @@ abstract class STreeNodeCursor implements Cursor<Slot> {
         final STreePageRef[] childRefs = this.page.childRefs;
         final int childIndex = this.childIndex;
         if (childIndex < childRefs.length) {
+          readAhead(childIndex + 1);
           this.childCursor = childCursor(childRefs[childIndex]);
           this.childIndex = childIndex + 1;
         } else {
@@ -189,6 +195,7 @@ abstract class STreeNodeCursor implements Cursor<Slot> {
         final STreePageRef[] childRefs = this.page.childRefs;
         final int childIndex = this.childIndex;
         if (childIndex < childRefs.length) {
+          readAhead(childIndex + 1);
           this.childCursor = childCursor(childRefs[childIndex]);
           this.childIndex = childIndex + 1;
         } else {
@@ -250,6 +257,18 @@ abstract class STreeNodeCursor implements Cursor<Slot> {
     } while (true);
   }
 
+  void readAhead(int childIndex) {
+    if (childIndex >= this.readAheadIndex) {
+      final STreePageRef pageRef = this.page.pageRef;
+      final STreePageRef[] childRefs = this.page.childRefs;
+      final int toIndex = Math.min(childIndex + pageRef.settings().pageReadAhead, childRefs.length);
+      if (childIndex < toIndex) {
+        PageLoader.readAhead(pageRef.context, childRefs, childIndex, toIndex);
+      }
+      this.readAheadIndex = toIndex;
+    }
+  }
+
   @Override
   public void load() throws InterruptedException {
     final Sync<Page> syncPage = new Sync<Page>();
@@ -68,6 +68,10 @@ public abstract class Store {
 
   public abstract Zone shiftZone();
 
+  public Journal journal() {
+    return null;
+  }
+
   boolean pageShouldSplit(Database database, Page page) {
     return storeContext().pageShouldSplit(this, database, page);
   }
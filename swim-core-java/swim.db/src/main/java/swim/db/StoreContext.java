@@ -45,6 +45,18 @@ public class StoreContext {
     }
   }
 
+  public static boolean autoCheckpoint(Store store, Database database, long journalSize,
+                                       long autoCommitSize, Commit commit) {
+    final Journal journal = store.journal();
+    if (journal != null && (journal.size() > journalSize || database.diffSize() > autoCommitSize)
+        && !store.isCommitting()) {
+      database.commitAsync(commit);
+      return true;
+    } else {
+      return false;
+    }
+  }
+
   public static boolean autoCompact(Store store, Database database, double minTreeFill,
                                     long minCompactSize, Compact compact) {
     if (!store.isCompacting()) {
@@ -95,7 +107,14 @@ public class StoreContext {
   }
 
   public void treeDidChange(Store store, Database database, Tree newTree, Tree oldTree) {
-    autoCommit(database, this.settings.autoCommitSize, this.settings.autoCommitInterval, Commit.forced());
+    if (store.journal() != null) {
+      // Journaled changes are durable once the journal syncs, so only
+      // checkpoint them into tree pages once the journal, or the pages
+      // it's yet to checkpoint, grow too large.
+      autoCheckpoint(store, database, this.settings.journalSize, this.settings.autoCommitSize, Commit.forced());
+    } else {
+      autoCommit(database, this.settings.autoCommitSize, this.settings.autoCommitInterval, Commit.forced());
+    }
   }
 
   public void databaseWillOpen(Store store, Database database) {
@@ -141,6 +160,10 @@ public class StoreContext {
     error.printStackTrace();
   }
 
+  public void journalDidFail(Store store, Journal journal, Throwable error) {
+    error.printStackTrace();
+  }
+
   public void databaseDidShiftZone(Store store, Database database, Zone newZone) {
     // nop
   }
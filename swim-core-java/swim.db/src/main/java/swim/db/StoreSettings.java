@@ -49,6 +49,11 @@ public class StoreSettings implements Debug {
   protected final int databaseCompactTimeout;
   protected final int pageLoadTimeout;
   protected final int treeLoadTimeout;
+  protected final long journalSize;
+  protected final long compactRate;
+  protected final int compactParallelism;
+  protected final int keyFilterBits;
+  protected final int pageReadAhead;
 
   public StoreSettings(int pageSplitSize, int pageCacheSize, int autoCommitInterval,
                        long autoCommitSize, long minCompactSize, long maxZoneSize,
@@ -57,7 +62,9 @@ public class StoreSettings implements Debug {
                        int zoneOpenTimeout, int zoneCloseTimeout,
                        int databaseOpenTimeout, int databaseCloseTimeout,
                        int databaseCommitTimeout, int databaseCompactTimeout,
-                       int pageLoadTimeout, int treeLoadTimeout) {
+                       int pageLoadTimeout, int treeLoadTimeout, long journalSize,
+                       long compactRate, int compactParallelism, int keyFilterBits,
+                       int pageReadAhead) {
     this.pageSplitSize = pageSplitSize;
     this.pageCacheSize = pageCacheSize;
     this.autoCommitInterval = autoCommitInterval;
@@ -82,6 +89,30 @@ public class StoreSettings implements Debug {
 
     this.pageLoadTimeout = pageLoadTimeout;
     this.treeLoadTimeout = treeLoadTimeout;
+
+    this.journalSize = journalSize;
+    this.compactRate = compactRate;
+    this.compactParallelism = compactParallelism;
+    this.keyFilterBits = keyFilterBits;
+    this.pageReadAhead = pageReadAhead;
+  }
+
+  public StoreSettings(int pageSplitSize, int pageCacheSize, int autoCommitInterval,
+                       long autoCommitSize, long minCompactSize, long maxZoneSize,
+                       double minZoneFill, double minTreeFill, int maxRetries,
+                       int deleteDelay, int storeOpenTimeout, int storeCloseTimeout,
+                       int zoneOpenTimeout, int zoneCloseTimeout,
+                       int databaseOpenTimeout, int databaseCloseTimeout,
+                       int databaseCommitTimeout, int databaseCompactTimeout,
+                       int pageLoadTimeout, int treeLoadTimeout) {
+    this(pageSplitSize, pageCacheSize, autoCommitInterval,
+         autoCommitSize, minCompactSize, maxZoneSize,
+         minZoneFill, minTreeFill, maxRetries,
+         deleteDelay, storeOpenTimeout, storeCloseTimeout,
+         zoneOpenTimeout, zoneCloseTimeout,
+         databaseOpenTimeout, databaseCloseTimeout,
+         databaseCommitTimeout, databaseCompactTimeout,
+         pageLoadTimeout, treeLoadTimeout, 0L, 0L, 1, 0, 8);
   }
 
   public static StoreSettings standard() {
@@ -226,6 +257,41 @@ public class StoreSettings implements Debug {
         treeLoadTimeout = 30 * 1000;
       }
 
+      long journalSize;
+      try {
+        journalSize = Long.parseLong(System.getProperty("swim.db.journal.size"));
+      } catch (NumberFormatException e) {
+        journalSize = 0L;
+      }
+
+      long compactRate;
+      try {
+        compactRate = Long.parseLong(System.getProperty("swim.db.compact.rate"));
+      } catch (NumberFormatException e) {
+        compactRate = 0L;
+      }
+
+      int compactParallelism;
+      try {
+        compactParallelism = Integer.parseInt(System.getProperty("swim.db.compact.parallelism"));
+      } catch (NumberFormatException e) {
+        compactParallelism = 1;
+      }
+
+      int keyFilterBits;
+      try {
+        keyFilterBits = Integer.parseInt(System.getProperty("swim.db.key.filter.bits"));
+      } catch (NumberFormatException e) {
+        keyFilterBits = 0;
+      }
+
+      int pageReadAhead;
+      try {
+        pageReadAhead = Integer.parseInt(System.getProperty("swim.db.page.read.ahead"));
+      } catch (NumberFormatException e) {
+        pageReadAhead = 8;
+      }
+
       standard = new StoreSettings(pageSplitSize, pageCacheSize, autoCommitInterval,
           autoCommitSize, minCompactSize, maxZoneSize,
           minZoneFill, minTreeFill, maxRetries,
@@ -233,7 +299,8 @@ public class StoreSettings implements Debug {
           zoneOpenTimeout, zoneCloseTimeout,
           databaseOpenTimeout, databaseCloseTimeout,
           databaseCommitTimeout, databaseCompactTimeout,
-          pageLoadTimeout, treeLoadTimeout);
+          pageLoadTimeout, treeLoadTimeout, journalSize,
+          compactRate, compactParallelism, keyFilterBits, pageReadAhead);
     }
     return standard;
   }
@@ -258,7 +325,8 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final int pageCacheSize() {
@@ -273,7 +341,8 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final int autoCommitInterval() {
@@ -288,7 +357,8 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final long autoCommitSize() {
@@ -303,7 +373,8 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final long minCompactSize() {
@@ -318,7 +389,8 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final long maxZoneSize() {
@@ -333,7 +405,8 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final double minZoneFill() {
@@ -348,7 +421,8 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final double minTreeFill() {
@@ -363,7 +437,8 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final int maxRetries() {
@@ -378,7 +453,8 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final int deleteDelay() {
@@ -393,7 +469,8 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final int storeOpenTimeout() {
@@ -408,7 +485,8 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final int storeCloseTimeout() {
@@ -423,7 +501,8 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final int zoneOpenTimeout() {
@@ -438,7 +517,8 @@ public class StoreSettings implements Debug {
         zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final int zoneCloseTimeout() {
@@ -453,7 +533,8 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final int databaseOpenTimeout() {
@@ -468,7 +549,8 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final int databaseCloseTimeout() {
@@ -483,7 +565,8 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final int databaseCommitTimeout() {
@@ -498,7 +581,8 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final int databaseCompactTimeout() {
@@ -513,7 +597,8 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, databaseCompactTimeout,
-        this.pageLoadTimeout, this.treeLoadTimeout);
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final int pageLoadTimeout() {
@@ -528,7 +613,8 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        pageLoadTimeout, this.treeLoadTimeout);
+        pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
   }
 
   public final int treeLoadTimeout() {
@@ -543,7 +629,88 @@ public class StoreSettings implements Debug {
         this.zoneOpenTimeout, this.zoneCloseTimeout,
         this.databaseOpenTimeout, this.databaseCloseTimeout,
         this.databaseCommitTimeout, this.databaseCompactTimeout,
-        this.pageLoadTimeout, treeLoadTimeout);
+        this.pageLoadTimeout, treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
+  }
+
+  public final long journalSize() {
+    return this.journalSize;
+  }
+
+  public StoreSettings journalSize(long journalSize) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout, journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
+  }
+
+  public final long compactRate() {
+    return this.compactRate;
+  }
+
+  public StoreSettings compactRate(long compactRate) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        compactRate, this.compactParallelism, this.keyFilterBits, this.pageReadAhead);
+  }
+
+  public final int compactParallelism() {
+    return this.compactParallelism;
+  }
+
+  public StoreSettings compactParallelism(int compactParallelism) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, compactParallelism, this.keyFilterBits, this.pageReadAhead);
+  }
+
+  public final int keyFilterBits() {
+    return this.keyFilterBits;
+  }
+
+  public StoreSettings keyFilterBits(int keyFilterBits) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, keyFilterBits, this.pageReadAhead);
+  }
+
+  public final int pageReadAhead() {
+    return this.pageReadAhead;
+  }
+
+  public StoreSettings pageReadAhead(int pageReadAhead) {
+    return copy(this.pageSplitSize, this.pageCacheSize, this.autoCommitInterval,
+        this.autoCommitSize, this.minCompactSize, this.maxZoneSize,
+        this.minZoneFill, this.minTreeFill, this.maxRetries,
+        this.deleteDelay, this.storeOpenTimeout, this.storeCloseTimeout,
+        this.zoneOpenTimeout, this.zoneCloseTimeout,
+        this.databaseOpenTimeout, this.databaseCloseTimeout,
+        this.databaseCommitTimeout, this.databaseCompactTimeout,
+        this.pageLoadTimeout, this.treeLoadTimeout, this.journalSize,
+        this.compactRate, this.compactParallelism, this.keyFilterBits, pageReadAhead);
   }
 
   protected StoreSettings copy(int pageSplitSize, int pageCacheSize, int autoCommitInterval,
@@ -553,7 +720,9 @@ public class StoreSettings implements Debug {
                                int zoneOpenTimeout, int zoneCloseTimeout,
                                int databaseOpenTimeout, int databaseCloseTimeout,
                                int databaseCommitTimeout, int databaseCompactTimeout,
-                               int pageLoadTimeout, int treeLoadTimeout) {
+                               int pageLoadTimeout, int treeLoadTimeout, long journalSize,
+                               long compactRate, int compactParallelism, int keyFilterBits,
+                               int pageReadAhead) {
     return new StoreSettings(pageSplitSize, pageCacheSize, autoCommitInterval,
         autoCommitSize, minCompactSize, maxZoneSize,
         minZoneFill, minTreeFill, maxRetries,
@@ -561,7 +730,8 @@ public class StoreSettings implements Debug {
         zoneOpenTimeout, zoneCloseTimeout,
         databaseOpenTimeout, databaseCloseTimeout,
         databaseCommitTimeout, databaseCompactTimeout,
-        pageLoadTimeout, treeLoadTimeout);
+        pageLoadTimeout, treeLoadTimeout, journalSize,
+        compactRate, compactParallelism, keyFilterBits, pageReadAhead);
   }
 
   protected boolean canEqual(Object other) {
@@ -593,7 +763,12 @@ public class StoreSettings implements Debug {
           && this.databaseCommitTimeout == that.databaseCommitTimeout
           && this.databaseCompactTimeout == that.databaseCompactTimeout
           && this.pageLoadTimeout == that.pageLoadTimeout
-          && this.treeLoadTimeout == that.treeLoadTimeout;
+          && this.treeLoadTimeout == that.treeLoadTimeout
+          && this.journalSize == that.journalSize
+          && this.compactRate == that.compactRate
+          && this.compactParallelism == that.compactParallelism
+          && this.keyFilterBits == that.keyFilterBits
+          && this.pageReadAhead == that.pageReadAhead;
     }
     return false;
   }
@@ -603,8 +778,8 @@ public class StoreSettings implements Debug {
     if (hashSeed == 0) {
       hashSeed = Murmur3.seed(StoreSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
-        Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+        Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
             Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
                 hashSeed, this.pageSplitSize), this.pageCacheSize), this.autoCommitInterval),
                 Murmur3.hash(this.autoCommitSize)), Murmur3.hash(this.minCompactSize)),
@@ -613,7 +788,10 @@ public class StoreSettings implements Debug {
             this.storeOpenTimeout), this.storeCloseTimeout), this.zoneOpenTimeout),
             this.zoneCloseTimeout), this.databaseOpenTimeout), this.databaseCloseTimeout),
         this.databaseCommitTimeout), this.databaseCompactTimeout),
-        this.pageLoadTimeout), this.treeLoadTimeout));
+        this.pageLoadTimeout), this.treeLoadTimeout), Murmur3.hash(this.journalSize)),
+        Murmur3.hash(this.compactRate)), this.compactParallelism),
+        this.keyFilterBits),
+        this.pageReadAhead));
   }
 
   @Override
@@ -638,7 +816,12 @@ public class StoreSettings implements Debug {
         .write('.').write("databaseCommitTimeout").write('(').debug(this.databaseCommitTimeout).write(')')
         .write('.').write("databaseCompactTimeout").write('(').debug(this.databaseCompactTimeout).write(')')
         .write('.').write("pageLoadTimeout").write('(').debug(this.pageLoadTimeout).write(')')
-        .write('.').write("treeLoadTimeout").write('(').debug(this.treeLoadTimeout).write(')');
+        .write('.').write("treeLoadTimeout").write('(').debug(this.treeLoadTimeout).write(')')
+        .write('.').write("journalSize").write('(').debug(this.journalSize).write(')')
+        .write('.').write("compactRate").write('(').debug(this.compactRate).write(')')
+        .write('.').write("compactParallelism").write('(').debug(this.compactParallelism).write(')')
+        .write('.').write("keyFilterBits").write('(').debug(this.keyFilterBits).write(')')
+        .write('.').write("pageReadAhead").write('(').debug(this.pageReadAhead).write(')');
   }
 
   @Override
@@ -669,7 +852,7 @@ final class StoreSettingsForm extends Form<StoreSettings> {
   public Item mold(StoreSettings settings) {
     if (settings != null) {
       final StoreSettings standard = StoreSettings.standard();
-      final Record record = Record.create(20).attr(tag());
+      final Record record = Record.create(26).attr(tag());
 
       if (settings.pageSplitSize != standard.pageSplitSize) {
         record.slot("pageSplitSize", settings.pageSplitSize);
@@ -736,6 +919,23 @@ final class StoreSettingsForm extends Form<StoreSettings> {
         record.slot("treeLoadTimeout", settings.treeLoadTimeout);
       }
 
+      if (settings.journalSize != standard.journalSize) {
+        record.slot("journalSize", settings.journalSize);
+      }
+
+      if (settings.compactRate != standard.compactRate) {
+        record.slot("compactRate", settings.compactRate);
+      }
+      if (settings.compactParallelism != standard.compactParallelism) {
+        record.slot("compactParallelism", settings.compactParallelism);
+      }
+      if (settings.keyFilterBits != standard.keyFilterBits) {
+        record.slot("keyFilterBits", settings.keyFilterBits);
+      }
+      if (settings.pageReadAhead != standard.pageReadAhead) {
+        record.slot("pageReadAhead", settings.pageReadAhead);
+      }
+
       return record;
     } else {
       return Item.extant();
@@ -767,6 +967,11 @@ final class StoreSettingsForm extends Form<StoreSettings> {
       final int databaseCompactTimeout = value.get("databaseCompactTimeout").intValue(standard.databaseCompactTimeout);
       final int pageLoadTimeout = value.get("pageLoadTimeout").intValue(standard.pageLoadTimeout);
       final int treeLoadTimeout = value.get("treeLoadTimeout").intValue(standard.treeLoadTimeout);
+      final long journalSize = value.get("journalSize").longValue(standard.journalSize);
+      final long compactRate = value.get("compactRate").longValue(standard.compactRate);
+      final int compactParallelism = value.get("compactParallelism").intValue(standard.compactParallelism);
+      final int keyFilterBits = value.get("keyFilterBits").intValue(standard.keyFilterBits);
+      final int pageReadAhead = value.get("pageReadAhead").intValue(standard.pageReadAhead);
       return new StoreSettings(pageSplitSize, pageCacheSize, autoCommitInterval,
           autoCommitSize, minCompactSize, maxZoneSize,
           minZoneFill, minTreeFill, maxRetries,
@@ -774,7 +979,8 @@ final class StoreSettingsForm extends Form<StoreSettings> {
           zoneOpenTimeout, zoneCloseTimeout,
           databaseOpenTimeout, databaseCloseTimeout,
           databaseCommitTimeout, databaseCompactTimeout,
-          pageLoadTimeout, treeLoadTimeout);
+          pageLoadTimeout, treeLoadTimeout, journalSize,
+          compactRate, compactParallelism, keyFilterBits, pageReadAhead);
     }
     return null;
   }
@@ -15,7 +15,10 @@
 package swim.db;
 
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.Lock;
 import swim.concurrent.Stage;
+import swim.structure.Item;
+import swim.structure.Record;
 import swim.structure.Value;
 
 public class Trunk<T extends Tree> extends TreeContext {
@@ -59,6 +62,49 @@ public class Trunk<T extends Tree> extends TreeContext {
   }
 
   public boolean updateTree(T oldTree, T newTree, long newVersion) {
+    return updateTree(oldTree, newTree, newVersion, null);
+  }
+
+  /**
+   * Swaps {@code oldTree} for {@code newTree}, and appends each of the
+   * {@code journalEntries} that describe the update to the store's journal.
+   * Entries are appended while holding this trunk's monitor, together with
+   * the swap, so that the journal replays updates to a tree in the order in
+   * which they were applied.
+   */
+  public boolean updateTree(T oldTree, T newTree, long newVersion, Record journalEntries) {
+    final Database database = this.database;
+    final Journal journal = database.store.journal();
+    if (journal == null) {
+      return updateTrunk(oldTree, newTree, newVersion);
+    }
+    // Keep commits from snapshotting the trunk between the version check
+    // and the swap, which would journal the update under the wrong version.
+    final Lock updateLock = database.commitLock.readLock();
+    updateLock.lock();
+    try {
+      if (journalEntries == null) {
+        return updateTrunk(oldTree, newTree, newVersion);
+      }
+      synchronized (this) {
+        if (updateTrunk(oldTree, newTree, newVersion)) {
+          for (Item journalEntry : journalEntries) {
+            journal.append(journalEntry.toValue());
+          }
+          return true;
+        }
+        return false;
+      }
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  boolean isJournaled(Tree tree) {
+    return this.database.store.journal() != null && !tree.isTransient();
+  }
+
+  boolean updateTrunk(T oldTree, T newTree, long newVersion) {
     if (this.database.version == newVersion && TREE.compareAndSet(this, oldTree, newTree)) {
       this.database.databaseDidUpdateTrunk(this, newTree, oldTree, newVersion);
       return this.database.version == newVersion; // Re-check version after CAS.
@@ -212,6 +258,11 @@ public class Trunk<T extends Tree> extends TreeContext {
     }
   }
 
+  @Override
+  public void streeDidMove(STree newTree, STree oldTree, long fromIndex, long toIndex, Value key, Value value) {
+    // nop
+  }
+
   @Override
   public void streeDidDrop(STree newTree, STree oldTree, long lower) {
     final TreeDelegate treeDelegate = this.treeDelegate;
@@ -16,6 +16,7 @@ package swim.db;
 
 import swim.concurrent.Cont;
 import swim.concurrent.Conts;
+import swim.structure.Record;
 import swim.structure.Value;
 
 public class UTreeValue {
@@ -121,7 +122,8 @@ public class UTreeValue {
         final UTree oldTree = tree();
         final UTree newTree = oldTree.updated(newValue, newVersion, newPost);
         if (oldTree != newTree) {
-          if (this.trunk.updateTree(oldTree, newTree, newVersion)) {
+          final Record journalEntries = Journal.utreeUpdateEntries(this.trunk, newTree, newValue);
+          if (this.trunk.updateTree(oldTree, newTree, newVersion, journalEntries)) {
             final Value oldValue = oldTree.get();
             final TreeContext treeContext = newTree.treeContext();
             treeContext.utreeDidUpdate(newTree, oldTree, newValue, oldValue);
@@ -21,6 +21,8 @@ import java.nio.file.StandardOpenOption;
 import java.util.Map;
 import org.testng.annotations.Test;
 import swim.structure.Form;
+import swim.structure.Text;
+import static org.testng.Assert.assertEquals;
 
 public class DatabaseSpec {
 
@@ -109,4 +111,37 @@ public class DatabaseSpec {
     testFile.delete();
   }
 
+  @Test
+  public void testReopenClosedTrunkWithUncommittedChanges() throws IOException {
+    final Database database = new Database(new TestStore());
+    Map<String, Integer> map = database.openBTreeMap("test")
+        .keyForm(Form.forString())
+        .valueForm(Form.forInteger());
+
+    final int zone = 1;
+    testOutputDir.mkdirs();
+    final File testFile = new File(testOutputDir, "reopen-1.swimdb");
+    final FileChannel channel = FileChannel.open(testFile.toPath(),
+        StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    channel.position(2 * Germ.BLOCK_SIZE);
+
+    map.put("a", 1);
+    database.commitChunk(Commit.forced(), zone, channel.position()).write(channel);
+
+    map.put("a", 2);
+    database.closeTrunk(Text.from("test"));
+    map = database.openBTreeMap("test")
+        .keyForm(Form.forString())
+        .valueForm(Form.forInteger());
+    assertEquals(map.get("a"), Integer.valueOf(2));
+
+    map.put("b", 3);
+    final Chunk chunk = database.commitChunk(Commit.forced(), zone, channel.position());
+    assertEquals(chunk.trees().size(), 1);
+    chunk.write(channel);
+
+    channel.close();
+    testFile.delete();
+  }
+
 }
@@ -15,11 +15,19 @@
 package swim.db;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
 import org.testng.annotations.Test;
+import swim.collections.FingerTrieSeq;
+import swim.concurrent.Cont;
 import swim.concurrent.Theater;
 import swim.math.PointR2;
 import swim.math.R2Shape;
@@ -27,10 +35,17 @@ import swim.spatial.GeoProjection;
 import swim.spatial.SpatialMap;
 import swim.structure.Data;
 import swim.structure.Form;
+import swim.structure.Num;
+import swim.structure.Slot;
 import swim.structure.Text;
 import swim.structure.Value;
+import swim.util.Cursor;
+import swim.util.OrderedMapCursor;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 public class FileStoreSpec {
 
@@ -466,6 +481,539 @@ public class FileStoreSpec {
     }
   }
 
+  @Test
+  public void testIncrementalCompact() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "incremental-compact.swimdb");
+    final Theater stage = new Theater();
+    final StoreContext storeContext = new StoreContext(storeSettings.compactRate(64 * 1024).compactParallelism(4)) {
+      @Override
+      public void treeDidChange(Store store, Database database, Tree newTree, Tree oldTree) {
+        // Override auto commit behavior.
+      }
+
+      @Override
+      public void databaseDidCommit(Store store, Database database, Chunk chunk) {
+        // Override auto compact behavior.
+      }
+    };
+    final FileStore store = new FileStore(storeContext, storePath, stage);
+    try {
+      stage.start();
+      store.open();
+      final Database database = store.openDatabase();
+      for (int i = 0; i < 16; i += 1) {
+        final Map<String, Long> map = database.openBTreeMap("tree" + i)
+            .keyForm(Form.forString())
+            .valueForm(Form.forLong());
+        for (int j = 0; j < 100; j += 1) {
+          map.put("k" + j, (long) (i * j));
+        }
+        database.commit(Commit.forced().isShifted(true)); // Spread trees across zones.
+      }
+
+      database.compact(Compact.forced(0));
+      assertEquals(store.zoneFiles().size(), 1);
+      assertEquals(store.compactProgress(), 1.0);
+      assertTrue(store.compactEvacuatedSize() > 0L);
+      assertTrue(store.compactReclaimedSize() > 0L);
+
+      for (int i = 0; i < 16; i += 1) {
+        final Map<String, Long> map = database.openBTreeMap("tree" + i)
+            .keyForm(Form.forString())
+            .valueForm(Form.forLong());
+        assertEquals(map.size(), 100);
+        assertEquals(map.get("k99"), Long.valueOf(i * 99));
+      }
+
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testIncrementalCompactMultiLevelTrees() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "incremental-compact-multi-level.swimdb");
+    final Theater stage = new Theater();
+    final StoreContext storeContext = new StoreContext(storeSettings.compactRate(64 * 1024).compactParallelism(4)) {
+      @Override
+      public boolean pageShouldSplit(Store store, Database database, Page page) {
+        return page.arity() > 4;
+      }
+
+      @Override
+      public void treeDidChange(Store store, Database database, Tree newTree, Tree oldTree) {
+        // Override auto commit behavior.
+      }
+
+      @Override
+      public void databaseDidCommit(Store store, Database database, Chunk chunk) {
+        // Override auto compact behavior.
+      }
+    };
+    FileStore store = new FileStore(storeContext, storePath, stage);
+    try {
+      stage.start();
+      store.open();
+      Database database = store.openDatabase();
+      for (int i = 0; i < 16; i += 1) {
+        final Map<String, Long> map = database.openBTreeMap("tree" + i)
+            .keyForm(Form.forString())
+            .valueForm(Form.forLong());
+        for (int j = 0; j < 100; j += 1) {
+          map.put("k" + j, (long) (i * j));
+        }
+        database.commit(Commit.forced().isShifted(true)); // Spread trees across zones.
+      }
+      store.close();
+
+      // Reopen the store so that evacuation has to load pages from disk.
+      store = new FileStore(storeContext, storePath, stage);
+      store.open();
+      database = store.openDatabase();
+      database.compact(Compact.forced(0));
+      assertEquals(store.zoneFiles().size(), 1);
+      store.close();
+
+      store = new FileStore(storeContext, storePath, stage);
+      store.open();
+      database = store.openDatabase();
+      for (int i = 0; i < 16; i += 1) {
+        final Map<String, Long> map = database.openBTreeMap("tree" + i)
+            .keyForm(Form.forString())
+            .valueForm(Form.forLong());
+        assertEquals(map.size(), 100);
+        for (int j = 0; j < 100; j += 1) {
+          assertEquals(map.get("k" + j), Long.valueOf(i * j));
+        }
+      }
+
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testKeyFilters() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "key-filters.swimdb");
+    final StoreContext storeContext = new StoreContext(storeSettings.keyFilterBits(10)) {
+      @Override
+      public boolean pageShouldSplit(Store store, Database database, Page page) {
+        return page.arity() > 32;
+      }
+
+      @Override
+      public void databaseDidCommit(Store store, Database database, Chunk chunk) {
+        // Override auto compact behavior.
+      }
+    };
+    final Theater stage0 = new Theater();
+    final FileStore store0 = new FileStore(storeContext, storePath, stage0);
+    try {
+      stage0.start();
+      store0.open();
+      final Database database = store0.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("test")
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      for (int i = 0; i < 1000; i += 2) {
+        map.put("k" + i, i);
+      }
+      database.commit(Commit.forced());
+      store0.close();
+    } finally {
+      stage0.stop();
+    }
+
+    final Theater stage1 = new Theater();
+    final FileStore store1 = new FileStore(storeContext, storePath, stage1);
+    try {
+      stage1.start();
+      store1.open();
+      final Database database = store1.openDatabase();
+      final BTreeMap map = database.openBTreeMap("test");
+      final BTreeNode root = (BTreeNode) map.trunk().tree.rootRef().page();
+      for (BTreePageRef childRef : root.childRefs) {
+        assertNotNull(childRef.filter());
+        assertNotNull(childRef.minKey());
+        assertNotNull(childRef.maxKey());
+      }
+
+      int falsePositives = 0;
+      for (int i = 1; i < 1000; i += 2) {
+        final Value key = Text.from("k" + i);
+        for (BTreePageRef childRef : root.childRefs) {
+          if (childRef.mayContainKey(key)) {
+            falsePositives += 1;
+          }
+        }
+      }
+      assertTrue(falsePositives < 25, "false positives: " + falsePositives);
+
+      for (int i = 1; i < 1000; i += 2) {
+        assertFalse(map.containsKey(Text.from("k" + i)));
+      }
+
+      for (int i = 0; i < 1000; i += 2) {
+        assertEquals(map.get(Text.from("k" + i)), Num.from(i));
+      }
+
+      store1.close();
+      store1.delete();
+    } finally {
+      stage1.stop();
+    }
+  }
+
+  @Test
+  public void testReadAhead() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "read-ahead.swimdb");
+    final StoreContext storeContext = new StoreContext(storeSettings.pageReadAhead(4)) {
+      @Override
+      public boolean pageShouldSplit(Store store, Database database, Page page) {
+        return page.arity() > 32;
+      }
+
+      @Override
+      public void databaseDidCommit(Store store, Database database, Chunk chunk) {
+        // Override auto compact behavior.
+      }
+    };
+    final Theater stage0 = new Theater();
+    final FileStore store0 = new FileStore(storeContext, storePath, stage0);
+    try {
+      stage0.start();
+      store0.open();
+      final Database database = store0.openDatabase();
+      final Map<Integer, Integer> map = database.openBTreeMap("map")
+          .keyForm(Form.forInteger())
+          .valueForm(Form.forInteger());
+      final List<Integer> list = database.openSTreeList("list")
+          .valueForm(Form.forInteger());
+      for (int i = 0; i < 1000; i += 1) {
+        map.put(i, i);
+        list.add(i);
+      }
+      database.commit(Commit.forced());
+      store0.close();
+    } finally {
+      stage0.stop();
+    }
+
+    final Theater stage1 = new Theater();
+    final FileStore store1 = new FileStore(storeContext, storePath, stage1);
+    try {
+      stage1.start();
+      store1.open();
+      final Database database = store1.openDatabase();
+      final BTree btree = database.openBTreeMap("map").trunk().tree;
+      BTreeNode node = (BTreeNode) btree.rootRef().page();
+      while (node.childRefs[0].page() instanceof BTreeNode) {
+        node = (BTreeNode) node.childRefs[0].page();
+      }
+      final BTreePageRef[] childRefs = node.childRefs;
+      assertTrue(childRefs.length > 5);
+      assertEquals(childRefs[1].softPage(), null);
+
+      final OrderedMapCursor<Value, Value> cursor = btree.cursor();
+      assertEquals(cursor.next().getKey(), Num.from(0));
+      final long deadline = System.currentTimeMillis() + 5000L;
+      while (childRefs[4].softPage() == null && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10L);
+      }
+      for (int i = 1; i <= 4; i += 1) {
+        assertNotNull(childRefs[i].softPage());
+      }
+      assertEquals(childRefs[5].softPage(), null);
+      for (int i = 1; i < 1000; i += 1) {
+        assertEquals(cursor.next().getKey(), Num.from(i));
+      }
+      assertFalse(cursor.hasNext());
+
+      final STree stree = database.openSTreeList("list").trunk().tree;
+      final Cursor<Slot> listCursor = stree.cursor();
+      for (int i = 0; i < 1000; i += 1) {
+        assertEquals(listCursor.next().value(), Num.from(i));
+      }
+      assertFalse(listCursor.hasNext());
+
+      store1.close();
+      store1.delete();
+    } finally {
+      stage1.stop();
+    }
+  }
+
+  @Test
+  public void testJournalReplay() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "journal-replay.swimdb");
+    final StoreContext storeContext = new StoreContext(storeSettings.journalSize(1024 * 1024)) {
+      @Override
+      public void treeDidChange(Store store, Database database, Tree newTree, Tree oldTree) {
+        // Override auto commit and checkpoint behavior.
+      }
+
+      @Override
+      public void databaseDidCommit(Store store, Database database, Chunk chunk) {
+        // Override auto compact behavior.
+      }
+    };
+    final Theater stage0 = new Theater();
+    final FileStore store0 = new FileStore(storeContext, storePath, stage0);
+    try {
+      stage0.start();
+      store0.open();
+      final Database database = store0.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("map").load()
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      final UTreeValue value = database.openUTreeValue("value");
+      final List<String> list = database.openSTreeList("list").load()
+          .valueForm(Form.forString());
+
+      map.put("a", 1);
+      map.put("b", 2);
+      value.set(Text.from("checkpointed"));
+      list.add("x");
+      database.commit(Commit.forced());
+
+      map.put("c", 3);
+      map.remove("a");
+      value.set(Text.from("journaled"));
+      list.add("y");
+      list.add(0, "w");
+      store0.journal().sync();
+    } finally {
+      stage0.stop(); // Crash without committing journaled updates.
+    }
+
+    final Theater stage1 = new Theater();
+    final FileStore store1 = new FileStore(storeContext, storePath, stage1);
+    try {
+      stage1.start();
+      store1.open();
+      final Database database = store1.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("map").load()
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      final UTreeValue value = database.openUTreeValue("value");
+      final List<String> list = database.openSTreeList("list").load()
+          .valueForm(Form.forString());
+
+      assertEquals(map.size(), 2);
+      assertFalse(map.containsKey("a"));
+      assertEquals(map.get("b"), Integer.valueOf(2));
+      assertEquals(map.get("c"), Integer.valueOf(3));
+      assertEquals(value.get(), Text.from("journaled"));
+      assertEquals(list.size(), 3);
+      assertEquals(list.get(0), "w");
+      assertEquals(list.get(1), "x");
+      assertEquals(list.get(2), "y");
+
+      store1.close();
+      store1.delete();
+    } finally {
+      stage1.stop();
+    }
+  }
+
+  @Test
+  public void testJournalReplayConcurrentSameKeyWriters() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "journal-replay-same-key.swimdb");
+    final StoreContext storeContext = new StoreContext(storeSettings.journalSize(4 * 1024 * 1024)) {
+      @Override
+      public void treeDidChange(Store store, Database database, Tree newTree, Tree oldTree) {
+        // Override auto commit and checkpoint behavior.
+      }
+
+      @Override
+      public void databaseDidCommit(Store store, Database database, Chunk chunk) {
+        // Override auto compact behavior.
+      }
+    };
+    final int writerCount = 4;
+    final int roundCount = 1000;
+    final int writeCount = 4;
+    final Map<String, Integer> expectedMap;
+    final Value expectedValue;
+    final Theater stage0 = new Theater();
+    final FileStore store0 = new FileStore(storeContext, storePath, stage0);
+    try {
+      stage0.start();
+      store0.open();
+      final Database database = store0.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("map").load()
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      final UTreeValue value = database.openUTreeValue("value");
+      final CyclicBarrier barrier = new CyclicBarrier(writerCount);
+      final Thread[] writers = new Thread[writerCount];
+      for (int w = 0; w < writerCount; w += 1) {
+        final int writerId = w;
+        writers[w] = new Thread() {
+          @Override
+          public void run() {
+            try {
+              // Race all writers on a fresh key each round, so that every
+              // round ends with a contended last write.
+              for (int r = 0; r < roundCount; r += 1) {
+                barrier.await();
+                final String key = "k" + r;
+                for (int i = 0; i < writeCount; i += 1) {
+                  if (r % 5 == 0 && i == writeCount - 1) {
+                    map.remove(key);
+                  } else {
+                    map.put(key, writerId * writeCount + i);
+                  }
+                  value.set(Num.from(r * writerCount + writerId));
+                }
+              }
+            } catch (InterruptedException | BrokenBarrierException cause) {
+              throw new AssertionError(cause);
+            }
+          }
+        };
+      }
+      for (Thread writer : writers) {
+        writer.start();
+      }
+      for (Thread writer : writers) {
+        writer.join();
+      }
+      expectedMap = new HashMap<String, Integer>(map);
+      expectedValue = value.get();
+      store0.journal().sync();
+    } finally {
+      stage0.stop(); // Crash without committing journaled updates.
+    }
+
+    final Theater stage1 = new Theater();
+    final FileStore store1 = new FileStore(storeContext, storePath, stage1);
+    try {
+      stage1.start();
+      store1.open();
+      final Database database = store1.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("map").load()
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+      final UTreeValue value = database.openUTreeValue("value");
+      // Replay must leave every key with the value written by the last
+      // update applied to it, not by the last update journaled.
+      assertEquals(new HashMap<String, Integer>(map), expectedMap);
+      assertEquals(value.get(), expectedValue);
+
+      store1.close();
+      store1.delete();
+    } finally {
+      stage1.stop();
+    }
+  }
+
+  @Test
+  public void testJournalReplayRacingCommits() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "journal-replay-racing-commits.swimdb");
+    final StoreContext storeContext = new StoreContext(storeSettings.journalSize(1024 * 1024)) {
+      @Override
+      public void treeDidChange(Store store, Database database, Tree newTree, Tree oldTree) {
+        // Override auto commit and checkpoint behavior.
+      }
+
+      @Override
+      public void databaseDidCommit(Store store, Database database, Chunk chunk) {
+        // Override auto compact behavior.
+      }
+    };
+    final int itemCount = 2000;
+    final Theater stage0 = new Theater();
+    final FileStore store0 = new FileStore(storeContext, storePath, stage0);
+    try {
+      stage0.start();
+      store0.open();
+      final Database database = store0.openDatabase();
+      final List<String> list = database.openSTreeList("list").load()
+          .valueForm(Form.forString());
+      final Thread writer = new Thread() {
+        @Override
+        public void run() {
+          for (int i = 0; i < itemCount; i += 1) {
+            list.add(0, "item" + i);
+          }
+        }
+      };
+      writer.start();
+      while (writer.isAlive()) {
+        // Commit without checkpointing, so replay must skip exactly the
+        // entries that made it into each chunk.
+        database.commit(new Commit(false, false, false));
+      }
+      writer.join();
+      database.sync();
+    } finally {
+      stage0.stop(); // Crash without checkpointing journaled updates.
+    }
+
+    final Theater stage1 = new Theater();
+    final FileStore store1 = new FileStore(storeContext, storePath, stage1);
+    try {
+      stage1.start();
+      store1.open();
+      final Database database = store1.openDatabase();
+      final List<String> list = database.openSTreeList("list").load()
+          .valueForm(Form.forString());
+      assertEquals(list.size(), itemCount);
+      for (int i = 0; i < itemCount; i += 1) {
+        assertEquals(list.get(i), "item" + (itemCount - 1 - i));
+      }
+
+      store1.close();
+      store1.delete();
+    } finally {
+      stage1.stop();
+    }
+  }
+
+  @Test
+  public void testJournalGroupCommit() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "journal-group-commit.swimdb");
+    final Theater stage = new Theater();
+    final StoreContext storeContext = new StoreContext(storeSettings.journalSize(1024 * 1024));
+    final FileStore store = new FileStore(storeContext, storePath, stage);
+    try {
+      stage.start();
+      store.open();
+      final Database database = store.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("test")
+          .keyForm(Form.forString())
+          .valueForm(Form.forInteger());
+
+      final CountDownLatch didSync = new CountDownLatch(100);
+      for (int i = 0; i < 100; i += 1) {
+        map.put("k" + i, i);
+        store.journal().syncAsync(store.journal().appendedLsn(), new Cont<Journal>() {
+          @Override
+          public void bind(Journal journal) {
+            didSync.countDown();
+          }
+
+          @Override
+          public void trap(Throwable error) {
+            // nop
+          }
+        });
+      }
+      didSync.await();
+      assertEquals(store.journal().syncedLsn(), store.journal().appendedLsn());
+
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
   @Test
   public void benchmarkLargeWrites() throws InterruptedException {
     final File storePath = new File(testOutputDir, "large-writes.swimdb");
@@ -667,4 +1215,48 @@ public class FileStoreSpec {
     }
   }
 
+  @Test
+  public void testJournalNeverSyncsPastFailedWrite() throws InterruptedException {
+    final File storePath = new File(testOutputDir, "journal.swimdb");
+    final Theater stage = new Theater();
+    final FileStore store = new FileStore(storePath, stage);
+    try {
+      stage.start();
+      final FileJournal journal = new FileJournal(store, store.directory(), "failing", "swimlog", stage) {
+        boolean failed;
+
+        @Override
+        void write(FileChannel channel, FingerTrieSeq<ByteBuffer> buffers) throws IOException {
+          if (!this.failed) {
+            this.failed = true;
+            throw new IOException("injected write failure");
+          }
+          super.write(channel, buffers);
+        }
+      };
+      journal.open();
+      try {
+        final long lsn0 = journal.append(Num.from(1));
+        assertSyncFails(journal, lsn0);
+        final long lsn1 = journal.append(Num.from(2));
+        assertSyncFails(journal, lsn1);
+        assertTrue(journal.syncedLsn() < lsn0);
+      } finally {
+        journal.close();
+        journal.delete();
+      }
+    } finally {
+      stage.stop();
+    }
+  }
+
+  static void assertSyncFails(FileJournal journal, long lsn) throws InterruptedException {
+    try {
+      journal.sync(lsn);
+      fail("expected journal sync to fail");
+    } catch (StoreException expected) {
+      // failed writes must not be reported durable
+    }
+  }
+
 }
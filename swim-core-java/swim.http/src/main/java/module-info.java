@@ -29,4 +29,5 @@ module swim.http {
 
   exports swim.http;
   exports swim.http.header;
+  exports swim.http.hpack;
 }
@@ -0,0 +1,167 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.http;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import swim.codec.Debug;
+import swim.codec.Encoder;
+import swim.codec.Format;
+import swim.codec.Output;
+import swim.codec.OutputBuffer;
+import swim.collections.FingerTrieSeq;
+import swim.http.header.ContentLength;
+import swim.http.header.ContentType;
+import swim.util.Murmur3;
+
+/**
+ * Fixed-length HTTP entity whose content is streamed from a file.  When the
+ * entity is written to a plaintext TCP socket, the file is transferred
+ * directly to the socket with {@link FileChannel#transferTo(long, long,
+ * java.nio.channels.WritableByteChannel)}, without copying it through the
+ * socket's write buffer.  Otherwise the file is read through the socket's
+ * output buffer.  The file channel is closed once the entity has been
+ * written, or has failed to be written; responders that abandon an entity
+ * before it is written must {@link #close() close} it.
+ */
+public final class HttpFile<T> extends HttpEntity<T> implements Debug {
+
+  private static int hashSeed;
+  final FileChannel channel;
+  final long length;
+  final MediaType mediaType;
+
+  HttpFile(FileChannel channel, long length, MediaType mediaType) {
+    this.channel = channel;
+    this.length = length;
+    this.mediaType = mediaType;
+  }
+
+  public static <T> HttpFile<T> from(FileChannel channel, long length, MediaType mediaType) {
+    return new HttpFile<T>(channel, length, mediaType);
+  }
+
+  public static <T> HttpFile<T> open(Path path, MediaType mediaType) throws IOException {
+    final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+    return new HttpFile<T>(channel, channel.size(), mediaType);
+  }
+
+  public static <T> HttpFile<T> open(String path, MediaType mediaType) throws IOException {
+    return open(Paths.get(path), mediaType);
+  }
+
+  public static <T> HttpFile<T> open(String path) throws IOException {
+    return open(Paths.get(path), MediaType.forPath(path));
+  }
+
+  @Override
+  public boolean isDefined() {
+    return false;
+  }
+
+  @Override
+  public T get() {
+    return null;
+  }
+
+  public FileChannel channel() {
+    return this.channel;
+  }
+
+  @Override
+  public long length() {
+    return this.length;
+  }
+
+  @Override
+  public MediaType mediaType() {
+    return this.mediaType;
+  }
+
+  @Override
+  public FingerTrieSeq<TransferCoding> transferCodings() {
+    return FingerTrieSeq.<TransferCoding>empty();
+  }
+
+  @Override
+  public FingerTrieSeq<HttpHeader> headers() {
+    FingerTrieSeq<HttpHeader> headers = FingerTrieSeq.empty();
+    if (this.mediaType != null) {
+      headers = headers.appended(ContentType.from(this.mediaType));
+    }
+    headers = headers.appended(ContentLength.from(this.length));
+    return headers;
+  }
+
+  /**
+   * Closes the file channel from which this entity streams its content.
+   * Closing an entity that has already been written, or closed, has no
+   * effect.
+   */
+  public void close() {
+    HttpFileEncoder.close(this.channel);
+  }
+
+  @Override
+  public <T2> Encoder<?, HttpMessage<T2>> httpEncoder(HttpMessage<T2> message, HttpWriter http) {
+    return http.fileEncoder(message, this.channel, this.length);
+  }
+
+  @Override
+  public <T2> Encoder<?, HttpMessage<T2>> encodeHttp(HttpMessage<T2> message,
+                                                     OutputBuffer<?> output, HttpWriter http) {
+    return http.encodeFile(message, this.channel, this.length, output);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (other instanceof HttpFile<?>) {
+      final HttpFile<?> that = (HttpFile<?>) other;
+      return this.channel.equals(that.channel) && this.length == that.length
+          && (this.mediaType == null ? that.mediaType == null : this.mediaType.equals(that.mediaType));
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    if (hashSeed == 0) {
+      hashSeed = Murmur3.seed(HttpFile.class);
+    }
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed,
+        this.channel.hashCode()), Murmur3.hash(this.length)), Murmur3.hash(this.mediaType)));
+  }
+
+  @Override
+  public void debug(Output<?> output) {
+    output = output.write("HttpFile").write('.').write("from").write('(')
+        .debug(this.channel).write(", ").debug(this.length);
+    if (this.mediaType != null) {
+      output = output.write(", ").debug(this.mediaType);
+    }
+    output = output.write(')');
+  }
+
+  @Override
+  public String toString() {
+    return Format.debug(this);
+  }
+
+}
@@ -0,0 +1,105 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.http;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+
+final class HttpFileEncoder<T> extends Encoder<Object, HttpMessage<T>> {
+
+  final HttpMessage<T> message;
+  final FileChannel channel;
+  final long length;
+  final long offset;
+
+  HttpFileEncoder(HttpMessage<T> message, FileChannel channel, long length, long offset) {
+    this.message = message;
+    this.channel = channel;
+    this.length = length;
+    this.offset = offset;
+  }
+
+  HttpFileEncoder(HttpMessage<T> message, FileChannel channel, long length) {
+    this(message, channel, length, 0L);
+  }
+
+  static <T> Encoder<Object, HttpMessage<T>> encode(OutputBuffer<?> output, HttpMessage<T> message,
+                                                    FileChannel channel, long length, long offset) {
+    try {
+      if (offset < length) {
+        // Try to hand the file region straight to the underlying socket.
+        final long count = output.transferFrom(channel, offset, length - offset);
+        if (count >= 0L) {
+          offset += count;
+        } else {
+          // Direct transfer unsupported; copy the file through the output buffer.
+          final int outputStart = output.index();
+          final int outputLimit = output.limit();
+          final long inputRemaining = length - offset;
+          if (inputRemaining < (long) (outputLimit - outputStart)) {
+            output = output.limit(outputStart + (int) inputRemaining);
+          }
+          final int k = output.write(channel);
+          output = output.limit(outputLimit);
+          offset += output.index() - outputStart;
+          if (k < 0 && offset < length) {
+            close(channel);
+            return error(new EncoderException("buffer underflow"));
+          }
+        }
+      }
+      if (offset >= length) {
+        close(channel);
+        return done(message);
+      }
+    } catch (IOException error) {
+      close(channel);
+      return error(error);
+    } catch (Throwable error) {
+      close(channel);
+      throw error;
+    }
+    if (output.isDone()) {
+      close(channel);
+      return error(new EncoderException("truncated"));
+    } else if (output.isError()) {
+      close(channel);
+      return error(output.trap());
+    }
+    return new HttpFileEncoder<T>(message, channel, length, offset);
+  }
+
+  static <T> Encoder<Object, HttpMessage<T>> encode(OutputBuffer<?> output, HttpMessage<T> message,
+                                                    FileChannel channel, long length) {
+    return encode(output, message, channel, length, 0L);
+  }
+
+  static void close(FileChannel channel) {
+    try {
+      channel.close();
+    } catch (IOException swallow) {
+      // swallow
+    }
+  }
+
+  @Override
+  public Encoder<Object, HttpMessage<T>> pull(OutputBuffer<?> output) {
+    return encode(output, this.message, this.channel, this.length, this.offset);
+  }
+
+}
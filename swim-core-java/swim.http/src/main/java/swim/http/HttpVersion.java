@@ -24,6 +24,7 @@ public final class HttpVersion extends HttpPart implements Debug {
 
   public static final HttpVersion HTTP_1_1 = new HttpVersion(1, 1);
   public static final HttpVersion HTTP_1_0 = new HttpVersion(1, 0);
+  public static final HttpVersion HTTP_2_0 = new HttpVersion(2, 0);
   private static int hashSeed;
   final int major;
   final int minor;
@@ -38,6 +39,8 @@ public final class HttpVersion extends HttpPart implements Debug {
       return HTTP_1_1;
     } else if (major == 1 && minor == 0) {
       return HTTP_1_0;
+    } else if (major == 2 && minor == 0) {
+      return HTTP_2_0;
     } else if (major >= 0 && minor >= 0) {
       return new HttpVersion(major, minor);
     } else {
@@ -89,7 +92,7 @@ public final class HttpVersion extends HttpPart implements Debug {
   @Override
   public void debug(Output<?> output) {
     output = output.write("HttpVersion").write('.');
-    if (this.major == 1 && (this.minor == 1 || this.minor == 0)) {
+    if (this.major == 1 && (this.minor == 1 || this.minor == 0) || this.major == 2 && this.minor == 0) {
       output = output.write("HTTP").write('_').debug(this.major).write('_').debug(this.minor);
     } else {
       output = output.write("from").write('(').debug(this.major).write(", ").debug(this.minor).write(')');
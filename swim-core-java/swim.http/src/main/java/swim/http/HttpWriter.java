@@ -14,6 +14,7 @@
 
 package swim.http;
 
+import java.nio.channels.FileChannel;
 import java.util.Iterator;
 import java.util.Map;
 import swim.codec.Encoder;
@@ -263,6 +264,17 @@ public class HttpWriter {
     return HttpBodyEncoder.encode(output, message, content, length);
   }
 
+  public <T2> Encoder<?, HttpMessage<T2>> fileEncoder(HttpMessage<T2> message,
+                                                      FileChannel channel, long length) {
+    return new HttpFileEncoder<T2>(message, channel, length);
+  }
+
+  public <T2> Encoder<?, HttpMessage<T2>> encodeFile(HttpMessage<T2> message,
+                                                     FileChannel channel, long length,
+                                                     OutputBuffer<?> output) {
+    return HttpFileEncoder.encode(output, message, channel, length);
+  }
+
   public <T2> Encoder<?, HttpMessage<T2>> chunkedEncoder(HttpMessage<T2> message, Encoder<?, ?> content) {
     return new HttpChunkedEncoder<T2>(message, content);
   }
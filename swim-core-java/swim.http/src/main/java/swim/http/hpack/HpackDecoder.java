@@ -0,0 +1,169 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.http.hpack;
+
+import swim.collections.FingerTrieSeq;
+import swim.http.HttpException;
+import swim.http.HttpHeader;
+import swim.http.header.RawHeader;
+
+/**
+ * Stateful HPACK header block decoder. Each HTTP/2 connection owns one
+ * decoder, which must see every header block in the order received, since
+ * the blocks update a shared dynamic table.
+ */
+public class HpackDecoder {
+
+  final HpackTable table;
+  final int maxTableSize;
+
+  public HpackDecoder(int maxTableSize) {
+    this.table = new HpackTable(maxTableSize);
+    this.maxTableSize = maxTableSize;
+  }
+
+  public HpackDecoder() {
+    this(4096);
+  }
+
+  /**
+   * Decodes a complete header block into a sequence of header fields, with
+   * lower case names. Pseudo-header fields, like {@code :path}, retain their
+   * leading colon.
+   */
+  public FingerTrieSeq<HttpHeader> decodeBlock(byte[] block, int offset, int length) {
+    final HpackDecoderInput input = new HpackDecoderInput(block, offset, offset + length);
+    FingerTrieSeq<HttpHeader> headers = FingerTrieSeq.empty();
+    boolean headerSeen = false;
+    while (input.index < input.limit) {
+      final int b = input.peek();
+      if ((b & 0x80) != 0) {
+        // Indexed header field
+        final int index = input.readInt(7);
+        if (index == 0) {
+          throw new HttpException("invalid hpack index: 0");
+        }
+        headers = headers.appended(header(this.table.name(index), this.table.value(index)));
+        headerSeen = true;
+      } else if ((b & 0x40) != 0) {
+        // Literal header field with incremental indexing
+        final String name = readName(input, 6);
+        final String value = input.readString();
+        this.table.add(name, value);
+        headers = headers.appended(header(name, value));
+        headerSeen = true;
+      } else if ((b & 0x20) != 0) {
+        // Dynamic table size update
+        if (headerSeen) {
+          throw new HttpException("hpack table size update after header field");
+        }
+        final int maxSize = input.readInt(5);
+        if (maxSize > this.maxTableSize) {
+          throw new HttpException("hpack table size exceeds limit: " + maxSize);
+        }
+        this.table.resize(maxSize);
+      } else {
+        // Literal header field without indexing, or never indexed
+        final String name = readName(input, 4);
+        final String value = input.readString();
+        headers = headers.appended(header(name, value));
+        headerSeen = true;
+      }
+    }
+    return headers;
+  }
+
+  public FingerTrieSeq<HttpHeader> decodeBlock(byte[] block) {
+    return decodeBlock(block, 0, block.length);
+  }
+
+  String readName(HpackDecoderInput input, int prefixBits) {
+    final int index = input.readInt(prefixBits);
+    if (index != 0) {
+      return this.table.name(index);
+    } else {
+      return input.readString();
+    }
+  }
+
+  static HttpHeader header(String name, String value) {
+    return RawHeader.from(name, name, value);
+  }
+
+}
+
+final class HpackDecoderInput {
+
+  final byte[] array;
+  final int limit;
+  int index;
+
+  HpackDecoderInput(byte[] array, int index, int limit) {
+    this.array = array;
+    this.index = index;
+    this.limit = limit;
+  }
+
+  int peek() {
+    if (this.index >= this.limit) {
+      throw new HttpException("truncated hpack block");
+    }
+    return this.array[this.index] & 0xff;
+  }
+
+  int read() {
+    final int b = peek();
+    this.index += 1;
+    return b;
+  }
+
+  int readInt(int prefixBits) {
+    final int prefixMax = (1 << prefixBits) - 1;
+    int value = read() & prefixMax;
+    if (value < prefixMax) {
+      return value;
+    }
+    int shift = 0;
+    int b;
+    do {
+      b = read();
+      if (shift > 21) {
+        throw new HttpException("hpack integer overflow");
+      }
+      value += (b & 0x7f) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+
+  String readString() {
+    final boolean huffman = (peek() & 0x80) != 0;
+    final int length = readInt(7);
+    if (length > this.limit - this.index) {
+      throw new HttpException("truncated hpack string");
+    }
+    final StringBuilder builder = new StringBuilder(length);
+    if (huffman) {
+      HpackHuffman.decode(this.array, this.index, length, builder);
+    } else {
+      for (int i = this.index, n = this.index + length; i < n; i += 1) {
+        builder.append((char) (this.array[i] & 0xff));
+      }
+    }
+    this.index += length;
+    return builder.toString();
+  }
+
+}
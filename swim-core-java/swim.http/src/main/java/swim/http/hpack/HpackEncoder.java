@@ -0,0 +1,82 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.http.hpack;
+
+import swim.codec.Output;
+
+/**
+ * Stateless HPACK header block encoder. Fields matching a static table
+ * entry are emitted as indexes; all other fields are emitted as literals
+ * without indexing, so that encoding never mutates the peer's dynamic
+ * table and header blocks may be encoded concurrently, in any order.
+ */
+public class HpackEncoder {
+
+  public HpackEncoder() {
+    // nop
+  }
+
+  /**
+   * Writes the HPACK representation of the header field with the given
+   * lower case {@code name} and {@code value} to the {@code output}.
+   */
+  public void encodeHeader(Output<?> output, String name, String value) {
+    final int index = HpackTable.staticIndex(name, value);
+    if (index != 0) {
+      // Indexed header field
+      writeInt(output, 0x80, 7, index);
+    } else {
+      // Literal header field without indexing
+      final int nameIndex = HpackTable.staticNameIndex(name);
+      if (nameIndex != 0) {
+        writeInt(output, 0x00, 4, nameIndex);
+      } else {
+        output.write(0x00);
+        writeString(output, name);
+      }
+      writeString(output, value);
+    }
+  }
+
+  static void writeInt(Output<?> output, int flags, int prefixBits, int value) {
+    final int prefixMax = (1 << prefixBits) - 1;
+    if (value < prefixMax) {
+      output.write(flags | value);
+    } else {
+      output.write(flags | prefixMax);
+      value -= prefixMax;
+      while (value >= 0x80) {
+        output.write((value & 0x7f) | 0x80);
+        value >>>= 7;
+      }
+      output.write(value);
+    }
+  }
+
+  static void writeString(Output<?> output, String string) {
+    final int length = string.length();
+    final int huffmanLength = HpackHuffman.encodedLength(string);
+    if (huffmanLength < length) {
+      writeInt(output, 0x80, 7, huffmanLength);
+      HpackHuffman.encode(output, string);
+    } else {
+      writeInt(output, 0x00, 7, length);
+      for (int i = 0; i < length; i += 1) {
+        output.write(string.charAt(i) & 0xff);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,271 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.http.hpack;
+
+import swim.http.HttpException;
+
+/**
+ * HPACK indexing table, combining the static table of RFC 7541 Appendix A
+ * with a size-bounded dynamic table of recently indexed header fields.
+ */
+final class HpackTable {
+
+  String[] names;
+  String[] values;
+  int head;
+  int count;
+  int size;
+  int maxSize;
+
+  HpackTable(int maxSize) {
+    this.names = new String[16];
+    this.values = new String[16];
+    this.head = 0;
+    this.count = 0;
+    this.size = 0;
+    this.maxSize = maxSize;
+  }
+
+  String name(int index) {
+    if (index > 0 && index <= STATIC_COUNT) {
+      return STATIC_NAMES[index - 1];
+    } else {
+      return this.names[slot(index)];
+    }
+  }
+
+  String value(int index) {
+    if (index > 0 && index <= STATIC_COUNT) {
+      return STATIC_VALUES[index - 1];
+    } else {
+      return this.values[slot(index)];
+    }
+  }
+
+  int slot(int index) {
+    final int offset = index - STATIC_COUNT - 1;
+    if (offset < 0 || offset >= this.count) {
+      throw new HttpException("invalid hpack index: " + index);
+    }
+    // The most recently inserted entry has the lowest dynamic index.
+    final int capacity = this.names.length;
+    return (this.head - 1 - offset + capacity) & (capacity - 1);
+  }
+
+  void add(String name, String value) {
+    final int entrySize = entrySize(name, value);
+    while (this.count > 0 && this.size + entrySize > this.maxSize) {
+      evict();
+    }
+    if (entrySize > this.maxSize) {
+      // Entries larger than the table empty it without being inserted.
+      return;
+    }
+    if (this.count == this.names.length) {
+      grow();
+    }
+    final int capacity = this.names.length;
+    this.names[this.head] = name;
+    this.values[this.head] = value;
+    this.head = (this.head + 1) & (capacity - 1);
+    this.count += 1;
+    this.size += entrySize;
+  }
+
+  void resize(int maxSize) {
+    this.maxSize = maxSize;
+    while (this.count > 0 && this.size > maxSize) {
+      evict();
+    }
+  }
+
+  void evict() {
+    final int capacity = this.names.length;
+    final int tail = (this.head - this.count + capacity) & (capacity - 1);
+    this.size -= entrySize(this.names[tail], this.values[tail]);
+    this.names[tail] = null;
+    this.values[tail] = null;
+    this.count -= 1;
+  }
+
+  void grow() {
+    final int oldCapacity = this.names.length;
+    final int newCapacity = oldCapacity << 1;
+    final String[] newNames = new String[newCapacity];
+    final String[] newValues = new String[newCapacity];
+    final int tail = (this.head - this.count + oldCapacity) & (oldCapacity - 1);
+    for (int i = 0; i < this.count; i += 1) {
+      final int slot = (tail + i) & (oldCapacity - 1);
+      newNames[i] = this.names[slot];
+      newValues[i] = this.values[slot];
+    }
+    this.names = newNames;
+    this.values = newValues;
+    this.head = this.count;
+  }
+
+  static int entrySize(String name, String value) {
+    return name.length() + value.length() + 32;
+  }
+
+  static int staticIndex(String name, String value) {
+    for (int i = 0; i < STATIC_COUNT; i += 1) {
+      if (STATIC_NAMES[i].equals(name) && STATIC_VALUES[i].equals(value)) {
+        return i + 1;
+      }
+    }
+    return 0;
+  }
+
+  static int staticNameIndex(String name) {
+    for (int i = 0; i < STATIC_COUNT; i += 1) {
+      if (STATIC_NAMES[i].equals(name)) {
+        return i + 1;
+      }
+    }
+    return 0;
+  }
+
+  static final String[] STATIC_NAMES = {
+      ":authority",
+      ":method",
+      ":method",
+      ":path",
+      ":path",
+      ":scheme",
+      ":scheme",
+      ":status",
+      ":status",
+      ":status",
+      ":status",
+      ":status",
+      ":status",
+      ":status",
+      "accept-charset",
+      "accept-encoding",
+      "accept-language",
+      "accept-ranges",
+      "accept",
+      "access-control-allow-origin",
+      "age",
+      "allow",
+      "authorization",
+      "cache-control",
+      "content-disposition",
+      "content-encoding",
+      "content-language",
+      "content-length",
+      "content-location",
+      "content-range",
+      "content-type",
+      "cookie",
+      "date",
+      "etag",
+      "expect",
+      "expires",
+      "from",
+      "host",
+      "if-match",
+      "if-modified-since",
+      "if-none-match",
+      "if-range",
+      "if-unmodified-since",
+      "last-modified",
+      "link",
+      "location",
+      "max-forwards",
+      "proxy-authenticate",
+      "proxy-authorization",
+      "range",
+      "referer",
+      "refresh",
+      "retry-after",
+      "server",
+      "set-cookie",
+      "strict-transport-security",
+      "transfer-encoding",
+      "user-agent",
+      "vary",
+      "via",
+      "www-authenticate"
+  };
+
+  static final String[] STATIC_VALUES = {
+      "",
+      "GET",
+      "POST",
+      "/",
+      "/index.html",
+      "http",
+      "https",
+      "200",
+      "204",
+      "206",
+      "304",
+      "400",
+      "404",
+      "500",
+      "",
+      "gzip, deflate",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      "",
+      ""
+  };
+
+  static final int STATIC_COUNT = STATIC_NAMES.length;
+
+}
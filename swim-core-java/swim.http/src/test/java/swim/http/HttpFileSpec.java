@@ -0,0 +1,88 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.http;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class HttpFileSpec {
+
+  static final String HEADERS = "HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\nContent-Length: 10000\r\n\r\n";
+
+  static String content() {
+    final StringBuilder content = new StringBuilder();
+    for (int i = 0; i < 10000; i += 1) {
+      content.append((char) ('a' + i % 26));
+    }
+    return content.toString();
+  }
+
+  static String encodeFile(boolean transfer) throws IOException {
+    final Charset utf8 = Charset.forName("UTF-8");
+    final Path file = Files.createTempFile("swim-http-file", ".txt");
+    final Path sinkFile = Files.createTempFile("swim-http-sink", ".bin");
+    try {
+      Files.write(file, content().getBytes(utf8));
+      final FileChannel sink = FileChannel.open(sinkFile, StandardOpenOption.WRITE);
+      try {
+        final HttpResponse<Object> response = HttpResponse.from(HttpStatus.OK).content(HttpFile.open(file.toString()));
+        final ByteBuffer buffer = ByteBuffer.allocate(1024);
+        OutputBuffer<?> output = transfer ? Binary.outputBuffer(buffer, sink) : Binary.outputBuffer(buffer);
+        Encoder<?, ?> encoder = response.httpEncoder();
+        while (encoder.isCont()) {
+          ((Buffer) buffer).clear();
+          output = output.isPart(true);
+          encoder = encoder.pull(output);
+          ((Buffer) buffer).flip();
+          while (buffer.hasRemaining()) {
+            sink.write(buffer);
+          }
+        }
+        assertFalse(encoder.isError());
+        assertTrue(encoder.isDone());
+      } finally {
+        sink.close();
+      }
+      return new String(Files.readAllBytes(sinkFile), utf8);
+    } finally {
+      Files.deleteIfExists(file);
+      Files.deleteIfExists(sinkFile);
+    }
+  }
+
+  @Test
+  public void encodeFileThroughOutputBuffer() throws IOException {
+    assertEquals(encodeFile(false), HEADERS + content());
+  }
+
+  @Test
+  public void encodeFileByDirectTransfer() throws IOException {
+    assertEquals(encodeFile(true), HEADERS + content());
+  }
+
+}
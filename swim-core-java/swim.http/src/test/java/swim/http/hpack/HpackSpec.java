@@ -0,0 +1,130 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.http.hpack;
+
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Output;
+import swim.collections.FingerTrieSeq;
+import swim.http.HttpException;
+import swim.http.HttpHeader;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+public class HpackSpec {
+
+  static byte[] hex(String string) {
+    string = string.replace(" ", "");
+    final byte[] bytes = new byte[string.length() / 2];
+    for (int i = 0; i < bytes.length; i += 1) {
+      bytes[i] = (byte) Integer.parseInt(string.substring(2 * i, 2 * i + 2), 16);
+    }
+    return bytes;
+  }
+
+  static void assertHeaders(FingerTrieSeq<HttpHeader> headers, String... fields) {
+    assertEquals(headers.size(), fields.length / 2);
+    for (int i = 0; i < headers.size(); i += 1) {
+      assertEquals(headers.get(i).lowerCaseName(), fields[2 * i]);
+      assertEquals(headers.get(i).value(), fields[2 * i + 1]);
+    }
+  }
+
+  @Test
+  public void decodeRequestsWithoutHuffmanCoding() {
+    // RFC 7541 Appendix C.3
+    final HpackDecoder decoder = new HpackDecoder();
+    assertHeaders(decoder.decodeBlock(hex("8286 8441 0f77 7777 2e65 7861 6d70 6c65 2e63 6f6d")),
+                  ":method", "GET", ":scheme", "http", ":path", "/", ":authority", "www.example.com");
+    assertHeaders(decoder.decodeBlock(hex("8286 84be 5808 6e6f 2d63 6163 6865")),
+                  ":method", "GET", ":scheme", "http", ":path", "/", ":authority", "www.example.com",
+                  "cache-control", "no-cache");
+    assertHeaders(decoder.decodeBlock(hex("8287 85bf 400a 6375 7374 6f6d 2d6b 6579 0c63 7573 746f 6d2d 7661 6c75 65")),
+                  ":method", "GET", ":scheme", "https", ":path", "/index.html", ":authority", "www.example.com",
+                  "custom-key", "custom-value");
+  }
+
+  @Test
+  public void decodeRequestsWithHuffmanCoding() {
+    // RFC 7541 Appendix C.4
+    final HpackDecoder decoder = new HpackDecoder();
+    assertHeaders(decoder.decodeBlock(hex("8286 8441 8cf1 e3c2 e5f2 3a6b a0ab 90f4 ff")),
+                  ":method", "GET", ":scheme", "http", ":path", "/", ":authority", "www.example.com");
+    assertHeaders(decoder.decodeBlock(hex("8286 84be 5886 a8eb 1064 9cbf")),
+                  ":method", "GET", ":scheme", "http", ":path", "/", ":authority", "www.example.com",
+                  "cache-control", "no-cache");
+    assertHeaders(decoder.decodeBlock(hex("8287 85bf 4088 25a8 49e9 5ba9 7d7f 8925 a849 e95b b8e8 b4bf")),
+                  ":method", "GET", ":scheme", "https", ":path", "/index.html", ":authority", "www.example.com",
+                  "custom-key", "custom-value");
+  }
+
+  @Test
+  public void decodeResponsesWithEviction() {
+    // RFC 7541 Appendix C.5, with a 256 byte dynamic table
+    final HpackDecoder decoder = new HpackDecoder(256);
+    assertHeaders(decoder.decodeBlock(hex("4803 3330 3258 0770 7269 7661 7465 611d 4d6f 6e2c 2032 3120 4f63 7420 3230 3133"
+                                        + "2032 303a 3133 3a32 3120 474d 546e 1768 7474 7073 3a2f 2f77 7777 2e65 7861 6d70"
+                                        + "6c65 2e63 6f6d")),
+                  ":status", "302", "cache-control", "private", "date", "Mon, 21 Oct 2013 20:13:21 GMT",
+                  "location", "https://www.example.com");
+    assertHeaders(decoder.decodeBlock(hex("4803 3330 37c1 c0bf")),
+                  ":status", "307", "cache-control", "private", "date", "Mon, 21 Oct 2013 20:13:21 GMT",
+                  "location", "https://www.example.com");
+  }
+
+  @Test
+  public void encodeHeadersRoundTrip() {
+    final HpackEncoder encoder = new HpackEncoder();
+    final Output<byte[]> output = Binary.byteArrayOutput();
+    encoder.encodeHeader(output, ":status", "200");
+    encoder.encodeHeader(output, "content-type", "text/plain; charset=utf-8");
+    encoder.encodeHeader(output, "x-custom", "\u00e9t\u00e9");
+    encoder.encodeHeader(output, "content-length", "1234567");
+    final byte[] block = output.bind();
+    assertEquals(block[0] & 0xff, 0x88);
+    assertHeaders(new HpackDecoder().decodeBlock(block),
+                  ":status", "200", "content-type", "text/plain; charset=utf-8",
+                  "x-custom", "\u00e9t\u00e9", "content-length", "1234567");
+  }
+
+  @Test
+  public void rejectInvalidIndexes() {
+    try {
+      new HpackDecoder().decodeBlock(hex("be"));
+      fail();
+    } catch (HttpException expected) {
+      // expected
+    }
+  }
+
+  @Test
+  public void rejectTruncatedBlocks() {
+    // Literal header field with an indexed name, and no value.
+    try {
+      new HpackDecoder().decodeBlock(hex("41"));
+      fail();
+    } catch (HttpException expected) {
+      // expected
+    }
+    // Same block, followed by stale bytes past its end.
+    try {
+      new HpackDecoder().decodeBlock(hex("41 0366 6f6f"), 0, 1);
+      fail();
+    } catch (HttpException expected) {
+      // expected
+    }
+  }
+
+}
@@ -0,0 +1,30 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io.http;
+
+import swim.http.HttpException;
+
+final class Http2Exception extends HttpException {
+
+  private static final long serialVersionUID = 1L;
+
+  final int errorCode;
+
+  Http2Exception(int errorCode, String message) {
+    super(message);
+    this.errorCode = errorCode;
+  }
+
+}
@@ -0,0 +1,999 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io.http;
+
+import java.net.InetSocketAddress;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.security.Principal;
+import java.security.cert.Certificate;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import swim.codec.Binary;
+import swim.codec.InputBuffer;
+import swim.codec.Output;
+import swim.codec.OutputBuffer;
+import swim.collections.FingerTrieSeq;
+import swim.collections.HashTrieMap;
+import swim.concurrent.Conts;
+import swim.http.Http;
+import swim.http.HttpException;
+import swim.http.HttpHeader;
+import swim.http.HttpMethod;
+import swim.http.HttpRequest;
+import swim.http.HttpResponse;
+import swim.http.HttpVersion;
+import swim.http.header.RawHeader;
+import swim.http.hpack.HpackDecoder;
+import swim.http.hpack.HpackEncoder;
+import swim.io.FlowControl;
+import swim.io.FlowModifier;
+import swim.io.IpSocket;
+import swim.io.IpSocketContext;
+import swim.uri.Uri;
+
+/**
+ * HTTP/2 server connection that multiplexes concurrent request streams over
+ * a single socket, dispatching each stream to its own {@link HttpResponder}.
+ * Response bodies are pulled from their encoders one DATA frame at a time,
+ * in round-robin order across streams, and only as far as the peer's
+ * connection and stream flow control windows permit.
+ */
+final class Http2ServerSocket implements IpSocket, HttpServerContext {
+
+  @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<Http2ServerSocket, HashTrieMap<Integer, Http2ServerStream<?>>> STREAMS =
+      AtomicReferenceFieldUpdater.newUpdater(Http2ServerSocket.class, (Class<HashTrieMap<Integer, Http2ServerStream<?>>>) (Class<?>) HashTrieMap.class, "streams");
+  final HttpServer server;
+  final HttpSettings httpSettings;
+  final HpackDecoder decoder;
+  final HpackEncoder encoder;
+  final ConcurrentLinkedQueue<ByteBuffer> frameQueue;
+  final ConcurrentLinkedQueue<Http2ServerStream<?>> streamQueue;
+  volatile IpSocketContext context;
+  volatile HashTrieMap<Integer, Http2ServerStream<?>> streams;
+
+  // Read state, only accessed by the reading thread.
+  int prefaceIndex;
+  final byte[] frameHeader;
+  int frameHeaderIndex;
+  byte[] payload;
+  int payloadLength;
+  int payloadIndex;
+  int headerStreamId;
+  int headerFlags;
+  byte[] headerBlock;
+  int headerBlockLength;
+  int lastStreamId;
+
+  // Write state, only accessed by the writing thread.
+  ByteBuffer writing;
+  Http2ServerStream<?> writingStream;
+  boolean writingEnd;
+
+  // Send windows, guarded by this connection's monitor.
+  long sendWindow;
+  int initialSendWindow;
+
+  volatile int maxSendFrameSize;
+  volatile boolean closing;
+
+  Http2ServerSocket(HttpServer server, HttpSettings httpSettings) {
+    this.server = server;
+    this.httpSettings = httpSettings;
+    this.decoder = new HpackDecoder();
+    this.encoder = new HpackEncoder();
+    this.frameQueue = new ConcurrentLinkedQueue<ByteBuffer>();
+    this.streamQueue = new ConcurrentLinkedQueue<Http2ServerStream<?>>();
+    this.streams = HashTrieMap.empty();
+    this.frameHeader = new byte[9];
+    this.sendWindow = DEFAULT_WINDOW_SIZE;
+    this.initialSendWindow = DEFAULT_WINDOW_SIZE;
+    this.maxSendFrameSize = DEFAULT_MAX_FRAME_SIZE;
+  }
+
+  @Override
+  public IpSocketContext ipSocketContext() {
+    return this.context;
+  }
+
+  @Override
+  public void setIpSocketContext(IpSocketContext context) {
+    this.context = context;
+    this.server.setHttpServerContext(this);
+  }
+
+  @Override
+  public long idleTimeout() {
+    return this.server.idleTimeout();
+  }
+
+  @Override
+  public void doRead() {
+    final IpSocketContext context = this.context;
+    if (context == null) {
+      return;
+    }
+    InputBuffer input = context.inputBuffer();
+    try {
+      while (input.isCont() && !this.closing) {
+        if (this.prefaceIndex < PREFACE.length) {
+          if (input.head() != (PREFACE[this.prefaceIndex] & 0xff)) {
+            throw new Http2Exception(PROTOCOL_ERROR, "invalid connection preface");
+          }
+          input = input.step();
+          this.prefaceIndex += 1;
+        } else if (this.frameHeaderIndex < 9) {
+          this.frameHeader[this.frameHeaderIndex] = (byte) input.head();
+          input = input.step();
+          this.frameHeaderIndex += 1;
+          if (this.frameHeaderIndex == 9) {
+            willReadFrame();
+          }
+        } else {
+          final int count = Math.min(input.remaining(), this.payloadLength - this.payloadIndex);
+          final int index = input.index();
+          for (int i = 0; i < count; i += 1) {
+            this.payload[this.payloadIndex + i] = (byte) input.get(index + i);
+          }
+          input = input.index(index + count);
+          this.payloadIndex += count;
+        }
+        if (this.frameHeaderIndex == 9 && this.payloadIndex == this.payloadLength) {
+          this.frameHeaderIndex = 0;
+          didReadFrame();
+        }
+      }
+    } catch (Http2Exception cause) {
+      goAway(cause.errorCode);
+    } catch (HttpException cause) {
+      goAway(COMPRESSION_ERROR);
+    }
+  }
+
+  void willReadFrame() {
+    final byte[] header = this.frameHeader;
+    final int length = (header[0] & 0xff) << 16 | (header[1] & 0xff) << 8 | header[2] & 0xff;
+    if (length > DEFAULT_MAX_FRAME_SIZE) {
+      throw new Http2Exception(FRAME_SIZE_ERROR, "frame too large: " + length);
+    }
+    if (this.payload == null || this.payload.length < length) {
+      this.payload = new byte[Math.max(length, 1024)];
+    }
+    this.payloadLength = length;
+    this.payloadIndex = 0;
+  }
+
+  void didReadFrame() {
+    final byte[] header = this.frameHeader;
+    final int type = header[3] & 0xff;
+    final int flags = header[4] & 0xff;
+    final int streamId = readInt(header, 5) & 0x7fffffff;
+    final int length = this.payloadLength;
+    if (this.headerStreamId != 0 && (type != CONTINUATION || streamId != this.headerStreamId)) {
+      throw new Http2Exception(PROTOCOL_ERROR, "expected CONTINUATION");
+    }
+    switch (type) {
+      case DATA:
+        didReadData(streamId, flags, length);
+        break;
+      case HEADERS:
+        didReadHeaders(streamId, flags, length);
+        break;
+      case RST_STREAM:
+        didReadResetStream(streamId, length);
+        break;
+      case SETTINGS:
+        didReadSettings(streamId, flags, length);
+        break;
+      case PUSH_PROMISE:
+        throw new Http2Exception(PROTOCOL_ERROR, "unexpected PUSH_PROMISE");
+      case PING:
+        didReadPing(streamId, flags, length);
+        break;
+      case GOAWAY:
+        didReadGoAway();
+        break;
+      case WINDOW_UPDATE:
+        didReadWindowUpdate(streamId, length);
+        break;
+      case CONTINUATION:
+        didReadContinuation(streamId, flags, length);
+        break;
+      default:
+        // Ignore PRIORITY frames, and unknown frame types.
+    }
+  }
+
+  void didReadData(int streamId, int flags, int length) {
+    if (streamId == 0) {
+      throw new Http2Exception(PROTOCOL_ERROR, "DATA on stream 0");
+    }
+    int offset = 0;
+    int size = length;
+    if ((flags & PADDED) != 0) {
+      final int padLength = length > 0 ? this.payload[0] & 0xff : 0;
+      if (padLength >= length) {
+        throw new Http2Exception(PROTOCOL_ERROR, "invalid padding");
+      }
+      offset = 1;
+      size = length - 1 - padLength;
+    }
+    if (length > 0) {
+      // Received data is buffered by its stream, so credit the connection
+      // window straight away.
+      queueFrame(windowUpdateFrame(0, length));
+    }
+    final Http2ServerStream<?> stream = STREAMS.get(this).get(streamId);
+    if (stream != null) {
+      stream.didReadData(this.payload, offset, size, length);
+      if ((flags & END_STREAM) != 0) {
+        stream.didReadEnd();
+      }
+    } else if (streamId > this.lastStreamId) {
+      throw new Http2Exception(PROTOCOL_ERROR, "DATA on idle stream");
+    }
+  }
+
+  void didReadHeaders(int streamId, int flags, int length) {
+    if (streamId == 0 || (streamId & 1) == 0) {
+      throw new Http2Exception(PROTOCOL_ERROR, "invalid HEADERS stream: " + streamId);
+    }
+    int offset = 0;
+    int size = length;
+    if ((flags & PADDED) != 0) {
+      final int padLength = length > 0 ? this.payload[0] & 0xff : 0;
+      offset = 1;
+      size -= 1 + padLength;
+    }
+    if ((flags & PRIORITY) != 0) {
+      offset += 5;
+      size -= 5;
+    }
+    if (size < 0) {
+      throw new Http2Exception(PROTOCOL_ERROR, "invalid HEADERS padding");
+    }
+    this.headerStreamId = streamId;
+    this.headerFlags = flags;
+    this.headerBlockLength = 0;
+    appendHeaderBlock(offset, size);
+    if ((flags & END_HEADERS) != 0) {
+      didReadHeaderBlock();
+    }
+  }
+
+  void didReadContinuation(int streamId, int flags, int length) {
+    if (streamId == 0 || streamId != this.headerStreamId) {
+      throw new Http2Exception(PROTOCOL_ERROR, "unexpected CONTINUATION");
+    }
+    appendHeaderBlock(0, length);
+    if ((flags & END_HEADERS) != 0) {
+      didReadHeaderBlock();
+    }
+  }
+
+  void appendHeaderBlock(int offset, int length) {
+    final int newLength = this.headerBlockLength + length;
+    if (newLength > this.httpSettings.maxMessageSize()) {
+      throw new Http2Exception(ENHANCE_YOUR_CALM, "header block too large");
+    }
+    if (this.headerBlock == null || this.headerBlock.length < newLength) {
+      final byte[] newBlock = new byte[Math.max(newLength, 2 * this.payload.length)];
+      if (this.headerBlock != null) {
+        System.arraycopy(this.headerBlock, 0, newBlock, 0, this.headerBlockLength);
+      }
+      this.headerBlock = newBlock;
+    }
+    System.arraycopy(this.payload, offset, this.headerBlock, this.headerBlockLength, length);
+    this.headerBlockLength = newLength;
+  }
+
+  void didReadHeaderBlock() {
+    final int streamId = this.headerStreamId;
+    final int flags = this.headerFlags;
+    this.headerStreamId = 0;
+    // Always decode the block to keep the dynamic table synchronized.
+    final FingerTrieSeq<HttpHeader> fields;
+    try {
+      fields = this.decoder.decodeBlock(this.headerBlock, 0, this.headerBlockLength);
+    } catch (HttpException cause) {
+      throw new Http2Exception(COMPRESSION_ERROR, cause.getMessage());
+    }
+    final Http2ServerStream<?> stream = STREAMS.get(this).get(streamId);
+    if (stream != null) {
+      // Trailers carry no information the responder API can surface.
+      if ((flags & END_STREAM) == 0) {
+        throw new Http2Exception(PROTOCOL_ERROR, "trailers without END_STREAM");
+      }
+      stream.didReadEnd();
+    } else if (streamId > this.lastStreamId) {
+      this.lastStreamId = streamId;
+      if (STREAMS.get(this).size() >= MAX_CONCURRENT_STREAMS) {
+        queueFrame(resetStreamFrame(streamId, REFUSED_STREAM));
+        return;
+      }
+      final HttpRequest<?> request;
+      try {
+        request = request(fields);
+      } catch (HttpException cause) {
+        queueFrame(resetStreamFrame(streamId, PROTOCOL_ERROR));
+        return;
+      }
+      willRequest(streamId, request, (flags & END_STREAM) != 0);
+    } else {
+      throw new Http2Exception(STREAM_CLOSED, "HEADERS on closed stream");
+    }
+  }
+
+  HttpRequest<?> request(FingerTrieSeq<HttpHeader> fields) {
+    String method = null;
+    String path = null;
+    String authority = null;
+    FingerTrieSeq<HttpHeader> headers = FingerTrieSeq.empty();
+    boolean hasHost = false;
+    for (int i = 0, n = fields.size(); i < n; i += 1) {
+      final HttpHeader field = fields.get(i);
+      final String name = field.lowerCaseName();
+      final String value = field.value();
+      if (name.startsWith(":")) {
+        if (!headers.isEmpty()) {
+          throw new HttpException("pseudo-header after regular header: " + name);
+        } else if (":method".equals(name)) {
+          method = value;
+        } else if (":path".equals(name)) {
+          path = value;
+        } else if (":authority".equals(name)) {
+          authority = value;
+        } else if (!":scheme".equals(name)) {
+          throw new HttpException("unknown pseudo-header: " + name);
+        }
+      } else if (!isConnectionHeader(name)) {
+        hasHost = hasHost || "host".equals(name);
+        headers = headers.appended(header(name, value));
+      }
+    }
+    if (method == null || path == null || path.isEmpty()) {
+      throw new HttpException("missing request pseudo-header");
+    }
+    if (!hasHost && authority != null) {
+      headers = headers.prepended(header("host", authority));
+    }
+    return HttpRequest.from(HttpMethod.from(method), Uri.parse(path), HttpVersion.HTTP_2_0, headers);
+  }
+
+  static HttpHeader header(String name, String value) {
+    try {
+      return Http.standardParser().parseHeaderString(name + ": " + value);
+    } catch (RuntimeException cause) {
+      return RawHeader.from(name, name, value);
+    }
+  }
+
+  static boolean isConnectionHeader(String name) {
+    return "connection".equals(name) || "keep-alive".equals(name)
+        || "proxy-connection".equals(name) || "transfer-encoding".equals(name)
+        || "upgrade".equals(name);
+  }
+
+  @SuppressWarnings("unchecked")
+  void willRequest(int streamId, HttpRequest<?> request, boolean endStream) {
+    final HttpResponder<?> responder = this.server.doRequest(request);
+    final Http2ServerStream<?> stream = new Http2ServerStream<Object>(this, streamId, (HttpResponder<Object>) responder,
+                                                                      request, this.initialSendWindow());
+    responder.setHttpResponderContext(stream);
+    do {
+      final HashTrieMap<Integer, Http2ServerStream<?>> oldStreams = STREAMS.get(this);
+      final HashTrieMap<Integer, Http2ServerStream<?>> newStreams = oldStreams.updated(streamId, stream);
+      if (STREAMS.compareAndSet(this, oldStreams, newStreams)) {
+        break;
+      }
+    } while (true);
+    this.server.willRequest(request);
+    stream.willRequest(request);
+    if (endStream) {
+      stream.didReadEnd();
+    }
+  }
+
+  void didRequest(HttpRequest<?> request) {
+    this.server.didRequest(request);
+  }
+
+  void didReadResetStream(int streamId, int length) {
+    if (streamId == 0 || length != 4) {
+      throw new Http2Exception(PROTOCOL_ERROR, "invalid RST_STREAM");
+    }
+    final Http2ServerStream<?> stream = removeStream(streamId);
+    if (stream != null) {
+      stream.didReset();
+    }
+  }
+
+  void didReadSettings(int streamId, int flags, int length) {
+    if (streamId != 0 || length % 6 != 0) {
+      throw new Http2Exception(PROTOCOL_ERROR, "invalid SETTINGS");
+    }
+    if ((flags & ACK) != 0) {
+      return;
+    }
+    for (int offset = 0; offset < length; offset += 6) {
+      final int id = (this.payload[offset] & 0xff) << 8 | this.payload[offset + 1] & 0xff;
+      final int value = readInt(this.payload, offset + 2);
+      if (id == SETTINGS_INITIAL_WINDOW_SIZE) {
+        if (value < 0) {
+          throw new Http2Exception(FLOW_CONTROL_ERROR, "invalid initial window size");
+        }
+        updateInitialSendWindow(value);
+      } else if (id == SETTINGS_MAX_FRAME_SIZE) {
+        if (value < DEFAULT_MAX_FRAME_SIZE || value > 0xffffff) {
+          throw new Http2Exception(PROTOCOL_ERROR, "invalid max frame size");
+        }
+        this.maxSendFrameSize = value;
+      }
+    }
+    queueFrame(frame(SETTINGS, ACK, 0, null, 0, 0));
+  }
+
+  void didReadPing(int streamId, int flags, int length) {
+    if (streamId != 0 || length != 8) {
+      throw new Http2Exception(PROTOCOL_ERROR, "invalid PING");
+    }
+    if ((flags & ACK) == 0) {
+      queueFrame(frame(PING, ACK, 0, this.payload, 0, 8));
+    }
+  }
+
+  void didReadGoAway() {
+    this.closing = true;
+    if (STREAMS.get(this).isEmpty()) {
+      close();
+    }
+  }
+
+  void didReadWindowUpdate(int streamId, int length) {
+    if (length != 4) {
+      throw new Http2Exception(FRAME_SIZE_ERROR, "invalid WINDOW_UPDATE");
+    }
+    final int increment = readInt(this.payload, 0) & 0x7fffffff;
+    if (streamId == 0) {
+      if (increment == 0) {
+        throw new Http2Exception(PROTOCOL_ERROR, "zero window increment");
+      }
+      synchronized (this) {
+        this.sendWindow += increment;
+        if (this.sendWindow > MAX_WINDOW_SIZE) {
+          throw new Http2Exception(FLOW_CONTROL_ERROR, "window overflow");
+        }
+      }
+      for (Http2ServerStream<?> stream : STREAMS.get(this).values()) {
+        stream.unblock();
+      }
+    } else {
+      final Http2ServerStream<?> stream = STREAMS.get(this).get(streamId);
+      if (stream != null) {
+        if (increment == 0) {
+          removeStream(streamId);
+          queueFrame(resetStreamFrame(streamId, PROTOCOL_ERROR));
+          stream.didReset();
+        } else {
+          stream.didReadWindowUpdate(increment);
+        }
+      }
+    }
+  }
+
+  synchronized int initialSendWindow() {
+    return this.initialSendWindow;
+  }
+
+  void updateInitialSendWindow(int newWindow) {
+    final int delta;
+    synchronized (this) {
+      delta = newWindow - this.initialSendWindow;
+      this.initialSendWindow = newWindow;
+    }
+    for (Http2ServerStream<?> stream : STREAMS.get(this).values()) {
+      stream.didReadWindowUpdate(delta);
+    }
+  }
+
+  Http2ServerStream<?> removeStream(int streamId) {
+    do {
+      final HashTrieMap<Integer, Http2ServerStream<?>> oldStreams = STREAMS.get(this);
+      final Http2ServerStream<?> stream = oldStreams.get(streamId);
+      if (stream == null) {
+        return null;
+      }
+      final HashTrieMap<Integer, Http2ServerStream<?>> newStreams = oldStreams.removed(streamId);
+      if (STREAMS.compareAndSet(this, oldStreams, newStreams)) {
+        if (this.closing && newStreams.isEmpty()) {
+          close();
+        }
+        return stream;
+      }
+    } while (true);
+  }
+
+  void goAway(int errorCode) {
+    final byte[] payload = new byte[8];
+    writeInt(payload, 0, this.lastStreamId);
+    writeInt(payload, 4, errorCode);
+    this.closing = true;
+    queueFrame(frame(GOAWAY, 0, 0, payload, 0, 8));
+  }
+
+  void queueFrame(ByteBuffer frame) {
+    this.frameQueue.add(frame);
+    final IpSocketContext context = this.context;
+    if (context != null) {
+      context.flowControl(FlowModifier.ENABLE_WRITE);
+    }
+  }
+
+  void queueStream(Http2ServerStream<?> stream) {
+    this.streamQueue.add(stream);
+    final IpSocketContext context = this.context;
+    if (context != null) {
+      context.flowControl(FlowModifier.ENABLE_WRITE);
+    }
+  }
+
+  /**
+   * Reserves up to {@code maxSize} bytes of the connection send window, and
+   * returns the number of bytes reserved.
+   */
+  synchronized int reserveSendWindow(int maxSize) {
+    final int size = (int) Math.max(0L, Math.min((long) maxSize, this.sendWindow));
+    this.sendWindow -= size;
+    return size;
+  }
+
+  synchronized void releaseSendWindow(int size) {
+    this.sendWindow += size;
+  }
+
+  @Override
+  public void doWrite() {
+    final IpSocketContext context = this.context;
+    if (context == null) {
+      return;
+    }
+    OutputBuffer<?> output = context.outputBuffer();
+    boolean written = false;
+    do {
+      ByteBuffer frame = this.writing;
+      if (frame == null) {
+        frame = nextFrame();
+        if (frame == null) {
+          if (written) {
+            // Leave writing enabled until a pass produces no output, so that
+            // wrapping transports get to flush their buffered frame bytes.
+            break;
+          }
+          context.flowControl(FlowModifier.DISABLE_WRITE);
+          if (!this.frameQueue.isEmpty() || !this.streamQueue.isEmpty()) {
+            context.flowControl(FlowModifier.ENABLE_WRITE);
+          } else if (this.closing && STREAMS.get(this).isEmpty()) {
+            context.close();
+          }
+          break;
+        }
+        this.writing = frame;
+      }
+      while (frame.hasRemaining() && output.isCont()) {
+        output = output.write(frame.get() & 0xff);
+        written = true;
+      }
+      if (frame.hasRemaining()) {
+        break;
+      }
+      this.writing = null;
+      final Http2ServerStream<?> stream = this.writingStream;
+      if (stream != null) {
+        this.writingStream = null;
+        if (this.writingEnd) {
+          this.writingEnd = false;
+          removeStream(stream.streamId);
+          stream.didRespond();
+        }
+      }
+    } while (true);
+  }
+
+  ByteBuffer nextFrame() {
+    final ByteBuffer frame = this.frameQueue.poll();
+    if (frame != null) {
+      return frame;
+    }
+    do {
+      final Http2ServerStream<?> stream = this.streamQueue.poll();
+      if (stream == null) {
+        return null;
+      }
+      final ByteBuffer streamFrame = stream.pullFrame();
+      if (streamFrame != null) {
+        this.writingStream = stream;
+        this.writingEnd = stream.isDone();
+        if (!this.writingEnd && !stream.isBlocked()) {
+          // Round-robin between streams with pending output.
+          this.streamQueue.add(stream);
+        }
+        return streamFrame;
+      }
+    } while (true);
+  }
+
+  @Override
+  public void didWrite() {
+    // nop
+  }
+
+  @Override
+  public void willConnect() {
+    // nop
+  }
+
+  @Override
+  public void didConnect() {
+    final byte[] settings = new byte[12];
+    settings[1] = (byte) SETTINGS_MAX_CONCURRENT_STREAMS;
+    writeInt(settings, 2, MAX_CONCURRENT_STREAMS);
+    settings[7] = (byte) SETTINGS_ENABLE_PUSH;
+    writeInt(settings, 8, 0);
+    queueFrame(frame(SETTINGS, 0, 0, settings, 0, settings.length));
+    this.context.flowControl(FlowModifier.ENABLE_READ);
+    this.server.didConnect();
+  }
+
+  @Override
+  public void willSecure() {
+    this.server.willSecure();
+  }
+
+  @Override
+  public void didSecure() {
+    this.server.didSecure();
+  }
+
+  @Override
+  public void willBecome(IpSocket socket) {
+    this.server.willBecome(socket);
+  }
+
+  @Override
+  public void didBecome(IpSocket socket) {
+    this.server.didBecome(socket);
+  }
+
+  @Override
+  public void didTimeout() {
+    Throwable failure = null;
+    for (Http2ServerStream<?> stream : STREAMS.get(this).values()) {
+      try {
+        stream.didTimeout();
+      } catch (Throwable cause) {
+        if (!Conts.isNonFatal(cause)) {
+          throw cause;
+        }
+        failure = cause;
+      }
+    }
+    this.server.didTimeout();
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+  }
+
+  @Override
+  public void didDisconnect() {
+    Throwable failure = null;
+    final HashTrieMap<Integer, Http2ServerStream<?>> streams = STREAMS.getAndSet(this, HashTrieMap.<Integer, Http2ServerStream<?>>empty());
+    for (Http2ServerStream<?> stream : streams.values()) {
+      try {
+        stream.didDisconnect();
+      } catch (Throwable cause) {
+        if (!Conts.isNonFatal(cause)) {
+          throw cause;
+        }
+        failure = cause;
+      }
+    }
+    try {
+      this.server.didDisconnect();
+    } catch (Throwable cause) {
+      if (!Conts.isNonFatal(cause)) {
+        throw cause;
+      }
+      failure = cause;
+    }
+    close();
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+  }
+
+  @Override
+  public void didFail(Throwable error) {
+    Throwable failure = null;
+    final HashTrieMap<Integer, Http2ServerStream<?>> streams = STREAMS.getAndSet(this, HashTrieMap.<Integer, Http2ServerStream<?>>empty());
+    for (Http2ServerStream<?> stream : streams.values()) {
+      try {
+        stream.didFail(error);
+      } catch (Throwable cause) {
+        if (!Conts.isNonFatal(cause)) {
+          throw cause;
+        }
+        failure = cause;
+      }
+    }
+    try {
+      this.server.didFail(error);
+    } catch (Throwable cause) {
+      if (!Conts.isNonFatal(cause)) {
+        throw cause;
+      }
+      failure = cause;
+    }
+    close();
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+  }
+
+  @Override
+  public boolean isConnected() {
+    final IpSocketContext context = this.context;
+    return context != null && context.isConnected();
+  }
+
+  @Override
+  public boolean isClient() {
+    return false;
+  }
+
+  @Override
+  public boolean isServer() {
+    return true;
+  }
+
+  @Override
+  public boolean isSecure() {
+    final IpSocketContext context = this.context;
+    return context != null && context.isSecure();
+  }
+
+  @Override
+  public String securityProtocol() {
+    return this.context.securityProtocol();
+  }
+
+  @Override
+  public String cipherSuite() {
+    return this.context.cipherSuite();
+  }
+
+  @Override
+  public InetSocketAddress localAddress() {
+    return this.context.localAddress();
+  }
+
+  @Override
+  public Principal localPrincipal() {
+    return this.context.localPrincipal();
+  }
+
+  @Override
+  public Collection<Certificate> localCertificates() {
+    return this.context.localCertificates();
+  }
+
+  @Override
+  public InetSocketAddress remoteAddress() {
+    return this.context.remoteAddress();
+  }
+
+  @Override
+  public Principal remotePrincipal() {
+    return this.context.remotePrincipal();
+  }
+
+  @Override
+  public Collection<Certificate> remoteCertificates() {
+    return this.context.remoteCertificates();
+  }
+
+  @Override
+  public FlowControl flowControl() {
+    return this.context.flowControl();
+  }
+
+  @Override
+  public void flowControl(FlowControl flowControl) {
+    this.context.flowControl(flowControl);
+  }
+
+  @Override
+  public FlowControl flowControl(FlowModifier flowModifier) {
+    return this.context.flowControl(flowModifier);
+  }
+
+  @Override
+  public HttpSettings httpSettings() {
+    return this.httpSettings;
+  }
+
+  @Override
+  public void readRequest() {
+    // Streams are read concurrently, as soon as they arrive.
+  }
+
+  @Override
+  public void become(IpSocket socket) {
+    this.context.become(socket);
+  }
+
+  @Override
+  public void close() {
+    final IpSocketContext context = this.context;
+    if (context != null) {
+      context.close();
+    }
+  }
+
+  byte[] encodeHeaders(HttpResponse<?> response) {
+    final Output<byte[]> output = Binary.byteArrayOutput();
+    this.encoder.encodeHeader(output, ":status", Integer.toString(response.status().code()));
+    final FingerTrieSeq<HttpHeader> headers = response.headers();
+    for (int i = 0, n = headers.size(); i < n; i += 1) {
+      final HttpHeader header = headers.get(i);
+      final String name = header.lowerCaseName();
+      if (!isConnectionHeader(name)) {
+        this.encoder.encodeHeader(output, name, header.value());
+      }
+    }
+    return output.bind();
+  }
+
+  /**
+   * Returns a HEADERS frame, followed by as many CONTINUATION frames as
+   * needed to carry the header {@code block}, as one contiguous buffer so
+   * that no other frames can interleave with it.
+   */
+  ByteBuffer headersFrames(int streamId, byte[] block, boolean endStream) {
+    final int maxFrameSize = this.maxSendFrameSize;
+    final int frameCount = Math.max(1, (block.length + maxFrameSize - 1) / maxFrameSize);
+    final ByteBuffer frames = ByteBuffer.allocate(9 * frameCount + block.length);
+    int offset = 0;
+    for (int i = 0; i < frameCount; i += 1) {
+      final int size = Math.min(maxFrameSize, block.length - offset);
+      final int type = i == 0 ? HEADERS : CONTINUATION;
+      int flags = 0;
+      if (i == 0 && endStream) {
+        flags |= END_STREAM;
+      }
+      if (i == frameCount - 1) {
+        flags |= END_HEADERS;
+      }
+      writeFrameHeader(frames, size, type, flags, streamId);
+      frames.put(block, offset, size);
+      offset += size;
+    }
+    ((Buffer) frames).flip();
+    return frames;
+  }
+
+  static ByteBuffer frame(int type, int flags, int streamId, byte[] payload, int offset, int length) {
+    final ByteBuffer frame = ByteBuffer.allocate(9 + length);
+    writeFrameHeader(frame, length, type, flags, streamId);
+    if (length > 0) {
+      frame.put(payload, offset, length);
+    }
+    ((Buffer) frame).flip();
+    return frame;
+  }
+
+  static void writeFrameHeader(ByteBuffer frame, int length, int type, int flags, int streamId) {
+    frame.put((byte) (length >>> 16));
+    frame.put((byte) (length >>> 8));
+    frame.put((byte) length);
+    frame.put((byte) type);
+    frame.put((byte) flags);
+    frame.putInt(streamId & 0x7fffffff);
+  }
+
+  static ByteBuffer windowUpdateFrame(int streamId, int increment) {
+    final byte[] payload = new byte[4];
+    writeInt(payload, 0, increment);
+    return frame(WINDOW_UPDATE, 0, streamId, payload, 0, 4);
+  }
+
+  static ByteBuffer resetStreamFrame(int streamId, int errorCode) {
+    final byte[] payload = new byte[4];
+    writeInt(payload, 0, errorCode);
+    return frame(RST_STREAM, 0, streamId, payload, 0, 4);
+  }
+
+  static int readInt(byte[] array, int offset) {
+    return (array[offset] & 0xff) << 24 | (array[offset + 1] & 0xff) << 16
+         | (array[offset + 2] & 0xff) << 8 | array[offset + 3] & 0xff;
+  }
+
+  static void writeInt(byte[] array, int offset, int value) {
+    array[offset] = (byte) (value >>> 24);
+    array[offset + 1] = (byte) (value >>> 16);
+    array[offset + 2] = (byte) (value >>> 8);
+    array[offset + 3] = (byte) value;
+  }
+
+  static final byte[] PREFACE = {
+    'P', 'R', 'I', ' ', '*', ' ', 'H', 'T', 'T', 'P', '/', '2', '.', '0', '\r', '\n',
+    '\r', '\n', 'S', 'M', '\r', '\n', '\r', '\n'
+  };
+
+  static final int DATA = 0x0;
+  static final int HEADERS = 0x1;
+  static final int RST_STREAM = 0x3;
+  static final int SETTINGS = 0x4;
+  static final int PUSH_PROMISE = 0x5;
+  static final int PING = 0x6;
+  static final int GOAWAY = 0x7;
+  static final int WINDOW_UPDATE = 0x8;
+  static final int CONTINUATION = 0x9;
+
+  static final int END_STREAM = 0x1;
+  static final int ACK = 0x1;
+  static final int END_HEADERS = 0x4;
+  static final int PADDED = 0x8;
+  static final int PRIORITY = 0x20;
+
+  static final int SETTINGS_ENABLE_PUSH = 0x2;
+  static final int SETTINGS_MAX_CONCURRENT_STREAMS = 0x3;
+  static final int SETTINGS_INITIAL_WINDOW_SIZE = 0x4;
+  static final int SETTINGS_MAX_FRAME_SIZE = 0x5;
+
+  static final int PROTOCOL_ERROR = 0x1;
+  static final int INTERNAL_ERROR = 0x2;
+  static final int FLOW_CONTROL_ERROR = 0x3;
+  static final int STREAM_CLOSED = 0x5;
+  static final int FRAME_SIZE_ERROR = 0x6;
+  static final int REFUSED_STREAM = 0x7;
+  static final int CANCEL = 0x8;
+  static final int COMPRESSION_ERROR = 0x9;
+  static final int ENHANCE_YOUR_CALM = 0xb;
+
+  static final int DEFAULT_WINDOW_SIZE = 65535;
+  static final int DEFAULT_MAX_FRAME_SIZE = 16384;
+  static final long MAX_WINDOW_SIZE = 0x7fffffffL;
+
+  static final int MAX_CONCURRENT_STREAMS;
+
+  static {
+    int maxConcurrentStreams;
+    try {
+      maxConcurrentStreams = Integer.parseInt(System.getProperty("swim.http2.max.concurrent.streams"));
+    } catch (NumberFormatException cause) {
+      maxConcurrentStreams = 128;
+    }
+    MAX_CONCURRENT_STREAMS = maxConcurrentStreams;
+  }
+
+}
@@ -0,0 +1,438 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io.http;
+
+import java.net.InetSocketAddress;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.security.Principal;
+import java.security.cert.Certificate;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.Encoder;
+import swim.codec.InputBuffer;
+import swim.codec.Output;
+import swim.codec.OutputBuffer;
+import swim.http.HttpChunked;
+import swim.http.HttpEntity;
+import swim.http.HttpException;
+import swim.http.HttpMethod;
+import swim.http.HttpRequest;
+import swim.http.HttpResponse;
+import swim.http.header.ContentLength;
+import swim.io.FlowControl;
+import swim.io.FlowModifier;
+import swim.io.IpSocket;
+
+/**
+ * Responder context for a single HTTP/2 request stream. Flow control of the
+ * stream maps onto HTTP/2 stream windows: disabling reads withholds
+ * WINDOW_UPDATE credit from the peer, and writes are enabled only while the
+ * peer's stream window has room for more DATA.
+ */
+final class Http2ServerStream<T> implements HttpResponderContext {
+
+  static final int RESPONDED = 1 << 0;
+  static final int READ_DISABLED = 1 << 1;
+  @SuppressWarnings("unchecked")
+  static final AtomicIntegerFieldUpdater<Http2ServerStream<?>> STATUS =
+      AtomicIntegerFieldUpdater.newUpdater((Class<Http2ServerStream<?>>) (Class<?>) Http2ServerStream.class, "status");
+  final Http2ServerSocket connection;
+  final int streamId;
+  final HttpResponder<T> responder;
+  volatile int status;
+
+  volatile HttpRequest<?> request;
+
+  // Request state, only accessed by the connection's reading thread.
+  Decoder<?> contentDecoder;
+  boolean requested;
+  Output<byte[]> content;
+  int contentLength;
+  int unackedLength;
+
+  // Response state, guarded by the connection's monitor.
+  HttpResponse<?> response;
+  ByteBuffer headerFrames;
+  Encoder<?, ?> body;
+  long sendWindow;
+  boolean blocked;
+  boolean done;
+
+  Http2ServerStream(Http2ServerSocket connection, int streamId, HttpResponder<T> responder,
+                    HttpRequest<?> request, int sendWindow) {
+    this.connection = connection;
+    this.streamId = streamId;
+    this.responder = responder;
+    this.request = request;
+    this.sendWindow = sendWindow;
+  }
+
+  @Override
+  public boolean isConnected() {
+    return this.connection.isConnected();
+  }
+
+  @Override
+  public boolean isClient() {
+    return false;
+  }
+
+  @Override
+  public boolean isServer() {
+    return true;
+  }
+
+  @Override
+  public boolean isSecure() {
+    return this.connection.isSecure();
+  }
+
+  @Override
+  public String securityProtocol() {
+    return this.connection.securityProtocol();
+  }
+
+  @Override
+  public String cipherSuite() {
+    return this.connection.cipherSuite();
+  }
+
+  @Override
+  public InetSocketAddress localAddress() {
+    return this.connection.localAddress();
+  }
+
+  @Override
+  public Principal localPrincipal() {
+    return this.connection.localPrincipal();
+  }
+
+  @Override
+  public Collection<Certificate> localCertificates() {
+    return this.connection.localCertificates();
+  }
+
+  @Override
+  public InetSocketAddress remoteAddress() {
+    return this.connection.remoteAddress();
+  }
+
+  @Override
+  public Principal remotePrincipal() {
+    return this.connection.remotePrincipal();
+  }
+
+  @Override
+  public Collection<Certificate> remoteCertificates() {
+    return this.connection.remoteCertificates();
+  }
+
+  @Override
+  public FlowControl flowControl() {
+    FlowControl flowControl = FlowControl.WAIT;
+    if ((STATUS.get(this) & READ_DISABLED) == 0) {
+      flowControl = flowControl.readEnabled();
+    }
+    synchronized (this.connection) {
+      if (this.sendWindow > 0L && !this.blocked) {
+        flowControl = flowControl.writeEnabled();
+      }
+    }
+    return flowControl;
+  }
+
+  @Override
+  public void flowControl(FlowControl flowControl) {
+    if (flowControl.isReadEnabled()) {
+      flowControl(FlowModifier.ENABLE_READ);
+    } else {
+      flowControl(FlowModifier.DISABLE_READ);
+    }
+  }
+
+  @Override
+  public FlowControl flowControl(FlowModifier flowModifier) {
+    if (flowModifier.isReadDisabled()) {
+      do {
+        final int oldStatus = STATUS.get(this);
+        final int newStatus = oldStatus | READ_DISABLED;
+        if (oldStatus == newStatus || STATUS.compareAndSet(this, oldStatus, newStatus)) {
+          break;
+        }
+      } while (true);
+    } else if (flowModifier.isReadEnabled()) {
+      do {
+        final int oldStatus = STATUS.get(this);
+        final int newStatus = oldStatus & ~READ_DISABLED;
+        if (oldStatus == newStatus) {
+          break;
+        } else if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
+          creditReceiveWindow();
+          break;
+        }
+      } while (true);
+    }
+    // Write readiness is governed by the peer's stream window.
+    return flowControl();
+  }
+
+  @Override
+  public HttpSettings httpSettings() {
+    return this.connection.httpSettings();
+  }
+
+  @Override
+  public void writeResponse(HttpResponse<?> response) {
+    do {
+      final int oldStatus = STATUS.get(this);
+      if ((oldStatus & RESPONDED) == 0) {
+        final int newStatus = oldStatus | RESPONDED;
+        if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
+          break;
+        }
+      } else {
+        throw new HttpException("already responded");
+      }
+    } while (true);
+    this.connection.server.willRespond(response);
+    this.responder.willRespond(response);
+    final HttpEntity<?> entity = response.entity();
+    final boolean hasBody = entity.length() != 0L && !HttpMethod.HEAD.equals(this.request.method());
+    final byte[] headerBlock = this.connection.encodeHeaders(response);
+    synchronized (this.connection) {
+      this.response = response;
+      this.headerFrames = this.connection.headersFrames(this.streamId, headerBlock, !hasBody);
+      if (hasBody) {
+        if (entity instanceof HttpChunked<?>) {
+          this.body = ((HttpChunked<?>) entity).content();
+        } else {
+          this.body = entity.httpEncoder(response);
+        }
+      }
+    }
+    this.connection.queueStream(this);
+  }
+
+  @Override
+  public void become(IpSocket socket) {
+    throw new UnsupportedOperationException("HTTP/2 streams cannot be upgraded");
+  }
+
+  @Override
+  public void close() {
+    if (this.connection.removeStream(this.streamId) != null) {
+      this.connection.queueFrame(Http2ServerSocket.resetStreamFrame(this.streamId, Http2ServerSocket.CANCEL));
+    }
+  }
+
+  void willRequest(HttpRequest<?> request) {
+    this.responder.willRequest(request);
+    this.contentDecoder = this.responder.contentDecoder(request);
+  }
+
+  void didReadData(byte[] data, int offset, int length, int frameLength) {
+    if (this.content == null) {
+      this.content = Binary.byteArrayOutput(Math.max(length, 256));
+    }
+    if (this.contentLength + length > this.connection.httpSettings.maxMessageSize()) {
+      this.connection.removeStream(this.streamId);
+      this.connection.queueFrame(Http2ServerSocket.resetStreamFrame(this.streamId, Http2ServerSocket.ENHANCE_YOUR_CALM));
+      didFail(new HttpException("request entity too large"));
+      return;
+    }
+    for (int i = offset, n = offset + length; i < n; i += 1) {
+      this.content.write(data[i] & 0xff);
+    }
+    this.contentLength += length;
+    this.unackedLength += frameLength;
+    if ((STATUS.get(this) & READ_DISABLED) == 0) {
+      creditReceiveWindow();
+    }
+  }
+
+  void creditReceiveWindow() {
+    final int unackedLength = this.unackedLength;
+    if (unackedLength > 0) {
+      this.unackedLength = 0;
+      this.connection.queueFrame(Http2ServerSocket.windowUpdateFrame(this.streamId, unackedLength));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  void didReadEnd() {
+    if (this.requested) {
+      return;
+    }
+    this.requested = true;
+    HttpRequest<?> request = this.request;
+    final Decoder<?> contentDecoder = this.contentDecoder;
+    this.contentDecoder = null;
+    final Output<byte[]> content = this.content;
+    this.content = null;
+    if (content != null) {
+      // HTTP/2 frames delimit the entity, so size it before decoding.
+      request = request.updatedHeader(ContentLength.from(this.contentLength));
+      Decoder<? extends HttpRequest<?>> entityDecoder = (Decoder<? extends HttpRequest<?>>) request.entityDecoder(contentDecoder);
+      final InputBuffer input = Binary.inputBuffer(content.bind());
+      entityDecoder = entityDecoder.feed(input);
+      if (entityDecoder.isDone()) {
+        request = entityDecoder.bind();
+      } else {
+        final Throwable error = entityDecoder.isError() ? entityDecoder.trap() : new HttpException("truncated request entity");
+        this.connection.removeStream(this.streamId);
+        this.connection.queueFrame(Http2ServerSocket.resetStreamFrame(this.streamId, Http2ServerSocket.PROTOCOL_ERROR));
+        didFail(error);
+        return;
+      }
+    } else {
+      request = request.entity(HttpEntity.empty());
+    }
+    this.request = request;
+    this.responder.didRequest((HttpRequest<T>) request);
+    this.connection.didRequest(request);
+    this.responder.doRespond((HttpRequest<T>) request);
+  }
+
+  void didReadWindowUpdate(int increment) {
+    boolean unblocked = false;
+    synchronized (this.connection) {
+      this.sendWindow += increment;
+      if (this.sendWindow > Http2ServerSocket.MAX_WINDOW_SIZE) {
+        throw new Http2Exception(Http2ServerSocket.FLOW_CONTROL_ERROR, "stream window overflow");
+      }
+      if (this.blocked && this.sendWindow > 0L) {
+        this.blocked = false;
+        unblocked = true;
+      }
+    }
+    if (unblocked) {
+      this.connection.queueStream(this);
+    }
+  }
+
+  void unblock() {
+    boolean unblocked = false;
+    synchronized (this.connection) {
+      if (this.blocked && this.sendWindow > 0L) {
+        this.blocked = false;
+        unblocked = true;
+      }
+    }
+    if (unblocked) {
+      this.connection.queueStream(this);
+    }
+  }
+
+  boolean isBlocked() {
+    synchronized (this.connection) {
+      return this.blocked;
+    }
+  }
+
+  boolean isDone() {
+    synchronized (this.connection) {
+      return this.done;
+    }
+  }
+
+  /**
+   * Returns the next frame of the response, or {@code null} if the stream
+   * has exhausted its share of the peer's flow control windows.
+   */
+  ByteBuffer pullFrame() {
+    final Encoder<?, ?> body;
+    final int maxSize;
+    synchronized (this.connection) {
+      if (this.done) {
+        return null;
+      }
+      final ByteBuffer headerFrames = this.headerFrames;
+      if (headerFrames != null) {
+        this.headerFrames = null;
+        this.done = this.body == null;
+        return headerFrames;
+      }
+      body = this.body;
+      if (body == null) {
+        return null;
+      }
+      final long window = Math.min(this.sendWindow, (long) this.connection.maxSendFrameSize);
+      maxSize = this.connection.reserveSendWindow((int) Math.max(0L, window));
+      if (maxSize == 0) {
+        this.blocked = true;
+        return null;
+      }
+    }
+    final byte[] frame = new byte[9 + maxSize];
+    OutputBuffer<?> output = Binary.outputBuffer(frame, 9, maxSize).isPart(true);
+    Encoder<?, ?> next = body;
+    do {
+      next = next.pull(output);
+    } while (next.isCont() && output.isCont() && output.index() < 9 + maxSize);
+    final int size = output.index() - 9;
+    if (next.isError()) {
+      this.connection.releaseSendWindow(maxSize);
+      this.connection.removeStream(this.streamId);
+      synchronized (this.connection) {
+        this.body = null;
+        this.done = true;
+      }
+      didFail(next.trap());
+      return Http2ServerSocket.resetStreamFrame(this.streamId, Http2ServerSocket.INTERNAL_ERROR);
+    }
+    final boolean endStream = next.isDone();
+    synchronized (this.connection) {
+      this.connection.releaseSendWindow(maxSize - size);
+      this.sendWindow -= size;
+      this.body = endStream ? null : next;
+      this.done = endStream;
+    }
+    final ByteBuffer buffer = ByteBuffer.wrap(frame, 0, 9 + size);
+    Http2ServerSocket.writeFrameHeader(buffer, size, Http2ServerSocket.DATA, endStream ? Http2ServerSocket.END_STREAM : 0, this.streamId);
+    ((Buffer) buffer).position(0);
+    return buffer;
+  }
+
+  void didRespond() {
+    final HttpResponse<?> response = this.response;
+    this.responder.didRespond(response);
+    this.connection.server.didRespond(response);
+  }
+
+  void didReset() {
+    synchronized (this.connection) {
+      this.body = null;
+      this.headerFrames = null;
+      this.done = true;
+    }
+    this.responder.didDisconnect();
+  }
+
+  void didTimeout() {
+    this.responder.didTimeout();
+  }
+
+  void didDisconnect() {
+    this.responder.didDisconnect();
+  }
+
+  void didFail(Throwable error) {
+    this.responder.didFail(error);
+  }
+
+}
@@ -15,12 +15,14 @@
 package swim.io.http;
 
 import java.net.InetSocketAddress;
+import swim.collections.FingerTrieSeq;
 import swim.http.HttpRequest;
 import swim.http.HttpResponse;
 import swim.io.IpInterface;
 import swim.io.IpServiceRef;
 import swim.io.IpSocketModem;
 import swim.io.IpSocketRef;
+import swim.io.TlsSettings;
 
 public interface HttpInterface extends IpInterface {
 
@@ -44,6 +46,11 @@ public interface HttpInterface extends IpInterface {
   }
 
   default IpServiceRef bindHttps(InetSocketAddress localAddress, HttpService service, HttpSettings httpSettings) {
+    final TlsSettings tlsSettings = httpSettings.tlsSettings();
+    if (tlsSettings != null && tlsSettings.applicationProtocols() == null) {
+      // Offer HTTP/2 to clients that negotiate it with ALPN.
+      httpSettings = httpSettings.tlsSettings(tlsSettings.applicationProtocols(FingerTrieSeq.of("h2", "http/1.1")));
+    }
     final HttpSocketService tlsService = new HttpSocketService(service, httpSettings);
     return bindTls(localAddress, tlsService, httpSettings.ipSettings());
   }
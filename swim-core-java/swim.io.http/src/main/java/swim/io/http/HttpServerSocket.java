@@ -0,0 +1,143 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io.http;
+
+import swim.codec.InputBuffer;
+import swim.http.HttpRequest;
+import swim.http.HttpResponse;
+import swim.io.FlowModifier;
+import swim.io.IpSocket;
+import swim.io.IpSocketContext;
+import swim.io.IpSocketModem;
+
+/**
+ * Server socket that inspects the first bytes received on a connection to
+ * select its HTTP protocol. Connections that open with the HTTP/2 client
+ * preface, either after negotiating {@code h2} with ALPN or as cleartext
+ * {@code h2c} with prior knowledge, become an {@link Http2ServerSocket};
+ * all other connections become an HTTP/1.1 {@link HttpServerModem}. The
+ * inspected bytes are left in the input buffer for the chosen protocol.
+ */
+final class HttpServerSocket implements IpSocket {
+
+  final HttpServer server;
+  final HttpSettings httpSettings;
+  IpSocketContext context;
+  boolean secure;
+
+  HttpServerSocket(HttpServer server, HttpSettings httpSettings) {
+    this.server = server;
+    this.httpSettings = httpSettings;
+  }
+
+  @Override
+  public IpSocketContext ipSocketContext() {
+    return this.context;
+  }
+
+  @Override
+  public void setIpSocketContext(IpSocketContext context) {
+    this.context = context;
+  }
+
+  @Override
+  public long idleTimeout() {
+    return this.server.idleTimeout();
+  }
+
+  @Override
+  public void doRead() {
+    final IpSocketContext context = this.context;
+    final InputBuffer input = context.inputBuffer();
+    final byte[] preface = Http2ServerSocket.PREFACE;
+    final int index = input.index();
+    final int count = Math.min(input.remaining(), preface.length);
+    for (int i = 0; i < count; i += 1) {
+      if (input.get(index + i) != (preface[i] & 0xff)) {
+        become(new IpSocketModem<HttpRequest<?>, HttpResponse<?>>(new HttpServerModem(this.server, this.httpSettings)));
+        return;
+      }
+    }
+    if (count == preface.length) {
+      become(new Http2ServerSocket(this.server, this.httpSettings));
+    }
+  }
+
+  void become(IpSocket socket) {
+    final IpSocketContext context = this.context;
+    context.become(socket);
+    if (this.secure) {
+      socket.willSecure();
+      socket.didSecure();
+    }
+    socket.doRead();
+  }
+
+  @Override
+  public void doWrite() {
+    // nop
+  }
+
+  @Override
+  public void didWrite() {
+    // nop
+  }
+
+  @Override
+  public void willConnect() {
+    // nop
+  }
+
+  @Override
+  public void didConnect() {
+    this.context.flowControl(FlowModifier.ENABLE_READ);
+  }
+
+  @Override
+  public void willSecure() {
+    // nop
+  }
+
+  @Override
+  public void didSecure() {
+    this.secure = true;
+  }
+
+  @Override
+  public void willBecome(IpSocket socket) {
+    // nop
+  }
+
+  @Override
+  public void didBecome(IpSocket socket) {
+    // nop
+  }
+
+  @Override
+  public void didTimeout() {
+    this.context.close();
+  }
+
+  @Override
+  public void didDisconnect() {
+    // nop
+  }
+
+  @Override
+  public void didFail(Throwable error) {
+    this.context.close();
+  }
+
+}
@@ -15,14 +15,11 @@
 package swim.io.http;
 
 import java.net.InetSocketAddress;
-import swim.http.HttpRequest;
-import swim.http.HttpResponse;
 import swim.io.FlowControl;
 import swim.io.FlowModifier;
 import swim.io.IpService;
 import swim.io.IpServiceContext;
 import swim.io.IpSocket;
-import swim.io.IpSocketModem;
 
 public class HttpSocketService implements IpService, HttpServiceContext {
 
@@ -49,8 +46,7 @@ public class HttpSocketService implements IpService, HttpServiceContext {
   @Override
   public IpSocket createSocket() {
     final HttpServer server = this.service.createServer();
-    final HttpServerModem modem = new HttpServerModem(server, this.httpSettings);
-    return new IpSocketModem<HttpRequest<?>, HttpResponse<?>>(modem);
+    return new HttpServerSocket(server, this.httpSettings);
   }
 
   @Override
@@ -60,8 +56,8 @@ public class HttpSocketService implements IpService, HttpServiceContext {
 
   @Override
   public void didAccept(IpSocket socket) {
-    if (socket instanceof HttpServerModem) {
-      this.service.didAccept(((HttpServerModem) socket).server);
+    if (socket instanceof HttpServerSocket) {
+      this.service.didAccept(((HttpServerSocket) socket).server);
     }
   }
 
@@ -14,6 +14,8 @@
 
 package swim.io.http;
 
+import swim.http.HttpEntity;
+import swim.http.HttpFile;
 import swim.http.HttpRequest;
 import swim.http.HttpResponse;
 
@@ -34,4 +36,25 @@ public class StaticHttpResponder<T> extends AbstractHttpResponder<T> {
     writeResponse(this.response);
   }
 
+  @Override
+  public void didDisconnect() {
+    releaseResponse();
+  }
+
+  @Override
+  public void didFail(Throwable error) {
+    releaseResponse();
+  }
+
+  /**
+   * Releases resources held by a response that was aborted before, or
+   * while, being written.
+   */
+  protected void releaseResponse() {
+    final HttpEntity<T> entity = this.response.entity();
+    if (entity instanceof HttpFile<?>) {
+      ((HttpFile<?>) entity).close();
+    }
+  }
+
 }
@@ -0,0 +1,225 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io.http;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Output;
+import swim.collections.FingerTrieSeq;
+import swim.concurrent.Theater;
+import swim.http.HttpHeader;
+import swim.http.HttpRequest;
+import swim.http.HttpResponse;
+import swim.http.HttpStatus;
+import swim.http.HttpVersion;
+import swim.http.hpack.HpackDecoder;
+import swim.http.hpack.HpackEncoder;
+import static org.testng.Assert.assertEquals;
+
+public class Http2SocketSpec {
+
+  static final byte[] PREFACE = "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+  static void writeFrame(OutputStream output, int type, int flags, int streamId, byte[] payload) throws IOException {
+    final int length = payload.length;
+    output.write(new byte[] {(byte) (length >>> 16), (byte) (length >>> 8), (byte) length, (byte) type, (byte) flags,
+                             (byte) (streamId >>> 24), (byte) (streamId >>> 16), (byte) (streamId >>> 8), (byte) streamId});
+    output.write(payload);
+  }
+
+  static byte[] requestHeaders(String method, String path) {
+    final HpackEncoder encoder = new HpackEncoder();
+    final Output<byte[]> output = Binary.byteArrayOutput();
+    encoder.encodeHeader(output, ":method", method);
+    encoder.encodeHeader(output, ":scheme", "http");
+    encoder.encodeHeader(output, ":path", path);
+    encoder.encodeHeader(output, ":authority", "127.0.0.1");
+    encoder.encodeHeader(output, "content-type", "text/plain");
+    return output.bind();
+  }
+
+  @Test
+  public void testMultiplexedRequestResponse() {
+    final int requestCount = 8;
+    final Theater stage = new Theater();
+    final HttpEndpoint endpoint = new HttpEndpoint(stage);
+    final CountDownLatch serverResponse = new CountDownLatch(requestCount);
+    final AbstractHttpServer server = new AbstractHttpServer() {
+      @Override
+      public HttpResponder<?> doRequest(HttpRequest<?> request) {
+        return new AbstractHttpResponder<String>() {
+          @Override
+          public void doRespond(HttpRequest<String> request) {
+            assertEquals(request.version(), HttpVersion.HTTP_2_0);
+            writeResponse(HttpResponse.from(HttpStatus.OK).body(request.uri().path().toString() + ":" + request.entity().get()));
+          }
+
+          @Override
+          public void didRespond(HttpResponse<?> response) {
+            serverResponse.countDown();
+          }
+        };
+      }
+    };
+    final AbstractHttpService service = new AbstractHttpService() {
+      @Override
+      public HttpServer createServer() {
+        return server;
+      }
+    };
+    try {
+      stage.start();
+      endpoint.start();
+      endpoint.bindHttp("127.0.0.1", 33557, service, HttpSettings.standard());
+      try (Socket socket = new Socket("127.0.0.1", 33557)) {
+        final OutputStream output = socket.getOutputStream();
+        final DataInputStream input = new DataInputStream(socket.getInputStream());
+        output.write(PREFACE);
+        writeFrame(output, 0x4, 0, 0, new byte[0]);
+        // Open all streams before sending any request bodies.
+        for (int i = 0; i < requestCount; i += 1) {
+          writeFrame(output, 0x1, 0x4, 2 * i + 1, requestHeaders("POST", "/" + i));
+        }
+        for (int i = requestCount - 1; i >= 0; i -= 1) {
+          writeFrame(output, 0x0, 0x1, 2 * i + 1, ("body" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        output.flush();
+
+        final HpackDecoder decoder = new HpackDecoder();
+        final Map<Integer, String> statuses = new HashMap<Integer, String>();
+        final Map<Integer, StringBuilder> bodies = new HashMap<Integer, StringBuilder>();
+        int closedCount = 0;
+        while (closedCount < requestCount) {
+          final byte[] header = new byte[9];
+          input.readFully(header);
+          final int length = (header[0] & 0xff) << 16 | (header[1] & 0xff) << 8 | header[2] & 0xff;
+          final int type = header[3] & 0xff;
+          final int flags = header[4] & 0xff;
+          final int streamId = (header[5] & 0x7f) << 24 | (header[6] & 0xff) << 16 | (header[7] & 0xff) << 8 | header[8] & 0xff;
+          final byte[] payload = new byte[length];
+          input.readFully(payload);
+          if (type == 0x1) {
+            final FingerTrieSeq<HttpHeader> headers = decoder.decodeBlock(payload);
+            assertEquals(headers.head().lowerCaseName(), ":status");
+            statuses.put(streamId, headers.head().value());
+          } else if (type == 0x0) {
+            StringBuilder body = bodies.get(streamId);
+            if (body == null) {
+              body = new StringBuilder();
+              bodies.put(streamId, body);
+            }
+            body.append(new String(payload, StandardCharsets.UTF_8));
+          }
+          if ((type == 0x0 || type == 0x1) && (flags & 0x1) != 0) {
+            closedCount += 1;
+          }
+        }
+        for (int i = 0; i < requestCount; i += 1) {
+          assertEquals(statuses.get(2 * i + 1), "200");
+          assertEquals(bodies.get(2 * i + 1).toString(), "/" + i + ":body" + i);
+        }
+      }
+      serverResponse.await();
+    } catch (IOException | InterruptedException cause) {
+      throw new TestException(cause);
+    } finally {
+      server.close();
+      service.unbind();
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testFramedResponseBody() {
+    final StringBuilder content = new StringBuilder();
+    for (int i = 0; i < 40000; i += 1) {
+      content.append((char) ('a' + i % 26));
+    }
+    final Theater stage = new Theater();
+    final HttpEndpoint endpoint = new HttpEndpoint(stage);
+    final AbstractHttpServer server = new AbstractHttpServer() {
+      @Override
+      public HttpResponder<?> doRequest(HttpRequest<?> request) {
+        return new AbstractHttpResponder<Object>() {
+          @Override
+          public void doRespond(HttpRequest<Object> request) {
+            writeResponse(HttpResponse.from(HttpStatus.OK).body(content.toString()));
+          }
+        };
+      }
+    };
+    final AbstractHttpService service = new AbstractHttpService() {
+      @Override
+      public HttpServer createServer() {
+        return server;
+      }
+    };
+    try {
+      stage.start();
+      endpoint.start();
+      endpoint.bindHttp("127.0.0.1", 33559, service, HttpSettings.standard());
+      try (Socket socket = new Socket("127.0.0.1", 33559)) {
+        socket.setSoTimeout(5000);
+        final OutputStream output = socket.getOutputStream();
+        final DataInputStream input = new DataInputStream(socket.getInputStream());
+        output.write(PREFACE);
+        writeFrame(output, 0x4, 0, 0, new byte[0]);
+        writeFrame(output, 0x1, 0x5, 1, requestHeaders("GET", "/"));
+        output.flush();
+
+        final StringBuilder body = new StringBuilder();
+        int dataFrameCount = 0;
+        do {
+          final byte[] header = new byte[9];
+          input.readFully(header);
+          final int length = (header[0] & 0xff) << 16 | (header[1] & 0xff) << 8 | header[2] & 0xff;
+          final int type = header[3] & 0xff;
+          final int flags = header[4] & 0xff;
+          final byte[] payload = new byte[length];
+          input.readFully(payload);
+          if (type == 0x0) {
+            // Frames must not exceed the default SETTINGS_MAX_FRAME_SIZE.
+            assertEquals(length <= 16384, true);
+            body.append(new String(payload, StandardCharsets.UTF_8));
+            dataFrameCount += 1;
+          }
+          if ((type == 0x0 || type == 0x1) && (flags & 0x1) != 0) {
+            break;
+          }
+        } while (true);
+        assertEquals(dataFrameCount, 3);
+        assertEquals(body.toString(), content.toString());
+      }
+    } catch (IOException cause) {
+      throw new TestException(cause);
+    } finally {
+      server.close();
+      service.unbind();
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
+}
@@ -0,0 +1,57 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io.http;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.testng.annotations.Test;
+import swim.http.HttpFile;
+import swim.http.HttpResponse;
+import swim.http.HttpStatus;
+import swim.http.MediaType;
+import static org.testng.Assert.assertFalse;
+
+public class StaticHttpResponderSpec {
+
+  static StaticHttpResponder<Object> fileResponder(HttpFile<Object> file) {
+    return new StaticHttpResponder<Object>(HttpResponse.from(HttpStatus.OK).content(file));
+  }
+
+  @Test
+  public void closeUnwrittenFileOnDisconnect() throws IOException {
+    final Path path = Files.createTempFile("swim-http-responder", ".txt");
+    try {
+      final HttpFile<Object> file = HttpFile.open(path, MediaType.textPlain());
+      fileResponder(file).didDisconnect();
+      assertFalse(file.channel().isOpen());
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+
+  @Test
+  public void closeUnwrittenFileOnFailure() throws IOException {
+    final Path path = Files.createTempFile("swim-http-responder", ".txt");
+    try {
+      final HttpFile<Object> file = HttpFile.open(path, MediaType.textPlain());
+      fileResponder(file).didFail(new IOException("reset"));
+      assertFalse(file.channel().isOpen());
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+
+}
@@ -19,6 +19,7 @@ import java.security.Principal;
 import java.security.cert.Certificate;
 import java.util.Collection;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import swim.codec.Decoder;
 import swim.concurrent.ConcurrentTrancheQueue;
 import swim.concurrent.Conts;
 import swim.concurrent.DropException;
@@ -88,10 +89,20 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
       } else if (frame instanceof WsControl<?, ?>) {
         this.socket.didRead((WsControl<?, ?>) frame);
       }
-      this.context.read(Envelope.decoder());
+      this.context.read(envelopeDecoder());
     }
   }
 
+  /**
+   * Returns the {@code Decoder} used to parse incoming envelopes.  When the
+   * {@code swim.warp.lazy.body} system property is set, only the headers of
+   * lane addressed envelopes are parsed up front, so that envelopes routed
+   * through this socket can be forwarded without decoding their bodies.
+   */
+  protected Decoder<Envelope> envelopeDecoder() {
+    return LAZY_BODY ? Envelope.headerDecoder() : Envelope.decoder();
+  }
+
   @Override
   public void doWrite() {
     this.socket.doWrite();
@@ -129,7 +140,7 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
       if (oldStatus != newStatus) {
         if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
           this.socket.didUpgrade(httpRequest, httpResponse);
-          this.context.read(Envelope.decoder());
+          this.context.read(envelopeDecoder());
           generateDemand();
           break;
         }
@@ -307,6 +318,14 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
     return this.warpSettings;
   }
 
+  /**
+   * Returns the number of pull requests queued for this socket to pull,
+   * across all priority tranches.
+   */
+  public int supplySize() {
+    return this.supply.size();
+  }
+
   @Override
   public void feed(PullRequest<Envelope> pullRequest) {
     do {
@@ -505,6 +524,7 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
 
   static final long TARGET_DEMAND;
   static final int TRANCHES;
+  static final boolean LAZY_BODY;
 
   static final AtomicLongFieldUpdater<WarpWebSocket> STATUS =
       AtomicLongFieldUpdater.newUpdater(WarpWebSocket.class, "status");
@@ -561,6 +581,8 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
       tranches = 5;
     }
     TRANCHES = tranches;
+
+    LAZY_BODY = Boolean.parseBoolean(System.getProperty("swim.warp.lazy.body"));
   }
 
 }
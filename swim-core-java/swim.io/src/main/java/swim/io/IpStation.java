@@ -110,6 +110,10 @@ public interface IpStation extends IpInterface {
       serverNames.add(serverName);
       final SSLParameters sslParameters = sslEngine.getSSLParameters();
       sslParameters.setServerNames(serverNames);
+      final Collection<String> applicationProtocols = tlsSettings.applicationProtocols();
+      if (applicationProtocols != null) {
+        sslParameters.setApplicationProtocols(applicationProtocols.toArray(new String[applicationProtocols.size()]));
+      }
       sslEngine.setSSLParameters(sslParameters);
       switch (tlsSettings.clientAuth()) {
         case NEED:
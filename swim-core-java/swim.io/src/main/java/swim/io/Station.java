@@ -28,6 +28,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.concurrent.AbstractTask;
 import swim.concurrent.Conts;
@@ -55,6 +56,26 @@ public class Station {
    */
   static final AtomicIntegerFieldUpdater<Station> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(Station.class, "status");
+  /**
+   * Atomic {@link #transportOpenCount} field updater.
+   */
+  static final AtomicLongFieldUpdater<Station> TRANSPORT_OPEN_COUNT =
+      AtomicLongFieldUpdater.newUpdater(Station.class, "transportOpenCount");
+  /**
+   * Atomic {@link #transportCloseCount} field updater.
+   */
+  static final AtomicLongFieldUpdater<Station> TRANSPORT_CLOSE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(Station.class, "transportCloseCount");
+  /**
+   * Atomic {@link #readByteCount} field updater.
+   */
+  static final AtomicLongFieldUpdater<Station> READ_BYTE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(Station.class, "readByteCount");
+  /**
+   * Atomic {@link #writeByteCount} field updater.
+   */
+  static final AtomicLongFieldUpdater<Station> WRITE_BYTE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(Station.class, "writeByteCount");
   /**
    * Stage on which to execute I/O tasks.
    */
@@ -79,6 +100,22 @@ public class Station {
    * Atomic bit field with {@link #STARTED} and {@link #STOPPED} flags.
    */
   volatile int status;
+  /**
+   * Total number of transports ever bound to this station.
+   */
+  volatile long transportOpenCount;
+  /**
+   * Total number of bound transports that have since closed.
+   */
+  volatile long transportCloseCount;
+  /**
+   * Total number of bytes read from all transport channels.
+   */
+  volatile long readByteCount;
+  /**
+   * Total number of bytes written to all transport channels by the station.
+   */
+  volatile long writeByteCount;
 
   public Station(Stage stage, TransportSettings transportSettings) {
     // Assign the I/O task execution stage.
@@ -125,6 +162,46 @@ public class Station {
     return this;
   }
 
+  /**
+   * Returns the number of transports currently bound to this {@code Station}.
+   */
+  public long transportCount() {
+    return this.transportOpenCount - this.transportCloseCount;
+  }
+
+  /**
+   * Returns the total number of transports that have ever been bound to this
+   * {@code Station}.
+   */
+  public long transportOpenCount() {
+    return this.transportOpenCount;
+  }
+
+  /**
+   * Returns the total number of transports bound to this {@code Station} that
+   * have since closed.
+   */
+  public long transportCloseCount() {
+    return this.transportCloseCount;
+  }
+
+  /**
+   * Returns the total number of bytes read from the channels of all
+   * transports bound to this {@code Station}.
+   */
+  public long readByteCount() {
+    return this.readByteCount;
+  }
+
+  /**
+   * Returns the total number of bytes written by this {@code Station} to the
+   * channels of all bound transports.  Bytes that transports transfer
+   * directly to their channels aren't counted.
+   */
+  public long writeByteCount() {
+    return this.writeByteCount;
+  }
+
   /**
    * Ensures that this {@code Station} is up and running, starting up the
    * selector thread if it has not yet been started.
@@ -235,6 +312,7 @@ public class Station {
     // Create the context that binds the transport to this station.
     final StationTransport context = new StationTransport(this, transport, flowControl);
     transport.setTransportContext(context);
+    TRANSPORT_OPEN_COUNT.incrementAndGet(this);
 
     // Initialize the transport's flow control.
     reselect(context);
@@ -342,6 +420,12 @@ final class StationTransport implements TransportContext, TransportRef {
    */
   static final AtomicReferenceFieldUpdater<StationTransport, FlowControl> FLOW_CONTROL =
       AtomicReferenceFieldUpdater.newUpdater(StationTransport.class, FlowControl.class, "flowControl");
+  /**
+   * Atomic {@link #closed} field updater, used to count each transport close
+   * exactly once.
+   */
+  static final AtomicIntegerFieldUpdater<StationTransport> CLOSED =
+      AtomicIntegerFieldUpdater.newUpdater(StationTransport.class, "closed");
   /**
    * {@code Station} to which the {@code transport} is bound.
    */
@@ -370,6 +454,10 @@ final class StationTransport implements TransportContext, TransportRef {
    * Monotonic timestamp of the most recent transport I/O operation.
    */
   volatile long lastSelectTime;
+  /**
+   * Non-zero once the transport has been counted as closed.
+   */
+  volatile int closed;
 
   StationTransport(Station station, Transport transport, FlowControl flowControl) {
     this.station = station;
@@ -577,6 +665,9 @@ final class StationTransport implements TransportContext, TransportRef {
         didFail(cause);
         break;
       }
+      if (count > 0) {
+        Station.READ_BYTE_COUNT.addAndGet(this.station, (long) count);
+      }
       if (count < 0) {
         // The transport channel has reached the end of the stream; close the
         // transport.
@@ -688,6 +779,7 @@ final class StationTransport implements TransportContext, TransportRef {
         }
         if (count > 0) {
           // Output bytes were successfully written to the transport channel.
+          Station.WRITE_BYTE_COUNT.addAndGet(this.station, (long) count);
           if (!writeBuffer.hasRemaining()) {
             // The output buffer has no more bytes to be written.
             continue;
@@ -783,6 +875,9 @@ final class StationTransport implements TransportContext, TransportRef {
    * Clean up the transport after it has closed.
    */
   void didClose() {
+    if (CLOSED.compareAndSet(this, 0, 1)) {
+      Station.TRANSPORT_CLOSE_COUNT.incrementAndGet(this.station);
+    }
     Throwable failure = null;
     try {
       final StationReader reader = this.reader;
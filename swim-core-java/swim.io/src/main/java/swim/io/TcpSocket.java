@@ -62,7 +62,7 @@ class TcpSocket implements Transport, IpSocketContext {
     this.writeBuffer = ByteBuffer.allocate(tcpSettings.writeBufferSize());
     ((Buffer) this.writeBuffer).position(this.writeBuffer.capacity());
     this.inputBuffer = Binary.inputBuffer(this.readBuffer);
-    this.outputBuffer = Binary.outputBuffer(this.writeBuffer);
+    this.outputBuffer = Binary.outputBuffer(this.writeBuffer, channel);
   }
 
   @Override
@@ -22,6 +22,7 @@ import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
 import java.util.Collection;
 import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
 import swim.concurrent.Conts;
 
 class TlsService implements Transport, IpServiceContext {
@@ -142,6 +143,12 @@ class TlsService implements Transport, IpServiceContext {
     if (protocols != null) {
       sslEngine.setEnabledProtocols(protocols.toArray(new String[protocols.size()]));
     }
+    final Collection<String> applicationProtocols = tlsSettings.applicationProtocols();
+    if (applicationProtocols != null) {
+      final SSLParameters sslParameters = sslEngine.getSSLParameters();
+      sslParameters.setApplicationProtocols(applicationProtocols.toArray(new String[applicationProtocols.size()]));
+      sslEngine.setSSLParameters(sslParameters);
+    }
 
     final IpSocket socket = this.service.createSocket();
     final TlsSocket transport = new TlsSocket(this.localAddress, remoteAddress, channel, sslEngine, this.ipSettings, false);
@@ -50,19 +50,35 @@ public class TlsSettings implements Debug {
   protected final ClientAuth clientAuth;
   protected final Collection<String> cipherSuites;
   protected final Collection<String> protocols;
+  protected final Collection<String> applicationProtocols;
 
   public TlsSettings(SSLContext sslContext, ClientAuth clientAuth,
                      Collection<String> cipherSuites,
-                     Collection<String> protocols) {
+                     Collection<String> protocols,
+                     Collection<String> applicationProtocols) {
     this.sslContext = sslContext;
     this.clientAuth = clientAuth;
     this.cipherSuites = cipherSuites;
     this.protocols = protocols;
+    this.applicationProtocols = applicationProtocols;
+  }
+
+  public TlsSettings(SSLContext sslContext, ClientAuth clientAuth,
+                     Collection<String> cipherSuites,
+                     Collection<String> protocols) {
+    this(sslContext, clientAuth, cipherSuites, protocols, null);
   }
 
   public static TlsSettings create(ClientAuth clientAuth,
                                    Collection<String> cipherSuites,
                                    Collection<String> protocols) {
+    return create(clientAuth, cipherSuites, protocols, null);
+  }
+
+  public static TlsSettings create(ClientAuth clientAuth,
+                                   Collection<String> cipherSuites,
+                                   Collection<String> protocols,
+                                   Collection<String> applicationProtocols) {
     try {
       final String tlsProtocol = System.getProperty("swim.tls.protocol", "TLS");
       final String tlsProvider = System.getProperty("swim.tls.provider");
@@ -82,7 +98,7 @@ public class TlsSettings implements Debug {
       final KeyManager[] keyManagers = loadKeyManagers();
       final TrustManager[] trustManagers = loadTrustManagers();
       sslContext.init(keyManagers, trustManagers, random);
-      return new TlsSettings(sslContext, clientAuth, cipherSuites, protocols);
+      return new TlsSettings(sslContext, clientAuth, cipherSuites, protocols, applicationProtocols);
     } catch (GeneralSecurityException cause) {
       return null;
     }
@@ -111,7 +127,13 @@ public class TlsSettings implements Debug {
       } catch (NullPointerException cause) {
         protocols = null;
       }
-      standard = create(clientAuth, cipherSuites, protocols);
+      FingerTrieSeq<String> applicationProtocols;
+      try {
+        applicationProtocols = FingerTrieSeq.of(System.getProperty("swim.tls.application.protocols").split(","));
+      } catch (NullPointerException cause) {
+        applicationProtocols = null;
+      }
+      standard = create(clientAuth, cipherSuites, protocols, applicationProtocols);
     }
     return standard;
   }
@@ -229,7 +251,7 @@ public class TlsSettings implements Debug {
    * {@code sslContext} for creating secure sockets.
    */
   public TlsSettings sslContext(SSLContext sslContext) {
-    return copy(sslContext, this.clientAuth, this.cipherSuites, this.protocols);
+    return copy(sslContext, this.clientAuth, this.cipherSuites, this.protocols, this.applicationProtocols);
   }
 
   /**
@@ -244,7 +266,7 @@ public class TlsSettings implements Debug {
    * {@code clientAuth} authentication requirement for incoming connections.
    */
   public TlsSettings clientAuth(ClientAuth clientAuth) {
-    return copy(this.sslContext, clientAuth, this.cipherSuites, this.protocols);
+    return copy(this.sslContext, clientAuth, this.cipherSuites, this.protocols, this.applicationProtocols);
   }
 
   /**
@@ -261,7 +283,7 @@ public class TlsSettings implements Debug {
    * system defaults should be used.
    */
   public TlsSettings cipherSuites(Collection<String> cipherSuites) {
-    return copy(this.sslContext, this.clientAuth, cipherSuites, this.protocols);
+    return copy(this.sslContext, this.clientAuth, cipherSuites, this.protocols, this.applicationProtocols);
   }
 
   /**
@@ -278,7 +300,26 @@ public class TlsSettings implements Debug {
    * defaults should be used.
    */
   public TlsSettings protocols(Collection<String> protocols) {
-    return copy(this.sslContext, this.clientAuth, this.cipherSuites, protocols);
+    return copy(this.sslContext, this.clientAuth, this.cipherSuites, protocols, this.applicationProtocols);
+  }
+
+  /**
+   * Returns the application layer protocols, in order of preference, to
+   * negotiate with ALPN, or {@code null} if no application protocol should
+   * be negotiated.
+   */
+  public final Collection<String> applicationProtocols() {
+    return this.applicationProtocols;
+  }
+
+  /**
+   * Returns a copy of these {@code TlsSettings} configured with the given
+   * list of ALPN {@code applicationProtocols}, in order of preference;
+   * {@code applicationProtocols} may be {@code null} if no application
+   * protocol should be negotiated.
+   */
+  public TlsSettings applicationProtocols(Collection<String> applicationProtocols) {
+    return copy(this.sslContext, this.clientAuth, this.cipherSuites, this.protocols, applicationProtocols);
   }
 
   /**
@@ -288,8 +329,9 @@ public class TlsSettings implements Debug {
    */
   protected TlsSettings copy(SSLContext sslContext, ClientAuth clientAuth,
                              Collection<String> cipherSuites,
-                             Collection<String> protocols) {
-    return new TlsSettings(sslContext, clientAuth, cipherSuites, protocols);
+                             Collection<String> protocols,
+                             Collection<String> applicationProtocols) {
+    return new TlsSettings(sslContext, clientAuth, cipherSuites, protocols, applicationProtocols);
   }
 
   /**
@@ -317,7 +359,8 @@ public class TlsSettings implements Debug {
           && (this.sslContext == null ? that.sslContext == null : this.sslContext.equals(that.sslContext))
           && this.clientAuth.equals(that.clientAuth)
           && (this.cipherSuites == null ? that.cipherSuites == null : this.cipherSuites.equals(that.cipherSuites))
-          && (this.protocols == null ? that.protocols == null : this.protocols.equals(that.protocols));
+          && (this.protocols == null ? that.protocols == null : this.protocols.equals(that.protocols))
+          && (this.applicationProtocols == null ? that.applicationProtocols == null : this.applicationProtocols.equals(that.applicationProtocols));
     }
     return false;
   }
@@ -327,9 +370,10 @@ public class TlsSettings implements Debug {
     if (hashSeed == 0) {
       hashSeed = Murmur3.seed(TlsSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed,
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed,
         Murmur3.hash(this.sslContext)), this.clientAuth.hashCode()),
-        Murmur3.hash(this.cipherSuites)), Murmur3.hash(this.protocols)));
+        Murmur3.hash(this.cipherSuites)), Murmur3.hash(this.protocols)),
+        Murmur3.hash(this.applicationProtocols)));
   }
 
   @Override
@@ -338,7 +382,8 @@ public class TlsSettings implements Debug {
         .write('.').write("sslContext").write('(').debug(this.sslContext).write(')')
         .write('.').write("clientAuth").write('(').debug(this.clientAuth).write(')')
         .write('.').write("cipherSuites").write('(').debug(this.cipherSuites).write(')')
-        .write('.').write("protocols").write('(').debug(this.protocols).write(')');
+        .write('.').write("protocols").write('(').debug(this.protocols).write(')')
+        .write('.').write("applicationProtocols").write('(').debug(this.applicationProtocols).write(')');
   }
 
   @Override
@@ -388,6 +433,14 @@ final class TlsSettingsForm extends Form<TlsSettings> {
         record.slot("protocols", protocols);
       }
 
+      if (settings.applicationProtocols != null) {
+        final Record applicationProtocols = Record.create(settings.applicationProtocols.size());
+        for (String applicationProtocol : settings.applicationProtocols) {
+          applicationProtocols.item(applicationProtocol);
+        }
+        record.slot("applicationProtocols", applicationProtocols);
+      }
+
       return record;
     } else {
       return Item.extant();
@@ -492,7 +545,21 @@ final class TlsSettingsForm extends Form<TlsSettings> {
         }
       }
 
-      return new TlsSettings(sslContext, clientAuth, cipherSuites, protocols);
+      FingerTrieSeq<String> applicationProtocols;
+      if (value.containsKey("applicationProtocols")) {
+        applicationProtocols = FingerTrieSeq.empty();
+        for (Item applicationProtocol : value.get("applicationProtocols")) {
+          applicationProtocols = applicationProtocols.appended(applicationProtocol.stringValue());
+        }
+      } else {
+        try {
+          applicationProtocols = FingerTrieSeq.of(System.getProperty("swim.tls.application.protocols").split(","));
+        } catch (NullPointerException cause) {
+          applicationProtocols = null;
+        }
+      }
+
+      return new TlsSettings(sslContext, clientAuth, cipherSuites, protocols, applicationProtocols);
     }
     return null;
   }
@@ -164,11 +164,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = us[ui] + vs[vi];
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = us[ui + k] + vs[vi + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = us[ui] + vs[vi];
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -194,11 +200,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) (us[ui] + vs[vi]);
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) (us[ui + k] + vs[vi + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) (us[ui] + vs[vi]);
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -224,11 +236,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = us[ui] + (double) vs[vi];
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = us[ui + k] + (double) vs[vi + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = us[ui] + (double) vs[vi];
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -254,11 +272,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) (us[ui] + (double) vs[vi]);
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) (us[ui + k] + (double) vs[vi + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) (us[ui] + (double) vs[vi]);
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -284,11 +308,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (double) us[ui] + vs[vi];
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (double) us[ui + k] + vs[vi + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (double) us[ui] + vs[vi];
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -314,11 +344,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) ((double) us[ui] + vs[vi]);
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) ((double) us[ui + k] + vs[vi + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) ((double) us[ui] + vs[vi]);
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -344,11 +380,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (double) us[ui] + (double) vs[vi];
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (double) us[ui + k] + (double) vs[vi + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (double) us[ui] + (double) vs[vi];
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -374,11 +416,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) ((double) us[ui] + (double) vs[vi]);
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) ((double) us[ui + k] + (double) vs[vi + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) ((double) us[ui] + (double) vs[vi]);
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -446,10 +494,16 @@ public class Tensor implements Debug {
       if (ud.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = -us[ui];
-        ui += ud.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = -us[ui + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = -us[ui];
+          ui += ud.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -473,10 +527,16 @@ public class Tensor implements Debug {
       if (ud.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) -us[ui];
-        ui += ud.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) -us[ui + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) -us[ui];
+          ui += ud.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -500,10 +560,16 @@ public class Tensor implements Debug {
       if (ud.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = -((double) us[ui]);
-        ui += ud.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = -((double) us[ui + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = -((double) us[ui]);
+          ui += ud.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -527,10 +593,16 @@ public class Tensor implements Debug {
       if (ud.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = -us[ui];
-        ui += ud.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = -us[ui + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = -us[ui];
+          ui += ud.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -625,11 +697,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = us[ui] - vs[vi];
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = us[ui + k] - vs[vi + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = us[ui] - vs[vi];
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -655,11 +733,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) (us[ui] - vs[vi]);
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) (us[ui + k] - vs[vi + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) (us[ui] - vs[vi]);
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -685,11 +769,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = us[ui] - (double) vs[vi];
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = us[ui + k] - (double) vs[vi + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = us[ui] - (double) vs[vi];
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -715,11 +805,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) (us[ui] - (double) vs[vi]);
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) (us[ui + k] - (double) vs[vi + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) (us[ui] - (double) vs[vi]);
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -745,11 +841,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (double) us[ui] - vs[vi];
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (double) us[ui + k] - vs[vi + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (double) us[ui] - vs[vi];
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -775,11 +877,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) ((double) us[ui] - vs[vi]);
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) ((double) us[ui + k] - vs[vi + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) ((double) us[ui] - vs[vi]);
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -805,11 +913,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (double) us[ui] - (double) vs[vi];
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (double) us[ui + k] - (double) vs[vi + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (double) us[ui] - (double) vs[vi];
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -835,11 +949,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) ((double) us[ui] - (double) vs[vi]);
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) ((double) us[ui + k] - (double) vs[vi + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) ((double) us[ui] - (double) vs[vi]);
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -907,10 +1027,16 @@ public class Tensor implements Debug {
       if (ud.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = a * us[ui];
-        ui += ud.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = a * us[ui + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = a * us[ui];
+          ui += ud.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -934,10 +1060,16 @@ public class Tensor implements Debug {
       if (ud.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) (a * us[ui]);
-        ui += ud.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) (a * us[ui + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) (a * us[ui]);
+          ui += ud.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -961,10 +1093,16 @@ public class Tensor implements Debug {
       if (ud.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (a * (double) us[ui]);
-        ui += ud.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (a * (double) us[ui + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (a * (double) us[ui]);
+          ui += ud.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -988,10 +1126,16 @@ public class Tensor implements Debug {
       if (ud.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) (a * (double) us[ui]);
-        ui += ud.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) (a * (double) us[ui + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) (a * (double) us[ui]);
+          ui += ud.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -1086,11 +1230,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = us[ui] * vs[vi];
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = us[ui + k] * vs[vi + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = us[ui] * vs[vi];
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -1116,11 +1266,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) (us[ui] * vs[vi]);
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) (us[ui + k] * vs[vi + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) (us[ui] * vs[vi]);
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -1146,11 +1302,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = us[ui] * (double) vs[vi];
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = us[ui + k] * (double) vs[vi + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = us[ui] * (double) vs[vi];
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -1173,14 +1335,20 @@ public class Tensor implements Debug {
         wi += wd.stride;
       }
     } else {
-      if (ud.next != null || vd.next != null) {
-        throw new DimensionException();
-      }
-      while (wi < wn) {
-        ws[wi] = (float) (us[ui] * (double) vs[vi]);
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.next != null || vd.next != null) {
+        throw new DimensionException();
+      }
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) (us[ui + k] * (double) vs[vi + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) (us[ui] * (double) vs[vi]);
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -1206,11 +1374,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (double) us[ui] * vs[vi];
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (double) us[ui + k] * vs[vi + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (double) us[ui] * vs[vi];
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -1236,11 +1410,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) ((double) us[ui] * vs[vi]);
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) ((double) us[ui + k] * vs[vi + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) ((double) us[ui] * vs[vi]);
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -1266,11 +1446,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (double) us[ui] * (double) vs[vi];
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (double) us[ui + k] * (double) vs[vi + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (double) us[ui] * (double) vs[vi];
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -1296,11 +1482,17 @@ public class Tensor implements Debug {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) ((double) us[ui] * (double) vs[vi]);
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) ((double) us[ui + k] * (double) vs[vi + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) ((double) us[ui] * (double) vs[vi]);
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -1698,6 +1890,271 @@ public class Tensor implements Debug {
     }
   }
 
+  public static double dot(Tensor u, Tensor v) {
+    return dot(u.dims, u.array, u.offset, v.dims, v.array, v.offset);
+  }
+
+  public static double dot(TensorDims ud, Object us, int ui,
+                           TensorDims vd, Object vs, int vi) {
+    if (ud.size != vd.size) {
+      throw new DimensionException();
+    }
+    if (ud.next != null) {
+      if (vd.next == null) {
+        throw new DimensionException();
+      }
+      double dp = 0.0;
+      for (int i = 0; i < ud.size; i += 1) {
+        dp += dot(ud.next, us, ui, vd.next, vs, vi);
+        ui += ud.stride;
+        vi += vd.stride;
+      }
+      return dp;
+    } else {
+      if (vd.next != null) {
+        throw new DimensionException();
+      }
+      return dot(ud.size, us, ui, ud.stride, vs, vi, vd.stride);
+    }
+  }
+
+  /**
+   * Returns the dot product of the {@code n} elements of {@code us} starting
+   * at {@code ui} with stride {@code uc}, and the {@code n} elements of
+   * {@code vs} starting at {@code vi} with stride {@code vc}.
+   */
+  static double dot(int n, Object us, int ui, int uc, Object vs, int vi, int vc) {
+    if (us instanceof double[]) {
+      if (vs instanceof double[]) {
+        return dot(n, (double[]) us, ui, uc, (double[]) vs, vi, vc);
+      } else if (vs instanceof float[]) {
+        return dot(n, (double[]) us, ui, uc, (float[]) vs, vi, vc);
+      } else {
+        throw new AssertionError();
+      }
+    } else if (us instanceof float[]) {
+      if (vs instanceof double[]) {
+        return dot(n, (float[]) us, ui, uc, (double[]) vs, vi, vc);
+      } else if (vs instanceof float[]) {
+        return dot(n, (float[]) us, ui, uc, (float[]) vs, vi, vc);
+      } else {
+        throw new AssertionError();
+      }
+    } else {
+      throw new AssertionError();
+    }
+  }
+
+  // Unit stride dot products keep four independent partial sums, which breaks
+  // the loop carried dependency on a single accumulator, and lets the JIT
+  // keep several multiply-adds in flight at once.
+  static double dot(int n, double[] us, int ui, int uc, double[] vs, int vi, int vc) {
+    if (uc == 1 && vc == 1) {
+      double dp0 = 0.0;
+      double dp1 = 0.0;
+      double dp2 = 0.0;
+      double dp3 = 0.0;
+      int k = 0;
+      while (k + 3 < n) {
+        dp0 += us[ui + k] * vs[vi + k];
+        dp1 += us[ui + k + 1] * vs[vi + k + 1];
+        dp2 += us[ui + k + 2] * vs[vi + k + 2];
+        dp3 += us[ui + k + 3] * vs[vi + k + 3];
+        k += 4;
+      }
+      while (k < n) {
+        dp0 += us[ui + k] * vs[vi + k];
+        k += 1;
+      }
+      return (dp0 + dp1) + (dp2 + dp3);
+    } else {
+      double dp = 0.0;
+      for (int k = 0; k < n; k += 1) {
+        dp += us[ui] * vs[vi];
+        ui += uc;
+        vi += vc;
+      }
+      return dp;
+    }
+  }
+
+  static double dot(int n, double[] us, int ui, int uc, float[] vs, int vi, int vc) {
+    if (uc == 1 && vc == 1) {
+      double dp0 = 0.0;
+      double dp1 = 0.0;
+      double dp2 = 0.0;
+      double dp3 = 0.0;
+      int k = 0;
+      while (k + 3 < n) {
+        dp0 += us[ui + k] * (double) vs[vi + k];
+        dp1 += us[ui + k + 1] * (double) vs[vi + k + 1];
+        dp2 += us[ui + k + 2] * (double) vs[vi + k + 2];
+        dp3 += us[ui + k + 3] * (double) vs[vi + k + 3];
+        k += 4;
+      }
+      while (k < n) {
+        dp0 += us[ui + k] * (double) vs[vi + k];
+        k += 1;
+      }
+      return (dp0 + dp1) + (dp2 + dp3);
+    } else {
+      double dp = 0.0;
+      for (int k = 0; k < n; k += 1) {
+        dp += us[ui] * (double) vs[vi];
+        ui += uc;
+        vi += vc;
+      }
+      return dp;
+    }
+  }
+
+  static double dot(int n, float[] us, int ui, int uc, double[] vs, int vi, int vc) {
+    if (uc == 1 && vc == 1) {
+      double dp0 = 0.0;
+      double dp1 = 0.0;
+      double dp2 = 0.0;
+      double dp3 = 0.0;
+      int k = 0;
+      while (k + 3 < n) {
+        dp0 += (double) us[ui + k] * vs[vi + k];
+        dp1 += (double) us[ui + k + 1] * vs[vi + k + 1];
+        dp2 += (double) us[ui + k + 2] * vs[vi + k + 2];
+        dp3 += (double) us[ui + k + 3] * vs[vi + k + 3];
+        k += 4;
+      }
+      while (k < n) {
+        dp0 += (double) us[ui + k] * vs[vi + k];
+        k += 1;
+      }
+      return (dp0 + dp1) + (dp2 + dp3);
+    } else {
+      double dp = 0.0;
+      for (int k = 0; k < n; k += 1) {
+        dp += (double) us[ui] * vs[vi];
+        ui += uc;
+        vi += vc;
+      }
+      return dp;
+    }
+  }
+
+  static double dot(int n, float[] us, int ui, int uc, float[] vs, int vi, int vc) {
+    if (uc == 1 && vc == 1) {
+      double dp0 = 0.0;
+      double dp1 = 0.0;
+      double dp2 = 0.0;
+      double dp3 = 0.0;
+      int k = 0;
+      while (k + 3 < n) {
+        dp0 += (double) us[ui + k] * (double) vs[vi + k];
+        dp1 += (double) us[ui + k + 1] * (double) vs[vi + k + 1];
+        dp2 += (double) us[ui + k + 2] * (double) vs[vi + k + 2];
+        dp3 += (double) us[ui + k + 3] * (double) vs[vi + k + 3];
+        k += 4;
+      }
+      while (k < n) {
+        dp0 += (double) us[ui + k] * (double) vs[vi + k];
+        k += 1;
+      }
+      return (dp0 + dp1) + (dp2 + dp3);
+    } else {
+      double dp = 0.0;
+      for (int k = 0; k < n; k += 1) {
+        dp += (double) us[ui] * (double) vs[vi];
+        ui += uc;
+        vi += vc;
+      }
+      return dp;
+    }
+  }
+
+  public static Tensor multiplyVector(Tensor u, Tensor v) {
+    return multiplyVector(u, false, v, TensorDims.of(u.dims.next.size), u.precision().max(v.precision()));
+  }
+
+  public static void multiplyVector(Tensor u, boolean ut, Tensor v, MutableTensor w) {
+    multiplyVector(u.dims, u.array, u.offset, ut, v.dims, v.array, v.offset, w.dims, w.array, w.offset);
+  }
+
+  public static Tensor multiplyVector(Tensor u, boolean ut, Tensor v, TensorDims wd, Precision wp) {
+    final Object ws;
+    if (wp.isDouble()) {
+      ws = new double[wd.size * wd.stride];
+    } else if (wp.isSingle()) {
+      ws = new float[wd.size * wd.stride];
+    } else {
+      throw new AssertionError();
+    }
+    multiplyVector(u.dims, u.array, u.offset, ut, v.dims, v.array, v.offset, wd, ws, 0);
+    return new Tensor(wd, ws, 0);
+  }
+
+  /**
+   * Multiplies the matrix {@code u}, laid out as in {@link
+   * #multiplyMatrix(TensorDims, Object, int, boolean, TensorDims, Object,
+   * int, boolean, TensorDims, Object, int, boolean) multiplyMatrix}, by the
+   * vector {@code v}, and stores the product in the vector {@code w}.  Rows
+   * of unit stride are reduced with {@code dot}; matrices with columns of
+   * unit stride accumulate scaled columns directly into a packed {@code
+   * double} result, so that both layouts stream through memory in order.
+   */
+  public static void multiplyVector(TensorDims ud, Object us, int ui, boolean ut,
+                                    TensorDims vd, Object vs, int vi,
+                                    TensorDims wd, Object ws, int wi) {
+    if (ud.rank() != 2 || vd.rank() != 1 || wd.rank() != 1) {
+      throw new DimensionException();
+    }
+    final int m = ut ? ud.size : ud.next.size;
+    final int n = ut ? ud.next.size : ud.size;
+    if (vd.size != n || wd.size != m) {
+      throw new DimensionException();
+    }
+    final int uc = ut ? ud.next.stride : ud.stride;
+    final int ur = ut ? ud.stride : ud.next.stride;
+    if (ur == 1 && uc != 1 && wd.stride == 1 && ws instanceof double[]) {
+      final double[] wa = (double[]) ws;
+      Arrays.fill(wa, wi, wi + m, 0.0);
+      for (int d = 0; d < n; d += 1) {
+        final double a;
+        if (vs instanceof double[]) {
+          a = ((double[]) vs)[vi];
+        } else if (vs instanceof float[]) {
+          a = (double) ((float[]) vs)[vi];
+        } else {
+          throw new AssertionError();
+        }
+        if (us instanceof double[]) {
+          final double[] ua = (double[]) us;
+          for (int k = 0; k < m; k += 1) {
+            wa[wi + k] += a * ua[ui + k];
+          }
+        } else if (us instanceof float[]) {
+          final float[] ua = (float[]) us;
+          for (int k = 0; k < m; k += 1) {
+            wa[wi + k] += a * (double) ua[ui + k];
+          }
+        } else {
+          throw new AssertionError();
+        }
+        ui += uc;
+        vi += vd.stride;
+      }
+    } else {
+      for (int i = 0; i < m; i += 1) {
+        final double dp = dot(n, us, ui, uc, vs, vi, vd.stride);
+        if (ws instanceof double[]) {
+          ((double[]) ws)[wi] = dp;
+        } else if (ws instanceof float[]) {
+          ((float[]) ws)[wi] = (float) dp;
+        } else {
+          throw new AssertionError();
+        }
+        ui += ur;
+        wi += wd.stride;
+      }
+    }
+  }
+
   public static Tensor combine(double a, Tensor u, double b, Tensor v) {
     return combine(a, u, b, v, u.dims, u.precision().max(v.precision()));
   }
@@ -1782,17 +2239,23 @@ public class Tensor implements Debug {
         combine(a, ud.next, us, ui, b, vd.next, vs, vi, wd.next, ws, wi);
         ui += ud.stride;
         vi += vd.stride;
-        wi += ud.stride;
+        wi += wd.stride;
       }
     } else {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = a * us[ui] + b * vs[vi];
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += ud.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = a * us[ui + k] + b * vs[vi + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = a * us[ui] + b * vs[vi];
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -1812,17 +2275,23 @@ public class Tensor implements Debug {
         combine(a, ud.next, us, ui, b, vd.next, vs, vi, wd.next, ws, wi);
         ui += ud.stride;
         vi += vd.stride;
-        wi += ud.stride;
+        wi += wd.stride;
       }
     } else {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) (a * us[ui] + b * vs[vi]);
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += ud.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) (a * us[ui + k] + b * vs[vi + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) (a * us[ui] + b * vs[vi]);
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -1842,17 +2311,23 @@ public class Tensor implements Debug {
         combine(a, ud.next, us, ui, b, vd.next, vs, vi, wd.next, ws, wi);
         ui += ud.stride;
         vi += vd.stride;
-        wi += ud.stride;
+        wi += wd.stride;
       }
     } else {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = a * us[ui] + b * (double) vs[vi];
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += ud.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = a * us[ui + k] + b * (double) vs[vi + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = a * us[ui] + b * (double) vs[vi];
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -1872,17 +2347,23 @@ public class Tensor implements Debug {
         combine(a, ud.next, us, ui, b, vd.next, vs, vi, wd.next, ws, wi);
         ui += ud.stride;
         vi += vd.stride;
-        wi += ud.stride;
+        wi += wd.stride;
       }
     } else {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) (a * us[ui] + b * (double) vs[vi]);
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += ud.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) (a * us[ui + k] + b * (double) vs[vi + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) (a * us[ui] + b * (double) vs[vi]);
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -1902,17 +2383,23 @@ public class Tensor implements Debug {
         combine(a, ud.next, us, ui, b, vd.next, vs, vi, wd.next, ws, wi);
         ui += ud.stride;
         vi += vd.stride;
-        wi += ud.stride;
+        wi += wd.stride;
       }
     } else {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = a * (double) us[ui] + b * vs[vi];
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += ud.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = a * (double) us[ui + k] + b * vs[vi + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = a * (double) us[ui] + b * vs[vi];
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -1932,17 +2419,23 @@ public class Tensor implements Debug {
         combine(a, ud.next, us, ui, b, vd.next, vs, vi, wd.next, ws, wi);
         ui += ud.stride;
         vi += vd.stride;
-        wi += ud.stride;
+        wi += wd.stride;
       }
     } else {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) (a * (double) us[ui] + b * vs[vi]);
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += ud.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) (a * (double) us[ui + k] + b * vs[vi + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) (a * (double) us[ui] + b * vs[vi]);
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -1962,17 +2455,23 @@ public class Tensor implements Debug {
         combine(a, ud.next, us, ui, b, vd.next, vs, vi, wd.next, ws, wi);
         ui += ud.stride;
         vi += vd.stride;
-        wi += ud.stride;
+        wi += wd.stride;
       }
     } else {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = a * (double) us[ui] + b * (double) vs[vi];
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += ud.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = a * (double) us[ui + k] + b * (double) vs[vi + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = a * (double) us[ui] + b * (double) vs[vi];
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -1992,17 +2491,23 @@ public class Tensor implements Debug {
         combine(a, ud.next, us, ui, b, vd.next, vs, vi, wd.next, ws, wi);
         ui += ud.stride;
         vi += vd.stride;
-        wi += ud.stride;
+        wi += wd.stride;
       }
     } else {
       if (ud.next != null || vd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) (a * (double) us[ui] + b * (double) vs[vi]);
-        ui += ud.stride;
-        vi += vd.stride;
-        wi += ud.stride;
+      if (ud.stride == 1 && vd.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) (a * (double) us[ui + k] + b * (double) vs[vi + k]);
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) (a * (double) us[ui] + b * (double) vs[vi]);
+          ui += ud.stride;
+          vi += vd.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -2301,10 +2806,16 @@ public class Tensor implements Debug {
       if (wd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (float) us[ui];
-        ui += ud.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (float) us[ui + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (float) us[ui];
+          ui += ud.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -2328,10 +2839,16 @@ public class Tensor implements Debug {
       if (wd.next != null) {
         throw new DimensionException();
       }
-      while (wi < wn) {
-        ws[wi] = (double) us[ui];
-        ui += ud.stride;
-        wi += wd.stride;
+      if (ud.stride == 1 && wd.stride == 1) {
+        for (int k = 0; k < wd.size; k += 1) {
+          ws[wi + k] = (double) us[ui + k];
+        }
+      } else {
+        while (wi < wn) {
+          ws[wi] = (double) us[ui];
+          ui += ud.stride;
+          wi += wd.stride;
+        }
       }
     }
   }
@@ -2429,6 +2946,14 @@ public class Tensor implements Debug {
     return multiplyMatrix(this, that);
   }
 
+  public final Tensor timesVector(Tensor that) {
+    return multiplyVector(this, that);
+  }
+
+  public final double dot(Tensor that) {
+    return dot(this, that);
+  }
+
   public final double[] getDoubleArray() {
     if (array instanceof double[]) {
       return (double[]) this.array;
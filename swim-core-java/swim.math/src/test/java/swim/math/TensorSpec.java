@@ -53,4 +53,64 @@ public class TensorSpec {
     assertEquals(w, new Tensor(wd, new double[] {4, 10, 18, 4, 10, 18, 4, 10, 18}));
   }
 
+  @Test
+  public void testAddPackedAndStrided() {
+    final TensorDims packed = TensorDims.of(5);
+    final TensorDims strided = TensorDims.of(5, 2);
+    final Tensor u = new Tensor(packed, new double[] {1, 2, 3, 4, 5});
+    final Tensor v = new Tensor(strided, new double[] {6, 0, 7, 0, 8, 0, 9, 0, 10, 0});
+    assertEquals(Tensor.add(u, u, packed, Precision.f64()), new Tensor(packed, new double[] {2, 4, 6, 8, 10}));
+    assertEquals(Tensor.add(u, v, packed, Precision.f64()), new Tensor(packed, new double[] {7, 9, 11, 13, 15}));
+    assertEquals(Tensor.multiply(v, u, packed, Precision.f32()), new Tensor(packed, new float[] {6, 14, 24, 36, 50}));
+  }
+
+  @Test
+  public void testDot() {
+    final TensorDims dims = TensorDims.of(7);
+    final Tensor u = new Tensor(dims, new double[] {1, 2, 3, 4, 5, 6, 7});
+    final Tensor v = new Tensor(dims, new float[] {7, 6, 5, 4, 3, 2, 1});
+    final Tensor w = new Tensor(TensorDims.of(7, 2), new double[] {7, 0, 6, 0, 5, 0, 4, 0, 3, 0, 2, 0, 1, 0});
+    assertEquals(u.dot(u), 140.0);
+    assertEquals(u.dot(v), 84.0);
+    assertEquals(u.dot(w), 84.0);
+    final TensorDims md = TensorDims.of(2).by(2);
+    final Tensor a = new Tensor(md, new double[] {1, 2, 3, 4});
+    assertEquals(a.dot(a), 30.0);
+  }
+
+  @Test
+  public void testMatrixMultiplyVector() {
+    final TensorDims ud = TensorDims.of(2).by(3);
+    final Tensor u = new Tensor(ud, new double[] {1, 4, 2, 5, 3, 6});
+    final Tensor v = new Tensor(TensorDims.of(3), new double[] {1, 1, 2});
+    assertEquals(u.timesVector(v), new Tensor(TensorDims.of(2), new double[] {9, 21}));
+
+    final Tensor uf = new Tensor(ud, new float[] {1, 4, 2, 5, 3, 6});
+    final TensorDims wd = TensorDims.of(2);
+    assertEquals(Tensor.multiplyVector(uf, false, v, wd, Precision.f32()), new Tensor(wd, new float[] {9, 21}));
+
+    final TensorDims td = TensorDims.of(3).by(2);
+    final Tensor ut = new Tensor(td, new double[] {1, 2, 3, 4, 5, 6});
+    assertEquals(Tensor.multiplyVector(ut, true, v, wd, Precision.f64()), new Tensor(wd, new double[] {9, 21}));
+  }
+
+  @Test
+  public void testCombineIntoStridedOutput() {
+    final TensorDims packed = TensorDims.of(3);
+    final TensorDims strided = TensorDims.of(3, 2);
+    final double[] ws = new double[6];
+    Tensor.combine(2.0, packed, new double[] {1, 2, 3}, 0,
+                   1.0, packed, new double[] {4, 5, 6}, 0,
+                   strided, ws, 0);
+    assertEquals(ws, new double[] {6, 0, 9, 0, 12, 0});
+
+    final TensorDims md = TensorDims.of(2).by(2);
+    final TensorDims pd = TensorDims.of(2).by(2, 3);
+    final float[] ps = new float[6];
+    Tensor.combine(1.0, md, new double[] {1, 2, 3, 4}, 0,
+                   1.0, md, new double[] {1, 1, 1, 1}, 0,
+                   pd, ps, 0);
+    assertEquals(ps, new float[] {2, 3, 0, 4, 5, 0});
+  }
+
 }
@@ -24,6 +24,7 @@ module swim.protobuf {
   exports swim.protobuf;
   exports swim.protobuf.schema;
   exports swim.protobuf.decoder;
+  exports swim.protobuf.encoder;
   exports swim.protobuf.reflection;
   exports swim.protobuf.structure;
 }
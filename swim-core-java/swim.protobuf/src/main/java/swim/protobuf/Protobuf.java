@@ -15,8 +15,11 @@
 package swim.protobuf;
 
 import swim.codec.Decoder;
+import swim.codec.Encoder;
 import swim.codec.InputBuffer;
+import swim.codec.OutputBuffer;
 import swim.protobuf.decoder.ProtobufDecoder;
+import swim.protobuf.encoder.ProtobufEncoder;
 import swim.protobuf.schema.ProtobufMessageType;
 import swim.protobuf.schema.ProtobufType;
 
@@ -30,6 +33,7 @@ public final class Protobuf {
   }
 
   private static ProtobufDecoder decoder;
+  private static ProtobufEncoder encoder;
 
   public static ProtobufDecoder decoder() {
     if (decoder == null) {
@@ -54,4 +58,31 @@ public final class Protobuf {
     return decoder().payloadDecoder(type);
   }
 
+  public static ProtobufEncoder encoder() {
+    if (encoder == null) {
+      encoder = new ProtobufEncoder();
+    }
+    return encoder;
+  }
+
+  public static <T> Encoder<?, T> encodeType(ProtobufType<T> type, T value, OutputBuffer<?> output) {
+    return encoder().encodeType(type, value, output);
+  }
+
+  public static <T> Encoder<?, T> typeEncoder(ProtobufType<T> type, T value) {
+    return encoder().typeEncoder(type, value);
+  }
+
+  public static <T> Encoder<?, T> encodePayload(ProtobufMessageType<T, ?> type, T value, OutputBuffer<?> output) {
+    return encoder().encodePayload(type, value, output);
+  }
+
+  public static <T> Encoder<?, T> payloadEncoder(ProtobufMessageType<T, ?> type, T value) {
+    return encoder().payloadEncoder(type, value);
+  }
+
+  public static <T> long sizeOfPayload(ProtobufMessageType<T, ?> type, T value) {
+    return encoder().sizeOfPayload(type, value);
+  }
+
 }
@@ -0,0 +1,54 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.protobuf.encoder;
+
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+
+final class Fixed32Encoder<T> extends Encoder<Object, T> {
+
+  final T value;
+  final int bits;
+  final int shift;
+
+  Fixed32Encoder(T value, int bits, int shift) {
+    this.value = value;
+    this.bits = bits;
+    this.shift = shift;
+  }
+
+  @Override
+  public Encoder<Object, T> pull(OutputBuffer<?> output) {
+    return encode(output, this.value, this.bits, this.shift);
+  }
+
+  static <T> Encoder<Object, T> encode(OutputBuffer<?> output, T value, int bits, int shift) {
+    while (output.isCont()) {
+      output = output.write((bits >>> shift) & 0xff);
+      shift += 8;
+      if (shift == 32) {
+        return done(value);
+      }
+    }
+    if (output.isDone()) {
+      return error(new EncoderException("truncated"));
+    } else if (output.isError()) {
+      return error(output.trap());
+    }
+    return new Fixed32Encoder<T>(value, bits, shift);
+  }
+
+}
@@ -0,0 +1,185 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.protobuf.encoder;
+
+import java.util.Iterator;
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+import swim.protobuf.schema.ProtobufFieldType;
+import swim.protobuf.schema.ProtobufMessageType;
+import swim.protobuf.schema.ProtobufRepeatedType;
+import swim.protobuf.schema.ProtobufType;
+
+final class MessageEncoder<T, M> extends Encoder<Object, T> {
+
+  final ProtobufEncoder protobuf;
+  final ProtobufMessageType<T, M> type;
+  final T value;
+  final M message;
+  final Iterator<ProtobufFieldType<?, M>> fields;
+  final Iterator<?> items;
+  final ProtobufType<?> itemType;
+  final ProtobufType<?> fieldType;
+  final Object fieldValue;
+  final Encoder<?, ?> valueEncoder;
+  final long fieldNumber;
+  final long varint;
+  final int step;
+
+  MessageEncoder(ProtobufEncoder protobuf, ProtobufMessageType<T, M> type, T value,
+                 M message, Iterator<ProtobufFieldType<?, M>> fields, Iterator<?> items,
+                 ProtobufType<?> itemType, ProtobufType<?> fieldType, Object fieldValue,
+                 Encoder<?, ?> valueEncoder, long fieldNumber, long varint, int step) {
+    this.protobuf = protobuf;
+    this.type = type;
+    this.value = value;
+    this.message = message;
+    this.fields = fields;
+    this.items = items;
+    this.itemType = itemType;
+    this.fieldType = fieldType;
+    this.fieldValue = fieldValue;
+    this.valueEncoder = valueEncoder;
+    this.fieldNumber = fieldNumber;
+    this.varint = varint;
+    this.step = step;
+  }
+
+  MessageEncoder(ProtobufEncoder protobuf, ProtobufMessageType<T, M> type, T value, boolean sized) {
+    this(protobuf, type, value, null, null, null, null, null, null, null, 0L, 0L, sized ? 1 : 3);
+  }
+
+  @Override
+  public Encoder<Object, T> pull(OutputBuffer<?> output) {
+    return encode(output, this.protobuf, this.type, this.value, this.message, this.fields,
+                  this.items, this.itemType, this.fieldType, this.fieldValue,
+                  this.valueEncoder, this.fieldNumber, this.varint, this.step);
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T, M> Encoder<Object, T> encode(OutputBuffer<?> output, ProtobufEncoder protobuf,
+                                          ProtobufMessageType<T, M> type, T value, M message,
+                                          Iterator<ProtobufFieldType<?, M>> fields, Iterator<?> items,
+                                          ProtobufType<?> itemType, ProtobufType<?> fieldType,
+                                          Object fieldValue, Encoder<?, ?> valueEncoder,
+                                          long fieldNumber, long varint, int step) {
+    if (step == 1) {
+      varint = protobuf.sizeOfPayload(type, value);
+      step = 2;
+    }
+    if (step == 2) {
+      while (output.isCont()) {
+        if ((varint & ~0x7fL) == 0L) {
+          output = output.write((int) varint);
+          step = 3;
+          break;
+        }
+        output = output.write(((int) varint & 0x7f) | 0x80);
+        varint >>>= 7;
+      }
+    }
+    do {
+      if (step == 3) {
+        if (fields == null) {
+          message = type.messageValue(value);
+          fields = type.fieldIterator();
+        }
+        do {
+          if (items != null) {
+            if (items.hasNext()) {
+              fieldType = itemType;
+              fieldValue = items.next();
+              varint = fieldNumber << 3 | (long) itemType.wireType().code;
+              step = 4;
+              break;
+            }
+            items = null;
+            itemType = null;
+          }
+          if (!fields.hasNext()) {
+            return done(value);
+          }
+          ProtobufFieldType<?, M> field = fields.next();
+          fieldNumber = field.fieldNumber();
+          final ProtobufFieldType<?, M> packedField = field.packedType();
+          if (packedField != null) {
+            field = packedField;
+          }
+          fieldValue = field.get(message);
+          if (fieldValue == null) {
+            continue;
+          }
+          fieldType = field.valueType();
+          if (fieldType instanceof ProtobufRepeatedType<?, ?>) {
+            // Repeated fields are written one item per tag, which every
+            // decoder accepts, whether or not the field was declared packed.
+            final ProtobufRepeatedType<?, Object> repeatedType = (ProtobufRepeatedType<?, Object>) fieldType;
+            items = repeatedType.itemIterator(fieldValue);
+            itemType = repeatedType.itemType();
+            fieldType = null;
+            fieldValue = null;
+            continue;
+          }
+          varint = fieldNumber << 3 | (long) fieldType.wireType().code;
+          step = 4;
+          break;
+        } while (true);
+      }
+      if (step == 4) {
+        while (output.isCont()) {
+          if ((varint & ~0x7fL) == 0L) {
+            output = output.write((int) varint);
+            step = 5;
+            break;
+          }
+          output = output.write(((int) varint & 0x7f) | 0x80);
+          varint >>>= 7;
+        }
+      }
+      if (step == 5) {
+        if (valueEncoder == null) {
+          valueEncoder = protobuf.encodeType((ProtobufType<Object>) fieldType, fieldValue, output);
+        } else {
+          valueEncoder = valueEncoder.pull(output);
+        }
+        if (valueEncoder.isDone()) {
+          fieldType = null;
+          fieldValue = null;
+          valueEncoder = null;
+          step = 3;
+          continue;
+        } else if (valueEncoder.isError()) {
+          return valueEncoder.asError();
+        }
+      }
+      break;
+    } while (true);
+    if (output.isDone()) {
+      return error(new EncoderException("truncated"));
+    } else if (output.isError()) {
+      return error(output.trap());
+    }
+    return new MessageEncoder<T, M>(protobuf, type, value, message, fields, items, itemType,
+                                    fieldType, fieldValue, valueEncoder, fieldNumber, varint, step);
+  }
+
+  static <T, M> Encoder<Object, T> encode(OutputBuffer<?> output, ProtobufEncoder protobuf,
+                                          ProtobufMessageType<T, M> type, T value, boolean sized) {
+    return encode(output, protobuf, type, value, null, null, null, null, null, null, null,
+                  0L, 0L, sized ? 1 : 3);
+  }
+
+}
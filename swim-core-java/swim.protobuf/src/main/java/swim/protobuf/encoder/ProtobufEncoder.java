@@ -0,0 +1,260 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.protobuf.encoder;
+
+import java.util.Iterator;
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+import swim.codec.Utf8;
+import swim.protobuf.schema.ProtobufComplexType;
+import swim.protobuf.schema.ProtobufDataType;
+import swim.protobuf.schema.ProtobufFieldType;
+import swim.protobuf.schema.ProtobufFixed32Type;
+import swim.protobuf.schema.ProtobufFixed64Type;
+import swim.protobuf.schema.ProtobufMessageType;
+import swim.protobuf.schema.ProtobufPrimitiveType;
+import swim.protobuf.schema.ProtobufRepeatedType;
+import swim.protobuf.schema.ProtobufStringType;
+import swim.protobuf.schema.ProtobufType;
+import swim.protobuf.schema.ProtobufVarintType;
+import swim.protobuf.schema.ProtobufZigZagType;
+
+public class ProtobufEncoder {
+
+  public <T> Encoder<?, T> encodeType(ProtobufType<T> type, T value, OutputBuffer<?> output) {
+    if (type instanceof ProtobufPrimitiveType<?>) {
+      return encodePrimitive((ProtobufPrimitiveType<T>) type, value, output);
+    } else if (type instanceof ProtobufComplexType<?>) {
+      return encodeComplex((ProtobufComplexType<T>) type, value, output);
+    } else {
+      return Encoder.error(new EncoderException("unsupported protobuf type: " + type));
+    }
+  }
+
+  public <T> Encoder<?, T> encodePrimitive(ProtobufPrimitiveType<T> type, T value, OutputBuffer<?> output) {
+    if (type instanceof ProtobufVarintType<?>) {
+      return encodeVarint((ProtobufVarintType<T>) type, value, output);
+    } else if (type instanceof ProtobufZigZagType<?>) {
+      return encodeZigZag((ProtobufZigZagType<T>) type, value, output);
+    } else if (type instanceof ProtobufFixed32Type<?>) {
+      return encodeFixed32((ProtobufFixed32Type<T>) type, value, output);
+    } else if (type instanceof ProtobufFixed64Type<?>) {
+      return encodeFixed64((ProtobufFixed64Type<T>) type, value, output);
+    } else {
+      return Encoder.error(new EncoderException("unsupported protobuf type: " + type));
+    }
+  }
+
+  public <T> Encoder<?, T> encodeComplex(ProtobufComplexType<T> type, T value, OutputBuffer<?> output) {
+    if (type instanceof ProtobufDataType<?>) {
+      return encodeData((ProtobufDataType<T>) type, value, output);
+    } else if (type instanceof ProtobufStringType<?>) {
+      return encodeString((ProtobufStringType<T>) type, value, output);
+    } else if (type instanceof ProtobufMessageType<?, ?>) {
+      return encodeMessage((ProtobufMessageType<T, ?>) type, value, output);
+    } else if (type instanceof ProtobufRepeatedType<?, ?>) {
+      return encodeRepeated((ProtobufRepeatedType<?, T>) type, value, output);
+    } else {
+      return Encoder.error(new EncoderException("unsupported protobuf type: " + type));
+    }
+  }
+
+  public <T> Encoder<?, T> encodeVarint(ProtobufVarintType<T> type, T value, OutputBuffer<?> output) {
+    return VarintEncoder.encode(output, value, type.longValue(value));
+  }
+
+  public <T> Encoder<?, T> encodeZigZag(ProtobufZigZagType<T> type, T value, OutputBuffer<?> output) {
+    return VarintEncoder.encode(output, value, VarintEncoder.zigZag(type.longValue(value)));
+  }
+
+  public <T> Encoder<?, T> encodeFixed32(ProtobufFixed32Type<T> type, T value, OutputBuffer<?> output) {
+    return Fixed32Encoder.encode(output, value, type.intValue(value), 0);
+  }
+
+  public <T> Encoder<?, T> encodeFixed64(ProtobufFixed64Type<T> type, T value, OutputBuffer<?> output) {
+    return Fixed64Encoder.encode(output, value, type.longValue(value), 0);
+  }
+
+  public <T> Encoder<?, T> encodeData(ProtobufDataType<T> type, T value, OutputBuffer<?> output) {
+    return DataEncoder.encode(output, value, type.byteBufferValue(value));
+  }
+
+  public <T> Encoder<?, T> encodeString(ProtobufStringType<T> type, T value, OutputBuffer<?> output) {
+    return StringEncoder.encode(output, value, type.stringValue(value));
+  }
+
+  public <T, M> Encoder<?, T> encodeMessage(ProtobufMessageType<T, M> type, T value, OutputBuffer<?> output) {
+    return MessageEncoder.encode(output, this, type, value, true);
+  }
+
+  public <T, M> Encoder<?, T> encodePayload(ProtobufMessageType<T, M> type, T value, OutputBuffer<?> output) {
+    return MessageEncoder.encode(output, this, type, value, false);
+  }
+
+  public <I, T> Encoder<?, T> encodeRepeated(ProtobufRepeatedType<I, T> type, T value, OutputBuffer<?> output) {
+    return RepeatedEncoder.encode(output, this, type, value);
+  }
+
+  public <T> Encoder<?, T> typeEncoder(ProtobufType<T> type, T value) {
+    if (type instanceof ProtobufPrimitiveType<?>) {
+      return primitiveEncoder((ProtobufPrimitiveType<T>) type, value);
+    } else if (type instanceof ProtobufComplexType<?>) {
+      return complexEncoder((ProtobufComplexType<T>) type, value);
+    } else {
+      return Encoder.error(new EncoderException("unsupported protobuf type: " + type));
+    }
+  }
+
+  public <T> Encoder<?, T> primitiveEncoder(ProtobufPrimitiveType<T> type, T value) {
+    if (type instanceof ProtobufVarintType<?>) {
+      return varintEncoder((ProtobufVarintType<T>) type, value);
+    } else if (type instanceof ProtobufZigZagType<?>) {
+      return zigZagEncoder((ProtobufZigZagType<T>) type, value);
+    } else if (type instanceof ProtobufFixed32Type<?>) {
+      return fixed32Encoder((ProtobufFixed32Type<T>) type, value);
+    } else if (type instanceof ProtobufFixed64Type<?>) {
+      return fixed64Encoder((ProtobufFixed64Type<T>) type, value);
+    } else {
+      return Encoder.error(new EncoderException("unsupported protobuf type: " + type));
+    }
+  }
+
+  public <T> Encoder<?, T> complexEncoder(ProtobufComplexType<T> type, T value) {
+    if (type instanceof ProtobufDataType<?>) {
+      return dataEncoder((ProtobufDataType<T>) type, value);
+    } else if (type instanceof ProtobufStringType<?>) {
+      return stringEncoder((ProtobufStringType<T>) type, value);
+    } else if (type instanceof ProtobufMessageType<?, ?>) {
+      return messageEncoder((ProtobufMessageType<T, ?>) type, value);
+    } else if (type instanceof ProtobufRepeatedType<?, ?>) {
+      return repeatedEncoder((ProtobufRepeatedType<?, T>) type, value);
+    } else {
+      return Encoder.error(new EncoderException("unsupported protobuf type: " + type));
+    }
+  }
+
+  public <T> Encoder<?, T> varintEncoder(ProtobufVarintType<T> type, T value) {
+    return new VarintEncoder<T>(value, type.longValue(value));
+  }
+
+  public <T> Encoder<?, T> zigZagEncoder(ProtobufZigZagType<T> type, T value) {
+    return new VarintEncoder<T>(value, VarintEncoder.zigZag(type.longValue(value)));
+  }
+
+  public <T> Encoder<?, T> fixed32Encoder(ProtobufFixed32Type<T> type, T value) {
+    return new Fixed32Encoder<T>(value, type.intValue(value), 0);
+  }
+
+  public <T> Encoder<?, T> fixed64Encoder(ProtobufFixed64Type<T> type, T value) {
+    return new Fixed64Encoder<T>(value, type.longValue(value), 0);
+  }
+
+  public <T> Encoder<?, T> dataEncoder(ProtobufDataType<T> type, T value) {
+    return new DataEncoder<T>(value, type.byteBufferValue(value));
+  }
+
+  public <T> Encoder<?, T> stringEncoder(ProtobufStringType<T> type, T value) {
+    return new StringEncoder<T>(value, type.stringValue(value));
+  }
+
+  public <T, M> Encoder<?, T> messageEncoder(ProtobufMessageType<T, M> type, T value) {
+    return new MessageEncoder<T, M>(this, type, value, true);
+  }
+
+  public <T, M> Encoder<?, T> payloadEncoder(ProtobufMessageType<T, M> type, T value) {
+    return new MessageEncoder<T, M>(this, type, value, false);
+  }
+
+  public <I, T> Encoder<?, T> repeatedEncoder(ProtobufRepeatedType<I, T> type, T value) {
+    return new RepeatedEncoder<I, T>(this, type, value);
+  }
+
+  /**
+   * Returns the number of bytes needed to encode {@code value} as the given
+   * {@code type}, including the length prefix of sized types.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> long sizeOf(ProtobufType<T> type, T value) {
+    if (type instanceof ProtobufVarintType<?>) {
+      return (long) VarintEncoder.sizeOf(((ProtobufVarintType<T>) type).longValue(value));
+    } else if (type instanceof ProtobufZigZagType<?>) {
+      return (long) VarintEncoder.sizeOf(VarintEncoder.zigZag(((ProtobufZigZagType<T>) type).longValue(value)));
+    } else if (type instanceof ProtobufFixed32Type<?>) {
+      return 4L;
+    } else if (type instanceof ProtobufFixed64Type<?>) {
+      return 8L;
+    } else if (type instanceof ProtobufDataType<?>) {
+      return sizeOfSized((long) ((ProtobufDataType<T>) type).byteBufferValue(value).remaining());
+    } else if (type instanceof ProtobufStringType<?>) {
+      return sizeOfSized((long) Utf8.sizeOf(((ProtobufStringType<T>) type).stringValue(value)));
+    } else if (type instanceof ProtobufMessageType<?, ?>) {
+      return sizeOfSized(sizeOfPayload((ProtobufMessageType<T, ?>) type, value));
+    } else if (type instanceof ProtobufRepeatedType<?, ?>) {
+      final ProtobufRepeatedType<Object, T> repeatedType = (ProtobufRepeatedType<Object, T>) type;
+      final ProtobufType<Object> itemType = (ProtobufType<Object>) repeatedType.itemType();
+      final Iterator<?> items = repeatedType.itemIterator(value);
+      long size = 0L;
+      while (items.hasNext()) {
+        size += sizeOf(itemType, items.next());
+      }
+      return size;
+    } else {
+      throw new EncoderException("unsupported protobuf type: " + type);
+    }
+  }
+
+  /**
+   * Returns the number of bytes needed to encode the fields of {@code value},
+   * excluding the length prefix of the message.
+   */
+  @SuppressWarnings("unchecked")
+  public <T, M> long sizeOfPayload(ProtobufMessageType<T, M> type, T value) {
+    final M message = type.messageValue(value);
+    final Iterator<ProtobufFieldType<?, M>> fields = type.fieldIterator();
+    long size = 0L;
+    while (fields.hasNext()) {
+      ProtobufFieldType<?, M> field = fields.next();
+      final long fieldNumber = field.fieldNumber();
+      final ProtobufFieldType<?, M> packedField = field.packedType();
+      if (packedField != null) {
+        field = packedField;
+      }
+      final Object fieldValue = field.get(message);
+      if (fieldValue == null) {
+        continue;
+      }
+      final ProtobufType<Object> fieldType = (ProtobufType<Object>) field.valueType();
+      if (fieldType instanceof ProtobufRepeatedType<?, ?>) {
+        final ProtobufRepeatedType<?, Object> repeatedType = (ProtobufRepeatedType<?, Object>) fieldType;
+        final ProtobufType<Object> itemType = (ProtobufType<Object>) repeatedType.itemType();
+        final int tagSize = VarintEncoder.sizeOf(fieldNumber << 3 | (long) itemType.wireType().code);
+        final Iterator<?> items = repeatedType.itemIterator(fieldValue);
+        while (items.hasNext()) {
+          size += (long) tagSize + sizeOf(itemType, items.next());
+        }
+      } else {
+        size += (long) VarintEncoder.sizeOf(fieldNumber << 3 | (long) fieldType.wireType().code)
+              + sizeOf(fieldType, fieldValue);
+      }
+    }
+    return size;
+  }
+
+  static long sizeOfSized(long length) {
+    return (long) VarintEncoder.sizeOf(length) + length;
+  }
+
+}
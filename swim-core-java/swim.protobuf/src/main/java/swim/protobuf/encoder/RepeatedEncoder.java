@@ -0,0 +1,87 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.protobuf.encoder;
+
+import java.util.Iterator;
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+import swim.protobuf.schema.ProtobufRepeatedType;
+import swim.protobuf.schema.ProtobufType;
+
+final class RepeatedEncoder<I, T> extends Encoder<Object, T> {
+
+  final ProtobufEncoder protobuf;
+  final ProtobufRepeatedType<I, T> type;
+  final T value;
+  final Iterator<? extends I> items;
+  final Encoder<?, ?> itemEncoder;
+
+  RepeatedEncoder(ProtobufEncoder protobuf, ProtobufRepeatedType<I, T> type, T value,
+                  Iterator<? extends I> items, Encoder<?, ?> itemEncoder) {
+    this.protobuf = protobuf;
+    this.type = type;
+    this.value = value;
+    this.items = items;
+    this.itemEncoder = itemEncoder;
+  }
+
+  RepeatedEncoder(ProtobufEncoder protobuf, ProtobufRepeatedType<I, T> type, T value) {
+    this(protobuf, type, value, null, null);
+  }
+
+  @Override
+  public Encoder<Object, T> pull(OutputBuffer<?> output) {
+    return encode(output, this.protobuf, this.type, this.value, this.items, this.itemEncoder);
+  }
+
+  @SuppressWarnings("unchecked")
+  static <I, T> Encoder<Object, T> encode(OutputBuffer<?> output, ProtobufEncoder protobuf,
+                                          ProtobufRepeatedType<I, T> type, T value,
+                                          Iterator<? extends I> items, Encoder<?, ?> itemEncoder) {
+    if (items == null) {
+      items = type.itemIterator(value);
+    }
+    do {
+      if (itemEncoder == null) {
+        if (!items.hasNext()) {
+          return done(value);
+        }
+        itemEncoder = protobuf.encodeType((ProtobufType<I>) type.itemType(), items.next(), output);
+      } else {
+        itemEncoder = itemEncoder.pull(output);
+      }
+      if (itemEncoder.isDone()) {
+        itemEncoder = null;
+        continue;
+      } else if (itemEncoder.isError()) {
+        return itemEncoder.asError();
+      }
+      break;
+    } while (true);
+    if (output.isDone()) {
+      return error(new EncoderException("truncated"));
+    } else if (output.isError()) {
+      return error(output.trap());
+    }
+    return new RepeatedEncoder<I, T>(protobuf, type, value, items, itemEncoder);
+  }
+
+  static <I, T> Encoder<Object, T> encode(OutputBuffer<?> output, ProtobufEncoder protobuf,
+                                          ProtobufRepeatedType<I, T> type, T value) {
+    return encode(output, protobuf, type, value, null, null);
+  }
+
+}
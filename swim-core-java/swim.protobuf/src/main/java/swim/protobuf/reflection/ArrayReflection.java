@@ -16,6 +16,8 @@ package swim.protobuf.reflection;
 
 import java.lang.reflect.Array;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import swim.protobuf.schema.ProtobufRepeatedType;
 import swim.protobuf.schema.ProtobufType;
 import swim.util.Builder;
@@ -51,6 +53,11 @@ final class ArrayReflection<I> extends ProtobufRepeatedType<I, Object> {
     return newArray;
   }
 
+  @Override
+  public Iterator<I> itemIterator(Object array) {
+    return new ArrayReflectionIterator<I>(array);
+  }
+
 }
 
 final class ArrayReflectionBuilder<I> implements Builder<I, Object> {
@@ -137,3 +144,31 @@ final class ArrayReflectionBuilder<I> implements Builder<I, Object> {
   }
 
 }
+
+final class ArrayReflectionIterator<I> implements Iterator<I> {
+
+  final Object array;
+  int index;
+
+  ArrayReflectionIterator(Object array) {
+    this.array = array;
+    this.index = 0;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return this.index < Array.getLength(this.array);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public I next() {
+    final int index = this.index;
+    if (index >= Array.getLength(this.array)) {
+      throw new NoSuchElementException();
+    }
+    this.index = index + 1;
+    return (I) Array.get(this.array, index);
+  }
+
+}
@@ -23,4 +23,9 @@ final class BooleanReflection extends ProtobufVarintType<Boolean> {
     return Boolean.valueOf(value != 0L);
   }
 
+  @Override
+  public long longValue(Boolean value) {
+    return value.booleanValue() ? 1L : 0L;
+  }
+
 }
@@ -23,4 +23,9 @@ final class ByteReflection extends ProtobufZigZagType<Byte> {
     return Byte.valueOf((byte) value);
   }
 
+  @Override
+  public long longValue(Byte value) {
+    return value.longValue();
+  }
+
 }
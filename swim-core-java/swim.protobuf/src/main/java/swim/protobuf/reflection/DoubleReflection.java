@@ -23,4 +23,9 @@ final class DoubleReflection extends ProtobufFixed64Type<Double> {
     return Double.valueOf(Double.longBitsToDouble(value));
   }
 
+  @Override
+  public long longValue(Double value) {
+    return Double.doubleToLongBits(value.doubleValue());
+  }
+
 }
@@ -48,4 +48,9 @@ final class EnumReflection<T extends Enum<T>> extends ProtobufVarintType<T> {
     return new EnumReflection<T>(constants);
   }
 
+  @Override
+  public long longValue(T value) {
+    return (long) value.ordinal();
+  }
+
 }
@@ -56,4 +56,14 @@ final class FieldReflection<V, M> extends ProtobufFieldType<V, M> {
     return null;
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public V get(M message) {
+    try {
+      return (V) this.field.get(message);
+    } catch (IllegalAccessException cause) {
+      throw new ProtobufException(cause);
+    }
+  }
+
 }
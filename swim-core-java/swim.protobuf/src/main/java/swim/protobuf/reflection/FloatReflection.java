@@ -23,4 +23,9 @@ final class FloatReflection extends ProtobufFixed32Type<Float> {
     return Float.valueOf(Float.intBitsToFloat(value));
   }
 
+  @Override
+  public int intValue(Float value) {
+    return Float.floatToIntBits(value.floatValue());
+  }
+
 }
@@ -23,4 +23,9 @@ final class IntReflection extends ProtobufZigZagType<Integer> {
     return Integer.valueOf((int) value);
   }
 
+  @Override
+  public long longValue(Integer value) {
+    return value.longValue();
+  }
+
 }
@@ -99,6 +99,11 @@ final class MapKeyReflection<K, V> extends ProtobufFieldType<K, Map.Entry<K, V>>
     return null;
   }
 
+  @Override
+  public K get(Map.Entry<K, V> entry) {
+    return entry.getKey();
+  }
+
 }
 
 final class MapValueReflection<K, V> extends ProtobufFieldType<V, Map.Entry<K, V>> {
@@ -134,4 +139,9 @@ final class MapValueReflection<K, V> extends ProtobufFieldType<V, Map.Entry<K, V
     return null;
   }
 
+  @Override
+  public V get(Map.Entry<K, V> entry) {
+    return entry.getValue();
+  }
+
 }
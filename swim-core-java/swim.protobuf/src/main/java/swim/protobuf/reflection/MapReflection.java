@@ -16,6 +16,7 @@ package swim.protobuf.reflection;
 
 import java.lang.reflect.Constructor;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import swim.protobuf.ProtobufException;
 import swim.protobuf.schema.ProtobufMapEntryType;
@@ -55,6 +56,11 @@ final class MapReflection<K, V> extends ProtobufMapType<K, V, Map.Entry<K, V>, M
     return map;
   }
 
+  @Override
+  public Iterator<Map.Entry<K, V>> itemIterator(Map<K, V> map) {
+    return map.entrySet().iterator();
+  }
+
 }
 
 final class MapReflectionBuilder<K, V> implements Builder<Map.Entry<K, V>, Map<K, V>> {
@@ -15,6 +15,7 @@
 package swim.protobuf.reflection;
 
 import java.lang.reflect.Constructor;
+import java.util.Iterator;
 import swim.collections.BTree;
 import swim.protobuf.ProtobufException;
 import swim.protobuf.schema.ProtobufFieldType;
@@ -58,4 +59,14 @@ final class MessageReflection<T> extends ProtobufMessageType<T, T> {
     return message;
   }
 
+  @Override
+  public Iterator<ProtobufFieldType<?, T>> fieldIterator() {
+    return this.fields.valueIterator();
+  }
+
+  @Override
+  public T messageValue(T message) {
+    return message;
+  }
+
 }
@@ -60,4 +60,18 @@ final class RepeatedFieldReflection<V, M> extends ProtobufFieldType<V, M> {
     return new FieldReflection<>(this.field, this.fieldNumber, this.repeatedType);
   }
 
+  /**
+   * Returns the whole repeated value of the field, the same value that its
+   * {@link #packedType() packed type} gets, rather than a single item.
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public V get(M message) {
+    try {
+      return (V) this.field.get(message);
+    } catch (IllegalAccessException cause) {
+      throw new ProtobufException(cause);
+    }
+  }
+
 }
@@ -23,4 +23,9 @@ final class ShortReflection extends ProtobufZigZagType<Short> {
     return Short.valueOf((short) value);
   }
 
+  @Override
+  public long longValue(Short value) {
+    return value.longValue();
+  }
+
 }
@@ -0,0 +1,150 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.protobuf.schema;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+final class CompiledMessageType<T, M> extends ProtobufMessageType<T, M> {
+
+  final ProtobufMessageType<T, M> messageType;
+  final ProtobufFieldType<?, M>[] fields;
+  final long[] fieldNumbers;
+  final ProtobufFieldType<?, M>[] fieldTable;
+
+  @SuppressWarnings("unchecked")
+  CompiledMessageType(ProtobufMessageType<T, M> messageType) {
+    this.messageType = messageType;
+
+    ProtobufFieldType<?, M>[] fields = (ProtobufFieldType<?, M>[]) new ProtobufFieldType<?, ?>[8];
+    int fieldCount = 0;
+    final Iterator<ProtobufFieldType<?, M>> fieldIterator = messageType.fieldIterator();
+    while (fieldIterator.hasNext()) {
+      if (fieldCount == fields.length) {
+        fields = Arrays.copyOf(fields, fieldCount << 1);
+      }
+      fields[fieldCount] = fieldIterator.next();
+      fieldCount += 1;
+    }
+    if (fieldCount != fields.length) {
+      fields = Arrays.copyOf(fields, fieldCount);
+    }
+    // Fields are usually enumerated in field number order already.
+    for (int i = 1; i < fieldCount; i += 1) {
+      final ProtobufFieldType<?, M> field = fields[i];
+      int j = i - 1;
+      while (j >= 0 && fields[j].fieldNumber() > field.fieldNumber()) {
+        fields[j + 1] = fields[j];
+        j -= 1;
+      }
+      fields[j + 1] = field;
+    }
+    this.fields = fields;
+
+    final long[] fieldNumbers = new long[fieldCount];
+    for (int i = 0; i < fieldCount; i += 1) {
+      fieldNumbers[i] = fields[i].fieldNumber();
+    }
+    this.fieldNumbers = fieldNumbers;
+
+    // Index fields directly by field number when the table stays small,
+    // which is the common case of densely numbered fields.
+    final long maxFieldNumber = fieldCount != 0 ? fieldNumbers[fieldCount - 1] : 0L;
+    if (maxFieldNumber < MAX_TABLE_SIZE && maxFieldNumber < 4L * (long) fieldCount + 16L) {
+      final ProtobufFieldType<?, M>[] fieldTable = (ProtobufFieldType<?, M>[]) new ProtobufFieldType<?, ?>[(int) maxFieldNumber + 1];
+      for (int i = 0; i < fieldCount; i += 1) {
+        final long fieldNumber = fieldNumbers[i];
+        if (fieldNumber >= 0L) {
+          fieldTable[(int) fieldNumber] = fields[i];
+        }
+      }
+      this.fieldTable = fieldTable;
+    } else {
+      this.fieldTable = null;
+    }
+  }
+
+  @Override
+  public ProtobufFieldType<?, M> getField(long fieldNumber) {
+    final ProtobufFieldType<?, M>[] fieldTable = this.fieldTable;
+    if (fieldTable != null) {
+      return fieldNumber >= 0L && fieldNumber < (long) fieldTable.length ? fieldTable[(int) fieldNumber] : null;
+    } else {
+      final int index = Arrays.binarySearch(this.fieldNumbers, fieldNumber);
+      return index >= 0 ? this.fields[index] : null;
+    }
+  }
+
+  @Override
+  public ProtobufMessageType<T, M> field(ProtobufFieldType<?, M> field) {
+    return new CompiledMessageType<T, M>(this.messageType.field(field));
+  }
+
+  @Override
+  public Iterator<ProtobufFieldType<?, M>> fieldIterator() {
+    return new CompiledMessageTypeIterator<M>(this.fields);
+  }
+
+  @Override
+  public M create() {
+    return this.messageType.create();
+  }
+
+  @Override
+  public T cast(M message) {
+    return this.messageType.cast(message);
+  }
+
+  @Override
+  public M messageValue(T value) {
+    return this.messageType.messageValue(value);
+  }
+
+  @Override
+  public ProtobufMessageType<T, M> compile() {
+    return this;
+  }
+
+  static final long MAX_TABLE_SIZE = 1024L;
+
+}
+
+final class CompiledMessageTypeIterator<M> implements Iterator<ProtobufFieldType<?, M>> {
+
+  final ProtobufFieldType<?, M>[] fields;
+  int index;
+
+  CompiledMessageTypeIterator(ProtobufFieldType<?, M>[] fields) {
+    this.fields = fields;
+    this.index = 0;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return this.index < this.fields.length;
+  }
+
+  @Override
+  public ProtobufFieldType<?, M> next() {
+    final int index = this.index;
+    if (index >= this.fields.length) {
+      throw new NoSuchElementException();
+    }
+    this.index = index + 1;
+    return this.fields[index];
+  }
+
+}
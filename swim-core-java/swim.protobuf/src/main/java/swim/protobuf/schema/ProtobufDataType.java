@@ -14,6 +14,7 @@
 
 package swim.protobuf.schema;
 
+import java.nio.ByteBuffer;
 import swim.codec.Decoder;
 import swim.codec.InputBuffer;
 import swim.protobuf.ProtobufWireType;
@@ -27,4 +28,6 @@ public abstract class ProtobufDataType<T> extends ProtobufComplexType<T> {
 
   public abstract Decoder<T> decodeData(InputBuffer input);
 
+  public abstract ByteBuffer byteBufferValue(T value);
+
 }
@@ -24,4 +24,6 @@ public abstract class ProtobufFieldType<V, M> {
 
   public abstract ProtobufFieldType<?, M> packedType();
 
+  public abstract V get(M message);
+
 }
@@ -25,4 +25,6 @@ public abstract class ProtobufFixed32Type<T> extends ProtobufPrimitiveType<T> {
 
   public abstract T cast(int value);
 
+  public abstract int intValue(T value);
+
 }
@@ -25,4 +25,6 @@ public abstract class ProtobufFixed64Type<T> extends ProtobufPrimitiveType<T> {
 
   public abstract T cast(long value);
 
+  public abstract long longValue(T value);
+
 }
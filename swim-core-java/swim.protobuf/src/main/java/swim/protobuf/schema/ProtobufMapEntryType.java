@@ -14,6 +14,9 @@
 
 package swim.protobuf.schema;
 
+import java.util.Arrays;
+import java.util.Iterator;
+
 public abstract class ProtobufMapEntryType<K, V, E> extends ProtobufMessageType<E, E> {
 
   public abstract ProtobufFieldType<? extends K, E> keyField();
@@ -36,4 +39,15 @@ public abstract class ProtobufMapEntryType<K, V, E> extends ProtobufMessageType<
     throw new UnsupportedOperationException();
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public Iterator<ProtobufFieldType<?, E>> fieldIterator() {
+    return Arrays.<ProtobufFieldType<?, E>>asList(keyField(), valueField()).iterator();
+  }
+
+  @Override
+  public E messageValue(E entry) {
+    return entry;
+  }
+
 }
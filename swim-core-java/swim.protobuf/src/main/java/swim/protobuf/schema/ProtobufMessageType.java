@@ -14,6 +14,7 @@
 
 package swim.protobuf.schema;
 
+import java.util.Iterator;
 import swim.protobuf.ProtobufWireType;
 
 public abstract class ProtobufMessageType<T, M> extends ProtobufComplexType<T> {
@@ -31,4 +32,20 @@ public abstract class ProtobufMessageType<T, M> extends ProtobufComplexType<T> {
 
   public abstract T cast(M message);
 
+  public abstract Iterator<ProtobufFieldType<?, M>> fieldIterator();
+
+  public abstract M messageValue(T value);
+
+  /**
+   * Returns a message type with the same fields as this message type, whose
+   * fields are looked up in a table indexed by field number, instead of being
+   * searched for, when decoding, and whose fields are enumerated from a
+   * precomputed array, when encoding. Nested message types are not compiled;
+   * compile them before adding them as fields to have every level of a message
+   * use direct field tables.
+   */
+  public ProtobufMessageType<T, M> compile() {
+    return new CompiledMessageType<T, M>(this);
+  }
+
 }
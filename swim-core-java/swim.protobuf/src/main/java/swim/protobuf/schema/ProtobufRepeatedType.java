@@ -14,6 +14,7 @@
 
 package swim.protobuf.schema;
 
+import java.util.Iterator;
 import swim.protobuf.ProtobufWireType;
 import swim.util.Builder;
 
@@ -30,4 +31,6 @@ public abstract class ProtobufRepeatedType<I, T> extends ProtobufComplexType<T>
 
   public abstract T appended(T value, I item);
 
+  public abstract Iterator<? extends I> itemIterator(T value);
+
 }
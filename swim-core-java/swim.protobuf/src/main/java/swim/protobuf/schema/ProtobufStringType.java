@@ -27,4 +27,6 @@ public abstract class ProtobufStringType<T> extends ProtobufComplexType<T> {
 
   public abstract Parser<T> parseString(Input input);
 
+  public abstract String stringValue(T value);
+
 }
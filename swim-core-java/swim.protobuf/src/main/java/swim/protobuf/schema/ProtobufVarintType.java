@@ -25,4 +25,6 @@ public abstract class ProtobufVarintType<T> extends ProtobufPrimitiveType<T> {
 
   public abstract T cast(long value);
 
+  public abstract long longValue(T value);
+
 }
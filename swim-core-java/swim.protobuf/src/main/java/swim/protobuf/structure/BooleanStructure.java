@@ -25,4 +25,9 @@ final class BooleanStructure extends ProtobufVarintType<Value> {
     return Bool.from(value != 0L);
   }
 
+  @Override
+  public long longValue(Value value) {
+    return value.booleanValue() ? 1L : 0L;
+  }
+
 }
@@ -14,9 +14,11 @@
 
 package swim.protobuf.structure;
 
+import java.nio.ByteBuffer;
 import swim.codec.Binary;
 import swim.codec.Decoder;
 import swim.codec.InputBuffer;
+import swim.protobuf.ProtobufException;
 import swim.protobuf.schema.ProtobufDataType;
 import swim.structure.Data;
 import swim.structure.Value;
@@ -29,4 +31,14 @@ final class DataStructure extends ProtobufDataType<Value> {
     return (Decoder<Value>) (Decoder<?>) Binary.parseOutput(Data.output(), input);
   }
 
+  @Override
+  public ByteBuffer byteBufferValue(Value value) {
+    if (value instanceof Data) {
+      final ByteBuffer buffer = ((Data) value).asByteBuffer();
+      return buffer != null ? buffer : ByteBuffer.allocate(0);
+    } else {
+      throw new ProtobufException("not data: " + value);
+    }
+  }
+
 }
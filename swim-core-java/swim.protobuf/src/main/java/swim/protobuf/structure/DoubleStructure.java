@@ -25,4 +25,9 @@ final class DoubleStructure extends ProtobufFixed64Type<Value> {
     return Num.from(Double.longBitsToDouble(value));
   }
 
+  @Override
+  public long longValue(Value value) {
+    return Double.doubleToLongBits(value.doubleValue());
+  }
+
 }
@@ -55,4 +55,10 @@ final class FieldStructure extends ProtobufFieldType<Value, Record> {
     return null;
   }
 
+  @Override
+  public Value get(Record record) {
+    final Value value = record.get(this.key);
+    return value.isDefined() ? value : null;
+  }
+
 }
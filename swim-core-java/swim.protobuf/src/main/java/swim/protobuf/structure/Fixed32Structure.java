@@ -25,4 +25,9 @@ final class Fixed32Structure extends ProtobufFixed32Type<Value> {
     return Num.from(value);
   }
 
+  @Override
+  public int intValue(Value value) {
+    return value.intValue();
+  }
+
 }
@@ -25,4 +25,9 @@ final class Fixed64Structure extends ProtobufFixed64Type<Value> {
     return Num.from(value);
   }
 
+  @Override
+  public long longValue(Value value) {
+    return value.longValue();
+  }
+
 }
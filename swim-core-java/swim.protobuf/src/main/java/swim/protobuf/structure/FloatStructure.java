@@ -25,4 +25,9 @@ final class FloatStructure extends ProtobufFixed32Type<Value> {
     return Num.from(Float.intBitsToFloat(value));
   }
 
+  @Override
+  public int intValue(Value value) {
+    return Float.floatToIntBits(value.floatValue());
+  }
+
 }
@@ -99,6 +99,12 @@ final class MapKeyStructure<K extends Value> extends ProtobufFieldType<K, Slot>
     return null;
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public K get(Slot slot) {
+    return (K) slot.key();
+  }
+
 }
 
 final class MapValueStructure<V extends Value> extends ProtobufFieldType<V, Slot> {
@@ -134,4 +140,10 @@ final class MapValueStructure<V extends Value> extends ProtobufFieldType<V, Slot
     return null;
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public V get(Slot slot) {
+    return (V) slot.value();
+  }
+
 }
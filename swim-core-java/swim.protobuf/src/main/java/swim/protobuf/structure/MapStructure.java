@@ -14,10 +14,14 @@
 
 package swim.protobuf.structure;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import swim.protobuf.schema.ProtobufMapEntryType;
 import swim.protobuf.schema.ProtobufMapType;
 import swim.structure.Field;
+import swim.structure.Item;
 import swim.structure.Record;
+import swim.structure.Slot;
 import swim.structure.Value;
 import swim.util.Builder;
 
@@ -45,4 +49,43 @@ final class MapStructure<K extends Value, V extends Value> extends ProtobufMapTy
     return record.appended(field);
   }
 
+  @Override
+  public Iterator<Slot> itemIterator(Record record) {
+    return new MapStructureIterator(record.iterator());
+  }
+
+}
+
+final class MapStructureIterator implements Iterator<Slot> {
+
+  final Iterator<Item> items;
+  Slot next;
+
+  MapStructureIterator(Iterator<Item> items) {
+    this.items = items;
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (this.next == null && this.items.hasNext()) {
+      final Item item = this.items.next();
+      if (item instanceof Slot) {
+        this.next = (Slot) item;
+      } else if (item instanceof Field) {
+        this.next = Slot.of(item.key(), ((Field) item).value());
+      }
+    }
+    return this.next != null;
+  }
+
+  @Override
+  public Slot next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final Slot next = this.next;
+    this.next = null;
+    return next;
+  }
+
 }
@@ -14,6 +14,7 @@
 
 package swim.protobuf.structure;
 
+import java.util.Iterator;
 import swim.collections.BTree;
 import swim.protobuf.schema.ProtobufFieldType;
 import swim.protobuf.schema.ProtobufMessageType;
@@ -51,4 +52,14 @@ final class MessageStructure extends ProtobufMessageType<Record, Record> {
     return record;
   }
 
+  @Override
+  public Iterator<ProtobufFieldType<?, Record>> fieldIterator() {
+    return this.fields.valueIterator();
+  }
+
+  @Override
+  public Record messageValue(Record record) {
+    return record;
+  }
+
 }
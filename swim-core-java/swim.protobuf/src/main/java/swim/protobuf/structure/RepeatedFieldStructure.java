@@ -57,4 +57,14 @@ final class RepeatedFieldStructure extends ProtobufFieldType<Item, Record> {
     return new FieldStructure(this.key, this.fieldNumber, this.repeatedType);
   }
 
+  /**
+   * Returns the whole repeated value of the field, the same value that its
+   * {@link #packedType() packed type} gets, rather than a single item.
+   */
+  @Override
+  public Item get(Record record) {
+    final Value value = record.get(this.key);
+    return value.isDefined() ? value : null;
+  }
+
 }
@@ -14,6 +14,7 @@
 
 package swim.protobuf.structure;
 
+import java.util.Iterator;
 import swim.protobuf.schema.ProtobufRepeatedType;
 import swim.protobuf.schema.ProtobufType;
 import swim.structure.Item;
@@ -44,4 +45,10 @@ final class RepeatedStructure<I extends Item> extends ProtobufRepeatedType<I, Re
     return record.appended(item);
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public Iterator<I> itemIterator(Record record) {
+    return (Iterator<I>) (Iterator<?>) record.iterator();
+  }
+
 }
@@ -30,4 +30,9 @@ final class StringStructure extends ProtobufStringType<Value> {
     return Unicode.parseOutput((Output<Value>) (Output<?>) Text.output(), input);
   }
 
+  @Override
+  public String stringValue(Value value) {
+    return value.stringValue();
+  }
+
 }
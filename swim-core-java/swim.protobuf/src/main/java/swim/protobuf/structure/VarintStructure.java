@@ -25,4 +25,9 @@ final class VarintStructure extends ProtobufVarintType<Value> {
     return Num.from(value);
   }
 
+  @Override
+  public long longValue(Value value) {
+    return value.longValue();
+  }
+
 }
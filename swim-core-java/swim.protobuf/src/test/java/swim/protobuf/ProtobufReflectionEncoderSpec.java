@@ -0,0 +1,149 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.protobuf;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.testng.annotations.Test;
+import swim.protobuf.ProtobufReflectionDecoderSpec.TestArrayMessage;
+import swim.protobuf.ProtobufReflectionDecoderSpec.TestMapMessage;
+import swim.protobuf.ProtobufReflectionDecoderSpec.TestMessage;
+import swim.protobuf.reflection.ProtobufReflection;
+import swim.protobuf.schema.ProtobufMessageType;
+import swim.protobuf.schema.ProtobufType;
+import swim.structure.Data;
+import static org.testng.Assert.assertSame;
+
+public class ProtobufReflectionEncoderSpec {
+
+  public static <T> void assertEncodes(ProtobufType<T> type, T value, Data expected) {
+    Assertions.assertEncodes(Protobuf.typeEncoder(type, value), expected);
+  }
+
+  public static <T> void assertEncodesPayload(ProtobufType<T> type, T value, Data expected) {
+    Assertions.assertEncodes(Protobuf.payloadEncoder((ProtobufMessageType<T, ?>) type, value), expected);
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T> ProtobufMessageType<T, T> messageType(Class<T> messageClass) {
+    return (ProtobufMessageType<T, T>) ProtobufReflection.<T>classType(messageClass);
+  }
+
+  @Test
+  public void encodeBooleanReflections() {
+    assertEncodes(ProtobufReflection.booleanType(),
+        false, Data.fromBase16("00"));
+    assertEncodes(ProtobufReflection.booleanType(),
+        true, Data.fromBase16("01"));
+  }
+
+  @Test
+  public void encodeIntReflections() {
+    assertEncodes(ProtobufReflection.intType(),
+        0, Data.fromBase16("00"));
+    assertEncodes(ProtobufReflection.intType(),
+        -1, Data.fromBase16("01"));
+    assertEncodes(ProtobufReflection.intType(),
+        1, Data.fromBase16("02"));
+    assertEncodes(ProtobufReflection.intType(),
+        -64, Data.fromBase16("7f"));
+    assertEncodes(ProtobufReflection.intType(),
+        64, Data.fromBase16("8001"));
+  }
+
+  @Test
+  public void encodeLongReflections() {
+    assertEncodes(ProtobufReflection.longType(),
+        0L, Data.fromBase16("00"));
+    assertEncodes(ProtobufReflection.longType(),
+        -2L, Data.fromBase16("03"));
+    assertEncodes(ProtobufReflection.longType(),
+        2L, Data.fromBase16("04"));
+    assertEncodes(ProtobufReflection.longType(),
+        64L, Data.fromBase16("8001"));
+  }
+
+  @Test
+  public void encodeFloatReflections() {
+    assertEncodes(ProtobufReflection.floatType(),
+        1.0f, Data.fromBase16("0000803f"));
+    assertEncodes(ProtobufReflection.floatType(),
+        Float.NaN, Data.fromBase16("0000c07f"));
+  }
+
+  @Test
+  public void encodeDoubleReflections() {
+    assertEncodes(ProtobufReflection.doubleType(),
+        1.0, Data.fromBase16("000000000000f03f"));
+    assertEncodes(ProtobufReflection.doubleType(),
+        Double.NaN, Data.fromBase16("000000000000f87f"));
+  }
+
+  @Test
+  public void encodeDataReflections() {
+    assertEncodes(ProtobufReflection.dataType(),
+        Data.fromBase16("f0e1d2c3").toByteBuffer(), Data.fromBase16("04f0e1d2c3"));
+  }
+
+  @Test
+  public void encodeStringReflections() {
+    assertEncodes(ProtobufReflection.stringType(),
+        "foo", Data.fromBase16("03666f6f"));
+  }
+
+  @Test
+  public void encodeArrayReflections() {
+    assertEncodes(ProtobufReflection.arrayType(Long.TYPE, ProtobufReflection.longType()),
+        new long[] {3, 75}, Data.fromBase16("069601"));
+  }
+
+  @Test
+  public void encodeMessageReflections() {
+    assertEncodesPayload(ProtobufReflection.classType(TestMessage.class),
+        new TestMessage(75, "foo"), Data.fromBase16("0896011203666f6f"));
+    assertEncodesPayload(ProtobufReflection.classType(TestMessage.class),
+        new TestMessage(75, null), Data.fromBase16("089601"));
+  }
+
+  @Test
+  public void encodeRepeatedArrayFields() {
+    assertEncodesPayload(ProtobufReflection.classType(TestArrayMessage.class),
+        new TestArrayMessage(new int[] {3, 75}), Data.fromBase16("0806089601"));
+  }
+
+  @Test
+  public void getRepeatedArrayFields() {
+    final ProtobufMessageType<TestArrayMessage, TestArrayMessage> type = messageType(TestArrayMessage.class);
+    final int[] array = {3, 75};
+    assertSame(type.getField(1L).get(new TestArrayMessage(array)), array);
+  }
+
+  @Test
+  public void encodeMapEntryFields() {
+    final Map<String, Integer> map = new HashMap<String, Integer>();
+    map.put("a", 3);
+    map.put("b", 75);
+    assertEncodesPayload(ProtobufReflection.classType(TestMapMessage.class),
+        new TestMapMessage(map), Data.fromBase16("0a050a016110060a060a0162109601"));
+  }
+
+  @Test
+  public void encodeCompiledMessageReflections() {
+    final ProtobufMessageType<TestMessage, TestMessage> type = messageType(TestMessage.class).compile();
+    assertEncodesPayload(type, new TestMessage(75, "foo"), Data.fromBase16("0896011203666f6f"));
+    Assertions.assertDecodes(Protobuf.payloadDecoder(type), Data.fromBase16("0896011203666f6f"), new TestMessage(75, "foo"));
+  }
+
+}
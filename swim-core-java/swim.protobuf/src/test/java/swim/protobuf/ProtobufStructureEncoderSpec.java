@@ -0,0 +1,186 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.protobuf;
+
+import org.testng.annotations.Test;
+import swim.protobuf.schema.ProtobufFieldType;
+import swim.protobuf.schema.ProtobufMessageType;
+import swim.protobuf.schema.ProtobufType;
+import swim.protobuf.structure.ProtobufStructure;
+import swim.structure.Bool;
+import swim.structure.Data;
+import swim.structure.Item;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class ProtobufStructureEncoderSpec {
+
+  public static <T> void assertEncodes(ProtobufType<T> type, T value, Data expected) {
+    Assertions.assertEncodes(Protobuf.typeEncoder(type, value), expected);
+  }
+
+  public static <T> void assertEncodesPayload(ProtobufMessageType<T, ?> type, T value, Data expected) {
+    Assertions.assertEncodes(Protobuf.payloadEncoder(type, value), expected);
+    assertEquals(Protobuf.sizeOfPayload(type, value), (long) expected.size());
+  }
+
+  @Test
+  public void encodeBooleanStructures() {
+    assertEncodes(ProtobufStructure.booleanType(),
+        Bool.from(false), Data.fromBase16("00"));
+    assertEncodes(ProtobufStructure.booleanType(),
+        Bool.from(true), Data.fromBase16("01"));
+  }
+
+  @Test
+  public void encodeVarintStructures() {
+    assertEncodes(ProtobufStructure.varintType(),
+        Num.from(0), Data.fromBase16("00"));
+    assertEncodes(ProtobufStructure.varintType(),
+        Num.from(1), Data.fromBase16("01"));
+    assertEncodes(ProtobufStructure.varintType(),
+        Num.from(128), Data.fromBase16("8001"));
+    assertEncodes(ProtobufStructure.varintType(),
+        Num.from(-1), Data.fromBase16("ffffffffffffffffff01"));
+  }
+
+  @Test
+  public void encodeZigZagStructures() {
+    assertEncodes(ProtobufStructure.zigZagType(),
+        Num.from(0), Data.fromBase16("00"));
+    assertEncodes(ProtobufStructure.zigZagType(),
+        Num.from(-1), Data.fromBase16("01"));
+    assertEncodes(ProtobufStructure.zigZagType(),
+        Num.from(1), Data.fromBase16("02"));
+    assertEncodes(ProtobufStructure.zigZagType(),
+        Num.from(-64), Data.fromBase16("7f"));
+    assertEncodes(ProtobufStructure.zigZagType(),
+        Num.from(64), Data.fromBase16("8001"));
+  }
+
+  @Test
+  public void encodeFixed32Structures() {
+    assertEncodes(ProtobufStructure.fixed32Type(),
+        Num.from(0x04030201), Data.fromBase16("01020304"));
+  }
+
+  @Test
+  public void encodeFixed64Structures() {
+    assertEncodes(ProtobufStructure.fixed64Type(),
+        Num.from(0x0807060504030201L), Data.fromBase16("0102030405060708"));
+  }
+
+  @Test
+  public void encodeFloatStructures() {
+    assertEncodes(ProtobufStructure.floatType(),
+        Num.from(1.0f), Data.fromBase16("0000803f"));
+    assertEncodes(ProtobufStructure.floatType(),
+        Num.from(Float.NEGATIVE_INFINITY), Data.fromBase16("000080ff"));
+  }
+
+  @Test
+  public void encodeDoubleStructures() {
+    assertEncodes(ProtobufStructure.doubleType(),
+        Num.from(1.0), Data.fromBase16("000000000000f03f"));
+    assertEncodes(ProtobufStructure.doubleType(),
+        Num.from(Double.NEGATIVE_INFINITY), Data.fromBase16("000000000000f0ff"));
+  }
+
+  @Test
+  public void encodeDataStructures() {
+    assertEncodes(ProtobufStructure.dataType(),
+        Data.fromBase16("f0e1d2c3"), Data.fromBase16("04f0e1d2c3"));
+  }
+
+  @Test
+  public void encodeStringStructures() {
+    assertEncodes(ProtobufStructure.stringType(),
+        Text.from("foo"), Data.fromBase16("03666f6f"));
+  }
+
+  @Test
+  public void encodeMessagePayloads() {
+    assertEncodesPayload(ProtobufStructure.messageType()
+            .field(ProtobufStructure.field("a", 1L, ProtobufStructure.varintType())),
+        Record.of(Slot.of("a", 150)), Data.fromBase16("089601"));
+  }
+
+  @Test
+  public void encodeMessagePayloadsWithMissingFields() {
+    assertEncodesPayload(ProtobufStructure.messageType()
+            .field(ProtobufStructure.field("a", 1L, ProtobufStructure.varintType()))
+            .field(ProtobufStructure.field("b", 2L, ProtobufStructure.stringType())),
+        Record.of(Slot.of("b", "foo")), Data.fromBase16("1203666f6f"));
+  }
+
+  @Test
+  public void encodeEmbeddedMessageStructures() {
+    assertEncodesPayload(ProtobufStructure.messageType()
+            .field(ProtobufStructure.field("c", 3L, ProtobufStructure.messageType()
+                .field(ProtobufStructure.field("a", 1L, ProtobufStructure.varintType())))),
+        Record.of(Slot.of("c", Record.of(Slot.of("a", 150)))), Data.fromBase16("1a03089601"));
+  }
+
+  @Test
+  public void encodeRepeatedFieldStructures() {
+    assertEncodesPayload(ProtobufStructure.messageType()
+            .field(ProtobufStructure.repeatedField("a", 1L, ProtobufStructure.repeatedType(ProtobufStructure.varintType()))),
+        Record.of(Slot.of("a", Record.of(3, 150))), Data.fromBase16("0803089601"));
+  }
+
+  @Test
+  public void getRepeatedFieldStructures() {
+    final ProtobufFieldType<Item, Record> field =
+        ProtobufStructure.repeatedField("a", 1L, ProtobufStructure.repeatedType(ProtobufStructure.varintType()));
+    assertEquals(field.get(Record.of(Slot.of("a", Record.of(3, 150)))), Record.of(3, 150));
+    assertNull(field.get(Record.of(Slot.of("b", 1))));
+  }
+
+  @Test
+  public void encodeMapFieldStructures() {
+    assertEncodesPayload(ProtobufStructure.messageType()
+            .field(ProtobufStructure.repeatedField("m", 1L, ProtobufStructure.mapType(ProtobufStructure.stringType(),
+                                                                                     ProtobufStructure.varintType()))),
+        Record.of(Slot.of("m", Record.of(Slot.of("a", 3), Slot.of("b", 150)))),
+        Data.fromBase16("0a050a016110030a060a0162109601"));
+  }
+
+  @Test
+  public void encodeCompiledMessagePayloads() {
+    final ProtobufMessageType<Record, Record> type = ProtobufStructure.messageType()
+        .field(ProtobufStructure.field("b", 2L, ProtobufStructure.stringType()))
+        .field(ProtobufStructure.field("a", 1L, ProtobufStructure.varintType()))
+        .compile();
+    final Record record = Record.of(Slot.of("a", 150), Slot.of("b", "foo"));
+    assertEncodesPayload(type, record, Data.fromBase16("0896011203666f6f"));
+    Assertions.assertDecodes(Protobuf.payloadDecoder(type), Data.fromBase16("0896011203666f6f"), record);
+  }
+
+  @Test
+  public void decodeSparseCompiledMessagePayloads() {
+    final ProtobufMessageType<Record, Record> type = ProtobufStructure.messageType()
+        .field(ProtobufStructure.field("a", 1L, ProtobufStructure.varintType()))
+        .field(ProtobufStructure.field("z", 100000L, ProtobufStructure.varintType()))
+        .compile();
+    final Record record = Record.of(Slot.of("a", 150), Slot.of("z", 1));
+    assertEncodesPayload(type, record, Data.fromBase16("08960180ea3001"));
+    Assertions.assertDecodes(Protobuf.payloadDecoder(type), Data.fromBase16("08960180ea3001"), record);
+  }
+
+}
@@ -56,6 +56,24 @@ public class GoogleIdToken extends OpenIdToken {
     return null;
   }
 
+  public static GoogleIdToken verify(JsonWebSignature jws, JsonWebKeySet keySet) {
+    final Value payload = jws.payload();
+    final GoogleIdToken idToken = new GoogleIdToken(payload);
+    // TODO: check payload
+    if (keySet.verifySignature(jws)) {
+      return idToken;
+    }
+    return null;
+  }
+
+  public static GoogleIdToken verify(String compactJws, JsonWebKeySet keySet) {
+    final JsonWebSignature jws = JsonWebSignature.parse(compactJws);
+    if (jws != null) {
+      return verify(jws, keySet);
+    }
+    return null;
+  }
+
   @Override
   public GoogleIdToken issuer(String issuer) {
     return (GoogleIdToken) super.issuer(issuer);
@@ -0,0 +1,174 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.security;
+
+import java.util.Iterator;
+import java.util.Map;
+import swim.codec.Debug;
+import swim.codec.Format;
+import swim.codec.Output;
+import swim.collections.FingerTrieSeq;
+import swim.collections.HashTrieMap;
+import swim.json.Json;
+import swim.structure.Item;
+import swim.structure.Value;
+import swim.util.Murmur3;
+
+/**
+ * Set of public keys, indexed by JSON Web Key ID, against which to verify
+ * {@link JsonWebSignature JSON Web Signatures}.  A signature that names a
+ * key ID found in the set is verified only against that key; other
+ * signatures are verified against each key in the set.
+ */
+public class JsonWebKeySet implements Debug {
+
+  private static int hashSeed;
+  private static JsonWebKeySet empty;
+  final FingerTrieSeq<PublicKeyDef> publicKeyDefs;
+  final HashTrieMap<String, PublicKeyDef> keyIds;
+
+  public JsonWebKeySet(FingerTrieSeq<PublicKeyDef> publicKeyDefs, HashTrieMap<String, PublicKeyDef> keyIds) {
+    this.publicKeyDefs = publicKeyDefs;
+    this.keyIds = keyIds;
+  }
+
+  public static JsonWebKeySet empty() {
+    if (empty == null) {
+      empty = new JsonWebKeySet(FingerTrieSeq.<PublicKeyDef>empty(), HashTrieMap.<String, PublicKeyDef>empty());
+    }
+    return empty;
+  }
+
+  public static JsonWebKeySet from(Iterable<PublicKeyDef> publicKeyDefs) {
+    JsonWebKeySet keySet = empty();
+    for (PublicKeyDef publicKeyDef : publicKeyDefs) {
+      keySet = keySet.publicKeyDef(null, publicKeyDef);
+    }
+    return keySet;
+  }
+
+  /**
+   * Returns the public keys in the {@code keys} member of a JSON Web Key Set
+   * {@code value}, skipping keys that aren't public keys.
+   */
+  public static JsonWebKeySet from(Value value) {
+    JsonWebKeySet keySet = empty();
+    for (Item item : value.get("keys")) {
+      final JsonWebKey jsonWebKey = JsonWebKey.from(item.toValue());
+      final PublicKeyDef publicKeyDef = jsonWebKey.publicKeyDef();
+      if (publicKeyDef != null) {
+        keySet = keySet.publicKeyDef(jsonWebKey.keyId(), publicKeyDef);
+      }
+    }
+    return keySet;
+  }
+
+  public static JsonWebKeySet parse(String jwks) {
+    return from(Json.parse(jwks));
+  }
+
+  public final FingerTrieSeq<PublicKeyDef> publicKeyDefs() {
+    return this.publicKeyDefs;
+  }
+
+  public final HashTrieMap<String, PublicKeyDef> keyIds() {
+    return this.keyIds;
+  }
+
+  public boolean isEmpty() {
+    return this.publicKeyDefs.isEmpty();
+  }
+
+  public int size() {
+    return this.publicKeyDefs.size();
+  }
+
+  public PublicKeyDef getPublicKeyDef(String keyId) {
+    return this.keyIds.get(keyId);
+  }
+
+  public JsonWebKeySet publicKeyDef(String keyId, PublicKeyDef publicKeyDef) {
+    final HashTrieMap<String, PublicKeyDef> keyIds = keyId != null ? this.keyIds.updated(keyId, publicKeyDef) : this.keyIds;
+    return new JsonWebKeySet(this.publicKeyDefs.appended(publicKeyDef), keyIds);
+  }
+
+  public JsonWebKeySet publicKeyDefs(JsonWebKeySet keySet) {
+    FingerTrieSeq<PublicKeyDef> publicKeyDefs = this.publicKeyDefs;
+    for (PublicKeyDef publicKeyDef : keySet.publicKeyDefs) {
+      publicKeyDefs = publicKeyDefs.appended(publicKeyDef);
+    }
+    HashTrieMap<String, PublicKeyDef> keyIds = this.keyIds;
+    final Iterator<Map.Entry<String, PublicKeyDef>> keyIdIterator = keySet.keyIds.iterator();
+    while (keyIdIterator.hasNext()) {
+      final Map.Entry<String, PublicKeyDef> keyId = keyIdIterator.next();
+      keyIds = keyIds.updated(keyId.getKey(), keyId.getValue());
+    }
+    return new JsonWebKeySet(publicKeyDefs, keyIds);
+  }
+
+  /**
+   * Returns {@code true} if {@code jws} was signed by the key its header
+   * names, or, if the header names no key in this set, by any key in this
+   * set.
+   */
+  public boolean verifySignature(JsonWebSignature jws) {
+    final String keyId = jws.keyId();
+    if (keyId != null) {
+      final PublicKeyDef publicKeyDef = this.keyIds.get(keyId);
+      if (publicKeyDef != null) {
+        return jws.verifySignature(publicKeyDef.publicKey());
+      }
+    }
+    final FingerTrieSeq<PublicKeyDef> publicKeyDefs = this.publicKeyDefs;
+    for (int i = 0, n = publicKeyDefs.size(); i < n; i += 1) {
+      if (jws.verifySignature(publicKeyDefs.get(i).publicKey())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (other instanceof JsonWebKeySet) {
+      final JsonWebKeySet that = (JsonWebKeySet) other;
+      return this.publicKeyDefs.equals(that.publicKeyDefs) && this.keyIds.equals(that.keyIds);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    if (hashSeed == 0) {
+      hashSeed = Murmur3.seed(JsonWebKeySet.class);
+    }
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(hashSeed,
+        this.publicKeyDefs.hashCode()), this.keyIds.hashCode()));
+  }
+
+  @Override
+  public void debug(Output<?> output) {
+    output.write("new").write(' ').write("JsonWebKeySet").write('(')
+        .debug(this.publicKeyDefs).write(", ").debug(this.keyIds).write(')');
+  }
+
+  @Override
+  public String toString() {
+    return Format.debug(this);
+  }
+
+}
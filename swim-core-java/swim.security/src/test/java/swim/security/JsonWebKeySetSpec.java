@@ -0,0 +1,78 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.security;
+
+import org.testng.annotations.Test;
+import swim.json.Json;
+import swim.structure.Data;
+import swim.structure.Record;
+import swim.structure.Slot;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+public class JsonWebKeySetSpec {
+
+  static final JsonWebKey PRIVATE_KEY = JsonWebKey.parse("{\"kty\":\"EC\",\"crv\":\"P-256\",\"x\":\"f83OJ3D2xF1Bg8vub9tLe1gHMzV76e8Tus9uPHvRVEU\",\"y\":\"x_FEzRu9m36HLN_tue659LNpXW6pCyStikYjKIWI5a0\",\"d\":\"jpsQnnGQmL-YBIffH1136cspYG6-0iY7X1fCE9-E9LI\"}");
+  static final String JWKS = "{\"keys\":["
+      + "{\"kty\":\"EC\",\"kid\":\"other\",\"crv\":\"P-256\",\"x\":\"bEUVpbOI61rPItmtL05qvIfuLlH8slaKKbrXOgywuPo\",\"y\":\"LDjAo9SZCryoS6Gl3mvGMe0o6f0B05p9QWEKmyKyweM\"},"
+      + "{\"kty\":\"EC\",\"kid\":\"signer\",\"crv\":\"P-256\",\"x\":\"f83OJ3D2xF1Bg8vub9tLe1gHMzV76e8Tus9uPHvRVEU\",\"y\":\"x_FEzRu9m36HLN_tue659LNpXW6pCyStikYjKIWI5a0\"},"
+      + "{\"kty\":\"oct\",\"kid\":\"secret\",\"k\":\"AyM1SysPpbyDfgZld3umj1qzKObwVMkoqQ-EstJQLr_T-1qS0gZH75aKtMN3Yj0iPS4hcgUuTwjAzZr1Z9CAow\"}"
+      + "]}";
+
+  static JsonWebSignature sign(String keyId) {
+    final Data payloadData = Json.toData(Record.of(Slot.of("iss", "joe"), Slot.of("exp", 1300819380L)));
+    final Record protectedHeader = Record.create(2).slot("alg", "ES256");
+    if (keyId != null) {
+      protectedHeader.slot("kid", keyId);
+    }
+    return JsonWebSignature.sign(PRIVATE_KEY.privateKey(), protectedHeader, payloadData);
+  }
+
+  @Test
+  public void parsePublicKeysIndexedByKeyId() {
+    final JsonWebKeySet keySet = JsonWebKeySet.parse(JWKS);
+    assertEquals(keySet.size(), 2);
+    assertNotNull(keySet.getPublicKeyDef("other"));
+    assertNotNull(keySet.getPublicKeyDef("signer"));
+    assertEquals(keySet.getPublicKeyDef("signer").publicKey(), PRIVATE_KEY.publicKey());
+  }
+
+  @Test
+  public void verifySignaturesWithTheNamedKey() {
+    final JsonWebKeySet keySet = JsonWebKeySet.parse(JWKS);
+    assertTrue(keySet.verifySignature(sign("signer")));
+    assertFalse(keySet.verifySignature(sign("other")));
+  }
+
+  @Test
+  public void verifySignaturesWithUnknownKeyIdsAgainstAllKeys() {
+    final JsonWebKeySet keySet = JsonWebKeySet.parse(JWKS);
+    assertTrue(keySet.verifySignature(sign(null)));
+    assertTrue(keySet.verifySignature(sign("rotated")));
+    assertFalse(JsonWebKeySet.empty().verifySignature(sign(null)));
+  }
+
+  @Test
+  public void mergeKeySets() {
+    final JsonWebKeySet configured = JsonWebKeySet.from(JsonWebKeySet.parse(JWKS).publicKeyDefs().take(1));
+    final JsonWebKeySet keySet = configured.publicKeyDefs(JsonWebKeySet.parse(JWKS));
+    assertEquals(keySet.size(), 3);
+    assertNotNull(keySet.getPublicKeyDef("signer"));
+    assertTrue(keySet.verifySignature(sign("signer")));
+  }
+
+}
@@ -0,0 +1,887 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.structure;
+
+import swim.structure.operator.AndOperator;
+import swim.structure.operator.BinaryOperator;
+import swim.structure.operator.BitwiseAndOperator;
+import swim.structure.operator.BitwiseNotOperator;
+import swim.structure.operator.BitwiseOrOperator;
+import swim.structure.operator.BitwiseXorOperator;
+import swim.structure.operator.ConditionalOperator;
+import swim.structure.operator.DivideOperator;
+import swim.structure.operator.EqOperator;
+import swim.structure.operator.GeOperator;
+import swim.structure.operator.GtOperator;
+import swim.structure.operator.InvokeOperator;
+import swim.structure.operator.LeOperator;
+import swim.structure.operator.LtOperator;
+import swim.structure.operator.MinusOperator;
+import swim.structure.operator.ModuloOperator;
+import swim.structure.operator.NeOperator;
+import swim.structure.operator.NegativeOperator;
+import swim.structure.operator.NotOperator;
+import swim.structure.operator.OrOperator;
+import swim.structure.operator.PlusOperator;
+import swim.structure.operator.PositiveOperator;
+import swim.structure.operator.TimesOperator;
+import swim.structure.operator.UnaryOperator;
+import swim.structure.selector.ChildrenSelector;
+import swim.structure.selector.DescendantsSelector;
+import swim.structure.selector.FilterSelector;
+import swim.structure.selector.GetAttrSelector;
+import swim.structure.selector.GetItemSelector;
+import swim.structure.selector.GetSelector;
+import swim.structure.selector.IdentitySelector;
+import swim.structure.selector.KeysSelector;
+import swim.structure.selector.LiteralSelector;
+import swim.structure.selector.ValuesSelector;
+
+/**
+ * A compiled form of an {@link Item} that can be repeatedly {@link
+ * #evaluate(Interpreter) evaluated} without re-walking the {@link Expression}
+ * tree it was compiled from.  {@link #compile(Item) Compiling} an expression
+ * folds its constant sub-expressions, hoists the evaluation of constant
+ * selector keys and indexes, and specializes each {@link Selector} and {@link
+ * Operator} into a node that skips the dynamic dispatch performed by the tree
+ * walking evaluator.
+ * <p>
+ * An {@code Evaluator} yields the same result as {@link
+ * Item#evaluate(Interpreter)} on the expression from which it was compiled,
+ * but it does not invoke the {@link Interpreter#willSelect willSelect},
+ * {@link Interpreter#didSelect didSelect}, {@link Interpreter#willOperate
+ * willOperate}, or {@link Interpreter#didOperate didOperate} hooks of the
+ * {@code Interpreter} against which it runs.  Evaluators are immutable, and
+ * can be shared between threads, so long as each thread evaluates against its
+ * own {@code Interpreter}.
+ */
+public abstract class Evaluator {
+
+  Evaluator() {
+    // sealed
+  }
+
+  /**
+   * Evaluates the compiled expression against the scopes of the given
+   * {@code interpreter}.
+   */
+  public abstract Item evaluate(Interpreter interpreter);
+
+  /**
+   * Evaluates the compiled expression against the given {@code scope}, nested
+   * inside of the {@link Item#globalScope() global scope}.
+   */
+  public Item evaluate(Item scope) {
+    final Interpreter interpreter = new Interpreter();
+    interpreter.pushScope(Item.globalScope());
+    interpreter.pushScope(scope);
+    return evaluate(interpreter);
+  }
+
+  /**
+   * Returns {@code true} if this {@code Evaluator} always yields the same
+   * result, independent of the scope against which it's evaluated.
+   */
+  public boolean isConstant() {
+    return false;
+  }
+
+  /**
+   * Returns an {@code Evaluator} that computes the same result as
+   * {@code item.evaluate(interpreter)}.
+   */
+  public static Evaluator compile(Item item) {
+    if (item instanceof Selector) {
+      return compileSelector((Selector) item);
+    } else if (item instanceof Operator) {
+      return compileOperator((Operator) item);
+    } else if (item.isConstant()) {
+      return new ConstantEvaluator(item);
+    } else {
+      return new InterpretedEvaluator(item);
+    }
+  }
+
+  static SelectorEvaluator compileSelector(Selector selector) {
+    final Class<?> selectorClass = selector.getClass();
+    if (selector instanceof IdentitySelector) {
+      return IdentityEvaluator.identity();
+    } else if (selector instanceof GetSelector) {
+      final GetSelector get = (GetSelector) selector;
+      final Value key = get.accessor();
+      final SelectorEvaluator then = compileSelector(get.then());
+      if (key.isConstant()) {
+        return new GetEvaluator(key, null, then);
+      } else {
+        return new GetEvaluator(null, compile(key), then);
+      }
+    } else if (selector instanceof GetAttrSelector) {
+      final GetAttrSelector getAttr = (GetAttrSelector) selector;
+      return new GetAttrEvaluator(getAttr.accessor(), compileSelector(getAttr.then()));
+    } else if (selector instanceof GetItemSelector) {
+      final GetItemSelector getItem = (GetItemSelector) selector;
+      return new GetItemEvaluator(getItem.accessor().intValue(), compileSelector(getItem.then()));
+    } else if (selector instanceof KeysSelector) {
+      return new KeysEvaluator(compileSelector(selector.then()));
+    } else if (selectorClass == ValuesSelector.class) {
+      return new ValuesEvaluator(compileSelector(selector.then()));
+    } else if (selectorClass == ChildrenSelector.class) {
+      return new ChildrenEvaluator(compileSelector(selector.then()));
+    } else if (selectorClass == DescendantsSelector.class) {
+      return new DescendantsEvaluator(compileSelector(selector.then()));
+    } else if (selector instanceof FilterSelector) {
+      final FilterSelector filter = (FilterSelector) selector;
+      return new FilterEvaluator(compileSelector(filter.predicate()), compileSelector(filter.then()));
+    } else if (selector instanceof LiteralSelector) {
+      final LiteralSelector literal = (LiteralSelector) selector;
+      return new LiteralEvaluator(compile(literal.item()), compileSelector(literal.then()));
+    } else {
+      return new InterpretedSelectorEvaluator(selector);
+    }
+  }
+
+  static Evaluator compileOperator(Operator operator) {
+    if (operator instanceof BinaryOperator) {
+      return compileBinaryOperator((BinaryOperator) operator);
+    } else if (operator instanceof UnaryOperator) {
+      return compileUnaryOperator((UnaryOperator) operator);
+    } else if (operator instanceof ConditionalOperator) {
+      final ConditionalOperator conditional = (ConditionalOperator) operator;
+      final Evaluator ifTerm = compile(conditional.ifTerm());
+      final Evaluator thenTerm = compile(conditional.thenTerm());
+      final Evaluator elseTerm = compile(conditional.elseTerm());
+      if (ifTerm.isConstant()) {
+        return ((ConstantEvaluator) ifTerm).value.isDefinite() ? thenTerm : elseTerm;
+      }
+      return new ConditionalEvaluator(ifTerm, thenTerm, elseTerm);
+    } else if (operator instanceof InvokeOperator) {
+      final InvokeOperator invoke = (InvokeOperator) operator;
+      return new InvokeEvaluator(invoke, compile(invoke.func()));
+    } else {
+      return new InterpretedEvaluator(operator);
+    }
+  }
+
+  static Evaluator compileBinaryOperator(BinaryOperator operator) {
+    final Evaluator operand1 = compile(operator.operand1());
+    final Evaluator operand2 = compile(operator.operand2());
+    if (operator instanceof OrOperator) {
+      if (operand1.isConstant()) {
+        return ((ConstantEvaluator) operand1).value.isDefinite() ? operand1 : operand2;
+      }
+      return new OrEvaluator(operand1, operand2);
+    } else if (operator instanceof AndOperator) {
+      if (operand1.isConstant()) {
+        return ((ConstantEvaluator) operand1).value.isDefinite() ? operand2 : operand1;
+      }
+      return new AndEvaluator(operand1, operand2);
+    }
+    final int opcode;
+    if (operator instanceof BitwiseOrOperator) {
+      opcode = BinaryEvaluator.BITWISE_OR;
+    } else if (operator instanceof BitwiseXorOperator) {
+      opcode = BinaryEvaluator.BITWISE_XOR;
+    } else if (operator instanceof BitwiseAndOperator) {
+      opcode = BinaryEvaluator.BITWISE_AND;
+    } else if (operator instanceof LtOperator) {
+      opcode = BinaryEvaluator.LT;
+    } else if (operator instanceof LeOperator) {
+      opcode = BinaryEvaluator.LE;
+    } else if (operator instanceof EqOperator) {
+      opcode = BinaryEvaluator.EQ;
+    } else if (operator instanceof NeOperator) {
+      opcode = BinaryEvaluator.NE;
+    } else if (operator instanceof GeOperator) {
+      opcode = BinaryEvaluator.GE;
+    } else if (operator instanceof GtOperator) {
+      opcode = BinaryEvaluator.GT;
+    } else if (operator instanceof PlusOperator) {
+      opcode = BinaryEvaluator.PLUS;
+    } else if (operator instanceof MinusOperator) {
+      opcode = BinaryEvaluator.MINUS;
+    } else if (operator instanceof TimesOperator) {
+      opcode = BinaryEvaluator.TIMES;
+    } else if (operator instanceof DivideOperator) {
+      opcode = BinaryEvaluator.DIVIDE;
+    } else if (operator instanceof ModuloOperator) {
+      opcode = BinaryEvaluator.MODULO;
+    } else {
+      return new InterpretedEvaluator(operator);
+    }
+    if (operand1.isConstant() && operand2.isConstant()) {
+      final Item argument1 = ((ConstantEvaluator) operand1).value;
+      final Item argument2 = ((ConstantEvaluator) operand2).value;
+      return new ConstantEvaluator(BinaryEvaluator.operate(opcode, argument1, argument2));
+    }
+    return new BinaryEvaluator(opcode, operand1, operand2);
+  }
+
+  static Evaluator compileUnaryOperator(UnaryOperator operator) {
+    final Evaluator operand = compile(operator.operand());
+    final int opcode;
+    if (operator instanceof NotOperator) {
+      opcode = UnaryEvaluator.NOT;
+    } else if (operator instanceof BitwiseNotOperator) {
+      opcode = UnaryEvaluator.BITWISE_NOT;
+    } else if (operator instanceof NegativeOperator) {
+      opcode = UnaryEvaluator.NEGATIVE;
+    } else if (operator instanceof PositiveOperator) {
+      opcode = UnaryEvaluator.POSITIVE;
+    } else {
+      return new InterpretedEvaluator(operator);
+    }
+    if (operand.isConstant()) {
+      final Item argument = ((ConstantEvaluator) operand).value;
+      return new ConstantEvaluator(UnaryEvaluator.operate(opcode, argument));
+    }
+    return new UnaryEvaluator(opcode, operand);
+  }
+
+}
+
+final class ConstantEvaluator extends Evaluator {
+
+  final Item value;
+
+  ConstantEvaluator(Item value) {
+    this.value = value.commit();
+  }
+
+  @Override
+  public Item evaluate(Interpreter interpreter) {
+    return this.value;
+  }
+
+  @Override
+  public Item evaluate(Item scope) {
+    return this.value;
+  }
+
+  @Override
+  public boolean isConstant() {
+    return true;
+  }
+
+}
+
+/**
+ * Evaluates an {@code Item} that has no specialized compiled form by
+ * delegating to the tree walking evaluator.
+ */
+final class InterpretedEvaluator extends Evaluator {
+
+  final Item item;
+
+  InterpretedEvaluator(Item item) {
+    this.item = item;
+  }
+
+  @Override
+  public Item evaluate(Interpreter interpreter) {
+    return this.item.evaluate(interpreter);
+  }
+
+}
+
+final class OrEvaluator extends Evaluator {
+
+  final Evaluator operand1;
+  final Evaluator operand2;
+
+  OrEvaluator(Evaluator operand1, Evaluator operand2) {
+    this.operand1 = operand1;
+    this.operand2 = operand2;
+  }
+
+  @Override
+  public Item evaluate(Interpreter interpreter) {
+    final Item argument1 = this.operand1.evaluate(interpreter);
+    if (argument1.isDefinite()) {
+      return argument1;
+    } else {
+      return this.operand2.evaluate(interpreter);
+    }
+  }
+
+}
+
+final class AndEvaluator extends Evaluator {
+
+  final Evaluator operand1;
+  final Evaluator operand2;
+
+  AndEvaluator(Evaluator operand1, Evaluator operand2) {
+    this.operand1 = operand1;
+    this.operand2 = operand2;
+  }
+
+  @Override
+  public Item evaluate(Interpreter interpreter) {
+    final Item argument1 = this.operand1.evaluate(interpreter);
+    if (argument1.isDefinite()) {
+      return this.operand2.evaluate(interpreter);
+    } else {
+      return argument1;
+    }
+  }
+
+}
+
+final class ConditionalEvaluator extends Evaluator {
+
+  final Evaluator ifTerm;
+  final Evaluator thenTerm;
+  final Evaluator elseTerm;
+
+  ConditionalEvaluator(Evaluator ifTerm, Evaluator thenTerm, Evaluator elseTerm) {
+    this.ifTerm = ifTerm;
+    this.thenTerm = thenTerm;
+    this.elseTerm = elseTerm;
+  }
+
+  @Override
+  public Item evaluate(Interpreter interpreter) {
+    if (this.ifTerm.evaluate(interpreter).isDefinite()) {
+      return this.thenTerm.evaluate(interpreter);
+    } else {
+      return this.elseTerm.evaluate(interpreter);
+    }
+  }
+
+}
+
+final class BinaryEvaluator extends Evaluator {
+
+  final int opcode;
+  final Evaluator operand1;
+  final Evaluator operand2;
+
+  BinaryEvaluator(int opcode, Evaluator operand1, Evaluator operand2) {
+    this.opcode = opcode;
+    this.operand1 = operand1;
+    this.operand2 = operand2;
+  }
+
+  @Override
+  public Item evaluate(Interpreter interpreter) {
+    final Item argument1 = this.operand1.evaluate(interpreter);
+    final Item argument2 = this.operand2.evaluate(interpreter);
+    return operate(this.opcode, argument1, argument2);
+  }
+
+  static Item operate(int opcode, Item argument1, Item argument2) {
+    switch (opcode) {
+      case BITWISE_OR: return argument1.bitwiseOr(argument2);
+      case BITWISE_XOR: return argument1.bitwiseXor(argument2);
+      case BITWISE_AND: return argument1.bitwiseAnd(argument2);
+      case LT: return argument1.lt(argument2);
+      case LE: return argument1.le(argument2);
+      case EQ: return argument1.eq(argument2);
+      case NE: return argument1.ne(argument2);
+      case GE: return argument1.ge(argument2);
+      case GT: return argument1.gt(argument2);
+      case PLUS: return argument1.plus(argument2);
+      case MINUS: return argument1.minus(argument2);
+      case TIMES: return argument1.times(argument2);
+      case DIVIDE: return argument1.divide(argument2);
+      case MODULO: return argument1.modulo(argument2);
+      default: throw new AssertionError(opcode);
+    }
+  }
+
+  static final int BITWISE_OR = 0;
+  static final int BITWISE_XOR = 1;
+  static final int BITWISE_AND = 2;
+  static final int LT = 3;
+  static final int LE = 4;
+  static final int EQ = 5;
+  static final int NE = 6;
+  static final int GE = 7;
+  static final int GT = 8;
+  static final int PLUS = 9;
+  static final int MINUS = 10;
+  static final int TIMES = 11;
+  static final int DIVIDE = 12;
+  static final int MODULO = 13;
+
+}
+
+final class UnaryEvaluator extends Evaluator {
+
+  final int opcode;
+  final Evaluator operand;
+
+  UnaryEvaluator(int opcode, Evaluator operand) {
+    this.opcode = opcode;
+    this.operand = operand;
+  }
+
+  @Override
+  public Item evaluate(Interpreter interpreter) {
+    return operate(this.opcode, this.operand.evaluate(interpreter));
+  }
+
+  static Item operate(int opcode, Item argument) {
+    switch (opcode) {
+      case NOT: return argument.not();
+      case BITWISE_NOT: return argument.bitwiseNot();
+      case NEGATIVE: return argument.negative();
+      case POSITIVE: return argument.positive();
+      default: throw new AssertionError(opcode);
+    }
+  }
+
+  static final int NOT = 0;
+  static final int BITWISE_NOT = 1;
+  static final int NEGATIVE = 2;
+  static final int POSITIVE = 3;
+
+}
+
+final class InvokeEvaluator extends Evaluator {
+
+  final InvokeOperator operator;
+  final Evaluator func;
+
+  InvokeEvaluator(InvokeOperator operator, Evaluator func) {
+    this.operator = operator;
+    this.func = func;
+  }
+
+  @Override
+  public Item evaluate(Interpreter interpreter) {
+    final Item func = this.func.evaluate(interpreter);
+    if (func instanceof Func) {
+      // Invoke through the original operator, which holds any function state.
+      return ((Func) func).invoke(this.operator.args(), interpreter, this.operator);
+    } else {
+      return Item.absent();
+    }
+  }
+
+}
+
+/**
+ * Compiled form of a {@link Selector}, which mirrors the selector's {@link
+ * Selector#forSelected forSelected} traversal of the interpreter's scope
+ * stack, subselecting through compiled {@code then} evaluators.
+ */
+abstract class SelectorEvaluator extends Evaluator {
+
+  abstract <T> T forSelected(Interpreter interpreter, Selectee<T> callback);
+
+  @Override
+  public Item evaluate(Interpreter interpreter) {
+    final SelecteeCollector collector = new SelecteeCollector();
+    forSelected(interpreter, collector);
+    return collector.result();
+  }
+
+}
+
+/**
+ * Accumulates selected items, deferring allocation of a {@link Record} until
+ * it's needed to hold more than one selection.
+ */
+final class SelecteeCollector implements Selectee<Object> {
+
+  Item first;
+  Record selected;
+
+  @Override
+  public Object selected(Interpreter interpreter) {
+    final Item scope = interpreter.peekScope();
+    if (scope != null) {
+      if (this.first == null) {
+        this.first = scope;
+      } else {
+        if (this.selected == null) {
+          this.selected = Record.create();
+          this.selected.add(this.first);
+        }
+        this.selected.add(scope);
+      }
+    }
+    return null;
+  }
+
+  Item result() {
+    final Item first = this.first;
+    if (first == null) {
+      return Item.absent();
+    } else if (this.selected != null) {
+      return this.selected.flattened();
+    } else if (first instanceof Value) {
+      return first;
+    } else {
+      return Record.of(first).flattened();
+    }
+  }
+
+}
+
+final class InterpretedSelectorEvaluator extends SelectorEvaluator {
+
+  final Selector selector;
+
+  InterpretedSelectorEvaluator(Selector selector) {
+    this.selector = selector;
+  }
+
+  @Override
+  <T> T forSelected(Interpreter interpreter, Selectee<T> callback) {
+    return this.selector.forSelected(interpreter, callback);
+  }
+
+}
+
+final class IdentityEvaluator extends SelectorEvaluator {
+
+  @Override
+  <T> T forSelected(Interpreter interpreter, Selectee<T> callback) {
+    T selected = null;
+    if (interpreter.scopeDepth() != 0) {
+      final Item oldScope = interpreter.popScope();
+      final Item newScope = isInert(oldScope) ? oldScope : oldScope.evaluate(interpreter);
+      interpreter.pushScope(newScope);
+      selected = callback.selected(interpreter);
+      interpreter.swapScope(oldScope);
+    }
+    return selected;
+  }
+
+  /**
+   * Returns {@code true} if {@code item} is known to evaluate to itself, in
+   * which case evaluating it would only allocate a discarded copy.
+   */
+  static boolean isInert(Item item) {
+    if (item instanceof Expression) {
+      return false;
+    } else if (item instanceof Field) {
+      return isInert(((Field) item).key()) && isInert(((Field) item).toValue());
+    } else if (item instanceof Record) {
+      if (item.getClass() != RecordMap.class) {
+        return false;
+      }
+      final Record record = (Record) item;
+      for (int i = 0, n = record.size(); i < n; i += 1) {
+        if (!isInert(record.getItem(i))) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static final IdentityEvaluator IDENTITY = new IdentityEvaluator();
+
+  static IdentityEvaluator identity() {
+    return IDENTITY;
+  }
+
+}
+
+final class GetEvaluator extends SelectorEvaluator {
+
+  final Value key;
+  final Evaluator keyEvaluator;
+  final SelectorEvaluator then;
+
+  GetEvaluator(Value key, Evaluator keyEvaluator, SelectorEvaluator then) {
+    this.key = key;
+    this.keyEvaluator = keyEvaluator;
+    this.then = then;
+  }
+
+  @Override
+  <T> T forSelected(Interpreter interpreter, Selectee<T> callback) {
+    Value key = this.key;
+    if (key == null) {
+      key = this.keyEvaluator.evaluate(interpreter).toValue();
+    }
+    return forSelected(key, this.then, interpreter, callback);
+  }
+
+  static <T> T forSelected(Value key, SelectorEvaluator then, Interpreter interpreter, Selectee<T> callback) {
+    T selected = null;
+    if (interpreter.scopeDepth() != 0) {
+      final Value scope = interpreter.popScope().toValue();
+      final Field field;
+      if (scope instanceof Record) {
+        field = scope.getField(key);
+        if (field != null) {
+          interpreter.pushScope(field.toValue());
+          selected = then.forSelected(interpreter, callback);
+          interpreter.popScope();
+        }
+      } else {
+        field = null;
+      }
+      if (field == null && selected == null) {
+        // Search the enclosing scopes.
+        forSelected(key, then, interpreter, callback);
+      }
+      interpreter.pushScope(scope);
+    }
+    return selected;
+  }
+
+}
+
+final class GetAttrEvaluator extends SelectorEvaluator {
+
+  final Text key;
+  final SelectorEvaluator then;
+
+  GetAttrEvaluator(Text key, SelectorEvaluator then) {
+    this.key = key;
+    this.then = then;
+  }
+
+  @Override
+  <T> T forSelected(Interpreter interpreter, Selectee<T> callback) {
+    return forSelected(this.key, this.then, interpreter, callback);
+  }
+
+  static <T> T forSelected(Text key, SelectorEvaluator then, Interpreter interpreter, Selectee<T> callback) {
+    T selected = null;
+    if (interpreter.scopeDepth() != 0) {
+      final Value scope = interpreter.popScope().toValue();
+      final Field field;
+      if (scope instanceof Record) {
+        field = scope.getField(key);
+        if (field instanceof Attr) {
+          interpreter.pushScope(field.toValue());
+          selected = then.forSelected(interpreter, callback);
+          interpreter.popScope();
+        }
+      } else {
+        field = null;
+      }
+      if (field == null && selected == null) {
+        // Search the enclosing scopes.
+        forSelected(key, then, interpreter, callback);
+      }
+      interpreter.pushScope(scope);
+    }
+    return selected;
+  }
+
+}
+
+final class GetItemEvaluator extends SelectorEvaluator {
+
+  final int index;
+  final SelectorEvaluator then;
+
+  GetItemEvaluator(int index, SelectorEvaluator then) {
+    this.index = index;
+    this.then = then;
+  }
+
+  @Override
+  <T> T forSelected(Interpreter interpreter, Selectee<T> callback) {
+    T selected = null;
+    if (interpreter.scopeDepth() != 0) {
+      final Value scope = interpreter.popScope().toValue();
+      if (scope instanceof Record && this.index < scope.length()) {
+        interpreter.pushScope(scope.getItem(this.index));
+        selected = this.then.forSelected(interpreter, callback);
+        interpreter.popScope();
+      }
+      interpreter.pushScope(scope);
+    }
+    return selected;
+  }
+
+}
+
+final class KeysEvaluator extends SelectorEvaluator {
+
+  final SelectorEvaluator then;
+
+  KeysEvaluator(SelectorEvaluator then) {
+    this.then = then;
+  }
+
+  @Override
+  <T> T forSelected(Interpreter interpreter, Selectee<T> callback) {
+    T selected = null;
+    if (interpreter.scopeDepth() != 0) {
+      final Item scope = interpreter.popScope();
+      if (scope instanceof Record) {
+        final Record record = (Record) scope;
+        for (int i = 0, n = record.size(); selected == null && i < n; i += 1) {
+          final Item child = record.getItem(i);
+          if (child instanceof Field) {
+            interpreter.pushScope(child.key());
+            selected = this.then.forSelected(interpreter, callback);
+            interpreter.popScope();
+          }
+        }
+      } else if (scope instanceof Field) {
+        interpreter.pushScope(scope.key());
+        selected = this.then.forSelected(interpreter, callback);
+        interpreter.popScope();
+      }
+      interpreter.pushScope(scope);
+    }
+    return selected;
+  }
+
+}
+
+final class ValuesEvaluator extends SelectorEvaluator {
+
+  final SelectorEvaluator then;
+
+  ValuesEvaluator(SelectorEvaluator then) {
+    this.then = then;
+  }
+
+  @Override
+  <T> T forSelected(Interpreter interpreter, Selectee<T> callback) {
+    T selected = null;
+    if (interpreter.scopeDepth() != 0) {
+      final Item scope = interpreter.popScope();
+      if (scope instanceof Record) {
+        final Record record = (Record) scope;
+        for (int i = 0, n = record.size(); selected == null && i < n; i += 1) {
+          interpreter.pushScope(record.getItem(i).toValue());
+          selected = this.then.forSelected(interpreter, callback);
+          interpreter.popScope();
+        }
+      } else {
+        interpreter.pushScope(scope.toValue());
+        selected = this.then.forSelected(interpreter, callback);
+        interpreter.popScope();
+      }
+      interpreter.pushScope(scope);
+    }
+    return selected;
+  }
+
+}
+
+final class ChildrenEvaluator extends SelectorEvaluator {
+
+  final SelectorEvaluator then;
+
+  ChildrenEvaluator(SelectorEvaluator then) {
+    this.then = then;
+  }
+
+  @Override
+  <T> T forSelected(Interpreter interpreter, Selectee<T> callback) {
+    T selected = null;
+    if (interpreter.scopeDepth() != 0) {
+      final Value scope = interpreter.popScope().toValue();
+      if (scope instanceof Record) {
+        final Record record = (Record) scope;
+        for (int i = 0, n = record.size(); selected == null && i < n; i += 1) {
+          interpreter.pushScope(record.getItem(i));
+          selected = this.then.forSelected(interpreter, callback);
+          interpreter.popScope();
+        }
+      }
+      interpreter.pushScope(scope);
+    }
+    return selected;
+  }
+
+}
+
+final class DescendantsEvaluator extends SelectorEvaluator {
+
+  final SelectorEvaluator then;
+
+  DescendantsEvaluator(SelectorEvaluator then) {
+    this.then = then;
+  }
+
+  @Override
+  <T> T forSelected(Interpreter interpreter, Selectee<T> callback) {
+    T selected = null;
+    if (interpreter.scopeDepth() != 0) {
+      final Value scope = interpreter.popScope().toValue();
+      if (scope instanceof Record) {
+        final Record record = (Record) scope;
+        for (int i = 0, n = record.size(); selected == null && i < n; i += 1) {
+          interpreter.pushScope(record.getItem(i));
+          selected = this.then.forSelected(interpreter, callback);
+          if (selected == null) {
+            forSelected(interpreter, callback);
+          }
+          interpreter.popScope();
+        }
+      }
+      interpreter.pushScope(scope);
+    }
+    return selected;
+  }
+
+}
+
+final class FilterEvaluator extends SelectorEvaluator implements Selectee<Item> {
+
+  final SelectorEvaluator predicate;
+  final SelectorEvaluator then;
+
+  FilterEvaluator(SelectorEvaluator predicate, SelectorEvaluator then) {
+    this.predicate = predicate;
+    this.then = then;
+  }
+
+  @Override
+  <T> T forSelected(Interpreter interpreter, Selectee<T> callback) {
+    T selected = null;
+    if (interpreter.scopeDepth() != 0 && this.predicate.forSelected(interpreter, this) != null) {
+      selected = this.then.forSelected(interpreter, callback);
+    }
+    return selected;
+  }
+
+  @Override
+  public Item selected(Interpreter interpreter) {
+    return Item.extant();
+  }
+
+}
+
+final class LiteralEvaluator extends SelectorEvaluator {
+
+  final Evaluator item;
+  final SelectorEvaluator then;
+
+  LiteralEvaluator(Evaluator item, SelectorEvaluator then) {
+    this.item = item;
+    this.then = then;
+  }
+
+  @Override
+  <T> T forSelected(Interpreter interpreter, Selectee<T> callback) {
+    T selected = null;
+    if (interpreter.scopeDepth() != 0) {
+      final Item literal = this.item.evaluate(interpreter);
+      if (literal.isDefined()) {
+        interpreter.pushScope(literal);
+        selected = this.then.forSelected(interpreter, callback);
+        interpreter.popScope();
+      }
+    }
+    return selected;
+  }
+
+}
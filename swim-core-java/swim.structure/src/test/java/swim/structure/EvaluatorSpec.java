@@ -0,0 +1,147 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.structure;
+
+import org.testng.annotations.Test;
+import swim.structure.operator.ConditionalOperator;
+import swim.structure.operator.OrOperator;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class EvaluatorSpec {
+
+  static final Item[] SCOPES = {
+      Value.absent(),
+      Value.extant(),
+      Num.from(42),
+      Text.from("test"),
+      Record.empty(),
+      Slot.of("a", Record.of(Slot.of("b", 2))),
+      Record.of(Slot.of("a", 1), Slot.of("b", 2)),
+      Record.of(Attr.of("a", 1), Slot.of("b", 2), 3),
+      Record.of(Slot.of("a", Record.of(Slot.of("b", 2), Slot.of("c", Record.of(Slot.of("d", 4))))), Slot.of("e", 5)),
+      Record.of(Record.of(Slot.of("x", 1), Slot.of("y", 2)), Record.of(Slot.of("x", 3)), Slot.of("x", 5)),
+      Record.of(Slot.of("a", Selector.identity().get("b").plus(Num.from(1))), Slot.of("b", 10)),
+  };
+
+  static void assertCompiles(Item expr) {
+    final Evaluator evaluator = Evaluator.compile(expr);
+    for (Item scope : SCOPES) {
+      assertEquals(evaluator.evaluate(scope), expr.evaluate(scope), expr + " in " + scope);
+    }
+  }
+
+  @Test
+  public void compileIdentity() {
+    assertCompiles(Selector.identity());
+  }
+
+  @Test
+  public void compileGet() {
+    assertCompiles(Selector.identity().get("a"));
+    assertCompiles(Selector.identity().get("b"));
+    assertCompiles(Selector.identity().get("a").get("b"));
+    assertCompiles(Selector.identity().get("a").get("c").get("d"));
+    assertCompiles(Selector.identity().get("a").get("e"));
+    assertCompiles(Selector.identity().get(Selector.identity().get("k")));
+  }
+
+  @Test
+  public void compileGetAttr() {
+    assertCompiles(Selector.identity().getAttr("a"));
+    assertCompiles(Selector.identity().getAttr("b"));
+  }
+
+  @Test
+  public void compileGetItem() {
+    assertCompiles(Selector.identity().getItem(0));
+    assertCompiles(Selector.identity().getItem(1).get("x"));
+    assertCompiles(Selector.identity().getItem(5));
+  }
+
+  @Test
+  public void compileCollections() {
+    assertCompiles(Selector.identity().keys());
+    assertCompiles(Selector.identity().values());
+    assertCompiles(Selector.identity().children());
+    assertCompiles(Selector.identity().descendants());
+    assertCompiles(Selector.identity().children().get("x"));
+    assertCompiles(Selector.identity().descendants().get("x"));
+  }
+
+  @Test
+  public void compileFilters() {
+    assertCompiles(Selector.identity().children().filter(Selector.identity().get("y")));
+    assertCompiles(Selector.identity().children().filter(Selector.identity().get("x").gt(Num.from(2))));
+    assertCompiles(Selector.identity().filter(Selector.identity().get("a").eq(Num.from(1))).get("b"));
+    assertCompiles(Selector.identity().descendants().filter(Selector.identity().get("x").ge(Num.from(3))));
+  }
+
+  @Test
+  public void compileLiterals() {
+    assertCompiles(Selector.literal(Num.from(1).plus(Num.from(2))));
+    assertCompiles(Selector.literal(Record.of(Slot.of("z", 7))).get("z"));
+  }
+
+  @Test
+  public void compileOperators() {
+    final Selector a = Selector.identity().get("a");
+    final Selector b = Selector.identity().get("b");
+    assertCompiles(a.plus(b));
+    assertCompiles(a.minus(b).times(Num.from(3)));
+    assertCompiles(b.divide(a).modulo(Num.from(2)));
+    assertCompiles(a.lt(b).or(a.eq(b)));
+    assertCompiles(a.le(b).and(b.ne(a)));
+    assertCompiles(a.bitwiseOr(b).bitwiseXor(b.bitwiseAnd(a)));
+    assertCompiles(a.not());
+    assertCompiles(a.negative().plus(b.positive()));
+    assertCompiles(a.bitwiseNot());
+    assertCompiles(a.conditional(b, Num.from(0)));
+    assertCompiles(a.inverse());
+  }
+
+  @Test
+  public void compileEvaluatedScopes() {
+    assertCompiles(Selector.identity().get("a").times(Num.from(2)));
+    assertCompiles(Selector.identity().children());
+  }
+
+  @Test
+  public void foldConstantOperators() {
+    final Evaluator sum = Evaluator.compile(Num.from(1).plus(Num.from(2)).times(Num.from(3)));
+    assertTrue(sum.isConstant());
+    assertEquals(sum.evaluate(Value.absent()), Num.from(9));
+
+    final Evaluator or = Evaluator.compile(new OrOperator(Value.absent(), Selector.identity().get("a")));
+    assertFalse(or.isConstant());
+    assertCompiles(new OrOperator(Value.absent(), Selector.identity().get("a")));
+    assertCompiles(new ConditionalOperator(Bool.from(true), Selector.identity().get("a"), Num.from(0)));
+  }
+
+  @Test
+  public void reuseInterpreter() {
+    final Evaluator evaluator = Evaluator.compile(Selector.identity().get("b").plus(Num.from(1)));
+    final Interpreter interpreter = new Interpreter();
+    interpreter.pushScope(Item.globalScope());
+    for (int i = 0; i < 4; i += 1) {
+      interpreter.pushScope(Record.of(Slot.of("b", i)));
+      assertEquals(evaluator.evaluate(interpreter), Num.from(i + 1));
+      interpreter.popScope();
+    }
+    assertEquals(interpreter.scopeDepth(), 1);
+  }
+
+}
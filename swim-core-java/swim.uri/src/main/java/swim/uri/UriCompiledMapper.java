@@ -0,0 +1,498 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.uri;
+
+import java.util.Iterator;
+import java.util.Map;
+import swim.codec.Output;
+import swim.codec.Unicode;
+import swim.collections.HashTrieMap;
+
+/**
+ * A {@link UriMapper} flattened into a radix trie that matches directly
+ * against the string form of a URI. Literal path segments with a single
+ * continuation are collapsed into one edge, and the sibling edges of each
+ * node are kept sorted so that a segment resolves by binary search, without
+ * first parsing the URI into path segments. Compiled mappers are immutable;
+ * updates rebuild the trie from the updated source mapper.
+ */
+final class UriCompiledMapper<T> extends UriMapper<T> {
+
+  final UriMapper<T> mapper;
+  final String[] schemes;
+  final UriCompiledNode<T>[] schemeNodes;
+  final UriCompiledNode<T> root;
+
+  @SuppressWarnings("unchecked")
+  UriCompiledMapper(UriMapper<T> mapper) {
+    this.mapper = mapper;
+    if (mapper instanceof UriSchemeMapping<?>) {
+      final HashTrieMap<String, UriAuthorityMapper<T>> table = ((UriSchemeMapping<T>) mapper).table;
+      final String[] schemes = new String[table.size()];
+      final UriCompiledNode<T>[] schemeNodes = (UriCompiledNode<T>[]) new UriCompiledNode<?>[schemes.length];
+      final Iterator<Map.Entry<String, UriAuthorityMapper<T>>> routes = table.iterator();
+      int i = 0;
+      while (routes.hasNext()) {
+        final Map.Entry<String, UriAuthorityMapper<T>> route = routes.next();
+        schemes[i] = route.getKey();
+        schemeNodes[i] = UriCompiledNode.compile(route.getValue());
+        i += 1;
+      }
+      this.schemes = schemes;
+      this.schemeNodes = schemeNodes;
+      this.root = null;
+    } else {
+      this.schemes = null;
+      this.schemeNodes = null;
+      this.root = UriCompiledNode.compile(mapper);
+    }
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.mapper.isEmpty();
+  }
+
+  @Override
+  public int size() {
+    return this.mapper.size();
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    return this.mapper.containsValue(value);
+  }
+
+  @Override
+  public UriMapper<T> getSuffix(Uri uri) {
+    return this.mapper.getSuffix(uri);
+  }
+
+  @Override
+  public T get(Uri uri) {
+    final UriCompiledNode<T> node = match(uri, null);
+    return node != null ? node.value : null;
+  }
+
+  @Override
+  public T get(String uri) {
+    final int pathStart = rawPathStart(uri);
+    if (pathStart >= 0) {
+      final UriCompiledNode<T> node = match(uri, pathStart, null);
+      return node != null ? node.value : null;
+    } else {
+      // Non-canonical URI strings need to be parsed and re-encoded first.
+      return get(Uri.parse(uri));
+    }
+  }
+
+  @Override
+  public HashTrieMap<String, String> unapply(Uri uri) {
+    final int[] captures = new int[depth() << 1];
+    final UriCompiledNode<T> node = match(uri, captures);
+    HashTrieMap<String, String> params = HashTrieMap.empty();
+    if (node != null) {
+      final String string = uri.toString();
+      final String[] variables = node.variables;
+      for (int i = 0; i < variables.length; i += 1) {
+        String value = string.substring(captures[i << 1], captures[(i << 1) + 1]);
+        if (value.indexOf('%') >= 0) {
+          value = UriPath.parse(value).head();
+        }
+        params = params.updated(variables[i], value);
+      }
+    }
+    return params;
+  }
+
+  int depth() {
+    int depth = 0;
+    if (this.root != null) {
+      depth = this.root.depth;
+    } else {
+      for (int i = 0; i < this.schemeNodes.length; i += 1) {
+        depth = Math.max(depth, this.schemeNodes[i].depth);
+      }
+    }
+    return depth;
+  }
+
+  UriCompiledNode<T> match(Uri uri, int[] captures) {
+    final String string = uri.toString();
+    int pathStart = 0;
+    if (uri.scheme().isDefined()) {
+      pathStart = string.indexOf(':') + 1;
+    }
+    if (uri.authority().isDefined()) {
+      pathStart += 2;
+      final int n = string.length();
+      while (pathStart < n) {
+        final char c = string.charAt(pathStart);
+        if (c == '/' || c == '?' || c == '#') {
+          break;
+        }
+        pathStart += 1;
+      }
+    }
+    return match(string, pathStart, captures);
+  }
+
+  UriCompiledNode<T> match(String string, int pathStart, int[] captures) {
+    final UriCompiledNode<T> node;
+    if (this.root != null) {
+      node = this.root;
+    } else {
+      node = schemeNode(string);
+      if (node == null) {
+        return null;
+      }
+    }
+    int pathEnd = pathStart;
+    final int n = string.length();
+    while (pathEnd < n) {
+      final char c = string.charAt(pathEnd);
+      if (c == '?' || c == '#') {
+        break;
+      }
+      pathEnd += 1;
+    }
+    return node.match(string, pathStart, pathEnd, captures);
+  }
+
+  UriCompiledNode<T> schemeNode(String string) {
+    final int colon = string.indexOf(':');
+    if (colon > 0) {
+      final String[] schemes = this.schemes;
+      for (int i = 0; i < schemes.length; i += 1) {
+        final String scheme = schemes[i];
+        if (scheme.length() == colon && string.startsWith(scheme)) {
+          return this.schemeNodes[i];
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the offset of the path component of a raw URI string, or
+   * {@code -1} if the string is not in the canonical form produced by
+   * {@link Uri#toString()}, and so can't be matched without parsing.
+   */
+  static int rawPathStart(String string) {
+    final int n = string.length();
+    int i = 0;
+    if (n > 0 && Uri.isAlpha(string.charAt(0))) {
+      int j = 1;
+      while (j < n && Uri.isSchemeChar(string.charAt(j))) {
+        j += 1;
+      }
+      if (j < n && string.charAt(j) == ':') {
+        for (int k = 0; k < j; k += 1) {
+          final char c = string.charAt(k);
+          if (c >= 'A' && c <= 'Z') {
+            return -1;
+          }
+        }
+        i = j + 1;
+      }
+    }
+    if (i + 1 < n && string.charAt(i) == '/' && string.charAt(i + 1) == '/') {
+      i += 2;
+      while (i < n) {
+        final char c = string.charAt(i);
+        if (c == '/' || c == '?' || c == '#') {
+          break;
+        }
+        i += 1;
+      }
+    }
+    final int pathStart = i;
+    while (i < n) {
+      final char c = string.charAt(i);
+      if (c == '?' || c == '#') {
+        break;
+      } else if (c != '/' && !Uri.isPathChar(c)) {
+        return -1;
+      }
+      i += 1;
+    }
+    return pathStart;
+  }
+
+  @Override
+  public UriMapper<T> merged(UriMapper<T> that) {
+    if (that instanceof UriCompiledMapper<?>) {
+      that = ((UriCompiledMapper<T>) that).mapper;
+    }
+    return this.mapper.merged(that).compile();
+  }
+
+  @Override
+  public UriMapper<T> removed(Uri pattern) {
+    final UriMapper<T> mapper = this.mapper.removed(pattern);
+    if (mapper != this.mapper) {
+      return mapper.compile();
+    } else {
+      return this;
+    }
+  }
+
+  @Override
+  public UriMapper<T> unmerged(UriMapper<T> that) {
+    if (that instanceof UriCompiledMapper<?>) {
+      that = ((UriCompiledMapper<T>) that).mapper;
+    }
+    final UriMapper<T> mapper = this.mapper.unmerged(that);
+    if (mapper != this.mapper) {
+      return mapper.compile();
+    } else {
+      return this;
+    }
+  }
+
+  @Override
+  public UriMapper<T> compile() {
+    return this;
+  }
+
+  @Override
+  public Iterator<Entry<Uri, T>> iterator() {
+    return this.mapper.iterator();
+  }
+
+  @Override
+  public Iterator<Uri> keyIterator() {
+    return this.mapper.keyIterator();
+  }
+
+  @Override
+  public Iterator<T> valueIterator() {
+    return this.mapper.valueIterator();
+  }
+
+  @Override
+  public long childCount() {
+    return this.mapper.childCount();
+  }
+
+  @Override
+  public Iterator<UriPart> childIterator() {
+    return this.mapper.childIterator();
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (other instanceof UriCompiledMapper<?>) {
+      return this.mapper.equals(((UriCompiledMapper<?>) other).mapper);
+    } else {
+      return this.mapper.equals(other);
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    return this.mapper.hashCode();
+  }
+
+}
+
+final class UriCompiledNode<T> {
+
+  final String[] labels;
+  final int[] heads;
+  final UriCompiledNode<T>[] children;
+  final UriCompiledNode<T> wildcard;
+  final Uri key;
+  final T value;
+  final String[] variables;
+  final int depth;
+
+  UriCompiledNode(String[] labels, int[] heads, UriCompiledNode<T>[] children,
+                  UriCompiledNode<T> wildcard, Uri key, T value) {
+    this.labels = labels;
+    this.heads = heads;
+    this.children = children;
+    this.wildcard = wildcard;
+    this.key = key;
+    this.value = value;
+    this.variables = key != null ? variables(key.path()) : null;
+    int depth = this.variables != null ? this.variables.length : 0;
+    for (int i = 0; i < children.length; i += 1) {
+      depth = Math.max(depth, children[i].depth);
+    }
+    if (wildcard != null) {
+      depth = Math.max(depth, wildcard.depth);
+    }
+    this.depth = depth;
+  }
+
+  boolean isPassThrough() {
+    return this.children.length == 1 && this.wildcard == null && this.key == null;
+  }
+
+  UriCompiledNode<T> match(String string, int index, int pathEnd, int[] captures) {
+    UriCompiledNode<T> node = this;
+    int captureCount = 0;
+    do {
+      if (index == pathEnd) {
+        return node.key != null ? node : null;
+      }
+      int segmentEnd = index + 1;
+      if (string.charAt(index) != '/') {
+        while (segmentEnd < pathEnd && string.charAt(segmentEnd) != '/') {
+          segmentEnd += 1;
+        }
+      }
+      final int childIndex = node.lookup(string, index, segmentEnd);
+      if (childIndex >= 0) {
+        // Literal segments take precedence over variables, without backtracking.
+        final String label = node.labels[childIndex];
+        final int labelLength = label.length();
+        if (index + labelLength > pathEnd || !string.regionMatches(index, label, 0, labelLength)) {
+          return null;
+        }
+        index += labelLength;
+        if (label.charAt(labelLength - 1) != '/' && index < pathEnd && string.charAt(index) != '/') {
+          return null;
+        }
+        node = node.children[childIndex];
+      } else if (node.wildcard != null) {
+        if (captures != null) {
+          captures[captureCount] = index;
+          captures[captureCount + 1] = segmentEnd;
+          captureCount += 2;
+        }
+        index = segmentEnd;
+        node = node.wildcard;
+      } else {
+        return null;
+      }
+    } while (true);
+  }
+
+  int lookup(String string, int start, int end) {
+    int low = 0;
+    int high = this.labels.length - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final int order = compare(this.labels[mid], this.heads[mid], string, start, end);
+      if (order < 0) {
+        low = mid + 1;
+      } else if (order > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  static int compare(String label, int head, String string, int start, int end) {
+    final int n = Math.min(head, end - start);
+    for (int i = 0; i < n; i += 1) {
+      final int order = label.charAt(i) - string.charAt(start + i);
+      if (order != 0) {
+        return order;
+      }
+    }
+    return head - (end - start);
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T> UriCompiledNode<T> compile(UriMapper<T> mapper) {
+    if (mapper instanceof UriPathMapping<?>) {
+      final UriPathMapping<T> mapping = (UriPathMapping<T>) mapper;
+      final int count = mapping.table.size();
+      final String[] labels = new String[count];
+      final int[] heads = new int[count];
+      final UriCompiledNode<T>[] children = (UriCompiledNode<T>[]) new UriCompiledNode<?>[count];
+      final Iterator<Map.Entry<String, UriPathMapper<T>>> routes = mapping.table.iterator();
+      int i = 0;
+      while (routes.hasNext()) {
+        final Map.Entry<String, UriPathMapper<T>> route = routes.next();
+        final String head = encodeSegment(route.getKey());
+        final StringBuilder label = new StringBuilder(head);
+        UriCompiledNode<T> child = compile(route.getValue());
+        // Collapse chains of single literal continuations into one edge.
+        while (child.isPassThrough()) {
+          label.append(child.labels[0]);
+          child = child.children[0];
+        }
+        // Keep edges sorted by head segment for binary search.
+        int j = i - 1;
+        while (j >= 0 && compare(labels[j], heads[j], head, 0, head.length()) > 0) {
+          labels[j + 1] = labels[j];
+          heads[j + 1] = heads[j];
+          children[j + 1] = children[j];
+          j -= 1;
+        }
+        labels[j + 1] = label.toString();
+        heads[j + 1] = head.length();
+        children[j + 1] = child;
+        i += 1;
+      }
+      final UriCompiledNode<T> wildcard = !mapping.wildcard.isEmpty() ? compile(mapping.wildcard) : null;
+      Uri key = null;
+      T value = null;
+      if (mapping.terminal instanceof UriConstantMapping<?>) {
+        key = ((UriConstantMapping<T>) mapping.terminal).key;
+        value = ((UriConstantMapping<T>) mapping.terminal).value;
+      }
+      return new UriCompiledNode<T>(labels, heads, children, wildcard, key, value);
+    } else if (mapper instanceof UriConstantMapping<?>) {
+      final UriConstantMapping<T> mapping = (UriConstantMapping<T>) mapper;
+      return new UriCompiledNode<T>(new String[0], new int[0], (UriCompiledNode<T>[]) new UriCompiledNode<?>[0],
+                                    null, mapping.key, mapping.value);
+    } else {
+      return new UriCompiledNode<T>(new String[0], new int[0], (UriCompiledNode<T>[]) new UriCompiledNode<?>[0],
+                                    null, null, null);
+    }
+  }
+
+  static String encodeSegment(String segment) {
+    if ("/".equals(segment)) {
+      return segment;
+    } else {
+      final Output<String> output = Unicode.stringOutput();
+      Uri.writePathSegment(segment, output);
+      return output.bind();
+    }
+  }
+
+  static String[] variables(UriPath path) {
+    int count = 0;
+    UriPath rest = path;
+    while (!rest.isEmpty()) {
+      if (!rest.isAbsolute() && rest.head().startsWith(":")) {
+        count += 1;
+      }
+      rest = rest.tail();
+    }
+    final String[] variables = new String[count];
+    int i = 0;
+    rest = path;
+    while (!rest.isEmpty()) {
+      if (!rest.isAbsolute() && rest.head().startsWith(":")) {
+        variables[i] = rest.head().substring(1);
+        i += 1;
+      }
+      rest = rest.tail();
+    }
+    return variables;
+  }
+
+}
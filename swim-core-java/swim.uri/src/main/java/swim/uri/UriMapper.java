@@ -24,11 +24,14 @@ import java.util.Set;
 import swim.codec.Debug;
 import swim.codec.Format;
 import swim.codec.Output;
+import swim.collections.HashTrieMap;
 
 public abstract class UriMapper<T> implements Iterable<Map.Entry<Uri, T>>, Map<Uri, T>, Debug {
 
   private static UriMapper<Object> empty;
 
+  volatile UriCompiledMapper<T> compiled;
+
   UriMapper() {
     // sealed
   }
@@ -137,6 +140,37 @@ public abstract class UriMapper<T> implements Iterable<Map.Entry<Uri, T>>, Map<U
 
   public abstract UriMapper<T> unmerged(UriMapper<T> that);
 
+  /**
+   * Returns the path variables captured by the pattern that maps the given
+   * {@code uri}, or an empty map if no pattern maps the {@code uri}.
+   * Matches against this mapper's cached {@link #compile() compiled} form,
+   * so the radix trie only gets built once per mapper.
+   */
+  public HashTrieMap<String, String> unapply(Uri uri) {
+    return compile().unapply(uri);
+  }
+
+  public HashTrieMap<String, String> unapply(String uri) {
+    return unapply(Uri.parse(uri));
+  }
+
+  /**
+   * Returns a mapper with the same mappings as this mapper that resolves
+   * lookups by matching the string form of URIs against a precompiled
+   * radix trie of its patterns. Updating a compiled mapper returns a newly
+   * compiled mapper, so compiled mappers are best suited to route tables
+   * that are read far more often than they're modified.  Mappers are
+   * immutable, so each mapper caches its compiled form.
+   */
+  public UriMapper<T> compile() {
+    UriCompiledMapper<T> compiled = this.compiled;
+    if (compiled == null) {
+      compiled = new UriCompiledMapper<T>(this);
+      this.compiled = compiled;
+    }
+    return compiled;
+  }
+
   @Override
   public Set<Entry<Uri, T>> entrySet() {
     return new UriMapperEntrySet<T>(this);
@@ -48,6 +48,9 @@ abstract class UriSchemeMapper<T> extends UriMapper<T> {
 
   @Override
   public UriMapper<T> merged(UriMapper<T> that) {
+    if (that instanceof UriCompiledMapper<?>) {
+      that = ((UriCompiledMapper<T>) that).mapper;
+    }
     if (that instanceof UriSchemeMapper<?>) {
       return merged((UriSchemeMapper<T>) that);
     } else {
@@ -68,6 +71,9 @@ abstract class UriSchemeMapper<T> extends UriMapper<T> {
 
   @Override
   public UriMapper<T> unmerged(UriMapper<T> that) {
+    if (that instanceof UriCompiledMapper<?>) {
+      that = ((UriCompiledMapper<T>) that).mapper;
+    }
     if (that instanceof UriSchemeMapper<?>) {
       return unmerged((UriSchemeMapper<T>) that);
     } else {
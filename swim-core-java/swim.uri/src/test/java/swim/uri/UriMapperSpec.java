@@ -16,9 +16,12 @@ package swim.uri;
 
 import java.util.Iterator;
 import org.testng.annotations.Test;
+import swim.collections.HashTrieMap;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 public class UriMapperSpec {
@@ -284,4 +287,112 @@ public class UriMapperSpec {
     assertFalse(childIterator.hasNext());
   }
 
+  @Test
+  public void mapCompiledUriPaths() {
+    final UriMapper<String> mapper = UriMapper.<String>empty()
+        .updated("/a/b", "B")
+        .updated("/a/c", "C")
+        .updated("/abc/d/e/f", "F")
+        .updated("/x/y", "Y")
+        .compile();
+    assertEquals(mapper.get("/a/b"), "B");
+    assertEquals(mapper.get("/a/c"), "C");
+    assertEquals(mapper.get("/abc/d/e/f"), "F");
+    assertEquals(mapper.get("/x/y"), "Y");
+    assertEquals(mapper.get("/x/y?q#f"), "Y");
+    assertEquals(mapper.get("swim://example.com/x/y"), "Y");
+    assertNull(mapper.get("/a"));
+    assertNull(mapper.get("/a/"));
+    assertNull(mapper.get("/a/bc"));
+    assertNull(mapper.get("/abc/d/e"));
+    assertNull(mapper.get("/abc/d/x/f"));
+    assertNull(mapper.get("/abc/d/e/fg"));
+    assertNull(mapper.get("/x/y/"));
+  }
+
+  @Test
+  public void mapCompiledUriVariablePaths() {
+    UriMapper<String> mapper = UriMapper.<String>empty()
+        .updated("/:a", "A")
+        .updated("/:a/b", "B")
+        .updated("/:a/c", "C")
+        .updated("/:a/:b", "Y")
+        .updated("/x/z", "Z")
+        .compile();
+    assertEquals(mapper.get("/a"), "A");
+    assertNull(mapper.get("/x/"));
+    assertEquals(mapper.get("/a/b"), "B");
+    assertEquals(mapper.get("/a/c"), "C");
+    assertEquals(mapper.get("/a/y"), "Y");
+    assertEquals(mapper.get("/x/z"), "Z");
+    // Literal segments take precedence over variables, without backtracking.
+    assertNull(mapper.get("/x/b"));
+
+    mapper = mapper.removed("/x/z");
+    assertEquals(mapper.get("/x/b"), "B");
+    assertEquals(mapper.get("/x/z"), "Y");
+  }
+
+  @Test
+  public void mapCompiledUriSchemes() {
+    final UriMapper<String> mapper = UriMapper.<String>empty()
+        .updated("warp:/a", "W")
+        .updated("http:/a", "H")
+        .compile();
+    assertEquals(mapper.get("warp:/a"), "W");
+    assertEquals(mapper.get("http://example.com/a"), "H");
+    assertEquals(mapper.get("HTTP:/a"), "H");
+    assertNull(mapper.get("/a"));
+    assertNull(mapper.get("ws:/a"));
+  }
+
+  @Test
+  public void mapCompiledEncodedUriPaths() {
+    final UriMapper<String> mapper = UriMapper.<String>empty()
+        .updated("/a%20b/:id", "A")
+        .compile();
+    assertEquals(mapper.get("/a%20b/c"), "A");
+    assertEquals(mapper.get(Uri.parse("/a%20b/c")), "A");
+    assertNull(mapper.get("/a%20c/c"));
+  }
+
+  @Test
+  public void unapplyCompiledUriVariables() {
+    final UriMapper<String> mapper = UriMapper.<String>empty()
+        .updated("/unit/:id", "U")
+        .updated("/building/:building/room/:room", "R")
+        .compile();
+    assertEquals(mapper.unapply("/unit/1"), HashTrieMap.<String, String>empty().updated("id", "1"));
+    assertEquals(mapper.unapply("/building/b%201/room/2"),
+                 HashTrieMap.<String, String>empty().updated("building", "b 1").updated("room", "2"));
+    assertTrue(mapper.unapply("/room/2").isEmpty());
+  }
+
+  @Test
+  public void unapplyUncompiledUriVariablesWithCachedCompilation() {
+    final UriMapper<String> mapper = UriMapper.<String>empty()
+        .updated("/unit/:id", "U")
+        .updated("/building/:building/room/:room", "R");
+    assertEquals(mapper.unapply("/unit/1"), HashTrieMap.<String, String>empty().updated("id", "1"));
+    assertEquals(mapper.unapply("/building/b/room/2"),
+                 HashTrieMap.<String, String>empty().updated("building", "b").updated("room", "2"));
+    assertSame(mapper.compile(), mapper.compile());
+    assertNotSame(mapper.updated("/site/:id", "S").compile(), mapper.compile());
+  }
+
+  @Test
+  public void updateCompiledUriMappings() {
+    UriMapper<String> mapper = UriMapper.<String>empty().compile();
+    mapper = mapper.updated("/a/b", "B").updated("/:a/c", "C");
+    assertEquals(mapper.get("/a/b"), "B");
+    assertEquals(mapper.get("/x/c"), "C");
+    assertEquals(mapper.size(), 2);
+    assertEquals(mapper.compile(), mapper);
+    assertEquals(mapper.removed("/y/z"), mapper);
+
+    mapper = mapper.unmerged(UriMapper.from("/a/b", "B"));
+    assertNull(mapper.get("/a/b"));
+    assertEquals(mapper.get("/x/c"), "C");
+  }
+
 }
@@ -0,0 +1,220 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import swim.codec.Output;
+import swim.structure.Attr;
+import swim.structure.Form;
+import swim.structure.Item;
+import swim.structure.Kind;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Value;
+import swim.uri.Uri;
+import swim.util.Murmur3;
+
+/**
+ * Envelope that carries a sequence of commands addressed to lanes of a single
+ * node.  Each command is a slot in the envelope body whose key is the lane
+ * URI and whose value is the command body, so that
+ * {@code @commands(node:"/a"){x:1,y:2}} is equivalent to the two envelopes
+ * {@code @command(node:"/a",lane:x)1} and {@code @command(node:"/a",lane:y)2},
+ * delivered in order.
+ */
+public final class CommandBatchMessage extends Envelope {
+
+  final Uri nodeUri;
+  final Value body;
+
+  @Kind
+  public static final Form<CommandBatchMessage> FORM = new CommandBatchMessageForm();
+
+  public CommandBatchMessage(Uri nodeUri, Value body) {
+    this.nodeUri = nodeUri;
+    this.body = body.commit();
+  }
+
+  public CommandBatchMessage(Uri nodeUri) {
+    this(nodeUri, Value.absent());
+  }
+
+  public CommandBatchMessage(String nodeUri, Value body) {
+    this(Uri.parse(nodeUri), body);
+  }
+
+  public CommandBatchMessage(String nodeUri) {
+    this(Uri.parse(nodeUri), Value.absent());
+  }
+
+  @Override
+  public String tag() {
+    return "commands";
+  }
+
+  @Override
+  public Form<CommandBatchMessage> form() {
+    return FORM;
+  }
+
+  @Override
+  public Uri nodeUri() {
+    return this.nodeUri;
+  }
+
+  @Override
+  public Uri laneUri() {
+    return Uri.empty();
+  }
+
+  @Override
+  public Value body() {
+    return this.body;
+  }
+
+  /**
+   * Returns the number of commands in this batch.
+   */
+  public int size() {
+    return this.body.length();
+  }
+
+  /**
+   * Returns the command at the given {@code index} in this batch, or
+   * {@code null} if the item at {@code index} isn't a lane-keyed slot.
+   */
+  public CommandMessage get(int index) {
+    final Item item = this.body.getItem(index);
+    if (item instanceof Slot) {
+      final String laneUri = item.key().stringValue(null);
+      if (laneUri != null) {
+        return new CommandMessage(this.nodeUri, Uri.parse(laneUri), item.toValue());
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns a new batch with a command for {@code laneUri} appended.
+   */
+  public CommandBatchMessage command(Uri laneUri, Value body) {
+    final Record commands = Record.create(size() + 1);
+    if (this.body instanceof Record) {
+      commands.addAll((Record) this.body);
+    }
+    commands.slot(laneUri.toString(), body);
+    return new CommandBatchMessage(this.nodeUri, commands);
+  }
+
+  /**
+   * Returns a new batch with {@code message} appended; the node URI of
+   * {@code message} is ignored.
+   */
+  public CommandBatchMessage command(CommandMessage message) {
+    return command(message.laneUri(), message.body());
+  }
+
+  @Override
+  public CommandBatchMessage nodeUri(Uri nodeUri) {
+    return new CommandBatchMessage(nodeUri, this.body);
+  }
+
+  @Override
+  public CommandBatchMessage laneUri(Uri laneUri) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public CommandBatchMessage body(Value body) {
+    return new CommandBatchMessage(this.nodeUri, body);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (other instanceof CommandBatchMessage) {
+      final CommandBatchMessage that = (CommandBatchMessage) other;
+      return this.nodeUri.equals(that.nodeUri) && this.body.equals(that.body);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.seed(CommandBatchMessage.class),
+        this.nodeUri.hashCode()), this.body.hashCode()));
+  }
+
+  @Override
+  public void debug(Output<?> output) {
+    output = output.write("new").write(' ').write("CommandBatchMessage").write('(').debug(this.nodeUri);
+    if (this.body.isDefined()) {
+      output = output.write(", ").debug(this.body);
+    }
+    output = output.write(')');
+  }
+
+}
+
+final class CommandBatchMessageForm extends Form<CommandBatchMessage> {
+
+  @Override
+  public String tag() {
+    return "commands";
+  }
+
+  @Override
+  public Class<?> type() {
+    return CommandBatchMessage.class;
+  }
+
+  @Override
+  public CommandBatchMessage unit() {
+    return null;
+  }
+
+  @Override
+  public Item mold(CommandBatchMessage envelope) {
+    if (envelope != null) {
+      final Record headers = Record.create(1).slot("node", envelope.nodeUri.toString());
+      return Attr.of(tag(), headers).concat(envelope.body);
+    } else {
+      return Item.extant();
+    }
+  }
+
+  @Override
+  public CommandBatchMessage cast(Item item) {
+    final Value value = item.toValue();
+    final Record headers = value.headers(tag());
+    Uri nodeUri = null;
+    for (int i = 0, n = headers.size(); i < n; i += 1) {
+      final Item header = headers.get(i);
+      final String key = header.key().stringValue(null);
+      if (key != null) {
+        if ("node".equals(key)) {
+          nodeUri = Uri.parse(header.toValue().stringValue(""));
+        }
+      } else if (header instanceof Value && i == 0) {
+        nodeUri = Uri.parse(header.stringValue(""));
+      }
+    }
+    if (nodeUri != null) {
+      return new CommandBatchMessage(nodeUri, value.body());
+    }
+    return null;
+  }
+
+}
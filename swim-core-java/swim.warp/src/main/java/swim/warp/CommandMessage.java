@@ -14,6 +14,7 @@
 
 package swim.warp;
 
+import swim.structure.Data;
 import swim.structure.Form;
 import swim.structure.Kind;
 import swim.structure.Value;
@@ -28,6 +29,10 @@ public final class CommandMessage extends LaneAddressed {
     super(nodeUri, laneUri, body);
   }
 
+  CommandMessage(Uri nodeUri, Uri laneUri, Value body, Data bodyData) {
+    super(nodeUri, laneUri, body, bodyData);
+  }
+
   public CommandMessage(Uri nodeUri, Uri laneUri) {
     this(nodeUri, laneUri, Value.absent());
   }
@@ -52,12 +57,12 @@ public final class CommandMessage extends LaneAddressed {
 
   @Override
   public CommandMessage nodeUri(Uri nodeUri) {
-    return new CommandMessage(nodeUri, this.laneUri, this.body);
+    return new CommandMessage(nodeUri, this.laneUri, this.body, this.bodyData);
   }
 
   @Override
   public CommandMessage laneUri(Uri laneUri) {
-    return new CommandMessage(this.nodeUri, laneUri, this.body);
+    return new CommandMessage(this.nodeUri, laneUri, this.body, this.bodyData);
   }
 
   @Override
@@ -65,6 +70,11 @@ public final class CommandMessage extends LaneAddressed {
     return new CommandMessage(this.nodeUri, this.laneUri, body);
   }
 
+  @Override
+  CommandMessage bodyData(Data bodyData) {
+    return new CommandMessage(this.nodeUri, this.laneUri, null, bodyData);
+  }
+
 }
 
 final class CommandMessageForm extends LaneAddressedForm<CommandMessage> {
@@ -28,6 +28,7 @@ import swim.uri.Uri;
 public abstract class Envelope implements Debug {
 
   private static Decoder<Envelope> decoder;
+  private static Decoder<Envelope> headerDecoder;
   private static Encoder<Envelope, Envelope> encoder;
 
   Envelope() {
@@ -41,6 +42,19 @@ public abstract class Envelope implements Debug {
     return decoder;
   }
 
+  /**
+   * Returns a {@code Decoder} that parses only the tag and headers of lane
+   * addressed envelopes, leaving their bodies as undecoded bytes that get
+   * parsed on first call to {@link #body()}, and that get re-emitted
+   * verbatim when the envelope is re-encoded.
+   */
+  public static Decoder<Envelope> headerDecoder() {
+    if (headerDecoder == null) {
+      headerDecoder = new EnvelopeHeaderDecoder();
+    }
+    return headerDecoder;
+  }
+
   public static Encoder<Envelope, Envelope> encoder() {
     if (encoder == null) {
       encoder = new EnvelopeEncoder();
@@ -69,6 +83,8 @@ public abstract class Envelope implements Debug {
       return (Form<E>) EventMessage.FORM;
     } else if ("command".equals(tag)) {
       return (Form<E>) CommandMessage.FORM;
+    } else if ("commands".equals(tag)) {
+      return (Form<E>) CommandBatchMessage.FORM;
     } else if ("link".equals(tag)) {
       return (Form<E>) LinkRequest.FORM;
     } else if ("linked".equals(tag)) {
@@ -0,0 +1,143 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.charset.StandardCharsets;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.InputBuffer;
+import swim.recon.Recon;
+import swim.structure.Data;
+import swim.structure.Value;
+
+/**
+ * Envelope decoder that parses only the tag and headers of lane addressed
+ * envelopes, deferring the parse of the envelope body until first access.
+ * Host addressed, and otherwise irregular envelopes, are fully parsed.
+ */
+final class EnvelopeHeaderDecoder extends Decoder<Envelope> {
+
+  final Data data;
+
+  EnvelopeHeaderDecoder(Data data) {
+    this.data = data;
+  }
+
+  EnvelopeHeaderDecoder() {
+    this(null);
+  }
+
+  static Decoder<Envelope> decode(InputBuffer input, Data data) {
+    if (data == null) {
+      data = Data.create();
+    }
+    while (input.isCont()) {
+      data.addByte((byte) input.head());
+      input = input.step();
+    }
+    if (input.isDone()) {
+      try {
+        return done(decodeEnvelope(data));
+      } catch (RuntimeException cause) {
+        return error(cause);
+      }
+    } else if (input.isError()) {
+      return error(input.trap());
+    }
+    return new EnvelopeHeaderDecoder(data);
+  }
+
+  static Envelope decodeEnvelope(Data data) {
+    final byte[] array = data.asByteArray();
+    final int size = data.size();
+    final int headerEnd = headerEnd(array, size);
+    if (headerEnd >= 0) {
+      final int bodyStart = skipWhitespace(array, headerEnd, size);
+      final int c = bodyStart < size ? array[bodyStart] : -1;
+      if (c != ',' && c != ';') {
+        final Value header = Recon.parse(new String(array, 0, headerEnd, StandardCharsets.UTF_8));
+        final Envelope envelope = Envelope.fromValue(header);
+        if (envelope instanceof LaneAddressed) {
+          if (bodyStart < size) {
+            return ((LaneAddressed) envelope).bodyData(Data.wrap(array, headerEnd, size - headerEnd).commit());
+          } else {
+            return envelope;
+          }
+        }
+      }
+    }
+    return EnvelopeDecoder.decode(Binary.inputBuffer(array, 0, size), null).bind();
+  }
+
+  /**
+   * Returns the index just past the closing parenthesis of the leading
+   * {@code @tag(...)} attribute, or {@code -1} if the input doesn't start
+   * with a parameterized attribute.
+   */
+  static int headerEnd(byte[] array, int size) {
+    int index = skipWhitespace(array, 0, size);
+    if (index >= size || array[index] != '@') {
+      return -1;
+    }
+    index += 1;
+    while (index < size && array[index] != '(') {
+      final int c = array[index];
+      if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == '-')) {
+        return -1;
+      }
+      index += 1;
+    }
+    int depth = 0;
+    while (index < size) {
+      final int c = array[index];
+      index += 1;
+      if (c == '(' || c == '[' || c == '{') {
+        depth += 1;
+      } else if (c == ')' || c == ']' || c == '}') {
+        depth -= 1;
+        if (depth == 0) {
+          return c == ')' ? index : -1;
+        }
+      } else if (c == '"' || c == '\'') {
+        while (index < size && array[index] != c) {
+          if (array[index] == '\\') {
+            index += 1;
+          }
+          index += 1;
+        }
+        index += 1;
+      }
+    }
+    return -1;
+  }
+
+  static int skipWhitespace(byte[] array, int index, int size) {
+    while (index < size) {
+      final int c = array[index];
+      if (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+        index += 1;
+      } else {
+        break;
+      }
+    }
+    return index;
+  }
+
+  @Override
+  public Decoder<Envelope> feed(InputBuffer input) {
+    return decode(input, this.data);
+  }
+
+}
@@ -0,0 +1,76 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import swim.codec.Encoder;
+import swim.codec.Output;
+import swim.codec.OutputBuffer;
+import swim.codec.Utf8;
+import swim.recon.Recon;
+import swim.structure.Data;
+
+/**
+ * Envelope encoder that writes the headers of a lane addressed envelope,
+ * followed by the original, undecoded Recon bytes of its body.
+ */
+final class EnvelopeHeaderEncoder extends Encoder<Envelope, Envelope> {
+
+  final LaneAddressed envelope;
+  final Data bodyData;
+  final Encoder<?, ?> input;
+  final int index;
+
+  EnvelopeHeaderEncoder(LaneAddressed envelope, Data bodyData, Encoder<?, ?> input, int index) {
+    this.envelope = envelope;
+    this.bodyData = bodyData;
+    this.input = input;
+    this.index = index;
+  }
+
+  EnvelopeHeaderEncoder(LaneAddressed envelope, Data bodyData) {
+    this(envelope, bodyData, null, 0);
+  }
+
+  static Encoder<Envelope, Envelope> encode(OutputBuffer<?> output, LaneAddressed envelope,
+                                            Data bodyData, Encoder<?, ?> input, int index) {
+    if (input == null) {
+      input = Utf8.writeEncoded(Recon.write(envelope.headerValue(), Output.full()), output);
+    } else if (!input.isDone()) {
+      input = input.pull(output);
+    }
+    if (input.isDone()) {
+      final int size = bodyData.size();
+      while (index < size && output.isCont()) {
+        output = output.write(bodyData.getByte(index) & 0xff);
+        index += 1;
+      }
+      if (index == size) {
+        return done(envelope);
+      }
+    } else if (input.isError()) {
+      return error(input.trap());
+    }
+    if (output.isError()) {
+      return error(output.trap());
+    }
+    return new EnvelopeHeaderEncoder(envelope, bodyData, input, index);
+  }
+
+  @Override
+  public Encoder<Envelope, Envelope> pull(OutputBuffer<?> output) {
+    return encode(output, this.envelope, this.bodyData, this.input, this.index);
+  }
+
+}
@@ -14,6 +14,7 @@
 
 package swim.warp;
 
+import swim.structure.Data;
 import swim.structure.Form;
 import swim.structure.Kind;
 import swim.structure.Value;
@@ -28,6 +29,10 @@ public final class EventMessage extends LaneAddressed {
     super(nodeUri, laneUri, body);
   }
 
+  EventMessage(Uri nodeUri, Uri laneUri, Value body, Data bodyData) {
+    super(nodeUri, laneUri, body, bodyData);
+  }
+
   public EventMessage(Uri nodeUri, Uri laneUri) {
     this(nodeUri, laneUri, Value.absent());
   }
@@ -52,12 +57,12 @@ public final class EventMessage extends LaneAddressed {
 
   @Override
   public EventMessage nodeUri(Uri nodeUri) {
-    return new EventMessage(nodeUri, this.laneUri, this.body);
+    return new EventMessage(nodeUri, this.laneUri, this.body, this.bodyData);
   }
 
   @Override
   public EventMessage laneUri(Uri laneUri) {
-    return new EventMessage(this.nodeUri, laneUri, this.body);
+    return new EventMessage(this.nodeUri, laneUri, this.body, this.bodyData);
   }
 
   @Override
@@ -65,6 +70,11 @@ public final class EventMessage extends LaneAddressed {
     return new EventMessage(this.nodeUri, this.laneUri, body);
   }
 
+  @Override
+  EventMessage bodyData(Data bodyData) {
+    return new EventMessage(this.nodeUri, this.laneUri, null, bodyData);
+  }
+
 }
 
 final class EventMessageForm extends LaneAddressedForm<EventMessage> {
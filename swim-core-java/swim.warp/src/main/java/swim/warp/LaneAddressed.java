@@ -14,7 +14,13 @@
 
 package swim.warp;
 
+import swim.codec.Binary;
+import swim.codec.Encoder;
 import swim.codec.Output;
+import swim.codec.Parser;
+import swim.codec.Utf8;
+import swim.recon.Recon;
+import swim.structure.Data;
 import swim.structure.Value;
 import swim.uri.Uri;
 import swim.util.Murmur3;
@@ -23,12 +29,18 @@ public abstract class LaneAddressed extends Envelope {
 
   final Uri nodeUri;
   final Uri laneUri;
-  final Value body;
+  final Data bodyData;
+  volatile Value body;
 
-  LaneAddressed(Uri nodeUri, Uri laneUri, Value body) {
+  LaneAddressed(Uri nodeUri, Uri laneUri, Value body, Data bodyData) {
     this.nodeUri = nodeUri;
     this.laneUri = laneUri;
-    this.body = body.commit();
+    this.bodyData = bodyData;
+    this.body = body != null ? body.commit() : null;
+  }
+
+  LaneAddressed(Uri nodeUri, Uri laneUri, Value body) {
+    this(nodeUri, laneUri, body, null);
   }
 
   @Override
@@ -43,7 +55,20 @@ public abstract class LaneAddressed extends Envelope {
 
   @Override
   public Value body() {
-    return this.body;
+    Value body = this.body;
+    if (body == null) {
+      body = decodeBody(this.bodyData);
+      this.body = body;
+    }
+    return body;
+  }
+
+  /**
+   * Returns {@code true} if this envelope still carries the undecoded
+   * Recon bytes of its body, as produced by {@link Envelope#headerDecoder()}.
+   */
+  public boolean isBodyDeferred() {
+    return this.bodyData != null;
   }
 
   @Override
@@ -55,6 +80,21 @@ public abstract class LaneAddressed extends Envelope {
   @Override
   public abstract LaneAddressed body(Value body);
 
+  abstract LaneAddressed bodyData(Data bodyData);
+
+  Value headerValue() {
+    return body(Value.absent()).toValue();
+  }
+
+  @Override
+  public Encoder<?, Envelope> reconEncoder() {
+    if (this.bodyData != null) {
+      return new EnvelopeHeaderEncoder(this, this.bodyData);
+    } else {
+      return super.reconEncoder();
+    }
+  }
+
   @Override
   public boolean equals(Object other) {
     if (this == other) {
@@ -62,7 +102,7 @@ public abstract class LaneAddressed extends Envelope {
     } else if (other != null && getClass() == other.getClass()) {
       final LaneAddressed that = (LaneAddressed) other;
       return this.nodeUri.equals(that.nodeUri) && this.laneUri.equals(that.laneUri)
-          && this.body.equals(that.body);
+          && body().equals(that.body());
     }
     return false;
   }
@@ -70,17 +110,38 @@ public abstract class LaneAddressed extends Envelope {
   @Override
   public int hashCode() {
     return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.seed(getClass()),
-        this.nodeUri.hashCode()), this.laneUri.hashCode()), this.body.hashCode()));
+        this.nodeUri.hashCode()), this.laneUri.hashCode()), body().hashCode()));
   }
 
   @Override
   public void debug(Output<?> output) {
     output = output.write("new").write(' ').write(getClass().getSimpleName()).write('(')
         .debug(this.nodeUri).write(", ").debug(this.laneUri);
-    if (this.body.isDefined()) {
-      output = output.write(", ").debug(this.body);
+    final Value body = body();
+    if (body.isDefined()) {
+      output = output.write(", ").debug(body);
     }
     output = output.write(')');
   }
 
+  static Value decodeBody(Data bodyData) {
+    // Parse the body in the position it occupies in the full envelope, after
+    // a header attribute, so that it unwraps exactly as the full decoder's
+    // Value.body() does.
+    final byte[] bodyBytes = bodyData.toByteArray();
+    final byte[] envelopeBytes = new byte[BODY_HEADER.length + bodyBytes.length];
+    System.arraycopy(BODY_HEADER, 0, envelopeBytes, 0, BODY_HEADER.length);
+    System.arraycopy(bodyBytes, 0, envelopeBytes, BODY_HEADER.length, bodyBytes.length);
+    final Parser<Value> parser = Utf8.parseDecoded(Recon.structureParser().blockParser(),
+                                                   Binary.inputBuffer(envelopeBytes));
+    if (parser.isDone()) {
+      return parser.bind().body().commit();
+    } else {
+      final Throwable error = parser.isError() ? parser.trap() : null;
+      throw new WarpException("malformed envelope body", error);
+    }
+  }
+
+  static final byte[] BODY_HEADER = {'@', 'h', '(', ')'};
+
 }
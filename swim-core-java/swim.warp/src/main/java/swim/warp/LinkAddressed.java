@@ -15,6 +15,7 @@
 package swim.warp;
 
 import swim.codec.Output;
+import swim.structure.Data;
 import swim.structure.Value;
 import swim.uri.Uri;
 import swim.util.Murmur3;
@@ -24,12 +25,16 @@ public abstract class LinkAddressed extends LaneAddressed {
   final float prio;
   final float rate;
 
-  LinkAddressed(Uri nodeUri, Uri laneUri, float prio, float rate, Value body) {
-    super(nodeUri, laneUri, body);
+  LinkAddressed(Uri nodeUri, Uri laneUri, float prio, float rate, Value body, Data bodyData) {
+    super(nodeUri, laneUri, body, bodyData);
     this.prio = prio;
     this.rate = rate;
   }
 
+  LinkAddressed(Uri nodeUri, Uri laneUri, float prio, float rate, Value body) {
+    this(nodeUri, laneUri, prio, rate, body, null);
+  }
+
   public float prio() {
     return this.prio;
   }
@@ -47,6 +52,9 @@ public abstract class LinkAddressed extends LaneAddressed {
   @Override
   public abstract LinkAddressed body(Value body);
 
+  @Override
+  abstract LinkAddressed bodyData(Data bodyData);
+
   @Override
   public boolean equals(Object other) {
     if (this == other) {
@@ -55,7 +63,7 @@ public abstract class LinkAddressed extends LaneAddressed {
       final LinkAddressed that = (LinkAddressed) other;
       return this.nodeUri.equals(that.nodeUri) && this.laneUri.equals(that.laneUri)
           && this.prio == that.prio && this.rate == that.rate
-          && this.body.equals(that.body);
+          && body().equals(that.body());
     }
     return false;
   }
@@ -64,7 +72,7 @@ public abstract class LinkAddressed extends LaneAddressed {
   public int hashCode() {
     return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
         Murmur3.seed(getClass()), this.nodeUri.hashCode()), this.laneUri.hashCode()),
-        Murmur3.hash(this.prio)), Murmur3.hash(this.rate)), this.body.hashCode()));
+        Murmur3.hash(this.prio)), Murmur3.hash(this.rate)), body().hashCode()));
   }
 
   @Override
@@ -74,8 +82,9 @@ public abstract class LinkAddressed extends LaneAddressed {
     if (this.prio != 0f || this.rate != 0f) {
       output = output.write(", ").debug(this.prio).write(", ").debug(this.rate);
     }
-    if (this.body.isDefined()) {
-      output = output.write(", ").debug(this.body);
+    final Value body = body();
+    if (body.isDefined()) {
+      output = output.write(", ").debug(body);
     }
     output = output.write(')');
   }
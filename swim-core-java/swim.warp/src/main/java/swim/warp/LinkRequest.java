@@ -14,6 +14,7 @@
 
 package swim.warp;
 
+import swim.structure.Data;
 import swim.structure.Form;
 import swim.structure.Kind;
 import swim.structure.Value;
@@ -28,6 +29,10 @@ public final class LinkRequest extends LinkAddressed {
     super(nodeUri, laneUri, prio, rate, body);
   }
 
+  LinkRequest(Uri nodeUri, Uri laneUri, float prio, float rate, Value body, Data bodyData) {
+    super(nodeUri, laneUri, prio, rate, body, bodyData);
+  }
+
   public LinkRequest(Uri nodeUri, Uri laneUri, float prio, float rate) {
     this(nodeUri, laneUri, prio, rate, Value.absent());
   }
@@ -68,12 +73,12 @@ public final class LinkRequest extends LinkAddressed {
 
   @Override
   public LinkRequest nodeUri(Uri nodeUri) {
-    return new LinkRequest(nodeUri, this.laneUri, this.prio, this.rate, this.body);
+    return new LinkRequest(nodeUri, this.laneUri, this.prio, this.rate, this.body, this.bodyData);
   }
 
   @Override
   public LinkRequest laneUri(Uri laneUri) {
-    return new LinkRequest(this.nodeUri, laneUri, this.prio, this.rate, this.body);
+    return new LinkRequest(this.nodeUri, laneUri, this.prio, this.rate, this.body, this.bodyData);
   }
 
   @Override
@@ -81,6 +86,11 @@ public final class LinkRequest extends LinkAddressed {
     return new LinkRequest(this.nodeUri, this.laneUri, this.prio, this.rate, body);
   }
 
+  @Override
+  LinkRequest bodyData(Data bodyData) {
+    return new LinkRequest(this.nodeUri, this.laneUri, this.prio, this.rate, null, bodyData);
+  }
+
 }
 
 final class LinkRequestForm extends LinkAddressedForm<LinkRequest> {
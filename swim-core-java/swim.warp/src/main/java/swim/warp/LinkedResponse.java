@@ -14,6 +14,7 @@
 
 package swim.warp;
 
+import swim.structure.Data;
 import swim.structure.Form;
 import swim.structure.Kind;
 import swim.structure.Value;
@@ -28,6 +29,10 @@ public final class LinkedResponse extends LinkAddressed {
     super(nodeUri, laneUri, prio, rate, body);
   }
 
+  LinkedResponse(Uri nodeUri, Uri laneUri, float prio, float rate, Value body, Data bodyData) {
+    super(nodeUri, laneUri, prio, rate, body, bodyData);
+  }
+
   public LinkedResponse(Uri nodeUri, Uri laneUri, float prio, float rate) {
     this(nodeUri, laneUri, prio, rate, Value.absent());
   }
@@ -68,12 +73,12 @@ public final class LinkedResponse extends LinkAddressed {
 
   @Override
   public LinkedResponse nodeUri(Uri nodeUri) {
-    return new LinkedResponse(nodeUri, this.laneUri, this.prio, this.rate, this.body);
+    return new LinkedResponse(nodeUri, this.laneUri, this.prio, this.rate, this.body, this.bodyData);
   }
 
   @Override
   public LinkedResponse laneUri(Uri laneUri) {
-    return new LinkedResponse(this.nodeUri, laneUri, this.prio, this.rate, this.body);
+    return new LinkedResponse(this.nodeUri, laneUri, this.prio, this.rate, this.body, this.bodyData);
   }
 
   @Override
@@ -81,6 +86,11 @@ public final class LinkedResponse extends LinkAddressed {
     return new LinkedResponse(this.nodeUri, this.laneUri, this.prio, this.rate, body);
   }
 
+  @Override
+  LinkedResponse bodyData(Data bodyData) {
+    return new LinkedResponse(this.nodeUri, this.laneUri, this.prio, this.rate, null, bodyData);
+  }
+
 }
 
 final class LinkedResponseForm extends LinkAddressedForm<LinkedResponse> {
@@ -14,6 +14,7 @@
 
 package swim.warp;
 
+import swim.structure.Data;
 import swim.structure.Form;
 import swim.structure.Kind;
 import swim.structure.Value;
@@ -28,6 +29,10 @@ public final class SyncRequest extends LinkAddressed {
     super(nodeUri, laneUri, prio, rate, body);
   }
 
+  SyncRequest(Uri nodeUri, Uri laneUri, float prio, float rate, Value body, Data bodyData) {
+    super(nodeUri, laneUri, prio, rate, body, bodyData);
+  }
+
   public SyncRequest(Uri nodeUri, Uri laneUri, float prio, float rate) {
     this(nodeUri, laneUri, prio, rate, Value.absent());
   }
@@ -68,12 +73,12 @@ public final class SyncRequest extends LinkAddressed {
 
   @Override
   public SyncRequest nodeUri(Uri nodeUri) {
-    return new SyncRequest(nodeUri, this.laneUri, this.prio, this.rate, this.body);
+    return new SyncRequest(nodeUri, this.laneUri, this.prio, this.rate, this.body, this.bodyData);
   }
 
   @Override
   public SyncRequest laneUri(Uri laneUri) {
-    return new SyncRequest(this.nodeUri, laneUri, this.prio, this.rate, this.body);
+    return new SyncRequest(this.nodeUri, laneUri, this.prio, this.rate, this.body, this.bodyData);
   }
 
   @Override
@@ -81,6 +86,11 @@ public final class SyncRequest extends LinkAddressed {
     return new SyncRequest(this.nodeUri, this.laneUri, this.prio, this.rate, body);
   }
 
+  @Override
+  SyncRequest bodyData(Data bodyData) {
+    return new SyncRequest(this.nodeUri, this.laneUri, this.prio, this.rate, null, bodyData);
+  }
+
 }
 
 final class SyncRequestForm extends LinkAddressedForm<SyncRequest> {
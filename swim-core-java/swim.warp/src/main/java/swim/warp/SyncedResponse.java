@@ -14,6 +14,7 @@
 
 package swim.warp;
 
+import swim.structure.Data;
 import swim.structure.Form;
 import swim.structure.Kind;
 import swim.structure.Value;
@@ -28,6 +29,10 @@ public final class SyncedResponse extends LaneAddressed {
     super(nodeUri, laneUri, body);
   }
 
+  SyncedResponse(Uri nodeUri, Uri laneUri, Value body, Data bodyData) {
+    super(nodeUri, laneUri, body, bodyData);
+  }
+
   public SyncedResponse(Uri nodeUri, Uri laneUri) {
     this(nodeUri, laneUri, Value.absent());
   }
@@ -52,12 +57,12 @@ public final class SyncedResponse extends LaneAddressed {
 
   @Override
   public SyncedResponse nodeUri(Uri nodeUri) {
-    return new SyncedResponse(nodeUri, this.laneUri, this.body);
+    return new SyncedResponse(nodeUri, this.laneUri, this.body, this.bodyData);
   }
 
   @Override
   public SyncedResponse laneUri(Uri laneUri) {
-    return new SyncedResponse(this.nodeUri, laneUri, this.body);
+    return new SyncedResponse(this.nodeUri, laneUri, this.body, this.bodyData);
   }
 
   @Override
@@ -65,6 +70,11 @@ public final class SyncedResponse extends LaneAddressed {
     return new SyncedResponse(this.nodeUri, this.laneUri, body);
   }
 
+  @Override
+  SyncedResponse bodyData(Data bodyData) {
+    return new SyncedResponse(this.nodeUri, this.laneUri, null, bodyData);
+  }
+
 }
 
 final class SyncedResponseForm extends LaneAddressedForm<SyncedResponse> {
@@ -14,6 +14,7 @@
 
 package swim.warp;
 
+import swim.structure.Data;
 import swim.structure.Form;
 import swim.structure.Kind;
 import swim.structure.Value;
@@ -28,6 +29,10 @@ public final class UnlinkRequest extends LaneAddressed {
     super(nodeUri, laneUri, body);
   }
 
+  UnlinkRequest(Uri nodeUri, Uri laneUri, Value body, Data bodyData) {
+    super(nodeUri, laneUri, body, bodyData);
+  }
+
   public UnlinkRequest(Uri nodeUri, Uri laneUri) {
     this(nodeUri, laneUri, Value.absent());
   }
@@ -52,12 +57,12 @@ public final class UnlinkRequest extends LaneAddressed {
 
   @Override
   public UnlinkRequest nodeUri(Uri nodeUri) {
-    return new UnlinkRequest(nodeUri, this.laneUri, this.body);
+    return new UnlinkRequest(nodeUri, this.laneUri, this.body, this.bodyData);
   }
 
   @Override
   public UnlinkRequest laneUri(Uri laneUri) {
-    return new UnlinkRequest(this.nodeUri, laneUri, this.body);
+    return new UnlinkRequest(this.nodeUri, laneUri, this.body, this.bodyData);
   }
 
   @Override
@@ -65,6 +70,11 @@ public final class UnlinkRequest extends LaneAddressed {
     return new UnlinkRequest(this.nodeUri, this.laneUri, body);
   }
 
+  @Override
+  UnlinkRequest bodyData(Data bodyData) {
+    return new UnlinkRequest(this.nodeUri, this.laneUri, null, bodyData);
+  }
+
 }
 
 final class UnlinkRequestForm extends LaneAddressedForm<UnlinkRequest> {
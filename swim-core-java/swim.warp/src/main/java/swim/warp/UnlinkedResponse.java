@@ -14,6 +14,7 @@
 
 package swim.warp;
 
+import swim.structure.Data;
 import swim.structure.Form;
 import swim.structure.Kind;
 import swim.structure.Value;
@@ -28,6 +29,10 @@ public final class UnlinkedResponse extends LaneAddressed {
     super(nodeUri, laneUri, body);
   }
 
+  UnlinkedResponse(Uri nodeUri, Uri laneUri, Value body, Data bodyData) {
+    super(nodeUri, laneUri, body, bodyData);
+  }
+
   public UnlinkedResponse(Uri nodeUri, Uri laneUri) {
     this(nodeUri, laneUri, Value.absent());
   }
@@ -52,12 +57,12 @@ public final class UnlinkedResponse extends LaneAddressed {
 
   @Override
   public UnlinkedResponse nodeUri(Uri nodeUri) {
-    return new UnlinkedResponse(nodeUri, this.laneUri, this.body);
+    return new UnlinkedResponse(nodeUri, this.laneUri, this.body, this.bodyData);
   }
 
   @Override
   public UnlinkedResponse laneUri(Uri laneUri) {
-    return new UnlinkedResponse(this.nodeUri, laneUri, this.body);
+    return new UnlinkedResponse(this.nodeUri, laneUri, this.body, this.bodyData);
   }
 
   @Override
@@ -65,6 +70,11 @@ public final class UnlinkedResponse extends LaneAddressed {
     return new UnlinkedResponse(this.nodeUri, this.laneUri, body);
   }
 
+  @Override
+  UnlinkedResponse bodyData(Data bodyData) {
+    return new UnlinkedResponse(this.nodeUri, this.laneUri, null, bodyData);
+  }
+
 }
 
 final class UnlinkedForm extends LaneAddressedForm<UnlinkedResponse> {
@@ -0,0 +1,85 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import org.testng.annotations.Test;
+import swim.structure.Attr;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Value;
+import swim.uri.Uri;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static swim.warp.Assertions.assertParses;
+import static swim.warp.Assertions.assertWrites;
+
+public class CommandBatchMessageSpec {
+
+  @Test
+  public void parseCommandBatchWithNamedHeaders() {
+    assertParses("@commands(node: node_uri)",
+        new CommandBatchMessage("node_uri"));
+  }
+
+  @Test
+  public void parseCommandBatchWithPositionalHeaders() {
+    assertParses("@commands(node_uri)",
+        new CommandBatchMessage("node_uri"));
+  }
+
+  @Test
+  public void parseCommandBatchWithBody() {
+    assertParses("@commands(node_uri){a:1,b:@test}",
+        new CommandBatchMessage("node_uri", Record.of().slot("a", 1).slot("b", Record.of(Attr.of("test")))));
+  }
+
+  @Test
+  public void parseCommandBatchWithSingleCommand() {
+    assertParses("@commands(node_uri){a:1}",
+        new CommandBatchMessage("node_uri", Record.of().slot("a", 1)));
+  }
+
+  @Test
+  public void writeCommandBatch() {
+    assertWrites(new CommandBatchMessage("node_uri"),
+        "@commands(node:node_uri)");
+  }
+
+  @Test
+  public void writeCommandBatchWithBody() {
+    assertWrites(new CommandBatchMessage("node_uri", Record.of().slot("a", 1).slot("b", Record.of(Attr.of("test")))),
+        "@commands(node:node_uri){a:1,b:@test}");
+  }
+
+  @Test
+  public void appendCommands() {
+    final CommandBatchMessage batch = new CommandBatchMessage("node_uri")
+        .command(Uri.parse("a"), Num.from(1))
+        .command(new CommandMessage("other_uri", "b", Num.from(2)))
+        .command(Uri.parse("a"), Num.from(3));
+    assertEquals(batch.size(), 3);
+    assertEquals(batch.get(0), new CommandMessage("node_uri", "a", Num.from(1)));
+    assertEquals(batch.get(1), new CommandMessage("node_uri", "b", Num.from(2)));
+    assertEquals(batch.get(2), new CommandMessage("node_uri", "a", Num.from(3)));
+    assertWrites(batch, "@commands(node:node_uri){a:1,b:2,a:3}");
+  }
+
+  @Test
+  public void getNonSlotCommand() {
+    final CommandBatchMessage batch = new CommandBatchMessage("node_uri", Record.of(Value.extant()));
+    assertNull(batch.get(0));
+  }
+
+}
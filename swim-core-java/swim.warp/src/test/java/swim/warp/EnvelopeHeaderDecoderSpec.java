@@ -0,0 +1,130 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.charset.StandardCharsets;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.Encoder;
+import swim.codec.InputBuffer;
+import swim.codec.OutputBuffer;
+import swim.structure.Attr;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.uri.Uri;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class EnvelopeHeaderDecoderSpec {
+
+  static Envelope decodeHeaders(String recon) {
+    final byte[] bytes = recon.getBytes(StandardCharsets.UTF_8);
+    final Decoder<Envelope> decoder = Envelope.headerDecoder().feed(Binary.inputBuffer(bytes));
+    return decoder.bind();
+  }
+
+  static String encode(Envelope envelope) {
+    final byte[] bytes = new byte[4096];
+    final OutputBuffer<?> output = Binary.outputBuffer(bytes);
+    final Encoder<?, ?> encoder = envelope.reconEncoder().pull(output);
+    assertTrue(encoder.isDone());
+    return new String(bytes, 0, output.index(), StandardCharsets.UTF_8);
+  }
+
+  static void assertDecodesLazily(String recon) {
+    final Envelope envelope = decodeHeaders(recon);
+    assertTrue(envelope instanceof LaneAddressed);
+    assertTrue(((LaneAddressed) envelope).isBodyDeferred());
+    assertEquals(envelope, Envelope.parseRecon(recon));
+  }
+
+  @Test
+  public void decodeLaneHeadersWithoutBody() {
+    final Envelope envelope = decodeHeaders("@event(node: node_uri, lane: lane_uri)");
+    assertFalse(((LaneAddressed) envelope).isBodyDeferred());
+    assertEquals(envelope, new EventMessage("node_uri", "lane_uri"));
+  }
+
+  @Test
+  public void decodeLazyRecordBodies() {
+    assertDecodesLazily("@command(node:\"/unit/foo\",lane:bar){x:1,y:\"two\"}");
+    assertDecodesLazily("@event(node:\"/unit/foo\",lane:bar)@update(key:k){v:1}");
+    assertDecodesLazily("@event(node:\"/unit/foo\",lane:bar) {a, b, c}");
+  }
+
+  @Test
+  public void decodeLazyScalarBodies() {
+    assertDecodesLazily("@command(node:\"/unit/foo\",lane:bar)\"hello\"");
+    assertDecodesLazily("@event(node:\"/unit/foo\",lane:bar)42");
+  }
+
+  @Test
+  public void decodeLazyBodiesLikeFullEnvelopes() {
+    assertDecodesLazily("@command(node:\"/a\",lane:b){1}");
+    assertDecodesLazily("@command(node:\"/a\",lane:b){}");
+    assertDecodesLazily("@command(node:\"/a\",lane:b){\"s\"}");
+    assertDecodesLazily("@command(node:\"/a\",lane:b)[raw]");
+    assertDecodesLazily("@command(node:\"/a\",lane:b){@a}");
+    assertDecodesLazily("@command(node:\"/a\",lane:b){{x:1}}");
+    assertEquals(decodeHeaders("@command(node:\"/a\",lane:b){1}").body(),
+                 Envelope.parseRecon("@command(node:\"/a\",lane:b){1}").body());
+  }
+
+  @Test
+  public void decodeLazyLinkBodies() {
+    assertDecodesLazily("@link(node:\"/unit/foo\",lane:bar,prio:0.5,rate:2)@test");
+    assertDecodesLazily("@sync(node:\"/unit/foo\",lane:\"(bar)\")@test");
+  }
+
+  @Test
+  public void decodeLazyBody() {
+    final Envelope envelope = decodeHeaders("@event(node:\"/unit/foo\",lane:bar)@update(key:k){v:1}");
+    assertEquals(envelope.nodeUri(), Uri.parse("/unit/foo"));
+    assertEquals(envelope.laneUri(), Uri.parse("bar"));
+    assertEquals(envelope.body(), Record.of(Attr.of("update", Record.of(Slot.of("key", "k"))), Slot.of("v", 1)));
+  }
+
+  @Test
+  public void decodeChunkedInput() {
+    final byte[] bytes = "@command(node:\"/unit/foo\",lane:bar)\"hello\"".getBytes(StandardCharsets.UTF_8);
+    final InputBuffer input = Binary.inputBuffer(bytes, 0, 20).isPart(true);
+    Decoder<Envelope> decoder = Envelope.headerDecoder().feed(input);
+    assertTrue(decoder.isCont());
+    decoder = decoder.feed(Binary.inputBuffer(bytes, 20, bytes.length - 20));
+    assertEquals(decoder.bind(), new CommandMessage("/unit/foo", "bar", Text.from("hello")));
+  }
+
+  @Test
+  public void decodeHostAddressedEnvelopesEagerly() {
+    assertEquals(decodeHeaders("@auth@test"), new AuthRequest(Record.of(Attr.of("test"))));
+  }
+
+  @Test
+  public void reencodeLazyBodyVerbatim() {
+    final Envelope envelope = decodeHeaders("@command(node:\"/unit/foo\",lane:bar) {x: 1,  y:2}");
+    assertEquals(encode(envelope.nodeUri(Uri.parse("/unit/baz"))),
+        "@command(node:\"/unit/baz\",lane:bar) {x: 1,  y:2}");
+  }
+
+  @Test
+  public void reencodeDecodedBody() {
+    final Envelope envelope = decodeHeaders("@command(node:\"/unit/foo\",lane:bar) {x: 1,  y:2}");
+    assertEquals(encode(envelope.body(Record.of(Attr.of("test")))), "@command(node:\"/unit/foo\",lane:bar)@test");
+  }
+
+}
@@ -15,10 +15,8 @@
 package swim.web.route;
 
 import java.io.IOException;
-import swim.http.HttpBody;
-import swim.http.HttpResponse;
-import swim.http.HttpStatus;
 import swim.uri.UriPath;
+import swim.util.HashGenCacheMap;
 import swim.web.WebRequest;
 import swim.web.WebResponse;
 import swim.web.WebRoute;
@@ -27,10 +25,12 @@ public final class DirectoryRoute implements WebRoute {
 
   final UriPath directory;
   final String indexFile;
+  final HashGenCacheMap<String, StaticAsset> cache;
 
   public DirectoryRoute(UriPath directory, String indexFile) {
     this.directory = directory;
     this.indexFile = indexFile;
+    this.cache = StaticAsset.cache();
   }
 
   @Override
@@ -45,15 +45,16 @@ public final class DirectoryRoute implements WebRoute {
     path = this.directory.appended(path).removeDotSegments();
     if (path.isRelativeTo(this.directory)) {
       try {
-        final HttpBody<Object> body = HttpBody.fromFile(path.toString());
-        final HttpResponse<Object> response = HttpResponse.from(HttpStatus.OK).content(body);
-        return request.respond(response);
+        final StaticAsset asset = StaticAsset.getFile(this.cache, path.toString(),
+                                                      StaticAsset.acceptsGzip(request));
+        if (asset != null) {
+          return asset.respond(request);
+        }
       } catch (IOException error) {
-        return request.reject();
+        // continue
       }
-    } else {
-      return request.reject();
     }
+    return request.reject();
   }
 
 }
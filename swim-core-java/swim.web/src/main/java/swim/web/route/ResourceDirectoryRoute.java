@@ -15,10 +15,8 @@
 package swim.web.route;
 
 import java.io.IOException;
-import swim.http.HttpBody;
-import swim.http.HttpResponse;
-import swim.http.HttpStatus;
 import swim.uri.UriPath;
+import swim.util.HashGenCacheMap;
 import swim.web.WebRequest;
 import swim.web.WebResponse;
 import swim.web.WebRoute;
@@ -28,11 +26,13 @@ public final class ResourceDirectoryRoute implements WebRoute {
   final ClassLoader classLoader;
   final UriPath directory;
   final String indexFile;
+  final HashGenCacheMap<String, StaticAsset> cache;
 
   public ResourceDirectoryRoute(ClassLoader classLoader, UriPath directory, String indexFile) {
     this.classLoader = classLoader;
     this.directory = directory;
     this.indexFile = indexFile;
+    this.cache = StaticAsset.cache();
   }
 
   @Override
@@ -47,10 +47,10 @@ public final class ResourceDirectoryRoute implements WebRoute {
     path = this.directory.appended(path).removeDotSegments();
     if (path.isRelativeTo(this.directory)) {
       try {
-        final HttpBody<Object> body = HttpBody.fromResource(this.classLoader, path.toString());
-        if (body != null) {
-          final HttpResponse<Object> response = HttpResponse.from(HttpStatus.OK).content(body);
-          return request.respond(response);
+        final StaticAsset asset = StaticAsset.getResource(this.cache, this.classLoader, path.toString(),
+                                                          StaticAsset.acceptsGzip(request));
+        if (asset != null) {
+          return asset.respond(request);
         }
       } catch (IOException error) {
         // continue
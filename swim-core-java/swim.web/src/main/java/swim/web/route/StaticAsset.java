@@ -0,0 +1,304 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.web.route;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import swim.codec.Binary;
+import swim.collections.FingerTrieSeq;
+import swim.http.ContentCoding;
+import swim.http.HttpBody;
+import swim.http.HttpEntity;
+import swim.http.HttpFile;
+import swim.http.HttpHeader;
+import swim.http.HttpRequest;
+import swim.http.HttpResponse;
+import swim.http.HttpStatus;
+import swim.http.MediaType;
+import swim.http.header.AcceptEncoding;
+import swim.http.header.ContentEncoding;
+import swim.http.header.RawHeader;
+import swim.util.HashGenCacheMap;
+import swim.web.WebRequest;
+import swim.web.WebResponse;
+
+/**
+ * Validated snapshot of a static file or class path resource, with the
+ * metadata needed to answer conditional requests.  Assets no larger than
+ * {@code swim.web.asset.cache.max.length} bytes hold their content in memory,
+ * and are cached per route; larger files are streamed from disk on every
+ * request that isn't answered with {@code 304 Not Modified}.  Larger class
+ * path resources cache only their length and entity tag, and are streamed
+ * from their class loader the same way.
+ */
+final class StaticAsset {
+
+  static final DateTimeFormatter HTTP_DATE_FORMAT =
+      DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
+  private static long maxCachedLength;
+  final Path path;
+  final URL url;
+  final ByteBuffer data;
+  final long length;
+  final long lastModified;
+  final String etag;
+  final MediaType mediaType;
+  final String contentCoding;
+
+  StaticAsset(Path path, URL url, ByteBuffer data, long length, long lastModified,
+              String etag, MediaType mediaType, String contentCoding) {
+    this.path = path;
+    this.url = url;
+    this.data = data;
+    this.length = length;
+    this.lastModified = lastModified;
+    this.etag = etag;
+    this.mediaType = mediaType;
+    this.contentCoding = contentCoding;
+  }
+
+  FingerTrieSeq<HttpHeader> headers() {
+    FingerTrieSeq<HttpHeader> headers = FingerTrieSeq.empty();
+    headers = headers.appended(RawHeader.from("ETag", this.etag));
+    if (this.lastModified > 0L) {
+      headers = headers.appended(RawHeader.from("Last-Modified", formatHttpDate(this.lastModified)));
+    }
+    headers = headers.appended(RawHeader.from("Vary", "Accept-Encoding"));
+    if (this.contentCoding != null) {
+      headers = headers.appended(ContentEncoding.from(this.contentCoding));
+    }
+    return headers;
+  }
+
+  boolean isNotModified(HttpRequest<?> request) {
+    final HttpHeader ifNoneMatch = request.getHeader("If-None-Match");
+    if (ifNoneMatch != null) {
+      return matchesETag(ifNoneMatch.value());
+    }
+    final HttpHeader ifModifiedSince = request.getHeader("If-Modified-Since");
+    if (ifModifiedSince != null && this.lastModified > 0L) {
+      try {
+        final long since = ZonedDateTime.parse(ifModifiedSince.value().trim(),
+                                               DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        return this.lastModified / 1000L <= since / 1000L;
+      } catch (DateTimeParseException cause) {
+        // ignore malformed dates
+      }
+    }
+    return false;
+  }
+
+  boolean matchesETag(String tags) {
+    int start = 0;
+    final int n = tags.length();
+    while (start < n) {
+      int end = tags.indexOf(',', start);
+      if (end < 0) {
+        end = n;
+      }
+      String tag = tags.substring(start, end).trim();
+      if ("*".equals(tag)) {
+        return true;
+      } else if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (this.etag.equals(tag)) {
+        return true;
+      }
+      start = end + 1;
+    }
+    return false;
+  }
+
+  WebResponse respond(WebRequest request) throws IOException {
+    if (isNotModified(request.httpRequest())) {
+      return request.respond(HttpResponse.from(HttpStatus.NOT_MODIFIED, headers()));
+    }
+    final HttpEntity<Object> entity;
+    if (this.data != null) {
+      entity = HttpBody.from(this.data.duplicate(), this.mediaType);
+    } else if (this.url != null) {
+      final InputStream input = this.url.openStream();
+      entity = HttpBody.from(Binary.channelEncoder(Channels.newChannel(input)), this.length, this.mediaType);
+    } else {
+      entity = HttpFile.open(this.path, this.mediaType);
+    }
+    return request.respond(HttpResponse.from(HttpStatus.OK, headers()).content(entity));
+  }
+
+  /**
+   * Returns {@code true} if the request accepts a gzip content coding.  An
+   * explicit {@code gzip} coding takes precedence over a {@code *} wildcard,
+   * wherever either appears in the header.
+   */
+  static boolean acceptsGzip(WebRequest request) {
+    final AcceptEncoding acceptEncoding = request.getHttpHeader(AcceptEncoding.class);
+    if (acceptEncoding != null) {
+      float wildcardWeight = -1f;
+      final FingerTrieSeq<ContentCoding> codings = acceptEncoding.codings();
+      for (int i = 0, n = codings.size(); i < n; i += 1) {
+        final ContentCoding coding = codings.get(i);
+        if ("gzip".equalsIgnoreCase(coding.name())) {
+          return coding.weight() > 0f;
+        } else if ("*".equals(coding.name())) {
+          wildcardWeight = coding.weight();
+        }
+      }
+      return wildcardWeight > 0f;
+    }
+    return false;
+  }
+
+  static StaticAsset getFile(HashGenCacheMap<String, StaticAsset> cache, String path,
+                             boolean acceptsGzip) throws IOException {
+    final MediaType mediaType = MediaType.forPath(path);
+    StaticAsset asset = null;
+    if (acceptsGzip) {
+      asset = loadFile(cache, path + ".gz", mediaType, "gzip");
+    }
+    if (asset == null) {
+      asset = loadFile(cache, path, mediaType, null);
+    }
+    return asset;
+  }
+
+  static StaticAsset loadFile(HashGenCacheMap<String, StaticAsset> cache, String path,
+                              MediaType mediaType, String contentCoding) throws IOException {
+    final Path file = Paths.get(path);
+    final BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    } catch (NoSuchFileException cause) {
+      return null;
+    }
+    if (!attributes.isRegularFile()) {
+      return null;
+    }
+    final long length = attributes.size();
+    final long lastModified = attributes.lastModifiedTime().toMillis();
+    StaticAsset asset = cache.get(path);
+    if (asset != null && asset.length == length && asset.lastModified == lastModified) {
+      return asset;
+    }
+    final String etag = '"' + Long.toHexString(length) + '-' + Long.toHexString(lastModified)
+                      + (contentCoding != null ? '-' + contentCoding : "") + '"';
+    if (length <= maxCachedLength()) {
+      final ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+      asset = new StaticAsset(file, null, data, data.remaining(), lastModified, etag, mediaType, contentCoding);
+      cache.put(path, asset);
+    } else {
+      asset = new StaticAsset(file, null, null, length, lastModified, etag, mediaType, contentCoding);
+    }
+    return asset;
+  }
+
+  static StaticAsset getResource(HashGenCacheMap<String, StaticAsset> cache, ClassLoader classLoader,
+                                 String resource, boolean acceptsGzip) throws IOException {
+    final MediaType mediaType = MediaType.forPath(resource);
+    StaticAsset asset = null;
+    if (acceptsGzip) {
+      asset = loadResource(cache, classLoader, resource + ".gz", mediaType, "gzip");
+    }
+    if (asset == null) {
+      asset = loadResource(cache, classLoader, resource, mediaType, null);
+    }
+    return asset;
+  }
+
+  static StaticAsset loadResource(HashGenCacheMap<String, StaticAsset> cache, ClassLoader classLoader,
+                                  String resource, MediaType mediaType, String contentCoding) throws IOException {
+    StaticAsset asset = cache.get(resource);
+    if (asset != null) {
+      // Class path resources don't change while their class loader is live.
+      return asset;
+    }
+    final URL url = classLoader.getResource(resource);
+    if (url == null) {
+      return null;
+    }
+    final URLConnection connection = url.openConnection();
+    final long lastModified = connection.getLastModified();
+    final ByteBuffer data;
+    InputStream input = null;
+    try {
+      input = connection.getInputStream();
+      data = Binary.read(Binary.outputParser(Binary.byteBufferOutput()), input);
+    } finally {
+      try {
+        if (input != null) {
+          input.close();
+        }
+      } catch (IOException swallow) {
+        // the resource has been fully read, or has already failed
+      }
+    }
+    final int length = data.remaining();
+    final int hash = data.hashCode();
+    final String etag = '"' + Integer.toHexString(length) + '-' + Integer.toHexString(hash)
+                      + (contentCoding != null ? '-' + contentCoding : "") + '"';
+    asset = new StaticAsset(null, url, data, length, lastModified, etag, mediaType, contentCoding);
+    if (length <= maxCachedLength()) {
+      cache.put(resource, asset);
+    } else {
+      // Cache the metadata of large resources, and stream their content, so
+      // that later requests neither buffer nor re-hash the whole resource.
+      cache.put(resource, new StaticAsset(null, url, null, length, lastModified, etag, mediaType, contentCoding));
+    }
+    return asset;
+  }
+
+  static String formatHttpDate(long millis) {
+    return HTTP_DATE_FORMAT.format(ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+  }
+
+  static long maxCachedLength() {
+    if (maxCachedLength == 0L) {
+      long length;
+      try {
+        length = Long.parseLong(System.getProperty("swim.web.asset.cache.max.length"));
+      } catch (NumberFormatException e) {
+        length = 64L * 1024L;
+      }
+      maxCachedLength = length;
+    }
+    return maxCachedLength;
+  }
+
+  static HashGenCacheMap<String, StaticAsset> cache() {
+    int cacheSize;
+    try {
+      cacheSize = Integer.parseInt(System.getProperty("swim.web.asset.cache.size"));
+    } catch (NumberFormatException e) {
+      cacheSize = 256;
+    }
+    return new HashGenCacheMap<String, StaticAsset>(cacheSize);
+  }
+
+}
@@ -14,7 +14,9 @@
 
 package swim.xml;
 
+import swim.codec.Decoder;
 import swim.codec.Parser;
+import swim.codec.Utf8;
 import swim.structure.Item;
 import swim.structure.Value;
 
@@ -135,4 +137,32 @@ public final class Xml {
     return structureParser().documentParser();
   }
 
+  /**
+   * Parses the XML document in {@code xml}, emitting events to the given
+   * {@code handler}, and materializing only those elements that match one
+   * of the selected {@code paths}.
+   *
+   * @see XmlEventParser
+   */
+  public static void parseEvents(String xml, XmlHandler handler, String... paths) {
+    new XmlEventParser(handler, paths).parseDocumentString(xml);
+  }
+
+  /**
+   * Returns a new {@code Parser} that incrementally parses an XML document,
+   * emitting events to the given {@code handler} as the document is parsed.
+   */
+  public static Parser<Value> eventParser(XmlHandler handler, String... paths) {
+    return new XmlEventParser(handler, paths).documentParser();
+  }
+
+  /**
+   * Returns a new {@code Decoder} that incrementally decodes a UTF-8 encoded
+   * XML document, emitting events to the given {@code handler} as the
+   * document is parsed.
+   */
+  public static Decoder<Value> eventDecoder(XmlHandler handler, String... paths) {
+    return Utf8.decodedParser(eventParser(handler, paths));
+  }
+
 }
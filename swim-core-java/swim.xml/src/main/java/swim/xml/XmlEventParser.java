@@ -0,0 +1,230 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.xml;
+
+import java.util.Collection;
+import swim.codec.Input;
+import swim.codec.Parser;
+import swim.structure.Field;
+import swim.structure.Item;
+import swim.structure.Value;
+import swim.util.Builder;
+
+/**
+ * {@code XmlParser} that emits start element, attribute, text, and end
+ * element events to an {@link XmlHandler}, in place of building a parse
+ * tree.  Elements whose paths match one of the parser's selected paths are
+ * materialized, in their entirety, as structured {@code Value}s, and passed
+ * to {@link XmlHandler#element(Value)}.
+ * <p>
+ * A selected path is a sequence of element names separated by {@code '/'},
+ * where {@code '*'} matches any one element name.  A path that begins with
+ * {@code '/'} is anchored at the document's root element; any other path
+ * matches the trailing elements of the current element's path.
+ * <p>
+ * An {@code XmlEventParser} tracks the open elements of the document it's
+ * currently parsing, and so should only be used to parse one document at a
+ * time.
+ */
+public class XmlEventParser extends XmlStructureParser {
+
+  final XmlHandler handler;
+  final String[][] paths;
+  String[] stack;
+  int depth;
+  boolean selecting;
+
+  public XmlEventParser(XmlHandler handler, String... paths) {
+    this.handler = handler;
+    this.paths = new String[paths.length][];
+    for (int i = 0; i < paths.length; i += 1) {
+      this.paths[i] = paths[i].split("/", -1);
+    }
+    this.stack = new String[8];
+    this.depth = 0;
+    this.selecting = false;
+  }
+
+  public final XmlHandler handler() {
+    return this.handler;
+  }
+
+  @Override
+  public Builder<Item, Value> tagBuilder(String name) {
+    return tagBuilder(name, null);
+  }
+
+  @Override
+  public Builder<Item, Value> tagBuilder(String name, Value attributes) {
+    if (this.selecting) {
+      return attributes != null ? super.tagBuilder(name, attributes) : super.tagBuilder(name);
+    }
+    pushElement(name);
+    if (isSelected()) {
+      this.selecting = true;
+      final Builder<Item, Value> builder = attributes != null ? super.tagBuilder(name, attributes) : super.tagBuilder(name);
+      return new XmlSelectBuilder(this, builder);
+    }
+    this.handler.startElement(name);
+    if (attributes != null) {
+      for (int i = 0, n = attributes.length(); i < n; i += 1) {
+        final Item attribute = attributes.getItem(i);
+        if (attribute instanceof Field) {
+          this.handler.attribute(((Field) attribute).getKey().stringValue(),
+                                 ((Field) attribute).getValue().stringValue(""));
+        }
+      }
+    }
+    return new XmlEventBuilder(this, name);
+  }
+
+  @Override
+  public Builder<Item, Value> documentBuilder() {
+    return new XmlEventBuilder(this, null);
+  }
+
+  @Override
+  public Builder<Item, Value> fragmentBuilder() {
+    return new XmlEventBuilder(this, null);
+  }
+
+  @Override
+  public Parser<Value> parseTagStartRest(Input input, Builder<Item, Value> builder) {
+    // Top-level elements get their own tag builders, rather than folding
+    // their content into the document builder, so that they emit events.
+    return TagStartParser.parseRest(input, this);
+  }
+
+  void pushElement(String name) {
+    if (this.depth == this.stack.length) {
+      final String[] newStack = new String[this.stack.length << 1];
+      System.arraycopy(this.stack, 0, newStack, 0, this.depth);
+      this.stack = newStack;
+    }
+    this.stack[this.depth] = name;
+    this.depth += 1;
+  }
+
+  void popElement() {
+    this.depth -= 1;
+    this.stack[this.depth] = null;
+  }
+
+  boolean isSelected() {
+    for (int i = 0; i < this.paths.length; i += 1) {
+      if (matchesPath(this.paths[i])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  boolean matchesPath(String[] path) {
+    final int pathLength = path.length;
+    final int start;
+    if (pathLength > 1 && path[0].isEmpty()) {
+      if (pathLength - 1 != this.depth) {
+        return false;
+      }
+      start = 1;
+    } else if (pathLength > this.depth) {
+      return false;
+    } else {
+      start = 0;
+    }
+    int depth = this.depth - (pathLength - start);
+    for (int i = start; i < pathLength; i += 1) {
+      final String segment = path[i];
+      if (!"*".equals(segment) && !segment.equals(this.stack[depth])) {
+        return false;
+      }
+      depth += 1;
+    }
+    return true;
+  }
+
+}
+
+final class XmlEventBuilder implements Builder<Item, Value> {
+
+  final XmlEventParser xml;
+  final String tag;
+
+  XmlEventBuilder(XmlEventParser xml, String tag) {
+    this.xml = xml;
+    this.tag = tag;
+  }
+
+  @Override
+  public boolean add(Item item) {
+    if (this.tag != null && item instanceof Value && item.isDistinct()) {
+      // Child elements bind to null, and comments and processing
+      // instructions are attributes, which leaves only character data.
+      this.xml.handler.text(item.stringValue());
+    }
+    return false;
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Item> items) {
+    for (Item item : items) {
+      add(item);
+    }
+    return false;
+  }
+
+  @Override
+  public Value bind() {
+    if (this.tag != null) {
+      this.xml.popElement();
+      this.xml.handler.endElement(this.tag);
+      return null;
+    } else {
+      return Value.extant();
+    }
+  }
+
+}
+
+final class XmlSelectBuilder implements Builder<Item, Value> {
+
+  final XmlEventParser xml;
+  final Builder<Item, Value> builder;
+
+  XmlSelectBuilder(XmlEventParser xml, Builder<Item, Value> builder) {
+    this.xml = xml;
+    this.builder = builder;
+  }
+
+  @Override
+  public boolean add(Item item) {
+    return this.builder.add(item);
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Item> items) {
+    return this.builder.addAll(items);
+  }
+
+  @Override
+  public Value bind() {
+    final Value element = this.builder.bind();
+    this.xml.selecting = false;
+    this.xml.popElement();
+    this.xml.handler.element(element);
+    return null;
+  }
+
+}
@@ -0,0 +1,65 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.xml;
+
+import swim.structure.Value;
+
+/**
+ * Receiver of the events emitted by an {@link XmlEventParser} as it
+ * incrementally parses an XML document.
+ */
+public interface XmlHandler {
+
+  /**
+   * Invoked when the start tag of an element named {@code tag} has been
+   * parsed, before any of the element's attributes.
+   */
+  default void startElement(String tag) {
+    // hook
+  }
+
+  /**
+   * Invoked for each attribute of the most recently started element.
+   */
+  default void attribute(String name, String value) {
+    // hook
+  }
+
+  /**
+   * Invoked for each run of character data, including expanded references
+   * and CDATA sections, between two pieces of markup.
+   */
+  default void text(String text) {
+    // hook
+  }
+
+  /**
+   * Invoked when the end tag of the element named {@code tag} has been
+   * parsed, or directly after the attributes of an empty element tag.
+   */
+  default void endElement(String tag) {
+    // hook
+  }
+
+  /**
+   * Invoked with the complete structure of each element whose path matches
+   * one of the parser's selected paths.  No other events are emitted for a
+   * selected element, or for any of its descendants.
+   */
+  default void element(Value element) {
+    // hook
+  }
+
+}
@@ -0,0 +1,114 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.xml;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.structure.Attr;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class XmlEventParserSpec {
+
+  @Test
+  public void parseElementEvents() {
+    final EventLog log = new EventLog();
+    Xml.parseEvents("<?xml version=\"1.0\"?><a x=\"1\" y=\"2\"><b>foo &amp; bar</b><!-- c --><c/></a>", log);
+    assertEquals(log.events, list("<a>", "@x=1", "@y=2", "<b>", "foo & bar", "</b>", "<c>", "</c>", "</a>"));
+  }
+
+  @Test
+  public void parseSelectedElements() {
+    final EventLog log = new EventLog();
+    Xml.parseEvents("<feed><title>t</title><entry id=\"1\"><v>2</v></entry><entry id=\"3\"/></feed>", log, "/feed/entry");
+    assertEquals(log.events, list("<feed>", "<title>", "t", "</title>", "</feed>"));
+    assertEquals(log.elements, list(
+        Record.of(Attr.of("entry", Record.of(Slot.of("id", "1"))), Record.of(Attr.of("v"), "2")),
+        Record.of(Attr.of("entry", Record.of(Slot.of("id", "3"))))));
+  }
+
+  @Test
+  public void parseSelectedElementsAtAnyDepth() {
+    final EventLog log = new EventLog();
+    Xml.parseEvents("<a><b><v>1</v></b><c><d><v>2</v></d></c><v>3</v></a>", log, "*/v");
+    assertEquals(log.elements, list(
+        Record.of(Attr.of("v"), "1"),
+        Record.of(Attr.of("v"), "2"),
+        Record.of(Attr.of("v"), "3")));
+    assertEquals(log.events, list("<a>", "<b>", "</b>", "<c>", "<d>", "</d>", "</c>", "</a>"));
+  }
+
+  @Test
+  public void decodeEventsIncrementally() {
+    final EventLog log = new EventLog();
+    Decoder<Value> decoder = Xml.eventDecoder(log, "/a/b");
+    decoder = decoder.feed(Binary.inputBuffer("<a><b>1</b><b>".getBytes(StandardCharsets.UTF_8)).isPart(true));
+    assertTrue(decoder.isCont());
+    assertEquals(log.elements, list(Record.of(Attr.of("b"), "1")));
+    decoder = decoder.feed(Binary.inputBuffer("2</b></a>".getBytes(StandardCharsets.UTF_8)).isPart(false));
+    assertTrue(decoder.isDone());
+    assertEquals(log.elements, list(Record.of(Attr.of("b"), "1"), Record.of(Attr.of("b"), "2")));
+    assertEquals(log.events, list("<a>", "</a>"));
+  }
+
+  @SafeVarargs
+  static <E> List<E> list(E... elements) {
+    final List<E> list = new ArrayList<E>();
+    for (E element : elements) {
+      list.add(element);
+    }
+    return list;
+  }
+
+  static final class EventLog implements XmlHandler {
+
+    final List<String> events = new ArrayList<String>();
+    final List<Value> elements = new ArrayList<Value>();
+
+    @Override
+    public void startElement(String tag) {
+      this.events.add("<" + tag + ">");
+    }
+
+    @Override
+    public void attribute(String name, String value) {
+      this.events.add("@" + name + "=" + value);
+    }
+
+    @Override
+    public void text(String text) {
+      this.events.add(text);
+    }
+
+    @Override
+    public void endElement(String tag) {
+      this.events.add("</" + tag + ">");
+    }
+
+    @Override
+    public void element(Value element) {
+      this.elements.add(element);
+    }
+
+  }
+
+}
@@ -170,6 +170,11 @@ public class ActorLane extends ActorTier implements LaneBinding, LaneContext {
     return this.laneBinding.isLinked();
   }
 
+  @Override
+  public boolean isDurable() {
+    return this.laneBinding.isDurable();
+  }
+
   @Override
   public FingerTrieSeq<LinkContext> uplinks() {
     return this.laneBinding.uplinks();
@@ -153,6 +153,11 @@ public class ActorNode extends ActorTier implements NodeBinding, NodeContext {
     return this.nodeBinding.lanes();
   }
 
+  @Override
+  public boolean hasScheduledTimers() {
+    return this.nodeBinding.hasScheduledTimers();
+  }
+
   @Override
   public LaneBinding getLane(Uri laneUri) {
     return this.nodeBinding.getLane(laneUri);
@@ -113,7 +113,7 @@ public class ActorSpace extends AbstractTierBinding implements EdgeContext, Plan
 
     this.planes = HashTrieMap.empty();
     this.agentRoutes = HashTrieMap.empty();
-    this.agentFactories = UriMapper.empty();
+    this.agentFactories = UriMapper.<AgentFactory<?>>empty().compile();
     this.authenticators = HashTrieMap.empty();
   }
 
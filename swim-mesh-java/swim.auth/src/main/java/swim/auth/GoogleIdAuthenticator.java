@@ -14,6 +14,8 @@
 
 package swim.auth;
 
+import java.io.File;
+import java.io.IOException;
 import swim.api.auth.AbstractAuthenticator;
 import swim.api.auth.Credentials;
 import swim.api.auth.Identity;
@@ -31,9 +33,8 @@ import swim.io.http.AbstractHttpRequester;
 import swim.io.http.HttpInterface;
 import swim.io.http.HttpSettings;
 import swim.security.GoogleIdToken;
-import swim.security.JsonWebKey;
+import swim.security.JsonWebKeySet;
 import swim.security.PublicKeyDef;
-import swim.structure.Item;
 import swim.structure.Value;
 import swim.uri.Uri;
 import swim.uri.UriAuthority;
@@ -56,7 +57,9 @@ public class GoogleIdAuthenticator extends AbstractAuthenticator implements Http
   protected final Uri publicKeyUri;
   protected final HttpSettings httpSettings;
   protected HashTrieSet<String> emails;
-  FingerTrieSeq<PublicKeyDef> publicKeyDefs;
+  final JsonWebKeySetFile publicKeyFile;
+  final VerifiedTokenCache tokenCache;
+  volatile JsonWebKeySet keySet;
   TimerRef publicKeyRefreshTimer;
 
   public GoogleIdAuthenticator(FingerTrieSeq<String> audiences, HashTrieSet<String> emails,
@@ -65,7 +68,10 @@ public class GoogleIdAuthenticator extends AbstractAuthenticator implements Http
     this.emails = emails;
     this.publicKeyUri = publicKeyUri;
     this.httpSettings = httpSettings;
-    this.publicKeyDefs = FingerTrieSeq.empty();
+    this.publicKeyFile = "file".equals(publicKeyUri.schemeName())
+                       ? new JsonWebKeySetFile(new File(publicKeyUri.path().toString())) : null;
+    this.tokenCache = new VerifiedTokenCache();
+    this.keySet = JsonWebKeySet.empty();
   }
 
   public GoogleIdAuthenticator(GoogleIdAuthenticatorDef authenticatorDef) {
@@ -105,7 +111,16 @@ public class GoogleIdAuthenticator extends AbstractAuthenticator implements Http
       compactJws = credentials.claims().get("googleIdToken").stringValue(null);
     }
     if (compactJws != null) {
-      final GoogleIdToken idToken = GoogleIdToken.verify(compactJws, this.publicKeyDefs);
+      GoogleIdToken idToken = null;
+      final Value claims = this.tokenCache.get(compactJws);
+      if (claims != null) {
+        idToken = new GoogleIdToken(claims);
+      } else {
+        idToken = GoogleIdToken.verify(compactJws, this.keySet);
+        if (idToken != null) {
+          this.tokenCache.put(compactJws, idToken.toValue(), idToken.expiration());
+        }
+      }
       if (idToken != null) {
         if (this.emails.isEmpty() || this.emails.contains(idToken.email())) {
           return PolicyDirective.<Identity>allow(new Authenticated(
@@ -117,14 +132,40 @@ public class GoogleIdAuthenticator extends AbstractAuthenticator implements Http
   }
 
   public final FingerTrieSeq<PublicKeyDef> publicKeyDefs() {
-    return this.publicKeyDefs;
+    return this.keySet.publicKeyDefs();
   }
 
   public void setPublicKeyDefs(FingerTrieSeq<PublicKeyDef> publicKeyDefs) {
-    this.publicKeyDefs = publicKeyDefs;
+    setKeySet(JsonWebKeySet.from(publicKeyDefs));
+  }
+
+  public final JsonWebKeySet keySet() {
+    return this.keySet;
   }
 
+  public void setKeySet(JsonWebKeySet keySet) {
+    this.keySet = keySet;
+    this.tokenCache.clear();
+  }
+
+  /**
+   * Fetches Google's current public keys, or reloads them from a local JSON
+   * Web Key Set file, if the authenticator's public key URI is a {@code
+   * file} URI and the file has been modified since it was last loaded.
+   */
   public void refreshPublicKeys() {
+    final JsonWebKeySetFile publicKeyFile = this.publicKeyFile;
+    if (publicKeyFile != null) {
+      try {
+        final JsonWebKeySet keySet = publicKeyFile.reload();
+        if (keySet != null) {
+          setKeySet(keySet);
+        }
+      } catch (IOException error) {
+        didFail(error);
+      }
+      return;
+    }
     final UriAuthority authority = this.publicKeyUri.authority();
     final String address = authority.hostAddress();
     int port = authority.portNumber();
@@ -134,6 +175,10 @@ public class GoogleIdAuthenticator extends AbstractAuthenticator implements Http
     connectHttps(address, port, new GoogleIdAuthenticatorPublicKeyClient(this), this.httpSettings);
   }
 
+  long publicKeyRefreshInterval() {
+    return this.publicKeyFile != null ? JsonWebKeySetFile.RELOAD_INTERVAL : PUBLIC_KEY_REFRESH_INTERVAL;
+  }
+
   @Override
   public void didStart() {
     refreshPublicKeys();
@@ -141,7 +186,7 @@ public class GoogleIdAuthenticator extends AbstractAuthenticator implements Http
     if (publicKeyRefreshTimer != null) {
       publicKeyRefreshTimer.cancel();
     }
-    this.publicKeyRefreshTimer = schedule().setTimer(PUBLIC_KEY_REFRESH_INTERVAL,
+    this.publicKeyRefreshTimer = schedule().setTimer(publicKeyRefreshInterval(),
         new GoogleIdAuthenticatorPublicKeyRefreshTimer(this));
   }
 
@@ -167,7 +212,7 @@ final class GoogleIdAuthenticatorPublicKeyRefreshTimer extends AbstractTimer imp
   @Override
   public void runTimer() {
     this.authenticator.refreshPublicKeys();
-    this.reschedule(GoogleIdAuthenticator.PUBLIC_KEY_REFRESH_INTERVAL);
+    this.reschedule(this.authenticator.publicKeyRefreshInterval());
   }
 
 }
@@ -206,15 +251,8 @@ final class GoogleIdAuthenticatorPublicKeyRequester extends AbstractHttpRequeste
 
   @Override
   public void didRespond(HttpResponse<Value> response) {
-    FingerTrieSeq<PublicKeyDef> publicKeyDefs = FingerTrieSeq.empty();
     try {
-      for (Item item : response.entity().get().get("keys")) {
-        final PublicKeyDef publicKeyDef = JsonWebKey.from(item.toValue()).publicKeyDef();
-        if (publicKeyDef != null) {
-          publicKeyDefs = publicKeyDefs.appended(publicKeyDef);
-        }
-      }
-      this.authenticator.setPublicKeyDefs(publicKeyDefs);
+      this.authenticator.setKeySet(JsonWebKeySet.from(response.entity().get()));
     } finally {
       close();
     }
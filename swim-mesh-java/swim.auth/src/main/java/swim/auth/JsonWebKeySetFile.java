@@ -0,0 +1,64 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.auth;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import swim.security.JsonWebKeySet;
+
+/**
+ * Local JSON Web Key Set file, which reloads its keys whenever the file is
+ * modified, so that signing keys can be rotated without a restart.
+ */
+final class JsonWebKeySetFile {
+
+  final File file;
+  long lastModified;
+
+  JsonWebKeySetFile(File file) {
+    this.file = file;
+    this.lastModified = 0L;
+  }
+
+  /**
+   * Returns the keys in the file if the file was modified since it was last
+   * loaded, otherwise returns {@code null}.
+   */
+  JsonWebKeySet reload() throws IOException {
+    final long lastModified = this.file.lastModified();
+    if (lastModified != this.lastModified) {
+      final String jwks = new String(Files.readAllBytes(this.file.toPath()), StandardCharsets.UTF_8);
+      final JsonWebKeySet keySet = JsonWebKeySet.parse(jwks);
+      this.lastModified = lastModified;
+      return keySet;
+    }
+    return null;
+  }
+
+  static final long RELOAD_INTERVAL;
+
+  static {
+    long reloadInterval;
+    try {
+      reloadInterval = Long.parseLong(System.getProperty("swim.auth.jwks.reload.interval"));
+    } catch (NumberFormatException error) {
+      reloadInterval = 60L * 1000L;
+    }
+    RELOAD_INTERVAL = reloadInterval;
+  }
+
+}
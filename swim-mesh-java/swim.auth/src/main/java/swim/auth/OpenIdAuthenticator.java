@@ -14,11 +14,17 @@
 
 package swim.auth;
 
+import java.io.File;
+import java.io.IOException;
 import swim.api.auth.AbstractAuthenticator;
 import swim.api.auth.Credentials;
 import swim.api.auth.Identity;
 import swim.api.policy.PolicyDirective;
 import swim.collections.FingerTrieSeq;
+import swim.concurrent.AbstractTimer;
+import swim.concurrent.TimerFunction;
+import swim.concurrent.TimerRef;
+import swim.security.JsonWebKeySet;
 import swim.security.JsonWebSignature;
 import swim.security.OpenIdToken;
 import swim.security.PublicKeyDef;
@@ -30,16 +36,29 @@ public class OpenIdAuthenticator extends AbstractAuthenticator {
   protected final FingerTrieSeq<String> issuers;
   protected final FingerTrieSeq<String> audiences;
   protected final FingerTrieSeq<PublicKeyDef> publicKeyDefs;
+  final JsonWebKeySetFile jwksFile;
+  final VerifiedTokenCache tokenCache;
+  volatile JsonWebKeySet keySet;
+  TimerRef jwksReloadTimer;
 
   public OpenIdAuthenticator(FingerTrieSeq<String> issuers, FingerTrieSeq<String> audiences,
-                             FingerTrieSeq<PublicKeyDef> publicKeyDefs) {
+                             FingerTrieSeq<PublicKeyDef> publicKeyDefs, String jwksPath) {
     this.issuers = issuers;
     this.audiences = audiences;
     this.publicKeyDefs = publicKeyDefs;
+    this.jwksFile = jwksPath != null ? new JsonWebKeySetFile(new File(jwksPath)) : null;
+    this.tokenCache = new VerifiedTokenCache();
+    this.keySet = JsonWebKeySet.from(publicKeyDefs);
+  }
+
+  public OpenIdAuthenticator(FingerTrieSeq<String> issuers, FingerTrieSeq<String> audiences,
+                             FingerTrieSeq<PublicKeyDef> publicKeyDefs) {
+    this(issuers, audiences, publicKeyDefs, null);
   }
 
   public OpenIdAuthenticator(OpenIdAuthenticatorDef authenticatorDef) {
-    this(authenticatorDef.issuers, authenticatorDef.audiences, authenticatorDef.publicKeyDefs);
+    this(authenticatorDef.issuers, authenticatorDef.audiences,
+         authenticatorDef.publicKeyDefs, authenticatorDef.jwksPath);
   }
 
   public final FingerTrieSeq<String> issuers() {
@@ -54,6 +73,19 @@ public class OpenIdAuthenticator extends AbstractAuthenticator {
     return this.publicKeyDefs;
   }
 
+  /**
+   * Returns the configured public keys, together with the keys most recently
+   * loaded from the authenticator's JSON Web Key Set file, if any.
+   */
+  public final JsonWebKeySet keySet() {
+    return this.keySet;
+  }
+
+  public void setKeySet(JsonWebKeySet keySet) {
+    this.keySet = keySet;
+    this.tokenCache.clear();
+  }
+
   @Override
   public PolicyDirective<Identity> authenticate(Credentials credentials) {
     String compactJws = credentials.claims().get("idToken").stringValue(null);
@@ -61,9 +93,21 @@ public class OpenIdAuthenticator extends AbstractAuthenticator {
       compactJws = credentials.claims().get("openIdToken").stringValue(null);
     }
     if (compactJws != null) {
+      final Value claims = this.tokenCache.get(compactJws);
+      if (claims != null) {
+        return PolicyDirective.<Identity>allow(new Authenticated(credentials.requestUri(), credentials.fromUri(), claims));
+      }
       final JsonWebSignature jws = JsonWebSignature.parse(compactJws);
       if (jws != null) {
-        return authenticate(credentials.requestUri(), credentials.fromUri(), jws);
+        final PolicyDirective<Identity> directive = authenticate(credentials.requestUri(), credentials.fromUri(), jws);
+        if (directive != null && directive.isAllowed()) {
+          final Identity identity = directive.get();
+          if (identity instanceof Authenticated) {
+            final Value subject = ((Authenticated) identity).subject();
+            this.tokenCache.put(compactJws, subject, new OpenIdToken(subject).expiration());
+          }
+        }
+        return directive;
       }
     }
     return null;
@@ -74,13 +118,68 @@ public class OpenIdAuthenticator extends AbstractAuthenticator {
     if (payloadValue.isDefined()) {
       final OpenIdToken idToken = new OpenIdToken(payloadValue);
       // TODO: check payload
-      for (int i = 0, n = this.publicKeyDefs.size(); i < n; i += 1) {
-        if (jws.verifySignature(this.publicKeyDefs.get(i).publicKey())) {
-          return PolicyDirective.<Identity>allow(new Authenticated(requestUri, fromUri, idToken.toValue()));
-        }
+      if (this.keySet.verifySignature(jws)) {
+        return PolicyDirective.<Identity>allow(new Authenticated(requestUri, fromUri, idToken.toValue()));
       }
     }
     return null;
   }
 
+  /**
+   * Reloads the authenticator's JSON Web Key Set file, if it has been
+   * modified since it was last loaded, and replaces the file's keys with
+   * the reloaded keys.
+   */
+  public void reloadPublicKeys() {
+    final JsonWebKeySetFile jwksFile = this.jwksFile;
+    if (jwksFile != null) {
+      try {
+        final JsonWebKeySet fileKeySet = jwksFile.reload();
+        if (fileKeySet != null) {
+          setKeySet(JsonWebKeySet.from(this.publicKeyDefs).publicKeyDefs(fileKeySet));
+        }
+      } catch (IOException error) {
+        didFail(error);
+      }
+    }
+  }
+
+  @Override
+  public void didStart() {
+    if (this.jwksFile != null) {
+      reloadPublicKeys();
+      final TimerRef jwksReloadTimer = this.jwksReloadTimer;
+      if (jwksReloadTimer != null) {
+        jwksReloadTimer.cancel();
+      }
+      this.jwksReloadTimer = schedule().setTimer(JsonWebKeySetFile.RELOAD_INTERVAL,
+          new OpenIdAuthenticatorReloadTimer(this));
+    }
+  }
+
+  @Override
+  public void willStop() {
+    final TimerRef jwksReloadTimer = this.jwksReloadTimer;
+    if (jwksReloadTimer != null) {
+      jwksReloadTimer.cancel();
+      this.jwksReloadTimer = null;
+    }
+  }
+
+}
+
+final class OpenIdAuthenticatorReloadTimer extends AbstractTimer implements TimerFunction {
+
+  final OpenIdAuthenticator authenticator;
+
+  OpenIdAuthenticatorReloadTimer(OpenIdAuthenticator authenticator) {
+    this.authenticator = authenticator;
+  }
+
+  @Override
+  public void runTimer() {
+    this.authenticator.reloadPublicKeys();
+    this.reschedule(JsonWebKeySetFile.RELOAD_INTERVAL);
+  }
+
 }
@@ -36,14 +36,22 @@ public class OpenIdAuthenticatorDef implements AuthenticatorDef, Debug {
   final FingerTrieSeq<String> issuers;
   final FingerTrieSeq<String> audiences;
   final FingerTrieSeq<PublicKeyDef> publicKeyDefs;
+  final String jwksPath;
 
   public OpenIdAuthenticatorDef(String authenticatorName, FingerTrieSeq<String> issuers,
                                 FingerTrieSeq<String> audiences,
-                                FingerTrieSeq<PublicKeyDef> publicKeyDefs) {
+                                FingerTrieSeq<PublicKeyDef> publicKeyDefs, String jwksPath) {
     this.authenticatorName = authenticatorName;
     this.issuers = issuers;
     this.audiences = audiences;
     this.publicKeyDefs = publicKeyDefs;
+    this.jwksPath = jwksPath;
+  }
+
+  public OpenIdAuthenticatorDef(String authenticatorName, FingerTrieSeq<String> issuers,
+                                FingerTrieSeq<String> audiences,
+                                FingerTrieSeq<PublicKeyDef> publicKeyDefs) {
+    this(authenticatorName, issuers, audiences, publicKeyDefs, null);
   }
 
   @Kind
@@ -71,6 +79,15 @@ public class OpenIdAuthenticatorDef implements AuthenticatorDef, Debug {
     return this.publicKeyDefs;
   }
 
+  /**
+   * Returns the path of a local JSON Web Key Set file from which to load
+   * additional public keys, or {@code null} if only the configured public
+   * keys should be used.
+   */
+  public final String jwksPath() {
+    return this.jwksPath;
+  }
+
   @Override
   public boolean equals(Object other) {
     if (this == other) {
@@ -79,7 +96,8 @@ public class OpenIdAuthenticatorDef implements AuthenticatorDef, Debug {
       final OpenIdAuthenticatorDef that = (OpenIdAuthenticatorDef) other;
       return (this.authenticatorName == null ? that.authenticatorName == null : this.authenticatorName.equals(that.authenticatorName))
           && this.issuers.equals(that.issuers) && this.audiences.equals(that.audiences)
-          && this.publicKeyDefs.equals(that.publicKeyDefs);
+          && this.publicKeyDefs.equals(that.publicKeyDefs)
+          && (this.jwksPath == null ? that.jwksPath == null : this.jwksPath.equals(that.jwksPath));
     }
     return false;
   }
@@ -89,16 +107,17 @@ public class OpenIdAuthenticatorDef implements AuthenticatorDef, Debug {
     if (hashSeed == 0) {
       hashSeed = Murmur3.seed(OpenIdAuthenticatorDef.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed,
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed,
         Murmur3.hash(this.authenticatorName)), this.issuers.hashCode()),
-        this.audiences.hashCode()), this.publicKeyDefs.hashCode()));
+        this.audiences.hashCode()), this.publicKeyDefs.hashCode()), Murmur3.hash(this.jwksPath)));
   }
 
   @Override
   public void debug(Output<?> output) {
     output = output.write("new").write(' ').write("OpenIdAuthenticatorDef").write('(')
         .debug(this.authenticatorName).write(", ").debug(this.issuers).write(", ")
-        .debug(this.audiences).write(", ").debug(this.publicKeyDefs).write(')');
+        .debug(this.audiences).write(", ").debug(this.publicKeyDefs).write(", ")
+        .debug(this.jwksPath).write(')');
   }
 
   @Override
@@ -145,6 +164,10 @@ final class OpenIdAuthenticatorForm extends Form<OpenIdAuthenticatorDef> {
         record.add(publicKeyDef.toValue());
       }
 
+      if (authenticatorDef.jwksPath != null) {
+        record.add(Record.create(1).attr("jwks", authenticatorDef.jwksPath));
+      }
+
       return record;
     } else {
       return Item.extant();
@@ -160,12 +183,15 @@ final class OpenIdAuthenticatorForm extends Form<OpenIdAuthenticatorDef> {
       final Builder<String, FingerTrieSeq<String>> issuers = FingerTrieSeq.builder();
       final Builder<String, FingerTrieSeq<String>> audiences = FingerTrieSeq.builder();
       final Builder<PublicKeyDef, FingerTrieSeq<PublicKeyDef>> publicKeyDefs = FingerTrieSeq.builder();
+      String jwksPath = null;
       for (Item member : value) {
         final String tag = member.tag();
         if ("issuer".equals(tag)) {
           issuers.add(member.get("issuer").stringValue());
         } else if ("audience".equals(tag)) {
           audiences.add(member.get("audience").stringValue());
+        } else if ("jwks".equals(tag)) {
+          jwksPath = member.get("jwks").stringValue(null);
         } else {
           final PublicKeyDef publicKeyDef = PublicKeyDef.publicKeyForm().cast(member.toValue());
           if (publicKeyDef != null) {
@@ -174,7 +200,7 @@ final class OpenIdAuthenticatorForm extends Form<OpenIdAuthenticatorDef> {
         }
       }
       return new OpenIdAuthenticatorDef(authenticatorName, issuers.bind(),
-          audiences.bind(), publicKeyDefs.bind());
+          audiences.bind(), publicKeyDefs.bind(), jwksPath);
     }
     return null;
   }
@@ -0,0 +1,111 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import swim.structure.Data;
+import swim.structure.Value;
+import swim.util.HashGenCacheMap;
+
+/**
+ * Bounded cache of the claims of tokens whose signatures have already been
+ * verified, keyed by the SHA-256 digest of each compact token, so that
+ * clients that reconnect with the same token don't cost another public key
+ * signature verification.  Cached tokens expire at their {@code exp} time;
+ * tokens without an expiration aren't cached.
+ */
+final class VerifiedTokenCache {
+
+  final HashGenCacheMap<Data, VerifiedToken> tokens;
+
+  VerifiedTokenCache(int size) {
+    this.tokens = new HashGenCacheMap<Data, VerifiedToken>(size);
+  }
+
+  VerifiedTokenCache() {
+    this(TOKEN_CACHE_SIZE);
+  }
+
+  Value get(String compactJws) {
+    final Data digest = digest(compactJws);
+    if (digest != null) {
+      final VerifiedToken token = this.tokens.get(digest);
+      if (token != null) {
+        if (token.expiresAt > System.currentTimeMillis()) {
+          return token.claims;
+        } else {
+          this.tokens.remove(digest);
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Caches the {@code claims} of a verified token until its {@code
+   * expiration}, in seconds since the epoch.
+   */
+  void put(String compactJws, Value claims, long expiration) {
+    if (expiration < Long.MAX_VALUE / 1000L) {
+      final long expiresAt = expiration * 1000L;
+      if (expiresAt > System.currentTimeMillis()) {
+        final Data digest = digest(compactJws);
+        if (digest != null) {
+          this.tokens.put(digest, new VerifiedToken(claims, expiresAt));
+        }
+      }
+    }
+  }
+
+  void clear() {
+    this.tokens.clear();
+  }
+
+  static Data digest(String compactJws) {
+    try {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return Data.wrap(digest.digest(compactJws.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException cause) {
+      return null;
+    }
+  }
+
+  static final int TOKEN_CACHE_SIZE;
+
+  static {
+    int tokenCacheSize;
+    try {
+      tokenCacheSize = Integer.parseInt(System.getProperty("swim.auth.token.cache.size"));
+    } catch (NumberFormatException error) {
+      tokenCacheSize = 1024;
+    }
+    TOKEN_CACHE_SIZE = tokenCacheSize;
+  }
+
+}
+
+final class VerifiedToken {
+
+  final Value claims;
+  final long expiresAt;
+
+  VerifiedToken(Value claims, long expiresAt) {
+    this.claims = claims;
+    this.expiresAt = expiresAt;
+  }
+
+}
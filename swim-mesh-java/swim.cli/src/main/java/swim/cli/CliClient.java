@@ -43,6 +43,7 @@ public class CliClient {
         .cmd(syncCmd())
         .cmd(getCmd())
         .cmd(reflectCmd())
+        .cmd(benchCmd())
         .helpCmd();
   }
 
@@ -100,6 +101,23 @@ public class CliClient {
         .exec(this::runReflectCmd);
   }
 
+  public Cmd benchCmd() {
+    return Cmd.of("bench")
+        .desc("measure command to event round-trip throughput and latency over many concurrent links")
+        .opt(Opt.of("host").flag('h').arg("hostUri").desc("remote host to link"))
+        .opt(Opt.of("node").flag('n').arg("nodeUri").desc("remote node to link"))
+        .opt(Opt.of("lane").flag('l').arg("laneUri").desc("lane to link"))
+        .opt(Opt.of("command").flag('c').arg("laneUri").desc("lane to command; defaults to the linked lane"))
+        .opt(Opt.of("links").flag('k').arg(Arg.of("count", "1000")).desc("number of concurrent downlinks"))
+        .opt(Opt.of("nodes").arg(Arg.of("count", "1")).desc("spread links and commands across numbered sub-nodes"))
+        .opt(Opt.of("rate").flag('r').arg(Arg.of("commandsPerSecond", "100")).desc("total command rate"))
+        .opt(Opt.of("duration").flag('d').arg(Arg.of("seconds", "10")).desc("how long to drive commands"))
+        .opt(Opt.of("interval").flag('i').arg(Arg.of("seconds", "0")).desc("report statistics every interval"))
+        .opt(Opt.of("format").flag('f').arg("json|recon").desc("report output format"))
+        .helpCmd()
+        .exec(this::runBenchCmd);
+  }
+
   public Cmd reflectLogCmd() {
     return Cmd.of("log")
         .desc("stream log events")
@@ -130,6 +148,11 @@ public class CliClient {
     downlinkGetter.open();
   }
 
+  public void runBenchCmd(Cmd cmd) {
+    final DownlinkBench downlinkBench = downlinkBench(cmd);
+    downlinkBench.open();
+  }
+
   public void runReflectCmd(Cmd cmd) {
     final String edgeUri = cmd.getOpt("edge").getValue();
     if (edgeUri != null) {
@@ -357,4 +380,20 @@ public class CliClient {
     return new DownlinkGetter(downlink, format);
   }
 
+  protected DownlinkBench downlinkBench(Cmd cmd) {
+    final Uri hostUri = Uri.parse(cmd.getOpt("host").getValue());
+    final Uri nodeUri = Uri.parse(cmd.getOpt("node").getValue());
+    final Uri laneUri = Uri.parse(cmd.getOpt("lane").getValue());
+    final String commandLane = cmd.getOpt("command").getValue();
+    final Uri commandLaneUri = commandLane != null ? Uri.parse(commandLane) : laneUri;
+    final int linkCount = Integer.parseInt(cmd.getOpt("links").getValue());
+    final int nodeCount = Integer.parseInt(cmd.getOpt("nodes").getValue());
+    final double commandRate = Double.parseDouble(cmd.getOpt("rate").getValue());
+    final long duration = (long) (Double.parseDouble(cmd.getOpt("duration").getValue()) * 1000.0);
+    final long interval = (long) (Double.parseDouble(cmd.getOpt("interval").getValue()) * 1000.0);
+    final String format = cmd.getOpt("format").getValue();
+    return new DownlinkBench(this.swim, hostUri, nodeUri, laneUri, commandLaneUri, linkCount,
+                             nodeCount, commandRate, duration, interval, format);
+  }
+
 }
@@ -0,0 +1,281 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.cli;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import swim.api.ref.SwimRef;
+import swim.api.warp.WarpDownlink;
+import swim.api.warp.function.DidLink;
+import swim.api.warp.function.DidUnlink;
+import swim.api.warp.function.OnEvent;
+import swim.json.Json;
+import swim.recon.Recon;
+import swim.runtime.profile.LatencyHistogram;
+import swim.runtime.profile.LatencyRecorder;
+import swim.runtime.reflect.LatencyPulse;
+import swim.structure.Record;
+import swim.structure.Value;
+import swim.uri.Uri;
+
+/**
+ * Load generator that opens many concurrent downlinks to a lane, drives
+ * commands at a fixed rate, and measures the round-trip latency from each
+ * command to the events it produces on the linked downlinks.  Each command
+ * body carries its send time, so that echoed events can be timed without
+ * per-command bookkeeping.  Reported latencies are in microseconds.
+ */
+public class DownlinkBench implements Runnable {
+
+  final SwimRef swim;
+  final Uri hostUri;
+  final Uri nodeUri;
+  final Uri laneUri;
+  final Uri commandLaneUri;
+  final int linkCount;
+  final int nodeCount;
+  final double commandRate;
+  final long duration;
+  final long interval;
+  final String format;
+  final LatencyRecorder latency;
+  final WarpDownlink[] downlinks;
+  long commandCount;
+  volatile long linkedCount;
+  volatile long unlinkedCount;
+  volatile long eventCount;
+
+  public DownlinkBench(SwimRef swim, Uri hostUri, Uri nodeUri, Uri laneUri, Uri commandLaneUri,
+                       int linkCount, int nodeCount, double commandRate, long duration,
+                       long interval, String format) {
+    this.swim = swim;
+    this.hostUri = hostUri;
+    this.nodeUri = nodeUri;
+    this.laneUri = laneUri;
+    this.commandLaneUri = commandLaneUri;
+    this.linkCount = Math.max(1, linkCount);
+    this.nodeCount = Math.max(1, nodeCount);
+    this.commandRate = commandRate;
+    this.duration = duration;
+    this.interval = interval;
+    this.format = format;
+    this.latency = new LatencyRecorder();
+    this.downlinks = new WarpDownlink[this.linkCount];
+  }
+
+  /**
+   * Returns the URI of the node targeted by the {@code index}th downlink or
+   * command; benchmarks spread across more than one node address them as
+   * numbered sub-paths of the configured node URI.
+   */
+  protected Uri nodeUri(long index) {
+    if (this.nodeCount == 1) {
+      return this.nodeUri;
+    } else {
+      return this.nodeUri.appendedPath(Long.toString(index % this.nodeCount));
+    }
+  }
+
+  public void open() {
+    for (int i = 0; i < this.linkCount; i += 1) {
+      this.downlinks[i] = this.swim.downlink()
+          .hostUri(this.hostUri)
+          .nodeUri(nodeUri(i))
+          .laneUri(this.laneUri)
+          .keepSynced(false)
+          .observe(new DownlinkBenchLink(this))
+          .open();
+    }
+    final Thread thread = new Thread(this, "swim-cli-bench");
+    thread.start();
+  }
+
+  public void close() {
+    for (int i = 0; i < this.linkCount; i += 1) {
+      final WarpDownlink downlink = this.downlinks[i];
+      if (downlink != null) {
+        downlink.close();
+      }
+    }
+  }
+
+  protected void log(String string) {
+    System.out.println(string);
+  }
+
+  protected void log(Value value) {
+    if ("json".equals(this.format)) {
+      log(Json.toString(value));
+    } else {
+      log(Recon.toString(value));
+    }
+  }
+
+  protected Value commandBody(long sequence) {
+    return Record.create(2).slot("benchSeq", sequence).slot("benchTime", System.nanoTime());
+  }
+
+  protected void command(long sequence) {
+    this.swim.command(this.hostUri, nodeUri(sequence), this.commandLaneUri, commandBody(sequence));
+  }
+
+  void didReceiveEvent(Value value) {
+    final long now = System.nanoTime();
+    EVENT_COUNT.incrementAndGet(this);
+    final Value sendTime = value.get("benchTime");
+    if (sendTime.isDefined()) {
+      this.latency.record(now - sendTime.longValue(now));
+    }
+  }
+
+  void didLinkDownlink() {
+    LINKED_COUNT.incrementAndGet(this);
+  }
+
+  void didUnlinkDownlink() {
+    UNLINKED_COUNT.incrementAndGet(this);
+  }
+
+  @Override
+  public void run() {
+    final long linkStart = System.nanoTime();
+    final long linkDeadline = linkStart + LINK_TIMEOUT;
+    long now = linkStart;
+    while (this.linkedCount + this.unlinkedCount < this.linkCount && now < linkDeadline) {
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1L));
+      now = System.nanoTime();
+    }
+    final long linkTime = now - linkStart;
+
+    final long start = System.nanoTime();
+    final long end = start + TimeUnit.MILLISECONDS.toNanos(this.duration);
+    final long commandPeriod = this.commandRate > 0.0 ? Math.max(1L, (long) (1.0e9 / this.commandRate)) : 0L;
+    final long reportPeriod = TimeUnit.MILLISECONDS.toNanos(this.interval);
+    long nextCommand = start;
+    long nextReport = reportPeriod > 0L ? start + reportPeriod : Long.MAX_VALUE;
+    long lastReport = start;
+    long lastCommandCount = 0L;
+    long lastEventCount = this.eventCount;
+    LatencyHistogram total = LatencyHistogram.empty();
+    now = start;
+    while (now < end) {
+      if (commandPeriod > 0L) {
+        if (now - nextCommand > MAX_COMMAND_LAG) {
+          // Don't try to make up for stalls longer than the allowed lag.
+          nextCommand = now - MAX_COMMAND_LAG;
+        }
+        while (nextCommand <= now) {
+          command(this.commandCount);
+          this.commandCount += 1L;
+          nextCommand += commandPeriod;
+        }
+      }
+      if (now >= nextReport) {
+        final LatencyHistogram histogram = this.latency.snapshot();
+        total = total.merged(histogram);
+        final long eventCount = this.eventCount;
+        log(report("interval", now - lastReport, this.commandCount - lastCommandCount,
+                   eventCount - lastEventCount, histogram));
+        lastReport = now;
+        lastCommandCount = this.commandCount;
+        lastEventCount = eventCount;
+        nextReport += reportPeriod;
+      }
+      final long next = Math.min(end, Math.min(commandPeriod > 0L ? nextCommand : end, nextReport));
+      if (next > now) {
+        LockSupport.parkNanos(next - now);
+      }
+      now = System.nanoTime();
+    }
+
+    // Give in-flight commands a chance to round-trip before summarizing.
+    LockSupport.parkNanos(DRAIN_TIME);
+    total = total.merged(this.latency.snapshot());
+    close();
+
+    final Record report = report("bench", now - start, this.commandCount, this.eventCount, total);
+    report.slot("host", this.hostUri.toString())
+          .slot("node", this.nodeUri.toString())
+          .slot("lane", this.laneUri.toString())
+          .slot("links", this.linkCount)
+          .slot("linked", this.linkedCount)
+          .slot("unlinked", this.unlinkedCount)
+          .slot("linkTime", TimeUnit.NANOSECONDS.toMillis(linkTime));
+    log(report);
+    System.exit(0);
+  }
+
+  Record report(String tag, long elapsed, long commands, long events, LatencyHistogram histogram) {
+    final double seconds = (double) Math.max(1L, elapsed) / 1.0e9;
+    final Record report = Record.create().attr(tag);
+    report.slot("time", TimeUnit.NANOSECONDS.toMillis(elapsed))
+          .slot("commands", commands)
+          .slot("commandRate", Math.round((double) commands / seconds))
+          .slot("events", events)
+          .slot("eventRate", Math.round((double) events / seconds))
+          .slot("latency", LatencyPulse.from(histogram).toValue());
+    return report;
+  }
+
+  static final long LINK_TIMEOUT = TimeUnit.SECONDS.toNanos(30L);
+  static final long MAX_COMMAND_LAG = TimeUnit.SECONDS.toNanos(1L);
+  static final long DRAIN_TIME = TimeUnit.SECONDS.toNanos(1L);
+
+  static final AtomicLongFieldUpdater<DownlinkBench> LINKED_COUNT =
+      AtomicLongFieldUpdater.newUpdater(DownlinkBench.class, "linkedCount");
+  static final AtomicLongFieldUpdater<DownlinkBench> UNLINKED_COUNT =
+      AtomicLongFieldUpdater.newUpdater(DownlinkBench.class, "unlinkedCount");
+  static final AtomicLongFieldUpdater<DownlinkBench> EVENT_COUNT =
+      AtomicLongFieldUpdater.newUpdater(DownlinkBench.class, "eventCount");
+
+}
+
+/**
+ * Per-downlink observer that reports each link and unlink transition of its
+ * downlink to the benchmark exactly once.
+ */
+final class DownlinkBenchLink implements OnEvent<Value>, DidLink, DidUnlink {
+
+  final DownlinkBench bench;
+  boolean linked;
+  boolean unlinked;
+
+  DownlinkBenchLink(DownlinkBench bench) {
+    this.bench = bench;
+  }
+
+  @Override
+  public void onEvent(Value value) {
+    this.bench.didReceiveEvent(value);
+  }
+
+  @Override
+  public synchronized void didLink() {
+    if (!this.linked) {
+      this.linked = true;
+      this.bench.didLinkDownlink();
+    }
+  }
+
+  @Override
+  public synchronized void didUnlink() {
+    if (!this.unlinked) {
+      this.unlinked = true;
+      this.bench.didUnlinkDownlink();
+    }
+  }
+
+}
@@ -75,6 +75,15 @@ public class BootKernel extends KernelProxy implements IpStation {
   static final AtomicReferenceFieldUpdater<BootKernel, Station> STATION =
       AtomicReferenceFieldUpdater.newUpdater(BootKernel.class, Station.class, "station");
   private static final double KERNEL_PRIORITY = Double.NEGATIVE_INFINITY;
+  /**
+   * Name of the theater sub-stage on which the kernel's station runs.
+   */
+  public static final String IO_STAGE = "io";
+  /**
+   * Name of the theater sub-stage on which stores commit.
+   */
+  public static final String STORE_STAGE = "store";
+
   final double kernelPriority;
   final Value moduleConfig;
   KernelShutdownHook shutdownHook;
@@ -139,13 +148,30 @@ public class BootKernel extends KernelProxy implements IpStation {
         continue;
       }
     }
-    Stage stage = kernel.stage();
+    Stage stage = createSubStage(IO_STAGE);
     if (stage instanceof MainStage) {
       stage = new SideStage(stage); // isolate stage lifecycle
     }
     return new Station(stage, transportSettings);
   }
 
+  /**
+   * Returns the sub-stage of the kernel's theater with the given {@code
+   * stageName}, if the theater defines one, so that station I/O and store
+   * commits can run with worker budgets isolated from agent execution;
+   * otherwise returns the kernel's stage.
+   */
+  protected Stage createSubStage(String stageName) {
+    final Stage stage = kernelWrapper().unwrapKernel(KernelContext.class).stage();
+    if (stage instanceof Theater) {
+      final Theater subStage = ((Theater) stage).getStage(stageName);
+      if (subStage != null) {
+        return subStage;
+      }
+    }
+    return stage;
+  }
+
   @Override
   public final Stage stage() {
     Stage stage;
@@ -265,7 +291,11 @@ public class BootKernel extends KernelProxy implements IpStation {
             || cellAddress instanceof AuthenticatorAddress)
     ) {
       // Provide default boot stage to edge and store cells.
-      stage = stage();
+      if (cellAddress instanceof StoreAddress) {
+        stage = createSubStage(STORE_STAGE);
+      } else {
+        stage = stage();
+      }
       if (stage instanceof MainStage) {
         stage = new SideStage(stage); // isolate stage lifecycle
       }
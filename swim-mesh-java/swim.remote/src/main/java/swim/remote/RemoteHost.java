@@ -18,6 +18,7 @@ import java.net.InetSocketAddress;
 import java.security.Principal;
 import java.security.cert.Certificate;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
@@ -34,12 +35,11 @@ import swim.collections.HashTrieMap;
 import swim.collections.HashTrieSet;
 import swim.concurrent.Cont;
 import swim.concurrent.Conts;
-import swim.concurrent.PullContext;
-import swim.concurrent.PullRequest;
 import swim.concurrent.Schedule;
 import swim.concurrent.Stage;
-import swim.concurrent.Stay;
 import swim.concurrent.StayContext;
+import swim.concurrent.TimerFunction;
+import swim.concurrent.TimerRef;
 import swim.http.HttpRequest;
 import swim.http.HttpResponse;
 import swim.io.FlowModifier;
@@ -63,11 +63,13 @@ import swim.runtime.WarpBinding;
 import swim.runtime.WarpContext;
 import swim.runtime.agent.AgentNode;
 import swim.runtime.profile.HostProfile;
+import swim.runtime.profile.LatencyHistogram;
 import swim.runtime.reflect.AgentPulse;
 import swim.runtime.reflect.HostPulse;
 import swim.runtime.reflect.WarpDownlinkPulse;
 import swim.runtime.reflect.WarpUplinkPulse;
 import swim.store.StoreBinding;
+import swim.structure.Record;
 import swim.structure.Value;
 import swim.uri.Uri;
 import swim.uri.UriAuthority;
@@ -79,6 +81,7 @@ import swim.uri.UriScheme;
 import swim.util.HashGenCacheMap;
 import swim.warp.AuthRequest;
 import swim.warp.AuthedResponse;
+import swim.warp.CommandBatchMessage;
 import swim.warp.CommandMessage;
 import swim.warp.DeauthRequest;
 import swim.warp.DeauthedResponse;
@@ -112,6 +115,9 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
   volatile int receiveBacklog;
   RemoteHostMessageCont messageCont;
   final HashGenCacheMap<Uri, Uri> resolveCache;
+  final HashMap<Uri, RemoteHostCommandBatch> commandBatches;
+  volatile int commandBatchSize;
+  volatile long commandBatchWindow;
 
   volatile int downlinkOpenDelta;
   volatile long downlinkOpenCount;
@@ -140,6 +146,9 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
     this.downlinks = HashTrieMap.empty();
     this.uplinks = HashTrieMap.empty();
     this.resolveCache = new HashGenCacheMap<Uri, Uri>(URI_RESOLUTION_CACHE_SIZE);
+    this.commandBatches = new HashMap<Uri, RemoteHostCommandBatch>();
+    this.commandBatchSize = COMMAND_BATCH_SIZE;
+    this.commandBatchWindow = COMMAND_BATCH_WINDOW;
   }
 
   public RemoteHost(Uri baseUri) {
@@ -200,6 +209,41 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
     this.warpSocketContext = warpSocketContext;
   }
 
+  WarpSocketContext warpSocketContext(Uri remoteNodeUri, Uri laneUri) {
+    return this.warpSocketContext;
+  }
+
+  /**
+   * Returns the maximum number of commands to the same remote node that get
+   * coalesced into a single envelope; {@code 1} if commands are sent one at
+   * a time.  Defaults to the {@code swim.remote.command.batch.size} system
+   * property.
+   */
+  public final int commandBatchSize() {
+    return this.commandBatchSize;
+  }
+
+  public void setCommandBatchSize(int commandBatchSize) {
+    this.commandBatchSize = Math.max(1, commandBatchSize);
+    if (commandBatchSize <= 1) {
+      flushCommands();
+    }
+  }
+
+  /**
+   * Returns the number of milliseconds a partially filled command batch
+   * waits for more commands before being sent; {@code 0} if a batch is sent
+   * on the next turn of the host stage.  Defaults to the {@code
+   * swim.remote.command.batch.window} system property.
+   */
+  public final long commandBatchWindow() {
+    return this.commandBatchWindow;
+  }
+
+  public void setCommandBatchWindow(long commandBatchWindow) {
+    this.commandBatchWindow = Math.max(0L, commandBatchWindow);
+  }
+
   @Override
   public long idleTimeout() {
     return -1; // default timeout
@@ -415,10 +459,29 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
     return new RemoteWarpUplink(this, link, remoteNodeUri);
   }
 
-  <E extends Envelope> PullRequest<E> createPull(float prio, E envelope, Cont<E> cont) {
+  <E extends Envelope> RemoteHostPull<E> createPull(float prio, E envelope, Cont<E> cont) {
     return new RemoteHostPull<E>(this, prio, envelope, cont);
   }
 
+  /**
+   * Feeds {@code pull} to the socket that carries the given remote lane,
+   * remembering the socket so that the pull can be redirected should that
+   * socket drop it.
+   */
+  void feedPull(Uri remoteNodeUri, Uri laneUri, RemoteHostPull<Envelope> pull) {
+    final WarpSocketContext socketContext = warpSocketContext(remoteNodeUri, laneUri);
+    pull.socketContext = socketContext;
+    socketContext.feed(pull);
+  }
+
+  /**
+   * Returns {@code true} if {@code pull}, which was dropped by {@code
+   * socketContext}, has been fed to another socket instead.
+   */
+  boolean redirectPull(RemoteHostPull<Envelope> pull, WarpSocketContext socketContext) {
+    return false;
+  }
+
   protected Uri resolve(Uri relativeUri) {
     Uri absoluteUri = this.resolveCache.get(relativeUri);
     if (absoluteUri == null) {
@@ -539,13 +602,93 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
       final Envelope envelope = (Envelope) message;
       final Uri remoteNodeUri = resolve(envelope.nodeUri());
       final Envelope remoteEnvelope = envelope.nodeUri(remoteNodeUri);
-      final PullRequest<Envelope> pull = createPull(push.prio(), remoteEnvelope, (Cont<Envelope>) push.cont());
-      this.warpSocketContext.feed(pull);
+      if (this.commandBatchSize > 1) {
+        if (remoteEnvelope instanceof CommandMessage) {
+          queueCommand(push.prio(), (CommandMessage) remoteEnvelope, (Cont<Envelope>) push.cont());
+          return;
+        }
+        flushCommands(remoteNodeUri);
+      }
+      final RemoteHostPull<Envelope> pull = createPull(push.prio(), remoteEnvelope, (Cont<Envelope>) push.cont());
+      feedPull(remoteNodeUri, remoteEnvelope.laneUri(), pull);
     } else {
       push.trap(new HostException("unsupported message: " + message));
     }
   }
 
+  /**
+   * Adds {@code message} to the pending command batch for its node, sending
+   * the batch once it holds {@link #commandBatchSize()} commands, or once the
+   * {@link #commandBatchWindow()} elapses, whichever comes first.  A window
+   * of zero sends the batch as soon as the host stage gets around to it,
+   * coalescing whatever commands arrive in the meantime.
+   */
+  void queueCommand(float prio, CommandMessage message, Cont<Envelope> cont) {
+    final Uri remoteNodeUri = message.nodeUri();
+    synchronized (this.commandBatches) {
+      RemoteHostCommandBatch batch = this.commandBatches.get(remoteNodeUri);
+      if (batch == null) {
+        batch = new RemoteHostCommandBatch(this, remoteNodeUri, prio, this.commandBatchSize);
+        this.commandBatches.put(remoteNodeUri, batch);
+        final long commandBatchWindow = this.commandBatchWindow;
+        if (commandBatchWindow > 0L) {
+          batch.timer = schedule().setTimer(commandBatchWindow, batch);
+        } else {
+          stage().execute(batch);
+        }
+      }
+      batch.add(message, cont);
+      if (batch.isFull()) {
+        sendCommands(batch);
+      }
+    }
+  }
+
+  /**
+   * Sends all pending command batches.
+   */
+  void flushCommands() {
+    synchronized (this.commandBatches) {
+      if (!this.commandBatches.isEmpty()) {
+        final RemoteHostCommandBatch[] batches = this.commandBatches.values()
+            .toArray(new RemoteHostCommandBatch[this.commandBatches.size()]);
+        for (int i = 0; i < batches.length; i += 1) {
+          sendCommands(batches[i]);
+        }
+      }
+    }
+  }
+
+  void flushCommands(Uri remoteNodeUri) {
+    synchronized (this.commandBatches) {
+      final RemoteHostCommandBatch batch = this.commandBatches.get(remoteNodeUri);
+      if (batch != null) {
+        sendCommands(batch);
+      }
+    }
+  }
+
+  void flushCommands(RemoteHostCommandBatch batch) {
+    synchronized (this.commandBatches) {
+      if (this.commandBatches.get(batch.nodeUri) == batch) {
+        sendCommands(batch);
+      }
+    }
+  }
+
+  void sendCommands(RemoteHostCommandBatch batch) {
+    // Must hold the commandBatches lock, so that batches for the same node
+    // get fed to the socket in the order they were filled.
+    this.commandBatches.remove(batch.nodeUri);
+    if (batch.timer != null) {
+      batch.timer.cancel();
+      batch.timer = null;
+    }
+    final Envelope envelope = batch.envelope();
+    final RemoteHostPull<Envelope> pull = createPull(batch.prio, envelope, batch);
+    feedPull(batch.nodeUri, envelope.laneUri(), pull);
+  }
+
   @Override
   public void willConnect() {
     // nop
@@ -599,6 +742,8 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
       onEventMessage((EventMessage) envelope);
     } else if (envelope instanceof CommandMessage) {
       onCommandMessage((CommandMessage) envelope);
+    } else if (envelope instanceof CommandBatchMessage) {
+      onCommandBatchMessage((CommandBatchMessage) envelope);
     } else if (envelope instanceof LinkRequest) {
       onLinkRequest((LinkRequest) envelope);
     } else if (envelope instanceof LinkedResponse) {
@@ -702,6 +847,63 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
     didUpdateMetrics();
   }
 
+  /**
+   * Applies policy to each command in {@code message}, and pushes the
+   * allowed commands down to their node as a single batch, which the node
+   * dispatches in one task.  Commands for proxied downlinks are queued up
+   * individually.
+   */
+  protected void onCommandBatchMessage(CommandBatchMessage message) {
+    final Policy policy = policy();
+    final Uri nodeUri = resolve(message.nodeUri());
+    final HashTrieMap<Uri, RemoteWarpDownlink> nodeDownlinks = this.downlinks.get(nodeUri);
+    final int commandCount = message.size();
+    Record commands = null;
+    for (int i = 0; i < commandCount; i += 1) {
+      CommandMessage command = message.get(i);
+      if (command == null) {
+        continue;
+      }
+      final PolicyDirective<CommandMessage> directive;
+      if (policy != null) {
+        directive = policy.canDownlink(command, this.remoteIdentity);
+      } else {
+        directive = PolicyDirective.allow();
+      }
+
+      if (directive.isAllowed()) {
+        final CommandMessage newCommand = directive.get();
+        if (newCommand != null) {
+          command = newCommand;
+        }
+
+        final Uri laneUri = command.laneUri();
+        final RemoteWarpDownlink laneDownlink = nodeDownlinks != null ? nodeDownlinks.get(laneUri) : null;
+        if (laneDownlink != null) {
+          laneDownlink.queueUp(command.nodeUri(nodeUri));
+        } else {
+          if (commands == null) {
+            commands = Record.create(commandCount);
+          }
+          commands.slot(laneUri.toString(), command.body());
+        }
+      } else if (directive.isForbidden()) {
+        forbid();
+        break;
+      }
+    }
+
+    if (commands != null) {
+      final CommandBatchMessage resolvedMessage = new CommandBatchMessage(nodeUri, commands);
+      willPushMessage(resolvedMessage);
+      this.hostContext.pushDown(new Push<Envelope>(Uri.empty(), Uri.empty(), nodeUri, Uri.empty(),
+              0.0f, null, resolvedMessage, this.messageCont));
+    }
+
+    DOWNLINK_COMMAND_DELTA.addAndGet(this, commandCount);
+    didUpdateMetrics();
+  }
+
   protected void willPushMessage(Envelope envelope) {
     //do {
     //  final int oldReceiveBacklog = this.receiveBacklog;
@@ -1427,7 +1629,8 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
         downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount,
         uplinkOpenDelta, uplinkOpenCount, uplinkCloseDelta, uplinkCloseCount,
         uplinkEventDelta, uplinkEventRate, uplinkEventCount,
-        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount);
+        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+        LatencyHistogram.empty(), LatencyHistogram.empty(), LatencyHistogram.empty());
   }
 
   static final int PRIMARY = 1 << 0;
@@ -1438,6 +1641,8 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
   static final int MAX_SEND_BACKLOG;
   static final int MAX_RECEIVE_BACKLOG;
   static final int URI_RESOLUTION_CACHE_SIZE;
+  static final int COMMAND_BATCH_SIZE;
+  static final long COMMAND_BATCH_WINDOW;
 
   static final AtomicIntegerFieldUpdater<RemoteHost> FLAGS =
       AtomicIntegerFieldUpdater.newUpdater(RemoteHost.class, "flags");
@@ -1515,6 +1720,22 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
       uriResolutionCacheSize = 8;
     }
     URI_RESOLUTION_CACHE_SIZE = uriResolutionCacheSize;
+
+    int commandBatchSize;
+    try {
+      commandBatchSize = Integer.parseInt(System.getProperty("swim.remote.command.batch.size"));
+    } catch (NumberFormatException e) {
+      commandBatchSize = 1;
+    }
+    COMMAND_BATCH_SIZE = commandBatchSize;
+
+    long commandBatchWindow;
+    try {
+      commandBatchWindow = Long.parseLong(System.getProperty("swim.remote.command.batch.window"));
+    } catch (NumberFormatException e) {
+      commandBatchWindow = 0L;
+    }
+    COMMAND_BATCH_WINDOW = commandBatchWindow;
   }
 
 }
@@ -1545,71 +1766,74 @@ final class RemoteHostMessageCont implements Cont<Envelope> {
 
 }
 
-final class RemoteHostPull<E extends Envelope> implements PullRequest<E> {
+final class RemoteHostCommandBatch implements Runnable, TimerFunction, Cont<Envelope> {
 
   final RemoteHost host;
+  final Uri nodeUri;
   final float prio;
-  final E envelope;
-  final Cont<E> cont;
+  final CommandMessage[] commands;
+  final Cont<Envelope>[] conts;
+  int size;
+  TimerRef timer;
 
-  RemoteHostPull(RemoteHost host, float prio, E envelope, Cont<E> cont) {
+  @SuppressWarnings("unchecked")
+  RemoteHostCommandBatch(RemoteHost host, Uri nodeUri, float prio, int capacity) {
     this.host = host;
+    this.nodeUri = nodeUri;
     this.prio = prio;
-    this.envelope = envelope;
-    this.cont = cont;
+    this.commands = new CommandMessage[capacity];
+    this.conts = (Cont<Envelope>[]) new Cont<?>[capacity];
   }
 
-  @Override
-  public float prio() {
-    return this.prio;
+  void add(CommandMessage command, Cont<Envelope> cont) {
+    this.commands[this.size] = command;
+    this.conts[this.size] = cont;
+    this.size += 1;
   }
 
-  @Override
-  public void pull(PullContext<? super E> context) {
-    Throwable failure = null;
-    final E envelope = this.envelope;
-    try {
-      context.push(this.envelope);
-      if (envelope instanceof EventMessage) {
-        RemoteHost.DOWNLINK_EVENT_DELTA.incrementAndGet(this.host);
-        this.host.didUpdateMetrics();
-      } else if (envelope instanceof CommandMessage) {
-        RemoteHost.UPLINK_COMMAND_DELTA.incrementAndGet(this.host);
-        this.host.didUpdateMetrics();
-      }
-    } catch (Throwable cause) {
-      if (!Conts.isNonFatal(cause)) {
-        throw cause;
-      }
-      failure = cause;
+  boolean isFull() {
+    return this.size == this.commands.length;
+  }
+
+  Envelope envelope() {
+    if (this.size == 1) {
+      return this.commands[0];
     }
-    if (this.cont != null) {
-      if (failure == null) {
-        this.cont.bind(envelope);
-      } else {
-        this.cont.trap(failure);
-      }
-    }
-    if (failure instanceof RuntimeException) {
-      throw (RuntimeException) failure;
-    } else if (failure instanceof Error) {
-      throw (Error) failure;
+    final Record body = Record.create(this.size);
+    for (int i = 0; i < this.size; i += 1) {
+      final CommandMessage command = this.commands[i];
+      body.slot(command.laneUri().toString(), command.body());
     }
+    return new CommandBatchMessage(this.nodeUri, body);
+  }
+
+  @Override
+  public void run() {
+    this.host.flushCommands(this);
+  }
+
+  @Override
+  public void runTimer() {
+    this.host.flushCommands(this);
   }
 
   @Override
-  public void drop(Throwable reason) {
-    if (this.cont != null) {
-      this.cont.trap(reason);
+  public void bind(Envelope envelope) {
+    for (int i = 0; i < this.size; i += 1) {
+      final Cont<Envelope> cont = this.conts[i];
+      if (cont != null) {
+        cont.bind(this.commands[i]);
+      }
     }
   }
 
   @Override
-  public boolean stay(StayContext context, int backlog) {
-    if (this.cont instanceof Stay) {
-      return ((Stay) this.cont).stay(host, backlog);
-    } else {
-      return backlog < RemoteHost.MAX_SEND_BACKLOG;
+  public void trap(Throwable error) {
+    for (int i = 0; i < this.size; i += 1) {
+      final Cont<Envelope> cont = this.conts[i];
+      if (cont != null) {
+        cont.trap(error);
+      }
     }
   }
 
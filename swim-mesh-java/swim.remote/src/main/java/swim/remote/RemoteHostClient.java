@@ -15,7 +15,12 @@
 package swim.remote;
 
 import java.net.InetSocketAddress;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import swim.collections.FingerTrieSeq;
+import swim.collections.HashTrieMap;
+import swim.collections.HashTrieSet;
 import swim.concurrent.Conts;
 import swim.concurrent.TimerFunction;
 import swim.concurrent.TimerRef;
@@ -30,13 +35,27 @@ import swim.io.http.HttpClientModem;
 import swim.io.http.HttpSettings;
 import swim.io.warp.AbstractWarpClient;
 import swim.io.warp.WarpSettings;
+import swim.io.warp.WarpSocket;
 import swim.io.warp.WarpSocketContext;
 import swim.io.warp.WarpWebSocket;
 import swim.io.ws.WsSettings;
 import swim.runtime.HostContext;
+import swim.runtime.WarpBinding;
+import swim.structure.Value;
 import swim.uri.Uri;
 import swim.uri.UriAuthority;
 import swim.uri.UriScheme;
+import swim.util.Murmur3;
+import swim.warp.CommandBatchMessage;
+import swim.warp.CommandMessage;
+import swim.warp.Envelope;
+import swim.warp.EventMessage;
+import swim.warp.LinkRequest;
+import swim.warp.LinkedResponse;
+import swim.warp.SyncRequest;
+import swim.warp.SyncedResponse;
+import swim.warp.UnlinkRequest;
+import swim.warp.UnlinkedResponse;
 import swim.ws.WsClose;
 import swim.ws.WsRequest;
 
@@ -46,14 +65,30 @@ public class RemoteHostClient extends RemoteHost {
   static final FingerTrieSeq<String> PROTOCOL_LIST = FingerTrieSeq.of("warp0", "swim-0.0");
   final IpInterface endpoint;
   final WarpSettings warpSettings;
+  final int stripeCount;
+  final RemoteHostClientStripe[] stripes;
   HttpClient client;
+  WarpWebSocket webSocket;
   TimerRef reconnectTimer;
   double reconnectTimeout;
+  volatile int stripeMask;
 
-  public RemoteHostClient(Uri baseUri, IpInterface endpoint, WarpSettings warpSettings) {
+  public RemoteHostClient(Uri baseUri, IpInterface endpoint, WarpSettings warpSettings, int stripeCount) {
     super(Uri.empty(), baseUri);
     this.endpoint = endpoint;
     this.warpSettings = warpSettings;
+    stripeCount = Math.max(1, Math.min(stripeCount, MAX_STRIPE_COUNT));
+    this.stripeCount = stripeCount;
+    // Stripe 0 is the primary socket owned by this host itself.
+    final RemoteHostClientStripe[] stripes = new RemoteHostClientStripe[stripeCount];
+    for (int i = 1; i < stripeCount; i += 1) {
+      stripes[i] = new RemoteHostClientStripe(this, i);
+    }
+    this.stripes = stripes;
+  }
+
+  public RemoteHostClient(Uri baseUri, IpInterface endpoint, WarpSettings warpSettings) {
+    this(baseUri, endpoint, warpSettings, STRIPE_COUNT);
   }
 
   public RemoteHostClient(Uri baseUri, IpInterface endpoint) {
@@ -65,38 +100,64 @@ public class RemoteHostClient extends RemoteHost {
     super.setHostContext(hostContext);
   }
 
-  public void connect() {
-    final String scheme = this.baseUri.schemeName();
-    final boolean isSecure = "warps".equals(scheme) || "swims".equals(scheme);
-
-    final UriAuthority remoteAuthority = this.baseUri.authority();
-    final String remoteAddress = remoteAuthority.host().address();
-    final int remotePort = remoteAuthority.port().number();
-    final int requestPort = remotePort > 0 ? remotePort : isSecure ? 443 : 80;
+  public final int stripeCount() {
+    return this.stripeCount;
+  }
 
+  public void connect() {
     if (this.client == null) {
-      final Uri requestUri = Uri.from(UriScheme.from("http"), remoteAuthority, this.baseUri.path(), this.baseUri.query());
-      final WarpSettings warpSettings = this.warpSettings;
-      final WsSettings wsSettings = warpSettings.wsSettings();
-      final WsRequest wsRequest = wsSettings.handshakeRequest(requestUri, PROTOCOL_LIST);
-      final WarpWebSocket webSocket = new WarpWebSocket(this, warpSettings);
-      this.client = new RemoteHostClientBinding(this, webSocket, wsRequest, warpSettings);
+      final WarpWebSocket webSocket = new WarpWebSocket(this, this.warpSettings);
+      this.webSocket = webSocket;
+      this.client = createClient(this, webSocket);
       setWarpSocketContext(webSocket); // eagerly set
     }
 
     try {
-      if (isSecure) {
-        connectHttps(new InetSocketAddress(remoteAddress, requestPort), this.client, this.warpSettings.httpSettings());
-      } else {
-        connectHttp(new InetSocketAddress(remoteAddress, requestPort), this.client, this.warpSettings.httpSettings());
-      }
+      connectClient(this.client);
     } catch (Throwable cause) {
       if (!Conts.isNonFatal(cause)) {
         throw cause;
       }
       cause.printStackTrace();
+      if (this.stripeCount > 1) {
+        didDisconnectStripe(0);
+      }
       reconnect();
     }
+
+    final RemoteHostClientStripe[] stripes = this.stripes;
+    for (int i = 1; i < stripes.length; i += 1) {
+      final RemoteHostClientStripe stripe = stripes[i];
+      if (!stripe.started) {
+        // Secondary stripes reconnect independently once started.
+        stripe.connect();
+      }
+    }
+  }
+
+  HttpClient createClient(WarpSocket socket, WarpWebSocket webSocket) {
+    final UriAuthority remoteAuthority = this.baseUri.authority();
+    final Uri requestUri = Uri.from(UriScheme.from("http"), remoteAuthority, this.baseUri.path(), this.baseUri.query());
+    final WarpSettings warpSettings = this.warpSettings;
+    final WsSettings wsSettings = warpSettings.wsSettings();
+    final WsRequest wsRequest = wsSettings.handshakeRequest(requestUri, PROTOCOL_LIST);
+    return new RemoteHostClientBinding(socket, webSocket, wsRequest, warpSettings);
+  }
+
+  IpSocketRef connectClient(HttpClient client) {
+    final String scheme = this.baseUri.schemeName();
+    final boolean isSecure = "warps".equals(scheme) || "swims".equals(scheme);
+
+    final UriAuthority remoteAuthority = this.baseUri.authority();
+    final String remoteAddress = remoteAuthority.host().address();
+    final int remotePort = remoteAuthority.port().number();
+    final int requestPort = remotePort > 0 ? remotePort : isSecure ? 443 : 80;
+
+    if (isSecure) {
+      return connectHttps(new InetSocketAddress(remoteAddress, requestPort), client, this.warpSettings.httpSettings());
+    } else {
+      return connectHttp(new InetSocketAddress(remoteAddress, requestPort), client, this.warpSettings.httpSettings());
+    }
   }
 
   protected IpSocketRef connectHttp(InetSocketAddress remoteAddress, HttpClient client, HttpSettings httpSettings) {
@@ -145,6 +206,258 @@ public class RemoteHostClient extends RemoteHost {
     super.willOpen();
   }
 
+  @Override
+  protected void willClose() {
+    Throwable failure = null;
+    final RemoteHostClientStripe[] stripes = this.stripes;
+    for (int i = 1; i < stripes.length; i += 1) {
+      try {
+        stripes[i].close();
+      } catch (Throwable cause) {
+        if (!Conts.isNonFatal(cause)) {
+          throw cause;
+        }
+        failure = cause;
+      }
+    }
+    super.willClose();
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+  }
+
+  /**
+   * Returns the socket that carries traffic for the given remote lane.
+   * Envelopes for a lane with open uplinks travel over the socket its
+   * uplinks are linked over, so that commands stay ordered with respect to
+   * link traffic.  Other lanes route to the stripe picked by {@link
+   * #stripeIndex(Uri, Uri, int)}.
+   */
+  @Override
+  WarpSocketContext warpSocketContext(Uri remoteNodeUri, Uri laneUri) {
+    if (this.stripeCount > 1) {
+      final HashTrieMap<Uri, HashTrieSet<RemoteWarpUplink>> nodeUplinks = this.uplinks.get(remoteNodeUri);
+      if (nodeUplinks != null) {
+        final HashTrieSet<RemoteWarpUplink> laneUplinks = nodeUplinks.get(laneUri);
+        if (laneUplinks != null) {
+          final Iterator<RemoteWarpUplink> uplinksIterator = laneUplinks.iterator();
+          while (uplinksIterator.hasNext()) {
+            final WarpSocketContext uplinkContext = uplinksIterator.next().socketContext;
+            if (uplinkContext != null) {
+              return uplinkContext;
+            }
+          }
+        }
+      }
+      return stripeContext(stripeIndex(remoteNodeUri, laneUri, this.stripeMask));
+    }
+    return this.warpSocketContext;
+  }
+
+  /**
+   * Returns the index of the stripe that carries traffic for the given
+   * remote lane.  Lanes hash to a home stripe, and use it whenever it's
+   * connected; while the home stripe is down, or still connecting, the lane
+   * fails over to the next connected stripe.  While no stripe is connected,
+   * lanes route to the primary socket, where envelopes queue up until it
+   * reconnects.
+   */
+  int stripeIndex(Uri remoteNodeUri, Uri laneUri, int stripeMask) {
+    final int stripeCount = this.stripeCount;
+    final int home = Math.floorMod(Murmur3.mash(Murmur3.mix(remoteNodeUri.hashCode(), laneUri.hashCode())), stripeCount);
+    for (int i = 0; i < stripeCount; i += 1) {
+      final int index = (home + i) % stripeCount;
+      if ((stripeMask & (1 << index)) != 0) {
+        return index;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Returns {@code true} if {@code socketContext} is a stripe that is
+   * currently connected.
+   */
+  boolean isLive(WarpSocketContext socketContext) {
+    final int stripeMask = this.stripeMask;
+    for (int i = 0; i < this.stripeCount; i += 1) {
+      if (stripeContext(i) == socketContext) {
+        return (stripeMask & (1 << i)) != 0;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Re-queues a pull dropped by a stripe that went down, or never came up,
+   * onto the socket that now carries its lane.
+   */
+  @Override
+  boolean redirectPull(RemoteHostPull<Envelope> pull, WarpSocketContext socketContext) {
+    if (this.stripeCount > 1 && !isLive(socketContext)) {
+      final Envelope envelope = pull.envelope;
+      final WarpSocketContext newContext = warpSocketContext(envelope.nodeUri(), envelope.laneUri());
+      if (newContext != null && newContext != socketContext) {
+        pull.socketContext = newContext;
+        newContext.feed(pull);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  WarpSocketContext stripeContext(int index) {
+    if (index == 0) {
+      return this.webSocket;
+    } else {
+      return this.stripes[index].webSocket;
+    }
+  }
+
+  void didConnectStripe(int index) {
+    final int stripeBit = 1 << index;
+    int oldStripeMask;
+    int newStripeMask;
+    do {
+      oldStripeMask = this.stripeMask;
+      newStripeMask = oldStripeMask | stripeBit;
+    } while (oldStripeMask != newStripeMask && !STRIPE_MASK.compareAndSet(this, oldStripeMask, newStripeMask));
+    rebalanceUplinks();
+  }
+
+  void didDisconnectStripe(int index) {
+    final int stripeBit = 1 << index;
+    int oldStripeMask;
+    int newStripeMask;
+    do {
+      oldStripeMask = this.stripeMask;
+      newStripeMask = oldStripeMask & ~stripeBit;
+    } while (oldStripeMask != newStripeMask && !STRIPE_MASK.compareAndSet(this, oldStripeMask, newStripeMask));
+    rebalanceUplinks();
+  }
+
+  @Override
+  protected void connectUplinks() {
+    if (this.stripeCount == 1) {
+      super.connectUplinks();
+    } else {
+      didConnectStripe(0);
+    }
+  }
+
+  @Override
+  protected void disconnectUplinks() {
+    if (this.stripeCount == 1) {
+      super.disconnectUplinks();
+    } else {
+      didDisconnectStripe(0);
+    }
+  }
+
+  @Override
+  protected void openWarpUplink(WarpBinding link) {
+    super.openWarpUplink(link);
+    if (this.stripeCount > 1 && !isConnected() && this.stripeMask != 0) {
+      // Connect the new uplink over a live secondary stripe.
+      rebalanceUplinks();
+    }
+  }
+
+  /**
+   * Moves every uplink onto the stripe currently assigned to its lane.
+   * Uplinks leaving a stripe that is still connected are unlinked there
+   * before relinking on their new stripe; uplinks whose stripe went down
+   * fail over without waiting for it to come back.
+   */
+  void rebalanceUplinks() {
+    synchronized (this.stripes) {
+      final int stripeMask = this.stripeMask;
+      final Iterator<Map.Entry<Uri, HashTrieMap<Uri, HashTrieSet<RemoteWarpUplink>>>> nodeUplinksIterator = this.uplinks.iterator();
+      while (nodeUplinksIterator.hasNext()) {
+        final Map.Entry<Uri, HashTrieMap<Uri, HashTrieSet<RemoteWarpUplink>>> nodeUplinks = nodeUplinksIterator.next();
+        final Uri remoteNodeUri = nodeUplinks.getKey();
+        final Iterator<Map.Entry<Uri, HashTrieSet<RemoteWarpUplink>>> laneUplinksIterator = nodeUplinks.getValue().iterator();
+        while (laneUplinksIterator.hasNext()) {
+          final Map.Entry<Uri, HashTrieSet<RemoteWarpUplink>> laneUplinks = laneUplinksIterator.next();
+          final Uri laneUri = laneUplinks.getKey();
+          final WarpSocketContext newContext = stripeMask != 0
+                                             ? stripeContext(stripeIndex(remoteNodeUri, laneUri, stripeMask))
+                                             : null;
+          boolean unlinked = false;
+          final Iterator<RemoteWarpUplink> uplinksIterator = laneUplinks.getValue().iterator();
+          while (uplinksIterator.hasNext()) {
+            final RemoteWarpUplink uplink = uplinksIterator.next();
+            final WarpSocketContext oldContext = uplink.socketContext;
+            if (oldContext == newContext) {
+              continue;
+            }
+            uplink.socketContext = newContext;
+            if (oldContext != null) {
+              if (!unlinked && newContext != null && oldContext.isConnected()) {
+                oldContext.feed(new UnlinkRequest(remoteNodeUri, laneUri, Value.absent()), 1.0f);
+                unlinked = true;
+              }
+              uplink.didDisconnect();
+            }
+            if (newContext != null) {
+              uplink.didConnect();
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns {@code true} if a downlink response for the lane addressed by
+   * {@code envelope} that arrived over {@code socketContext} belongs to
+   * the uplinks currently linked over that socket.  Responses arriving
+   * over a stripe the lane has since been moved off of are stale.
+   */
+  boolean isRoutedOver(Envelope envelope, WarpSocketContext socketContext) {
+    if (envelope instanceof EventMessage || envelope instanceof LinkedResponse
+        || envelope instanceof SyncedResponse || envelope instanceof UnlinkedResponse) {
+      final HashTrieMap<Uri, HashTrieSet<RemoteWarpUplink>> nodeUplinks = this.uplinks.get(resolve(envelope.nodeUri()));
+      if (nodeUplinks != null) {
+        final HashTrieSet<RemoteWarpUplink> laneUplinks = nodeUplinks.get(envelope.laneUri());
+        if (laneUplinks != null) {
+          final Iterator<RemoteWarpUplink> uplinksIterator = laneUplinks.iterator();
+          while (uplinksIterator.hasNext()) {
+            final WarpSocketContext uplinkContext = uplinksIterator.next().socketContext;
+            if (uplinkContext == socketContext || uplinkContext == null && socketContext == this.webSocket) {
+              return true;
+            }
+          }
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void didRead(Envelope envelope) {
+    if (this.stripeCount == 1 || isRoutedOver(envelope, this.webSocket)) {
+      super.didRead(envelope);
+    }
+  }
+
+  void didReadStripe(Envelope envelope, WarpSocketContext socketContext) {
+    if (envelope instanceof CommandMessage || envelope instanceof CommandBatchMessage) {
+      super.didRead(envelope);
+    } else if (envelope instanceof LinkRequest || envelope instanceof SyncRequest) {
+      // Peer-opened links are only served over the primary socket.
+      socketContext.feed(new UnlinkedResponse(envelope.nodeUri(), envelope.laneUri()), 1.0f);
+    } else if (isRoutedOver(envelope, socketContext)) {
+      if (envelope instanceof EventMessage || envelope instanceof LinkedResponse
+          || envelope instanceof SyncedResponse || envelope instanceof UnlinkedResponse) {
+        super.didRead(envelope);
+      }
+    }
+  }
+
   @Override
   protected void didReadClose(WsClose<?, ?> frame) {
     Throwable failure = null;
@@ -172,6 +485,11 @@ public class RemoteHostClient extends RemoteHost {
   public void didFail(Throwable error) {
     Throwable failure = null;
     try {
+      if (this.stripeCount > 1) {
+        // Take the stripe out of rotation before its queued pulls get dropped,
+        // so that they get redirected to the remaining stripes.
+        didDisconnectStripe(0);
+      }
       final WarpSocketContext warpSocketContext = this.warpSocketContext;
       if (warpSocketContext != null) {
         this.warpSocketContext = null;
@@ -191,19 +509,35 @@ public class RemoteHostClient extends RemoteHost {
     }
   }
 
+  static final int MAX_STRIPE_COUNT = 32;
+  static final int STRIPE_COUNT;
+
+  static final AtomicIntegerFieldUpdater<RemoteHostClient> STRIPE_MASK =
+      AtomicIntegerFieldUpdater.newUpdater(RemoteHostClient.class, "stripeMask");
+
+  static {
+    int stripeCount;
+    try {
+      stripeCount = Integer.parseInt(System.getProperty("swim.remote.stripes"));
+    } catch (NumberFormatException e) {
+      stripeCount = 1;
+    }
+    STRIPE_COUNT = Math.max(1, Math.min(stripeCount, MAX_STRIPE_COUNT));
+  }
+
 }
 
 final class RemoteHostClientBinding extends AbstractWarpClient {
 
-  final RemoteHostClient client;
+  final WarpSocket socket;
   final WarpWebSocket webSocket;
   final WsRequest wsRequest;
   final WarpSettings warpSettings;
 
-  RemoteHostClientBinding(RemoteHostClient client, WarpWebSocket webSocket,
+  RemoteHostClientBinding(WarpSocket socket, WarpWebSocket webSocket,
                           WsRequest wsRequest, WarpSettings warpSettings) {
     super(warpSettings);
-    this.client = client;
+    this.socket = socket;
     this.webSocket = webSocket;
     this.wsRequest = wsRequest;
     this.warpSettings = warpSettings;
@@ -231,7 +565,7 @@ final class RemoteHostClientBinding extends AbstractWarpClient {
       }
       failure = cause;
     }
-    this.client.didDisconnect();
+    this.socket.didDisconnect();
     if (failure instanceof RuntimeException) {
       throw (RuntimeException) failure;
     } else if (failure instanceof Error) {
@@ -0,0 +1,260 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.remote;
+
+import swim.concurrent.Conts;
+import swim.concurrent.TimerFunction;
+import swim.concurrent.TimerRef;
+import swim.http.HttpRequest;
+import swim.http.HttpResponse;
+import swim.io.IpSocket;
+import swim.io.http.HttpClient;
+import swim.io.warp.WarpSocket;
+import swim.io.warp.WarpSocketContext;
+import swim.io.warp.WarpWebSocket;
+import swim.warp.Envelope;
+import swim.ws.WsClose;
+import swim.ws.WsControl;
+import swim.ws.WsPing;
+import swim.ws.WsPong;
+
+final class RemoteHostClientStripe implements WarpSocket {
+
+  final RemoteHostClient client;
+  final int index;
+  final WarpWebSocket webSocket;
+  final HttpClient httpClient;
+  WarpSocketContext warpSocketContext;
+  TimerRef reconnectTimer;
+  double reconnectTimeout;
+  boolean started;
+  boolean closed;
+
+  RemoteHostClientStripe(RemoteHostClient client, int index) {
+    this.client = client;
+    this.index = index;
+    final WarpWebSocket webSocket = new WarpWebSocket(this, client.warpSettings);
+    this.webSocket = webSocket;
+    this.httpClient = client.createClient(this, webSocket);
+  }
+
+  void connect() {
+    if (this.closed) {
+      return;
+    }
+    this.started = true;
+    try {
+      this.client.connectClient(this.httpClient);
+    } catch (Throwable cause) {
+      if (!Conts.isNonFatal(cause)) {
+        throw cause;
+      }
+      this.client.didDisconnectStripe(this.index);
+      reconnect();
+    }
+  }
+
+  void reconnect() {
+    if (this.closed || this.reconnectTimer != null && this.reconnectTimer.isScheduled()) {
+      return;
+    }
+    if (this.reconnectTimeout == 0.0) {
+      final double jitter = 1000.0 * Math.random();
+      this.reconnectTimeout = 500.0 + jitter;
+    } else {
+      this.reconnectTimeout = Math.min(1.8 * this.reconnectTimeout, RemoteHostClient.MAX_RECONNECT_TIMEOUT);
+    }
+    this.reconnectTimer = this.client.schedule().setTimer(
+        (long) this.reconnectTimeout, new RemoteHostClientStripeReconnectTimer(this));
+  }
+
+  void close() {
+    this.closed = true;
+    if (this.reconnectTimer != null) {
+      this.reconnectTimer.cancel();
+      this.reconnectTimer = null;
+    }
+    this.webSocket.close();
+  }
+
+  @Override
+  public WarpSocketContext warpSocketContext() {
+    return this.warpSocketContext;
+  }
+
+  @Override
+  public void setWarpSocketContext(WarpSocketContext warpSocketContext) {
+    this.warpSocketContext = warpSocketContext;
+  }
+
+  @Override
+  public long idleTimeout() {
+    return this.client.idleTimeout();
+  }
+
+  @Override
+  public void doRead() {
+    // nop
+  }
+
+  @Override
+  public void didRead(Envelope envelope) {
+    this.client.didReadStripe(envelope, this.webSocket);
+  }
+
+  @Override
+  public void didRead(WsControl<?, ?> frame) {
+    final WarpSocketContext warpSocketContext = this.warpSocketContext;
+    if (frame instanceof WsClose<?, ?>) {
+      if (warpSocketContext != null) {
+        warpSocketContext.write(WsClose.from(1000));
+      }
+    } else if (frame instanceof WsPing<?, ?>) {
+      if (warpSocketContext != null) {
+        warpSocketContext.write(WsPong.from(frame.payload()));
+      }
+    }
+  }
+
+  @Override
+  public void doWrite() {
+    // nop
+  }
+
+  @Override
+  public void didWrite(Envelope envelope) {
+    // nop
+  }
+
+  @Override
+  public void didWrite(WsControl<?, ?> frame) {
+    // nop
+  }
+
+  @Override
+  public void didUpgrade(HttpRequest<?> httpRequest, HttpResponse<?> httpResponse) {
+    this.client.didConnectStripe(this.index);
+  }
+
+  @Override
+  public void willConnect() {
+    // nop
+  }
+
+  @Override
+  public void didConnect() {
+    if (this.reconnectTimer != null) {
+      this.reconnectTimer.cancel();
+      this.reconnectTimer = null;
+    }
+    this.reconnectTimeout = 0.0;
+  }
+
+  @Override
+  public void willSecure() {
+    // nop
+  }
+
+  @Override
+  public void didSecure() {
+    // nop
+  }
+
+  @Override
+  public void willBecome(IpSocket socket) {
+    // nop
+  }
+
+  @Override
+  public void didBecome(IpSocket socket) {
+    // nop
+  }
+
+  @Override
+  public void didTimeout() {
+    // nop
+  }
+
+  @Override
+  public void didDisconnect() {
+    Throwable failure = null;
+    try {
+      this.client.didDisconnectStripe(this.index);
+    } catch (Throwable cause) {
+      if (!Conts.isNonFatal(cause)) {
+        throw cause;
+      }
+      failure = cause;
+    }
+    reconnect();
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+  }
+
+  @Override
+  public void didFail(Throwable error) {
+    Throwable failure = null;
+    try {
+      // Take the stripe out of rotation before its queued pulls get dropped,
+      // so that they get redirected to the remaining stripes.
+      this.client.didDisconnectStripe(this.index);
+      this.webSocket.close();
+    } catch (Throwable cause) {
+      if (!Conts.isNonFatal(cause)) {
+        throw cause;
+      }
+      failure = cause;
+    }
+    reconnect();
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+  }
+
+}
+
+final class RemoteHostClientStripeReconnectTimer implements TimerFunction {
+
+  final RemoteHostClientStripe stripe;
+
+  RemoteHostClientStripeReconnectTimer(RemoteHostClientStripe stripe) {
+    this.stripe = stripe;
+  }
+
+  @Override
+  public void runTimer() {
+    Throwable failure = null;
+    try {
+      this.stripe.connect();
+    } catch (Throwable cause) {
+      if (!Conts.isNonFatal(cause)) {
+        throw cause;
+      }
+      failure = cause;
+    }
+    this.stripe.reconnect(); // schedule reconnect
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+  }
+
+}
@@ -0,0 +1,106 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.remote;
+
+import swim.concurrent.Cont;
+import swim.concurrent.Conts;
+import swim.concurrent.PullContext;
+import swim.concurrent.PullRequest;
+import swim.concurrent.Stay;
+import swim.concurrent.StayContext;
+import swim.io.warp.WarpSocketContext;
+import swim.warp.CommandBatchMessage;
+import swim.warp.CommandMessage;
+import swim.warp.Envelope;
+import swim.warp.EventMessage;
+
+final class RemoteHostPull<E extends Envelope> implements PullRequest<E> {
+
+  final RemoteHost host;
+  final float prio;
+  final E envelope;
+  final Cont<E> cont;
+  WarpSocketContext socketContext;
+
+  RemoteHostPull(RemoteHost host, float prio, E envelope, Cont<E> cont) {
+    this.host = host;
+    this.prio = prio;
+    this.envelope = envelope;
+    this.cont = cont;
+  }
+
+  @Override
+  public float prio() {
+    return this.prio;
+  }
+
+  @Override
+  public void pull(PullContext<? super E> context) {
+    Throwable failure = null;
+    final E envelope = this.envelope;
+    try {
+      context.push(this.envelope);
+      if (envelope instanceof EventMessage) {
+        RemoteHost.DOWNLINK_EVENT_DELTA.incrementAndGet(this.host);
+        this.host.didUpdateMetrics();
+      } else if (envelope instanceof CommandMessage) {
+        RemoteHost.UPLINK_COMMAND_DELTA.incrementAndGet(this.host);
+        this.host.didUpdateMetrics();
+      } else if (envelope instanceof CommandBatchMessage) {
+        RemoteHost.UPLINK_COMMAND_DELTA.addAndGet(this.host, ((CommandBatchMessage) envelope).size());
+        this.host.didUpdateMetrics();
+      }
+    } catch (Throwable cause) {
+      if (!Conts.isNonFatal(cause)) {
+        throw cause;
+      }
+      failure = cause;
+    }
+    if (this.cont != null) {
+      if (failure == null) {
+        this.cont.bind(envelope);
+      } else {
+        this.cont.trap(failure);
+      }
+    }
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public void drop(Throwable reason) {
+    final WarpSocketContext socketContext = this.socketContext;
+    if (socketContext != null && this.host.redirectPull((RemoteHostPull<Envelope>) this, socketContext)) {
+      return;
+    }
+    if (this.cont != null) {
+      this.cont.trap(reason);
+    }
+  }
+
+  @Override
+  public boolean stay(StayContext context, int backlog) {
+    if (this.cont instanceof Stay) {
+      return ((Stay) this.cont).stay(host, backlog);
+    } else {
+      return backlog < RemoteHost.MAX_SEND_BACKLOG;
+    }
+  }
+
+}
@@ -38,6 +38,7 @@ import swim.runtime.WarpBinding;
 import swim.runtime.WarpContext;
 import swim.structure.Value;
 import swim.uri.Uri;
+import swim.warp.CommandBatchMessage;
 import swim.warp.CommandMessage;
 import swim.warp.Envelope;
 
@@ -49,6 +50,7 @@ class RemoteWarpUplink implements WarpContext, PullRequest<Envelope> {
   final Value linkKey;
   final ConcurrentLinkedQueue<Push<Envelope>> downQueue;
   PullContext<? super Envelope> pullContext;
+  volatile WarpSocketContext socketContext;
   volatile long lastFeedDownTime;
   volatile int status;
 
@@ -268,10 +270,16 @@ class RemoteWarpUplink implements WarpContext, PullRequest<Envelope> {
       }
     } while (oldStatus != newStatus && !STATUS.compareAndSet(this, oldStatus, newStatus));
     if ((oldStatus & PULLING_UP) == 0) {
+      if (this.host.commandBatchSize > 1) {
+        // Send commands batched for the remote node ahead of this uplink's
+        // next envelope, in the order they would have been sent unbatched.
+        this.host.flushCommands(this.remoteNodeUri);
+      }
       final long t0 = System.currentTimeMillis();
       do {
-        final WarpSocketContext warpSocketContext = this.host.warpSocketContext;
+        final WarpSocketContext warpSocketContext = this.host.warpSocketContext(this.remoteNodeUri, laneUri());
         if (warpSocketContext != null) {
+          this.socketContext = warpSocketContext;
           warpSocketContext.feed(this);
           break;
         } else if (System.currentTimeMillis() - t0 > MAX_FEED_UP_DELAY) {
@@ -283,6 +291,12 @@ class RemoteWarpUplink implements WarpContext, PullRequest<Envelope> {
 
   @Override
   public void pull(PullContext<? super Envelope> pullContext) {
+    final WarpSocketContext socketContext = this.socketContext;
+    if (socketContext != null && pullContext != socketContext) {
+      // Stale pull from a socket this uplink has since been moved off of.
+      pullContext.skip();
+      return;
+    }
     this.pullContext = pullContext;
     this.link.pullUp();
   }
@@ -315,6 +329,9 @@ class RemoteWarpUplink implements WarpContext, PullRequest<Envelope> {
         if (remoteEnvelope instanceof CommandMessage) {
           RemoteHost.UPLINK_COMMAND_DELTA.incrementAndGet(this.host);
           this.host.didUpdateMetrics();
+        } else if (remoteEnvelope instanceof CommandBatchMessage) {
+          RemoteHost.UPLINK_COMMAND_DELTA.addAndGet(this.host, ((CommandBatchMessage) remoteEnvelope).size());
+          this.host.didUpdateMetrics();
         }
       }
     } else {
@@ -14,25 +14,41 @@
 
 package swim.remote;
 
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import org.testng.annotations.Test;
 import swim.concurrent.Theater;
 import swim.http.HttpRequest;
 import swim.http.HttpResponse;
+import swim.io.IpSocketRef;
 import swim.io.http.AbstractHttpService;
+import swim.io.http.HttpClient;
 import swim.io.http.HttpEndpoint;
 import swim.io.http.HttpResponder;
 import swim.io.http.HttpServer;
+import swim.io.http.HttpSettings;
 import swim.io.warp.AbstractWarpServer;
+import swim.io.warp.WarpSettings;
 import swim.runtime.Push;
+import swim.structure.Num;
 import swim.uri.Uri;
+import swim.warp.CommandBatchMessage;
 import swim.warp.CommandMessage;
 import swim.warp.Envelope;
+import swim.warp.LinkRequest;
 import swim.ws.WsRequest;
 import swim.ws.WsResponse;
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertTrue;
 
 public class RemoteHostSpec {
 
@@ -343,4 +359,543 @@ public class RemoteHostSpec {
     }
   }
 
+  @Test
+  public void testStripedRemoteHostCommands() throws InterruptedException {
+    final Theater stage = new Theater();
+    final HttpEndpoint endpoint = new HttpEndpoint(stage);
+    final int stripeCount = 4;
+    final int commandCount = 32;
+    final CountDownLatch serverUpgrades = new CountDownLatch(stripeCount);
+    final CountDownLatch serverPulls = new CountDownLatch(commandCount);
+    final CountDownLatch serverPulls2 = new CountDownLatch(2 * commandCount);
+    final ConcurrentLinkedQueue<RemoteHost> serverHosts = new ConcurrentLinkedQueue<RemoteHost>();
+    final Set<RemoteHost> pullHosts = ConcurrentHashMap.newKeySet();
+    final Uri hostUri = Uri.parse("warp://127.0.0.1:53557/");
+
+    final RemoteHostClient clientHost = new RemoteHostClient(hostUri, endpoint, WarpSettings.standard(), stripeCount) {
+      @Override
+      protected void reconnect() {
+        // prevent reconnect
+      }
+    };
+    final AbstractWarpServer server = new AbstractWarpServer() {
+      @Override
+      public HttpResponder<?> doRequest(HttpRequest<?> httpRequest) {
+        final RemoteHost serverHost = new RemoteHost(hostUri) {
+          @Override
+          public void didUpgrade(HttpRequest<?> httpRequest, HttpResponse<?> httpResponse) {
+            super.didUpgrade(httpRequest, httpResponse);
+            serverUpgrades.countDown();
+          }
+        };
+        serverHost.setHostContext(new TestHostContext(hostUri, endpoint.stage()) {
+          @Override
+          public void pushDown(Push<?> push) {
+            pullHosts.add(serverHost);
+            serverPulls.countDown();
+            serverPulls2.countDown();
+          }
+        });
+        serverHosts.add(serverHost);
+        final WsRequest wsRequest = WsRequest.from(httpRequest);
+        final WsResponse wsResponse = wsRequest.accept(wsSettings);
+        return upgrade(serverHost, wsResponse);
+      }
+    };
+    final AbstractHttpService service = new AbstractHttpService() {
+      @Override
+      public HttpServer createServer() {
+        return server;
+      }
+    };
+
+    try {
+      stage.start();
+      endpoint.start();
+      endpoint.bindHttp("127.0.0.1", 53557, service);
+      clientHost.setHostContext(new TestHostContext(hostUri, endpoint.stage()));
+      clientHost.connect();
+
+      serverUpgrades.await(10, TimeUnit.SECONDS);
+      assertEquals(serverUpgrades.getCount(), 0);
+      final long t0 = System.currentTimeMillis();
+      while (clientHost.stripeMask != (1 << stripeCount) - 1 && System.currentTimeMillis() - t0 < 10000L) {
+        Thread.sleep(10L);
+      }
+      assertEquals(clientHost.stripeMask, (1 << stripeCount) - 1);
+
+      for (int i = 0; i < commandCount; i += 1) {
+        final CommandMessage command = new CommandMessage("warp://127.0.0.1:53557/a", "lane" + i);
+        clientHost.pushUp(new Push<Envelope>(Uri.empty(), Uri.empty(), command.nodeUri(),
+                                             command.laneUri(), 0.0f, null, command, null));
+      }
+
+      serverPulls.await(10, TimeUnit.SECONDS);
+      assertEquals(serverPulls.getCount(), 0);
+      assertTrue(pullHosts.size() > 1);
+
+      // Drop one stripe and check that its lanes fail over to the others.
+      final RemoteHost droppedHost = pullHosts.iterator().next();
+      droppedHost.close();
+      final long t1 = System.currentTimeMillis();
+      while (clientHost.stripeMask == (1 << stripeCount) - 1 && System.currentTimeMillis() - t1 < 10000L) {
+        Thread.sleep(10L);
+      }
+      assertTrue(clientHost.stripeMask != (1 << stripeCount) - 1);
+
+      pullHosts.clear();
+      for (int i = 0; i < commandCount; i += 1) {
+        final CommandMessage command = new CommandMessage("warp://127.0.0.1:53557/a", "lane" + i);
+        clientHost.pushUp(new Push<Envelope>(Uri.empty(), Uri.empty(), command.nodeUri(),
+                                             command.laneUri(), 0.0f, null, command, null));
+      }
+      serverPulls2.await(10, TimeUnit.SECONDS);
+      assertEquals(serverPulls2.getCount(), 0);
+      assertFalse(pullHosts.contains(droppedHost));
+    } finally {
+      clientHost.close();
+      final Iterator<RemoteHost> serverHostIterator = serverHosts.iterator();
+      while (serverHostIterator.hasNext()) {
+        serverHostIterator.next().close();
+      }
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testRemoteHostCommandBatch() throws InterruptedException {
+    final Theater stage = new Theater();
+    final HttpEndpoint endpoint = new HttpEndpoint(stage);
+    final CountDownLatch clientDidConnect = new CountDownLatch(1);
+    final CountDownLatch serverDidConnect = new CountDownLatch(1);
+    final CountDownLatch serverPull = new CountDownLatch(1);
+    final ConcurrentLinkedQueue<Push<?>> serverPushes = new ConcurrentLinkedQueue<Push<?>>();
+
+    final CommandBatchMessage clientToServerBatch = new CommandBatchMessage("warp://127.0.0.1:53558/a")
+        .command(Uri.parse("x"), Num.from(1))
+        .command(Uri.parse("y"), Num.from(2))
+        .command(Uri.parse("x"), Num.from(3));
+    final Uri hostUri = Uri.parse("warp://127.0.0.1:53558/");
+
+    final RemoteHostClient clientHost = new RemoteHostClient(hostUri, endpoint) {
+      @Override
+      public void didConnect() {
+        super.didConnect();
+        clientDidConnect.countDown();
+      }
+
+      @Override
+      protected void reconnect() {
+        // prevent reconnect
+      }
+    };
+    final RemoteHost serverHost = new RemoteHost(hostUri) {
+      @Override
+      public void didConnect() {
+        super.didConnect();
+        serverDidConnect.countDown();
+      }
+    };
+    serverHost.setHostContext(new TestHostContext(hostUri, endpoint.stage()) {
+      @Override
+      public void pushDown(Push<?> push) {
+        serverPushes.add(push);
+        serverPull.countDown();
+      }
+    });
+    final AbstractWarpServer server = new AbstractWarpServer() {
+      @Override
+      public HttpResponder<?> doRequest(HttpRequest<?> httpRequest) {
+        final WsRequest wsRequest = WsRequest.from(httpRequest);
+        final WsResponse wsResponse = wsRequest.accept(wsSettings);
+        return upgrade(serverHost, wsResponse);
+      }
+    };
+    final AbstractHttpService service = new AbstractHttpService() {
+      @Override
+      public HttpServer createServer() {
+        return server;
+      }
+    };
+
+    try {
+      stage.start();
+      endpoint.start();
+      endpoint.bindHttp("127.0.0.1", 53558, service);
+      clientHost.setHostContext(new TestHostContext(hostUri, endpoint.stage()));
+      clientHost.connect();
+
+      serverDidConnect.await();
+      clientDidConnect.await();
+
+      clientHost.pushUp(new Push<Envelope>(Uri.empty(), Uri.empty(), clientToServerBatch.nodeUri(),
+                                           Uri.empty(), 0.0f, null, clientToServerBatch, null));
+
+      serverPull.await(10, TimeUnit.SECONDS);
+      assertEquals(serverPull.getCount(), 0);
+      Thread.sleep(100L);
+      assertEquals(serverPushes.size(), 1);
+      final Push<?> push = serverPushes.peek();
+      assertEquals(push.nodeUri(), clientToServerBatch.nodeUri());
+      assertTrue(push.message() instanceof CommandBatchMessage);
+      final CommandBatchMessage batch = (CommandBatchMessage) push.message();
+      assertEquals(batch.size(), 3);
+      assertEquals(batch.get(0), new CommandMessage("warp://127.0.0.1:53558/a", "x", Num.from(1)));
+      assertEquals(batch.get(1), new CommandMessage("warp://127.0.0.1:53558/a", "y", Num.from(2)));
+      assertEquals(batch.get(2), new CommandMessage("warp://127.0.0.1:53558/a", "x", Num.from(3)));
+    } finally {
+      clientHost.close();
+      serverHost.close();
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
+  /**
+   * Pushes {@code envelopes} through a client host that batches commands,
+   * and returns the first {@code readCount} envelopes read by the server.
+   */
+  static List<Envelope> sendBatchedCommands(int commandBatchSize, long commandBatchWindow,
+                                            Envelope[] envelopes, int readCount) throws InterruptedException {
+    final Theater stage = new Theater();
+    final HttpEndpoint endpoint = new HttpEndpoint(stage);
+    final CountDownLatch clientDidConnect = new CountDownLatch(1);
+    final CountDownLatch serverDidConnect = new CountDownLatch(1);
+    final CountDownLatch serverDidRead = new CountDownLatch(readCount);
+    final ConcurrentLinkedQueue<Envelope> serverEnvelopes = new ConcurrentLinkedQueue<Envelope>();
+    final Uri hostUri = Uri.parse("warp://127.0.0.1:53559/");
+
+    final RemoteHostClient clientHost = new RemoteHostClient(hostUri, endpoint) {
+      @Override
+      public void didConnect() {
+        super.didConnect();
+        clientDidConnect.countDown();
+      }
+
+      @Override
+      protected void reconnect() {
+        // prevent reconnect
+      }
+    };
+    clientHost.setCommandBatchSize(commandBatchSize);
+    clientHost.setCommandBatchWindow(commandBatchWindow);
+    final RemoteHost serverHost = new RemoteHost(hostUri) {
+      @Override
+      public void didConnect() {
+        super.didConnect();
+        serverDidConnect.countDown();
+      }
+
+      @Override
+      public void didRead(Envelope envelope) {
+        serverEnvelopes.add(envelope);
+        serverDidRead.countDown();
+      }
+    };
+    serverHost.setHostContext(new TestHostContext(hostUri, endpoint.stage()));
+    final AbstractWarpServer server = new AbstractWarpServer() {
+      @Override
+      public HttpResponder<?> doRequest(HttpRequest<?> httpRequest) {
+        final WsRequest wsRequest = WsRequest.from(httpRequest);
+        final WsResponse wsResponse = wsRequest.accept(wsSettings);
+        return upgrade(serverHost, wsResponse);
+      }
+    };
+    final AbstractHttpService service = new AbstractHttpService() {
+      @Override
+      public HttpServer createServer() {
+        return server;
+      }
+    };
+
+    try {
+      stage.start();
+      endpoint.start();
+      endpoint.bindHttp("127.0.0.1", 53559, service);
+      clientHost.setHostContext(new TestHostContext(hostUri, endpoint.stage()));
+      clientHost.connect();
+
+      serverDidConnect.await();
+      clientDidConnect.await();
+
+      for (Envelope envelope : envelopes) {
+        clientHost.pushUp(new Push<Envelope>(Uri.empty(), Uri.empty(), envelope.nodeUri(),
+                                             envelope.laneUri(), 0.0f, null, envelope, null));
+      }
+
+      serverDidRead.await(10, TimeUnit.SECONDS);
+      assertEquals(serverDidRead.getCount(), 0);
+      Thread.sleep(100L);
+      return new ArrayList<Envelope>(serverEnvelopes);
+    } finally {
+      clientHost.close();
+      serverHost.close();
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testRemoteHostFlushesFullCommandBatch() throws InterruptedException {
+    final Envelope[] envelopes = {
+      new CommandMessage("warp://127.0.0.1:53559/a", "x", Num.from(1)),
+      new CommandMessage("warp://127.0.0.1:53559/a", "y", Num.from(2)),
+      new CommandMessage("warp://127.0.0.1:53559/a", "x", Num.from(3)),
+    };
+    // The window outlasts the test, so only a full batch gets sent.
+    final List<Envelope> received = sendBatchedCommands(3, 60000L, envelopes, 1);
+    assertEquals(received.size(), 1);
+    final CommandBatchMessage batch = (CommandBatchMessage) received.get(0);
+    assertEquals(batch.size(), 3);
+    assertEquals(batch.get(0), envelopes[0]);
+    assertEquals(batch.get(1), envelopes[1]);
+    assertEquals(batch.get(2), envelopes[2]);
+  }
+
+  @Test
+  public void testRemoteHostFlushesCommandBatchOnWindow() throws InterruptedException {
+    final Envelope[] envelopes = {
+      new CommandMessage("warp://127.0.0.1:53559/a", "x", Num.from(1)),
+      new CommandMessage("warp://127.0.0.1:53559/a", "y", Num.from(2)),
+    };
+    final long t0 = System.currentTimeMillis();
+    final List<Envelope> received = sendBatchedCommands(16, 200L, envelopes, 1);
+    assertTrue(System.currentTimeMillis() - t0 >= 200L);
+    assertEquals(received.size(), 1);
+    final CommandBatchMessage batch = (CommandBatchMessage) received.get(0);
+    assertEquals(batch.size(), 2);
+    assertEquals(batch.get(0), envelopes[0]);
+    assertEquals(batch.get(1), envelopes[1]);
+  }
+
+  @Test
+  public void testRemoteHostFlushesCommandBatchBeforeOtherEnvelopes() throws InterruptedException {
+    final Envelope[] envelopes = {
+      new CommandMessage("warp://127.0.0.1:53559/a", "x", Num.from(1)),
+      new CommandMessage("warp://127.0.0.1:53559/a", "y", Num.from(2)),
+      new LinkRequest("warp://127.0.0.1:53559/a", "z"),
+      new CommandMessage("warp://127.0.0.1:53559/a", "x", Num.from(3)),
+    };
+    // The window outlasts the test, so the link request has to flush the
+    // pending batch; the trailing command stays queued.
+    final List<Envelope> received = sendBatchedCommands(16, 60000L, envelopes, 2);
+    assertEquals(received.size(), 2);
+    final CommandBatchMessage batch = (CommandBatchMessage) received.get(0);
+    assertEquals(batch.size(), 2);
+    assertEquals(batch.get(0), envelopes[0]);
+    assertEquals(batch.get(1), envelopes[1]);
+    assertEquals(received.get(1), envelopes[2]);
+  }
+
+  @Test
+  public void testStripedRemoteHostAvoidsUnconnectedStripes() throws InterruptedException {
+    final Theater stage = new Theater();
+    final HttpEndpoint endpoint = new HttpEndpoint(stage);
+    final int stripeCount = 4;
+    final int commandCount = 32;
+    final CountDownLatch serverUpgrades = new CountDownLatch(1);
+    final CountDownLatch serverPulls = new CountDownLatch(commandCount + 1);
+    final ConcurrentLinkedQueue<RemoteHost> serverHosts = new ConcurrentLinkedQueue<RemoteHost>();
+    final Uri hostUri = Uri.parse("warp://127.0.0.1:53560/");
+
+    final RemoteHostClient clientHost = new RemoteHostClient(hostUri, endpoint, WarpSettings.standard(), stripeCount) {
+      @Override
+      protected IpSocketRef connectHttp(InetSocketAddress remoteAddress, HttpClient client, HttpSettings httpSettings) {
+        if (client != this.client) {
+          return null; // secondary stripes never connect
+        }
+        return super.connectHttp(remoteAddress, client, httpSettings);
+      }
+
+      @Override
+      protected void reconnect() {
+        // prevent reconnect
+      }
+    };
+    final AbstractWarpServer server = new AbstractWarpServer() {
+      @Override
+      public HttpResponder<?> doRequest(HttpRequest<?> httpRequest) {
+        final RemoteHost serverHost = new RemoteHost(hostUri) {
+          @Override
+          public void didUpgrade(HttpRequest<?> httpRequest, HttpResponse<?> httpResponse) {
+            super.didUpgrade(httpRequest, httpResponse);
+            serverUpgrades.countDown();
+          }
+        };
+        serverHost.setHostContext(new TestHostContext(hostUri, endpoint.stage()) {
+          @Override
+          public void pushDown(Push<?> push) {
+            serverPulls.countDown();
+          }
+        });
+        serverHosts.add(serverHost);
+        final WsRequest wsRequest = WsRequest.from(httpRequest);
+        final WsResponse wsResponse = wsRequest.accept(wsSettings);
+        return upgrade(serverHost, wsResponse);
+      }
+    };
+    final AbstractHttpService service = new AbstractHttpService() {
+      @Override
+      public HttpServer createServer() {
+        return server;
+      }
+    };
+
+    try {
+      stage.start();
+      endpoint.start();
+      endpoint.bindHttp("127.0.0.1", 53560, service);
+      clientHost.setHostContext(new TestHostContext(hostUri, endpoint.stage()));
+      clientHost.connect();
+
+      serverUpgrades.await(10, TimeUnit.SECONDS);
+      assertEquals(serverUpgrades.getCount(), 0);
+      final long t0 = System.currentTimeMillis();
+      while (clientHost.stripeMask != 1 && System.currentTimeMillis() - t0 < 10000L) {
+        Thread.sleep(10L);
+      }
+      assertEquals(clientHost.stripeMask, 1);
+
+      // Every lane has to fail over to the primary socket, since it's the
+      // only stripe that ever connected.
+      for (int i = 0; i < commandCount; i += 1) {
+        final CommandMessage command = new CommandMessage("warp://127.0.0.1:53560/a", "lane" + i);
+        clientHost.pushUp(new Push<Envelope>(Uri.empty(), Uri.empty(), command.nodeUri(),
+                                             command.laneUri(), 0.0f, null, command, null));
+      }
+
+      // A pull stranded on a stripe that closes before ever connecting gets
+      // redirected to a live socket.
+      final CommandMessage command = new CommandMessage("warp://127.0.0.1:53560/a", "stranded");
+      final RemoteHostPull<Envelope> pull = clientHost.createPull(0.0f, command, null);
+      final RemoteHostClientStripe stripe = clientHost.stripes[1];
+      pull.socketContext = stripe.webSocket;
+      stripe.webSocket.feed(pull);
+      stripe.close();
+
+      serverPulls.await(10, TimeUnit.SECONDS);
+      assertEquals(serverPulls.getCount(), 0);
+    } finally {
+      clientHost.close();
+      final Iterator<RemoteHost> serverHostIterator = serverHosts.iterator();
+      while (serverHostIterator.hasNext()) {
+        serverHostIterator.next().close();
+      }
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testStripedRemoteHostRebalancesAfterReconnect() throws InterruptedException {
+    final Theater stage = new Theater();
+    final HttpEndpoint endpoint = new HttpEndpoint(stage);
+    final int stripeCount = 4;
+    final int commandCount = 32;
+    final CountDownLatch serverUpgrades = new CountDownLatch(stripeCount + 1);
+    final CountDownLatch serverPulls = new CountDownLatch(commandCount);
+    final CountDownLatch serverPulls2 = new CountDownLatch(2 * commandCount);
+    final ConcurrentLinkedQueue<RemoteHost> serverHosts = new ConcurrentLinkedQueue<RemoteHost>();
+    final Set<RemoteHost> pullHosts = ConcurrentHashMap.newKeySet();
+    final Uri hostUri = Uri.parse("warp://127.0.0.1:53561/");
+
+    final RemoteHostClient clientHost = new RemoteHostClient(hostUri, endpoint, WarpSettings.standard(), stripeCount) {
+      @Override
+      protected void reconnect() {
+        // prevent reconnect of the primary socket; secondary stripes still reconnect
+      }
+    };
+    final AbstractWarpServer server = new AbstractWarpServer() {
+      @Override
+      public HttpResponder<?> doRequest(HttpRequest<?> httpRequest) {
+        final RemoteHost serverHost = new RemoteHost(hostUri) {
+          @Override
+          public void didUpgrade(HttpRequest<?> httpRequest, HttpResponse<?> httpResponse) {
+            super.didUpgrade(httpRequest, httpResponse);
+            serverUpgrades.countDown();
+          }
+        };
+        serverHost.setHostContext(new TestHostContext(hostUri, endpoint.stage()) {
+          @Override
+          public void pushDown(Push<?> push) {
+            pullHosts.add(serverHost);
+            serverPulls.countDown();
+            serverPulls2.countDown();
+          }
+        });
+        serverHosts.add(serverHost);
+        final WsRequest wsRequest = WsRequest.from(httpRequest);
+        final WsResponse wsResponse = wsRequest.accept(wsSettings);
+        return upgrade(serverHost, wsResponse);
+      }
+    };
+    final AbstractHttpService service = new AbstractHttpService() {
+      @Override
+      public HttpServer createServer() {
+        return server;
+      }
+    };
+
+    try {
+      stage.start();
+      endpoint.start();
+      endpoint.bindHttp("127.0.0.1", 53561, service);
+      clientHost.setHostContext(new TestHostContext(hostUri, endpoint.stage()));
+      clientHost.connect();
+
+      final long t0 = System.currentTimeMillis();
+      while (clientHost.stripeMask != (1 << stripeCount) - 1 && System.currentTimeMillis() - t0 < 10000L) {
+        Thread.sleep(10L);
+      }
+      assertEquals(clientHost.stripeMask, (1 << stripeCount) - 1);
+
+      // Drop a secondary stripe, and let it reconnect.
+      clientHost.stripes[1].webSocket.close();
+      final long t1 = System.currentTimeMillis();
+      while ((clientHost.stripeMask & (1 << 1)) != 0 && System.currentTimeMillis() - t1 < 10000L) {
+        Thread.sleep(10L);
+      }
+      assertEquals(clientHost.stripeMask & (1 << 1), 0);
+
+      // Lanes homed on the dropped stripe fail over while it's down.
+      for (int i = 0; i < commandCount; i += 1) {
+        final CommandMessage command = new CommandMessage("warp://127.0.0.1:53561/a", "lane" + i);
+        clientHost.pushUp(new Push<Envelope>(Uri.empty(), Uri.empty(), command.nodeUri(),
+                                             command.laneUri(), 0.0f, null, command, null));
+      }
+      serverPulls.await(10, TimeUnit.SECONDS);
+      assertEquals(serverPulls.getCount(), 0);
+      assertTrue(pullHosts.size() < stripeCount);
+
+      serverUpgrades.await(10, TimeUnit.SECONDS);
+      assertEquals(serverUpgrades.getCount(), 0);
+      final long t2 = System.currentTimeMillis();
+      while (clientHost.stripeMask != (1 << stripeCount) - 1 && System.currentTimeMillis() - t2 < 10000L) {
+        Thread.sleep(10L);
+      }
+      assertEquals(clientHost.stripeMask, (1 << stripeCount) - 1);
+
+      // Once the stripe reconnects, its lanes move back home, and all stripes
+      // carry traffic again.
+      pullHosts.clear();
+      for (int i = 0; i < commandCount; i += 1) {
+        final CommandMessage command = new CommandMessage("warp://127.0.0.1:53561/a", "lane" + i);
+        clientHost.pushUp(new Push<Envelope>(Uri.empty(), Uri.empty(), command.nodeUri(),
+                                             command.laneUri(), 0.0f, null, command, null));
+      }
+      serverPulls2.await(10, TimeUnit.SECONDS);
+      assertEquals(serverPulls2.getCount(), 0);
+      assertEquals(pullHosts.size(), stripeCount);
+    } finally {
+      clientHost.close();
+      final Iterator<RemoteHost> serverHostIterator = serverHosts.iterator();
+      while (serverHostIterator.hasNext()) {
+        serverHostIterator.next().close();
+      }
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
 }
@@ -69,6 +69,8 @@ public interface LaneBinding extends TierBinding, CellBinding, Log {
 
   boolean isLinked();
 
+  boolean isDurable();
+
   FingerTrieSeq<LinkContext> uplinks();
 
   LinkContext getUplink(Value linkKey);
@@ -30,6 +30,7 @@ import swim.concurrent.Schedule;
 import swim.concurrent.Stage;
 import swim.runtime.agent.AgentNode;
 import swim.runtime.reflect.UplinkInfo;
+import swim.store.DataBinding;
 import swim.store.StoreBinding;
 import swim.structure.Form;
 import swim.structure.Value;
@@ -266,6 +267,17 @@ public abstract class LaneModel<View extends LaneView, U extends AbstractUplinkC
     return !this.uplinks.isEmpty();
   }
 
+  /**
+   * Returns {@code true} if closing and reopening this lane loses no state,
+   * either because the lane holds no state between messages, or because its
+   * state lives in a durable store.  Lanes are assumed to hold in-memory
+   * state unless they override this method.
+   */
+  @Override
+  public boolean isDurable() {
+    return false;
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   public FingerTrieSeq<LinkContext> uplinks() {
@@ -475,6 +487,16 @@ public abstract class LaneModel<View extends LaneView, U extends AbstractUplinkC
     }
   }
 
+  /**
+   * Loads store data opened by this lane, if its store supports it, so that
+   * resident data is read while the lane's host loads its nodes.
+   */
+  protected static void loadData(Object data) {
+    if (data instanceof DataBinding) {
+      ((DataBinding) data).load();
+    }
+  }
+
   @Override
   protected void willStart() {
     super.willStart();
@@ -171,6 +171,11 @@ public class LaneProxy implements LaneBinding, LaneContext {
     return this.laneBinding.isLinked();
   }
 
+  @Override
+  public boolean isDurable() {
+    return this.laneBinding.isDurable();
+  }
+
   @Override
   public FingerTrieSeq<LinkContext> uplinks() {
     return this.laneBinding.uplinks();
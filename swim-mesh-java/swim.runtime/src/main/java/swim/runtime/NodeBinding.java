@@ -70,6 +70,8 @@ public interface NodeBinding extends TierBinding, CellBinding {
 
   void openLanes(NodeBinding node);
 
+  boolean hasScheduledTimers();
+
   void openMetaLane(LaneBinding lane, NodeBinding metaLane);
 
   void openMetaUplink(LinkBinding uplink, NodeBinding metaUplink);
@@ -157,6 +157,11 @@ public class NodeProxy implements NodeBinding, NodeContext {
     return this.nodeBinding.lanes();
   }
 
+  @Override
+  public boolean hasScheduledTimers() {
+    return this.nodeBinding.hasScheduledTimers();
+  }
+
   @Override
   public LaneBinding getLane(Uri laneUri) {
     return this.nodeBinding.getLane(laneUri);
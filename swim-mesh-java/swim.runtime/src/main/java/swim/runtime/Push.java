@@ -29,9 +29,10 @@ public class Push<M> {
   final Identity identity;
   final M message;
   final Cont<M> cont;
+  final long pushTime;
 
   public Push(Uri meshUri, Uri hostUri, Uri nodeUri, Uri laneUri, float prio,
-              Identity identity, M message, Cont<M> cont) {
+              Identity identity, M message, Cont<M> cont, long pushTime) {
     this.meshUri = meshUri;
     this.hostUri = hostUri;
     this.nodeUri = nodeUri;
@@ -40,6 +41,12 @@ public class Push<M> {
     this.identity = identity;
     this.message = message;
     this.cont = cont;
+    this.pushTime = pushTime;
+  }
+
+  public Push(Uri meshUri, Uri hostUri, Uri nodeUri, Uri laneUri, float prio,
+              Identity identity, M message, Cont<M> cont) {
+    this(meshUri, hostUri, nodeUri, laneUri, prio, identity, message, cont, 0L);
   }
 
   public final Uri meshUri() {
@@ -48,7 +55,7 @@ public class Push<M> {
 
   public Push<M> meshUri(Uri meshUri) {
     return copy(meshUri, this.hostUri, this.nodeUri, this.laneUri,
-                this.prio, this.identity, this.message, this.cont);
+                this.prio, this.identity, this.message, this.cont, this.pushTime);
   }
 
   public final Uri hostUri() {
@@ -57,7 +64,7 @@ public class Push<M> {
 
   public Push<M> hostUri(Uri hostUri) {
     return copy(this.meshUri, hostUri, this.nodeUri, this.laneUri,
-                this.prio, this.identity, this.message, this.cont);
+                this.prio, this.identity, this.message, this.cont, this.pushTime);
   }
 
   public final Uri nodeUri() {
@@ -66,7 +73,7 @@ public class Push<M> {
 
   public Push<M> nodeUri(Uri nodeUri) {
     return copy(this.meshUri, this.hostUri, nodeUri, this.laneUri,
-                this.prio, this.identity, this.message, this.cont);
+                this.prio, this.identity, this.message, this.cont, this.pushTime);
   }
 
   public final Uri laneUri() {
@@ -75,7 +82,7 @@ public class Push<M> {
 
   public Push<M> laneUri(Uri laneUri) {
     return copy(this.meshUri, this.hostUri, this.nodeUri, laneUri,
-                this.prio, this.identity, this.message, this.cont);
+                this.prio, this.identity, this.message, this.cont, this.pushTime);
   }
 
   public final float prio() {
@@ -84,7 +91,7 @@ public class Push<M> {
 
   public Push<M> prio(float prio) {
     return copy(this.meshUri, this.hostUri, this.nodeUri, this.laneUri,
-                prio, this.identity, this.message, this.cont);
+                prio, this.identity, this.message, this.cont, this.pushTime);
   }
 
   public final Identity identity() {
@@ -99,9 +106,28 @@ public class Push<M> {
     return this.cont;
   }
 
+  public Push<M> cont(Cont<M> cont) {
+    return copy(this.meshUri, this.hostUri, this.nodeUri, this.laneUri,
+                this.prio, this.identity, this.message, cont, this.pushTime);
+  }
+
+  /**
+   * Returns the {@link System#nanoTime() nano time} at which this push
+   * entered the node or uplink that dispatches it, or {@code 0} if the push
+   * hasn't been stamped.
+   */
+  public final long pushTime() {
+    return this.pushTime;
+  }
+
+  public Push<M> pushTime(long pushTime) {
+    return copy(this.meshUri, this.hostUri, this.nodeUri, this.laneUri,
+                this.prio, this.identity, this.message, this.cont, pushTime);
+  }
+
   protected <M> Push<M> copy(Uri meshUri, Uri hostUri, Uri nodeUri, Uri laneUri, float prio,
-                             Identity identity, M message, Cont<M> cont) {
-    return new Push<M>(meshUri, hostUri, nodeUri, laneUri, prio, identity, message, cont);
+                             Identity identity, M message, Cont<M> cont, long pushTime) {
+    return new Push<M>(meshUri, hostUri, nodeUri, laneUri, prio, identity, message, cont, pushTime);
   }
 
   public void bind() {
@@ -0,0 +1,86 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import swim.concurrent.Cont;
+import swim.uri.Uri;
+
+/**
+ * Continuation that completes a batch {@link Push} once every one of its
+ * parts has completed.  Parts are pushed with the addresses of the batch,
+ * and with this {@code PushBatch} as their continuation; the batch push is
+ * bound after the last part binds, or trapped with the first part failure.
+ */
+public final class PushBatch<M> implements Cont<M> {
+
+  final Push<?> push;
+  volatile int remaining;
+  volatile Throwable error;
+
+  public PushBatch(Push<?> push, int count) {
+    this.push = push;
+    this.remaining = count;
+    if (count == 0) {
+      push.bind();
+    }
+  }
+
+  public Push<?> push() {
+    return this.push;
+  }
+
+  /**
+   * Returns a part of this batch that delivers {@code message} to the lane
+   * at {@code laneUri}.
+   */
+  public Push<M> part(Uri laneUri, M message) {
+    final Push<?> push = this.push;
+    return new Push<M>(push.meshUri(), push.hostUri(), push.nodeUri(), laneUri,
+                       push.prio(), push.identity(), message, this, push.pushTime());
+  }
+
+  void complete() {
+    if (REMAINING.decrementAndGet(this) == 0) {
+      final Throwable error = this.error;
+      if (error == null) {
+        this.push.bind();
+      } else {
+        this.push.trap(error);
+      }
+    }
+  }
+
+  @Override
+  public void bind(M message) {
+    complete();
+  }
+
+  @Override
+  public void trap(Throwable error) {
+    ERROR.compareAndSet(this, null, error);
+    complete();
+  }
+
+  @SuppressWarnings("unchecked")
+  static final AtomicIntegerFieldUpdater<PushBatch<?>> REMAINING =
+      AtomicIntegerFieldUpdater.newUpdater((Class<PushBatch<?>>) (Class<?>) PushBatch.class, "remaining");
+
+  @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<PushBatch<?>, Throwable> ERROR =
+      AtomicReferenceFieldUpdater.newUpdater((Class<PushBatch<?>>) (Class<?>) PushBatch.class, Throwable.class, "error");
+
+}
@@ -37,11 +37,15 @@ import swim.runtime.NodeBinding;
 import swim.runtime.NodeContext;
 import swim.runtime.NodeException;
 import swim.runtime.Push;
+import swim.runtime.PushBatch;
+import swim.runtime.profile.LatencyHistogram;
+import swim.runtime.profile.LatencyRecorder;
 import swim.runtime.profile.NodeProfile;
 import swim.runtime.profile.WarpDownlinkProfile;
 import swim.runtime.profile.WarpLaneProfile;
 import swim.runtime.reflect.AgentPulse;
 import swim.runtime.reflect.LaneInfo;
+import swim.runtime.reflect.LatencyPulse;
 import swim.runtime.reflect.LogEntry;
 import swim.runtime.reflect.NodePulse;
 import swim.runtime.reflect.WarpDownlinkPulse;
@@ -49,6 +53,8 @@ import swim.runtime.reflect.WarpUplinkPulse;
 import swim.structure.Value;
 import swim.uri.Uri;
 import swim.util.Builder;
+import swim.warp.CommandBatchMessage;
+import swim.warp.CommandMessage;
 
 public class AgentModel extends AgentNode {
 
@@ -84,6 +90,9 @@ public class AgentModel extends AgentNode {
   volatile int uplinkCommandRate;
   volatile long uplinkCommandCount;
   volatile long lastReportTime;
+  final LatencyRecorder agentExecLatency = new LatencyRecorder();
+  final LatencyRecorder uplinkCommandLatency = new LatencyRecorder();
+  final LatencyRecorder uplinkQueueLatency = new LatencyRecorder();
   NodePulse pulse;
   AgentNode metaNode;
   DemandMapLane<Uri, LaneInfo> metaLanes;
@@ -393,7 +402,13 @@ public class AgentModel extends AgentNode {
 
   @Override
   public void pushUp(Push<?> push) {
-    execute(new AgentModelPushUp(this, push));
+    // Stamp before mailbox dispatch so that command latency includes queueing.
+    push = push.pushTime(System.nanoTime());
+    if (push.message() instanceof CommandBatchMessage) {
+      execute(new AgentModelPushBatch(this, push));
+    } else {
+      execute(new AgentModelPushUp(this, push));
+    }
   }
 
   @Override
@@ -600,6 +615,16 @@ public class AgentModel extends AgentNode {
     }
   }
 
+  @Override
+  public void runTask() {
+    final long t0 = System.nanoTime();
+    try {
+      super.runTask();
+    } finally {
+      this.agentExecLatency.record(System.nanoTime() - t0);
+    }
+  }
+
   @Override
   public void reportDown(Metric metric) {
     if (metric instanceof WarpLaneProfile) {
@@ -631,6 +656,8 @@ public class AgentModel extends AgentNode {
     UPLINK_EVENT_RATE.addAndGet(this, profile.uplinkEventRate());
     UPLINK_COMMAND_DELTA.addAndGet(this, profile.uplinkCommandDelta());
     UPLINK_COMMAND_RATE.addAndGet(this, profile.uplinkCommandRate());
+    this.uplinkCommandLatency.record(profile.uplinkCommandLatency());
+    this.uplinkQueueLatency.record(profile.uplinkQueueLatency());
     didUpdateMetrics();
   }
 
@@ -725,14 +752,20 @@ public class AgentModel extends AgentNode {
     final int uplinkCommandRate = UPLINK_COMMAND_RATE.getAndSet(this, 0);
     final long uplinkCommandCount = UPLINK_COMMAND_COUNT.addAndGet(this, (long) uplinkCommandDelta);
 
+    final LatencyHistogram agentExecLatency = this.agentExecLatency.snapshot();
+    final LatencyHistogram uplinkCommandLatency = this.uplinkCommandLatency.snapshot();
+    final LatencyHistogram uplinkQueueLatency = this.uplinkQueueLatency.snapshot();
+
     final long agentCount = agentOpenCount - agentCloseCount;
-    final AgentPulse agentPulse = new AgentPulse(agentCount, agentExecRate, agentExecTime, timerEventRate, timerEventCount);
+    final AgentPulse agentPulse = new AgentPulse(agentCount, agentExecRate, agentExecTime, timerEventRate, timerEventCount,
+        LatencyPulse.from(agentExecLatency));
     final long downlinkCount = downlinkOpenCount - downlinkCloseCount;
     final WarpDownlinkPulse downlinkPulse = new WarpDownlinkPulse(downlinkCount, downlinkEventRate, downlinkEventCount,
         downlinkCommandRate, downlinkCommandCount);
     final long uplinkCount = uplinkOpenCount - uplinkCloseCount;
     final WarpUplinkPulse uplinkPulse = new WarpUplinkPulse(uplinkCount, uplinkEventRate, uplinkEventCount,
-        uplinkCommandRate, uplinkCommandCount);
+        uplinkCommandRate, uplinkCommandCount,
+        LatencyPulse.from(uplinkCommandLatency), LatencyPulse.from(uplinkQueueLatency));
     this.pulse = new NodePulse(agentPulse, downlinkPulse, uplinkPulse);
     final DemandLane<NodePulse> metaPulse = this.metaPulse;
     if (metaPulse != null) {
@@ -748,7 +781,8 @@ public class AgentModel extends AgentNode {
         downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount,
         uplinkOpenDelta, uplinkOpenCount, uplinkCloseDelta, uplinkCloseCount,
         uplinkEventDelta, uplinkEventRate, uplinkEventCount,
-        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount);
+        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+        agentExecLatency, uplinkCommandLatency, uplinkQueueLatency);
   }
 
   static final AtomicReferenceFieldUpdater<AgentModel, Object> VIEWS =
@@ -867,22 +901,26 @@ final class AgentModelPushUp implements Runnable {
 
   @Override
   public void run() {
+    pushUp(this.node, this.push);
+  }
+
+  static void pushUp(AgentNode node, Push<?> push) {
     try {
-      final Uri laneUri = this.push.laneUri();
-      final LaneBinding laneBinding = this.node.getLane(laneUri);
+      final Uri laneUri = push.laneUri();
+      final LaneBinding laneBinding = node.getLane(laneUri);
       if (laneBinding != null) {
         final long t0 = System.nanoTime();
-        laneBinding.pushUp(this.push);
+        laneBinding.pushUp(push);
         final long dt = System.nanoTime() - t0;
         if (laneBinding instanceof LaneModel<?, ?>) {
           ((LaneModel<?, ?>) laneBinding).accumulateExecTime(dt);
         }
       } else {
-        this.push.trap(new NodeException("unknown lane: " + laneUri));
+        push.trap(new NodeException("unknown lane: " + laneUri));
       }
     } catch (Throwable error) {
       if (Conts.isNonFatal(error)) {
-        this.node.didFail(error);
+        node.didFail(error);
       } else {
         throw error;
       }
@@ -891,6 +929,32 @@ final class AgentModelPushUp implements Runnable {
 
 }
 
+final class AgentModelPushBatch implements Runnable {
+
+  final AgentNode node;
+  final Push<?> push;
+
+  AgentModelPushBatch(AgentNode node, Push<?> push) {
+    this.node = node;
+    this.push = push;
+  }
+
+  @Override
+  public void run() {
+    final CommandBatchMessage batch = (CommandBatchMessage) this.push.message();
+    final PushBatch<CommandMessage> parts = new PushBatch<CommandMessage>(this.push, batch.size());
+    for (int i = 0, n = batch.size(); i < n; i += 1) {
+      final CommandMessage command = batch.get(i);
+      if (command != null) {
+        AgentModelPushUp.pushUp(this.node, parts.part(command.laneUri(), command));
+      } else {
+        parts.trap(new NodeException("malformed command in batch: " + batch));
+      }
+    }
+  }
+
+}
+
 abstract class AgentModelCallback implements Runnable {
 
   final AgentModel model;
@@ -16,6 +16,7 @@ package swim.runtime.agent;
 
 import java.util.Iterator;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.api.Downlink;
 import swim.api.Lane;
@@ -66,6 +67,7 @@ import swim.runtime.NodeBinding;
 import swim.runtime.NodeContext;
 import swim.runtime.NodeException;
 import swim.runtime.Push;
+import swim.runtime.PushBatch;
 import swim.runtime.TierContext;
 import swim.runtime.UplinkError;
 import swim.runtime.WarpBinding;
@@ -84,6 +86,8 @@ import swim.spatial.GeoProjection;
 import swim.store.StoreBinding;
 import swim.structure.Value;
 import swim.uri.Uri;
+import swim.warp.CommandBatchMessage;
+import swim.warp.CommandMessage;
 
 public class AgentNode extends AbstractTierBinding implements NodeBinding, CellContext, LaneFactory, Schedule, Stage, Task {
 
@@ -92,6 +96,7 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
   protected NodeContext nodeContext;
   protected TaskContext taskContext;
   volatile HashTrieMap<Uri, LaneBinding> lanes;
+  volatile int timerCount;
 
   public AgentNode() {
     this.lanes = HashTrieMap.empty();
@@ -505,6 +510,11 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
 
   @Override
   public void pushUp(Push<?> push) {
+    final Object message = push.message();
+    if (message instanceof CommandBatchMessage) {
+      pushUpBatch(push, (CommandBatchMessage) message);
+      return;
+    }
     final Uri laneUri = push.laneUri();
     LaneBinding laneBinding = getLane(laneUri);
     if (laneBinding != null) {
@@ -517,6 +527,22 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
     }
   }
 
+  /**
+   * Pushes each command in {@code batch} to its lane, in order, binding the
+   * continuation of the batch {@code push} once every command completes.
+   */
+  protected void pushUpBatch(Push<?> push, CommandBatchMessage batch) {
+    final PushBatch<CommandMessage> parts = new PushBatch<CommandMessage>(push, batch.size());
+    for (int i = 0, n = batch.size(); i < n; i += 1) {
+      final CommandMessage command = batch.get(i);
+      if (command != null) {
+        pushUp(parts.part(command.laneUri(), command));
+      } else {
+        parts.trap(new NodeException("malformed command in batch: " + batch));
+      }
+    }
+  }
+
   @Override
   public void pushDown(Push<?> push) {
     this.nodeContext.pushDown(push);
@@ -653,7 +679,7 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
   public TimerRef timer(TimerFunction timer) {
     final Schedule schedule = this.nodeContext.schedule();
     final AgentTimer agentTimer = new AgentTimer(this, timer);
-    schedule.timer(timer);
+    schedule.timer(agentTimer);
     return agentTimer;
   }
 
@@ -665,6 +691,23 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
     return agentTimer;
   }
 
+  /**
+   * Returns {@code true} if any timer set by this node is scheduled to fire,
+   * or is still running.
+   */
+  @Override
+  public boolean hasScheduledTimers() {
+    return this.timerCount != 0;
+  }
+
+  void timerDidSchedule() {
+    TIMER_COUNT.incrementAndGet(this);
+  }
+
+  void timerDidUnschedule() {
+    TIMER_COUNT.decrementAndGet(this);
+  }
+
   @Override
   public TaskRef task(TaskFunction task) {
     return this.nodeContext.stage().task(task);
@@ -722,4 +765,7 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
   static final AtomicReferenceFieldUpdater<AgentNode, HashTrieMap<Uri, LaneBinding>> LANES =
       AtomicReferenceFieldUpdater.newUpdater(AgentNode.class, (Class<HashTrieMap<Uri, LaneBinding>>) (Class<?>) HashTrieMap.class, "lanes");
 
+  static final AtomicIntegerFieldUpdater<AgentNode> TIMER_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(AgentNode.class, "timerCount");
+
 }
@@ -14,6 +14,7 @@
 
 package swim.runtime.agent;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import swim.concurrent.Conts;
 import swim.concurrent.Schedule;
 import swim.concurrent.Timer;
@@ -26,6 +27,7 @@ public class AgentTimer implements Timer, TimerContext, TimerRef, Runnable {
   protected final AgentNode node;
   protected final TimerFunction timer;
   protected TimerContext timerContext;
+  volatile int scheduled;
 
   public AgentTimer(AgentNode node, TimerFunction timer) {
     this.node = node;
@@ -52,6 +54,9 @@ public class AgentTimer implements Timer, TimerContext, TimerRef, Runnable {
 
   @Override
   public void timerWillSchedule(long millis) {
+    if (SCHEDULED.compareAndSet(this, 0, 1)) {
+      this.node.timerDidSchedule();
+    }
     if (this.timer instanceof Timer) {
       ((Timer) this.timer).timerWillSchedule(millis);
     }
@@ -59,6 +64,7 @@ public class AgentTimer implements Timer, TimerContext, TimerRef, Runnable {
 
   @Override
   public void timerDidCancel() {
+    didUnschedule();
     if (this.timer instanceof Timer) {
       ((Timer) this.timer).timerDidCancel();
     }
@@ -96,6 +102,10 @@ public class AgentTimer implements Timer, TimerContext, TimerRef, Runnable {
         throw error;
       }
     }
+    if (!this.timerContext.isScheduled()) {
+      // Count the timer as scheduled until it has run, unless it rescheduled itself.
+      didUnschedule();
+    }
     final long dt = System.nanoTime() - t0;
     if (this.node instanceof AgentModel) {
       AgentModel.TIMER_EVENT_DELTA.incrementAndGet((AgentModel) this.node);
@@ -103,4 +113,13 @@ public class AgentTimer implements Timer, TimerContext, TimerRef, Runnable {
     }
   }
 
+  void didUnschedule() {
+    if (SCHEDULED.compareAndSet(this, 1, 0)) {
+      this.node.timerDidUnschedule();
+    }
+  }
+
+  static final AtomicIntegerFieldUpdater<AgentTimer> SCHEDULED =
+      AtomicIntegerFieldUpdater.newUpdater(AgentTimer.class, "scheduled");
+
 }
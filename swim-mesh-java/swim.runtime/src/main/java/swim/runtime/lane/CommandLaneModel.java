@@ -31,6 +31,11 @@ public class CommandLaneModel extends WarpLaneModel<CommandLaneView<?>, CommandL
     return "command";
   }
 
+  @Override
+  public boolean isDurable() {
+    return true;
+  }
+
   @Override
   protected CommandLaneUplink createWarpUplink(WarpBinding link) {
     return new CommandLaneUplink(this, link, createUplinkAddress(link));
@@ -27,6 +27,11 @@ public class DemandLaneModel extends WarpLaneModel<DemandLaneView<?>, DemandLane
     return "demand";
   }
 
+  @Override
+  public boolean isDurable() {
+    return true;
+  }
+
   @Override
   protected DemandLaneUplink createWarpUplink(WarpBinding link) {
     return new DemandLaneUplink(this, link, createUplinkAddress(link));
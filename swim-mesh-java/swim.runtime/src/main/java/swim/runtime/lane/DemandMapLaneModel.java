@@ -30,6 +30,11 @@ public class DemandMapLaneModel extends WarpLaneModel<DemandMapLaneView<?, ?>, D
     return "map";
   }
 
+  @Override
+  public boolean isDurable() {
+    return true;
+  }
+
   @Override
   protected DemandMapLaneUplink createWarpUplink(WarpBinding link) {
     return new DemandMapLaneUplink(this, link, createUplinkAddress(link));
@@ -355,6 +355,8 @@ public class JoinMapLaneModel extends WarpLaneModel<JoinMapLaneView<?, ?, ?>, Jo
   @Override
   protected void willLoad() {
     openStore();
+    loadData(this.data);
+    loadData(this.linkData);
     super.willLoad();
   }
 
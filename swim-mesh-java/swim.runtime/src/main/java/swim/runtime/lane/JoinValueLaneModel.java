@@ -356,6 +356,7 @@ public class JoinValueLaneModel extends WarpLaneModel<JoinValueLaneView<?, ?>, J
   @Override
   protected void willLoad() {
     openStore();
+    loadData(this.data);
     super.willLoad();
   }
 
@@ -55,6 +55,12 @@ public class ListLaneModel extends WarpLaneModel<ListLaneView<?>, ListLaneUplink
     return "list";
   }
 
+  @Override
+  public boolean isDurable() {
+    final ListData<Value> data = this.data;
+    return data == null || !data.isTransient();
+  }
+
   @Override
   protected ListLaneUplink createWarpUplink(WarpBinding link) {
     return new ListLaneUplink(this, link, createUplinkAddress(link));
@@ -300,6 +306,7 @@ public class ListLaneModel extends WarpLaneModel<ListLaneView<?>, ListLaneUplink
   @Override
   protected void willLoad() {
     openStore();
+    loadData(this.data);
     super.willLoad();
   }
 
@@ -54,6 +54,12 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
     return "map";
   }
 
+  @Override
+  public boolean isDurable() {
+    final MapData<Value, Value> data = this.data;
+    return data == null || !data.isTransient();
+  }
+
   @Override
   protected MapLaneUplink createWarpUplink(WarpBinding link) {
     return new MapLaneUplink(this, link, createUplinkAddress(link));
@@ -240,6 +246,7 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
   @Override
   protected void willLoad() {
     openStore();
+    loadData(this.data);
     super.willLoad();
   }
 
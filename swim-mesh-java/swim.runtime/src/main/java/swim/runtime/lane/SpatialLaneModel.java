@@ -58,6 +58,12 @@ public class SpatialLaneModel<S> extends WarpLaneModel<SpatialLaneView<?, S, ?>,
     return "spatial";
   }
 
+  @Override
+  public boolean isDurable() {
+    final SpatialData<Value, S, Value> data = this.data;
+    return data == null || !data.isTransient();
+  }
+
   @Override
   protected SpatialLaneUplink<S> createWarpUplink(WarpBinding link) {
     return new SpatialLaneUplink<S>(this, link, createUplinkAddress(link));
@@ -268,6 +274,7 @@ public class SpatialLaneModel<S> extends WarpLaneModel<SpatialLaneView<?, S, ?>,
   @Override
   protected void willLoad() {
     openStore();
+    loadData(this.data);
     super.willLoad();
   }
 
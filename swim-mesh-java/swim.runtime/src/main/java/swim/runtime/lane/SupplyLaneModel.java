@@ -24,6 +24,11 @@ public class SupplyLaneModel extends WarpLaneModel<SupplyLaneView<?>, SupplyLane
     return "supply";
   }
 
+  @Override
+  public boolean isDurable() {
+    return true;
+  }
+
   @Override
   protected SupplyLaneUplink createWarpUplink(WarpBinding link) {
     return new SupplyLaneUplink(this, link, createUplinkAddress(link));
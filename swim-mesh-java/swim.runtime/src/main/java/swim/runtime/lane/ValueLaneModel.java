@@ -50,6 +50,12 @@ public class ValueLaneModel extends WarpLaneModel<ValueLaneView<?>, ValueLaneUpl
     return "value";
   }
 
+  @Override
+  public boolean isDurable() {
+    final ValueData<Value> data = this.data;
+    return data == null || !data.isTransient();
+  }
+
   @Override
   protected ValueLaneUplink createWarpUplink(WarpBinding link) {
     return new ValueLaneUplink(this, link, createUplinkAddress(link));
@@ -154,6 +160,7 @@ public class ValueLaneModel extends WarpLaneModel<ValueLaneView<?>, ValueLaneUpl
   @Override
   protected void willLoad() {
     openStore();
+    loadData(this.data);
     super.willLoad();
   }
 
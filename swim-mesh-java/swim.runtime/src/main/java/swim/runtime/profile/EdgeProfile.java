@@ -66,6 +66,9 @@ public final class EdgeProfile extends Metric {
   final int uplinkCommandDelta;
   final int uplinkCommandRate;
   final long uplinkCommandCount;
+  final LatencyHistogram agentExecLatency;
+  final LatencyHistogram uplinkCommandLatency;
+  final LatencyHistogram uplinkQueueLatency;
 
   public EdgeProfile(EdgeAddress cellAddress,
                      int meshOpenDelta, long meshOpenCount, int meshCloseDelta, long meshCloseCount,
@@ -80,7 +83,8 @@ public final class EdgeProfile extends Metric {
                      int downlinkCommandDelta, int downlinkCommandRate, long downlinkCommandCount,
                      int uplinkOpenDelta, long uplinkOpenCount, int uplinkCloseDelta, long uplinkCloseCount,
                      int uplinkEventDelta, int uplinkEventRate, long uplinkEventCount,
-                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount) {
+                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount,
+                     LatencyHistogram agentExecLatency, LatencyHistogram uplinkCommandLatency, LatencyHistogram uplinkQueueLatency) {
     this.cellAddress = cellAddress;
     this.meshOpenDelta = meshOpenDelta;
     this.meshOpenCount = meshOpenCount;
@@ -128,6 +132,9 @@ public final class EdgeProfile extends Metric {
     this.uplinkCommandDelta = uplinkCommandDelta;
     this.uplinkCommandRate = uplinkCommandRate;
     this.uplinkCommandCount = uplinkCommandCount;
+    this.agentExecLatency = agentExecLatency;
+    this.uplinkCommandLatency = uplinkCommandLatency;
+    this.uplinkQueueLatency = uplinkQueueLatency;
   }
 
   @Override
@@ -319,4 +326,16 @@ public final class EdgeProfile extends Metric {
     return this.uplinkCommandCount;
   }
 
+  public LatencyHistogram agentExecLatency() {
+    return this.agentExecLatency;
+  }
+
+  public LatencyHistogram uplinkCommandLatency() {
+    return this.uplinkCommandLatency;
+  }
+
+  public LatencyHistogram uplinkQueueLatency() {
+    return this.uplinkQueueLatency;
+  }
+
 }
@@ -54,6 +54,9 @@ public final class HostProfile extends Metric {
   final int uplinkCommandDelta;
   final int uplinkCommandRate;
   final long uplinkCommandCount;
+  final LatencyHistogram agentExecLatency;
+  final LatencyHistogram uplinkCommandLatency;
+  final LatencyHistogram uplinkQueueLatency;
 
   public HostProfile(HostAddress cellAddress,
                      int nodeOpenDelta, long nodeOpenCount, int nodeCloseDelta, long nodeCloseCount,
@@ -65,7 +68,8 @@ public final class HostProfile extends Metric {
                      int downlinkCommandDelta, int downlinkCommandRate, long downlinkCommandCount,
                      int uplinkOpenDelta, long uplinkOpenCount, int uplinkCloseDelta, long uplinkCloseCount,
                      int uplinkEventDelta, int uplinkEventRate, long uplinkEventCount,
-                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount) {
+                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount,
+                     LatencyHistogram agentExecLatency, LatencyHistogram uplinkCommandLatency, LatencyHistogram uplinkQueueLatency) {
     this.cellAddress = cellAddress;
     this.nodeOpenDelta = nodeOpenDelta;
     this.nodeOpenCount = nodeOpenCount;
@@ -101,6 +105,9 @@ public final class HostProfile extends Metric {
     this.uplinkCommandDelta = uplinkCommandDelta;
     this.uplinkCommandRate = uplinkCommandRate;
     this.uplinkCommandCount = uplinkCommandCount;
+    this.agentExecLatency = agentExecLatency;
+    this.uplinkCommandLatency = uplinkCommandLatency;
+    this.uplinkQueueLatency = uplinkQueueLatency;
   }
 
   @Override
@@ -244,4 +251,16 @@ public final class HostProfile extends Metric {
     return this.uplinkCommandCount;
   }
 
+  public LatencyHistogram agentExecLatency() {
+    return this.agentExecLatency;
+  }
+
+  public LatencyHistogram uplinkCommandLatency() {
+    return this.uplinkCommandLatency;
+  }
+
+  public LatencyHistogram uplinkQueueLatency() {
+    return this.uplinkQueueLatency;
+  }
+
 }
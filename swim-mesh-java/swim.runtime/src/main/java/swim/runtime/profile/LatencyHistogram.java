@@ -0,0 +1,185 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime.profile;
+
+/**
+ * Immutable snapshot of a latency distribution, in microseconds.  Values are
+ * counted in log-linear buckets: each power of two is split into {@code 8}
+ * equal sub-buckets, bounding the relative error of reported percentiles to
+ * {@code 12.5%}, regardless of magnitude.  Histograms with the same bucket
+ * layout can be merged by adding their bucket counts, which is how latency
+ * profiles get aggregated up the cell hierarchy.
+ */
+public final class LatencyHistogram {
+
+  /**
+   * Number of low order bits of precision retained for each power of two.
+   */
+  public static final int SUB_BUCKET_BITS = 3;
+
+  /**
+   * Number of sub-buckets per power of two.
+   */
+  public static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+  /**
+   * Total number of buckets, covering latencies up to {@code 2^34}
+   * microseconds, or about 4.7 hours; larger latencies are counted in the
+   * last bucket.
+   */
+  public static final int BUCKET_COUNT = 256;
+
+  private static LatencyHistogram empty;
+  final long[] counts;
+  final long count;
+  final long sum;
+  final long max;
+
+  LatencyHistogram(long[] counts, long count, long sum, long max) {
+    this.counts = counts;
+    this.count = count;
+    this.sum = sum;
+    this.max = max;
+  }
+
+  public static LatencyHistogram empty() {
+    if (empty == null) {
+      empty = new LatencyHistogram(null, 0L, 0L, 0L);
+    }
+    return empty;
+  }
+
+  public static LatencyHistogram from(long[] counts, long sum, long max) {
+    long count = 0L;
+    for (int i = 0; i < counts.length; i += 1) {
+      count += counts[i];
+    }
+    if (count == 0L) {
+      return empty();
+    }
+    return new LatencyHistogram(counts, count, sum, max);
+  }
+
+  public boolean isEmpty() {
+    return this.count == 0L;
+  }
+
+  /**
+   * Returns the number of latencies counted by this histogram.
+   */
+  public long count() {
+    return this.count;
+  }
+
+  /**
+   * Returns the sum of all latencies counted by this histogram, in
+   * microseconds.
+   */
+  public long sum() {
+    return this.sum;
+  }
+
+  /**
+   * Returns the largest latency counted by this histogram, in microseconds.
+   */
+  public long max() {
+    return this.max;
+  }
+
+  public long mean() {
+    return this.count != 0L ? this.sum / this.count : 0L;
+  }
+
+  /**
+   * Returns the number of latencies counted in the bucket at {@code index}.
+   */
+  public long countAt(int index) {
+    final long[] counts = this.counts;
+    return counts != null ? counts[index] : 0L;
+  }
+
+  /**
+   * Returns the latency, in microseconds, below which {@code percentile}
+   * percent of all counted latencies fall.
+   */
+  public long valueAtPercentile(double percentile) {
+    final long[] counts = this.counts;
+    if (counts == null) {
+      return 0L;
+    }
+    final long rank = Math.max(1L, (long) Math.ceil((percentile / 100.0) * (double) this.count));
+    long total = 0L;
+    for (int i = 0; i < counts.length; i += 1) {
+      total += counts[i];
+      if (total >= rank) {
+        return Math.min(bucketUpperBound(i), this.max);
+      }
+    }
+    return this.max;
+  }
+
+  public LatencyHistogram merged(LatencyHistogram that) {
+    if (that.counts == null) {
+      return this;
+    } else if (this.counts == null) {
+      return that;
+    }
+    final long[] counts = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i += 1) {
+      counts[i] = this.counts[i] + that.counts[i];
+    }
+    return new LatencyHistogram(counts, this.count + that.count, this.sum + that.sum,
+                                Math.max(this.max, that.max));
+  }
+
+  /**
+   * Returns the index of the bucket that counts the given latency, in
+   * microseconds.
+   */
+  public static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) Math.max(0L, value);
+    }
+    final int exponent = 63 - Long.numberOfLeadingZeros(value);
+    final int index = ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS)
+                    + (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1));
+    return Math.min(index, BUCKET_COUNT - 1);
+  }
+
+  /**
+   * Returns the smallest latency, in microseconds, counted by the bucket at
+   * {@code index}.
+   */
+  public static long bucketLowerBound(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return (long) index;
+    }
+    final int exponent = (index >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+    final long subBucket = (long) (index & (SUB_BUCKET_COUNT - 1));
+    return (1L << exponent) + (subBucket << (exponent - SUB_BUCKET_BITS));
+  }
+
+  /**
+   * Returns the largest latency, in microseconds, counted by the bucket at
+   * {@code index}.
+   */
+  public static long bucketUpperBound(int index) {
+    if (index >= BUCKET_COUNT - 1) {
+      return Long.MAX_VALUE;
+    }
+    return bucketLowerBound(index + 1) - 1L;
+  }
+
+}
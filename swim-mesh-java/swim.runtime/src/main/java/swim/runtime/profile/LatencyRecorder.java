@@ -0,0 +1,115 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime.profile;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Lock-free accumulator of latency samples, bucketed in the layout of {@link
+ * LatencyHistogram}.  Bucket storage is only allocated once the first sample
+ * is recorded, so idle cells pay no memory cost.  Each call to {@link
+ * #snapshot()} drains the recorder, yielding the distribution of latencies
+ * recorded since the previous snapshot.
+ */
+public final class LatencyRecorder {
+
+  volatile AtomicLongArray counts;
+  volatile long sum;
+  volatile long max;
+
+  public LatencyRecorder() {
+    this.counts = null;
+    this.sum = 0L;
+    this.max = 0L;
+  }
+
+  AtomicLongArray counts() {
+    AtomicLongArray counts = this.counts;
+    if (counts == null) {
+      final AtomicLongArray newCounts = new AtomicLongArray(LatencyHistogram.BUCKET_COUNT);
+      if (COUNTS.compareAndSet(this, null, newCounts)) {
+        counts = newCounts;
+      } else {
+        counts = this.counts;
+      }
+    }
+    return counts;
+  }
+
+  void updateMax(long value) {
+    do {
+      final long oldMax = this.max;
+      if (value <= oldMax || MAX.compareAndSet(this, oldMax, value)) {
+        break;
+      }
+    } while (true);
+  }
+
+  /**
+   * Records a single latency sample, measured in nanoseconds.
+   */
+  public void record(long nanos) {
+    final long micros = Math.max(0L, nanos / 1000L);
+    counts().incrementAndGet(LatencyHistogram.bucketIndex(micros));
+    SUM.addAndGet(this, micros);
+    updateMax(micros);
+  }
+
+  /**
+   * Adds all samples counted by the given {@code histogram} to this recorder.
+   */
+  public void record(LatencyHistogram histogram) {
+    if (histogram.isEmpty()) {
+      return;
+    }
+    final AtomicLongArray counts = counts();
+    for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i += 1) {
+      final long count = histogram.countAt(i);
+      if (count != 0L) {
+        counts.addAndGet(i, count);
+      }
+    }
+    SUM.addAndGet(this, histogram.sum());
+    updateMax(histogram.max());
+  }
+
+  /**
+   * Returns the distribution of all samples recorded since the last snapshot,
+   * and resets this recorder.
+   */
+  public LatencyHistogram snapshot() {
+    final AtomicLongArray counts = this.counts;
+    if (counts == null) {
+      return LatencyHistogram.empty();
+    }
+    final long[] snapshot = new long[LatencyHistogram.BUCKET_COUNT];
+    for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i += 1) {
+      snapshot[i] = counts.getAndSet(i, 0L);
+    }
+    final long sum = SUM.getAndSet(this, 0L);
+    final long max = MAX.getAndSet(this, 0L);
+    return LatencyHistogram.from(snapshot, sum, max);
+  }
+
+  static final AtomicReferenceFieldUpdater<LatencyRecorder, AtomicLongArray> COUNTS =
+      AtomicReferenceFieldUpdater.newUpdater(LatencyRecorder.class, AtomicLongArray.class, "counts");
+  static final AtomicLongFieldUpdater<LatencyRecorder> SUM =
+      AtomicLongFieldUpdater.newUpdater(LatencyRecorder.class, "sum");
+  static final AtomicLongFieldUpdater<LatencyRecorder> MAX =
+      AtomicLongFieldUpdater.newUpdater(LatencyRecorder.class, "max");
+
+}
@@ -62,6 +62,9 @@ public final class MeshProfile extends Metric {
   final int uplinkCommandDelta;
   final int uplinkCommandRate;
   final long uplinkCommandCount;
+  final LatencyHistogram agentExecLatency;
+  final LatencyHistogram uplinkCommandLatency;
+  final LatencyHistogram uplinkQueueLatency;
 
   public MeshProfile(MeshAddress cellAddress,
                      int partOpenDelta, long partOpenCount, int partCloseDelta, long partCloseCount,
@@ -75,7 +78,8 @@ public final class MeshProfile extends Metric {
                      int downlinkCommandDelta, int downlinkCommandRate, long downlinkCommandCount,
                      int uplinkOpenDelta, long uplinkOpenCount, int uplinkCloseDelta, long uplinkCloseCount,
                      int uplinkEventDelta, int uplinkEventRate, long uplinkEventCount,
-                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount) {
+                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount,
+                     LatencyHistogram agentExecLatency, LatencyHistogram uplinkCommandLatency, LatencyHistogram uplinkQueueLatency) {
     this.cellAddress = cellAddress;
     this.partOpenDelta = partOpenDelta;
     this.partOpenCount = partOpenCount;
@@ -119,6 +123,9 @@ public final class MeshProfile extends Metric {
     this.uplinkCommandDelta = uplinkCommandDelta;
     this.uplinkCommandRate = uplinkCommandRate;
     this.uplinkCommandCount = uplinkCommandCount;
+    this.agentExecLatency = agentExecLatency;
+    this.uplinkCommandLatency = uplinkCommandLatency;
+    this.uplinkQueueLatency = uplinkQueueLatency;
   }
 
   @Override
@@ -294,4 +301,16 @@ public final class MeshProfile extends Metric {
     return this.uplinkCommandCount;
   }
 
+  public LatencyHistogram agentExecLatency() {
+    return this.agentExecLatency;
+  }
+
+  public LatencyHistogram uplinkCommandLatency() {
+    return this.uplinkCommandLatency;
+  }
+
+  public LatencyHistogram uplinkQueueLatency() {
+    return this.uplinkQueueLatency;
+  }
+
 }
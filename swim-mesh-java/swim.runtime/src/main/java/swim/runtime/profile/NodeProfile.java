@@ -50,6 +50,9 @@ public final class NodeProfile extends Metric {
   final int uplinkCommandDelta;
   final int uplinkCommandRate;
   final long uplinkCommandCount;
+  final LatencyHistogram agentExecLatency;
+  final LatencyHistogram uplinkCommandLatency;
+  final LatencyHistogram uplinkQueueLatency;
 
   public NodeProfile(NodeAddress cellAddress,
                      int agentOpenDelta, int agentOpenCount, int agentCloseDelta, int agentCloseCount,
@@ -60,7 +63,8 @@ public final class NodeProfile extends Metric {
                      int downlinkCommandDelta, int downlinkCommandRate, long downlinkCommandCount,
                      int uplinkOpenDelta, long uplinkOpenCount, int uplinkCloseDelta, long uplinkCloseCount,
                      int uplinkEventDelta, int uplinkEventRate, long uplinkEventCount,
-                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount) {
+                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount,
+                     LatencyHistogram agentExecLatency, LatencyHistogram uplinkCommandLatency, LatencyHistogram uplinkQueueLatency) {
     this.cellAddress = cellAddress;
     this.agentOpenDelta = agentOpenDelta;
     this.agentOpenCount = agentOpenCount;
@@ -92,6 +96,9 @@ public final class NodeProfile extends Metric {
     this.uplinkCommandDelta = uplinkCommandDelta;
     this.uplinkCommandRate = uplinkCommandRate;
     this.uplinkCommandCount = uplinkCommandCount;
+    this.agentExecLatency = agentExecLatency;
+    this.uplinkCommandLatency = uplinkCommandLatency;
+    this.uplinkQueueLatency = uplinkQueueLatency;
   }
 
   @Override
@@ -219,4 +226,16 @@ public final class NodeProfile extends Metric {
     return this.uplinkCommandCount;
   }
 
+  public LatencyHistogram agentExecLatency() {
+    return this.agentExecLatency;
+  }
+
+  public LatencyHistogram uplinkCommandLatency() {
+    return this.uplinkCommandLatency;
+  }
+
+  public LatencyHistogram uplinkQueueLatency() {
+    return this.uplinkQueueLatency;
+  }
+
 }
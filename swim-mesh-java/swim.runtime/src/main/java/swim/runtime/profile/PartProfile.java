@@ -58,6 +58,9 @@ public final class PartProfile extends Metric {
   final int uplinkCommandDelta;
   final int uplinkCommandRate;
   final long uplinkCommandCount;
+  final LatencyHistogram agentExecLatency;
+  final LatencyHistogram uplinkCommandLatency;
+  final LatencyHistogram uplinkQueueLatency;
 
   public PartProfile(PartAddress cellAddress,
                      int hostOpenDelta, long hostOpenCount, int hostCloseDelta, long hostCloseCount,
@@ -70,7 +73,8 @@ public final class PartProfile extends Metric {
                      int downlinkCommandDelta, int downlinkCommandRate, long downlinkCommandCount,
                      int uplinkOpenDelta, long uplinkOpenCount, int uplinkCloseDelta, long uplinkCloseCount,
                      int uplinkEventDelta, int uplinkEventRate, long uplinkEventCount,
-                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount) {
+                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount,
+                     LatencyHistogram agentExecLatency, LatencyHistogram uplinkCommandLatency, LatencyHistogram uplinkQueueLatency) {
     this.cellAddress = cellAddress;
     this.hostOpenDelta = hostOpenDelta;
     this.hostOpenCount = hostOpenCount;
@@ -110,6 +114,9 @@ public final class PartProfile extends Metric {
     this.uplinkCommandDelta = uplinkCommandDelta;
     this.uplinkCommandRate = uplinkCommandRate;
     this.uplinkCommandCount = uplinkCommandCount;
+    this.agentExecLatency = agentExecLatency;
+    this.uplinkCommandLatency = uplinkCommandLatency;
+    this.uplinkQueueLatency = uplinkQueueLatency;
   }
 
   @Override
@@ -269,4 +276,16 @@ public final class PartProfile extends Metric {
     return this.uplinkCommandCount;
   }
 
+  public LatencyHistogram agentExecLatency() {
+    return this.agentExecLatency;
+  }
+
+  public LatencyHistogram uplinkCommandLatency() {
+    return this.uplinkCommandLatency;
+  }
+
+  public LatencyHistogram uplinkQueueLatency() {
+    return this.uplinkQueueLatency;
+  }
+
 }
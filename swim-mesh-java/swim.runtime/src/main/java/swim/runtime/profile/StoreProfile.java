@@ -0,0 +1,56 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime.profile;
+
+/**
+ * Point-in-time size statistics for a named store.
+ */
+public final class StoreProfile {
+
+  final String storeName;
+  final long zoneSize;
+  final long treeSize;
+  final long diffSize;
+  final long treeCount;
+
+  public StoreProfile(String storeName, long zoneSize, long treeSize, long diffSize, long treeCount) {
+    this.storeName = storeName;
+    this.zoneSize = zoneSize;
+    this.treeSize = treeSize;
+    this.diffSize = diffSize;
+    this.treeCount = treeCount;
+  }
+
+  public String storeName() {
+    return this.storeName;
+  }
+
+  public long zoneSize() {
+    return this.zoneSize;
+  }
+
+  public long treeSize() {
+    return this.treeSize;
+  }
+
+  public long diffSize() {
+    return this.diffSize;
+  }
+
+  public long treeCount() {
+    return this.treeCount;
+  }
+
+}
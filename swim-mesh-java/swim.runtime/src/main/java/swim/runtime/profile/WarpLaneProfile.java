@@ -43,6 +43,8 @@ public final class WarpLaneProfile extends Metric {
   final int uplinkCommandDelta;
   final int uplinkCommandRate;
   final long uplinkCommandCount;
+  final LatencyHistogram uplinkCommandLatency;
+  final LatencyHistogram uplinkQueueLatency;
 
   public WarpLaneProfile(LaneAddress cellAddress,
                          long execDelta, long execRate, long execTime,
@@ -51,7 +53,8 @@ public final class WarpLaneProfile extends Metric {
                          int downlinkCommandDelta, int downlinkCommandRate, long downlinkCommandCount,
                          int uplinkOpenDelta, int uplinkOpenCount, int uplinkCloseDelta, int uplinkCloseCount,
                          int uplinkEventDelta, int uplinkEventRate, long uplinkEventCount,
-                         int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount) {
+                         int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount,
+                         LatencyHistogram uplinkCommandLatency, LatencyHistogram uplinkQueueLatency) {
     this.cellAddress = cellAddress;
     this.execDelta = execDelta;
     this.execRate = execRate;
@@ -76,6 +79,8 @@ public final class WarpLaneProfile extends Metric {
     this.uplinkCommandDelta = uplinkCommandDelta;
     this.uplinkCommandRate = uplinkCommandRate;
     this.uplinkCommandCount = uplinkCommandCount;
+    this.uplinkCommandLatency = uplinkCommandLatency;
+    this.uplinkQueueLatency = uplinkQueueLatency;
   }
 
   @Override
@@ -175,4 +180,12 @@ public final class WarpLaneProfile extends Metric {
     return this.uplinkCommandCount;
   }
 
+  public LatencyHistogram uplinkCommandLatency() {
+    return this.uplinkCommandLatency;
+  }
+
+  public LatencyHistogram uplinkQueueLatency() {
+    return this.uplinkQueueLatency;
+  }
+
 }
@@ -28,14 +28,21 @@ public class AgentPulse extends Pulse {
   protected final long execTime;
   protected final int timerEventRate;
   protected final long timerEventCount;
+  protected final LatencyPulse execLatency;
 
   public AgentPulse(long agentCount, long execRate, long execTime,
-                    int timerEventRate, long timerEventCount) {
+                    int timerEventRate, long timerEventCount, LatencyPulse execLatency) {
     this.agentCount = agentCount;
     this.execRate = execRate;
     this.execTime = execTime;
     this.timerEventRate = timerEventRate;
     this.timerEventCount = timerEventCount;
+    this.execLatency = execLatency;
+  }
+
+  public AgentPulse(long agentCount, long execRate, long execTime,
+                    int timerEventRate, long timerEventCount) {
+    this(agentCount, execRate, execTime, timerEventRate, timerEventCount, LatencyPulse.empty());
   }
 
   @Kind
@@ -49,7 +56,7 @@ public class AgentPulse extends Pulse {
   @Override
   public boolean isDefined() {
     return this.agentCount != 0L || this.execRate != 0L || this.execTime != 0L
-        || this.timerEventRate != 0 || this.timerEventCount != 0L;
+        || this.timerEventRate != 0 || this.timerEventCount != 0L || this.execLatency.isDefined();
   }
 
   public final long agentCount() {
@@ -72,6 +79,10 @@ public class AgentPulse extends Pulse {
     return this.timerEventCount;
   }
 
+  public final LatencyPulse execLatency() {
+    return this.execLatency;
+  }
+
   @Override
   public Value toValue() {
     return form().mold(this).toValue();
@@ -89,7 +100,7 @@ final class AgentPulseForm extends Form<AgentPulse> {
   @Override
   public Item mold(AgentPulse pulse) {
     if (pulse != null) {
-      final Record record = Record.create(5);
+      final Record record = Record.create(6);
       if (pulse.agentCount > 0L) {
         record.slot("agentCount", pulse.agentCount);
       }
@@ -105,6 +116,9 @@ final class AgentPulseForm extends Form<AgentPulse> {
       if (pulse.timerEventCount > 0L) {
         record.slot("timerEventCount", pulse.timerEventCount);
       }
+      if (pulse.execLatency.isDefined()) {
+        record.slot("execLatency", pulse.execLatency.toValue());
+      }
       return record;
     } else {
       return Item.extant();
@@ -119,7 +133,8 @@ final class AgentPulseForm extends Form<AgentPulse> {
     final long execTime = value.get("execTime").longValue(0L);
     final int timerEventRate = value.get("timerEventRate").intValue(0);
     final long timerEventCount = value.get("timerEventCount").longValue(0L);
-    return new AgentPulse(agentCount, execRate, execTime, timerEventRate, timerEventCount);
+    final LatencyPulse execLatency = LatencyPulse.form().cast(value.get("execLatency"));
+    return new AgentPulse(agentCount, execRate, execTime, timerEventRate, timerEventCount, execLatency);
   }
 
 }
@@ -24,18 +24,29 @@ public class HostPulse extends Pulse {
 
   private static Form<HostPulse> form;
   protected final long nodeCount;
+  protected final long loadingNodeCount;
+  protected final long activationCount;
+  protected final long passivationCount;
   protected final AgentPulse agents;
   protected final WarpDownlinkPulse downlinks;
   protected final WarpUplinkPulse uplinks;
 
-  public HostPulse(long nodeCount, AgentPulse agents,
-                   WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks) {
+  public HostPulse(long nodeCount, long loadingNodeCount, long activationCount, long passivationCount,
+                   AgentPulse agents, WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks) {
     this.nodeCount = nodeCount;
+    this.loadingNodeCount = loadingNodeCount;
+    this.activationCount = activationCount;
+    this.passivationCount = passivationCount;
     this.agents = agents;
     this.downlinks = downlinks;
     this.uplinks = uplinks;
   }
 
+  public HostPulse(long nodeCount, AgentPulse agents,
+                   WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks) {
+    this(nodeCount, 0L, 0L, 0L, agents, downlinks, uplinks);
+  }
+
   @Kind
   public static Form<HostPulse> form() {
     if (form == null) {
@@ -46,7 +57,8 @@ public class HostPulse extends Pulse {
 
   @Override
   public boolean isDefined() {
-    return this.nodeCount != 0L || this.agents.isDefined()
+    return this.nodeCount != 0L || this.loadingNodeCount != 0L || this.activationCount != 0L
+        || this.passivationCount != 0L || this.agents.isDefined()
         || this.downlinks.isDefined() || this.uplinks.isDefined();
   }
 
@@ -54,6 +66,28 @@ public class HostPulse extends Pulse {
     return this.nodeCount;
   }
 
+  /**
+   * Returns the number of nodes that have yet to finish loading while the
+   * host is loading, which tracks the progress of host startup.
+   */
+  public final long loadingNodeCount() {
+    return this.loadingNodeCount;
+  }
+
+  /**
+   * Returns the total number of nodes opened on demand by the host.
+   */
+  public final long activationCount() {
+    return this.activationCount;
+  }
+
+  /**
+   * Returns the total number of idle nodes closed by the host.
+   */
+  public final long passivationCount() {
+    return this.passivationCount;
+  }
+
   public final AgentPulse agents() {
     return this.agents;
   }
@@ -83,10 +117,19 @@ final class HostPulseForm extends Form<HostPulse> {
   @Override
   public Item mold(HostPulse pulse) {
     if (pulse != null) {
-      final Record record = Record.create(4);
+      final Record record = Record.create(7);
       if (pulse.nodeCount > 0L) {
         record.slot("nodeCount", pulse.nodeCount);
       }
+      if (pulse.loadingNodeCount > 0L) {
+        record.slot("loadingNodeCount", pulse.loadingNodeCount);
+      }
+      if (pulse.activationCount > 0L) {
+        record.slot("activationCount", pulse.activationCount);
+      }
+      if (pulse.passivationCount > 0L) {
+        record.slot("passivationCount", pulse.passivationCount);
+      }
       if (pulse.agents.isDefined()) {
         record.slot("agents", pulse.agents.toValue());
       }
@@ -106,10 +149,14 @@ final class HostPulseForm extends Form<HostPulse> {
   public HostPulse cast(Item item) {
     final Value value = item.toValue();
     final long nodeCount = value.get("nodeCount").longValue(0L);
+    final long loadingNodeCount = value.get("loadingNodeCount").longValue(0L);
+    final long activationCount = value.get("activationCount").longValue(0L);
+    final long passivationCount = value.get("passivationCount").longValue(0L);
     final AgentPulse agents = value.get("agents").coerce(AgentPulse.form());
     final WarpDownlinkPulse downlinks = value.get("downlinks").coerce(WarpDownlinkPulse.form());
     final WarpUplinkPulse uplinks = value.get("uplinks").coerce(WarpUplinkPulse.form());
-    return new HostPulse(nodeCount, agents, downlinks, uplinks);
+    return new HostPulse(nodeCount, loadingNodeCount, activationCount, passivationCount,
+                         agents, downlinks, uplinks);
   }
 
 }
@@ -0,0 +1,154 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.runtime.reflect;
+
+import swim.runtime.profile.LatencyHistogram;
+import swim.structure.Form;
+import swim.structure.Item;
+import swim.structure.Kind;
+import swim.structure.Record;
+import swim.structure.Value;
+
+/**
+ * Summary of a latency distribution over one reporting interval, with all
+ * latencies in microseconds.
+ */
+public class LatencyPulse extends Pulse {
+
+  private static Form<LatencyPulse> form;
+  private static LatencyPulse empty;
+  protected final long count;
+  protected final long mean;
+  protected final long p50;
+  protected final long p90;
+  protected final long p99;
+  protected final long p999;
+  protected final long max;
+
+  public LatencyPulse(long count, long mean, long p50, long p90, long p99, long p999, long max) {
+    this.count = count;
+    this.mean = mean;
+    this.p50 = p50;
+    this.p90 = p90;
+    this.p99 = p99;
+    this.p999 = p999;
+    this.max = max;
+  }
+
+  public static LatencyPulse empty() {
+    if (empty == null) {
+      empty = new LatencyPulse(0L, 0L, 0L, 0L, 0L, 0L, 0L);
+    }
+    return empty;
+  }
+
+  public static LatencyPulse from(LatencyHistogram histogram) {
+    if (histogram.isEmpty()) {
+      return empty();
+    }
+    return new LatencyPulse(histogram.count(), histogram.mean(),
+                            histogram.valueAtPercentile(50.0), histogram.valueAtPercentile(90.0),
+                            histogram.valueAtPercentile(99.0), histogram.valueAtPercentile(99.9),
+                            histogram.max());
+  }
+
+  @Kind
+  public static Form<LatencyPulse> form() {
+    if (form == null) {
+      form = new LatencyPulseForm();
+    }
+    return form;
+  }
+
+  @Override
+  public boolean isDefined() {
+    return this.count != 0L;
+  }
+
+  public final long count() {
+    return this.count;
+  }
+
+  public final long mean() {
+    return this.mean;
+  }
+
+  public final long p50() {
+    return this.p50;
+  }
+
+  public final long p90() {
+    return this.p90;
+  }
+
+  public final long p99() {
+    return this.p99;
+  }
+
+  public final long p999() {
+    return this.p999;
+  }
+
+  public final long max() {
+    return this.max;
+  }
+
+  @Override
+  public Value toValue() {
+    return form().mold(this).toValue();
+  }
+
+}
+
+final class LatencyPulseForm extends Form<LatencyPulse> {
+
+  @Override
+  public Class<?> type() {
+    return LatencyPulse.class;
+  }
+
+  @Override
+  public Item mold(LatencyPulse pulse) {
+    if (pulse != null) {
+      final Record record = Record.create(7);
+      if (pulse.count > 0L) {
+        record.slot("count", pulse.count);
+        record.slot("mean", pulse.mean);
+        record.slot("p50", pulse.p50);
+        record.slot("p90", pulse.p90);
+        record.slot("p99", pulse.p99);
+        record.slot("p999", pulse.p999);
+        record.slot("max", pulse.max);
+      }
+      return record;
+    } else {
+      return Item.extant();
+    }
+  }
+
+  @Override
+  public LatencyPulse cast(Item item) {
+    final Value value = item.toValue();
+    final long count = value.get("count").longValue(0L);
+    final long mean = value.get("mean").longValue(0L);
+    final long p50 = value.get("p50").longValue(0L);
+    final long p90 = value.get("p90").longValue(0L);
+    final long p99 = value.get("p99").longValue(0L);
+    final long p999 = value.get("p999").longValue(0L);
+    final long max = value.get("max").longValue(0L);
+    return new LatencyPulse(count, mean, p50, p90, p99, p999, max);
+  }
+
+}
@@ -28,14 +28,25 @@ public class WarpUplinkPulse extends UplinkPulse implements WarpPulse {
   protected final long eventCount;
   protected final int commandRate;
   protected final long commandCount;
+  protected final LatencyPulse commandLatency;
+  protected final LatencyPulse queueLatency;
 
   public WarpUplinkPulse(long linkCount, int eventRate, long eventCount,
-                         int commandRate, long commandCount) {
+                         int commandRate, long commandCount,
+                         LatencyPulse commandLatency, LatencyPulse queueLatency) {
     this.linkCount = linkCount;
     this.eventRate = eventRate;
     this.eventCount = eventCount;
     this.commandRate = commandRate;
     this.commandCount = commandCount;
+    this.commandLatency = commandLatency;
+    this.queueLatency = queueLatency;
+  }
+
+  public WarpUplinkPulse(long linkCount, int eventRate, long eventCount,
+                         int commandRate, long commandCount) {
+    this(linkCount, eventRate, eventCount, commandRate, commandCount,
+         LatencyPulse.empty(), LatencyPulse.empty());
   }
 
   @Kind
@@ -49,7 +60,8 @@ public class WarpUplinkPulse extends UplinkPulse implements WarpPulse {
   @Override
   public boolean isDefined() {
     return this.linkCount != 0L || this.eventRate != 0 || this.eventCount != 0L
-        || this.commandRate != 0 || this.commandCount != 0L;
+        || this.commandRate != 0 || this.commandCount != 0L
+        || this.commandLatency.isDefined() || this.queueLatency.isDefined();
   }
 
   @Override
@@ -77,6 +89,22 @@ public class WarpUplinkPulse extends UplinkPulse implements WarpPulse {
     return this.commandCount;
   }
 
+  /**
+   * Returns the distribution of times taken to dispatch commands received
+   * by uplinks to their lane callbacks.
+   */
+  public final LatencyPulse commandLatency() {
+    return this.commandLatency;
+  }
+
+  /**
+   * Returns the distribution of times that uplinks spent waiting to be
+   * pulled by their transport after having events to send.
+   */
+  public final LatencyPulse queueLatency() {
+    return this.queueLatency;
+  }
+
   @Override
   public Value toValue() {
     return form().mold(this).toValue();
@@ -94,7 +122,7 @@ final class WarpUplinkPulseForm extends Form<WarpUplinkPulse> {
   @Override
   public Item mold(WarpUplinkPulse pulse) {
     if (pulse != null) {
-      final Record record = Record.create(5);
+      final Record record = Record.create(7);
       if (pulse.linkCount > 0L) {
         record.slot("linkCount", pulse.linkCount);
       }
@@ -110,6 +138,12 @@ final class WarpUplinkPulseForm extends Form<WarpUplinkPulse> {
       if (pulse.commandCount > 0L) {
         record.slot("commandCount", pulse.commandCount);
       }
+      if (pulse.commandLatency.isDefined()) {
+        record.slot("commandLatency", pulse.commandLatency.toValue());
+      }
+      if (pulse.queueLatency.isDefined()) {
+        record.slot("queueLatency", pulse.queueLatency.toValue());
+      }
       return record;
     } else {
       return Item.extant();
@@ -124,7 +158,10 @@ final class WarpUplinkPulseForm extends Form<WarpUplinkPulse> {
     final long eventCount = value.get("eventCount").longValue(0L);
     final int commandRate = value.get("commandRate").intValue(0);
     final long commandCount = value.get("commandCount").longValue(0L);
-    return new WarpUplinkPulse(linkCount, eventRate, eventCount, commandRate, commandCount);
+    final LatencyPulse commandLatency = LatencyPulse.form().cast(value.get("commandLatency"));
+    final LatencyPulse queueLatency = LatencyPulse.form().cast(value.get("queueLatency"));
+    return new WarpUplinkPulse(linkCount, eventRate, eventCount, commandRate, commandCount,
+                               commandLatency, queueLatency);
   }
 
 }
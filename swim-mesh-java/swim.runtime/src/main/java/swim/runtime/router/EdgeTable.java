@@ -51,10 +51,13 @@ import swim.runtime.TierContext;
 import swim.runtime.UplinkError;
 import swim.runtime.agent.AgentNode;
 import swim.runtime.profile.EdgeProfile;
+import swim.runtime.profile.LatencyHistogram;
+import swim.runtime.profile.LatencyRecorder;
 import swim.runtime.profile.MeshProfile;
 import swim.runtime.profile.WarpDownlinkProfile;
 import swim.runtime.reflect.AgentPulse;
 import swim.runtime.reflect.EdgePulse;
+import swim.runtime.reflect.LatencyPulse;
 import swim.runtime.reflect.LogEntry;
 import swim.runtime.reflect.MeshInfo;
 import swim.runtime.reflect.WarpDownlinkPulse;
@@ -114,6 +117,13 @@ public class EdgeTable extends AbstractTierBinding implements EdgeBinding {
   volatile int uplinkCommandRate;
   volatile long uplinkCommandCount;
   volatile long lastReportTime;
+  final LatencyRecorder agentExecLatency = new LatencyRecorder();
+  final LatencyRecorder uplinkCommandLatency = new LatencyRecorder();
+  final LatencyRecorder uplinkQueueLatency = new LatencyRecorder();
+  volatile EdgeProfile profile;
+  volatile LatencyHistogram agentExecLatencyTotal = LatencyHistogram.empty();
+  volatile LatencyHistogram uplinkCommandLatencyTotal = LatencyHistogram.empty();
+  volatile LatencyHistogram uplinkQueueLatencyTotal = LatencyHistogram.empty();
   EdgePulse pulse;
   AgentNode metaNode;
   DemandMapLane<Uri, MeshInfo> metaMeshes;
@@ -655,6 +665,9 @@ public class EdgeTable extends AbstractTierBinding implements EdgeBinding {
     UPLINK_EVENT_RATE.addAndGet(this, profile.uplinkEventRate());
     UPLINK_COMMAND_DELTA.addAndGet(this, profile.uplinkCommandDelta());
     UPLINK_COMMAND_RATE.addAndGet(this, profile.uplinkCommandRate());
+    this.agentExecLatency.record(profile.agentExecLatency());
+    this.uplinkCommandLatency.record(profile.uplinkCommandLatency());
+    this.uplinkQueueLatency.record(profile.uplinkQueueLatency());
     didUpdateMetrics();
   }
 
@@ -709,9 +722,45 @@ public class EdgeTable extends AbstractTierBinding implements EdgeBinding {
 
   protected void reportMetrics(long dt) {
     final EdgeProfile profile = collectProfile(dt);
+    this.agentExecLatencyTotal = this.agentExecLatencyTotal.merged(profile.agentExecLatency());
+    this.uplinkCommandLatencyTotal = this.uplinkCommandLatencyTotal.merged(profile.uplinkCommandLatency());
+    this.uplinkQueueLatencyTotal = this.uplinkQueueLatencyTotal.merged(profile.uplinkQueueLatency());
+    this.profile = profile;
     this.edgeContext.reportDown(profile);
   }
 
+  /**
+   * Returns the most recently reported profile of this edge, aggregated over
+   * all of its meshes, or {@code null} if no profile has been reported yet.
+   */
+  public EdgeProfile profile() {
+    return this.profile;
+  }
+
+  /**
+   * Returns the distribution of all agent execution latencies reported to
+   * this edge since it opened.
+   */
+  public LatencyHistogram agentExecLatencyTotal() {
+    return this.agentExecLatencyTotal;
+  }
+
+  /**
+   * Returns the distribution of all uplink command latencies reported to
+   * this edge since it opened.
+   */
+  public LatencyHistogram uplinkCommandLatencyTotal() {
+    return this.uplinkCommandLatencyTotal;
+  }
+
+  /**
+   * Returns the distribution of all uplink queueing latencies reported to
+   * this edge since it opened.
+   */
+  public LatencyHistogram uplinkQueueLatencyTotal() {
+    return this.uplinkQueueLatencyTotal;
+  }
+
   protected EdgeProfile collectProfile(long dt) {
     final int meshOpenDelta = MESH_OPEN_DELTA.getAndSet(this, 0);
     final long meshOpenCount = MESH_OPEN_COUNT.addAndGet(this, (long) meshOpenDelta);
@@ -767,18 +816,24 @@ public class EdgeTable extends AbstractTierBinding implements EdgeBinding {
     final int uplinkCommandRate = UPLINK_COMMAND_RATE.getAndSet(this, 0);
     final long uplinkCommandCount = UPLINK_COMMAND_COUNT.addAndGet(this, (long) uplinkCommandDelta);
 
+    final LatencyHistogram agentExecLatency = this.agentExecLatency.snapshot();
+    final LatencyHistogram uplinkCommandLatency = this.uplinkCommandLatency.snapshot();
+    final LatencyHistogram uplinkQueueLatency = this.uplinkQueueLatency.snapshot();
+
     final int meshCount = (int) (meshOpenCount - meshCloseCount);
     final int partCount = (int) (partOpenCount - partCloseCount);
     final int hostCount = (int) (hostOpenCount - hostCloseCount);
     final long nodeCount = nodeOpenCount - nodeCloseCount;
     final long agentCount = agentOpenCount - agentCloseCount;
-    final AgentPulse agentPulse = new AgentPulse(agentCount, agentExecRate, agentExecTime, timerEventRate, timerEventCount);
+    final AgentPulse agentPulse = new AgentPulse(agentCount, agentExecRate, agentExecTime, timerEventRate, timerEventCount,
+        LatencyPulse.from(agentExecLatency));
     final long downlinkCount = downlinkOpenCount - downlinkCloseCount;
     final WarpDownlinkPulse downlinkPulse = new WarpDownlinkPulse(downlinkCount, downlinkEventRate, downlinkEventCount,
         downlinkCommandRate, downlinkCommandCount);
     final long uplinkCount = uplinkOpenCount - uplinkCloseCount;
     final WarpUplinkPulse uplinkPulse = new WarpUplinkPulse(uplinkCount, uplinkEventRate, uplinkEventCount,
-        uplinkCommandRate, uplinkCommandCount);
+        uplinkCommandRate, uplinkCommandCount,
+        LatencyPulse.from(uplinkCommandLatency), LatencyPulse.from(uplinkQueueLatency));
     this.pulse = new EdgePulse(meshCount, partCount, hostCount, nodeCount, agentPulse, downlinkPulse, uplinkPulse);
     final DemandLane<EdgePulse> metaPulse = this.metaPulse;
     if (metaPulse != null) {
@@ -798,7 +853,8 @@ public class EdgeTable extends AbstractTierBinding implements EdgeBinding {
         downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount,
         uplinkOpenDelta, uplinkOpenCount, uplinkCloseDelta, uplinkCloseCount,
         uplinkEventDelta, uplinkEventRate, uplinkEventCount,
-        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount);
+        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+        agentExecLatency, uplinkCommandLatency, uplinkQueueLatency);
   }
 
   static final Uri MESHES_URI = Uri.parse("meshes");
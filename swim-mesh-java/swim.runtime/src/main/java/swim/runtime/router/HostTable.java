@@ -29,9 +29,14 @@ import swim.api.lane.function.OnSyncKeys;
 import swim.api.policy.Policy;
 import swim.api.warp.WarpUplink;
 import swim.collections.FingerTrieSeq;
+import swim.collections.HashTrieMap;
+import swim.concurrent.Cont;
 import swim.concurrent.Conts;
 import swim.concurrent.Schedule;
 import swim.concurrent.Stage;
+import swim.concurrent.Sync;
+import swim.concurrent.TimerFunction;
+import swim.concurrent.TimerRef;
 import swim.runtime.AbstractTierBinding;
 import swim.runtime.HostAddress;
 import swim.runtime.HostBinding;
@@ -49,10 +54,13 @@ import swim.runtime.TierContext;
 import swim.runtime.UplinkError;
 import swim.runtime.agent.AgentNode;
 import swim.runtime.profile.HostProfile;
+import swim.runtime.profile.LatencyHistogram;
+import swim.runtime.profile.LatencyRecorder;
 import swim.runtime.profile.NodeProfile;
 import swim.runtime.profile.WarpDownlinkProfile;
 import swim.runtime.reflect.AgentPulse;
 import swim.runtime.reflect.HostPulse;
+import swim.runtime.reflect.LatencyPulse;
 import swim.runtime.reflect.LogEntry;
 import swim.runtime.reflect.NodeInfo;
 import swim.runtime.reflect.WarpDownlinkPulse;
@@ -69,8 +77,13 @@ import swim.uri.UriPathBuilder;
 public class HostTable extends AbstractTierBinding implements HostBinding {
 
   protected HostContext hostContext;
+  final long idleTimeout;
+  final int loadParallelism;
   volatile UriMapper<NodeBinding> nodes;
   volatile int flags;
+  volatile int loadingNodeCount;
+  volatile long activationCount;
+  volatile long passivationCount;
   volatile int nodeOpenDelta;
   volatile long nodeOpenCount;
   volatile int nodeCloseDelta;
@@ -106,7 +119,11 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   volatile int uplinkCommandRate;
   volatile long uplinkCommandCount;
   volatile long lastReportTime;
+  final LatencyRecorder agentExecLatency = new LatencyRecorder();
+  final LatencyRecorder uplinkCommandLatency = new LatencyRecorder();
+  final LatencyRecorder uplinkQueueLatency = new LatencyRecorder();
   HostPulse pulse;
+  TimerRef passivateTimer;
   AgentNode metaNode;
   DemandMapLane<Uri, NodeInfo> metaNodes;
   DemandLane<HostPulse> metaPulse;
@@ -117,15 +134,47 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   SupplyLane<LogEntry> metaErrorLog;
   SupplyLane<LogEntry> metaFailLog;
 
-  public HostTable() {
+  /**
+   * Creates a host table that passivates nodes that have been idle for
+   * {@code idleTimeout} milliseconds, or that keeps all opened nodes resident
+   * when {@code idleTimeout} is zero, and that loads up to {@code
+   * loadParallelism} nodes concurrently when the host loads.
+   */
+  public HostTable(long idleTimeout, int loadParallelism) {
+    this.idleTimeout = idleTimeout;
+    this.loadParallelism = loadParallelism;
     this.nodes = UriMapper.empty();
   }
 
+  public HostTable(long idleTimeout) {
+    this(idleTimeout, LOAD_PARALLELISM);
+  }
+
+  public HostTable() {
+    this(IDLE_TIMEOUT, LOAD_PARALLELISM);
+  }
+
   @Override
   public final TierContext tierContext() {
     return this.hostContext;
   }
 
+  public final long idleTimeout() {
+    return this.idleTimeout;
+  }
+
+  public final int loadParallelism() {
+    return this.loadParallelism;
+  }
+
+  /**
+   * Returns the number of nodes that have yet to finish loading in the
+   * current load phase of the host.
+   */
+  public final int loadingNodeCount() {
+    return this.loadingNodeCount;
+  }
+
   @Override
   public final PartBinding part() {
     return this.hostContext.part();
@@ -372,6 +421,11 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
         newNodes = oldNodes;
         if (node.isStarted()) {
           nodeBinding = node;
+        } else if (awaitActivation(node) || this.nodes.get(nodeUri) != node) {
+          // Retry once the node has started, or if it was passivated since
+          // the lookup, rather than dropping envelopes routed to it.
+          nodeBinding = null;
+          continue;
         } else {
           nodeBinding = null;
         }
@@ -397,12 +451,37 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     } while (nodeBinding == null || (oldNodes != newNodes && !NODES.compareAndSet(this, oldNodes, newNodes)));
 
     if (oldNodes != newNodes) {
-      activate(nodeBinding);
+      activateNode(nodeBinding);
+      ACTIVATION_COUNT.incrementAndGet(this);
       didOpenNode(nodeBinding);
     }
     return nodeBinding;
   }
 
+  void activateNode(NodeBinding nodeBinding) {
+    final HostTableNode nodeContext = nodeBinding.unwrapNode(HostTableNode.class);
+    if (nodeContext != null) {
+      nodeContext.willActivate();
+    }
+    try {
+      activate(nodeBinding);
+    } finally {
+      if (nodeContext != null) {
+        nodeContext.didActivate();
+      }
+    }
+  }
+
+  /**
+   * Waits for {@code nodeBinding} to finish activating, returning {@code
+   * false} if it isn't activating, or if it's being activated by the
+   * current thread.
+   */
+  static boolean awaitActivation(NodeBinding nodeBinding) {
+    final HostTableNode nodeContext = nodeBinding.unwrapNode(HostTableNode.class);
+    return nodeContext != null && nodeContext.isActivating() && nodeContext.awaitActivation();
+  }
+
   @Override
   public NodeBinding openNode(Uri nodeUri, NodeBinding node) {
     UriMapper<NodeBinding> oldNodes;
@@ -419,6 +498,9 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
           final NodeAddress nodeAddress = cellAddress().nodeUri(nodeUri);
           nodeBinding = this.hostContext.injectNode(nodeAddress, node);
           final NodeContext nodeContext = createNodeContext(nodeAddress, nodeBinding);
+          if (nodeContext instanceof HostTableNode) {
+            ((HostTableNode) nodeContext).pinned = true;
+          }
           nodeBinding.setNodeContext(nodeContext);
           nodeBinding = nodeBinding.nodeWrapper();
           nodeBinding.openLanes(nodeBinding);
@@ -428,7 +510,7 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
       }
     } while (oldNodes != newNodes && !NODES.compareAndSet(this, oldNodes, newNodes));
     if (nodeBinding != null) {
-      activate(nodeBinding);
+      activateNode(nodeBinding);
       didOpenNode(nodeBinding);
     }
     return nodeBinding;
@@ -456,6 +538,172 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     }
   }
 
+  void closeNode(Uri nodeUri, NodeBinding nodeBinding) {
+    UriMapper<NodeBinding> oldNodes;
+    UriMapper<NodeBinding> newNodes;
+    do {
+      oldNodes = this.nodes;
+      if (oldNodes.get(nodeUri) == nodeBinding) {
+        newNodes = oldNodes.removed(nodeUri);
+      } else {
+        // Node already closed, or passivated and reactivated.
+        return;
+      }
+    } while (oldNodes != newNodes && !NODES.compareAndSet(this, oldNodes, newNodes));
+    nodeBinding.didClose();
+    didCloseNode(nodeBinding);
+  }
+
+  /**
+   * Closes {@code nodeBinding} if it's still bound to {@code nodeUri}.
+   * Passivated nodes are reopened by the next link or command routed to
+   * their URI, at which point their lanes reload any persistent state from
+   * the store.
+   */
+  public boolean passivateNode(Uri nodeUri, NodeBinding nodeBinding) {
+    final HostTableNode nodeContext = nodeBinding.unwrapNode(HostTableNode.class);
+    if (nodeContext != null && !nodeContext.startPassivation()) {
+      return false;
+    }
+    return passivate(nodeUri, nodeBinding, nodeContext);
+  }
+
+  /**
+   * Passivates {@code nodeBinding} if it's still idle since {@code idleTime}
+   * and unlinked once no link or command is in flight to it.  Checking only
+   * after passivation has begun ensures that a racing link or command
+   * either marks the node active before the check, or waits for passivation
+   * to either abort, or to remove the node so it can route to a fresh one.
+   */
+  boolean passivateIdleNode(Uri nodeUri, NodeBinding nodeBinding, HostTableNode nodeContext, long idleTime) {
+    if (!nodeContext.startPassivation()) {
+      return false;
+    } else if (nodeContext.isActivating() || !shouldPassivate(nodeBinding, idleTime)) {
+      nodeContext.abortPassivation();
+      return false;
+    }
+    return passivate(nodeUri, nodeBinding, nodeContext);
+  }
+
+  /**
+   * Returns {@code true} if {@code nodeBinding} hasn't been active since
+   * {@code idleTime}, and can be closed without losing state.  Called once
+   * passivation of the node has begun, so no link or command can enter the
+   * node until this method returns.
+   */
+  protected boolean shouldPassivate(NodeBinding nodeBinding, long idleTime) {
+    final HostTableNode nodeContext = nodeBinding.unwrapNode(HostTableNode.class);
+    return nodeContext != null && nodeContext.activeTime() <= idleTime && canPassivate(nodeBinding);
+  }
+
+  boolean passivate(Uri nodeUri, NodeBinding nodeBinding, HostTableNode nodeContext) {
+    UriMapper<NodeBinding> oldNodes;
+    UriMapper<NodeBinding> newNodes;
+    do {
+      oldNodes = this.nodes;
+      if (oldNodes.get(nodeUri) == nodeBinding) {
+        newNodes = oldNodes.removed(nodeUri);
+      } else {
+        if (nodeContext != null) {
+          nodeContext.abortPassivation();
+        }
+        return false;
+      }
+    } while (oldNodes != newNodes && !NODES.compareAndSet(this, oldNodes, newNodes));
+    if (nodeContext != null) {
+      // Wake links and commands waiting to route to a fresh node.
+      nodeContext.didPassivate();
+    }
+    // Closing lanes closes their store data; stores keep uncommitted trees
+    // open until their next commit, so a reopened node sees every change.
+    nodeBinding.close();
+    nodeBinding.didClose();
+    PASSIVATION_COUNT.incrementAndGet(this);
+    didCloseNode(nodeBinding);
+    return true;
+  }
+
+  /**
+   * Passivates all nodes that can be recreated on demand without losing
+   * state, and that haven't been active for at least the host's idle timeout.
+   */
+  public void passivateIdleNodes() {
+    final long idleTimeout = this.idleTimeout;
+    if (idleTimeout <= 0L) {
+      return;
+    }
+    final long idleTime = System.currentTimeMillis() - idleTimeout;
+    final Iterator<Map.Entry<Uri, NodeBinding>> nodesIterator = this.nodes.iterator();
+    while (nodesIterator.hasNext()) {
+      final Map.Entry<Uri, NodeBinding> entry = nodesIterator.next();
+      final NodeBinding nodeBinding = entry.getValue();
+      final HostTableNode nodeContext = nodeBinding.unwrapNode(HostTableNode.class);
+      if (nodeContext != null && !nodeContext.isPinned() && nodeContext.activeTime() <= idleTime
+          && canPassivate(nodeBinding)) {
+        try {
+          passivateIdleNode(entry.getKey(), nodeBinding, nodeContext, idleTime);
+        } catch (Throwable error) {
+          if (Conts.isNonFatal(error)) {
+            didFail(error);
+          } else {
+            throw error;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns {@code true} if {@code nodeBinding} has no scheduled agent
+   * timers, no linked lanes, and no lanes that hold in-memory state, such as
+   * transient lanes, join lanes, or lanes of a space without a durable store.
+   */
+  static boolean canPassivate(NodeBinding nodeBinding) {
+    if (nodeBinding.hasScheduledTimers()) {
+      return false;
+    }
+    final HashTrieMap<Uri, LaneBinding> lanes = nodeBinding.lanes();
+    if (lanes != null) {
+      final Iterator<LaneBinding> lanesIterator = lanes.valueIterator();
+      while (lanesIterator.hasNext()) {
+        final LaneBinding lane = lanesIterator.next();
+        if (lane.isLinked() || !lane.isDurable()) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  protected void schedulePassivation() {
+    final long idleTimeout = this.idleTimeout;
+    if (idleTimeout > 0L) {
+      final TimerRef passivateTimer = this.passivateTimer;
+      if (passivateTimer != null && passivateTimer.isScheduled()) {
+        return;
+      }
+      final long passivateInterval = Math.max(idleTimeout / 2L, 1L);
+      this.passivateTimer = this.hostContext.schedule().setTimer(passivateInterval, new HostTablePassivateTimer(this));
+    }
+  }
+
+  protected void cancelPassivation() {
+    final TimerRef passivateTimer = this.passivateTimer;
+    if (passivateTimer != null) {
+      passivateTimer.cancel();
+      this.passivateTimer = null;
+    }
+  }
+
+  protected void didBecomeActive(NodeBinding nodeBinding) {
+    if (this.idleTimeout > 0L) {
+      final HostTableNode nodeContext = nodeBinding.unwrapNode(HostTableNode.class);
+      if (nodeContext != null) {
+        nodeContext.didBecomeActive();
+      }
+    }
+  }
+
   public void closeNodes() {
     UriMapper<NodeBinding> oldNodes;
     final UriMapper<NodeBinding> newNodes = UriMapper.empty();
@@ -565,31 +813,83 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
 
   @Override
   public void openUplink(LinkBinding link) {
-    NodeBinding nodeBinding = openNode(link.nodeUri());
-    if (nodeBinding != null) {
-      nodeBinding = nodeBinding.bottomNode(NodeBinding.class);
-    }
-    if (nodeBinding != null) {
-      nodeBinding.openUplink(link);
-    } else {
-      UplinkError.rejectNodeNotFound(link);
+    final Uri nodeUri = link.nodeUri();
+    NodeBinding nodeBinding;
+    HostTableNode nodeContext;
+    do {
+      nodeBinding = openNode(nodeUri);
+      nodeContext = nodeBinding != null ? nodeBinding.unwrapNode(HostTableNode.class) : null;
+    } while (nodeContext != null && !enterNode(nodeUri, nodeBinding, nodeContext));
+    try {
+      if (nodeBinding != null) {
+        didBecomeActive(nodeBinding);
+        nodeBinding = nodeBinding.bottomNode(NodeBinding.class);
+      }
+      if (nodeBinding != null) {
+        nodeBinding.openUplink(link);
+      } else {
+        UplinkError.rejectNodeNotFound(link);
+      }
+    } finally {
+      if (nodeContext != null) {
+        nodeContext.exitActive();
+      }
     }
   }
 
+  @SuppressWarnings("unchecked")
   @Override
   public void pushUp(Push<?> push) {
     final Uri nodeUri = push.nodeUri();
-    NodeBinding nodeBinding = openNode(nodeUri);
-    if (nodeBinding != null) {
-      nodeBinding = nodeBinding.bottomNode(NodeBinding.class);
+    NodeBinding nodeBinding;
+    HostTableNode nodeContext;
+    do {
+      nodeBinding = openNode(nodeUri);
+      nodeContext = nodeBinding != null ? nodeBinding.unwrapNode(HostTableNode.class) : null;
+    } while (nodeContext != null && !enterNode(nodeUri, nodeBinding, nodeContext));
+    HostTablePushCont<?> pushCont = null;
+    if (nodeContext != null) {
+      // Keep the node from passivating until the push has been processed,
+      // not just queued.
+      pushCont = new HostTablePushCont<Object>(nodeContext, ((Push<Object>) push).cont());
+      push = ((Push<Object>) push).cont((HostTablePushCont<Object>) pushCont);
     }
-    if (nodeBinding != null) {
-      nodeBinding.pushUp(push);
-    } else {
-      push.trap(new HostException("unknown node: " + nodeUri));
+    try {
+      if (nodeBinding != null) {
+        didBecomeActive(nodeBinding);
+        nodeBinding = nodeBinding.bottomNode(NodeBinding.class);
+      }
+      if (nodeBinding != null) {
+        nodeBinding.pushUp(push);
+      } else {
+        push.trap(new HostException("unknown node: " + nodeUri));
+      }
+    } catch (Throwable error) {
+      if (pushCont != null) {
+        pushCont.exit();
+      }
+      throw error;
     }
   }
 
+  /**
+   * Registers a link or command in flight to {@code nodeBinding}, or, if the
+   * node is passivating, waits for passivation to finish.  Returns {@code
+   * true} if passivation was aborted and the node entered, or {@code false}
+   * once the node has been removed, so that the caller can reopen a fresh
+   * node in its place.
+   */
+  boolean enterNode(Uri nodeUri, NodeBinding nodeBinding, HostTableNode nodeContext) {
+    do {
+      if (nodeContext.enterActive()) {
+        return true;
+      } else if (this.nodes.get(nodeUri) != nodeBinding) {
+        return false;
+      }
+      nodeContext.awaitPassivation();
+    } while (true);
+  }
+
   @Override
   public void trace(Object message) {
     final SupplyLane<LogEntry> metaTraceLog = this.metaTraceLog;
@@ -656,12 +956,39 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   @Override
   protected void willLoad() {
     super.willLoad();
-    final Iterator<NodeBinding> nodesIterator = this.nodes.valueIterator();
-    while (nodesIterator.hasNext()) {
-      nodesIterator.next().load();
+    loadNodes();
+  }
+
+  /**
+   * Loads all opened nodes, which opens the store data of their lanes.
+   * Nodes load concurrently on the host's stage, up to the host's load
+   * parallelism, and this method returns once all nodes have loaded.
+   */
+  protected void loadNodes() {
+    final UriMapper<NodeBinding> nodes = this.nodes;
+    final int parallelism = Math.min(this.loadParallelism, nodes.size());
+    LOADING_NODE_COUNT.set(this, nodes.size());
+    if (parallelism > 1) {
+      final HostTableLoader loader = new HostTableLoader(this, nodes.valueIterator(), parallelism);
+      final Stage stage = this.hostContext.stage();
+      for (int i = 0; i < parallelism; i += 1) {
+        stage.execute(loader);
+      }
+      loader.await();
+    } else {
+      final Iterator<NodeBinding> nodesIterator = nodes.valueIterator();
+      while (nodesIterator.hasNext()) {
+        nodesIterator.next().load();
+        didLoadNode();
+      }
     }
   }
 
+  void didLoadNode() {
+    LOADING_NODE_COUNT.decrementAndGet(this);
+    didUpdateMetrics();
+  }
+
   @Override
   protected void willStart() {
     super.willStart();
@@ -669,11 +996,13 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     while (nodesIterator.hasNext()) {
       nodesIterator.next().start();
     }
+    schedulePassivation();
   }
 
   @Override
   protected void willStop() {
     super.willStop();
+    cancelPassivation();
     final Iterator<NodeBinding> nodesIterator = this.nodes.valueIterator();
     while (nodesIterator.hasNext()) {
       nodesIterator.next().stop();
@@ -755,6 +1084,9 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     UPLINK_EVENT_RATE.addAndGet(this, profile.uplinkEventRate());
     UPLINK_COMMAND_DELTA.addAndGet(this, profile.uplinkCommandDelta());
     UPLINK_COMMAND_RATE.addAndGet(this, profile.uplinkCommandRate());
+    this.agentExecLatency.record(profile.agentExecLatency());
+    this.uplinkCommandLatency.record(profile.uplinkCommandLatency());
+    this.uplinkQueueLatency.record(profile.uplinkQueueLatency());
     didUpdateMetrics();
   }
 
@@ -852,16 +1184,23 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     final int uplinkCommandRate = UPLINK_COMMAND_RATE.getAndSet(this, 0);
     final long uplinkCommandCount = UPLINK_COMMAND_COUNT.addAndGet(this, (long) uplinkCommandDelta);
 
+    final LatencyHistogram agentExecLatency = this.agentExecLatency.snapshot();
+    final LatencyHistogram uplinkCommandLatency = this.uplinkCommandLatency.snapshot();
+    final LatencyHistogram uplinkQueueLatency = this.uplinkQueueLatency.snapshot();
+
     final long nodeCount = nodeOpenCount - nodeCloseCount;
     final long agentCount = agentOpenCount - agentCloseCount;
-    final AgentPulse agentPulse = new AgentPulse(agentCount, agentExecRate, agentExecTime, timerEventRate, timerEventCount);
+    final AgentPulse agentPulse = new AgentPulse(agentCount, agentExecRate, agentExecTime, timerEventRate, timerEventCount,
+        LatencyPulse.from(agentExecLatency));
     final long downlinkCount = downlinkOpenCount - downlinkCloseCount;
     final WarpDownlinkPulse downlinkPulse = new WarpDownlinkPulse(downlinkCount, downlinkEventRate, downlinkEventCount,
         downlinkCommandRate, downlinkCommandCount);
     final long uplinkCount = uplinkOpenCount - uplinkCloseCount;
     final WarpUplinkPulse uplinkPulse = new WarpUplinkPulse(uplinkCount, uplinkEventRate, uplinkEventCount,
-        uplinkCommandRate, uplinkCommandCount);
-    this.pulse = new HostPulse(nodeCount, agentPulse, downlinkPulse, uplinkPulse);
+        uplinkCommandRate, uplinkCommandCount,
+        LatencyPulse.from(uplinkCommandLatency), LatencyPulse.from(uplinkQueueLatency));
+    this.pulse = new HostPulse(nodeCount, this.loadingNodeCount, this.activationCount, this.passivationCount,
+                               agentPulse, downlinkPulse, uplinkPulse);
     final DemandLane<HostPulse> metaPulse = this.metaPulse;
     if (metaPulse != null) {
       metaPulse.cue();
@@ -877,7 +1216,8 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
         downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount,
         uplinkOpenDelta, uplinkOpenCount, uplinkCloseDelta, uplinkCloseCount,
         uplinkEventDelta, uplinkEventRate, uplinkEventCount,
-        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount);
+        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+        agentExecLatency, uplinkCommandLatency, uplinkQueueLatency);
   }
 
   static final int PRIMARY = 1 << 0;
@@ -887,11 +1227,38 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
 
   static final Uri NODES_URI = Uri.parse("nodes");
 
+  static final long IDLE_TIMEOUT;
+  static final int LOAD_PARALLELISM;
+
+  static {
+    long idleTimeout;
+    try {
+      idleTimeout = Long.parseLong(System.getProperty("swim.host.idle.timeout"));
+    } catch (NumberFormatException e) {
+      idleTimeout = 0L;
+    }
+    IDLE_TIMEOUT = idleTimeout;
+
+    int loadParallelism;
+    try {
+      loadParallelism = Integer.parseInt(System.getProperty("swim.host.load.parallelism"));
+    } catch (NumberFormatException e) {
+      loadParallelism = Runtime.getRuntime().availableProcessors();
+    }
+    LOAD_PARALLELISM = loadParallelism;
+  }
+
   @SuppressWarnings("unchecked")
   static final AtomicReferenceFieldUpdater<HostTable, UriMapper<NodeBinding>> NODES =
       AtomicReferenceFieldUpdater.newUpdater(HostTable.class, (Class<UriMapper<NodeBinding>>) (Class<?>) UriMapper.class, "nodes");
   static final AtomicIntegerFieldUpdater<HostTable> FLAGS =
       AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "flags");
+  static final AtomicIntegerFieldUpdater<HostTable> LOADING_NODE_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "loadingNodeCount");
+  static final AtomicLongFieldUpdater<HostTable> ACTIVATION_COUNT =
+      AtomicLongFieldUpdater.newUpdater(HostTable.class, "activationCount");
+  static final AtomicLongFieldUpdater<HostTable> PASSIVATION_COUNT =
+      AtomicLongFieldUpdater.newUpdater(HostTable.class, "passivationCount");
   static final AtomicIntegerFieldUpdater<HostTable> NODE_OPEN_DELTA =
       AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "nodeOpenDelta");
   static final AtomicLongFieldUpdater<HostTable> NODE_OPEN_COUNT =
@@ -965,6 +1332,132 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
 
 }
 
+final class HostTableLoader implements Runnable {
+
+  final HostTable host;
+  final Iterator<NodeBinding> nodes;
+  final Sync<Object> sync;
+  volatile int workerCount;
+
+  HostTableLoader(HostTable host, Iterator<NodeBinding> nodes, int workerCount) {
+    this.host = host;
+    this.nodes = nodes;
+    this.sync = new Sync<Object>();
+    this.workerCount = workerCount;
+  }
+
+  NodeBinding nextNode() {
+    synchronized (this.nodes) {
+      return this.nodes.hasNext() ? this.nodes.next() : null;
+    }
+  }
+
+  @Override
+  public void run() {
+    try {
+      do {
+        final NodeBinding node = nextNode();
+        if (node == null) {
+          break;
+        }
+        try {
+          node.load();
+        } catch (Throwable error) {
+          if (Conts.isNonFatal(error)) {
+            this.host.didFail(error);
+          } else {
+            throw error;
+          }
+        } finally {
+          this.host.didLoadNode();
+        }
+      } while (true);
+    } finally {
+      if (WORKER_COUNT.decrementAndGet(this) == 0) {
+        this.sync.bind(null);
+      }
+    }
+  }
+
+  void await() {
+    try {
+      this.sync.await(0L);
+    } catch (InterruptedException cause) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  static final AtomicIntegerFieldUpdater<HostTableLoader> WORKER_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(HostTableLoader.class, "workerCount");
+
+}
+
+final class HostTablePushCont<M> implements Cont<M> {
+
+  final HostTableNode nodeContext;
+  final Cont<M> cont;
+  volatile int status;
+
+  HostTablePushCont(HostTableNode nodeContext, Cont<M> cont) {
+    this.nodeContext = nodeContext;
+    this.cont = cont;
+  }
+
+  void exit() {
+    if (STATUS.compareAndSet(this, 0, 1)) {
+      this.nodeContext.exitActive();
+    }
+  }
+
+  @Override
+  public void bind(M value) {
+    exit();
+    if (this.cont != null) {
+      this.cont.bind(value);
+    }
+  }
+
+  @Override
+  public void trap(Throwable error) {
+    exit();
+    if (this.cont != null) {
+      this.cont.trap(error);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  static final AtomicIntegerFieldUpdater<HostTablePushCont<?>> STATUS =
+      AtomicIntegerFieldUpdater.newUpdater((Class<HostTablePushCont<?>>) (Class<?>) HostTablePushCont.class, "status");
+
+}
+
+final class HostTablePassivateTimer implements TimerFunction, Runnable {
+
+  final HostTable host;
+
+  HostTablePassivateTimer(HostTable host) {
+    this.host = host;
+  }
+
+  @Override
+  public void runTimer() {
+    // Close idle nodes on the host's stage, rather than on the clock thread.
+    this.host.hostContext().stage().execute(this);
+  }
+
+  @Override
+  public void run() {
+    try {
+      this.host.passivateIdleNodes();
+    } finally {
+      if (this.host.isStarted()) {
+        this.host.schedulePassivation();
+      }
+    }
+  }
+
+}
+
 final class HostTableNodesController implements OnCueKey<Uri, NodeInfo>, OnSyncKeys<Uri> {
 
   final HostBinding host;
@@ -14,6 +14,7 @@
 
 package swim.runtime.router;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import swim.api.Downlink;
 import swim.api.agent.Agent;
 import swim.api.agent.AgentDef;
@@ -41,11 +42,19 @@ public class HostTableNode implements NodeContext {
   protected final HostTable host;
   protected final NodeBinding node;
   protected final NodeAddress nodeAddress;
+  boolean pinned;
+  volatile long activeTime;
+  volatile int passivationState;
+  volatile boolean activated;
+  volatile boolean passivated;
+  Thread activator;
 
   public HostTableNode(HostTable host, NodeBinding node, NodeAddress nodeAddress) {
     this.host = host;
     this.node = node;
     this.nodeAddress = nodeAddress;
+    this.pinned = false;
+    this.activeTime = System.currentTimeMillis();
   }
 
   @Override
@@ -113,6 +122,137 @@ public class HostTableNode implements NodeContext {
     return this.node.createdTime();
   }
 
+  /**
+   * Returns {@code true} if the node was opened with an explicit binding,
+   * and so can't be passivated, since the host has no way to recreate it.
+   */
+  public final boolean isPinned() {
+    return this.pinned;
+  }
+
+  /**
+   * Returns the time, in milliseconds since the epoch, at which the node was
+   * last linked to, commanded, or reported agent activity.
+   */
+  public final long activeTime() {
+    return this.activeTime;
+  }
+
+  public void didBecomeActive() {
+    this.activeTime = System.currentTimeMillis();
+  }
+
+  /**
+   * Returns {@code true} if the node has been added to its host, but its
+   * host hasn't yet finished bringing it up to the host's own state.
+   */
+  boolean isActivating() {
+    return !this.activated;
+  }
+
+  void willActivate() {
+    this.activator = Thread.currentThread();
+  }
+
+  void didActivate() {
+    synchronized (this) {
+      this.activated = true;
+      this.activator = null;
+      notifyAll();
+    }
+  }
+
+  /**
+   * Blocks until this node has finished activating, returning {@code false}
+   * without blocking if called from the thread that's activating the node,
+   * which would otherwise wait on itself.
+   */
+  boolean awaitActivation() {
+    if (this.activator == Thread.currentThread()) {
+      return false;
+    }
+    boolean interrupted = false;
+    synchronized (this) {
+      while (!this.activated) {
+        try {
+          wait();
+        } catch (InterruptedException cause) {
+          interrupted = true;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    return true;
+  }
+
+  /**
+   * Registers a link or command in flight to this node, returning {@code
+   * false} if the node has begun passivating, in which case the caller must
+   * route to a freshly opened node instead.
+   */
+  boolean enterActive() {
+    do {
+      final int oldState = this.passivationState;
+      if (oldState < 0) {
+        return false;
+      } else if (PASSIVATION_STATE.compareAndSet(this, oldState, oldState + 1)) {
+        return true;
+      }
+    } while (true);
+  }
+
+  void exitActive() {
+    PASSIVATION_STATE.decrementAndGet(this);
+  }
+
+  /**
+   * Begins passivating this node, provided no link or command is in flight
+   * to it.  Once begun, passivation can only be aborted before the node has
+   * been removed from its host.
+   */
+  boolean startPassivation() {
+    return PASSIVATION_STATE.compareAndSet(this, 0, -1);
+  }
+
+  void abortPassivation() {
+    synchronized (this) {
+      this.passivationState = 0;
+      notifyAll();
+    }
+  }
+
+  void didPassivate() {
+    synchronized (this) {
+      this.passivated = true;
+      notifyAll();
+    }
+  }
+
+  /**
+   * Blocks while this node is passivating, returning once passivation has
+   * either been aborted, or has removed the node from its host.
+   */
+  void awaitPassivation() {
+    boolean interrupted = false;
+    synchronized (this) {
+      while (this.passivationState < 0 && !this.passivated) {
+        try {
+          wait();
+        } catch (InterruptedException cause) {
+          interrupted = true;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  static final AtomicIntegerFieldUpdater<HostTableNode> PASSIVATION_STATE =
+      AtomicIntegerFieldUpdater.newUpdater(HostTableNode.class, "passivationState");
+
   @Override
   public final Identity identity() {
     return null; // TODO
@@ -214,6 +354,8 @@ public class HostTableNode implements NodeContext {
 
   @Override
   public void reportDown(Metric metric) {
+    // Nodes only report metrics after executing agent code.
+    didBecomeActive();
     this.host.reportDown(metric);
   }
 
@@ -249,7 +391,7 @@ public class HostTableNode implements NodeContext {
 
   @Override
   public void close() {
-    this.host.closeNode(this.nodeAddress.nodeUri());
+    this.host.closeNode(this.nodeAddress.nodeUri(), this.node.nodeWrapper());
   }
 
   @Override
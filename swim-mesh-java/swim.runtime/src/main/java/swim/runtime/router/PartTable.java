@@ -52,10 +52,13 @@ import swim.runtime.UplinkError;
 import swim.runtime.WarpBinding;
 import swim.runtime.agent.AgentNode;
 import swim.runtime.profile.HostProfile;
+import swim.runtime.profile.LatencyHistogram;
+import swim.runtime.profile.LatencyRecorder;
 import swim.runtime.profile.PartProfile;
 import swim.runtime.profile.WarpDownlinkProfile;
 import swim.runtime.reflect.AgentPulse;
 import swim.runtime.reflect.HostInfo;
+import swim.runtime.reflect.LatencyPulse;
 import swim.runtime.reflect.LogEntry;
 import swim.runtime.reflect.PartPulse;
 import swim.runtime.reflect.WarpDownlinkPulse;
@@ -110,6 +113,9 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
   volatile int uplinkCommandRate;
   volatile long uplinkCommandCount;
   volatile long lastReportTime;
+  final LatencyRecorder agentExecLatency = new LatencyRecorder();
+  final LatencyRecorder uplinkCommandLatency = new LatencyRecorder();
+  final LatencyRecorder uplinkQueueLatency = new LatencyRecorder();
   PartPulse pulse;
   AgentNode metaNode;
   DemandMapLane<Uri, HostInfo> metaHosts;
@@ -707,6 +713,9 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
     UPLINK_EVENT_RATE.addAndGet(this, profile.uplinkEventRate());
     UPLINK_COMMAND_DELTA.addAndGet(this, profile.uplinkCommandDelta());
     UPLINK_COMMAND_RATE.addAndGet(this, profile.uplinkCommandRate());
+    this.agentExecLatency.record(profile.agentExecLatency());
+    this.uplinkCommandLatency.record(profile.uplinkCommandLatency());
+    this.uplinkQueueLatency.record(profile.uplinkQueueLatency());
     didUpdateMetrics();
   }
 
@@ -809,16 +818,22 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
     final int uplinkCommandRate = UPLINK_COMMAND_RATE.getAndSet(this, 0);
     final long uplinkCommandCount = UPLINK_COMMAND_COUNT.addAndGet(this, (long) uplinkCommandDelta);
 
+    final LatencyHistogram agentExecLatency = this.agentExecLatency.snapshot();
+    final LatencyHistogram uplinkCommandLatency = this.uplinkCommandLatency.snapshot();
+    final LatencyHistogram uplinkQueueLatency = this.uplinkQueueLatency.snapshot();
+
     final int hostCount = (int) (hostOpenCount - hostCloseCount);
     final long nodeCount = nodeOpenCount - nodeCloseCount;
     final long agentCount = agentOpenCount - agentCloseCount;
-    final AgentPulse agentPulse = new AgentPulse(agentCount, agentExecRate, agentExecTime, timerEventRate, timerEventCount);
+    final AgentPulse agentPulse = new AgentPulse(agentCount, agentExecRate, agentExecTime, timerEventRate, timerEventCount,
+        LatencyPulse.from(agentExecLatency));
     final long downlinkCount = downlinkOpenCount - downlinkCloseCount;
     final WarpDownlinkPulse downlinkPulse = new WarpDownlinkPulse(downlinkCount, downlinkEventRate, downlinkEventCount,
         downlinkCommandRate, downlinkCommandCount);
     final long uplinkCount = uplinkOpenCount - uplinkCloseCount;
     final WarpUplinkPulse uplinkPulse = new WarpUplinkPulse(uplinkCount, uplinkEventRate, uplinkEventCount,
-        uplinkCommandRate, uplinkCommandCount);
+        uplinkCommandRate, uplinkCommandCount,
+        LatencyPulse.from(uplinkCommandLatency), LatencyPulse.from(uplinkQueueLatency));
     this.pulse = new PartPulse(hostCount, nodeCount, agentPulse, downlinkPulse, uplinkPulse);
     final DemandLane<PartPulse> metaPulse = this.metaPulse;
     if (metaPulse != null) {
@@ -836,7 +851,8 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
         downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount,
         uplinkOpenDelta, uplinkOpenCount, uplinkCloseDelta, uplinkCloseCount,
         uplinkEventDelta, uplinkEventRate, uplinkEventCount,
-        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount);
+        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+        agentExecLatency, uplinkCommandLatency, uplinkQueueLatency);
   }
 
   static final Uri HOSTS_URI = Uri.parse("hosts");
@@ -29,8 +29,10 @@ import swim.runtime.Push;
 import swim.runtime.WarpBinding;
 import swim.runtime.WarpContext;
 import swim.runtime.profile.WarpDownlinkProfile;
+import swim.structure.Record;
 import swim.structure.Value;
 import swim.uri.Uri;
+import swim.warp.CommandBatchMessage;
 import swim.warp.CommandMessage;
 import swim.warp.Envelope;
 import swim.warp.EventMessage;
@@ -60,6 +62,7 @@ public abstract class WarpDownlinkModem<View extends DownlinkView> extends Downl
   volatile long eventCount;
   volatile long commandCount;
   volatile long lastReportTime;
+  volatile int commandBatchSize;
 
   public WarpDownlinkModem(Uri meshUri, Uri hostUri, Uri nodeUri, Uri laneUri,
                            float prio, float rate, Value body) {
@@ -67,6 +70,7 @@ public abstract class WarpDownlinkModem<View extends DownlinkView> extends Downl
     this.prio = prio;
     this.rate = rate;
     this.body = body;
+    this.commandBatchSize = COMMAND_BATCH_SIZE;
   }
 
   @Override
@@ -109,6 +113,20 @@ public abstract class WarpDownlinkModem<View extends DownlinkView> extends Downl
     return this.body;
   }
 
+  /**
+   * Returns the maximum number of queued commands that get coalesced into a
+   * single envelope whenever the link pulls; {@code 1} if commands are sent
+   * one at a time.  Defaults to the {@code swim.downlink.command.batch.size}
+   * system property.
+   */
+  public final int commandBatchSize() {
+    return this.commandBatchSize;
+  }
+
+  public void setCommandBatchSize(int commandBatchSize) {
+    this.commandBatchSize = Math.max(1, commandBatchSize);
+  }
+
   @Override
   public abstract boolean keepLinked();
 
@@ -323,8 +341,13 @@ public abstract class WarpDownlinkModem<View extends DownlinkView> extends Downl
             push = nextUpCue();
           }
           if (push != null) {
-            pullUpCommand(push.message());
-            this.linkContext.pushUp(push);
+            final Push<CommandMessage> next = this.commandBatchSize > 1 ? nextUpQueue() : null;
+            if (next != null) {
+              pullUpCommandBatch(push, next);
+            } else {
+              pullUpCommand(push.message());
+              this.linkContext.pushUp(push);
+            }
             feedUp();
           } else {
             this.linkContext.skipUp();
@@ -339,6 +362,29 @@ public abstract class WarpDownlinkModem<View extends DownlinkView> extends Downl
     onCommand(message);
   }
 
+  /**
+   * Coalesces {@code first}, {@code next}, and up to {@link
+   * #commandBatchSize()} queued commands in total into a single {@code
+   * CommandBatchMessage}, so that a backlog of commands drains in one
+   * envelope, and one agent task on the receiving node.
+   */
+  protected void pullUpCommandBatch(Push<CommandMessage> first, Push<CommandMessage> next) {
+    final int commandBatchSize = Math.max(2, this.commandBatchSize);
+    final WarpDownlinkModemBatchCont cont = new WarpDownlinkModemBatchCont(commandBatchSize);
+    cont.add(first);
+    do {
+      cont.add(next);
+    } while (cont.size < commandBatchSize && (next = nextUpQueue()) != null);
+    final Record commands = Record.create(cont.size);
+    for (int i = 0; i < cont.size; i += 1) {
+      final CommandMessage message = cont.parts[i].message();
+      pullUpCommand(message);
+      commands.slot(message.laneUri().toString(), message.body());
+    }
+    this.linkContext.pushUp(new Push<Envelope>(Uri.empty(), hostUri(), nodeUri(), laneUri(), prio(),
+                                               null, new CommandBatchMessage(nodeUri(), commands), cont));
+  }
+
   protected void pullUpLink(LinkRequest request) {
     willLink(request);
   }
@@ -675,6 +721,8 @@ public abstract class WarpDownlinkModem<View extends DownlinkView> extends Downl
                                    commandDelta, commandRate, commandCount);
   }
 
+  static final int COMMAND_BATCH_SIZE;
+
   static final int OPENED = 1 << 0;
   static final int LINKED = 1 << 1;
   static final int LINK = 1 << 2;
@@ -725,4 +773,45 @@ public abstract class WarpDownlinkModem<View extends DownlinkView> extends Downl
   static final AtomicLongFieldUpdater<WarpDownlinkModem<?>> LAST_REPORT_TIME =
       AtomicLongFieldUpdater.newUpdater((Class<WarpDownlinkModem<?>>) (Class<?>) WarpDownlinkModem.class, "lastReportTime");
 
+  static {
+    int commandBatchSize;
+    try {
+      commandBatchSize = Integer.parseInt(System.getProperty("swim.downlink.command.batch.size"));
+    } catch (NumberFormatException e) {
+      commandBatchSize = 1;
+    }
+    COMMAND_BATCH_SIZE = commandBatchSize;
+  }
+
+}
+
+final class WarpDownlinkModemBatchCont implements Cont<Envelope> {
+
+  final Push<CommandMessage>[] parts;
+  int size;
+
+  @SuppressWarnings("unchecked")
+  WarpDownlinkModemBatchCont(int capacity) {
+    this.parts = (Push<CommandMessage>[]) new Push<?>[capacity];
+  }
+
+  void add(Push<CommandMessage> part) {
+    this.parts[this.size] = part;
+    this.size += 1;
+  }
+
+  @Override
+  public void bind(Envelope envelope) {
+    for (int i = 0; i < this.size; i += 1) {
+      this.parts[i].bind();
+    }
+  }
+
+  @Override
+  public void trap(Throwable error) {
+    for (int i = 0; i < this.size; i += 1) {
+      this.parts[i].trap(error);
+    }
+  }
+
 }
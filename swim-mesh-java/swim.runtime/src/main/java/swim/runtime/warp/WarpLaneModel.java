@@ -28,6 +28,8 @@ import swim.runtime.LinkBinding;
 import swim.runtime.Metric;
 import swim.runtime.Push;
 import swim.runtime.WarpBinding;
+import swim.runtime.profile.LatencyHistogram;
+import swim.runtime.profile.LatencyRecorder;
 import swim.runtime.profile.WarpDownlinkProfile;
 import swim.runtime.profile.WarpLaneProfile;
 import swim.runtime.profile.WarpUplinkProfile;
@@ -140,6 +142,8 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
   volatile int uplinkCommandRate;
   volatile long uplinkCommandCount;
   volatile long lastReportTime;
+  final LatencyRecorder uplinkCommandLatency = new LatencyRecorder();
+  final LatencyRecorder uplinkQueueLatency = new LatencyRecorder();
 
   @Override
   protected U createUplink(LinkBinding link) {
@@ -212,7 +216,7 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
   }
 
   protected void onCommand(Push<CommandMessage> push) {
-    new WarpLaneRelayOnCommand<View>(this, push.message(), push.cont()).run();
+    new WarpLaneRelayOnCommand<View>(this, push.message(), push.cont(), push.pushTime()).run();
   }
 
   @Override
@@ -259,6 +263,23 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
     didUpdateMetrics();
   }
 
+  /**
+   * Records the time from a command's {@link Push#pushTime() push time},
+   * including any wait in the node mailbox, to the completion of this lane's
+   * command callbacks, in nanoseconds.
+   */
+  public void accumulateCommandLatency(long commandLatency) {
+    this.uplinkCommandLatency.record(commandLatency);
+  }
+
+  /**
+   * Records the time an event queued on one of this lane's uplinks waited
+   * to be pulled down by its link, in nanoseconds.
+   */
+  public void accumulateQueueLatency(long queueLatency) {
+    this.uplinkQueueLatency.record(queueLatency);
+  }
+
   protected void accumulateWarpUplinkProfile(WarpUplinkProfile profile) {
     UPLINK_EVENT_DELTA.addAndGet(this, profile.eventDelta());
     UPLINK_EVENT_RATE.addAndGet(this, profile.eventRate());
@@ -355,13 +376,17 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
     final long execRate = (long) Math.ceil((1000.0 * (double) execDelta) / (double) dt) + downlinkExecRate;
     final long execTime = EXEC_TIME.addAndGet(this, execDelta);
 
+    final LatencyHistogram uplinkCommandLatency = this.uplinkCommandLatency.snapshot();
+    final LatencyHistogram uplinkQueueLatency = this.uplinkQueueLatency.snapshot();
+
     return new WarpLaneProfile(cellAddress(), execDelta, execRate, execTime,
         downlinkOpenDelta, downlinkOpenCount, downlinkCloseDelta, downlinkCloseCount,
         downlinkEventDelta, downlinkEventRate, downlinkEventCount,
         downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount,
         uplinkOpenDelta, uplinkOpenCount, uplinkCloseDelta, uplinkCloseCount,
         uplinkEventDelta, uplinkEventRate, uplinkEventCount,
-        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount);
+        uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+        uplinkCommandLatency, uplinkQueueLatency);
   }
 
 }
@@ -370,11 +395,14 @@ final class WarpLaneRelayOnCommand<View extends WarpLaneView> extends LaneRelay<
 
   final CommandMessage message;
   final Cont<CommandMessage> cont;
+  final long startTime;
 
-  WarpLaneRelayOnCommand(WarpLaneModel<View, ?> model, CommandMessage message, Cont<CommandMessage> cont) {
+  WarpLaneRelayOnCommand(WarpLaneModel<View, ?> model, CommandMessage message,
+                         Cont<CommandMessage> cont, long pushTime) {
     super(model, 2);
     this.message = message;
     this.cont = cont;
+    this.startTime = pushTime != 0L ? pushTime : System.nanoTime();
   }
 
   @Override
@@ -396,6 +424,7 @@ final class WarpLaneRelayOnCommand<View extends WarpLaneView> extends LaneRelay<
 
   @Override
   protected void done() {
+    this.model.accumulateCommandLatency(System.nanoTime() - this.startTime);
     if (this.cont != null) {
       try {
         this.cont.bind(this.message);
@@ -17,6 +17,7 @@ package swim.runtime.warp;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import swim.api.Link;
+import swim.api.LinkException;
 import swim.api.SwimContext;
 import swim.api.function.DidClose;
 import swim.api.warp.WarpUplink;
@@ -30,16 +31,19 @@ import swim.api.warp.function.OnUnlinkRequest;
 import swim.api.warp.function.OnUnlinkedResponse;
 import swim.concurrent.Conts;
 import swim.runtime.AbstractUplinkContext;
+import swim.runtime.LaneBinding;
 import swim.runtime.LinkBinding;
 import swim.runtime.Metric;
 import swim.runtime.NodeBinding;
 import swim.runtime.Push;
+import swim.runtime.PushBatch;
 import swim.runtime.UplinkAddress;
 import swim.runtime.WarpBinding;
 import swim.runtime.WarpContext;
 import swim.runtime.profile.WarpUplinkProfile;
 import swim.structure.Value;
 import swim.uri.Uri;
+import swim.warp.CommandBatchMessage;
 import swim.warp.CommandMessage;
 import swim.warp.Envelope;
 import swim.warp.EventMessage;
@@ -72,6 +76,8 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
       AtomicLongFieldUpdater.newUpdater(WarpUplinkModem.class, "commandCount");
   static final AtomicLongFieldUpdater<WarpUplinkModem> LAST_REPORT_TIME =
       AtomicLongFieldUpdater.newUpdater(WarpUplinkModem.class, "lastReportTime");
+  static final AtomicLongFieldUpdater<WarpUplinkModem> FEED_TIME =
+      AtomicLongFieldUpdater.newUpdater(WarpUplinkModem.class, "feedTime");
   protected final WarpBinding linkBinding;
   protected final UplinkAddress uplinkAddress;
   protected volatile int status;
@@ -80,6 +86,7 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
   volatile int commandDelta;
   volatile long commandCount;
   volatile long lastReportTime;
+  volatile long feedTime;
 
   protected WarpUplinkModem(WarpBinding linkBinding, UplinkAddress uplinkAddress) {
     this.linkBinding = linkBinding;
@@ -611,6 +618,7 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
 
   public void sendDown(Value body) {
     queueDown(body);
+    didQueueDown();
     do {
       final int oldStatus = this.status;
       final int newStatus = oldStatus | FEEDING_DOWN;
@@ -630,6 +638,7 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
       final int oldStatus = this.status;
       final int newStatus;
       if ((oldStatus & LINKED) != 0) {
+        didQueueDown();
         newStatus = oldStatus | (FEEDING_DOWN | CUED_DOWN);
         if (oldStatus != newStatus) {
           if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
@@ -650,12 +659,38 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
     } while (true);
   }
 
+  /**
+   * Stamps the time at which the oldest not yet pulled down event was queued,
+   * so that the next pull can record how long the event waited for its link.
+   */
+  void didQueueDown() {
+    if (this.feedTime == 0L) {
+      FEED_TIME.compareAndSet(this, 0L, System.nanoTime());
+    }
+  }
+
+  /**
+   * Records how long queued events waited to be pulled down, in nanoseconds.
+   * Samples accumulate in the histogram of the lane that owns this uplink,
+   * rather than in a per-uplink histogram.
+   */
+  protected void accumulateQueueLatency(long queueLatency) {
+    final LaneBinding laneBinding = laneBinding();
+    if (laneBinding instanceof WarpLaneModel<?, ?>) {
+      ((WarpLaneModel<?, ?>) laneBinding).accumulateQueueLatency(queueLatency);
+    }
+  }
+
   @Override
   public void pullDown() {
     stage().execute(new WarpUplinkModemPullDown(this));
   }
 
   protected void runPullDown() {
+    final long feedTime = FEED_TIME.getAndSet(this, 0L);
+    if (feedTime != 0L) {
+      accumulateQueueLatency(System.nanoTime() - feedTime);
+    }
     try {
       pullDownEnvelope();
     } catch (Throwable error) {
@@ -843,7 +878,11 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
   public void pushUp(Push<?> push) {
     final Object message = push.message();
     if (message instanceof CommandMessage) {
+      push = push.pushTime(System.nanoTime());
       pushUpCommand((Push<CommandMessage>) push);
+    } else if (message instanceof CommandBatchMessage) {
+      push = push.pushTime(System.nanoTime());
+      pushUpCommandBatch(push, (CommandBatchMessage) message);
     } else if (message instanceof LinkRequest) {
       pushUpLink((Push<LinkRequest>) push);
     } else if (message instanceof SyncRequest) {
@@ -866,6 +905,18 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
     }
   }
 
+  protected void pushUpCommandBatch(Push<?> push, CommandBatchMessage batch) {
+    final PushBatch<CommandMessage> parts = new PushBatch<CommandMessage>(push, batch.size());
+    for (int i = 0, n = batch.size(); i < n; i += 1) {
+      final CommandMessage command = batch.get(i);
+      if (command != null) {
+        pushUpCommand(parts.part(push.laneUri(), command));
+      } else {
+        parts.trap(new LinkException("malformed command in batch: " + batch));
+      }
+    }
+  }
+
   protected void runOnCommand(Push<CommandMessage> push) {
     try {
       dispatchOnCommand(push.message(), false);
@@ -22,6 +22,7 @@ module swim.server {
   requires transitive swim.remote;
   requires transitive swim.service;
   requires transitive swim.service.web;
+  requires transitive swim.service.mqtt;
   requires transitive swim.auth;
   requires transitive swim.actor;
   requires transitive swim.java;
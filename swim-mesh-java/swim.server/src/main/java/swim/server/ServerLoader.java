@@ -27,6 +27,7 @@ import swim.kernel.KernelException;
 import swim.kernel.KernelLoader;
 import swim.remote.RemoteKernel;
 import swim.service.ServiceKernel;
+import swim.service.mqtt.MqttServiceKernel;
 import swim.service.web.WebServiceKernel;
 import swim.store.db.DbStoreKernel;
 import swim.store.mem.MemStoreKernel;
@@ -96,6 +97,9 @@ public final class ServerLoader {
     if (kernel.unwrapKernel(WebServiceKernel.class) == null) {
       kernel = kernel.injectKernel(new WebServiceKernel());
     }
+    if (kernel.unwrapKernel(MqttServiceKernel.class) == null) {
+      kernel = kernel.injectKernel(new MqttServiceKernel());
+    }
     if (kernel.unwrapKernel(AuthenticatorKernel.class) == null) {
       kernel = kernel.injectKernel(new AuthenticatorKernel());
     }
@@ -14,10 +14,14 @@
 
 package swim.server;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import org.testng.TestException;
 import org.testng.annotations.Test;
+import swim.actor.ActorSpace;
 import swim.actor.ActorSpaceDef;
 import swim.api.SwimLane;
 import swim.api.SwimRoute;
@@ -40,9 +44,13 @@ import swim.api.warp.function.WillUnlink;
 import swim.codec.Format;
 import swim.concurrent.Cont;
 import swim.kernel.Kernel;
+import swim.runtime.Push;
 import swim.service.web.WebServiceDef;
 import swim.structure.Text;
+import swim.uri.Uri;
+import swim.warp.CommandBatchMessage;
 import swim.warp.CommandMessage;
+import swim.warp.Envelope;
 import static org.testng.Assert.assertEquals;
 
 public class CommandLaneSpec {
@@ -153,8 +161,44 @@ public class CommandLaneSpec {
     }
   }
 
+  @Test
+  public void testPushCommandBatchToCommandLane() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final ActorSpace space = (ActorSpace) kernel.openSpace(ActorSpaceDef.fromName("test"));
+    space.openPlane("test", TestCommandPlane.class);
+
+    final CountDownLatch batchDidPush = new CountDownLatch(1);
+    final CommandBatchMessage batch = new CommandBatchMessage("/command/batch")
+        .command(Uri.parse("command"), Text.from("one"))
+        .command(Uri.parse("command"), Text.from("two"))
+        .command(Uri.parse("command"), Text.from("three"));
+    try {
+      kernel.start();
+      TestCommandLaneAgent.commands.clear();
+      space.pushDown(new Push<Envelope>(Uri.empty(), Uri.empty(), batch.nodeUri(), Uri.empty(),
+                                        0.0f, null, batch, new Cont<Envelope>() {
+        @Override
+        public void bind(Envelope message) {
+          batchDidPush.countDown();
+        }
+
+        @Override
+        public void trap(Throwable error) {
+          throw new TestException(error);
+        }
+      }));
+      batchDidPush.await(1, TimeUnit.SECONDS);
+      assertEquals(batchDidPush.getCount(), 0);
+      assertEquals(TestCommandLaneAgent.commands, Arrays.asList("one", "two", "three"));
+    } finally {
+      kernel.stop();
+    }
+  }
+
   static class TestCommandLaneAgent extends AbstractAgent {
 
+    static final List<String> commands = new CopyOnWriteArrayList<String>();
+
     @SwimLane("command")
     CommandLane<String> testValue = commandLane()
         .valueClass(String.class)
@@ -162,6 +206,7 @@ public class CommandLaneSpec {
           @Override
           public void onCommand(String value) {
             System.out.println("lane onCommand value: " + Format.debug(value));
+            commands.add(value);
           }
         });
 
@@ -0,0 +1,278 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.server;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+import swim.actor.ActorSpaceDef;
+import swim.api.SwimLane;
+import swim.api.SwimRoute;
+import swim.api.agent.AbstractAgent;
+import swim.api.agent.AgentRoute;
+import swim.api.lane.CommandLane;
+import swim.api.lane.MapLane;
+import swim.api.lane.ValueLane;
+import swim.api.plane.AbstractPlane;
+import swim.db.StoreSettings;
+import swim.kernel.Kernel;
+import swim.kernel.KernelProxy;
+import swim.runtime.HostAddress;
+import swim.runtime.HostBinding;
+import swim.runtime.HostDef;
+import swim.runtime.NodeAddress;
+import swim.runtime.NodeBinding;
+import swim.runtime.NodeContext;
+import swim.runtime.PartBinding;
+import swim.runtime.router.HostTable;
+import swim.runtime.router.HostTableNode;
+import swim.service.web.WebServiceDef;
+import swim.store.db.DbStoreDef;
+import swim.structure.Text;
+import swim.uri.Uri;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class HostLoadSpec {
+
+  static final int NODE_COUNT = 8;
+
+  final File testOutputDir = new File("build/test-output");
+
+  @Test
+  public void loadResidentNodesInParallelBeforeStarting() throws InterruptedException {
+    final TestLoadKernel loadKernel = new TestLoadKernel(4, null);
+    final Collection<String> events = runHost(loadKernel, "host-load.swimdb", 53559, NODE_COUNT);
+    assertEquals(TestLoadAgent.residentCount, 2 * NODE_COUNT);
+
+    // Every node finishes loading before any node starts.
+    int loadCount = 0;
+    int startCount = 0;
+    for (String event : events) {
+      if (event.startsWith("didLoad ")) {
+        assertEquals(startCount, 0, "node loaded after a node started: " + event);
+        loadCount += 1;
+      } else if (event.startsWith("didStart ")) {
+        startCount += 1;
+      }
+    }
+    assertEquals(loadCount, NODE_COUNT);
+    assertEquals(startCount, NODE_COUNT);
+    final HostTable host = loadKernel.hosts.peek();
+    assertEquals(host.loadParallelism(), 4);
+    assertEquals(host.loadingNodeCount(), 0);
+  }
+
+  @Test
+  public void propagateNodeLoadFailures() throws InterruptedException {
+    final Uri failingNodeUri = Uri.parse("/load/5");
+    final TestLoadKernel loadKernel = new TestLoadKernel(4, failingNodeUri);
+    final Collection<String> events = runHost(loadKernel, "host-load-failure.swimdb", 53560, NODE_COUNT - 1);
+
+    // A failing node load is reported to the host without stalling the others.
+    final TestLoadHostTable host = loadKernel.hosts.peek();
+    assertEquals(host.failures.size(), 1);
+    assertTrue(host.failures.peek() instanceof TestLoadException);
+    assertEquals(host.loadingNodeCount(), 0);
+    int loadCount = 0;
+    for (String event : events) {
+      if (event.startsWith("didLoad ")) {
+        assertTrue(!event.equals("didLoad " + failingNodeUri));
+        loadCount += 1;
+      }
+    }
+    assertEquals(loadCount, NODE_COUNT - 1);
+  }
+
+  Collection<String> runHost(TestLoadKernel loadKernel, String storeName, int port, int startCount)
+      throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, storeName);
+    this.testOutputDir.mkdirs();
+    storePath.delete();
+    final Kernel kernel = ServerLoader.loadServerStack().injectKernel(loadKernel);
+    final TestLoadPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test")
+        .storeDef(new DbStoreDef("test", storePath.getPath(), StoreSettings.standard())))
+        .openPlane("test", TestLoadPlane.class);
+    TestLoadAgent.residentCount = 0;
+    TestLoadHostTable.events.clear();
+    TestLoadHostTable.didStart = new CountDownLatch(startCount);
+    try {
+      kernel.openService(WebServiceDef.standard().port(port).spaceName("test"));
+      kernel.start();
+      // Routing the first command opens the host, which opens all test nodes.
+      plane.command("warp://localhost:" + port, "/load/0", "touch", Text.from("x"));
+      TestLoadHostTable.didStart.await(5, TimeUnit.SECONDS);
+      assertEquals(TestLoadHostTable.didStart.getCount(), 0L);
+      return TestLoadHostTable.events;
+    } finally {
+      kernel.stop();
+      storePath.delete();
+    }
+  }
+
+  static class TestLoadAgent extends AbstractAgent {
+
+    static volatile int residentCount;
+
+    @SwimLane("state")
+    ValueLane<Integer> state = this.<Integer>valueLane()
+        .valueClass(Integer.class)
+        .isResident(true);
+
+    @SwimLane("history")
+    MapLane<Integer, String> history = this.<Integer, String>mapLane()
+        .keyClass(Integer.class)
+        .valueClass(String.class)
+        .isResident(true);
+
+    @SwimLane("touch")
+    CommandLane<String> touch = this.<String>commandLane()
+        .valueClass(String.class);
+
+    @Override
+    public void didStart() {
+      synchronized (TestLoadAgent.class) {
+        if (this.state.isResident()) {
+          residentCount += 1;
+        }
+        if (this.history.isResident()) {
+          residentCount += 1;
+        }
+      }
+    }
+
+  }
+
+  static class TestLoadPlane extends AbstractPlane {
+
+    @SwimRoute("/load/:id")
+    AgentRoute<TestLoadAgent> loadAgent;
+
+  }
+
+  static final class TestLoadException extends RuntimeException {
+
+    TestLoadException(String message) {
+      super(message);
+    }
+
+    private static final long serialVersionUID = 1L;
+
+  }
+
+  static class TestLoadHostTable extends HostTable {
+
+    static final Collection<String> events = new ConcurrentLinkedQueue<String>();
+    static volatile CountDownLatch didStart;
+
+    final Uri failingNodeUri;
+    final ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<Throwable>();
+
+    TestLoadHostTable(int loadParallelism, Uri failingNodeUri) {
+      super(60000L, loadParallelism);
+      this.failingNodeUri = failingNodeUri;
+    }
+
+    @Override
+    protected void willOpen() {
+      for (int i = 0; i < NODE_COUNT; i += 1) {
+        openNode(Uri.parse("/load/" + i));
+      }
+      super.willOpen();
+    }
+
+    @Override
+    protected NodeContext createNodeContext(NodeAddress nodeAddress, NodeBinding node) {
+      return new TestLoadHostTableNode(this, node, nodeAddress);
+    }
+
+    @Override
+    public void didFail(Throwable error) {
+      this.failures.add(error);
+      super.didFail(error);
+    }
+
+  }
+
+  static class TestLoadHostTableNode extends HostTableNode {
+
+    TestLoadHostTableNode(TestLoadHostTable host, NodeBinding node, NodeAddress nodeAddress) {
+      super(host, node, nodeAddress);
+    }
+
+    @Override
+    public void willLoad() {
+      if (nodeUri().equals(((TestLoadHostTable) this.host).failingNodeUri)) {
+        throw new TestLoadException("failed to load " + nodeUri());
+      }
+      try {
+        // Give concurrent node loads a chance to overlap.
+        Thread.sleep(20L);
+      } catch (InterruptedException cause) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    @Override
+    public void didLoad() {
+      TestLoadHostTable.events.add("didLoad " + nodeUri());
+    }
+
+    @Override
+    public void didStart() {
+      TestLoadHostTable.events.add("didStart " + nodeUri());
+      TestLoadHostTable.didStart.countDown();
+    }
+
+  }
+
+  static class TestLoadKernel extends KernelProxy {
+
+    final int loadParallelism;
+    final Uri failingNodeUri;
+    final ConcurrentLinkedQueue<TestLoadHostTable> hosts = new ConcurrentLinkedQueue<TestLoadHostTable>();
+
+    TestLoadKernel(int loadParallelism, Uri failingNodeUri) {
+      this.loadParallelism = loadParallelism;
+      this.failingNodeUri = failingNodeUri;
+    }
+
+    HostTable createHostTable() {
+      final TestLoadHostTable host = new TestLoadHostTable(this.loadParallelism, this.failingNodeUri);
+      this.hosts.add(host);
+      return host;
+    }
+
+    @Override
+    public double kernelPriority() {
+      return -0.5;
+    }
+
+    @Override
+    public HostBinding createHost(PartBinding part, HostDef hostDef) {
+      return createHostTable();
+    }
+
+    @Override
+    public HostBinding createHost(HostAddress hostAddress) {
+      return createHostTable();
+    }
+
+  }
+
+}
@@ -0,0 +1,376 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.server;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+import swim.actor.ActorSpaceDef;
+import swim.api.SwimLane;
+import swim.api.SwimRoute;
+import swim.api.agent.AbstractAgent;
+import swim.api.agent.AgentRoute;
+import swim.api.lane.CommandLane;
+import swim.api.lane.ValueLane;
+import swim.api.plane.AbstractPlane;
+import swim.api.warp.function.OnCommand;
+import swim.concurrent.TimerFunction;
+import swim.db.StoreSettings;
+import swim.kernel.Kernel;
+import swim.kernel.KernelProxy;
+import swim.runtime.HostAddress;
+import swim.runtime.HostBinding;
+import swim.runtime.HostDef;
+import swim.runtime.NodeBinding;
+import swim.runtime.PartBinding;
+import swim.runtime.router.HostTable;
+import swim.service.web.WebServiceDef;
+import swim.store.db.DbStoreDef;
+import swim.structure.Text;
+import static org.testng.Assert.assertEquals;
+
+public class PassivationSpec {
+
+  final File testOutputDir = new File("build/test-output");
+
+  @Test
+  public void testPassivateIdleAgents() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "passivation.swimdb");
+    this.testOutputDir.mkdirs();
+    storePath.delete();
+    final Kernel kernel = ServerLoader.loadServerStack().injectKernel(new TestPassivationKernel(100L));
+    final TestCounterPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test")
+        .storeDef(new DbStoreDef("test", storePath.getPath(), StoreSettings.standard())))
+        .openPlane("test", TestCounterPlane.class);
+    TestCounterAgent.startCount.set(0);
+    TestCounterAgent.stopCount.set(0);
+    try {
+      kernel.openService(WebServiceDef.standard().port(53556).spaceName("test"));
+      kernel.start();
+
+      TestCounterAgent.didIncrement = new CountDownLatch(1);
+      plane.command("warp://localhost:53556", "/counter/a", "increment", Text.from("a"));
+      TestCounterAgent.didIncrement.await(1, TimeUnit.SECONDS);
+      assertEquals(TestCounterAgent.didIncrement.getCount(), 0L);
+      assertEquals(TestCounterAgent.lastCount, 1);
+
+      // Wait for the idle agent to be passivated.
+      final long deadline = System.currentTimeMillis() + 2000L;
+      while (TestCounterAgent.stopCount.get() == 0 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(50L);
+      }
+      assertEquals(TestCounterAgent.stopCount.get(), 1);
+      assertEquals(TestCounterAgent.startCount.get(), 1);
+
+      TestCounterAgent.didIncrement = new CountDownLatch(1);
+      plane.command("warp://localhost:53556", "/counter/a", "increment", Text.from("a"));
+      TestCounterAgent.didIncrement.await(1, TimeUnit.SECONDS);
+      assertEquals(TestCounterAgent.didIncrement.getCount(), 0L);
+      assertEquals(TestCounterAgent.startCount.get(), 2);
+      assertEquals(TestCounterAgent.lastCount, 2);
+    } finally {
+      kernel.stop();
+      storePath.delete();
+    }
+  }
+
+  @Test
+  public void testRacePushesAgainstPassivation() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "passivation-race.swimdb");
+    this.testOutputDir.mkdirs();
+    storePath.delete();
+    final TestPassivationKernel passivationKernel = new TestPassivationKernel(5L);
+    final Kernel kernel = ServerLoader.loadServerStack().injectKernel(passivationKernel);
+    final TestCounterPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test")
+        .storeDef(new DbStoreDef("test", storePath.getPath(), StoreSettings.standard())))
+        .openPlane("test", TestCounterPlane.class);
+    final int commandCount = 200;
+    TestCounterAgent.commandCount.set(0);
+    TestCounterAgent.didIncrement = new CountDownLatch(commandCount);
+    final AtomicBoolean racing = new AtomicBoolean(true);
+    final Thread passivator = new Thread() {
+      @Override
+      public void run() {
+        while (racing.get()) {
+          for (HostTable host : passivationKernel.hosts) {
+            host.passivateIdleNodes();
+          }
+          Thread.yield();
+        }
+      }
+    };
+    try {
+      kernel.openService(WebServiceDef.standard().port(53557).spaceName("test"));
+      kernel.start();
+      passivator.start();
+      for (int i = 0; i < commandCount; i += 1) {
+        plane.command("warp://localhost:53557", "/counter/" + (i % 4), "increment", Text.from("x"));
+        if (i % 8 == 0) {
+          Thread.sleep(10L);
+        }
+      }
+      TestCounterAgent.didIncrement.await(10, TimeUnit.SECONDS);
+      assertEquals(TestCounterAgent.commandCount.get(), commandCount);
+    } finally {
+      racing.set(false);
+      passivator.join();
+      kernel.stop();
+      storePath.delete();
+    }
+  }
+
+  @Test
+  public void testRacePushAgainstAbortedPassivation() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "passivation-abort.swimdb");
+    this.testOutputDir.mkdirs();
+    storePath.delete();
+    final TestPassivationKernel passivationKernel = new TestPassivationKernel(50L, true);
+    final Kernel kernel = ServerLoader.loadServerStack().injectKernel(passivationKernel);
+    final TestCounterPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test")
+        .storeDef(new DbStoreDef("test", storePath.getPath(), StoreSettings.standard())))
+        .openPlane("test", TestCounterPlane.class);
+    TestCounterAgent.startCount.set(0);
+    TestStallingHostTable.passivating = new CountDownLatch(1);
+    TestStallingHostTable.release = new CountDownLatch(1);
+    try {
+      kernel.openService(WebServiceDef.standard().port(53558).spaceName("test"));
+      kernel.start();
+
+      TestCounterAgent.didIncrement = new CountDownLatch(1);
+      plane.command("warp://localhost:53558", "/counter/a", "increment", Text.from("a"));
+      TestCounterAgent.didIncrement.await(1, TimeUnit.SECONDS);
+      assertEquals(TestCounterAgent.didIncrement.getCount(), 0L);
+
+      // Hold the idle node mid-passivation, then push to it.
+      TestStallingHostTable.stall.set(true);
+      TestStallingHostTable.passivating.await(2, TimeUnit.SECONDS);
+      assertEquals(TestStallingHostTable.passivating.getCount(), 0L);
+      TestCounterAgent.didIncrement = new CountDownLatch(1);
+      plane.command("warp://localhost:53558", "/counter/a", "increment", Text.from("a"));
+      TestCounterAgent.didIncrement.await(100, TimeUnit.MILLISECONDS);
+      assertEquals(TestCounterAgent.didIncrement.getCount(), 1L);
+
+      // Aborting passivation must let the waiting push into the same node.
+      TestStallingHostTable.release.countDown();
+      TestCounterAgent.didIncrement.await(2, TimeUnit.SECONDS);
+      assertEquals(TestCounterAgent.didIncrement.getCount(), 0L);
+      assertEquals(TestCounterAgent.startCount.get(), 1);
+      assertEquals(TestCounterAgent.lastCount, 2);
+    } finally {
+      TestStallingHostTable.stall.set(false);
+      TestStallingHostTable.release.countDown();
+      kernel.stop();
+      storePath.delete();
+    }
+  }
+
+  @Test
+  public void testKeepAgentsWithScheduledTimers() throws InterruptedException {
+    testKeepResidentAgent("/timer/a", true, 53562);
+  }
+
+  @Test
+  public void testKeepAgentsWithTransientLanes() throws InterruptedException {
+    testKeepResidentAgent("/transient/a", true, 53563);
+  }
+
+  @Test
+  public void testKeepAgentsWithoutDurableStore() throws InterruptedException {
+    testKeepResidentAgent("/counter/a", false, 53564);
+  }
+
+  void testKeepResidentAgent(String nodeUri, boolean isDurable, int port) throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "passivation-resident.swimdb");
+    this.testOutputDir.mkdirs();
+    storePath.delete();
+    final Kernel kernel = ServerLoader.loadServerStack().injectKernel(new TestPassivationKernel(20L));
+    ActorSpaceDef spaceDef = ActorSpaceDef.fromName("test");
+    if (isDurable) {
+      spaceDef = spaceDef.storeDef(new DbStoreDef("test", storePath.getPath(), StoreSettings.standard()));
+    }
+    final TestCounterPlane plane = kernel.openSpace(spaceDef).openPlane("test", TestCounterPlane.class);
+    TestCounterAgent.startCount.set(0);
+    TestCounterAgent.stopCount.set(0);
+    try {
+      kernel.openService(WebServiceDef.standard().port(port).spaceName("test"));
+      kernel.start();
+
+      TestCounterAgent.didIncrement = new CountDownLatch(1);
+      plane.command("warp://localhost:" + port, nodeUri, "increment", Text.from("a"));
+      TestCounterAgent.didIncrement.await(1, TimeUnit.SECONDS);
+      assertEquals(TestCounterAgent.didIncrement.getCount(), 0L);
+      assertEquals(TestCounterAgent.lastCount, 1);
+
+      // Idle well past the idle timeout; the agent must stay resident.
+      Thread.sleep(500L);
+      assertEquals(TestCounterAgent.stopCount.get(), 0);
+
+      TestCounterAgent.didIncrement = new CountDownLatch(1);
+      plane.command("warp://localhost:" + port, nodeUri, "increment", Text.from("a"));
+      TestCounterAgent.didIncrement.await(1, TimeUnit.SECONDS);
+      assertEquals(TestCounterAgent.didIncrement.getCount(), 0L);
+      assertEquals(TestCounterAgent.startCount.get(), 1);
+      assertEquals(TestCounterAgent.lastCount, 2);
+    } finally {
+      kernel.stop();
+      storePath.delete();
+    }
+  }
+
+  static class TestCounterAgent extends AbstractAgent {
+
+    static final AtomicInteger startCount = new AtomicInteger();
+    static final AtomicInteger stopCount = new AtomicInteger();
+    static final AtomicInteger commandCount = new AtomicInteger();
+    static volatile CountDownLatch didIncrement;
+    static volatile int lastCount;
+
+    @SwimLane("count")
+    ValueLane<Integer> count = this.<Integer>valueLane()
+        .valueClass(Integer.class);
+
+    @SwimLane("increment")
+    CommandLane<String> increment = this.<String>commandLane()
+        .valueClass(String.class)
+        .onCommand(new OnCommand<String>() {
+          @Override
+          public void onCommand(String value) {
+            final Integer oldCount = count.get();
+            final int newCount = (oldCount != null ? oldCount : 0) + 1;
+            count.set(newCount);
+            lastCount = newCount;
+            commandCount.incrementAndGet();
+            didIncrement.countDown();
+          }
+        });
+
+    @Override
+    public void didStart() {
+      startCount.incrementAndGet();
+    }
+
+    @Override
+    public void didStop() {
+      stopCount.incrementAndGet();
+    }
+
+  }
+
+  static class TestTimerAgent extends TestCounterAgent {
+
+    @Override
+    public void didStart() {
+      super.didStart();
+      setTimer(60000L, new TimerFunction() {
+        @Override
+        public void runTimer() {
+          // nop
+        }
+      });
+    }
+
+  }
+
+  static class TestTransientAgent extends TestCounterAgent {
+
+    {
+      this.count.isTransient(true);
+    }
+
+  }
+
+  static class TestCounterPlane extends AbstractPlane {
+
+    @SwimRoute("/counter/:id")
+    AgentRoute<TestCounterAgent> counterAgent;
+
+    @SwimRoute("/timer/:id")
+    AgentRoute<TestTimerAgent> timerAgent;
+
+    @SwimRoute("/transient/:id")
+    AgentRoute<TestTransientAgent> transientAgent;
+
+  }
+
+  static class TestStallingHostTable extends HostTable {
+
+    static final AtomicBoolean stall = new AtomicBoolean();
+    static volatile CountDownLatch passivating;
+    static volatile CountDownLatch release;
+
+    TestStallingHostTable(long idleTimeout) {
+      super(idleTimeout);
+    }
+
+    @Override
+    protected boolean shouldPassivate(NodeBinding nodeBinding, long idleTime) {
+      if (stall.compareAndSet(true, false)) {
+        passivating.countDown();
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException cause) {
+          Thread.currentThread().interrupt();
+        }
+        return false;
+      }
+      return super.shouldPassivate(nodeBinding, idleTime);
+    }
+
+  }
+
+  static class TestPassivationKernel extends KernelProxy {
+
+    final long idleTimeout;
+    final boolean stalling;
+    final Collection<HostTable> hosts = new ConcurrentLinkedQueue<HostTable>();
+
+    TestPassivationKernel(long idleTimeout, boolean stalling) {
+      this.idleTimeout = idleTimeout;
+      this.stalling = stalling;
+    }
+
+    TestPassivationKernel(long idleTimeout) {
+      this(idleTimeout, false);
+    }
+
+    HostTable createHostTable() {
+      final HostTable host = this.stalling ? new TestStallingHostTable(this.idleTimeout) : new HostTable(this.idleTimeout);
+      this.hosts.add(host);
+      return host;
+    }
+
+    @Override
+    public double kernelPriority() {
+      return -0.5;
+    }
+
+    @Override
+    public HostBinding createHost(PartBinding part, HostDef hostDef) {
+      return createHostTable();
+    }
+
+    @Override
+    public HostBinding createHost(HostAddress hostAddress) {
+      return createHostTable();
+    }
+
+  }
+
+}
@@ -0,0 +1,54 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.service.mqtt;
+
+import swim.api.auth.Credentials;
+import swim.structure.Value;
+import swim.uri.Uri;
+
+/**
+ * Credentials presented by an MQTT client in its {@code CONNECT} packet.
+ * The {@code claims} carry the client's {@code clientId}, and its optional
+ * {@code username} and {@code password}, so that an authenticator can, for
+ * example, verify a token passed as the password.
+ */
+public final class MqttCredentials implements Credentials {
+
+  final Uri requestUri;
+  final Uri fromUri;
+  final Value claims;
+
+  public MqttCredentials(Uri requestUri, Uri fromUri, Value claims) {
+    this.requestUri = requestUri;
+    this.fromUri = fromUri;
+    this.claims = claims;
+  }
+
+  @Override
+  public Uri requestUri() {
+    return this.requestUri;
+  }
+
+  @Override
+  public Uri fromUri() {
+    return this.fromUri;
+  }
+
+  @Override
+  public Value claims() {
+    return this.claims;
+  }
+
+}
@@ -0,0 +1,173 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.service.mqtt;
+
+import java.net.InetSocketAddress;
+import swim.api.service.Service;
+import swim.api.service.ServiceContext;
+import swim.api.service.ServiceException;
+import swim.api.space.Space;
+import swim.io.IpService;
+import swim.io.IpServiceRef;
+import swim.io.IpSettings;
+import swim.io.IpSocket;
+import swim.io.IpSocketRef;
+import swim.io.mqtt.MqttInterface;
+import swim.io.mqtt.MqttService;
+import swim.io.mqtt.MqttServiceContext;
+import swim.io.mqtt.MqttSettings;
+import swim.io.mqtt.MqttSocket;
+import swim.kernel.KernelContext;
+import swim.runtime.EdgeBinding;
+import swim.runtime.EdgeContext;
+
+public class MqttIngestService implements Service, MqttService, MqttInterface {
+
+  final KernelContext kernel;
+  final ServiceContext serviceContext;
+  final MqttServiceDef serviceDef;
+  MqttServiceContext mqttServiceContext;
+
+  public MqttIngestService(KernelContext kernel, ServiceContext serviceContext, MqttServiceDef serviceDef) {
+    this.kernel = kernel;
+    this.serviceContext = serviceContext;
+    this.serviceDef = serviceDef;
+  }
+
+  public final KernelContext kernel() {
+    return this.kernel;
+  }
+
+  @Override
+  public final ServiceContext serviceContext() {
+    return this.serviceContext;
+  }
+
+  @Override
+  public final MqttServiceContext mqttServiceContext() {
+    return this.mqttServiceContext;
+  }
+
+  @Override
+  public void setMqttServiceContext(MqttServiceContext mqttServiceContext) {
+    this.mqttServiceContext = mqttServiceContext;
+  }
+
+  public final MqttServiceDef serviceDef() {
+    return this.serviceDef;
+  }
+
+  @Override
+  public final IpSettings ipSettings() {
+    return this.serviceDef.mqttSettings.ipSettings();
+  }
+
+  @Override
+  public final MqttSettings mqttSettings() {
+    return this.serviceDef.mqttSettings;
+  }
+
+  @Override
+  public IpServiceRef bindTcp(InetSocketAddress localAddress, IpService service, IpSettings ipSettings) {
+    return this.serviceContext.bindTcp(localAddress, service, ipSettings);
+  }
+
+  @Override
+  public IpServiceRef bindTls(InetSocketAddress localAddress, IpService service, IpSettings ipSettings) {
+    return this.serviceContext.bindTls(localAddress, service, ipSettings);
+  }
+
+  @Override
+  public IpSocketRef connectTcp(InetSocketAddress remoteAddress, IpSocket socket, IpSettings ipSettings) {
+    return this.serviceContext.connectTcp(remoteAddress, socket, ipSettings);
+  }
+
+  @Override
+  public IpSocketRef connectTls(InetSocketAddress remoteAddress, IpSocket socket, IpSettings ipSettings) {
+    return this.serviceContext.connectTls(remoteAddress, socket, ipSettings);
+  }
+
+  @Override
+  public MqttSocket<?, ?> createSocket() {
+    final String spaceName = this.serviceDef.spaceName;
+    final Space space = this.kernel.getSpace(spaceName);
+    if (space instanceof EdgeContext) {
+      final EdgeBinding edge = ((EdgeContext) space).edgeWrapper();
+      return new MqttIngestSocket(edge, this.serviceDef);
+    } else {
+      throw new ServiceException("unknown space: " + spaceName);
+    }
+  }
+
+  @Override
+  public void willStart() {
+    // stub
+  }
+
+  @Override
+  public void didStart() {
+    final MqttServiceDef serviceDef = this.serviceDef;
+    if (serviceDef.isSecure) {
+      bindMqtts(serviceDef.address, serviceDef.port, this, serviceDef.mqttSettings);
+    } else {
+      bindMqtt(serviceDef.address, serviceDef.port, this, serviceDef.mqttSettings);
+    }
+  }
+
+  @Override
+  public void didBind() {
+    // stub
+  }
+
+  @Override
+  public void didAccept(MqttSocket<?, ?> socket) {
+    // stub
+  }
+
+  @Override
+  public void didUnbind() {
+    // stub
+  }
+
+  @Override
+  public void willStop() {
+    final MqttServiceContext mqttServiceContext = this.mqttServiceContext;
+    if (mqttServiceContext != null) {
+      mqttServiceContext.unbind();
+      this.mqttServiceContext = null;
+    }
+  }
+
+  @Override
+  public void didStop() {
+    // stub
+  }
+
+  @Override
+  public void willClose() {
+    // stub
+  }
+
+  @Override
+  public void didClose() {
+    // stub
+  }
+
+  @Override
+  public void didFail(Throwable error) {
+    error.printStackTrace();
+  }
+
+}
@@ -0,0 +1,436 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.service.mqtt;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import swim.api.auth.Credentials;
+import swim.api.auth.Identity;
+import swim.api.policy.Policy;
+import swim.api.policy.PolicyDirective;
+import swim.codec.ParserException;
+import swim.codec.Utf8;
+import swim.collections.FingerTrieSeq;
+import swim.collections.HashTrieMap;
+import swim.concurrent.Cont;
+import swim.io.mqtt.AbstractMqttSocket;
+import swim.mqtt.MqttConnAck;
+import swim.mqtt.MqttConnStatus;
+import swim.mqtt.MqttConnect;
+import swim.mqtt.MqttDisconnect;
+import swim.mqtt.MqttEntity;
+import swim.mqtt.MqttPacket;
+import swim.mqtt.MqttPingReq;
+import swim.mqtt.MqttPingResp;
+import swim.mqtt.MqttPubAck;
+import swim.mqtt.MqttPublish;
+import swim.mqtt.MqttQoS;
+import swim.mqtt.MqttSubAck;
+import swim.mqtt.MqttSubStatus;
+import swim.mqtt.MqttSubscribe;
+import swim.mqtt.MqttUnsubAck;
+import swim.mqtt.MqttUnsubscribe;
+import swim.recon.Recon;
+import swim.runtime.EdgeBinding;
+import swim.runtime.Push;
+import swim.structure.Data;
+import swim.structure.Record;
+import swim.structure.Text;
+import swim.structure.Value;
+import swim.uri.Uri;
+import swim.uri.UriAuthority;
+import swim.uri.UriHost;
+import swim.uri.UriPath;
+import swim.uri.UriPathBuilder;
+import swim.uri.UriPort;
+import swim.uri.UriScheme;
+import swim.warp.CommandMessage;
+
+/**
+ * Server side of an MQTT connection that forwards the payloads of published
+ * messages as commands to the agent lanes selected by the routes of an
+ * {@link MqttServiceDef}.
+ * <p>
+ * The credentials of the {@code CONNECT} packet are authenticated by the
+ * edge's authenticators, and each command is pushed with the resulting
+ * identity, subject to the edge's policy.
+ * <p>
+ * At least once publications are acknowledged after their commands have been
+ * delivered to their lanes. Acknowledgements that complete while a previous
+ * batch is still being written get coalesced into the next write cycle.
+ * Reading stops when {@link MqttServiceDef#maxInFlight()} commands remain
+ * undelivered, which lets the socket modem disable read interest, and
+ * resumes once half of them have been delivered.
+ */
+public class MqttIngestSocket extends AbstractMqttSocket<Object, Object> {
+
+  final EdgeBinding edge;
+  final MqttServiceDef serviceDef;
+  final ConcurrentLinkedQueue<MqttPubAck> ackQueue;
+  volatile Identity identity;
+  volatile int inFlight;
+  volatile int status;
+  volatile long idleTimeout;
+
+  public MqttIngestSocket(EdgeBinding edge, MqttServiceDef serviceDef) {
+    this.edge = edge;
+    this.serviceDef = serviceDef;
+    this.ackQueue = new ConcurrentLinkedQueue<MqttPubAck>();
+    this.inFlight = 0;
+    this.status = 0;
+    this.idleTimeout = -1L;
+  }
+
+  public final EdgeBinding edge() {
+    return this.edge;
+  }
+
+  public final MqttServiceDef serviceDef() {
+    return this.serviceDef;
+  }
+
+  public final int inFlight() {
+    return this.inFlight;
+  }
+
+  public final Identity identity() {
+    return this.identity;
+  }
+
+  @Override
+  public long idleTimeout() {
+    return this.idleTimeout;
+  }
+
+  @Override
+  public void didConnect() {
+    read(Utf8.stringParser());
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public void didRead(MqttPacket<?> packet) {
+    if (packet instanceof MqttPublish<?>) {
+      if (!didReadPublish((MqttPublish<String>) packet)) {
+        return;
+      }
+    } else if (packet instanceof MqttConnect) {
+      if (!didReadConnect((MqttConnect) packet)) {
+        return;
+      }
+    } else if (packet instanceof MqttPingReq) {
+      write(MqttPingResp.packet());
+    } else if (packet instanceof MqttSubscribe) {
+      didReadSubscribe((MqttSubscribe) packet);
+    } else if (packet instanceof MqttUnsubscribe) {
+      write(MqttUnsubAck.from(((MqttUnsubscribe) packet).packetId()));
+    } else if (packet instanceof MqttDisconnect) {
+      close();
+      return;
+    }
+    readNext();
+  }
+
+  protected boolean didReadConnect(MqttConnect packet) {
+    do {
+      final int oldStatus = this.status;
+      if ((oldStatus & CONNECTED) != 0) {
+        // A second CONNECT packet is a protocol violation.
+        close();
+        return false;
+      }
+      final int newStatus = oldStatus | CONNECTED;
+      if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
+        break;
+      }
+    } while (true);
+    final PolicyDirective<Identity> directive = authenticate(connectCredentials(packet));
+    if (directive == null || !directive.isAllowed()) {
+      final MqttConnStatus status = packet.username() != null || packet.password() != null
+                                  ? MqttConnStatus.BAD_USERNAME_OR_PASSWORD
+                                  : MqttConnStatus.NOT_AUTHORIZED;
+      write(MqttConnAck.from(status));
+      close();
+      return false;
+    }
+    this.identity = directive.get();
+    final int keepAlive = packet.keepAlive();
+    if (keepAlive > 0) {
+      this.idleTimeout = 1500L * (long) keepAlive;
+    }
+    write(MqttConnAck.accepted());
+    return true;
+  }
+
+  protected Credentials connectCredentials(MqttConnect packet) {
+    final Record claims = Record.create(3).slot("clientId", packet.clientId());
+    final String username = packet.username();
+    if (username != null) {
+      claims.slot("username", username);
+    }
+    final Data password = packet.password();
+    if (password != null) {
+      claims.slot("password", new String(password.toByteArray(), StandardCharsets.UTF_8));
+    }
+    return new MqttCredentials(socketUri(localAddress()), socketUri(remoteAddress()), claims);
+  }
+
+  protected PolicyDirective<Identity> authenticate(Credentials credentials) {
+    return this.edge.edgeContext().authenticate(credentials);
+  }
+
+  protected Policy policy() {
+    return this.edge.edgeContext().policy();
+  }
+
+  protected void pushUp(Push<?> push) {
+    this.edge.pushUp(push);
+  }
+
+  protected boolean didReadPublish(MqttPublish<String> packet) {
+    final MqttQoS qos = packet.qos();
+    if ((this.status & CONNECTED) == 0 || qos.isExactlyOnce()) {
+      close();
+      return false;
+    }
+    final int packetId = qos.isAtLeastOnce() ? packet.packetId() : -1;
+    final Uri topicUri = topicUri(packet.topicName());
+    final MqttRouteDef routeDef = routeDef(topicUri);
+    if (routeDef != null) {
+      final HashTrieMap<String, String> params = routeDef.unapply(topicUri);
+      final Uri nodeUri = routeDef.resolveNodeUri(params);
+      final Uri laneUri = routeDef.resolveLaneUri(params);
+      CommandMessage message = new CommandMessage(nodeUri, laneUri, payloadValue(packet.payload()));
+      final Identity identity = this.identity;
+      final Policy policy = policy();
+      if (policy != null) {
+        final PolicyDirective<CommandMessage> directive = policy.canDownlink(message, identity);
+        if (directive.isForbidden()) {
+          close();
+          return false;
+        } else if (!directive.isAllowed()) {
+          if (packetId >= 0) {
+            // Acknowledge denied publications so that clients don't retransmit them.
+            queueAck(packetId);
+          }
+          return true;
+        } else if (directive.get() != null) {
+          message = directive.get();
+        }
+      }
+      INFLIGHT.incrementAndGet(this);
+      pushUp(new Push<CommandMessage>(Uri.empty(), Uri.empty(), message.nodeUri(), message.laneUri(),
+                                      0.0f, identity, message, new MqttIngestCont(this, packetId)));
+    } else if (packetId >= 0) {
+      // Acknowledge unroutable publications so that clients don't retransmit them.
+      queueAck(packetId);
+    }
+    return true;
+  }
+
+  protected void didReadSubscribe(MqttSubscribe packet) {
+    // Ingest connections never publish to clients.
+    final int subscriptionCount = packet.subscriptions().size();
+    FingerTrieSeq<MqttSubStatus> statuses = FingerTrieSeq.empty();
+    for (int i = 0; i < subscriptionCount; i += 1) {
+      statuses = statuses.appended(MqttSubStatus.FAILURE);
+    }
+    write(MqttSubAck.from(packet.packetId(), statuses));
+  }
+
+  protected MqttRouteDef routeDef(Uri topicUri) {
+    final FingerTrieSeq<MqttRouteDef> routeDefs = this.serviceDef.routeDefs;
+    for (int i = 0, n = routeDefs.size(); i < n; i += 1) {
+      final MqttRouteDef routeDef = routeDefs.get(i);
+      if (routeDef.matches(topicUri)) {
+        return routeDef;
+      }
+    }
+    return null;
+  }
+
+  protected Value payloadValue(MqttEntity<String> payload) {
+    final String content = payload.get();
+    if (content == null || content.isEmpty()) {
+      return Value.absent();
+    }
+    try {
+      return Recon.parse(content);
+    } catch (ParserException cause) {
+      return Text.from(content);
+    }
+  }
+
+  void readNext() {
+    if (this.inFlight < this.serviceDef.maxInFlight) {
+      read(Utf8.stringParser());
+      return;
+    }
+    do {
+      final int oldStatus = this.status;
+      final int newStatus = oldStatus | READ_PAUSED;
+      if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
+        break;
+      }
+    } while (true);
+    // Commands may have been delivered before the pause took effect.
+    if (this.inFlight <= this.serviceDef.maxInFlight >>> 1) {
+      resumeReading();
+    }
+  }
+
+  void resumeReading() {
+    do {
+      final int oldStatus = this.status;
+      if ((oldStatus & READ_PAUSED) == 0) {
+        return;
+      }
+      final int newStatus = oldStatus & ~READ_PAUSED;
+      if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
+        break;
+      }
+    } while (true);
+    read(Utf8.stringParser());
+  }
+
+  void didPushCommand(int packetId) {
+    if (packetId >= 0) {
+      queueAck(packetId);
+    }
+    final int inFlight = INFLIGHT.decrementAndGet(this);
+    if (inFlight <= this.serviceDef.maxInFlight >>> 1 && (this.status & READ_PAUSED) != 0) {
+      resumeReading();
+    }
+  }
+
+  void queueAck(int packetId) {
+    this.ackQueue.add(MqttPubAck.from(packetId));
+    flushAcks();
+  }
+
+  void flushAcks() {
+    do {
+      final int oldStatus = this.status;
+      if ((oldStatus & ACKING) != 0) {
+        // The current ack cycle will pick up the queued ack.
+        return;
+      }
+      final int newStatus = oldStatus | ACKING;
+      if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
+        break;
+      }
+    } while (true);
+    writeAcks();
+  }
+
+  void writeAcks() {
+    MqttPubAck ack = this.ackQueue.poll();
+    if (ack != null) {
+      do {
+        write(ack);
+        ack = this.ackQueue.poll();
+      } while (ack != null);
+    } else {
+      do {
+        final int oldStatus = this.status;
+        final int newStatus = oldStatus & ~ACKING;
+        if (STATUS.compareAndSet(this, oldStatus, newStatus)) {
+          break;
+        }
+      } while (true);
+      if (!this.ackQueue.isEmpty()) {
+        flushAcks();
+      }
+    }
+  }
+
+  @Override
+  public void doWrite() {
+    if ((this.status & ACKING) != 0) {
+      writeAcks();
+    }
+  }
+
+  @Override
+  public void didTimeout() {
+    close();
+  }
+
+  Uri socketUri(InetSocketAddress address) {
+    if (address == null) {
+      return Uri.empty();
+    }
+    final UriAuthority authority = UriAuthority.from(UriHost.inetAddress(address.getAddress()),
+                                                     UriPort.from(address.getPort()));
+    return Uri.from(UriScheme.from(isSecure() ? "mqtts" : "mqtt"), authority, UriPath.slash());
+  }
+
+  static Uri topicUri(String topicName) {
+    final UriPathBuilder builder = new UriPathBuilder();
+    int start = 0;
+    final int length = topicName.length();
+    while (start <= length) {
+      int end = topicName.indexOf('/', start);
+      if (end < 0) {
+        end = length;
+      }
+      if (end > start) {
+        builder.addSegment(topicName.substring(start, end));
+      }
+      if (end < length) {
+        builder.addSlash();
+      }
+      start = end + 1;
+    }
+    return Uri.from(builder.bind());
+  }
+
+  static final int CONNECTED = 1 << 0;
+  static final int READ_PAUSED = 1 << 1;
+  static final int ACKING = 1 << 2;
+
+  static final AtomicIntegerFieldUpdater<MqttIngestSocket> STATUS =
+      AtomicIntegerFieldUpdater.newUpdater(MqttIngestSocket.class, "status");
+
+  static final AtomicIntegerFieldUpdater<MqttIngestSocket> INFLIGHT =
+      AtomicIntegerFieldUpdater.newUpdater(MqttIngestSocket.class, "inFlight");
+
+}
+
+final class MqttIngestCont implements Cont<CommandMessage> {
+
+  final MqttIngestSocket socket;
+  final int packetId;
+
+  MqttIngestCont(MqttIngestSocket socket, int packetId) {
+    this.socket = socket;
+    this.packetId = packetId;
+  }
+
+  @Override
+  public void bind(CommandMessage message) {
+    this.socket.didPushCommand(this.packetId);
+  }
+
+  @Override
+  public void trap(Throwable error) {
+    // Undeliverable commands are acknowledged too; retransmitting them
+    // wouldn't route them any differently.
+    this.socket.didPushCommand(this.packetId);
+  }
+
+}
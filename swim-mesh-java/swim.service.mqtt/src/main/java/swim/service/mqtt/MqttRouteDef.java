@@ -0,0 +1,151 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.service.mqtt;
+
+import java.util.Iterator;
+import swim.codec.Debug;
+import swim.codec.Format;
+import swim.codec.Output;
+import swim.collections.HashTrieMap;
+import swim.uri.Uri;
+import swim.uri.UriPath;
+import swim.uri.UriPathBuilder;
+import swim.uri.UriPattern;
+import swim.util.Murmur3;
+
+/**
+ * Maps MQTT topics matching a {@code topicPattern} to the lane of an agent.
+ * The {@code nodeUri} and {@code laneUri} templates may contain
+ * {@code :name} path segments, which get replaced by the topic levels bound
+ * to the same names in the {@code topicPattern}.
+ */
+public class MqttRouteDef implements Debug {
+
+  private static int hashSeed;
+  final UriPattern topicPattern;
+  final Uri nodeUri;
+  final Uri laneUri;
+
+  public MqttRouteDef(UriPattern topicPattern, Uri nodeUri, Uri laneUri) {
+    this.topicPattern = topicPattern;
+    this.nodeUri = nodeUri;
+    this.laneUri = laneUri;
+  }
+
+  public static MqttRouteDef from(String topicPattern, String nodeUri, String laneUri) {
+    return new MqttRouteDef(UriPattern.parse(topicPattern), Uri.parse(nodeUri), Uri.parse(laneUri));
+  }
+
+  public final UriPattern topicPattern() {
+    return this.topicPattern;
+  }
+
+  public MqttRouteDef topicPattern(UriPattern topicPattern) {
+    return copy(topicPattern, this.nodeUri, this.laneUri);
+  }
+
+  public final Uri nodeUri() {
+    return this.nodeUri;
+  }
+
+  public MqttRouteDef nodeUri(Uri nodeUri) {
+    return copy(this.topicPattern, nodeUri, this.laneUri);
+  }
+
+  public final Uri laneUri() {
+    return this.laneUri;
+  }
+
+  public MqttRouteDef laneUri(Uri laneUri) {
+    return copy(this.topicPattern, this.nodeUri, laneUri);
+  }
+
+  protected MqttRouteDef copy(UriPattern topicPattern, Uri nodeUri, Uri laneUri) {
+    return new MqttRouteDef(topicPattern, nodeUri, laneUri);
+  }
+
+  public boolean matches(Uri topicUri) {
+    return this.topicPattern.matches(topicUri);
+  }
+
+  public Uri resolveNodeUri(HashTrieMap<String, String> params) {
+    return expand(this.nodeUri, params);
+  }
+
+  public Uri resolveLaneUri(HashTrieMap<String, String> params) {
+    return expand(this.laneUri, params);
+  }
+
+  public HashTrieMap<String, String> unapply(Uri topicUri) {
+    return this.topicPattern.unapply(topicUri);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (other instanceof MqttRouteDef) {
+      final MqttRouteDef that = (MqttRouteDef) other;
+      return this.topicPattern.equals(that.topicPattern) && this.nodeUri.equals(that.nodeUri)
+          && this.laneUri.equals(that.laneUri);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    if (hashSeed == 0) {
+      hashSeed = Murmur3.seed(MqttRouteDef.class);
+    }
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed,
+        this.topicPattern.hashCode()), this.nodeUri.hashCode()), this.laneUri.hashCode()));
+  }
+
+  @Override
+  public void debug(Output<?> output) {
+    output = output.write("MqttRouteDef").write('.').write("from").write('(')
+        .debug(this.topicPattern.toString()).write(", ").debug(this.nodeUri.toString()).write(", ")
+        .debug(this.laneUri.toString()).write(')');
+  }
+
+  @Override
+  public String toString() {
+    return Format.debug(this);
+  }
+
+  static Uri expand(Uri template, HashTrieMap<String, String> params) {
+    final UriPath path = template.path();
+    if (params.isEmpty() || path.isEmpty()) {
+      return template;
+    }
+    final UriPathBuilder builder = new UriPathBuilder();
+    boolean expanded = false;
+    final Iterator<String> components = path.iterator();
+    while (components.hasNext()) {
+      final String component = components.next();
+      if (component.length() > 1 && component.charAt(0) == ':') {
+        final String value = params.get(component.substring(1));
+        if (value != null) {
+          builder.addSegment(value);
+          expanded = true;
+          continue;
+        }
+      }
+      builder.add(component);
+    }
+    return expanded ? template.path(builder.bind()) : template;
+  }
+
+}
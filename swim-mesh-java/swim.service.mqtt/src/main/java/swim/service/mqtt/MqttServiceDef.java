@@ -0,0 +1,202 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.service.mqtt;
+
+import swim.api.service.ServiceDef;
+import swim.codec.Debug;
+import swim.codec.Format;
+import swim.codec.Output;
+import swim.collections.FingerTrieSeq;
+import swim.io.mqtt.MqttSettings;
+import swim.util.Murmur3;
+
+public class MqttServiceDef implements ServiceDef, Debug {
+
+  private static int hashSeed;
+  final String serviceName;
+  final String address;
+  final int port;
+  final boolean isSecure;
+  final String spaceName;
+  final FingerTrieSeq<MqttRouteDef> routeDefs;
+  final int maxInFlight;
+  final MqttSettings mqttSettings;
+
+  public MqttServiceDef(String serviceName, String address, int port, boolean isSecure,
+                        String spaceName, FingerTrieSeq<MqttRouteDef> routeDefs,
+                        int maxInFlight, MqttSettings mqttSettings) {
+    this.serviceName = serviceName;
+    this.address = address;
+    this.port = port;
+    this.isSecure = isSecure;
+    this.spaceName = spaceName;
+    this.routeDefs = routeDefs;
+    this.maxInFlight = maxInFlight;
+    this.mqttSettings = mqttSettings;
+  }
+
+  public static MqttServiceDef standard() {
+    return new MqttServiceDef("mqtt", "0.0.0.0", 1883, false, null, FingerTrieSeq.<MqttRouteDef>empty(),
+                              MAX_IN_FLIGHT, MqttSettings.standard());
+  }
+
+  public static MqttServiceDef secure() {
+    return new MqttServiceDef("mqtt", "0.0.0.0", 8883, true, null, FingerTrieSeq.<MqttRouteDef>empty(),
+                              MAX_IN_FLIGHT, MqttSettings.standard());
+  }
+
+  @Override
+  public final String serviceName() {
+    return this.serviceName;
+  }
+
+  public MqttServiceDef serviceName(String serviceName) {
+    return copy(serviceName, this.address, this.port, this.isSecure, this.spaceName,
+        this.routeDefs, this.maxInFlight, this.mqttSettings);
+  }
+
+  public final String address() {
+    return this.address;
+  }
+
+  public MqttServiceDef address(String address) {
+    return copy(this.serviceName, address, this.port, this.isSecure, this.spaceName,
+        this.routeDefs, this.maxInFlight, this.mqttSettings);
+  }
+
+  public final int port() {
+    return this.port;
+  }
+
+  public MqttServiceDef port(int port) {
+    return copy(this.serviceName, this.address, port, this.isSecure, this.spaceName,
+        this.routeDefs, this.maxInFlight, this.mqttSettings);
+  }
+
+  public final String spaceName() {
+    return this.spaceName;
+  }
+
+  public MqttServiceDef spaceName(String spaceName) {
+    return copy(this.serviceName, this.address, this.port, this.isSecure, spaceName,
+        this.routeDefs, this.maxInFlight, this.mqttSettings);
+  }
+
+  public final FingerTrieSeq<MqttRouteDef> routeDefs() {
+    return this.routeDefs;
+  }
+
+  public MqttServiceDef routeDefs(FingerTrieSeq<MqttRouteDef> routeDefs) {
+    return copy(this.serviceName, this.address, this.port, this.isSecure, this.spaceName,
+        routeDefs, this.maxInFlight, this.mqttSettings);
+  }
+
+  public MqttServiceDef routeDef(MqttRouteDef routeDef) {
+    return copy(this.serviceName, this.address, this.port, this.isSecure, this.spaceName,
+        this.routeDefs.appended(routeDef), this.maxInFlight, this.mqttSettings);
+  }
+
+  /**
+   * Returns the maximum number of commands a connection may have pushed into
+   * the space without yet having been delivered to their lanes; a connection
+   * stops reading publish packets when this limit is reached.
+   */
+  public final int maxInFlight() {
+    return this.maxInFlight;
+  }
+
+  public MqttServiceDef maxInFlight(int maxInFlight) {
+    return copy(this.serviceName, this.address, this.port, this.isSecure, this.spaceName,
+        this.routeDefs, maxInFlight, this.mqttSettings);
+  }
+
+  public final MqttSettings mqttSettings() {
+    return this.mqttSettings;
+  }
+
+  public MqttServiceDef mqttSettings(MqttSettings mqttSettings) {
+    return copy(this.serviceName, this.address, this.port, this.isSecure, this.spaceName,
+        this.routeDefs, this.maxInFlight, mqttSettings);
+  }
+
+  protected MqttServiceDef copy(String serviceName, String address, int port, boolean isSecure,
+                                String spaceName, FingerTrieSeq<MqttRouteDef> routeDefs,
+                                int maxInFlight, MqttSettings mqttSettings) {
+    return new MqttServiceDef(serviceName, address, port, isSecure, spaceName,
+        routeDefs, maxInFlight, mqttSettings);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (other instanceof MqttServiceDef) {
+      final MqttServiceDef that = (MqttServiceDef) other;
+      return (this.serviceName == null ? that.serviceName == null : this.serviceName.equals(that.serviceName))
+          && this.address.equals(that.address) && this.port == that.port && this.isSecure == that.isSecure
+          && (this.spaceName == null ? that.spaceName == null : this.spaceName.equals(that.spaceName))
+          && this.routeDefs.equals(that.routeDefs) && this.maxInFlight == that.maxInFlight
+          && this.mqttSettings.equals(that.mqttSettings);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    if (hashSeed == 0) {
+      hashSeed = Murmur3.seed(MqttServiceDef.class);
+    }
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+        Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed, Murmur3.hash(this.serviceName)),
+            this.address.hashCode()), this.port), Murmur3.hash(this.isSecure)),
+        Murmur3.hash(this.spaceName)), this.routeDefs.hashCode()), this.maxInFlight),
+        this.mqttSettings.hashCode()));
+  }
+
+  @Override
+  public void debug(Output<?> output) {
+    output = output.write("MqttServiceDef").write('.')
+        .write(this.isSecure ? "secure" : "standard").write('(').write(')');
+    if (!"mqtt".equals(this.serviceName)) {
+      output = output.write('.').write("serviceName").write('(').debug(this.serviceName).write(')');
+    }
+    if (!"0.0.0.0".equals(this.address)) {
+      output = output.write('.').write("address").write('(').debug(this.address).write(')');
+    }
+    if (this.isSecure && this.port != 8883 || !this.isSecure && this.port != 1883) {
+      output = output.write('.').write("port").write('(').debug(this.port).write(')');
+    }
+    if (this.spaceName != null) {
+      output = output.write('.').write("spaceName").write('(').debug(this.spaceName).write(')');
+    }
+    for (MqttRouteDef routeDef : this.routeDefs) {
+      output = output.write('.').write("routeDef").write('(').debug(routeDef).write(')');
+    }
+    if (this.maxInFlight != MAX_IN_FLIGHT) {
+      output = output.write('.').write("maxInFlight").write('(').debug(this.maxInFlight).write(')');
+    }
+    if (this.mqttSettings != MqttSettings.standard()) {
+      output = output.write('.').write("mqttSettings").write('(').debug(this.mqttSettings).write(')');
+    }
+  }
+
+  @Override
+  public String toString() {
+    return Format.debug(this);
+  }
+
+  static final int MAX_IN_FLIGHT = 256;
+
+}
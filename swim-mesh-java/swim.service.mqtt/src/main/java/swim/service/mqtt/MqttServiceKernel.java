@@ -0,0 +1,122 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.service.mqtt;
+
+import swim.api.service.ServiceDef;
+import swim.api.service.ServiceFactory;
+import swim.collections.FingerTrieSeq;
+import swim.io.mqtt.MqttSettings;
+import swim.kernel.KernelContext;
+import swim.kernel.KernelProxy;
+import swim.structure.Item;
+import swim.structure.Value;
+import swim.uri.Uri;
+import swim.uri.UriPattern;
+
+public class MqttServiceKernel extends KernelProxy {
+
+  final double kernelPriority;
+
+  public MqttServiceKernel(double kernelPriority) {
+    this.kernelPriority = kernelPriority;
+  }
+
+  public MqttServiceKernel() {
+    this(KERNEL_PRIORITY);
+  }
+
+  @Override
+  public final double kernelPriority() {
+    return this.kernelPriority;
+  }
+
+  @Override
+  public ServiceDef defineService(Item serviceConfig) {
+    final ServiceDef serviceDef = defineMqttService(serviceConfig);
+    return serviceDef != null ? serviceDef : super.defineService(serviceConfig);
+  }
+
+  public MqttServiceDef defineMqttService(Item serviceConfig) {
+    final Value value = serviceConfig.toValue();
+    Value header = value.getAttr("mqtt");
+    boolean isSecure = false;
+    if (!header.isDefined()) {
+      header = value.getAttr("mqtts");
+      isSecure = true;
+    }
+    if (header.isDefined()) {
+      final String mqttProvider = header.get("provider").stringValue(null);
+      if (mqttProvider == null || MqttServiceKernel.class.getName().equals(mqttProvider)) {
+        final String serviceName = serviceConfig.key().stringValue("mqtt");
+        final String address = header.get("address").stringValue("0.0.0.0");
+        isSecure = header.get("secure").booleanValue(isSecure);
+        final int port = header.get("port").intValue(isSecure ? 8883 : 1883);
+        final String spaceName = value.get("space").stringValue(null);
+        final int maxInFlight = value.get("maxInFlight").intValue(MqttServiceDef.MAX_IN_FLIGHT);
+        FingerTrieSeq<MqttRouteDef> routeDefs = FingerTrieSeq.empty();
+        for (int i = 0, n = value.length(); i < n; i += 1) {
+          final MqttRouteDef routeDef = defineMqttRoute(value.getItem(i));
+          if (routeDef != null) {
+            routeDefs = routeDefs.appended(routeDef);
+          }
+        }
+        final MqttSettings mqttSettings = MqttSettings.form().cast(value);
+        return new MqttServiceDef(serviceName, address, port, isSecure, spaceName,
+                                  routeDefs, maxInFlight, mqttSettings);
+      }
+    }
+    return null;
+  }
+
+  public MqttRouteDef defineMqttRoute(Item routeConfig) {
+    final Value header = routeConfig.toValue().getAttr("route");
+    if (header.isDefined()) {
+      final UriPattern topicPattern = header.get("topic").cast(UriPattern.form());
+      final Uri nodeUri = header.get("node").cast(Uri.form());
+      final Uri laneUri = header.get("lane").cast(Uri.form());
+      if (topicPattern != null && nodeUri != null && laneUri != null) {
+        return new MqttRouteDef(topicPattern, nodeUri, laneUri);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public ServiceFactory<?> createServiceFactory(ServiceDef serviceDef, ClassLoader classLoader) {
+    if (serviceDef instanceof MqttServiceDef) {
+      return createMqttServiceFactory((MqttServiceDef) serviceDef);
+    } else {
+      return super.createServiceFactory(serviceDef, classLoader);
+    }
+  }
+
+  public MqttServiceFactory createMqttServiceFactory(MqttServiceDef serviceDef) {
+    final KernelContext kernel = kernelWrapper().unwrapKernel(KernelContext.class);
+    return new MqttServiceFactory(kernel, serviceDef);
+  }
+
+  private static final double KERNEL_PRIORITY = 0.75;
+
+  public static MqttServiceKernel fromValue(Value moduleConfig) {
+    final Value header = moduleConfig.getAttr("kernel");
+    final String kernelClassName = header.get("class").stringValue(null);
+    if (kernelClassName == null || MqttServiceKernel.class.getName().equals(kernelClassName)) {
+      final double kernelPriority = header.get("priority").doubleValue(KERNEL_PRIORITY);
+      return new MqttServiceKernel(kernelPriority);
+    }
+    return null;
+  }
+
+}
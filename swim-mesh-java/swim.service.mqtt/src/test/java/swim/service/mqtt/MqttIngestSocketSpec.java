@@ -0,0 +1,289 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.service.mqtt;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.annotations.Test;
+import swim.api.auth.Credentials;
+import swim.api.auth.Identity;
+import swim.api.policy.AbstractPolicy;
+import swim.api.policy.Policy;
+import swim.api.policy.PolicyDirective;
+import swim.api.store.Store;
+import swim.codec.Decoder;
+import swim.mqtt.MqttConnAck;
+import swim.mqtt.MqttConnStatus;
+import swim.mqtt.MqttConnect;
+import swim.mqtt.MqttPacket;
+import swim.mqtt.MqttPubAck;
+import swim.mqtt.MqttPublish;
+import swim.mqtt.MqttQoS;
+import swim.mqtt.MqttValue;
+import swim.runtime.Push;
+import swim.structure.Data;
+import swim.structure.Text;
+import swim.structure.Value;
+import swim.uri.Uri;
+import swim.warp.CommandMessage;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class MqttIngestSocketSpec {
+
+  static MqttServiceDef serviceDef(int maxInFlight) {
+    return MqttServiceDef.standard()
+        .maxInFlight(maxInFlight)
+        .routeDef(MqttRouteDef.from("sensors/:id", "/sensor/:id", "reading"));
+  }
+
+  static MqttPublish<String> publish(int packetId, String payload) {
+    return MqttPublish.from("sensors/a", packetId, MqttValue.from(payload)).qos(MqttQoS.AT_LEAST_ONCE);
+  }
+
+  @Test
+  public void authenticateConnectCredentials() {
+    final TestIngestSocket socket = new TestIngestSocket(serviceDef(8));
+    socket.didConnect();
+    socket.didRead(MqttConnect.from("client").username("user").password(Data.fromUtf8("secret")));
+    assertFalse(socket.closed);
+    assertEquals(socket.written.size(), 1);
+    assertEquals(socket.written.get(0), MqttConnAck.accepted());
+    final Value claims = socket.credentials.claims();
+    assertEquals(claims.get("clientId").stringValue(), "client");
+    assertEquals(claims.get("username").stringValue(), "user");
+    assertEquals(claims.get("password").stringValue(), "secret");
+    assertSame(socket.identity(), socket.authenticatedIdentity);
+
+    socket.didRead(publish(1, "42"));
+    assertEquals(socket.pushes.size(), 1);
+    final Push<?> push = socket.pushes.get(0);
+    assertSame(push.identity(), socket.authenticatedIdentity);
+    assertEquals(push.nodeUri(), Uri.parse("/sensor/a"));
+    assertEquals(push.laneUri(), Uri.parse("reading"));
+    assertEquals(((CommandMessage) push.message()).body(), Value.fromObject(42));
+  }
+
+  @Test
+  public void refuseUnauthenticatedConnect() {
+    final TestIngestSocket socket = new TestIngestSocket(serviceDef(8));
+    socket.authenticatedIdentity = null;
+    socket.didConnect();
+    socket.didRead(MqttConnect.from("client").username("user").password(Data.fromUtf8("wrong")));
+    assertTrue(socket.closed);
+    assertEquals(socket.written.size(), 1);
+    assertEquals(((MqttConnAck) socket.written.get(0)).connectStatus(), MqttConnStatus.BAD_USERNAME_OR_PASSWORD);
+    assertNull(socket.identity());
+    assertEquals(socket.reads, 1);
+  }
+
+  @Test
+  public void closeOnPublishBeforeConnect() {
+    final TestIngestSocket socket = new TestIngestSocket(serviceDef(8));
+    socket.didConnect();
+    socket.didRead(publish(1, "1"));
+    assertTrue(socket.closed);
+    assertTrue(socket.pushes.isEmpty());
+  }
+
+  @Test
+  public void coalesceAcksWhileWriting() {
+    final TestIngestSocket socket = new TestIngestSocket(serviceDef(8));
+    socket.didConnect();
+    socket.didRead(MqttConnect.from("client"));
+    socket.written.clear();
+    for (int packetId = 1; packetId <= 3; packetId += 1) {
+      socket.didRead(publish(packetId, "x"));
+    }
+    assertEquals(socket.pushes.size(), 3);
+
+    // The first ack is written right away; the rest wait for the write cycle.
+    socket.pushes.get(0).bind();
+    socket.pushes.get(1).bind();
+    socket.pushes.get(2).bind();
+    assertEquals(socket.written.size(), 1);
+    assertEquals(((MqttPubAck) socket.written.get(0)).packetId(), 1);
+
+    socket.doWrite();
+    assertEquals(socket.written.size(), 3);
+    assertEquals(((MqttPubAck) socket.written.get(1)).packetId(), 2);
+    assertEquals(((MqttPubAck) socket.written.get(2)).packetId(), 3);
+
+    // An empty write cycle ends acking, so the next ack is written directly.
+    socket.doWrite();
+    socket.didRead(publish(4, "x"));
+    socket.pushes.get(3).bind();
+    assertEquals(socket.written.size(), 4);
+    assertEquals(((MqttPubAck) socket.written.get(3)).packetId(), 4);
+  }
+
+  @Test
+  public void pauseReadingAtMaxInFlight() {
+    final TestIngestSocket socket = new TestIngestSocket(serviceDef(4));
+    socket.didConnect();
+    socket.didRead(MqttConnect.from("client"));
+    assertEquals(socket.reads, 2);
+    for (int packetId = 1; packetId <= 4; packetId += 1) {
+      socket.didRead(publish(packetId, "x"));
+    }
+    // The fourth publication fills the window, so no read follows it.
+    assertEquals(socket.inFlight(), 4);
+    assertEquals(socket.reads, 5);
+
+    socket.pushes.get(0).bind();
+    assertEquals(socket.reads, 5);
+    socket.pushes.get(1).bind();
+    assertEquals(socket.inFlight(), 2);
+    assertEquals(socket.reads, 6);
+
+    // Reading stays resumed as the remaining commands complete.
+    socket.pushes.get(2).bind();
+    socket.pushes.get(3).bind();
+    assertEquals(socket.inFlight(), 0);
+    assertEquals(socket.reads, 6);
+  }
+
+  @Test
+  public void acknowledgeDeniedPublications() {
+    final TestIngestSocket socket = new TestIngestSocket(serviceDef(8));
+    socket.policy = new AbstractPolicy() {
+      @Override
+      public PolicyDirective<CommandMessage> canDownlink(CommandMessage message, Identity identity) {
+        return deny();
+      }
+    };
+    socket.didConnect();
+    socket.didRead(MqttConnect.from("client"));
+    socket.written.clear();
+    socket.didRead(publish(7, "x"));
+    assertFalse(socket.closed);
+    assertTrue(socket.pushes.isEmpty());
+    assertEquals(socket.written.size(), 1);
+    assertEquals(((MqttPubAck) socket.written.get(0)).packetId(), 7);
+  }
+
+  @Test
+  public void closeOnForbiddenPublications() {
+    final TestIngestSocket socket = new TestIngestSocket(serviceDef(8));
+    socket.policy = new AbstractPolicy() {
+      @Override
+      public PolicyDirective<CommandMessage> canDownlink(CommandMessage message, Identity identity) {
+        return forbid();
+      }
+    };
+    socket.didConnect();
+    socket.didRead(MqttConnect.from("client"));
+    socket.didRead(publish(7, "x"));
+    assertTrue(socket.closed);
+    assertTrue(socket.pushes.isEmpty());
+  }
+
+  static final class TestIngestSocket extends MqttIngestSocket {
+
+    final List<MqttPacket<?>> written = new ArrayList<MqttPacket<?>>();
+    final List<Push<?>> pushes = new ArrayList<Push<?>>();
+    Identity authenticatedIdentity = new TestIdentity();
+    Credentials credentials;
+    Policy policy;
+    int reads;
+    boolean closed;
+
+    TestIngestSocket(MqttServiceDef serviceDef) {
+      super(null, serviceDef);
+    }
+
+    @Override
+    protected PolicyDirective<Identity> authenticate(Credentials credentials) {
+      this.credentials = credentials;
+      final Identity identity = this.authenticatedIdentity;
+      return identity != null ? PolicyDirective.allow(identity) : null;
+    }
+
+    @Override
+    protected Policy policy() {
+      return this.policy;
+    }
+
+    @Override
+    protected void pushUp(Push<?> push) {
+      this.pushes.add(push);
+    }
+
+    @Override
+    public <I2> void read(Decoder<I2> content) {
+      this.reads += 1;
+    }
+
+    @Override
+    public <O2> void write(MqttPacket<O2> packet) {
+      this.written.add(packet);
+    }
+
+    @Override
+    public void close() {
+      this.closed = true;
+    }
+
+    @Override
+    public InetSocketAddress localAddress() {
+      return null;
+    }
+
+    @Override
+    public InetSocketAddress remoteAddress() {
+      return null;
+    }
+
+  }
+
+  static final class TestIdentity implements Identity {
+
+    @Override
+    public boolean isAuthenticated() {
+      return true;
+    }
+
+    @Override
+    public Uri requestUri() {
+      return Uri.empty();
+    }
+
+    @Override
+    public Uri fromUri() {
+      return Uri.empty();
+    }
+
+    @Override
+    public Value subject() {
+      return Text.from("tester");
+    }
+
+    @Override
+    public Store data() {
+      return null;
+    }
+
+    @Override
+    public Store session() {
+      return null;
+    }
+
+  }
+
+}
@@ -0,0 +1,291 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.service.web;
+
+import java.util.Iterator;
+import java.util.Map;
+import swim.api.space.Space;
+import swim.collections.FingerTrieSeq;
+import swim.concurrent.Stage;
+import swim.concurrent.Theater;
+import swim.http.HttpBody;
+import swim.http.HttpResponse;
+import swim.http.HttpStatus;
+import swim.http.MediaType;
+import swim.io.Station;
+import swim.kernel.KernelContext;
+import swim.runtime.EdgeContext;
+import swim.runtime.profile.EdgeProfile;
+import swim.runtime.profile.LatencyHistogram;
+import swim.runtime.profile.StoreProfile;
+import swim.runtime.profile.StoreProfiler;
+import swim.runtime.router.EdgeTable;
+import swim.uri.UriPath;
+import swim.web.WebRequest;
+import swim.web.WebResponse;
+import swim.web.WebRoute;
+
+/**
+ * Serves runtime statistics in the OpenMetrics text exposition format.
+ * Metrics are read from the profile most recently reported to the space's
+ * edge, and from the running totals of the kernel's station, theater, and
+ * file stores, so that the cost of a scrape doesn't depend on the number of
+ * agents in the space.
+ */
+public class MetricsRoute implements WebRoute {
+
+  final KernelContext kernel;
+  final String spaceName;
+  final UriPath metricsPath;
+
+  public MetricsRoute(KernelContext kernel, String spaceName, UriPath metricsPath) {
+    this.kernel = kernel;
+    this.spaceName = spaceName;
+    this.metricsPath = metricsPath;
+  }
+
+  @Override
+  public WebResponse routeRequest(WebRequest request) {
+    if (!this.metricsPath.equals(request.routePath())) {
+      return request.reject();
+    }
+    final String metrics = writeMetrics(new StringBuilder()).toString();
+    return request.respond(HttpResponse.from(HttpStatus.OK).content(HttpBody.from(metrics, mediaType())));
+  }
+
+  protected StringBuilder writeMetrics(StringBuilder builder) {
+    writeEdgeMetrics(builder);
+    writeStationMetrics(builder);
+    writeTheaterMetrics(builder);
+    writeStoreMetrics(builder);
+    return builder.append("# EOF\n");
+  }
+
+  protected void writeEdgeMetrics(StringBuilder builder) {
+    final String spaceName = this.spaceName;
+    final Space space = spaceName != null ? this.kernel.getSpace(spaceName) : null;
+    if (!(space instanceof EdgeContext)) {
+      return;
+    }
+    final EdgeTable edge = ((EdgeContext) space).edgeWrapper().unwrapEdge(EdgeTable.class);
+    final EdgeProfile profile = edge != null ? edge.profile() : null;
+    if (profile == null) {
+      return;
+    }
+    final String labels = label("space", spaceName);
+    writeGauge(builder, "swim_meshes", "Number of open meshes.",
+               labels, profile.meshOpenCount() - profile.meshCloseCount());
+    writeGauge(builder, "swim_parts", "Number of open partitions.",
+               labels, profile.partOpenCount() - profile.partCloseCount());
+    writeGauge(builder, "swim_hosts", "Number of open hosts.",
+               labels, profile.hostOpenCount() - profile.hostCloseCount());
+    writeGauge(builder, "swim_nodes", "Number of open nodes.",
+               labels, profile.nodeOpenCount() - profile.nodeCloseCount());
+    writeGauge(builder, "swim_agents", "Number of open agents.",
+               labels, profile.agentOpenCount() - profile.agentCloseCount());
+    writeCounter(builder, "swim_agent_exec_seconds", "Total time spent executing agent callbacks.",
+                 labels, (double) profile.agentExecTime() / 1.0e9);
+    writeCounter(builder, "swim_timer_events", "Total number of agent timer events.",
+                 labels, profile.timerEventCount());
+    writeGauge(builder, "swim_downlinks", "Number of open downlinks.",
+               labels, profile.downlinkOpenCount() - profile.downlinkCloseCount());
+    writeCounter(builder, "swim_downlink_events", "Total number of events received by downlinks.",
+                 labels, profile.downlinkEventCount());
+    writeCounter(builder, "swim_downlink_commands", "Total number of commands sent by downlinks.",
+                 labels, profile.downlinkCommandCount());
+    writeGauge(builder, "swim_uplinks", "Number of open uplinks.",
+               labels, profile.uplinkOpenCount() - profile.uplinkCloseCount());
+    writeCounter(builder, "swim_uplink_events", "Total number of events sent by uplinks.",
+                 labels, profile.uplinkEventCount());
+    writeCounter(builder, "swim_uplink_commands", "Total number of commands received by uplinks.",
+                 labels, profile.uplinkCommandCount());
+    writeHistogram(builder, "swim_agent_exec_latency_seconds", "Duration of agent task executions.",
+                   labels, edge.agentExecLatencyTotal());
+    writeHistogram(builder, "swim_uplink_command_latency_seconds", "Time to dispatch received commands to lane callbacks.",
+                   labels, edge.uplinkCommandLatencyTotal());
+    writeHistogram(builder, "swim_uplink_queue_latency_seconds", "Time events wait in uplinks before being pulled by their links.",
+                   labels, edge.uplinkQueueLatencyTotal());
+  }
+
+  protected void writeStationMetrics(StringBuilder builder) {
+    final Station station = this.kernel.station();
+    if (station == null) {
+      return;
+    }
+    writeGauge(builder, "swim_station_transports", "Number of open network transports.",
+               "", station.transportCount());
+    writeCounter(builder, "swim_station_transports_opened", "Total number of network transports opened.",
+                 "", station.transportOpenCount());
+    writeCounter(builder, "swim_station_read_bytes", "Total number of bytes read from network transports.",
+                 "", station.readByteCount());
+    writeCounter(builder, "swim_station_written_bytes", "Total number of bytes written to network transports.",
+                 "", station.writeByteCount());
+  }
+
+  protected void writeTheaterMetrics(StringBuilder builder) {
+    final Stage stage = this.kernel.stage();
+    if (!(stage instanceof Theater)) {
+      return;
+    }
+    final StringBuilder parallelism = new StringBuilder();
+    final StringBuilder poolSize = new StringBuilder();
+    final StringBuilder activeThreads = new StringBuilder();
+    final StringBuilder queuedTasks = new StringBuilder();
+    final StringBuilder steals = new StringBuilder();
+    final StringBuilder blockedSeconds = new StringBuilder();
+    final StringBuilder blockedTasks = new StringBuilder();
+    final Theater theater = (Theater) stage;
+    String labels = label("stage", "main");
+    final Iterator<Map.Entry<String, Theater>> subStages = theater.stages().iterator();
+    Theater next = theater;
+    do {
+      writeSample(parallelism, "swim_theater_parallelism", labels, next.parallelism());
+      writeSample(poolSize, "swim_theater_threads", labels, next.poolSize());
+      writeSample(activeThreads, "swim_theater_active_threads", labels, next.activeThreadCount());
+      writeSample(queuedTasks, "swim_theater_queued_tasks", labels, next.queuedTaskCount());
+      writeSample(steals, "swim_theater_steals_total", labels, next.stealCount());
+      writeSample(blockedSeconds, "swim_theater_blocked_seconds_total", labels, (double) next.blockedTime() / 1.0e9);
+      writeSample(blockedTasks, "swim_theater_blocked_tasks_total", labels, next.blockedTaskCount());
+      if (subStages.hasNext()) {
+        final Map.Entry<String, Theater> subStage = subStages.next();
+        labels = label("stage", subStage.getKey());
+        next = subStage.getValue();
+      } else {
+        next = null;
+      }
+    } while (next != null);
+    writeFamily(builder, "swim_theater_parallelism", "gauge", "Target number of theater worker threads.", parallelism);
+    writeFamily(builder, "swim_theater_threads", "gauge", "Number of started theater worker threads, including compensating workers.", poolSize);
+    writeFamily(builder, "swim_theater_active_threads", "gauge", "Estimated number of theater threads executing tasks.", activeThreads);
+    writeFamily(builder, "swim_theater_queued_tasks", "gauge", "Estimated number of tasks queued for execution.", queuedTasks);
+    writeFamily(builder, "swim_theater_steals", "counter", "Estimated total number of tasks stolen between workers.", steals);
+    writeFamily(builder, "swim_theater_blocked_seconds", "counter", "Total time spent running blocking tasks.", blockedSeconds);
+    writeFamily(builder, "swim_theater_blocked_tasks", "counter", "Total number of blocking task executions.", blockedTasks);
+  }
+
+  protected void writeStoreMetrics(StringBuilder builder) {
+    final StoreProfiler storeProfiler = this.kernel.unwrapKernel(StoreProfiler.class);
+    if (storeProfiler == null) {
+      return;
+    }
+    final FingerTrieSeq<StoreProfile> storeProfiles = storeProfiler.storeProfiles();
+    if (storeProfiles.isEmpty()) {
+      return;
+    }
+    final StringBuilder zoneBytes = new StringBuilder();
+    final StringBuilder treeBytes = new StringBuilder();
+    final StringBuilder diffBytes = new StringBuilder();
+    final StringBuilder treeCount = new StringBuilder();
+    for (int i = 0, n = storeProfiles.size(); i < n; i += 1) {
+      final StoreProfile storeProfile = storeProfiles.get(i);
+      final String labels = label("store", storeProfile.storeName());
+      writeSample(zoneBytes, "swim_store_zone_bytes", labels, storeProfile.zoneSize());
+      writeSample(treeBytes, "swim_store_tree_bytes", labels, storeProfile.treeSize());
+      writeSample(diffBytes, "swim_store_diff_bytes", labels, storeProfile.diffSize());
+      writeSample(treeCount, "swim_store_trees", labels, storeProfile.treeCount());
+    }
+    writeFamily(builder, "swim_store_zone_bytes", "gauge", "Size of the active store zone file.", zoneBytes);
+    writeFamily(builder, "swim_store_tree_bytes", "gauge", "Size of all committed store trees.", treeBytes);
+    writeFamily(builder, "swim_store_diff_bytes", "gauge", "Size of uncommitted store changes.", diffBytes);
+    writeFamily(builder, "swim_store_trees", "gauge", "Number of trees in the store.", treeCount);
+  }
+
+  static void writeGauge(StringBuilder builder, String name, String help, String labels, double value) {
+    writeHeader(builder, name, "gauge", help);
+    writeSample(builder, name, labels, value);
+  }
+
+  static void writeCounter(StringBuilder builder, String name, String help, String labels, double value) {
+    writeHeader(builder, name, "counter", help);
+    writeSample(builder, name + "_total", labels, value);
+  }
+
+  /**
+   * Writes a histogram with one bucket per power of two microseconds, which
+   * keeps the bucket boundaries stable across scrapes.
+   */
+  static void writeHistogram(StringBuilder builder, String name, String help, String labels,
+                             LatencyHistogram histogram) {
+    writeHeader(builder, name, "histogram", help);
+    final String separator = labels.isEmpty() ? "" : ",";
+    long count = 0L;
+    for (int i = LatencyHistogram.SUB_BUCKET_COUNT - 1; i < LatencyHistogram.BUCKET_COUNT - 1;
+         i += LatencyHistogram.SUB_BUCKET_COUNT) {
+      for (int j = i - LatencyHistogram.SUB_BUCKET_COUNT + 1; j <= i; j += 1) {
+        count += histogram.countAt(j);
+      }
+      final double bound = (double) (LatencyHistogram.bucketUpperBound(i) + 1L) / 1.0e6;
+      writeSample(builder, name + "_bucket", labels + separator + label("le", formatValue(bound)), count);
+    }
+    writeSample(builder, name + "_bucket", labels + separator + label("le", "+Inf"), histogram.count());
+    writeSample(builder, name + "_sum", labels, (double) histogram.sum() / 1.0e6);
+    writeSample(builder, name + "_count", labels, histogram.count());
+  }
+
+  static void writeFamily(StringBuilder builder, String name, String type, String help, CharSequence samples) {
+    if (samples.length() != 0) {
+      writeHeader(builder, name, type, help);
+      builder.append(samples);
+    }
+  }
+
+  static void writeHeader(StringBuilder builder, String name, String type, String help) {
+    builder.append("# TYPE ").append(name).append(' ').append(type).append('\n')
+           .append("# HELP ").append(name).append(' ').append(help).append('\n');
+  }
+
+  static void writeSample(StringBuilder builder, String name, String labels, double value) {
+    builder.append(name);
+    if (!labels.isEmpty()) {
+      builder.append('{').append(labels).append('}');
+    }
+    builder.append(' ').append(formatValue(value)).append('\n');
+  }
+
+  static String formatValue(double value) {
+    if (value == Math.rint(value) && Math.abs(value) < 1.0e15) {
+      return Long.toString((long) value);
+    } else {
+      return Double.toString(value);
+    }
+  }
+
+  static String label(String name, String value) {
+    final StringBuilder builder = new StringBuilder(name).append("=\"");
+    for (int i = 0, n = value.length(); i < n; i += 1) {
+      final char c = value.charAt(i);
+      if (c == '\\') {
+        builder.append("\\\\");
+      } else if (c == '"') {
+        builder.append("\\\"");
+      } else if (c == '\n') {
+        builder.append("\\n");
+      } else {
+        builder.append(c);
+      }
+    }
+    return builder.append('"').toString();
+  }
+
+  private static MediaType mediaType;
+
+  static MediaType mediaType() {
+    if (mediaType == null) {
+      mediaType = MediaType.parse("application/openmetrics-text; version=1.0.0; charset=utf-8");
+    }
+    return mediaType;
+  }
+
+}
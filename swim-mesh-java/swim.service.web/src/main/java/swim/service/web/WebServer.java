@@ -65,7 +65,11 @@ public class WebServer extends AbstractWarpServer {
       documentRoot = cwd.appended(documentRoot).removeDotSegments();
     }
     final UriPath resourceRoot = serviceDef.resourceRoot();
+    final UriPath metricsPath = serviceDef.metricsPath();
 
+    if (metricsPath != null) {
+      router = new MetricsRoute(kernel, serviceDef.spaceName, metricsPath).orElse(router);
+    }
     if (documentRoot != null) {
       router = router.orElse(new DirectoryRoute(documentRoot, "index.html"));
     }
@@ -32,11 +32,12 @@ public class WebServiceDef implements ServiceDef, Debug {
   final String spaceName;
   final UriPath documentRoot;
   final UriPath resourceRoot;
+  final UriPath metricsPath;
   final WarpSettings warpSettings;
 
   public WebServiceDef(String serviceName, String address, int port, boolean isSecure,
                        String spaceName, UriPath documentRoot, UriPath resourceRoot,
-                       WarpSettings warpSettings) {
+                       UriPath metricsPath, WarpSettings warpSettings) {
     this.serviceName = serviceName;
     this.address = address;
     this.port = port;
@@ -44,9 +45,16 @@ public class WebServiceDef implements ServiceDef, Debug {
     this.spaceName = spaceName;
     this.documentRoot = documentRoot;
     this.resourceRoot = resourceRoot;
+    this.metricsPath = metricsPath;
     this.warpSettings = warpSettings;
   }
 
+  public WebServiceDef(String serviceName, String address, int port, boolean isSecure,
+                       String spaceName, UriPath documentRoot, UriPath resourceRoot,
+                       WarpSettings warpSettings) {
+    this(serviceName, address, port, isSecure, spaceName, documentRoot, resourceRoot, null, warpSettings);
+  }
+
   public static WebServiceDef standard() {
     return new WebServiceDef("web", "0.0.0.0", 80, false, null, null, null, WarpSettings.standard());
   }
@@ -62,7 +70,7 @@ public class WebServiceDef implements ServiceDef, Debug {
 
   public WebServiceDef serviceName(String serviceName) {
     return copy(serviceName, this.address, this.port, this.isSecure,
-        this.spaceName, this.documentRoot, this.resourceRoot, this.warpSettings);
+        this.spaceName, this.documentRoot, this.resourceRoot, this.metricsPath, this.warpSettings);
   }
 
   public final String address() {
@@ -71,7 +79,7 @@ public class WebServiceDef implements ServiceDef, Debug {
 
   public WebServiceDef address(String address) {
     return copy(this.serviceName, address, this.port, this.isSecure,
-        this.spaceName, this.documentRoot, this.resourceRoot, this.warpSettings);
+        this.spaceName, this.documentRoot, this.resourceRoot, this.metricsPath, this.warpSettings);
   }
 
   public final int port() {
@@ -80,7 +88,7 @@ public class WebServiceDef implements ServiceDef, Debug {
 
   public WebServiceDef port(int port) {
     return copy(this.serviceName, this.address, port, this.isSecure,
-        this.spaceName, this.documentRoot, this.resourceRoot, this.warpSettings);
+        this.spaceName, this.documentRoot, this.resourceRoot, this.metricsPath, this.warpSettings);
   }
 
   public final String spaceName() {
@@ -89,7 +97,7 @@ public class WebServiceDef implements ServiceDef, Debug {
 
   public WebServiceDef spaceName(String spaceName) {
     return copy(this.serviceName, this.address, this.port, this.isSecure,
-        spaceName, this.documentRoot, this.resourceRoot, this.warpSettings);
+        spaceName, this.documentRoot, this.resourceRoot, this.metricsPath, this.warpSettings);
   }
 
   public final UriPath documentRoot() {
@@ -98,7 +106,7 @@ public class WebServiceDef implements ServiceDef, Debug {
 
   public WebServiceDef documentRoot(UriPath documentRoot) {
     return copy(this.serviceName, this.address, this.port, this.isSecure,
-        this.spaceName, documentRoot, this.resourceRoot, this.warpSettings);
+        this.spaceName, documentRoot, this.resourceRoot, this.metricsPath, this.warpSettings);
   }
 
   public final UriPath resourceRoot() {
@@ -107,7 +115,16 @@ public class WebServiceDef implements ServiceDef, Debug {
 
   public WebServiceDef resourceRoot(UriPath resourceRoot) {
     return copy(this.serviceName, this.address, this.port, this.isSecure,
-        this.spaceName, this.documentRoot, resourceRoot, this.warpSettings);
+        this.spaceName, this.documentRoot, resourceRoot, this.metricsPath, this.warpSettings);
+  }
+
+  public final UriPath metricsPath() {
+    return this.metricsPath;
+  }
+
+  public WebServiceDef metricsPath(UriPath metricsPath) {
+    return copy(this.serviceName, this.address, this.port, this.isSecure,
+        this.spaceName, this.documentRoot, this.resourceRoot, metricsPath, this.warpSettings);
   }
 
   public final WarpSettings warpSettings() {
@@ -116,14 +133,14 @@ public class WebServiceDef implements ServiceDef, Debug {
 
   public WebServiceDef warpSettings(WarpSettings warpSettings) {
     return copy(this.serviceName, this.address, this.port, this.isSecure,
-        this.spaceName, this.documentRoot, this.resourceRoot, warpSettings);
+        this.spaceName, this.documentRoot, this.resourceRoot, this.metricsPath, warpSettings);
   }
 
   protected WebServiceDef copy(String serviceName, String address, int port, boolean isSecure,
                                String spaceName, UriPath documentRoot, UriPath resourceRoot,
-                               WarpSettings warpSettings) {
+                               UriPath metricsPath, WarpSettings warpSettings) {
     return new WebServiceDef(serviceName, address, port, isSecure, spaceName,
-        documentRoot, resourceRoot, warpSettings);
+        documentRoot, resourceRoot, metricsPath, warpSettings);
   }
 
   @Override
@@ -137,6 +154,7 @@ public class WebServiceDef implements ServiceDef, Debug {
           && (this.spaceName == null ? that.spaceName == null : this.spaceName.equals(that.spaceName))
           && (this.documentRoot == null ? that.documentRoot == null : this.documentRoot.equals(that.documentRoot))
           && (this.resourceRoot == null ? that.resourceRoot == null : this.resourceRoot.equals(that.resourceRoot))
+          && (this.metricsPath == null ? that.metricsPath == null : this.metricsPath.equals(that.metricsPath))
           && this.warpSettings.equals(that.warpSettings);
     }
     return false;
@@ -147,11 +165,11 @@ public class WebServiceDef implements ServiceDef, Debug {
     if (hashSeed == 0) {
       hashSeed = Murmur3.seed(WebServiceDef.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
         Murmur3.mix(Murmur3.mix(Murmur3.mix(hashSeed, Murmur3.hash(this.serviceName)),
             this.address.hashCode()), this.port), Murmur3.hash(this.isSecure)),
         Murmur3.hash(this.spaceName)), Murmur3.hash(this.documentRoot)),
-        Murmur3.hash(this.resourceRoot)), this.warpSettings.hashCode()));
+        Murmur3.hash(this.resourceRoot)), Murmur3.hash(this.metricsPath)), this.warpSettings.hashCode()));
   }
 
   @Override
@@ -176,6 +194,9 @@ public class WebServiceDef implements ServiceDef, Debug {
     if (this.resourceRoot != null) {
       output = output.write('.').write("resourceRoot").write('(').debug(this.resourceRoot).write(')');
     }
+    if (this.metricsPath != null) {
+      output = output.write('.').write("metricsPath").write('(').debug(this.metricsPath).write(')');
+    }
     if (this.warpSettings != WarpSettings.standard()) {
       output = output.write('.').write("warpSettings").write('(').debug(this.warpSettings).write(')');
     }
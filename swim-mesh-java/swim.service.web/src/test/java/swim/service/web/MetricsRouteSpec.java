@@ -0,0 +1,100 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.service.web;
+
+import org.testng.annotations.Test;
+import swim.collections.FingerTrieSeq;
+import swim.kernel.KernelProxy;
+import swim.runtime.profile.LatencyRecorder;
+import swim.runtime.profile.StoreProfile;
+import swim.runtime.profile.StoreProfiler;
+import swim.uri.UriPath;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class MetricsRouteSpec {
+
+  @Test
+  public void writeCounterSamplesWithTotalSuffix() {
+    final StringBuilder builder = new StringBuilder();
+    MetricsRoute.writeCounter(builder, "swim_timer_events", "Timer events.", MetricsRoute.label("space", "test"), 42L);
+    assertEquals(builder.toString(),
+                 "# TYPE swim_timer_events counter\n"
+               + "# HELP swim_timer_events Timer events.\n"
+               + "swim_timer_events_total{space=\"test\"} 42\n");
+  }
+
+  @Test
+  public void escapeLabelValues() {
+    assertEquals(MetricsRoute.label("store", "a\"b\\c\nd"), "store=\"a\\\"b\\\\c\\nd\"");
+  }
+
+  @Test
+  public void writeCumulativeHistogramBuckets() {
+    final LatencyRecorder recorder = new LatencyRecorder();
+    recorder.record(5000L); // 5us
+    recorder.record(20000L); // 20us
+    recorder.record(3000000L); // 3ms
+    final StringBuilder builder = new StringBuilder();
+    MetricsRoute.writeHistogram(builder, "swim_latency_seconds", "Latency.", "", recorder.snapshot());
+    final String metrics = builder.toString();
+    assertTrue(metrics.contains("swim_latency_seconds_bucket{le=\"8.0E-6\"} 1\n"));
+    assertTrue(metrics.contains("swim_latency_seconds_bucket{le=\"3.2E-5\"} 2\n"));
+    assertTrue(metrics.contains("swim_latency_seconds_bucket{le=\"0.004096\"} 3\n"));
+    assertTrue(metrics.contains("swim_latency_seconds_bucket{le=\"+Inf\"} 3\n"));
+    assertTrue(metrics.contains("swim_latency_seconds_sum 0.003025\n"));
+    assertTrue(metrics.contains("swim_latency_seconds_count 3\n"));
+  }
+
+  @Test
+  public void writeStoreMetricsFromStoreProfiler() {
+    final TestStoreProfilerKernel kernel = new TestStoreProfilerKernel();
+    final MetricsRoute route = new MetricsRoute(kernel, "test", UriPath.parse("/metrics"));
+    final StringBuilder builder = new StringBuilder();
+    route.writeStoreMetrics(builder);
+    final String metrics = builder.toString();
+    assertTrue(metrics.contains("swim_store_zone_bytes{store=\"swim\"} 4096\n"));
+    assertTrue(metrics.contains("swim_store_tree_bytes{store=\"swim\"} 1024\n"));
+    assertTrue(metrics.contains("swim_store_diff_bytes{store=\"swim\"} 256\n"));
+    assertTrue(metrics.contains("swim_store_trees{store=\"swim\"} 3\n"));
+  }
+
+  @Test
+  public void skipStoreMetricsWithoutStoreProfiler() {
+    final MetricsRoute route = new MetricsRoute(new TestKernel(), "test", UriPath.parse("/metrics"));
+    final StringBuilder builder = new StringBuilder();
+    route.writeStoreMetrics(builder);
+    assertEquals(builder.length(), 0);
+  }
+
+  static class TestKernel extends KernelProxy {
+
+    @Override
+    public double kernelPriority() {
+      return 0.0;
+    }
+
+  }
+
+  static final class TestStoreProfilerKernel extends TestKernel implements StoreProfiler {
+
+    @Override
+    public FingerTrieSeq<StoreProfile> storeProfiles() {
+      return FingerTrieSeq.of(new StoreProfile("swim", 4096L, 1024L, 256L, 3L));
+    }
+
+  }
+
+}
@@ -27,6 +27,7 @@ import swim.db.BTreeMap;
 import swim.db.QTreeMap;
 import swim.db.STreeList;
 import swim.db.Store;
+import swim.db.Tree;
 import swim.db.UTreeValue;
 import swim.math.R2Shape;
 import swim.math.Z2Form;
@@ -213,4 +214,17 @@ public class DbStore implements StoreBinding, StoreContext {
     return valueData(Text.from(name));
   }
 
+  /**
+   * Loads every page of a resident tree, so that store data opened while
+   * its node loads doesn't fault in pages one at a time once the node starts.
+   */
+  static void loadResidentTree(Tree tree) {
+    try {
+      tree.load();
+    } catch (InterruptedException cause) {
+      Thread.currentThread().interrupt();
+      throw new StoreException(cause);
+    }
+  }
+
 }
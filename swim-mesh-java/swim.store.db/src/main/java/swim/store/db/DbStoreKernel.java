@@ -14,27 +14,38 @@
 
 package swim.store.db;
 
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.api.store.StoreException;
+import swim.collections.FingerTrieSeq;
+import swim.collections.HashTrieMap;
 import swim.concurrent.MainStage;
 import swim.concurrent.Stage;
+import swim.db.Database;
 import swim.db.FileStore;
+import swim.db.FileZone;
 import swim.db.StoreContext;
 import swim.db.StoreSettings;
 import swim.kernel.KernelContext;
 import swim.kernel.KernelProxy;
 import swim.runtime.StoreAddress;
+import swim.runtime.profile.StoreProfile;
+import swim.runtime.profile.StoreProfiler;
 import swim.store.StoreBinding;
 import swim.store.StoreDef;
 import swim.structure.Item;
 import swim.structure.Value;
 
-public class DbStoreKernel extends KernelProxy {
+public class DbStoreKernel extends KernelProxy implements StoreProfiler {
 
   private static final double KERNEL_PRIORITY = -0.75;
   final double kernelPriority;
+  volatile HashTrieMap<String, FileStore> fileStores;
 
   public DbStoreKernel(double kernelPriority) {
     this.kernelPriority = kernelPriority;
+    this.fileStores = HashTrieMap.empty();
   }
 
   public DbStoreKernel() {
@@ -56,6 +67,31 @@ public class DbStoreKernel extends KernelProxy {
     return this.kernelPriority;
   }
 
+  /**
+   * Returns the file stores opened by this kernel, keyed by store name.
+   */
+  public final HashTrieMap<String, FileStore> fileStores() {
+    return this.fileStores;
+  }
+
+  @Override
+  public FingerTrieSeq<StoreProfile> storeProfiles() {
+    FingerTrieSeq<StoreProfile> storeProfiles = FingerTrieSeq.empty();
+    final Iterator<Map.Entry<String, FileStore>> fileStores = this.fileStores.iterator();
+    while (fileStores.hasNext()) {
+      final Map.Entry<String, FileStore> entry = fileStores.next();
+      final FileZone zone = entry.getValue().zone();
+      if (zone != null) {
+        final Database database = zone.database();
+        if (database != null) {
+          storeProfiles = storeProfiles.appended(new StoreProfile(entry.getKey(), zone.size(), database.treeSize(),
+                                                                  database.diffSize(), database.treeCount()));
+        }
+      }
+    }
+    return storeProfiles;
+  }
+
   @Override
   public StoreDef defineStore(Item storeConfig) {
     final StoreDef storeDef = defineDbStore(storeConfig);
@@ -100,6 +136,13 @@ public class DbStoreKernel extends KernelProxy {
     try {
       final FileStore fileStore = new FileStore(storeContext, storePath, stage).open();
       fileStore.openDatabase();
+      do {
+        final HashTrieMap<String, FileStore> oldFileStores = this.fileStores;
+        final HashTrieMap<String, FileStore> newFileStores = oldFileStores.updated(storeName != null ? storeName : storePath, fileStore);
+        if (FILE_STORES.compareAndSet(this, oldFileStores, newFileStores)) {
+          break;
+        }
+      } while (true);
       return new DbStore(fileStore, Value.absent());
     } catch (InterruptedException cause) {
       if (stage instanceof MainStage) {
@@ -109,4 +152,8 @@ public class DbStoreKernel extends KernelProxy {
     }
   }
 
+  @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<DbStoreKernel, HashTrieMap<String, FileStore>> FILE_STORES =
+      AtomicReferenceFieldUpdater.newUpdater(DbStoreKernel.class, (Class<HashTrieMap<String, FileStore>>) (Class<?>) HashTrieMap.class, "fileStores");
+
 }
@@ -130,6 +130,13 @@ public class ListDataModel implements ListDataBinding, STreeDelegate {
     return this;
   }
 
+  @Override
+  public void load() {
+    if (this.tree.isResident()) {
+      DbStore.loadResidentTree(this.tree.tree());
+    }
+  }
+
   @Override
   public boolean isTransient() {
     return this.tree.isTransient();
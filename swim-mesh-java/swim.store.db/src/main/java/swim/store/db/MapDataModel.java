@@ -146,6 +146,13 @@ public class MapDataModel implements MapDataBinding, BTreeDelegate {
     return this;
   }
 
+  @Override
+  public void load() {
+    if (this.tree.isResident()) {
+      DbStore.loadResidentTree(this.tree.tree());
+    }
+  }
+
   @Override
   public boolean isTransient() {
     return this.tree.isTransient();
@@ -151,6 +151,13 @@ public class SpatialDataModel<S> implements SpatialDataBinding<S>, QTreeDelegate
     return this;
   }
 
+  @Override
+  public void load() {
+    if (this.tree.isResident()) {
+      DbStore.loadResidentTree(this.tree.tree());
+    }
+  }
+
   @Override
   public boolean isTransient() {
     return this.tree.isTransient();
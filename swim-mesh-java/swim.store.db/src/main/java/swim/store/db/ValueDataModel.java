@@ -106,6 +106,13 @@ public class ValueDataModel implements ValueDataBinding, UTreeDelegate {
     return this;
   }
 
+  @Override
+  public void load() {
+    if (this.tree.isResident()) {
+      DbStore.loadResidentTree(this.tree.tree());
+    }
+  }
+
   @Override
   public boolean isTransient() {
     return this.tree.isTransient();
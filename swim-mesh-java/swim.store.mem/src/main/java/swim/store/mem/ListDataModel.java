@@ -110,6 +110,11 @@ public class ListDataModel implements ListDataBinding {
     return this;
   }
 
+  @Override
+  public void load() {
+    // nop
+  }
+
   @Override
   public boolean isTransient() {
     return true;
@@ -126,6 +126,11 @@ public class MapDataModel implements MapDataBinding {
     return this;
   }
 
+  @Override
+  public void load() {
+    // nop
+  }
+
   @Override
   public boolean isTransient() {
     return true;
@@ -127,6 +127,11 @@ public class SpatialDataModel<S> implements SpatialDataBinding<S> {
     return this;
   }
 
+  @Override
+  public void load() {
+    // nop
+  }
+
   @Override
   public boolean isTransient() {
     return true;
@@ -102,6 +102,11 @@ public class ValueDataModel implements ValueDataBinding {
     return this;
   }
 
+  @Override
+  public void load() {
+    // nop
+  }
+
   @Override
   public boolean isTransient() {
     return true;
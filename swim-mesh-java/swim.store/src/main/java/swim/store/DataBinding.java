@@ -34,6 +34,12 @@ public interface DataBinding {
 
   DataBinding isResident(boolean isResident);
 
+  /**
+   * Loads resident data into memory. Lanes call this while they load, so
+   * that resident data is read during the load phase of their host.
+   */
+  void load();
+
   boolean isTransient();
 
   DataBinding isTransient(boolean isTransient);
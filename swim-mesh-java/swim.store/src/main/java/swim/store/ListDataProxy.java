@@ -104,6 +104,11 @@ public class ListDataProxy implements ListDataBinding, ListDataContext {
     return this;
   }
 
+  @Override
+  public void load() {
+    this.dataBinding.load();
+  }
+
   @Override
   public boolean isTransient() {
     return this.dataBinding.isTransient();
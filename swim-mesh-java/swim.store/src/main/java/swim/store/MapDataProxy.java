@@ -120,6 +120,11 @@ public class MapDataProxy implements MapDataBinding, MapDataContext {
     return this;
   }
 
+  @Override
+  public void load() {
+    this.dataBinding.load();
+  }
+
   @Override
   public boolean isTransient() {
     return this.dataBinding.isTransient();
@@ -121,6 +121,11 @@ public class SpatialDataProxy<S> implements SpatialDataBinding<S>, SpatialDataCo
     return this;
   }
 
+  @Override
+  public void load() {
+    this.dataBinding.load();
+  }
+
   @Override
   public boolean isTransient() {
     return this.dataBinding.isTransient();
@@ -98,6 +98,11 @@ public class ValueDataProxy implements ValueDataBinding, ValueDataContext {
     return this;
   }
 
+  @Override
+  public void load() {
+    this.dataBinding.load();
+  }
+
   @Override
   public boolean isTransient() {
     return this.dataBinding.isTransient();
@@ -88,8 +88,22 @@ public class JsAgentFactory extends AbstractAgentRoute<JsAgent> {
     return guestAgent;
   }
 
+  protected JsAgent createSharedAgent(AgentContext agentContext, JsContextPool jsContextPool) {
+    final JsBridge jsBridge = jsContextPool.nextJsBridge();
+    synchronized (jsBridge) {
+      final JsModuleSystem moduleSystem = createAgentModuleSystem(agentContext, jsBridge.jsContext(), jsBridge);
+      final JsModule module = requireAgentModule(agentContext, moduleSystem);
+      final org.graalvm.polyglot.Value guest = createGuestAgent(agentContext, jsBridge, module);
+      return new JsAgent(agentContext, jsBridge, module, guest);
+    }
+  }
+
   @Override
   public JsAgent createAgent(AgentContext agentContext) {
+    final JsContextPool jsContextPool = this.jsKernel.jsContextPool();
+    if (jsContextPool != null) {
+      return createSharedAgent(agentContext, jsContextPool);
+    }
     final Context jsContext = createAgentJsContext(agentContext);
     final JsBridge jsBridge = createAgentJsBridge(agentContext, jsContext);
     final JsModuleSystem moduleSystem = createAgentModuleSystem(agentContext, jsContext, jsBridge);
@@ -0,0 +1,137 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.js;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import swim.util.HashGenCacheMap;
+import swim.vm.js.JsBridge;
+
+/**
+ * Bounded pool of JavaScript contexts shared between agents. Agents are
+ * assigned to contexts round-robin, and each agent loads its own instances
+ * of its modules into its assigned context, so that agents only share the
+ * context's globals. Contexts are created lazily on the kernel's shared
+ * {@code Engine}, which caches the code compiled for each module source
+ * across all contexts.
+ */
+public class JsContextPool {
+
+  final JsKernel jsKernel;
+  final AtomicReferenceArray<JsBridge> jsBridges;
+  final HashGenCacheMap<Source, Source> scopedSourceCache;
+  volatile int nextIndex;
+
+  public JsContextPool(JsKernel jsKernel, int size) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("size: " + size);
+    }
+    this.jsKernel = jsKernel;
+    this.jsBridges = new AtomicReferenceArray<JsBridge>(size);
+    this.scopedSourceCache = new HashGenCacheMap<Source, Source>(SCOPED_SOURCE_CACHE_SIZE);
+    this.nextIndex = 0;
+  }
+
+  public final JsKernel jsKernel() {
+    return this.jsKernel;
+  }
+
+  public final int size() {
+    return this.jsBridges.length();
+  }
+
+  /**
+   * Returns the bridge to the next context in the pool. Callers must
+   * synchronize on the returned bridge while entering its context other
+   * than through the bridge's guest methods.
+   */
+  public JsBridge nextJsBridge() {
+    final int index = (NEXT_INDEX.getAndIncrement(this) & 0x7fffffff) % this.jsBridges.length();
+    JsBridge jsBridge = this.jsBridges.get(index);
+    if (jsBridge == null) {
+      final JsBridge newJsBridge = createJsBridge(createJsContext());
+      if (this.jsBridges.compareAndSet(index, null, newJsBridge)) {
+        jsBridge = newJsBridge;
+      } else {
+        // Lost creation race.
+        newJsBridge.jsContext().close();
+        jsBridge = this.jsBridges.get(index);
+      }
+    }
+    return jsBridge;
+  }
+
+  protected Context createJsContext() {
+    return Context.newBuilder("js")
+        .engine(this.jsKernel.jsEngine())
+        // TODO: .in(...)
+        // TODO: .out(...)
+        // TODO: .err(...)
+        // TODO: .logHandler(...)
+        // TODO: .fileSystem(...)
+        // TODO: .processHandler(...)
+        // TODO: .serverTransport(...)
+        .build();
+  }
+
+  protected JsBridge createJsBridge(Context jsContext) {
+    return new JsSharedBridge(this, this.jsKernel.jsRuntime(), jsContext);
+  }
+
+  /**
+   * Returns the source of a function that evaluates {@code moduleSource}
+   * in its own scope. Scoped sources are cached so that all instances of a
+   * module share the same compiled code.
+   */
+  public Source scopedModuleSource(Source moduleSource) {
+    Source scopedSource = this.scopedSourceCache.get(moduleSource);
+    if (scopedSource == null) {
+      final String scopedCode = "(function (exports, require, module) {"
+                              + moduleSource.getCharacters() + "\n})";
+      scopedSource = Source.newBuilder("js", scopedCode, moduleSource.getName()).buildLiteral();
+      this.scopedSourceCache.put(moduleSource, scopedSource);
+    }
+    return scopedSource;
+  }
+
+  public void close() {
+    for (int i = 0, n = this.jsBridges.length(); i < n; i += 1) {
+      final JsBridge jsBridge = this.jsBridges.getAndSet(i, null);
+      if (jsBridge != null) {
+        synchronized (jsBridge) {
+          jsBridge.jsContext().close();
+        }
+      }
+    }
+  }
+
+  static final int SCOPED_SOURCE_CACHE_SIZE;
+
+  static {
+    int scopedSourceCacheSize;
+    try {
+      scopedSourceCacheSize = Integer.parseInt(System.getProperty("swim.js.scoped.source.cache.size"));
+    } catch (NumberFormatException e) {
+      scopedSourceCacheSize = 128;
+    }
+    SCOPED_SOURCE_CACHE_SIZE = scopedSourceCacheSize;
+  }
+
+  static final AtomicIntegerFieldUpdater<JsContextPool> NEXT_INDEX =
+      AtomicIntegerFieldUpdater.newUpdater(JsContextPool.class, "nextIndex");
+
+}
@@ -45,18 +45,43 @@ public class JsKernel extends KernelProxy {
       AtomicReferenceFieldUpdater.newUpdater(JsKernel.class, JsRuntime.class, "jsRuntime");
   static final AtomicReferenceFieldUpdater<JsKernel, UriPath> ROOT_PATH =
       AtomicReferenceFieldUpdater.newUpdater(JsKernel.class, UriPath.class, "rootPath");
+  static final AtomicReferenceFieldUpdater<JsKernel, JsContextPool> JS_CONTEXT_POOL =
+      AtomicReferenceFieldUpdater.newUpdater(JsKernel.class, JsContextPool.class, "jsContextPool");
   private static final double KERNEL_PRIORITY = 1.75;
+  private static final int CONTEXT_POOL_SIZE;
   final double kernelPriority;
+  final int contextPoolSize;
   volatile Engine jsEngine;
   volatile JsRuntime jsRuntime;
   volatile UriPath rootPath;
+  volatile JsContextPool jsContextPool;
 
-  public JsKernel(double kernelPriority) {
+  /**
+   * Creates a JavaScript kernel that runs agents in a pool of {@code
+   * contextPoolSize} shared contexts, or that gives each agent its own
+   * context when {@code contextPoolSize} is zero.
+   */
+  public JsKernel(double kernelPriority, int contextPoolSize) {
     this.kernelPriority = kernelPriority;
+    this.contextPoolSize = contextPoolSize;
+  }
+
+  public JsKernel(double kernelPriority) {
+    this(kernelPriority, CONTEXT_POOL_SIZE);
   }
 
   public JsKernel() {
-    this(KERNEL_PRIORITY);
+    this(KERNEL_PRIORITY, CONTEXT_POOL_SIZE);
+  }
+
+  static {
+    int contextPoolSize;
+    try {
+      contextPoolSize = Integer.parseInt(System.getProperty("swim.js.context.pool.size"));
+    } catch (NumberFormatException e) {
+      contextPoolSize = 0;
+    }
+    CONTEXT_POOL_SIZE = contextPoolSize;
   }
 
   public static JsKernel fromValue(Value moduleConfig) {
@@ -64,7 +89,8 @@ public class JsKernel extends KernelProxy {
     final String kernelClassName = header.get("class").stringValue(null);
     if (kernelClassName == null || JsKernel.class.getName().equals(kernelClassName)) {
       final double kernelPriority = header.get("priority").doubleValue(KERNEL_PRIORITY);
-      return new JsKernel(kernelPriority);
+      final int contextPoolSize = header.get("contextPoolSize").intValue(CONTEXT_POOL_SIZE);
+      return new JsKernel(kernelPriority, contextPoolSize);
     }
     return null;
   }
@@ -74,6 +100,10 @@ public class JsKernel extends KernelProxy {
     return this.kernelPriority;
   }
 
+  public final int contextPoolSize() {
+    return this.contextPoolSize;
+  }
+
   protected Engine createJsEngine() {
     // TODO: configure from moduleConfig
     return Engine.newBuilder()
@@ -106,6 +136,10 @@ public class JsKernel extends KernelProxy {
     return runtime;
   }
 
+  protected JsContextPool createJsContextPool() {
+    return new JsContextPool(this, this.contextPoolSize);
+  }
+
   protected UriPath createRootPath() {
     return UriPath.parse(new File("").getAbsolutePath().replace('\\', '/'));
   }
@@ -193,6 +227,51 @@ public class JsKernel extends KernelProxy {
     ROOT_PATH.set(this, rootPath);
   }
 
+  /**
+   * Returns the pool of contexts shared by JavaScript agents, or {@code null}
+   * if each agent gets its own context.
+   */
+  public final JsContextPool jsContextPool() {
+    if (this.contextPoolSize <= 0) {
+      return null;
+    }
+    JsContextPool jsContextPool;
+    JsContextPool newJsContextPool = null;
+    do {
+      final JsContextPool oldJsContextPool = this.jsContextPool;
+      if (oldJsContextPool != null) {
+        jsContextPool = oldJsContextPool;
+        if (newJsContextPool != null) {
+          // Lost creation race.
+          newJsContextPool = null;
+        }
+      } else {
+        if (newJsContextPool == null) {
+          newJsContextPool = createJsContextPool();
+        }
+        if (JS_CONTEXT_POOL.compareAndSet(this, oldJsContextPool, newJsContextPool)) {
+          jsContextPool = newJsContextPool;
+        } else {
+          continue;
+        }
+      }
+      break;
+    } while (true);
+    return jsContextPool;
+  }
+
+  @Override
+  protected void didStop() {
+    closeJsContextPool();
+  }
+
+  void closeJsContextPool() {
+    final JsContextPool jsContextPool = JS_CONTEXT_POOL.getAndSet(this, null);
+    if (jsContextPool != null) {
+      jsContextPool.close();
+    }
+  }
+
   @Override
   public PlaneDef definePlane(Item planeConfig) {
     final PlaneDef planeDef = defineJsPlane(planeConfig);
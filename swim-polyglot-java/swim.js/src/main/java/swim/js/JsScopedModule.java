@@ -0,0 +1,41 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.js;
+
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import swim.uri.UriPath;
+import swim.vm.js.JsGuestModule;
+import swim.vm.js.JsModuleSystem;
+
+/**
+ * Guest module whose source has been wrapped in a function of {@code
+ * exports}, {@code require}, and {@code module}, so that its top-level
+ * declarations stay local to the module instance, instead of being defined
+ * on the globals of a context shared with other instances of the module.
+ */
+final class JsScopedModule extends JsGuestModule {
+
+  JsScopedModule(JsModuleSystem moduleSystem, UriPath moduleId, Source scopedSource) {
+    super(moduleSystem, moduleId, scopedSource);
+  }
+
+  @Override
+  public void evalModule() {
+    final Value moduleFunction = moduleSystem().jsContext().eval(moduleSource());
+    moduleFunction.executeVoid(moduleExports(), requireFunction(), moduleObject());
+  }
+
+}
@@ -0,0 +1,81 @@
+// Copyright 2015-2021 Swim inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.js;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import swim.uri.UriPath;
+import swim.vm.js.JsBridge;
+import swim.vm.js.JsModule;
+import swim.vm.js.JsModuleSystem;
+import swim.vm.js.JsRuntime;
+
+/**
+ * {@code JsBridge} to a JavaScript context shared by multiple agents.
+ * Guest contexts can't be entered by multiple threads at once, so every
+ * call into the guest synchronizes on the bridge. Guest modules are loaded
+ * as {@link JsScopedModule scoped modules}, so that each agent gets its own
+ * module instances.
+ */
+class JsSharedBridge extends JsBridge {
+
+  final JsContextPool jsContextPool;
+
+  JsSharedBridge(JsContextPool jsContextPool, JsRuntime jsRuntime, Context jsContext) {
+    super(jsRuntime, jsContext);
+    this.jsContextPool = jsContextPool;
+  }
+
+  @Override
+  protected JsModule createGuestModule(JsModuleSystem moduleSystem, UriPath moduleId, Source moduleSource) {
+    return new JsScopedModule(moduleSystem, moduleId, this.jsContextPool.scopedModuleSource(moduleSource));
+  }
+
+  @Override
+  public synchronized Object hostToGuest(Object hostValue) {
+    return super.hostToGuest(hostValue);
+  }
+
+  @Override
+  public synchronized Object guestToHost(Object guestValue) {
+    return super.guestToHost(guestValue);
+  }
+
+  @Override
+  public synchronized boolean guestCanExecute(Object guestFunction) {
+    return super.guestCanExecute(guestFunction);
+  }
+
+  @Override
+  public synchronized Object guestExecute(Object guestFunction, Object... hostArguments) {
+    return super.guestExecute(guestFunction, hostArguments);
+  }
+
+  @Override
+  public synchronized void guestExecuteVoid(Object guestFunction, Object... hostArguments) {
+    super.guestExecuteVoid(guestFunction, hostArguments);
+  }
+
+  @Override
+  public synchronized boolean guestCanInvokeMember(Object guestObject, String member) {
+    return super.guestCanInvokeMember(guestObject, member);
+  }
+
+  @Override
+  public synchronized Object guestInvokeMember(Object guestObject, String member, Object... hostArguments) {
+    return super.guestInvokeMember(guestObject, member, hostArguments);
+  }
+
+}
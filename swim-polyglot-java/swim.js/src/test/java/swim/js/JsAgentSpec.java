@@ -14,8 +14,13 @@
 
 package swim.js;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
 import org.testng.annotations.Test;
 import swim.actor.ActorNodeDef;
 import swim.actor.ActorSpace;
@@ -27,6 +32,14 @@ import swim.server.ServerLoader;
 import swim.service.web.WebServiceDef;
 import swim.structure.Text;
 import swim.uri.UriPath;
+import swim.vm.js.JsBridge;
+import swim.vm.js.JsModule;
+import swim.vm.js.JsModuleSystem;
+import swim.vm.js.JsRuntime;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
 public class JsAgentSpec {
 
@@ -69,4 +82,148 @@ public class JsAgentSpec {
     }
   }
 
+  @Test
+  public void testSharedJsContextAgentCommands() throws InterruptedException {
+    final TestSharedJsKernel jsKernel = new TestSharedJsKernel();
+    jsKernel.setRootPath(UriPath.parse(System.getProperty("project.dir")));
+
+    final Kernel kernel = ServerLoader.loadServerStack().injectKernel(jsKernel);
+    final ActorSpaceDef spaceDef = ActorSpaceDef.fromName("test")
+        .nodeDef(ActorNodeDef.fromNodePattern("/command/:name")
+            .agentDef(JsAgentDef.fromModulePath("./src/test/js/TestSharedModuleAgent")));
+    final ActorSpace space = (ActorSpace) kernel.openSpace(spaceDef);
+    final CountDownLatch linkOnEvent = new CountDownLatch(2);
+
+    class CommandLinkController implements OnEvent<String> {
+
+      @Override
+      public void onEvent(String value) {
+        linkOnEvent.countDown();
+      }
+
+    }
+
+    try {
+      kernel.openService(WebServiceDef.standard().port(53556).spaceName("test"));
+      kernel.start();
+      final EventDownlink<String> helloLink = space.downlink()
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556")
+          .nodeUri("/command/hello")
+          .laneUri("command")
+          .observe(new CommandLinkController())
+          .open();
+      final EventDownlink<String> worldLink = space.downlink()
+          .valueClass(String.class)
+          .hostUri("warp://localhost:53556")
+          .nodeUri("/command/world")
+          .laneUri("command")
+          .observe(new CommandLinkController())
+          .open();
+      helloLink.command(Text.from("Hello, world!"));
+      worldLink.command(Text.from("Hello, world!"));
+      assertTrue(linkOnEvent.await(1, TimeUnit.SECONDS));
+
+      // Both agents were served by the single pooled context.
+      final TestSharedJsContextPool jsContextPool = (TestSharedJsContextPool) jsKernel.jsContextPool();
+      assertEquals(jsContextPool.servedBridges.size(), 2);
+      final TestSharedJsBridge jsBridge = jsContextPool.servedBridges.get(0);
+      assertSame(jsContextPool.servedBridges.get(1), jsBridge);
+
+      // Each agent loaded its own instance of its module, so each module
+      // counted only the command sent to its own agent.
+      assertEquals(jsBridge.guestModules.size(), 2);
+      assertNotSame(jsBridge.guestModules.get(0), jsBridge.guestModules.get(1));
+      for (int i = 0; i < jsBridge.guestModules.size(); i += 1) {
+        final Object moduleExports = jsBridge.guestModules.get(i).moduleExports();
+        final Object commandCount = jsBridge.guestInvokeMember(moduleExports, "commandCount");
+        assertEquals(((Number) commandCount).intValue(), 1);
+      }
+
+      // Every guest command callback entered the context through the bridge.
+      assertEquals(jsBridge.guestExecuteCount.get(), 2);
+      assertEquals(jsBridge.unsynchronizedCallCount.get(), 0);
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  static final class TestSharedJsKernel extends JsKernel {
+
+    TestSharedJsKernel() {
+      super(1.75, 1);
+    }
+
+    @Override
+    protected JsContextPool createJsContextPool() {
+      return new TestSharedJsContextPool(this);
+    }
+
+  }
+
+  static final class TestSharedJsContextPool extends JsContextPool {
+
+    final List<TestSharedJsBridge> servedBridges = new CopyOnWriteArrayList<TestSharedJsBridge>();
+
+    TestSharedJsContextPool(JsKernel jsKernel) {
+      super(jsKernel, 1);
+    }
+
+    @Override
+    public JsBridge nextJsBridge() {
+      final JsBridge jsBridge = super.nextJsBridge();
+      this.servedBridges.add((TestSharedJsBridge) jsBridge);
+      return jsBridge;
+    }
+
+    @Override
+    protected JsBridge createJsBridge(Context jsContext) {
+      return new TestSharedJsBridge(this, this.jsKernel.jsRuntime(), jsContext);
+    }
+
+  }
+
+  static final class TestSharedJsBridge extends JsSharedBridge {
+
+    final List<JsModule> guestModules = new CopyOnWriteArrayList<JsModule>();
+    final AtomicInteger guestExecuteCount = new AtomicInteger();
+    final AtomicInteger unsynchronizedCallCount = new AtomicInteger();
+
+    TestSharedJsBridge(JsContextPool jsContextPool, JsRuntime jsRuntime, Context jsContext) {
+      super(jsContextPool, jsRuntime, jsContext);
+    }
+
+    @Override
+    protected JsModule createGuestModule(JsModuleSystem moduleSystem, UriPath moduleId, Source moduleSource) {
+      final JsModule guestModule = super.createGuestModule(moduleSystem, moduleId, moduleSource);
+      this.guestModules.add(guestModule);
+      return guestModule;
+    }
+
+    @Override
+    public synchronized void guestExecuteVoid(Object guestFunction, Object... hostArguments) {
+      this.guestExecuteCount.incrementAndGet();
+      super.guestExecuteVoid(guestFunction, hostArguments);
+    }
+
+    @Override
+    public Object hostToGuest(Object hostValue) {
+      checkSynchronized();
+      return super.hostToGuest(hostValue);
+    }
+
+    @Override
+    public Object guestToHost(Object guestValue) {
+      checkSynchronized();
+      return super.guestToHost(guestValue);
+    }
+
+    void checkSynchronized() {
+      if (!Thread.holdsLock(this)) {
+        this.unsynchronizedCallCount.incrementAndGet();
+      }
+    }
+
+  }
+
 }
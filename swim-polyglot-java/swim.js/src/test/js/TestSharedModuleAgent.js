@@ -0,0 +1,18 @@
+let commandCount = 0;
+
+class TestSharedModuleAgent {
+    constructor(context) {
+        this.context = context;
+        this.testLane = context.openLane("command", context.commandLane());
+
+        this.testLane.onCommand(value => {
+            commandCount += 1;
+        });
+    }
+}
+
+TestSharedModuleAgent.commandCount = function () {
+    return commandCount;
+};
+
+module.exports = TestSharedModuleAgent;